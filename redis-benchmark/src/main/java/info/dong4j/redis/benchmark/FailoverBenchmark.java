@@ -0,0 +1,100 @@
+package info.dong4j.redis.benchmark;
+
+import info.dong4j.redis.sentinel.ReconcilingJedisSentinelPool;
+import info.dong4j.redis.standin.StandInSentinel;
+import info.dong4j.redis.standin.StandInServer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import redis.clients.jedis.HostAndPort;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisPoolConfig;
+import redis.clients.jedis.JedisSentinelPool;
+import redis.clients.jedis.exceptions.JedisConnectionException;
+import redis.clients.jedis.exceptions.JedisDataException;
+
+/**
+ * <p>Description: sentinel 故障转移后连接池恢复写入的时间</p>
+ * 每次调用由进程内 sentinel 在两个节点之间做一次主从切换, 原主节点降为只读的从节点,
+ * 计时到第一次通过连接池写入成功为止, 即客户端处理 +switch-master 并重建连接池的耗时.
+ * pool 为 jedis 时使用 JedisSentinelPool, 为 reconciling 时使用带定时对账的 {@link ReconcilingJedisSentinelPool}.
+ *
+ * @author dong4j
+ * @email dong4j@gmail.com
+ * @date 2026-10-18  23:59
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 50)
+@Fork(1)
+public class FailoverBenchmark {
+    private static final String MASTER_NAME = "benchmark";
+    private static final String KEY         = "failover";
+
+    @Param({"jedis", "reconciling"})
+    public String pool;
+
+    private StandInServer     first;
+    private StandInServer     second;
+    private StandInSentinel   sentinel;
+    private JedisSentinelPool sentinelPool;
+
+    @Setup
+    public void setup() throws IOException {
+        first = new StandInServer();
+        second = new StandInServer();
+        sentinel = new StandInSentinel();
+        first.start();
+        second.start();
+        sentinel.monitor(MASTER_NAME, first, second);
+        sentinel.start();
+        Set<String> sentinels = Collections.singleton(sentinel.getHostAndPort().toString());
+        if ("reconciling".equals(pool)) {
+            sentinelPool = new ReconcilingJedisSentinelPool(MASTER_NAME, sentinels, new JedisPoolConfig(), 2000, null,
+                                                            ReconcilingJedisSentinelPool.DEFAULT_RECONCILE_INTERVAL_MILLIS);
+        } else {
+            sentinelPool = new JedisSentinelPool(MASTER_NAME, sentinels, new JedisPoolConfig(), 2000);
+        }
+    }
+
+    @Benchmark
+    public HostAndPort failover() {
+        sentinel.failover(MASTER_NAME);
+        while (true) {
+            try (Jedis jedis = sentinelPool.getResource()) {
+                jedis.set(KEY, KEY);
+                return sentinelPool.getCurrentHostMaster();
+            } catch (JedisDataException | JedisConnectionException e) {
+                // 连接池仍指向已降级的原主节点(READONLY)或正在重建
+                LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(50));
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        sentinelPool.destroy();
+        sentinel.close();
+        first.close();
+        second.close();
+    }
+}
@@ -0,0 +1,95 @@
+package info.dong4j.redis.benchmark;
+
+import info.dong4j.redis.service.support.ShardRouter;
+import info.dong4j.redis.sharded.WeightedJedisShardInfo;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import redis.clients.jedis.HostAndPort;
+import redis.clients.jedis.JedisShardInfo;
+import redis.clients.util.JedisURIHelper;
+
+/**
+ * <p>Description: redis.node 配置解析的开销</p>
+ * 按 ShardJedisConfiguration / JedisClusterConfiguration 的方式解析 redis://[password@]ip:port[/database][?weight=n] 节点列表,
+ * 以及用解析结果构建 {@link ShardRouter} 路由表的开销.
+ *
+ * @author dong4j
+ * @email dong4j@gmail.com
+ * @date 2026-10-18  23:59
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NodeParsingBenchmark {
+    private static final String SEMICOLON = ";";
+
+    @Param({"3", "16"})
+    public int nodeCount;
+
+    private String               redisNode;
+    private List<JedisShardInfo> shards;
+
+    @Setup
+    public void setup() throws URISyntaxException {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < nodeCount; i++) {
+            if (i > 0) {
+                builder.append(SEMICOLON);
+            }
+            builder.append("redis://:123456@127.0.0.1:").append(6379 + i).append("/0?weight=").append(i % 3 + 1);
+        }
+        redisNode = builder.toString();
+        shards = parseShards();
+    }
+
+    @Benchmark
+    public List<JedisShardInfo> parseShards() throws URISyntaxException {
+        List<JedisShardInfo> jedisShardInfoList = new ArrayList<>();
+        for (String node : redisNode.split(SEMICOLON)) {
+            URI uri = new URI(node);
+            jedisShardInfoList.add(new WeightedJedisShardInfo(uri, WeightedJedisShardInfo.parseWeight(uri)));
+        }
+        return jedisShardInfoList;
+    }
+
+    @Benchmark
+    public Set<HostAndPort> parseClusterNodes() throws URISyntaxException {
+        Set<HostAndPort> hostAndPortSet = new HashSet<>();
+        String           password       = null;
+        for (String node : redisNode.split(SEMICOLON)) {
+            URI uri = new URI(node);
+            if (password == null) {
+                password = JedisURIHelper.getPassword(uri);
+            }
+            hostAndPortSet.add(new HostAndPort(uri.getHost(), uri.getPort()));
+        }
+        return hostAndPortSet;
+    }
+
+    @Benchmark
+    public ShardRouter buildRouter() {
+        return new ShardRouter(shards);
+    }
+}
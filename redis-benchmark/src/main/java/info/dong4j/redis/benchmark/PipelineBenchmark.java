@@ -0,0 +1,109 @@
+package info.dong4j.redis.benchmark;
+
+import info.dong4j.redis.service.RedisService;
+import info.dong4j.redis.service.impl.JedisRedisServiceImpl;
+import info.dong4j.redis.standin.StandInServer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.JedisPoolConfig;
+import redis.clients.jedis.Pipeline;
+
+/**
+ * <p>Description: pipeline 与逐条执行的吞吐对比</p>
+ * 每次调用写入 batch 个 key: setOneByOne 通过 RedisService 逐条 SET, 每条命令一次往返;
+ * setPipelined 在同一个连接上用 pipeline 发送后一次同步; mset 通过 RedisService 一条命令写入.
+ * 服务端为 {@link StandInServer}, 结果主要反映往返次数和客户端编码开销.
+ *
+ * @author dong4j
+ * @email dong4j@gmail.com
+ * @date 2026-10-18  23:59
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PipelineBenchmark {
+    private static final String FLAG = "benchmark";
+
+    @Param({"1", "16", "128"})
+    public int batch;
+
+    private StandInServer server;
+    private JedisPool     pool;
+    private RedisService  redisService;
+    private String[]      keys;
+    private String[]      keysValues;
+    private String        value;
+
+    @Setup
+    public void setup() throws IOException {
+        server = new StandInServer();
+        server.start();
+        pool = new JedisPool(new JedisPoolConfig(), "127.0.0.1", server.getPort());
+        redisService = new JedisRedisServiceImpl(pool);
+
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 64; i++) {
+            builder.append('v');
+        }
+        value = builder.toString();
+        keys = new String[batch];
+        keysValues = new String[batch * 2];
+        for (int i = 0; i < batch; i++) {
+            keys[i] = "pipeline:" + i;
+            keysValues[i * 2] = keys[i];
+            keysValues[i * 2 + 1] = value;
+        }
+    }
+
+    @Benchmark
+    public String setOneByOne() throws Exception {
+        String reply = null;
+        for (String key : keys) {
+            reply = redisService.set(FLAG, key, value);
+        }
+        return reply;
+    }
+
+    @Benchmark
+    public List<Object> setPipelined() {
+        try (Jedis jedis = pool.getResource()) {
+            Pipeline pipeline = jedis.pipelined();
+            for (String key : keys) {
+                pipeline.set(key, value);
+            }
+            return pipeline.syncAndReturnAll();
+        }
+    }
+
+    @Benchmark
+    public String mset() throws Exception {
+        return redisService.mset(FLAG, keysValues);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.destroy();
+        server.close();
+    }
+}
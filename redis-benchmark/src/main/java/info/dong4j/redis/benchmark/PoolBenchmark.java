@@ -0,0 +1,103 @@
+package info.dong4j.redis.benchmark;
+
+import info.dong4j.redis.service.support.RedisMetrics;
+import info.dong4j.redis.standin.StandInServer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.JedisPoolConfig;
+
+/**
+ * <p>Description: 连接池借出/归还在竞争下的开销</p>
+ * 16 个线程共用一个 JedisPool, maxTotal 小于线程数时包含排队等待的时间.
+ * latencyMicros 为服务端注入的每条命令延迟, 用于观察命令变慢时连接持有时间变长对排队的放大.
+ * borrowReturn 只借出并归还连接, borrowPing 额外执行一次 PING, metricsBorrow 通过 {@link RedisMetrics} 借出并记录等待时间.
+ *
+ * @author dong4j
+ * @email dong4j@gmail.com
+ * @date 2026-10-18  23:59
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(16)
+public class PoolBenchmark {
+    @Param({"8", "16", "64"})
+    public int  maxTotal;
+    @Param({"0", "200"})
+    public long latencyMicros;
+
+    private StandInServer server;
+    private JedisPool     pool;
+    private RedisMetrics  metrics;
+
+    @Setup
+    public void setup() throws IOException {
+        server = new StandInServer();
+        server.start();
+        JedisPoolConfig config = new JedisPoolConfig();
+        config.setMaxTotal(maxTotal);
+        config.setMaxIdle(maxTotal);
+        pool = new JedisPool(config, "127.0.0.1", server.getPort());
+        metrics = new RedisMetrics("pool-benchmark");
+        // 预先建立所有连接, 避免把建连时间计入结果
+        List<Jedis> connections = new ArrayList<>();
+        for (int i = 0; i < maxTotal; i++) {
+            connections.add(pool.getResource());
+        }
+        for (Jedis jedis : connections) {
+            jedis.close();
+        }
+        server.setLatency(latencyMicros);
+    }
+
+    @Benchmark
+    public void borrowReturn(Blackhole blackhole) {
+        try (Jedis jedis = pool.getResource()) {
+            blackhole.consume(jedis);
+        }
+    }
+
+    @Benchmark
+    public String borrowPing() {
+        try (Jedis jedis = pool.getResource()) {
+            return jedis.ping();
+        }
+    }
+
+    @Benchmark
+    public void metricsBorrow(Blackhole blackhole) {
+        try (Jedis jedis = metrics.borrow(pool)) {
+            blackhole.consume(jedis);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.destroy();
+        server.close();
+    }
+}
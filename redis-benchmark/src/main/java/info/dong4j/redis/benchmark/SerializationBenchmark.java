@@ -0,0 +1,126 @@
+package info.dong4j.redis.benchmark;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import redis.clients.util.SafeEncoder;
+
+/**
+ * <p>Description: key/value 序列化的开销</p>
+ * key 对比 Jedis SafeEncoder 与 StringRedisSerializer; value 使用与 spring-redis-sentinel 中 RedisTemplate 相同配置的
+ * Jackson2JsonRedisSerializer(字段可见, NON_FINAL 默认类型), 以 JdkSerializationRedisSerializer 作为对照.
+ *
+ * @author dong4j
+ * @email dong4j@gmail.com
+ * @date 2026-10-18  23:59
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+    private final String                          key              = "user:{10086}:profile";
+    private final StringRedisSerializer           stringSerializer = new StringRedisSerializer();
+    private final JdkSerializationRedisSerializer jdkSerializer    = new JdkSerializationRedisSerializer();
+
+    private Jackson2JsonRedisSerializer<Object> jacksonSerializer;
+    private Profile                             profile;
+    private byte[]                              keyBytes;
+    private byte[]                              jacksonBytes;
+    private byte[]                              jdkBytes;
+
+    @Setup
+    public void setup() {
+        jacksonSerializer = new Jackson2JsonRedisSerializer<>(Object.class);
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.setVisibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.ANY);
+        objectMapper.enableDefaultTyping(ObjectMapper.DefaultTyping.NON_FINAL);
+        jacksonSerializer.setObjectMapper(objectMapper);
+
+        profile = new Profile();
+        profile.id = 10086L;
+        profile.name = "dong4j";
+        profile.email = "dong4j@gmail.com";
+        profile.score = 99.5;
+        for (int i = 0; i < 8; i++) {
+            profile.tags.add("tag-" + i);
+        }
+        keyBytes = SafeEncoder.encode(key);
+        jacksonBytes = jacksonSerializer.serialize(profile);
+        jdkBytes = jdkSerializer.serialize(profile);
+    }
+
+    @Benchmark
+    public byte[] encodeKeySafeEncoder() {
+        return SafeEncoder.encode(key);
+    }
+
+    @Benchmark
+    public byte[] encodeKeyStringSerializer() {
+        return stringSerializer.serialize(key);
+    }
+
+    @Benchmark
+    public String decodeKeySafeEncoder() {
+        return SafeEncoder.encode(keyBytes);
+    }
+
+    @Benchmark
+    public byte[] serializeJackson() {
+        return jacksonSerializer.serialize(profile);
+    }
+
+    @Benchmark
+    public Object deserializeJackson() {
+        return jacksonSerializer.deserialize(jacksonBytes);
+    }
+
+    @Benchmark
+    public byte[] serializeJdk() {
+        return jdkSerializer.serialize(profile);
+    }
+
+    @Benchmark
+    public Object deserializeJdk() {
+        return jdkSerializer.deserialize(jdkBytes);
+    }
+
+    /**
+     * <p>Description: 典型的缓存对象 </p>
+     *
+     * @author dong4j
+     * @email dong4j@gmail.com
+     * @date 2026-10-18  23:59
+     */
+    public static class Profile implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private long         id;
+        private String       name;
+        private String       email;
+        private double       score;
+        private List<String> tags = new ArrayList<>();
+    }
+}
@@ -0,0 +1,98 @@
+package info.dong4j.redis.benchmark;
+
+import info.dong4j.redis.service.support.ShardRouter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisShardInfo;
+import redis.clients.util.Sharded;
+
+/**
+ * <p>Description: 分片定位的开销</p>
+ * 对比 Jedis Sharded(编码为 byte[] 后在 TreeMap 中查找)与 {@link ShardRouter}(有序 long[] 二分查找),
+ * 以及开启 key tag、有界负载时 ShardRouter 的开销. 不需要连接 redis.
+ *
+ * @author dong4j
+ * @email dong4j@gmail.com
+ * @date 2026-10-18  23:59
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ShardRoutingBenchmark {
+    private static final int KEYS = 1024;
+
+    @Param({"3", "16"})
+    public int shardCount;
+
+    private Sharded<Jedis, JedisShardInfo> sharded;
+    private ShardRouter                    router;
+    private ShardRouter                    keyTagRouter;
+    private ShardRouter                    boundedRouter;
+    private String[]                       keys;
+    private String[]                       taggedKeys;
+    private int                            next;
+
+    @Setup
+    public void setup() {
+        List<JedisShardInfo> shards = new ArrayList<>();
+        for (int i = 0; i < shardCount; i++) {
+            shards.add(new JedisShardInfo("127.0.0.1", 6379 + i, "master" + (i + 1)));
+        }
+        sharded = new Sharded<>(shards);
+        router = new ShardRouter(shards);
+        keyTagRouter = new ShardRouter(shards, true);
+        boundedRouter = new ShardRouter(shards, false, 1.25);
+
+        Random random = new Random(7);
+        keys = new String[KEYS];
+        taggedKeys = new String[KEYS];
+        for (int i = 0; i < KEYS; i++) {
+            keys[i] = "user:" + random.nextInt(1000000) + ":profile";
+            taggedKeys[i] = "user:{" + random.nextInt(1000000) + "}:profile";
+        }
+    }
+
+    private int nextIndex() {
+        return next = (next + 1) & (KEYS - 1);
+    }
+
+    @Benchmark
+    public JedisShardInfo jedisSharded() {
+        return sharded.getShardInfo(keys[nextIndex()]);
+    }
+
+    @Benchmark
+    public int shardRouter() {
+        return router.index(keys[nextIndex()]);
+    }
+
+    @Benchmark
+    public int shardRouterKeyTag() {
+        return keyTagRouter.index(taggedKeys[nextIndex()]);
+    }
+
+    @Benchmark
+    public int shardRouterBounded() {
+        return boundedRouter.index(keys[nextIndex()]);
+    }
+}
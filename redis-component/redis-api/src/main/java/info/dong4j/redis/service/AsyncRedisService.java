@@ -0,0 +1,1023 @@
+package info.dong4j.redis.service;
+
+import org.springframework.util.concurrent.ListenableFuture;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import redis.clients.jedis.SortingParams;
+import redis.clients.jedis.Tuple;
+
+/**
+ * <p>Description: {@link RedisService} 的异步版本</p>
+ * 所有方法立即返回 {@link ListenableFuture}, 调用方可以同时发起多个请求, 再通过回调或 get() 获取结果,
+ * 命令执行失败时异常通过 future 返回.
+ *
+ * @author dong4j
+ * @email dong4j@gmail.com
+ * @date 2026-10-18  15:50
+ */
+public interface AsyncRedisService {
+
+    /**
+     * Append long.
+     *
+     * @param flag  the flag
+     * @param key   the key
+     * @param value the value
+     * @return the long
+     */
+    ListenableFuture<Long> append(String flag, String key, String value);
+
+    /**
+     * Blpop list.
+     *
+     * @param flag    the flag
+     * @param timeout the timeout
+     * @param keys    the keys
+     * @return the list
+     */
+    ListenableFuture<List<String>> blpop(String flag, int timeout, String... keys);
+
+    /**
+     * Brpop list.
+     *
+     * @param flag    the flag
+     * @param timeout the timeout
+     * @param keys    the keys
+     * @return the list
+     */
+    ListenableFuture<List<String>> brpop(String flag, int timeout, String... keys);
+
+    /**
+     * Config get list.
+     *
+     * @param flag    the flag
+     * @param pattern the pattern
+     * @return the list
+     */
+    ListenableFuture<List<String>> configGet(String flag, String pattern);
+
+    /**
+     * Config set string.
+     *
+     * @param flag      the flag
+     * @param parameter the parameter
+     * @param value     the value
+     * @return the string
+     */
+    ListenableFuture<String> configSet(String flag, String parameter, String value);
+
+    /**
+     * Decr long.
+     *
+     * @param flag the flag
+     * @param key  the key
+     * @return the long
+     */
+    ListenableFuture<Long> decr(String flag, String key);
+
+    /**
+     * Decr by long.
+     *
+     * @param flag    the flag
+     * @param key     the key
+     * @param integer the integer
+     * @return the long
+     */
+    ListenableFuture<Long> decrBy(String flag, String key, long integer);
+
+    /**
+     * Del long.
+     *
+     * @param flag the flag
+     * @param keys the keys
+     * @return the long
+     */
+    ListenableFuture<Long> del(String flag, String... keys);
+
+    /**
+     * Eval object.
+     *
+     * @param flag   the flag
+     * @param script the script
+     * @return the object
+     */
+    ListenableFuture<Object> eval(String flag, String script);
+
+    /**
+     * Exists boolean.
+     *
+     * @param flag the flag
+     * @param key  the key
+     * @return the boolean
+     */
+    ListenableFuture<Boolean> exists(String flag, String key);
+
+    /**
+     * Expire long.
+     *
+     * @param flag    the flag
+     * @param key     the key
+     * @param seconds the seconds
+     * @return the long
+     */
+    ListenableFuture<Long> expire(String flag, String key, int seconds);
+
+    /**
+     * Flush all string.
+     *
+     * @param flag the flag
+     * @return the string
+     */
+    ListenableFuture<String> flushAll(String flag);
+
+    /**
+     * Flush db string.
+     *
+     * @param flag the flag
+     * @return the string
+     */
+    ListenableFuture<String> flushDB(String flag);
+
+    /**
+     * Get string.
+     *
+     * @param flag the flag
+     * @param key  the key
+     * @return the string
+     */
+    ListenableFuture<String> get(String flag, String key);
+
+    /**
+     * Gets .
+     *
+     * @param flag   the flag
+     * @param key    the key
+     * @param offset the offset
+     * @return the
+     */
+    ListenableFuture<Boolean> getbit(String flag, String key, long offset);
+
+    /**
+     * Gets .
+     *
+     * @param flag        the flag
+     * @param key         the key
+     * @param startOffset the start offset
+     * @param endOffset   the end offset
+     * @return the
+     */
+    ListenableFuture<String> getrange(String flag, String key, long startOffset, long endOffset);
+
+    /**
+     * Gets set.
+     *
+     * @param flag  the flag
+     * @param key   the key
+     * @param value the value
+     * @return the set
+     */
+    ListenableFuture<String> getSet(String flag, String key, String value);
+
+    /**
+     * Hdel long.
+     *
+     * @param flag   the flag
+     * @param key    the key
+     * @param fields the fields
+     * @return the long
+     */
+    ListenableFuture<Long> hdel(String flag, String key, String... fields);
+
+    /**
+     * Hexists boolean.
+     *
+     * @param flag  the flag
+     * @param key   the key
+     * @param field the field
+     * @return the boolean
+     */
+    ListenableFuture<Boolean> hexists(String flag, String key, String field);
+
+    /**
+     * Hget string.
+     *
+     * @param flag  the flag
+     * @param key   the key
+     * @param field the field
+     * @return the string
+     */
+    ListenableFuture<String> hget(String flag, String key, String field);
+
+    /**
+     * Hget all map.
+     *
+     * @param flag the flag
+     * @param key  the key
+     * @return the map
+     */
+    ListenableFuture<Map<String, String>> hgetAll(String flag, String key);
+
+    /**
+     * Hincr by long.
+     *
+     * @param flag  the flag
+     * @param key   the key
+     * @param field the field
+     * @param value the value
+     * @return the long
+     */
+    ListenableFuture<Long> hincrBy(String flag, String key, String field, long value);
+
+    /**
+     * Hkeys set.
+     *
+     * @param flag the flag
+     * @param key  the key
+     * @return the set
+     */
+    ListenableFuture<Set<String>> hkeys(String flag, String key);
+
+    /**
+     * Hlen long.
+     *
+     * @param flag the flag
+     * @param key  the key
+     * @return the long
+     */
+    ListenableFuture<Long> hlen(String flag, String key);
+
+    /**
+     * Hmget list.
+     *
+     * @param flag   the flag
+     * @param key    the key
+     * @param fields the fields
+     * @return the list
+     */
+    ListenableFuture<List<String>> hmget(String flag, String key, String... fields);
+
+    /**
+     * Hmset string.
+     *
+     * @param flag the flag
+     * @param key  the key
+     * @param hash the hash
+     * @return the string
+     */
+    ListenableFuture<String> hmset(String flag, String key, Map<String, String> hash);
+
+    /**
+     * Hset long.
+     *
+     * @param flag  the flag
+     * @param key   the key
+     * @param field the field
+     * @param value the value
+     * @return the long
+     */
+    ListenableFuture<Long> hset(String flag, String key, String field, String value);
+
+    /**
+     * Hsetnx long.
+     *
+     * @param flag  the flag
+     * @param key   the key
+     * @param field the field
+     * @param value the value
+     * @return the long
+     */
+    ListenableFuture<Long> hsetnx(String flag, String key, String field, String value);
+
+    /**
+     * Hvals list.
+     *
+     * @param flag the flag
+     * @param key  the key
+     * @return the list
+     */
+    ListenableFuture<List<String>> hvals(String flag, String key);
+
+    /**
+     * Incr long.
+     *
+     * @param flag the flag
+     * @param key  the key
+     * @return the long
+     */
+    ListenableFuture<Long> incr(String flag, String key);
+
+    /**
+     * Incr by long.
+     *
+     * @param flag    the flag
+     * @param key     the key
+     * @param integer the integer
+     * @return the long
+     */
+    ListenableFuture<Long> incrBy(String flag, String key, long integer);
+
+    /**
+     * Keys set.
+     *
+     * @param flag    the flag
+     * @param pattern the pattern
+     * @return the set
+     */
+    ListenableFuture<Set<String>> keys(String flag, String pattern);
+
+    /**
+     * Lindex string.
+     *
+     * @param flag  the flag
+     * @param key   the key
+     * @param index the index
+     * @return the string
+     */
+    ListenableFuture<String> lindex(String flag, String key, long index);
+
+    /**
+     * Llen long.
+     *
+     * @param flag the flag
+     * @param key  the key
+     * @return the long
+     */
+    ListenableFuture<Long> llen(String flag, String key);
+
+    /**
+     * Lpop string.
+     *
+     * @param flag the flag
+     * @param key  the key
+     * @return the string
+     */
+    ListenableFuture<String> lpop(String flag, String key);
+
+    /**
+     * Lpush long.
+     *
+     * @param flag    the flag
+     * @param key     the key
+     * @param strings the strings
+     * @return the long
+     */
+    ListenableFuture<Long> lpush(String flag, String key, String... strings);
+
+    /**
+     * Lpushx long.
+     *
+     * @param flag   the flag
+     * @param key    the key
+     * @param string the string
+     * @return the long
+     */
+    ListenableFuture<Long> lpushx(String flag, String key, String string);
+
+    /**
+     * Lrange list.
+     *
+     * @param flag  the flag
+     * @param key   the key
+     * @param start the start
+     * @param end   the end
+     * @return the list
+     */
+    ListenableFuture<List<String>> lrange(String flag, String key, long start, long end);
+
+    /**
+     * Lrem long.
+     *
+     * @param flag  the flag
+     * @param key   the key
+     * @param count the count
+     * @param value the value
+     * @return the long
+     */
+    ListenableFuture<Long> lrem(String flag, String key, long count, String value);
+
+    /**
+     * Lset string.
+     *
+     * @param flag  the flag
+     * @param key   the key
+     * @param index the index
+     * @param value the value
+     * @return the string
+     */
+    ListenableFuture<String> lset(String flag, String key, long index, String value);
+
+    /**
+     * Ltrim string.
+     *
+     * @param flag  the flag
+     * @param key   the key
+     * @param start the start
+     * @param end   the end
+     * @return the string
+     */
+    ListenableFuture<String> ltrim(String flag, String key, long start, long end);
+
+    /**
+     * Mget list.
+     *
+     * @param flag the flag
+     * @param keys the keys
+     * @return the list
+     */
+    ListenableFuture<List<String>> mget(String flag, String... keys);
+
+    /**
+     * Move long.
+     *
+     * @param flag    the flag
+     * @param key     the key
+     * @param dbIndex the db index
+     * @return the long
+     */
+    ListenableFuture<Long> move(String flag, String key, int dbIndex);
+
+    /**
+     * Mset string.
+     *
+     * @param flag       the flag
+     * @param keysvalues the keysvalues
+     * @return the string
+     */
+    ListenableFuture<String> mset(String flag, String... keysvalues);
+
+    /**
+     * Msetnx long.
+     *
+     * @param flag       the flag
+     * @param keysvalues the keysvalues
+     * @return the long
+     */
+    ListenableFuture<Long> msetnx(String flag, String... keysvalues);
+
+    /**
+     * Publish long.
+     *
+     * @param flag    the flag
+     * @param channel the channel
+     * @param message the message
+     * @return the long
+     */
+    ListenableFuture<Long> publish(String flag, String channel, String message);
+
+    /**
+     * Random key string.
+     *
+     * @param flag the flag
+     * @return the string
+     */
+    ListenableFuture<String> randomKey(String flag);
+
+    /**
+     * Rename string.
+     *
+     * @param flag   the flag
+     * @param oldkey the oldkey
+     * @param newkey the newkey
+     * @return the string
+     */
+    ListenableFuture<String> rename(String flag, String oldkey, String newkey);
+
+    /**
+     * Renamenx long.
+     *
+     * @param flag   the flag
+     * @param oldkey the oldkey
+     * @param newkey the newkey
+     * @return the long
+     */
+    ListenableFuture<Long> renamenx(String flag, String oldkey, String newkey);
+
+    /**
+     * Rpop string.
+     *
+     * @param flag the flag
+     * @param key  the key
+     * @return the string
+     */
+    ListenableFuture<String> rpop(String flag, String key);
+
+    /**
+     * Rpoplpush string.
+     *
+     * @param flag   the flag
+     * @param srckey the srckey
+     * @param dstkey the dstkey
+     * @return the string
+     */
+    ListenableFuture<String> rpoplpush(String flag, String srckey, String dstkey);
+
+    /**
+     * Rpush long.
+     *
+     * @param flag    the flag
+     * @param key     the key
+     * @param strings the strings
+     * @return the long
+     */
+    ListenableFuture<Long> rpush(String flag, String key, String... strings);
+
+    /**
+     * Rpushx long.
+     *
+     * @param flag   the flag
+     * @param key    the key
+     * @param string the string
+     * @return the long
+     */
+    ListenableFuture<Long> rpushx(String flag, String key, String string);
+
+    /**
+     * Sadd long.
+     *
+     * @param flag    the flag
+     * @param key     the key
+     * @param members the members
+     * @return the long
+     */
+    ListenableFuture<Long> sadd(String flag, String key, String... members);
+
+    /**
+     * Scard long.
+     *
+     * @param flag the flag
+     * @param key  the key
+     * @return the long
+     */
+    ListenableFuture<Long> scard(String flag, String key);
+
+    /**
+     * Sdiff set.
+     *
+     * @param flag the flag
+     * @param keys the keys
+     * @return the set
+     */
+    ListenableFuture<Set<String>> sdiff(String flag, String... keys);
+
+    /**
+     * Sdiffstore long.
+     *
+     * @param flag   the flag
+     * @param dstkey the dstkey
+     * @param keys   the keys
+     * @return the long
+     */
+    ListenableFuture<Long> sdiffstore(String flag, String dstkey, String... keys);
+
+    /**
+     * Select string.
+     *
+     * @param flag  the flag
+     * @param index the index
+     * @return the string
+     */
+    ListenableFuture<String> select(String flag, int index);
+
+    /**
+     * Set string.
+     *
+     * @param flag  the flag
+     * @param key   the key
+     * @param value the value
+     * @return the string
+     */
+    ListenableFuture<String> set(String flag, String key, String value);
+
+    /**
+     * Sets .
+     *
+     * @param flag   the flag
+     * @param key    the key
+     * @param offset the offset
+     * @param value  the value
+     * @return the
+     */
+    ListenableFuture<Boolean> setbit(String flag, String key, long offset, boolean value);
+
+    /**
+     * Sets .
+     *
+     * @param flag    the flag
+     * @param key     the key
+     * @param seconds the seconds
+     * @param value   the value
+     * @return the
+     */
+    ListenableFuture<String> setex(String flag, String key, int seconds, String value);
+
+    /**
+     * Sets .
+     *
+     * @param flag  the flag
+     * @param key   the key
+     * @param value the value
+     * @return the
+     */
+    ListenableFuture<Long> setnx(String flag, String key, String value);
+
+    /**
+     * Sets .
+     *
+     * @param flag   the flag
+     * @param key    the key
+     * @param offset the offset
+     * @param value  the value
+     * @return the
+     */
+    ListenableFuture<Long> setrange(String flag, String key, long offset, String value);
+
+    /**
+     * Sinter set.
+     *
+     * @param flag the flag
+     * @param keys the keys
+     * @return the set
+     */
+    ListenableFuture<Set<String>> sinter(String flag, String... keys);
+
+    /**
+     * Smembers set.
+     *
+     * @param flag the flag
+     * @param key  the key
+     * @return the set
+     */
+    ListenableFuture<Set<String>> smembers(String flag, String key);
+
+    /**
+     * Smove long.
+     *
+     * @param flag   the flag
+     * @param srckey the srckey
+     * @param dstkey the dstkey
+     * @param member the member
+     * @return the long
+     */
+    ListenableFuture<Long> smove(String flag, String srckey, String dstkey, String member);
+
+    /**
+     * Sort list.
+     *
+     * @param flag the flag
+     * @param key  the key
+     * @return the list
+     */
+    ListenableFuture<List<String>> sort(String flag, String key);
+
+    /**
+     * Sort list.
+     *
+     * @param flag              the flag
+     * @param key               the key
+     * @param sortingParameters the sorting parameters
+     * @return the list
+     */
+    ListenableFuture<List<String>> sort(String flag, String key, SortingParams sortingParameters);
+
+    /**
+     * Sort long.
+     *
+     * @param flag              the flag
+     * @param key               the key
+     * @param sortingParameters the sorting parameters
+     * @param dstkey            the dstkey
+     * @return the long
+     */
+    ListenableFuture<Long> sort(String flag, String key, SortingParams sortingParameters, String dstkey);
+
+    /**
+     * Sort long.
+     *
+     * @param flag   the flag
+     * @param key    the key
+     * @param dstkey the dstkey
+     * @return the long
+     */
+    ListenableFuture<Long> sort(String flag, String key, String dstkey);
+
+    /**
+     * Spop string.
+     *
+     * @param flag the flag
+     * @param key  the key
+     * @return the string
+     */
+    ListenableFuture<String> spop(String flag, String key);
+
+    /**
+     * Srandmember string.
+     *
+     * @param flag the flag
+     * @param key  the key
+     * @return the string
+     */
+    ListenableFuture<String> srandmember(String flag, String key);
+
+    /**
+     * Srandmember list.
+     *
+     * @param flag  the flag
+     * @param key   the key
+     * @param count the count
+     * @return the list
+     */
+    ListenableFuture<List<String>> srandmember(String flag, String key, int count);
+
+    /**
+     * Strlen long.
+     *
+     * @param flag the flag
+     * @param key  the key
+     * @return the long
+     */
+    ListenableFuture<Long> strlen(String flag, String key);
+
+    /**
+     * Substr string.
+     *
+     * @param flag  the flag
+     * @param key   the key
+     * @param start the start
+     * @param end   the end
+     * @return the string
+     */
+    ListenableFuture<String> substr(String flag, String key, int start, int end);
+
+    /**
+     * Zadd long.
+     *
+     * @param flag   the flag
+     * @param key    the key
+     * @param score  the score
+     * @param member the member
+     * @return the long
+     */
+    ListenableFuture<Long> zadd(String flag, String key, double score, String member);
+
+    /**
+     * Zadd long.
+     *
+     * @param flag         the flag
+     * @param key          the key
+     * @param scoreMembers the score members
+     * @return the long
+     */
+    ListenableFuture<Long> zadd(String flag, String key, Map<String, Double> scoreMembers);
+
+    /**
+     * Zcount long.
+     *
+     * @param flag the flag
+     * @param key  the key
+     * @param min  the min
+     * @param max  the max
+     * @return the long
+     */
+    ListenableFuture<Long> zcount(String flag, String key, double min, double max);
+
+    /**
+     * Zcard long.
+     *
+     * @param flag the flag
+     * @param key  the key
+     * @return the long
+     */
+    ListenableFuture<Long> zcard(String flag, String key);
+
+    /**
+     * Zrange set.
+     *
+     * @param flag  the flag
+     * @param key   the key
+     * @param start the start
+     * @param end   the end
+     * @return the set
+     */
+    ListenableFuture<Set<String>> zrange(String flag, String key, long start, long end);
+
+    /**
+     * Zrank long.
+     *
+     * @param flag   the flag
+     * @param key    the key
+     * @param member the member
+     * @return the long
+     */
+    ListenableFuture<Long> zrank(String flag, String key, String member);
+
+    /**
+     * Zscore double.
+     *
+     * @param flag   the flag
+     * @param key    the key
+     * @param member the member
+     * @return the double
+     */
+    ListenableFuture<Double> zscore(String flag, String key, String member);
+
+    /**
+     * Zrange by score set.
+     *
+     * @param flag the flag
+     * @param key  the key
+     * @param min  the min
+     * @param max  the max
+     * @return the set
+     */
+    ListenableFuture<Set<String>> zrangeByScore(String flag, String key, double min, double max);
+
+    /**
+     * Zrange by score set.
+     *
+     * @param flag   the flag
+     * @param key    the key
+     * @param min    the min
+     * @param max    the max
+     * @param offset the offset
+     * @param count  the count
+     * @return the set
+     */
+    ListenableFuture<Set<String>> zrangeByScore(String flag, String key, double min, double max, int offset, int count);
+
+    /**
+     * Zrange by score set.
+     *
+     * @param flag the flag
+     * @param key  the key
+     * @param min  the min
+     * @param max  the max
+     * @return the set
+     */
+    ListenableFuture<Set<String>> zrangeByScore(String flag, String key, String min, String max);
+
+    /**
+     * Zrange by score set.
+     *
+     * @param flag   the flag
+     * @param key    the key
+     * @param min    the min
+     * @param max    the max
+     * @param offset the offset
+     * @param count  the count
+     * @return the set
+     */
+    ListenableFuture<Set<String>> zrangeByScore(String flag, String key, String min, String max, int offset, int count);
+
+    /**
+     * Zrevrange with scores set.
+     *
+     * @param flag  the flag
+     * @param key   the key
+     * @param start the start
+     * @param end   the end
+     * @return the set
+     */
+    ListenableFuture<Set<Tuple>> zrevrangeWithScores(String flag, String key, long start, long end);
+
+    /**
+     * Zrevrank long.
+     *
+     * @param flag   the flag
+     * @param key    the key
+     * @param member the member
+     * @return the long
+     */
+    ListenableFuture<Long> zrevrank(String flag, String key, String member);
+
+    /**
+     * Zrevrange set.
+     *
+     * @param flag  the flag
+     * @param key   the key
+     * @param start the start
+     * @param end   the end
+     * @return the set
+     */
+    ListenableFuture<Set<String>> zrevrange(String flag, String key, long start, long end);
+
+    /**
+     * Zrange with scores set.
+     *
+     * @param flag  the flag
+     * @param key   the key
+     * @param start the start
+     * @param end   the end
+     * @return the set
+     */
+    ListenableFuture<Set<Tuple>> zrangeWithScores(String flag, String key, long start, long end);
+
+    /**
+     * Srem long.
+     *
+     * @param flag    the flag
+     * @param key     the key
+     * @param members the members
+     * @return the long
+     */
+    ListenableFuture<Long> srem(String flag, String key, String... members);
+
+    /**
+     * Sismember boolean.
+     *
+     * @param flag   the flag
+     * @param key    the key
+     * @param member the member
+     * @return the boolean
+     */
+    ListenableFuture<Boolean> sismember(String flag, String key, String member);
+
+    /**
+     * Zrem long.
+     *
+     * @param flag    the flag
+     * @param key     the key
+     * @param members the members
+     * @return the long
+     */
+    ListenableFuture<Long> zrem(String flag, String key, String... members);
+
+    /**
+     * Zincrby double.
+     *
+     * @param flag      the flag
+     * @param key       the key
+     * @param increment the increment
+     * @param member    the member
+     * @return the double
+     */
+    ListenableFuture<Double> zincrby(String flag, String key, double increment, String member);
+
+    /**
+     * Sets and expire.
+     *
+     * @param flag    the flag
+     * @param key     the key
+     * @param value   the value
+     * @param seconds the seconds
+     * @return the and expire
+     */
+    ListenableFuture<List<Object>> setAndExpire(String flag, String key, String value, int seconds);
+
+    /**
+     * Lpush and expire list.
+     *
+     * @param flag    the flag
+     * @param seconds the seconds
+     * @param key     the key
+     * @param strings the strings
+     * @return the list
+     */
+    ListenableFuture<List<Object>> lpushAndExpire(String flag, int seconds, String key, String... strings);
+
+    /**
+     * Rpush and expire list.
+     *
+     * @param flag    the flag
+     * @param seconds the seconds
+     * @param key     the key
+     * @param strings the strings
+     * @return the list
+     */
+    ListenableFuture<List<Object>> rpushAndExpire(String flag, int seconds, String key, String... strings);
+
+    /**
+     * Sadd and expire list.
+     *
+     * @param flag    the flag
+     * @param seconds the seconds
+     * @param key     the key
+     * @param members the members
+     * @return the list
+     */
+    ListenableFuture<List<Object>> saddAndExpire(String flag, int seconds, String key, String... members);
+
+    /**
+     * Zadd and expire list.
+     *
+     * @param flag         the flag
+     * @param key          the key
+     * @param scoreMembers the score members
+     * @param seconds      the seconds
+     * @return the list
+     */
+    ListenableFuture<List<Object>> zaddAndExpire(String flag, String key, Map<String, Double> scoreMembers, int seconds);
+
+    /**
+     * Hmset and expire list.
+     *
+     * @param flag    the flag
+     * @param key     the key
+     * @param hash    the hash
+     * @param seconds the seconds
+     * @return the list
+     */
+    ListenableFuture<List<Object>> hmsetAndExpire(String flag, String key, Map<String, String> hash, int seconds);
+}
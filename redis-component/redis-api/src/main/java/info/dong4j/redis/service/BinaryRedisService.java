@@ -0,0 +1,1119 @@
+package info.dong4j.redis.service;
+
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import redis.clients.jedis.SortingParams;
+import redis.clients.jedis.Tuple;
+
+/**
+ * <p>Description: 二进制安全的 api, 与 {@link RedisService} 命令一一对应</p>
+ * key/value 均为 byte[], 直接以原始字节发送, 不经过 SafeEncoder 的 UTF-8 编解码, protobuf 等二进制 payload 无需 base64 后再存储.
+ * get/hget/lindex 额外提供写入调用方 {@link ByteBuffer} 的重载, 调用方可以复用同一个 buffer, 省去每次调用结果的分配与拷贝.
+ * configGet/flushAll/keys/scan/select 等与 payload 无关的管理命令仍使用 {@link RedisService}.
+ * 分片模式下 byte[] key 与 Jedis 相同按完整的 key 计算分片, 不处理 {tag}.
+ *
+ * @author dong4j
+ * @email dong4j@gmail.com
+ * @date 2026-10-18  23:59
+ */
+public interface BinaryRedisService {
+    /**
+     * Append long.
+     *
+     * @param flag  the flag
+     * @param key   the key
+     * @param value the value
+     * @return the long
+     * @throws Exception the exception
+     */
+    Long append(String flag, byte[] key, byte[] value) throws Exception;
+
+    /**
+     * Blpop list.
+     *
+     * @param flag    the flag
+     * @param timeout the timeout
+     * @param keys    the keys
+     * @return the list
+     * @throws Exception the exception
+     */
+    List<byte[]> blpop(String flag, int timeout, byte[]... keys) throws Exception;
+
+    /**
+     * Brpop list.
+     *
+     * @param flag    the flag
+     * @param timeout the timeout
+     * @param keys    the keys
+     * @return the list
+     * @throws Exception the exception
+     */
+    List<byte[]> brpop(String flag, int timeout, byte[]... keys) throws Exception;
+
+    /**
+     * Decr long.
+     *
+     * @param flag the flag
+     * @param key  the key
+     * @return the long
+     * @throws Exception the exception
+     */
+    Long decr(String flag, byte[] key) throws Exception;
+
+    /**
+     * Decr by long.
+     *
+     * @param flag    the flag
+     * @param key     the key
+     * @param integer the integer
+     * @return the long
+     * @throws Exception the exception
+     */
+    Long decrBy(String flag, byte[] key, long integer) throws Exception;
+
+    /**
+     * Del long.
+     *
+     * @param flag the flag
+     * @param keys the keys
+     * @return the long
+     * @throws Exception the exception
+     */
+    Long del(String flag, byte[]... keys) throws Exception;
+
+    /**
+     * Exists boolean.
+     *
+     * @param flag the flag
+     * @param key  the key
+     * @return the boolean
+     * @throws Exception the exception
+     */
+    Boolean exists(String flag, byte[] key) throws Exception;
+
+    /**
+     * Expire long.
+     *
+     * @param flag    the flag
+     * @param key     the key
+     * @param seconds the seconds
+     * @return the long
+     * @throws Exception the exception
+     */
+    Long expire(String flag, byte[] key, int seconds) throws Exception;
+
+    /**
+     * Get byte [ ].
+     *
+     * @param flag the flag
+     * @param key  the key
+     * @return the byte [ ]
+     * @throws Exception the exception
+     */
+    byte[] get(String flag, byte[] key) throws Exception;
+
+    /**
+     * Get 并把 value 写入调用方提供的 buffer, 适合复用同一个 buffer 读取大量定长或有上限的 value.
+     * 从 target 当前的 position 开始写入, 写入后 position 后移 value 的长度; 剩余空间不足时抛出
+     * {@link java.nio.BufferOverflowException}, target 保持不变
+     *
+     * @param flag   the flag
+     * @param key    the key
+     * @param target the target
+     * @return value 的字节数, key 不存在时返回 -1
+     * @throws Exception the exception
+     */
+    int get(String flag, byte[] key, ByteBuffer target) throws Exception;
+
+    /**
+     * Gets .
+     *
+     * @param flag   the flag
+     * @param key    the key
+     * @param offset the offset
+     * @return the
+     * @throws Exception the exception
+     */
+    Boolean getbit(String flag, byte[] key, long offset) throws Exception;
+
+    /**
+     * Gets .
+     *
+     * @param flag        the flag
+     * @param key         the key
+     * @param startOffset the start offset
+     * @param endOffset   the end offset
+     * @return the
+     * @throws Exception the exception
+     */
+    byte[] getrange(String flag, byte[] key, long startOffset, long endOffset) throws Exception;
+
+    /**
+     * Gets set.
+     *
+     * @param flag  the flag
+     * @param key   the key
+     * @param value the value
+     * @return the set
+     * @throws Exception the exception
+     */
+    byte[] getSet(String flag, byte[] key, byte[] value) throws Exception;
+
+    /**
+     * Hdel long.
+     *
+     * @param flag   the flag
+     * @param key    the key
+     * @param fields the fields
+     * @return the long
+     * @throws Exception the exception
+     */
+    Long hdel(String flag, byte[] key, byte[]... fields) throws Exception;
+
+    /**
+     * Hexists boolean.
+     *
+     * @param flag  the flag
+     * @param key   the key
+     * @param field the field
+     * @return the boolean
+     * @throws Exception the exception
+     */
+    Boolean hexists(String flag, byte[] key, byte[] field) throws Exception;
+
+    /**
+     * Hget byte [ ].
+     *
+     * @param flag  the flag
+     * @param key   the key
+     * @param field the field
+     * @return the byte [ ]
+     * @throws Exception the exception
+     */
+    byte[] hget(String flag, byte[] key, byte[] field) throws Exception;
+
+    /**
+     * Hget 并把 value 写入调用方提供的 buffer, 写入规则见 {@link #get(String, byte[], ByteBuffer)}
+     *
+     * @param flag   the flag
+     * @param key    the key
+     * @param field  the field
+     * @param target the target
+     * @return value 的字节数, key 或 field 不存在时返回 -1
+     * @throws Exception the exception
+     */
+    int hget(String flag, byte[] key, byte[] field, ByteBuffer target) throws Exception;
+
+    /**
+     * Hget all map.
+     *
+     * @param flag the flag
+     * @param key  the key
+     * @return the map
+     * @throws Exception the exception
+     */
+    Map<byte[], byte[]> hgetAll(String flag, byte[] key) throws Exception;
+
+    /**
+     * 使用 HSCAN 分页遍历 hash 的所有 field, 适用于 field 很多、不宜使用 hgetAll/hkeys/hvals 的 hash.
+     * 迭代器每次只缓冲一页, 消费完当前页后才读取下一页
+     *
+     * @param flag  the flag
+     * @param key   the key
+     * @param count COUNT 每页的数量提示
+     * @return the iterator
+     * @throws Exception the exception
+     */
+    Iterator<Map.Entry<byte[], byte[]>> hscan(String flag, byte[] key, int count) throws Exception;
+
+    /**
+     * Hincr by long.
+     *
+     * @param flag  the flag
+     * @param key   the key
+     * @param field the field
+     * @param value the value
+     * @return the long
+     * @throws Exception the exception
+     */
+    Long hincrBy(String flag, byte[] key, byte[] field, long value) throws Exception;
+
+    /**
+     * Hkeys set.
+     *
+     * @param flag the flag
+     * @param key  the key
+     * @return the set
+     * @throws Exception the exception
+     */
+    Set<byte[]> hkeys(String flag, byte[] key) throws Exception;
+
+    /**
+     * Hlen long.
+     *
+     * @param flag the flag
+     * @param key  the key
+     * @return the long
+     * @throws Exception the exception
+     */
+    Long hlen(String flag, byte[] key) throws Exception;
+
+    /**
+     * Hmget list.
+     *
+     * @param flag   the flag
+     * @param key    the key
+     * @param fields the fields
+     * @return the list
+     * @throws Exception the exception
+     */
+    List<byte[]> hmget(String flag, byte[] key, byte[]... fields) throws Exception;
+
+    /**
+     * Hmset string.
+     *
+     * @param flag the flag
+     * @param key  the key
+     * @param hash the hash
+     * @return the string
+     * @throws Exception the exception
+     */
+    String hmset(String flag, byte[] key, Map<byte[], byte[]> hash) throws Exception;
+
+    /**
+     * Hset long.
+     *
+     * @param flag  the flag
+     * @param key   the key
+     * @param field the field
+     * @param value the value
+     * @return the long
+     * @throws Exception the exception
+     */
+    Long hset(String flag, byte[] key, byte[] field, byte[] value) throws Exception;
+
+    /**
+     * Hsetnx long.
+     *
+     * @param flag  the flag
+     * @param key   the key
+     * @param field the field
+     * @param value the value
+     * @return the long
+     * @throws Exception the exception
+     */
+    Long hsetnx(String flag, byte[] key, byte[] field, byte[] value) throws Exception;
+
+    /**
+     * Hvals list.
+     *
+     * @param flag the flag
+     * @param key  the key
+     * @return the list
+     * @throws Exception the exception
+     */
+    List<byte[]> hvals(String flag, byte[] key) throws Exception;
+
+    /**
+     * Incr long.
+     *
+     * @param flag the flag
+     * @param key  the key
+     * @return the long
+     * @throws Exception the exception
+     */
+    Long incr(String flag, byte[] key) throws Exception;
+
+    /**
+     * Incr by long.
+     *
+     * @param flag    the flag
+     * @param key     the key
+     * @param integer the integer
+     * @return the long
+     * @throws Exception the exception
+     */
+    Long incrBy(String flag, byte[] key, long integer) throws Exception;
+
+    /**
+     * Lindex byte [ ].
+     *
+     * @param flag  the flag
+     * @param key   the key
+     * @param index the index
+     * @return the byte [ ]
+     * @throws Exception the exception
+     */
+    byte[] lindex(String flag, byte[] key, long index) throws Exception;
+
+    /**
+     * Lindex 并把元素写入调用方提供的 buffer, 写入规则见 {@link #get(String, byte[], ByteBuffer)}
+     *
+     * @param flag   the flag
+     * @param key    the key
+     * @param index  the index
+     * @param target the target
+     * @return 元素的字节数, 下标超出范围时返回 -1
+     * @throws Exception the exception
+     */
+    int lindex(String flag, byte[] key, long index, ByteBuffer target) throws Exception;
+
+    /**
+     * Llen long.
+     *
+     * @param flag the flag
+     * @param key  the key
+     * @return the long
+     * @throws Exception the exception
+     */
+    Long llen(String flag, byte[] key) throws Exception;
+
+    /**
+     * Lpop byte [ ].
+     *
+     * @param flag the flag
+     * @param key  the key
+     * @return the byte [ ]
+     * @throws Exception the exception
+     */
+    byte[] lpop(String flag, byte[] key) throws Exception;
+
+    /**
+     * Lpush long.
+     *
+     * @param flag    the flag
+     * @param key     the key
+     * @param strings the strings
+     * @return the long
+     * @throws Exception the exception
+     */
+    Long lpush(String flag, byte[] key, byte[]... strings) throws Exception;
+
+    /**
+     * Lpushx long.
+     *
+     * @param flag   the flag
+     * @param key    the key
+     * @param string the string
+     * @return the long
+     * @throws Exception the exception
+     */
+    Long lpushx(String flag, byte[] key, byte[] string) throws Exception;
+
+    /**
+     * Lrange list.
+     *
+     * @param flag  the flag
+     * @param key   the key
+     * @param start the start
+     * @param end   the end
+     * @return the list
+     * @throws Exception the exception
+     */
+    List<byte[]> lrange(String flag, byte[] key, long start, long end) throws Exception;
+
+    /**
+     * Lrem long.
+     *
+     * @param flag  the flag
+     * @param key   the key
+     * @param count the count
+     * @param value the value
+     * @return the long
+     * @throws Exception the exception
+     */
+    Long lrem(String flag, byte[] key, long count, byte[] value) throws Exception;
+
+    /**
+     * Lset string.
+     *
+     * @param flag  the flag
+     * @param key   the key
+     * @param index the index
+     * @param value the value
+     * @return the string
+     * @throws Exception the exception
+     */
+    String lset(String flag, byte[] key, long index, byte[] value) throws Exception;
+
+    /**
+     * Ltrim string.
+     *
+     * @param flag  the flag
+     * @param key   the key
+     * @param start the start
+     * @param end   the end
+     * @return the string
+     * @throws Exception the exception
+     */
+    String ltrim(String flag, byte[] key, long start, long end) throws Exception;
+
+    /**
+     * Mget list.
+     *
+     * @param flag the flag
+     * @param keys the keys
+     * @return the list
+     * @throws Exception the exception
+     */
+    List<byte[]> mget(String flag, byte[]... keys) throws Exception;
+
+    /**
+     * Move long.
+     *
+     * @param flag    the flag
+     * @param key     the key
+     * @param dbIndex the db index
+     * @return the long
+     * @throws Exception the exception
+     */
+    Long move(String flag, byte[] key, int dbIndex) throws Exception;
+
+    /**
+     * Mset string.
+     *
+     * @param flag       the flag
+     * @param keysvalues the keysvalues
+     * @return the string
+     * @throws Exception the exception
+     */
+    String mset(String flag, byte[]... keysvalues) throws Exception;
+
+    /**
+     * Msetnx long.
+     *
+     * @param flag       the flag
+     * @param keysvalues the keysvalues
+     * @return the long
+     * @throws Exception the exception
+     */
+    Long msetnx(String flag, byte[]... keysvalues) throws Exception;
+
+    /**
+     * Publish long.
+     *
+     * @param flag    the flag
+     * @param channel the channel
+     * @param message the message
+     * @return the long
+     * @throws Exception the exception
+     */
+    Long publish(String flag, byte[] channel, byte[] message) throws Exception;
+
+    /**
+     * Rename string.
+     *
+     * @param flag   the flag
+     * @param oldkey the oldkey
+     * @param newkey the newkey
+     * @return the string
+     * @throws Exception the exception
+     */
+    String rename(String flag, byte[] oldkey, byte[] newkey) throws Exception;
+
+    /**
+     * Renamenx long.
+     *
+     * @param flag   the flag
+     * @param oldkey the oldkey
+     * @param newkey the newkey
+     * @return the long
+     * @throws Exception the exception
+     */
+    Long renamenx(String flag, byte[] oldkey, byte[] newkey) throws Exception;
+
+    /**
+     * Rpop byte [ ].
+     *
+     * @param flag the flag
+     * @param key  the key
+     * @return the byte [ ]
+     * @throws Exception the exception
+     */
+    byte[] rpop(String flag, byte[] key) throws Exception;
+
+    /**
+     * Rpoplpush byte [ ].
+     *
+     * @param flag   the flag
+     * @param srckey the srckey
+     * @param dstkey the dstkey
+     * @return the byte [ ]
+     * @throws Exception the exception
+     */
+    byte[] rpoplpush(String flag, byte[] srckey, byte[] dstkey) throws Exception;
+
+    /**
+     * Rpush long.
+     *
+     * @param flag    the flag
+     * @param key     the key
+     * @param strings the strings
+     * @return the long
+     * @throws Exception the exception
+     */
+    Long rpush(String flag, byte[] key, byte[]... strings) throws Exception;
+
+    /**
+     * Rpushx long.
+     *
+     * @param flag   the flag
+     * @param key    the key
+     * @param string the string
+     * @return the long
+     * @throws Exception the exception
+     */
+    Long rpushx(String flag, byte[] key, byte[] string) throws Exception;
+
+    /**
+     * Sadd long.
+     *
+     * @param flag    the flag
+     * @param key     the key
+     * @param members the members
+     * @return the long
+     * @throws Exception the exception
+     */
+    Long sadd(String flag, byte[] key, byte[]... members) throws Exception;
+
+    /**
+     * Scard long.
+     *
+     * @param flag the flag
+     * @param key  the key
+     * @return the long
+     * @throws Exception the exception
+     */
+    Long scard(String flag, byte[] key) throws Exception;
+
+    /**
+     * Sdiff set.
+     *
+     * @param flag the flag
+     * @param keys the keys
+     * @return the set
+     * @throws Exception the exception
+     */
+    Set<byte[]> sdiff(String flag, byte[]... keys) throws Exception;
+
+    /**
+     * Sdiffstore long.
+     *
+     * @param flag   the flag
+     * @param dstkey the dstkey
+     * @param keys   the keys
+     * @return the long
+     * @throws Exception the exception
+     */
+    Long sdiffstore(String flag, byte[] dstkey, byte[]... keys) throws Exception;
+
+    /**
+     * Set string.
+     *
+     * @param flag  the flag
+     * @param key   the key
+     * @param value the value
+     * @return the string
+     * @throws Exception the exception
+     */
+    String set(String flag, byte[] key, byte[] value) throws Exception;
+
+    /**
+     * Sets .
+     *
+     * @param flag   the flag
+     * @param key    the key
+     * @param offset the offset
+     * @param value  the value
+     * @return the
+     * @throws Exception the exception
+     */
+    Boolean setbit(String flag, byte[] key, long offset, boolean value) throws Exception;
+
+    /**
+     * Sets .
+     *
+     * @param flag    the flag
+     * @param key     the key
+     * @param seconds the seconds
+     * @param value   the value
+     * @return the
+     * @throws Exception the exception
+     */
+    String setex(String flag, byte[] key, int seconds, byte[] value) throws Exception;
+
+    /**
+     * Sets .
+     *
+     * @param flag  the flag
+     * @param key   the key
+     * @param value the value
+     * @return the
+     * @throws Exception the exception
+     */
+    Long setnx(String flag, byte[] key, byte[] value) throws Exception;
+
+    /**
+     * Sets .
+     *
+     * @param flag   the flag
+     * @param key    the key
+     * @param offset the offset
+     * @param value  the value
+     * @return the
+     * @throws Exception the exception
+     */
+    Long setrange(String flag, byte[] key, long offset, byte[] value) throws Exception;
+
+    /**
+     * Sinter set.
+     *
+     * @param flag the flag
+     * @param keys the keys
+     * @return the set
+     * @throws Exception the exception
+     */
+    Set<byte[]> sinter(String flag, byte[]... keys) throws Exception;
+
+    /**
+     * Smembers set.
+     *
+     * @param flag the flag
+     * @param key  the key
+     * @return the set
+     * @throws Exception the exception
+     */
+    Set<byte[]> smembers(String flag, byte[] key) throws Exception;
+
+    /**
+     * 使用 SSCAN 分页遍历 set 的所有元素, 适用于元素很多、不宜使用 smembers 的 set.
+     * 迭代器每次只缓冲一页, 消费完当前页后才读取下一页
+     *
+     * @param flag  the flag
+     * @param key   the key
+     * @param count COUNT 每页的数量提示
+     * @return the iterator
+     * @throws Exception the exception
+     */
+    Iterator<byte[]> sscan(String flag, byte[] key, int count) throws Exception;
+
+    /**
+     * Smove long.
+     *
+     * @param flag   the flag
+     * @param srckey the srckey
+     * @param dstkey the dstkey
+     * @param member the member
+     * @return the long
+     * @throws Exception the exception
+     */
+    Long smove(String flag, byte[] srckey, byte[] dstkey, byte[] member) throws Exception;
+
+    /**
+     * Sort list.
+     *
+     * @param flag the flag
+     * @param key  the key
+     * @return the list
+     * @throws Exception the exception
+     */
+    List<byte[]> sort(String flag, byte[] key) throws Exception;
+
+    /**
+     * Sort list.
+     *
+     * @param flag              the flag
+     * @param key               the key
+     * @param sortingParameters the sorting parameters
+     * @return the list
+     * @throws Exception the exception
+     */
+    List<byte[]> sort(String flag, byte[] key, SortingParams sortingParameters) throws Exception;
+
+    /**
+     * Sort long.
+     *
+     * @param flag              the flag
+     * @param key               the key
+     * @param sortingParameters the sorting parameters
+     * @param dstkey            the dstkey
+     * @return the long
+     * @throws Exception the exception
+     */
+    Long sort(String flag, byte[] key, SortingParams sortingParameters, byte[] dstkey) throws Exception;
+
+    /**
+     * Sort long.
+     *
+     * @param flag   the flag
+     * @param key    the key
+     * @param dstkey the dstkey
+     * @return the long
+     * @throws Exception the exception
+     */
+    Long sort(String flag, byte[] key, byte[] dstkey) throws Exception;
+
+    /**
+     * Spop byte [ ].
+     *
+     * @param flag the flag
+     * @param key  the key
+     * @return the byte [ ]
+     * @throws Exception the exception
+     */
+    byte[] spop(String flag, byte[] key) throws Exception;
+
+    /**
+     * Srandmember byte [ ].
+     *
+     * @param flag the flag
+     * @param key  the key
+     * @return the byte [ ]
+     * @throws Exception the exception
+     */
+    byte[] srandmember(String flag, byte[] key) throws Exception;
+
+    /**
+     * Srandmember list.
+     *
+     * @param flag  the flag
+     * @param key   the key
+     * @param count the count
+     * @return the list
+     * @throws Exception the exception
+     */
+    List<byte[]> srandmember(String flag, byte[] key, int count) throws Exception;
+
+    /**
+     * Strlen long.
+     *
+     * @param flag the flag
+     * @param key  the key
+     * @return the long
+     * @throws Exception the exception
+     */
+    Long strlen(String flag, byte[] key) throws Exception;
+
+    /**
+     * Substr byte [ ].
+     *
+     * @param flag  the flag
+     * @param key   the key
+     * @param start the start
+     * @param end   the end
+     * @return the byte [ ]
+     * @throws Exception the exception
+     */
+    byte[] substr(String flag, byte[] key, int start, int end) throws Exception;
+
+    /**
+     * Zadd long.
+     *
+     * @param flag   the flag
+     * @param key    the key
+     * @param score  the score
+     * @param member the member
+     * @return the long
+     * @throws Exception the exception
+     */
+    Long zadd(String flag, byte[] key, double score, byte[] member) throws Exception;
+
+    /**
+     * Zadd long.
+     *
+     * @param flag         the flag
+     * @param key          the key
+     * @param scoreMembers the score members
+     * @return the long
+     * @throws Exception the exception
+     */
+    Long zadd(String flag, byte[] key, Map<byte[], Double> scoreMembers) throws Exception;
+
+    /**
+     * Zcount long.
+     *
+     * @param flag the flag
+     * @param key  the key
+     * @param min  the min
+     * @param max  the max
+     * @return the long
+     * @throws Exception the exception
+     */
+    Long zcount(String flag, byte[] key, double min, double max) throws Exception;
+
+    /**
+     * Zcard long.
+     *
+     * @param flag the flag
+     * @param key  the key
+     * @return the long
+     * @throws Exception the exception
+     */
+    Long zcard(String flag, byte[] key) throws Exception;
+
+    /**
+     * Zrange set.
+     *
+     * @param flag  the flag
+     * @param key   the key
+     * @param start the start
+     * @param end   the end
+     * @return the set
+     * @throws Exception the exception
+     */
+    Set<byte[]> zrange(String flag, byte[] key, long start, long end) throws Exception;
+
+    /**
+     * 使用 ZSCAN 分页遍历 sorted set 的所有元素及分数, 适用于元素很多、不宜使用 zrange(0, -1) 的 sorted set. 返回顺序与分数无关.
+     * 迭代器每次只缓冲一页, 消费完当前页后才读取下一页
+     *
+     * @param flag  the flag
+     * @param key   the key
+     * @param count COUNT 每页的数量提示
+     * @return the iterator
+     * @throws Exception the exception
+     */
+    Iterator<Tuple> zscan(String flag, byte[] key, int count) throws Exception;
+
+    /**
+     * Zrank long.
+     *
+     * @param flag   the flag
+     * @param key    the key
+     * @param member the member
+     * @return the long
+     * @throws Exception the exception
+     */
+    Long zrank(String flag, byte[] key, byte[] member) throws Exception;
+
+    /**
+     * Zscore double.
+     *
+     * @param flag   the flag
+     * @param key    the key
+     * @param member the member
+     * @return the double
+     * @throws Exception the exception
+     */
+    Double zscore(String flag, byte[] key, byte[] member) throws Exception;
+
+    /**
+     * Zrange by score set.
+     *
+     * @param flag the flag
+     * @param key  the key
+     * @param min  the min
+     * @param max  the max
+     * @return the set
+     * @throws Exception the exception
+     */
+    Set<byte[]> zrangeByScore(String flag, byte[] key, double min, double max) throws Exception;
+
+    /**
+     * Zrange by score set.
+     *
+     * @param flag   the flag
+     * @param key    the key
+     * @param min    the min
+     * @param max    the max
+     * @param offset the offset
+     * @param count  the count
+     * @return the set
+     * @throws Exception the exception
+     */
+    Set<byte[]> zrangeByScore(String flag, byte[] key, double min, double max, int offset, int count) throws Exception;
+
+    /**
+     * Zrange by score set.
+     *
+     * @param flag the flag
+     * @param key  the key
+     * @param min  the min
+     * @param max  the max
+     * @return the set
+     * @throws Exception the exception
+     */
+    Set<byte[]> zrangeByScore(String flag, byte[] key, byte[] min, byte[] max) throws Exception;
+
+    /**
+     * Zrange by score set.
+     *
+     * @param flag   the flag
+     * @param key    the key
+     * @param min    the min
+     * @param max    the max
+     * @param offset the offset
+     * @param count  the count
+     * @return the set
+     * @throws Exception the exception
+     */
+    Set<byte[]> zrangeByScore(String flag, byte[] key, byte[] min, byte[] max, int offset, int count) throws Exception;
+
+    /**
+     * Zrevrange with scores set.
+     *
+     * @param flag  the flag
+     * @param key   the key
+     * @param start the start
+     * @param end   the end
+     * @return the set
+     * @throws Exception the exception
+     */
+    Set<Tuple> zrevrangeWithScores(String flag, byte[] key, long start, long end) throws Exception;
+
+    /**
+     * Zrevrank long.
+     *
+     * @param flag   the flag
+     * @param key    the key
+     * @param member the member
+     * @return the long
+     * @throws Exception the exception
+     */
+    Long zrevrank(String flag, byte[] key, byte[] member) throws Exception;
+
+    /**
+     * Zrevrange set.
+     *
+     * @param flag  the flag
+     * @param key   the key
+     * @param start the start
+     * @param end   the end
+     * @return the set
+     * @throws Exception the exception
+     */
+    Set<byte[]> zrevrange(String flag, byte[] key, long start, long end) throws Exception;
+
+    /**
+     * Zrange with scores set.
+     *
+     * @param flag  the flag
+     * @param key   the key
+     * @param start the start
+     * @param end   the end
+     * @return the set
+     * @throws Exception the exception
+     */
+    Set<Tuple> zrangeWithScores(String flag, byte[] key, long start, long end) throws Exception;
+
+    /**
+     * Srem long.
+     *
+     * @param flag    the flag
+     * @param key     the key
+     * @param members the members
+     * @return the long
+     * @throws Exception the exception
+     */
+    Long srem(String flag, byte[] key, byte[]... members) throws Exception;
+
+    /**
+     * Sismember boolean.
+     *
+     * @param flag   the flag
+     * @param key    the key
+     * @param member the member
+     * @return the boolean
+     * @throws Exception the exception
+     */
+    Boolean sismember(String flag, byte[] key, byte[] member) throws Exception;
+
+    /**
+     * Zrem long.
+     *
+     * @param flag    the flag
+     * @param key     the key
+     * @param members the members
+     * @return the long
+     * @throws Exception the exception
+     */
+    Long zrem(String flag, byte[] key, byte[]... members) throws Exception;
+
+    /**
+     * Zincrby double.
+     *
+     * @param flag      the flag
+     * @param key       the key
+     * @param increment the increment
+     * @param member    the member
+     * @return the double
+     * @throws Exception the exception
+     */
+    Double zincrby(String flag, byte[] key, double increment, byte[] member) throws Exception;
+
+    /**
+     * Sets and expire.
+     *
+     * @param flag    the flag
+     * @param key     the key
+     * @param value   the value
+     * @param seconds the seconds
+     * @return the and expire
+     * @throws Exception the exception
+     */
+    List<Object> setAndExpire(String flag, byte[] key, byte[] value, int seconds) throws Exception;
+
+    /**
+     * Lpush and expire list.
+     *
+     * @param flag    the flag
+     * @param seconds the seconds
+     * @param key     the key
+     * @param strings the strings
+     * @return the list
+     * @throws Exception the exception
+     */
+    List<Object> lpushAndExpire(String flag, int seconds, byte[] key, byte[]... strings) throws Exception;
+
+    /**
+     * Rpush and expire list.
+     *
+     * @param flag    the flag
+     * @param seconds the seconds
+     * @param key     the key
+     * @param strings the strings
+     * @return the list
+     * @throws Exception the exception
+     */
+    List<Object> rpushAndExpire(String flag, int seconds, byte[] key, byte[]... strings) throws Exception;
+
+    /**
+     * Sadd and expire list.
+     *
+     * @param flag    the flag
+     * @param seconds the seconds
+     * @param key     the key
+     * @param members the members
+     * @return the list
+     * @throws Exception the exception
+     */
+    List<Object> saddAndExpire(String flag, int seconds, byte[] key, byte[]... members) throws Exception;
+
+    /**
+     * Zadd and expire list.
+     *
+     * @param flag         the flag
+     * @param key          the key
+     * @param scoreMembers the score members
+     * @param seconds      the seconds
+     * @return the list
+     * @throws Exception the exception
+     */
+    List<Object> zaddAndExpire(String flag, byte[] key, Map<byte[], Double> scoreMembers, int seconds) throws Exception;
+
+    /**
+     * Hmset and expire list.
+     *
+     * @param flag    the flag
+     * @param key     the key
+     * @param hash    the hash
+     * @param seconds the seconds
+     * @return the list
+     * @throws Exception the exception
+     */
+    List<Object> hmsetAndExpire(String flag, byte[] key, Map<byte[], byte[]> hash, int seconds) throws Exception;
+}
@@ -1,5 +1,6 @@
 package info.dong4j.redis.service;
 
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -274,6 +275,18 @@ public interface RedisService {
      */
     Map<String, String> hgetAll(String flag, String key) throws Exception;
 
+    /**
+     * 使用 HSCAN 分页遍历 hash 的所有 field, 适用于 field 很多、不宜使用 hgetAll/hkeys/hvals 的 hash.
+     * 迭代器每次只缓冲一页, 消费完当前页后才读取下一页
+     *
+     * @param flag  the flag
+     * @param key   the key
+     * @param count COUNT 每页的数量提示
+     * @return the iterator
+     * @throws Exception the exception
+     */
+    Iterator<Map.Entry<String, String>> hscan(String flag, String key, int count) throws Exception;
+
     /**
      * Hincr by long.
      *
@@ -385,6 +398,7 @@ public interface RedisService {
 
     /**
      * Keys set.
+     * 基于 {@link #scan} 实现, 不再使用阻塞 redis 的 KEYS 命令, 但仍会把所有 key 放入内存, key 数量很大时应直接使用 scan
      *
      * @param flag    the flag
      * @param pattern the pattern
@@ -393,6 +407,19 @@ public interface RedisService {
      */
     Set<String> keys(String flag, String pattern) throws Exception;
 
+    /**
+     * 使用 SCAN 遍历所有节点(分片、集群 master)的 key, 迭代器惰性翻页, 内存占用与 key 总数无关.
+     * 遍历期间新增或删除的 key 可能返回也可能不返回, 同一个 key 可能返回多次
+     *
+     * @param flag    the flag
+     * @param pattern MATCH 匹配模式, 为 null 时返回所有 key
+     * @param count   COUNT 每次 SCAN 的数量提示
+     * @param type    key 类型(string/list/set/zset/hash), 为 null 时不过滤
+     * @return the iterator
+     * @throws Exception the exception
+     */
+    Iterator<String> scan(String flag, String pattern, int count, String type) throws Exception;
+
     /**
      * Lindex string.
      *
@@ -750,6 +777,18 @@ public interface RedisService {
      */
     Set<String> smembers(String flag, String key) throws Exception;
 
+    /**
+     * 使用 SSCAN 分页遍历 set 的所有元素, 适用于元素很多、不宜使用 smembers 的 set.
+     * 迭代器每次只缓冲一页, 消费完当前页后才读取下一页
+     *
+     * @param flag  the flag
+     * @param key   the key
+     * @param count COUNT 每页的数量提示
+     * @return the iterator
+     * @throws Exception the exception
+     */
+    Iterator<String> sscan(String flag, String key, int count) throws Exception;
+
     /**
      * Smove long.
      *
@@ -916,6 +955,18 @@ public interface RedisService {
      */
     Set<String> zrange(String flag, String key, long start, long end) throws Exception;
 
+    /**
+     * 使用 ZSCAN 分页遍历 sorted set 的所有元素及分数, 适用于元素很多、不宜使用 zrange(0, -1) 的 sorted set. 返回顺序与分数无关.
+     * 迭代器每次只缓冲一页, 消费完当前页后才读取下一页
+     *
+     * @param flag  the flag
+     * @param key   the key
+     * @param count COUNT 每页的数量提示
+     * @return the iterator
+     * @throws Exception the exception
+     */
+    Iterator<Tuple> zscan(String flag, String key, int count) throws Exception;
+
     /**
      * Zrank long.
      *
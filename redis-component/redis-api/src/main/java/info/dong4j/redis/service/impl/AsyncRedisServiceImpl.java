@@ -0,0 +1,1106 @@
+package info.dong4j.redis.service.impl;
+
+import info.dong4j.redis.service.AsyncRedisService;
+import info.dong4j.redis.service.RedisService;
+import info.dong4j.redis.service.support.NodeInFlightLimiter;
+import info.dong4j.redis.service.support.RedisNodeLocator;
+
+import org.springframework.util.concurrent.ListenableFuture;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import redis.clients.jedis.SortingParams;
+import redis.clients.jedis.Tuple;
+
+/**
+ * <p>Description: 基于同步 {@link RedisService} 的异步实现</p>
+ * 命令在独立的 I/O 线程池中执行, 不占用调用方线程.
+ * 每个节点同时执行的命令数受 maxInFlightPerNode 限制, 超出的命令在该节点的队列中等待,
+ * 队列满时 future 以 RejectedExecutionException 失败, 避免单个慢节点拖垮整个线程池.
+ * 多 key 命令按第一个 key 所在的节点计数, 不针对 key 的命令(flushAll, keys 等)统一计入 {@link RedisNodeLocator#ALL_NODES}.
+ *
+ * @author dong4j
+ * @email dong4j@gmail.com
+ * @date 2026-10-18  15:50
+ */
+public class AsyncRedisServiceImpl implements AsyncRedisService {
+    private final RedisService        delegate;
+    private final RedisNodeLocator    locator;
+    private final ExecutorService     executor;
+    private final NodeInFlightLimiter limiter;
+
+    /**
+     * Instantiates a new Async redis service.
+     *
+     * @param delegate           同步实现
+     * @param locator            节点定位
+     * @param threads            I/O 线程数
+     * @param maxInFlightPerNode 每个节点同时执行的命令数上限
+     * @param maxPendingPerNode  每个节点等待执行的命令数上限
+     */
+    public AsyncRedisServiceImpl(RedisService delegate, RedisNodeLocator locator,
+                                 int threads, int maxInFlightPerNode, int maxPendingPerNode) {
+        this.delegate = delegate;
+        this.locator = locator;
+        // 等待的命令由 limiter 按节点排队, 线程池本身的队列不会超过 节点数 * maxInFlightPerNode
+        this.executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                                               new LinkedBlockingQueue<Runnable>(),
+                                               new AsyncThreadFactory());
+        this.limiter = new NodeInFlightLimiter(executor, maxInFlightPerNode, maxPendingPerNode);
+    }
+
+    /**
+     * 单 key 命令所在节点
+     *
+     * @param key the key
+     * @return the string
+     */
+    private String node(String key) {
+        return key == null ? RedisNodeLocator.ALL_NODES : locator.getNode(key);
+    }
+
+    /**
+     * 多 key 命令按第一个 key 所在节点
+     *
+     * @param keys the keys
+     * @return the string
+     */
+    private String node(String[] keys) {
+        return keys == null || keys.length == 0 ? RedisNodeLocator.ALL_NODES : node(keys[0]);
+    }
+
+    /**
+     * 关闭 I/O 线程池
+     */
+    public void destroy() {
+        executor.shutdown();
+    }
+
+
+    @Override
+    public ListenableFuture<Long> append(final String flag, final String key, final String value) {
+        return limiter.submit(node(key), new Callable<Long>() {
+            @Override
+            public Long call() throws Exception {
+                return delegate.append(flag, key, value);
+            }
+        });
+    }
+
+    @Override
+    public ListenableFuture<List<String>> blpop(final String flag, final int timeout, final String... keys) {
+        return limiter.submit(node(keys), new Callable<List<String>>() {
+            @Override
+            public List<String> call() throws Exception {
+                return delegate.blpop(flag, timeout, keys);
+            }
+        });
+    }
+
+    @Override
+    public ListenableFuture<List<String>> brpop(final String flag, final int timeout, final String... keys) {
+        return limiter.submit(node(keys), new Callable<List<String>>() {
+            @Override
+            public List<String> call() throws Exception {
+                return delegate.brpop(flag, timeout, keys);
+            }
+        });
+    }
+
+    @Override
+    public ListenableFuture<List<String>> configGet(final String flag, final String pattern) {
+        return limiter.submit(RedisNodeLocator.ALL_NODES, new Callable<List<String>>() {
+            @Override
+            public List<String> call() throws Exception {
+                return delegate.configGet(flag, pattern);
+            }
+        });
+    }
+
+    @Override
+    public ListenableFuture<String> configSet(final String flag, final String parameter, final String value) {
+        return limiter.submit(RedisNodeLocator.ALL_NODES, new Callable<String>() {
+            @Override
+            public String call() throws Exception {
+                return delegate.configSet(flag, parameter, value);
+            }
+        });
+    }
+
+    @Override
+    public ListenableFuture<Long> decr(final String flag, final String key) {
+        return limiter.submit(node(key), new Callable<Long>() {
+            @Override
+            public Long call() throws Exception {
+                return delegate.decr(flag, key);
+            }
+        });
+    }
+
+    @Override
+    public ListenableFuture<Long> decrBy(final String flag, final String key, final long integer) {
+        return limiter.submit(node(key), new Callable<Long>() {
+            @Override
+            public Long call() throws Exception {
+                return delegate.decrBy(flag, key, integer);
+            }
+        });
+    }
+
+    @Override
+    public ListenableFuture<Long> del(final String flag, final String... keys) {
+        return limiter.submit(node(keys), new Callable<Long>() {
+            @Override
+            public Long call() throws Exception {
+                return delegate.del(flag, keys);
+            }
+        });
+    }
+
+    @Override
+    public ListenableFuture<Object> eval(final String flag, final String script) {
+        return limiter.submit(RedisNodeLocator.ALL_NODES, new Callable<Object>() {
+            @Override
+            public Object call() throws Exception {
+                return delegate.eval(flag, script);
+            }
+        });
+    }
+
+    @Override
+    public ListenableFuture<Boolean> exists(final String flag, final String key) {
+        return limiter.submit(node(key), new Callable<Boolean>() {
+            @Override
+            public Boolean call() throws Exception {
+                return delegate.exists(flag, key);
+            }
+        });
+    }
+
+    @Override
+    public ListenableFuture<Long> expire(final String flag, final String key, final int seconds) {
+        return limiter.submit(node(key), new Callable<Long>() {
+            @Override
+            public Long call() throws Exception {
+                return delegate.expire(flag, key, seconds);
+            }
+        });
+    }
+
+    @Override
+    public ListenableFuture<String> flushAll(final String flag) {
+        return limiter.submit(RedisNodeLocator.ALL_NODES, new Callable<String>() {
+            @Override
+            public String call() throws Exception {
+                return delegate.flushAll(flag);
+            }
+        });
+    }
+
+    @Override
+    public ListenableFuture<String> flushDB(final String flag) {
+        return limiter.submit(RedisNodeLocator.ALL_NODES, new Callable<String>() {
+            @Override
+            public String call() throws Exception {
+                return delegate.flushDB(flag);
+            }
+        });
+    }
+
+    @Override
+    public ListenableFuture<String> get(final String flag, final String key) {
+        return limiter.submit(node(key), new Callable<String>() {
+            @Override
+            public String call() throws Exception {
+                return delegate.get(flag, key);
+            }
+        });
+    }
+
+    @Override
+    public ListenableFuture<Boolean> getbit(final String flag, final String key, final long offset) {
+        return limiter.submit(node(key), new Callable<Boolean>() {
+            @Override
+            public Boolean call() throws Exception {
+                return delegate.getbit(flag, key, offset);
+            }
+        });
+    }
+
+    @Override
+    public ListenableFuture<String> getrange(final String flag, final String key, final long startOffset, final long endOffset) {
+        return limiter.submit(node(key), new Callable<String>() {
+            @Override
+            public String call() throws Exception {
+                return delegate.getrange(flag, key, startOffset, endOffset);
+            }
+        });
+    }
+
+    @Override
+    public ListenableFuture<String> getSet(final String flag, final String key, final String value) {
+        return limiter.submit(node(key), new Callable<String>() {
+            @Override
+            public String call() throws Exception {
+                return delegate.getSet(flag, key, value);
+            }
+        });
+    }
+
+    @Override
+    public ListenableFuture<Long> hdel(final String flag, final String key, final String... fields) {
+        return limiter.submit(node(key), new Callable<Long>() {
+            @Override
+            public Long call() throws Exception {
+                return delegate.hdel(flag, key, fields);
+            }
+        });
+    }
+
+    @Override
+    public ListenableFuture<Boolean> hexists(final String flag, final String key, final String field) {
+        return limiter.submit(node(key), new Callable<Boolean>() {
+            @Override
+            public Boolean call() throws Exception {
+                return delegate.hexists(flag, key, field);
+            }
+        });
+    }
+
+    @Override
+    public ListenableFuture<String> hget(final String flag, final String key, final String field) {
+        return limiter.submit(node(key), new Callable<String>() {
+            @Override
+            public String call() throws Exception {
+                return delegate.hget(flag, key, field);
+            }
+        });
+    }
+
+    @Override
+    public ListenableFuture<Map<String, String>> hgetAll(final String flag, final String key) {
+        return limiter.submit(node(key), new Callable<Map<String, String>>() {
+            @Override
+            public Map<String, String> call() throws Exception {
+                return delegate.hgetAll(flag, key);
+            }
+        });
+    }
+
+    @Override
+    public ListenableFuture<Long> hincrBy(final String flag, final String key, final String field, final long value) {
+        return limiter.submit(node(key), new Callable<Long>() {
+            @Override
+            public Long call() throws Exception {
+                return delegate.hincrBy(flag, key, field, value);
+            }
+        });
+    }
+
+    @Override
+    public ListenableFuture<Set<String>> hkeys(final String flag, final String key) {
+        return limiter.submit(node(key), new Callable<Set<String>>() {
+            @Override
+            public Set<String> call() throws Exception {
+                return delegate.hkeys(flag, key);
+            }
+        });
+    }
+
+    @Override
+    public ListenableFuture<Long> hlen(final String flag, final String key) {
+        return limiter.submit(node(key), new Callable<Long>() {
+            @Override
+            public Long call() throws Exception {
+                return delegate.hlen(flag, key);
+            }
+        });
+    }
+
+    @Override
+    public ListenableFuture<List<String>> hmget(final String flag, final String key, final String... fields) {
+        return limiter.submit(node(key), new Callable<List<String>>() {
+            @Override
+            public List<String> call() throws Exception {
+                return delegate.hmget(flag, key, fields);
+            }
+        });
+    }
+
+    @Override
+    public ListenableFuture<String> hmset(final String flag, final String key, final Map<String, String> hash) {
+        return limiter.submit(node(key), new Callable<String>() {
+            @Override
+            public String call() throws Exception {
+                return delegate.hmset(flag, key, hash);
+            }
+        });
+    }
+
+    @Override
+    public ListenableFuture<Long> hset(final String flag, final String key, final String field, final String value) {
+        return limiter.submit(node(key), new Callable<Long>() {
+            @Override
+            public Long call() throws Exception {
+                return delegate.hset(flag, key, field, value);
+            }
+        });
+    }
+
+    @Override
+    public ListenableFuture<Long> hsetnx(final String flag, final String key, final String field, final String value) {
+        return limiter.submit(node(key), new Callable<Long>() {
+            @Override
+            public Long call() throws Exception {
+                return delegate.hsetnx(flag, key, field, value);
+            }
+        });
+    }
+
+    @Override
+    public ListenableFuture<List<String>> hvals(final String flag, final String key) {
+        return limiter.submit(node(key), new Callable<List<String>>() {
+            @Override
+            public List<String> call() throws Exception {
+                return delegate.hvals(flag, key);
+            }
+        });
+    }
+
+    @Override
+    public ListenableFuture<Long> incr(final String flag, final String key) {
+        return limiter.submit(node(key), new Callable<Long>() {
+            @Override
+            public Long call() throws Exception {
+                return delegate.incr(flag, key);
+            }
+        });
+    }
+
+    @Override
+    public ListenableFuture<Long> incrBy(final String flag, final String key, final long integer) {
+        return limiter.submit(node(key), new Callable<Long>() {
+            @Override
+            public Long call() throws Exception {
+                return delegate.incrBy(flag, key, integer);
+            }
+        });
+    }
+
+    @Override
+    public ListenableFuture<Set<String>> keys(final String flag, final String pattern) {
+        return limiter.submit(RedisNodeLocator.ALL_NODES, new Callable<Set<String>>() {
+            @Override
+            public Set<String> call() throws Exception {
+                return delegate.keys(flag, pattern);
+            }
+        });
+    }
+
+    @Override
+    public ListenableFuture<String> lindex(final String flag, final String key, final long index) {
+        return limiter.submit(node(key), new Callable<String>() {
+            @Override
+            public String call() throws Exception {
+                return delegate.lindex(flag, key, index);
+            }
+        });
+    }
+
+    @Override
+    public ListenableFuture<Long> llen(final String flag, final String key) {
+        return limiter.submit(node(key), new Callable<Long>() {
+            @Override
+            public Long call() throws Exception {
+                return delegate.llen(flag, key);
+            }
+        });
+    }
+
+    @Override
+    public ListenableFuture<String> lpop(final String flag, final String key) {
+        return limiter.submit(node(key), new Callable<String>() {
+            @Override
+            public String call() throws Exception {
+                return delegate.lpop(flag, key);
+            }
+        });
+    }
+
+    @Override
+    public ListenableFuture<Long> lpush(final String flag, final String key, final String... strings) {
+        return limiter.submit(node(key), new Callable<Long>() {
+            @Override
+            public Long call() throws Exception {
+                return delegate.lpush(flag, key, strings);
+            }
+        });
+    }
+
+    @Override
+    public ListenableFuture<Long> lpushx(final String flag, final String key, final String string) {
+        return limiter.submit(node(key), new Callable<Long>() {
+            @Override
+            public Long call() throws Exception {
+                return delegate.lpushx(flag, key, string);
+            }
+        });
+    }
+
+    @Override
+    public ListenableFuture<List<String>> lrange(final String flag, final String key, final long start, final long end) {
+        return limiter.submit(node(key), new Callable<List<String>>() {
+            @Override
+            public List<String> call() throws Exception {
+                return delegate.lrange(flag, key, start, end);
+            }
+        });
+    }
+
+    @Override
+    public ListenableFuture<Long> lrem(final String flag, final String key, final long count, final String value) {
+        return limiter.submit(node(key), new Callable<Long>() {
+            @Override
+            public Long call() throws Exception {
+                return delegate.lrem(flag, key, count, value);
+            }
+        });
+    }
+
+    @Override
+    public ListenableFuture<String> lset(final String flag, final String key, final long index, final String value) {
+        return limiter.submit(node(key), new Callable<String>() {
+            @Override
+            public String call() throws Exception {
+                return delegate.lset(flag, key, index, value);
+            }
+        });
+    }
+
+    @Override
+    public ListenableFuture<String> ltrim(final String flag, final String key, final long start, final long end) {
+        return limiter.submit(node(key), new Callable<String>() {
+            @Override
+            public String call() throws Exception {
+                return delegate.ltrim(flag, key, start, end);
+            }
+        });
+    }
+
+    @Override
+    public ListenableFuture<List<String>> mget(final String flag, final String... keys) {
+        return limiter.submit(node(keys), new Callable<List<String>>() {
+            @Override
+            public List<String> call() throws Exception {
+                return delegate.mget(flag, keys);
+            }
+        });
+    }
+
+    @Override
+    public ListenableFuture<Long> move(final String flag, final String key, final int dbIndex) {
+        return limiter.submit(node(key), new Callable<Long>() {
+            @Override
+            public Long call() throws Exception {
+                return delegate.move(flag, key, dbIndex);
+            }
+        });
+    }
+
+    @Override
+    public ListenableFuture<String> mset(final String flag, final String... keysvalues) {
+        return limiter.submit(node(keysvalues), new Callable<String>() {
+            @Override
+            public String call() throws Exception {
+                return delegate.mset(flag, keysvalues);
+            }
+        });
+    }
+
+    @Override
+    public ListenableFuture<Long> msetnx(final String flag, final String... keysvalues) {
+        return limiter.submit(node(keysvalues), new Callable<Long>() {
+            @Override
+            public Long call() throws Exception {
+                return delegate.msetnx(flag, keysvalues);
+            }
+        });
+    }
+
+    @Override
+    public ListenableFuture<Long> publish(final String flag, final String channel, final String message) {
+        return limiter.submit(node(channel), new Callable<Long>() {
+            @Override
+            public Long call() throws Exception {
+                return delegate.publish(flag, channel, message);
+            }
+        });
+    }
+
+    @Override
+    public ListenableFuture<String> randomKey(final String flag) {
+        return limiter.submit(RedisNodeLocator.ALL_NODES, new Callable<String>() {
+            @Override
+            public String call() throws Exception {
+                return delegate.randomKey(flag);
+            }
+        });
+    }
+
+    @Override
+    public ListenableFuture<String> rename(final String flag, final String oldkey, final String newkey) {
+        return limiter.submit(node(oldkey), new Callable<String>() {
+            @Override
+            public String call() throws Exception {
+                return delegate.rename(flag, oldkey, newkey);
+            }
+        });
+    }
+
+    @Override
+    public ListenableFuture<Long> renamenx(final String flag, final String oldkey, final String newkey) {
+        return limiter.submit(node(oldkey), new Callable<Long>() {
+            @Override
+            public Long call() throws Exception {
+                return delegate.renamenx(flag, oldkey, newkey);
+            }
+        });
+    }
+
+    @Override
+    public ListenableFuture<String> rpop(final String flag, final String key) {
+        return limiter.submit(node(key), new Callable<String>() {
+            @Override
+            public String call() throws Exception {
+                return delegate.rpop(flag, key);
+            }
+        });
+    }
+
+    @Override
+    public ListenableFuture<String> rpoplpush(final String flag, final String srckey, final String dstkey) {
+        return limiter.submit(node(srckey), new Callable<String>() {
+            @Override
+            public String call() throws Exception {
+                return delegate.rpoplpush(flag, srckey, dstkey);
+            }
+        });
+    }
+
+    @Override
+    public ListenableFuture<Long> rpush(final String flag, final String key, final String... strings) {
+        return limiter.submit(node(key), new Callable<Long>() {
+            @Override
+            public Long call() throws Exception {
+                return delegate.rpush(flag, key, strings);
+            }
+        });
+    }
+
+    @Override
+    public ListenableFuture<Long> rpushx(final String flag, final String key, final String string) {
+        return limiter.submit(node(key), new Callable<Long>() {
+            @Override
+            public Long call() throws Exception {
+                return delegate.rpushx(flag, key, string);
+            }
+        });
+    }
+
+    @Override
+    public ListenableFuture<Long> sadd(final String flag, final String key, final String... members) {
+        return limiter.submit(node(key), new Callable<Long>() {
+            @Override
+            public Long call() throws Exception {
+                return delegate.sadd(flag, key, members);
+            }
+        });
+    }
+
+    @Override
+    public ListenableFuture<Long> scard(final String flag, final String key) {
+        return limiter.submit(node(key), new Callable<Long>() {
+            @Override
+            public Long call() throws Exception {
+                return delegate.scard(flag, key);
+            }
+        });
+    }
+
+    @Override
+    public ListenableFuture<Set<String>> sdiff(final String flag, final String... keys) {
+        return limiter.submit(node(keys), new Callable<Set<String>>() {
+            @Override
+            public Set<String> call() throws Exception {
+                return delegate.sdiff(flag, keys);
+            }
+        });
+    }
+
+    @Override
+    public ListenableFuture<Long> sdiffstore(final String flag, final String dstkey, final String... keys) {
+        return limiter.submit(node(dstkey), new Callable<Long>() {
+            @Override
+            public Long call() throws Exception {
+                return delegate.sdiffstore(flag, dstkey, keys);
+            }
+        });
+    }
+
+    @Override
+    public ListenableFuture<String> select(final String flag, final int index) {
+        return limiter.submit(RedisNodeLocator.ALL_NODES, new Callable<String>() {
+            @Override
+            public String call() throws Exception {
+                return delegate.select(flag, index);
+            }
+        });
+    }
+
+    @Override
+    public ListenableFuture<String> set(final String flag, final String key, final String value) {
+        return limiter.submit(node(key), new Callable<String>() {
+            @Override
+            public String call() throws Exception {
+                return delegate.set(flag, key, value);
+            }
+        });
+    }
+
+    @Override
+    public ListenableFuture<Boolean> setbit(final String flag, final String key, final long offset, final boolean value) {
+        return limiter.submit(node(key), new Callable<Boolean>() {
+            @Override
+            public Boolean call() throws Exception {
+                return delegate.setbit(flag, key, offset, value);
+            }
+        });
+    }
+
+    @Override
+    public ListenableFuture<String> setex(final String flag, final String key, final int seconds, final String value) {
+        return limiter.submit(node(key), new Callable<String>() {
+            @Override
+            public String call() throws Exception {
+                return delegate.setex(flag, key, seconds, value);
+            }
+        });
+    }
+
+    @Override
+    public ListenableFuture<Long> setnx(final String flag, final String key, final String value) {
+        return limiter.submit(node(key), new Callable<Long>() {
+            @Override
+            public Long call() throws Exception {
+                return delegate.setnx(flag, key, value);
+            }
+        });
+    }
+
+    @Override
+    public ListenableFuture<Long> setrange(final String flag, final String key, final long offset, final String value) {
+        return limiter.submit(node(key), new Callable<Long>() {
+            @Override
+            public Long call() throws Exception {
+                return delegate.setrange(flag, key, offset, value);
+            }
+        });
+    }
+
+    @Override
+    public ListenableFuture<Set<String>> sinter(final String flag, final String... keys) {
+        return limiter.submit(node(keys), new Callable<Set<String>>() {
+            @Override
+            public Set<String> call() throws Exception {
+                return delegate.sinter(flag, keys);
+            }
+        });
+    }
+
+    @Override
+    public ListenableFuture<Set<String>> smembers(final String flag, final String key) {
+        return limiter.submit(node(key), new Callable<Set<String>>() {
+            @Override
+            public Set<String> call() throws Exception {
+                return delegate.smembers(flag, key);
+            }
+        });
+    }
+
+    @Override
+    public ListenableFuture<Long> smove(final String flag, final String srckey, final String dstkey, final String member) {
+        return limiter.submit(node(srckey), new Callable<Long>() {
+            @Override
+            public Long call() throws Exception {
+                return delegate.smove(flag, srckey, dstkey, member);
+            }
+        });
+    }
+
+    @Override
+    public ListenableFuture<List<String>> sort(final String flag, final String key) {
+        return limiter.submit(node(key), new Callable<List<String>>() {
+            @Override
+            public List<String> call() throws Exception {
+                return delegate.sort(flag, key);
+            }
+        });
+    }
+
+    @Override
+    public ListenableFuture<List<String>> sort(final String flag, final String key, final SortingParams sortingParameters) {
+        return limiter.submit(node(key), new Callable<List<String>>() {
+            @Override
+            public List<String> call() throws Exception {
+                return delegate.sort(flag, key, sortingParameters);
+            }
+        });
+    }
+
+    @Override
+    public ListenableFuture<Long> sort(final String flag, final String key, final SortingParams sortingParameters, final String dstkey) {
+        return limiter.submit(node(key), new Callable<Long>() {
+            @Override
+            public Long call() throws Exception {
+                return delegate.sort(flag, key, sortingParameters, dstkey);
+            }
+        });
+    }
+
+    @Override
+    public ListenableFuture<Long> sort(final String flag, final String key, final String dstkey) {
+        return limiter.submit(node(key), new Callable<Long>() {
+            @Override
+            public Long call() throws Exception {
+                return delegate.sort(flag, key, dstkey);
+            }
+        });
+    }
+
+    @Override
+    public ListenableFuture<String> spop(final String flag, final String key) {
+        return limiter.submit(node(key), new Callable<String>() {
+            @Override
+            public String call() throws Exception {
+                return delegate.spop(flag, key);
+            }
+        });
+    }
+
+    @Override
+    public ListenableFuture<String> srandmember(final String flag, final String key) {
+        return limiter.submit(node(key), new Callable<String>() {
+            @Override
+            public String call() throws Exception {
+                return delegate.srandmember(flag, key);
+            }
+        });
+    }
+
+    @Override
+    public ListenableFuture<List<String>> srandmember(final String flag, final String key, final int count) {
+        return limiter.submit(node(key), new Callable<List<String>>() {
+            @Override
+            public List<String> call() throws Exception {
+                return delegate.srandmember(flag, key, count);
+            }
+        });
+    }
+
+    @Override
+    public ListenableFuture<Long> strlen(final String flag, final String key) {
+        return limiter.submit(node(key), new Callable<Long>() {
+            @Override
+            public Long call() throws Exception {
+                return delegate.strlen(flag, key);
+            }
+        });
+    }
+
+    @Override
+    public ListenableFuture<String> substr(final String flag, final String key, final int start, final int end) {
+        return limiter.submit(node(key), new Callable<String>() {
+            @Override
+            public String call() throws Exception {
+                return delegate.substr(flag, key, start, end);
+            }
+        });
+    }
+
+    @Override
+    public ListenableFuture<Long> zadd(final String flag, final String key, final double score, final String member) {
+        return limiter.submit(node(key), new Callable<Long>() {
+            @Override
+            public Long call() throws Exception {
+                return delegate.zadd(flag, key, score, member);
+            }
+        });
+    }
+
+    @Override
+    public ListenableFuture<Long> zadd(final String flag, final String key, final Map<String, Double> scoreMembers) {
+        return limiter.submit(node(key), new Callable<Long>() {
+            @Override
+            public Long call() throws Exception {
+                return delegate.zadd(flag, key, scoreMembers);
+            }
+        });
+    }
+
+    @Override
+    public ListenableFuture<Long> zcount(final String flag, final String key, final double min, final double max) {
+        return limiter.submit(node(key), new Callable<Long>() {
+            @Override
+            public Long call() throws Exception {
+                return delegate.zcount(flag, key, min, max);
+            }
+        });
+    }
+
+    @Override
+    public ListenableFuture<Long> zcard(final String flag, final String key) {
+        return limiter.submit(node(key), new Callable<Long>() {
+            @Override
+            public Long call() throws Exception {
+                return delegate.zcard(flag, key);
+            }
+        });
+    }
+
+    @Override
+    public ListenableFuture<Set<String>> zrange(final String flag, final String key, final long start, final long end) {
+        return limiter.submit(node(key), new Callable<Set<String>>() {
+            @Override
+            public Set<String> call() throws Exception {
+                return delegate.zrange(flag, key, start, end);
+            }
+        });
+    }
+
+    @Override
+    public ListenableFuture<Long> zrank(final String flag, final String key, final String member) {
+        return limiter.submit(node(key), new Callable<Long>() {
+            @Override
+            public Long call() throws Exception {
+                return delegate.zrank(flag, key, member);
+            }
+        });
+    }
+
+    @Override
+    public ListenableFuture<Double> zscore(final String flag, final String key, final String member) {
+        return limiter.submit(node(key), new Callable<Double>() {
+            @Override
+            public Double call() throws Exception {
+                return delegate.zscore(flag, key, member);
+            }
+        });
+    }
+
+    @Override
+    public ListenableFuture<Set<String>> zrangeByScore(final String flag, final String key, final double min, final double max) {
+        return limiter.submit(node(key), new Callable<Set<String>>() {
+            @Override
+            public Set<String> call() throws Exception {
+                return delegate.zrangeByScore(flag, key, min, max);
+            }
+        });
+    }
+
+    @Override
+    public ListenableFuture<Set<String>> zrangeByScore(final String flag, final String key, final double min, final double max, final int offset, final int count) {
+        return limiter.submit(node(key), new Callable<Set<String>>() {
+            @Override
+            public Set<String> call() throws Exception {
+                return delegate.zrangeByScore(flag, key, min, max, offset, count);
+            }
+        });
+    }
+
+    @Override
+    public ListenableFuture<Set<String>> zrangeByScore(final String flag, final String key, final String min, final String max) {
+        return limiter.submit(node(key), new Callable<Set<String>>() {
+            @Override
+            public Set<String> call() throws Exception {
+                return delegate.zrangeByScore(flag, key, min, max);
+            }
+        });
+    }
+
+    @Override
+    public ListenableFuture<Set<String>> zrangeByScore(final String flag, final String key, final String min, final String max, final int offset, final int count) {
+        return limiter.submit(node(key), new Callable<Set<String>>() {
+            @Override
+            public Set<String> call() throws Exception {
+                return delegate.zrangeByScore(flag, key, min, max, offset, count);
+            }
+        });
+    }
+
+    @Override
+    public ListenableFuture<Set<Tuple>> zrevrangeWithScores(final String flag, final String key, final long start, final long end) {
+        return limiter.submit(node(key), new Callable<Set<Tuple>>() {
+            @Override
+            public Set<Tuple> call() throws Exception {
+                return delegate.zrevrangeWithScores(flag, key, start, end);
+            }
+        });
+    }
+
+    @Override
+    public ListenableFuture<Long> zrevrank(final String flag, final String key, final String member) {
+        return limiter.submit(node(key), new Callable<Long>() {
+            @Override
+            public Long call() throws Exception {
+                return delegate.zrevrank(flag, key, member);
+            }
+        });
+    }
+
+    @Override
+    public ListenableFuture<Set<String>> zrevrange(final String flag, final String key, final long start, final long end) {
+        return limiter.submit(node(key), new Callable<Set<String>>() {
+            @Override
+            public Set<String> call() throws Exception {
+                return delegate.zrevrange(flag, key, start, end);
+            }
+        });
+    }
+
+    @Override
+    public ListenableFuture<Set<Tuple>> zrangeWithScores(final String flag, final String key, final long start, final long end) {
+        return limiter.submit(node(key), new Callable<Set<Tuple>>() {
+            @Override
+            public Set<Tuple> call() throws Exception {
+                return delegate.zrangeWithScores(flag, key, start, end);
+            }
+        });
+    }
+
+    @Override
+    public ListenableFuture<Long> srem(final String flag, final String key, final String... members) {
+        return limiter.submit(node(key), new Callable<Long>() {
+            @Override
+            public Long call() throws Exception {
+                return delegate.srem(flag, key, members);
+            }
+        });
+    }
+
+    @Override
+    public ListenableFuture<Boolean> sismember(final String flag, final String key, final String member) {
+        return limiter.submit(node(key), new Callable<Boolean>() {
+            @Override
+            public Boolean call() throws Exception {
+                return delegate.sismember(flag, key, member);
+            }
+        });
+    }
+
+    @Override
+    public ListenableFuture<Long> zrem(final String flag, final String key, final String... members) {
+        return limiter.submit(node(key), new Callable<Long>() {
+            @Override
+            public Long call() throws Exception {
+                return delegate.zrem(flag, key, members);
+            }
+        });
+    }
+
+    @Override
+    public ListenableFuture<Double> zincrby(final String flag, final String key, final double increment, final String member) {
+        return limiter.submit(node(key), new Callable<Double>() {
+            @Override
+            public Double call() throws Exception {
+                return delegate.zincrby(flag, key, increment, member);
+            }
+        });
+    }
+
+    @Override
+    public ListenableFuture<List<Object>> setAndExpire(final String flag, final String key, final String value, final int seconds) {
+        return limiter.submit(node(key), new Callable<List<Object>>() {
+            @Override
+            public List<Object> call() throws Exception {
+                return delegate.setAndExpire(flag, key, value, seconds);
+            }
+        });
+    }
+
+    @Override
+    public ListenableFuture<List<Object>> lpushAndExpire(final String flag, final int seconds, final String key, final String... strings) {
+        return limiter.submit(node(key), new Callable<List<Object>>() {
+            @Override
+            public List<Object> call() throws Exception {
+                return delegate.lpushAndExpire(flag, seconds, key, strings);
+            }
+        });
+    }
+
+    @Override
+    public ListenableFuture<List<Object>> rpushAndExpire(final String flag, final int seconds, final String key, final String... strings) {
+        return limiter.submit(node(key), new Callable<List<Object>>() {
+            @Override
+            public List<Object> call() throws Exception {
+                return delegate.rpushAndExpire(flag, seconds, key, strings);
+            }
+        });
+    }
+
+    @Override
+    public ListenableFuture<List<Object>> saddAndExpire(final String flag, final int seconds, final String key, final String... members) {
+        return limiter.submit(node(key), new Callable<List<Object>>() {
+            @Override
+            public List<Object> call() throws Exception {
+                return delegate.saddAndExpire(flag, seconds, key, members);
+            }
+        });
+    }
+
+    @Override
+    public ListenableFuture<List<Object>> zaddAndExpire(final String flag, final String key, final Map<String, Double> scoreMembers, final int seconds) {
+        return limiter.submit(node(key), new Callable<List<Object>>() {
+            @Override
+            public List<Object> call() throws Exception {
+                return delegate.zaddAndExpire(flag, key, scoreMembers, seconds);
+            }
+        });
+    }
+
+    @Override
+    public ListenableFuture<List<Object>> hmsetAndExpire(final String flag, final String key, final Map<String, String> hash, final int seconds) {
+        return limiter.submit(node(key), new Callable<List<Object>>() {
+            @Override
+            public List<Object> call() throws Exception {
+                return delegate.hmsetAndExpire(flag, key, hash, seconds);
+            }
+        });
+    }
+
+    /**
+     * <p>Description: I/O 线程工厂, daemon 线程不阻止进程退出 </p>
+     *
+     * @author dong4j
+     * @email dong4j@gmail.com
+     * @date 2026-10-18  15:50
+     */
+    private static class AsyncThreadFactory implements ThreadFactory {
+        private final AtomicInteger index = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, "redis-async-io-" + index.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package info.dong4j.redis.service.impl;
+
+/**
+ * <p>Description: 批量命令中单个分组(分片或集群节点上的 slot)的执行结果 </p>
+ *
+ * @param <T> the type parameter
+ * @author dong4j
+ * @email dong4j@gmail.com
+ * @date 2026-10-18  10:12
+ */
+public class BatchResult<T> {
+    /**
+     * 该分组内的 key 在原数组中的下标
+     */
+    private final int[] positions;
+    /**
+     * 分组返回结果
+     */
+    private final T     result;
+
+    /**
+     * Instantiates a new Batch result.
+     *
+     * @param positions the positions
+     * @param result    the result
+     */
+    BatchResult(int[] positions, T result) {
+        this.positions = positions;
+        this.result = result;
+    }
+
+    /**
+     * Get positions int [ ].
+     *
+     * @return the int [ ]
+     */
+    public int[] getPositions() {
+        return positions;
+    }
+
+    /**
+     * Gets result.
+     *
+     * @return the result
+     */
+    public T getResult() {
+        return result;
+    }
+}
@@ -0,0 +1,478 @@
+package info.dong4j.redis.service.impl;
+
+import info.dong4j.redis.service.RedisService;
+import info.dong4j.redis.service.support.NearCache;
+import info.dong4j.redis.service.support.NodeSubscriber;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import lombok.extern.slf4j.Slf4j;
+import redis.clients.jedis.JedisPubSub;
+import redis.clients.jedis.SortingParams;
+
+/**
+ * <p>Description: 带近端缓存的 RedisService</p>
+ * get/hget/hgetAll 的结果缓存在进程内 {@link NearCache} 中, 命中时不访问 redis.
+ * 通过本服务执行的写命令会失效本地缓存, 并将失效的 key 发布到 channel, 其他实例订阅该 channel 后失效各自的缓存.
+ * eval 执行的脚本可能写任意 key, 执行后与 flushAll 一样清空所有实例的缓存.
+ * 订阅断开期间可能错过失效消息, 因此每次(重新)订阅成功时清空本地缓存; 直接写 redis 的其他客户端不会触发失效, 由过期时间兜底.
+ * 未命中时通过 delegate 回源, delegate 必须从 master 读取: 从从节点回源可能在失效后读到复制延迟内的旧值并缓存整个过期时间,
+ * 因此哨兵模式不支持与 redis.sentinel.readFromReplicas 同时开启.
+ * keyPrefixes 为空时缓存所有 key, 否则只缓存指定前缀的 key.
+ *
+ * @author dong4j
+ * @email dong4j@gmail.com
+ * @date 2026-10-18  17:30
+ */
+@Slf4j
+public class CachingRedisService extends ForwardingRedisService {
+    private static final String STRING_FIELD   = "s";
+    private static final String HASH_FIELD     = "a";
+    private static final String HASH_FIELD_PRE = "f";
+
+    private final NearCache   nearCache;
+    private final String      channel;
+    private final String[]    keyPrefixes;
+    private final Invalidator invalidator;
+    private final Thread      invalidatorThread;
+
+    /**
+     * Instantiates a new Caching redis service.
+     *
+     * @param delegate    被装饰的 RedisService, 失效消息也通过它发布
+     * @param subscriber  订阅失效消息
+     * @param channel     失效消息 channel
+     * @param maxSize     缓存值的总数上限
+     * @param ttlMillis   缓存值的过期时间(毫秒)
+     * @param keyPrefixes 需要缓存的 key 前缀, 为空时缓存所有 key
+     */
+    public CachingRedisService(RedisService delegate, NodeSubscriber subscriber, String channel,
+                               int maxSize, long ttlMillis, String... keyPrefixes) {
+        super(delegate);
+        this.nearCache = new NearCache(maxSize, ttlMillis);
+        this.channel = channel;
+        this.keyPrefixes = keyPrefixes;
+        this.invalidator = new Invalidator(subscriber);
+        this.invalidatorThread = new Thread(invalidator, "redis-near-cache-invalidator");
+        this.invalidatorThread.setDaemon(true);
+        this.invalidatorThread.start();
+    }
+
+    /**
+     * Gets near cache.
+     *
+     * @return the near cache
+     */
+    public NearCache getNearCache() {
+        return nearCache;
+    }
+
+    /**
+     * 停止订阅, 作为 spring bean 时自动调用
+     */
+    @Override
+    public void close() {
+        invalidator.shutdown();
+        super.close();
+    }
+
+    /**
+     * 是否缓存该 key
+     *
+     * @param key the key
+     * @return the boolean
+     */
+    private boolean cacheable(String key) {
+        if (keyPrefixes == null || keyPrefixes.length == 0) {
+            return true;
+        }
+        for (String prefix : keyPrefixes) {
+            if (key.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String get(String flag, String key) throws Exception {
+        if (!cacheable(key)) {
+            return delegate.get(flag, key);
+        }
+        Object cached = nearCache.get(key, STRING_FIELD);
+        if (cached != null) {
+            return cached == NearCache.NULL_VALUE ? null : (String) cached;
+        }
+        long   version = nearCache.version(key);
+        String value   = delegate.get(flag, key);
+        nearCache.put(key, STRING_FIELD, value, version);
+        return value;
+    }
+
+    @Override
+    public String hget(String flag, String key, String field) throws Exception {
+        if (!cacheable(key)) {
+            return delegate.hget(flag, key, field);
+        }
+        Object cached = nearCache.get(key, HASH_FIELD_PRE + field);
+        if (cached != null) {
+            return cached == NearCache.NULL_VALUE ? null : (String) cached;
+        }
+        long   version = nearCache.version(key);
+        String value   = delegate.hget(flag, key, field);
+        nearCache.put(key, HASH_FIELD_PRE + field, value, version);
+        return value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Map<String, String> hgetAll(String flag, String key) throws Exception {
+        if (!cacheable(key)) {
+            return delegate.hgetAll(flag, key);
+        }
+        // 返回副本, 调用方修改结果不会影响缓存
+        Object cached = nearCache.get(key, HASH_FIELD);
+        if (cached != null) {
+            return new HashMap<>((Map<String, String>) cached);
+        }
+        long                version = nearCache.version(key);
+        Map<String, String> value   = delegate.hgetAll(flag, key);
+        nearCache.put(key, HASH_FIELD, new HashMap<>(value), version);
+        return value;
+    }
+
+    /**
+     * 写命令执行后失效本地缓存并通知其他实例
+     *
+     * @param flag the flag
+     * @param keys the keys
+     */
+    private void invalidate(String flag, String... keys) {
+        for (String key : keys) {
+            nearCache.invalidate(key);
+        }
+        publish(flag, NearCache.encode(keys));
+    }
+
+    /**
+     * flushAll/flushDB/eval 后清空本地缓存并通知其他实例
+     *
+     * @param flag the flag
+     */
+    private void invalidateAll(String flag) {
+        nearCache.clear();
+        publish(flag, NearCache.ALL_KEYS);
+    }
+
+    /**
+     * 发布失效消息, 发布失败时其他实例的缓存由过期时间兜底, 不影响本次写命令的结果
+     *
+     * @param flag    the flag
+     * @param message the message
+     */
+    private void publish(String flag, String message) {
+        try {
+            delegate.publish(flag, channel, message);
+        } catch (Exception e) {
+            log.warn("Publish near cache invalidation failed, channel = " + channel + ". " + e.getMessage());
+        }
+    }
+
+    @Override
+    public Long append(String flag, String key, String value) throws Exception {
+        Long result = delegate.append(flag, key, value);
+        invalidate(flag, key);
+        return result;
+    }
+
+    @Override
+    public Long decr(String flag, String key) throws Exception {
+        Long result = delegate.decr(flag, key);
+        invalidate(flag, key);
+        return result;
+    }
+
+    @Override
+    public Long decrBy(String flag, String key, long integer) throws Exception {
+        Long result = delegate.decrBy(flag, key, integer);
+        invalidate(flag, key);
+        return result;
+    }
+
+    @Override
+    public Long del(String flag, String... keys) throws Exception {
+        Long result = delegate.del(flag, keys);
+        invalidate(flag, keys);
+        return result;
+    }
+
+    @Override
+    public Object eval(String flag, String script) throws Exception {
+        Object result = delegate.eval(flag, script);
+        invalidateAll(flag);
+        return result;
+    }
+
+    @Override
+    public Long expire(String flag, String key, int seconds) throws Exception {
+        Long result = delegate.expire(flag, key, seconds);
+        invalidate(flag, key);
+        return result;
+    }
+
+    @Override
+    public String flushAll(String flag) throws Exception {
+        String result = delegate.flushAll(flag);
+        invalidateAll(flag);
+        return result;
+    }
+
+    @Override
+    public String flushDB(String flag) throws Exception {
+        String result = delegate.flushDB(flag);
+        invalidateAll(flag);
+        return result;
+    }
+
+    @Override
+    public String getSet(String flag, String key, String value) throws Exception {
+        String result = delegate.getSet(flag, key, value);
+        invalidate(flag, key);
+        return result;
+    }
+
+    @Override
+    public Long hdel(String flag, String key, String... fields) throws Exception {
+        Long result = delegate.hdel(flag, key, fields);
+        invalidate(flag, key);
+        return result;
+    }
+
+    @Override
+    public Long hincrBy(String flag, String key, String field, long value) throws Exception {
+        Long result = delegate.hincrBy(flag, key, field, value);
+        invalidate(flag, key);
+        return result;
+    }
+
+    @Override
+    public String hmset(String flag, String key, Map<String, String> hash) throws Exception {
+        String result = delegate.hmset(flag, key, hash);
+        invalidate(flag, key);
+        return result;
+    }
+
+    @Override
+    public Long hset(String flag, String key, String field, String value) throws Exception {
+        Long result = delegate.hset(flag, key, field, value);
+        invalidate(flag, key);
+        return result;
+    }
+
+    @Override
+    public Long hsetnx(String flag, String key, String field, String value) throws Exception {
+        Long result = delegate.hsetnx(flag, key, field, value);
+        invalidate(flag, key);
+        return result;
+    }
+
+    @Override
+    public Long incr(String flag, String key) throws Exception {
+        Long result = delegate.incr(flag, key);
+        invalidate(flag, key);
+        return result;
+    }
+
+    @Override
+    public Long incrBy(String flag, String key, long integer) throws Exception {
+        Long result = delegate.incrBy(flag, key, integer);
+        invalidate(flag, key);
+        return result;
+    }
+
+    @Override
+    public Long move(String flag, String key, int dbIndex) throws Exception {
+        Long result = delegate.move(flag, key, dbIndex);
+        invalidate(flag, key);
+        return result;
+    }
+
+    @Override
+    public String mset(String flag, String... keysvalues) throws Exception {
+        String result = delegate.mset(flag, keysvalues);
+        invalidate(flag, ShardedRedisServiceImpl.keys(keysvalues));
+        return result;
+    }
+
+    @Override
+    public Long msetnx(String flag, String... keysvalues) throws Exception {
+        Long result = delegate.msetnx(flag, keysvalues);
+        invalidate(flag, ShardedRedisServiceImpl.keys(keysvalues));
+        return result;
+    }
+
+    @Override
+    public String rename(String flag, String oldkey, String newkey) throws Exception {
+        String result = delegate.rename(flag, oldkey, newkey);
+        invalidate(flag, oldkey, newkey);
+        return result;
+    }
+
+    @Override
+    public Long renamenx(String flag, String oldkey, String newkey) throws Exception {
+        Long result = delegate.renamenx(flag, oldkey, newkey);
+        invalidate(flag, oldkey, newkey);
+        return result;
+    }
+
+    @Override
+    public Long sdiffstore(String flag, String dstkey, String... keys) throws Exception {
+        Long result = delegate.sdiffstore(flag, dstkey, keys);
+        invalidate(flag, dstkey);
+        return result;
+    }
+
+    @Override
+    public String set(String flag, String key, String value) throws Exception {
+        String result = delegate.set(flag, key, value);
+        invalidate(flag, key);
+        return result;
+    }
+
+    @Override
+    public Boolean setbit(String flag, String key, long offset, boolean value) throws Exception {
+        Boolean result = delegate.setbit(flag, key, offset, value);
+        invalidate(flag, key);
+        return result;
+    }
+
+    @Override
+    public String setex(String flag, String key, int seconds, String value) throws Exception {
+        String result = delegate.setex(flag, key, seconds, value);
+        invalidate(flag, key);
+        return result;
+    }
+
+    @Override
+    public Long setnx(String flag, String key, String value) throws Exception {
+        Long result = delegate.setnx(flag, key, value);
+        invalidate(flag, key);
+        return result;
+    }
+
+    @Override
+    public Long setrange(String flag, String key, long offset, String value) throws Exception {
+        Long result = delegate.setrange(flag, key, offset, value);
+        invalidate(flag, key);
+        return result;
+    }
+
+    @Override
+    public Long sort(String flag, String key, SortingParams sortingParameters, String dstkey) throws Exception {
+        Long result = delegate.sort(flag, key, sortingParameters, dstkey);
+        invalidate(flag, dstkey);
+        return result;
+    }
+
+    @Override
+    public Long sort(String flag, String key, String dstkey) throws Exception {
+        Long result = delegate.sort(flag, key, dstkey);
+        invalidate(flag, dstkey);
+        return result;
+    }
+
+    @Override
+    public List<Object> setAndExpire(String flag, String key, String value, int seconds) throws Exception {
+        List<Object> result = delegate.setAndExpire(flag, key, value, seconds);
+        invalidate(flag, key);
+        return result;
+    }
+
+    @Override
+    public List<Object> hmsetAndExpire(String flag, String key, Map<String, String> hash, int seconds) throws Exception {
+        List<Object> result = delegate.hmsetAndExpire(flag, key, hash, seconds);
+        invalidate(flag, key);
+        return result;
+    }
+
+    /**
+     * <p>Description: 订阅失效消息, 连接断开后重新订阅 </p>
+     *
+     * @author dong4j
+     * @email dong4j@gmail.com
+     * @date 2026-10-18  17:30
+     */
+    private class Invalidator extends JedisPubSub implements Runnable {
+        private static final long RETRY_INTERVAL = 1000L;
+
+        private final NodeSubscriber subscriber;
+        private volatile boolean     running = true;
+
+        /**
+         * Instantiates a new Invalidator.
+         *
+         * @param subscriber the subscriber
+         */
+        Invalidator(NodeSubscriber subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void run() {
+            while (running) {
+                try {
+                    subscriber.subscribe(this, channel);
+                } catch (Exception e) {
+                    if (running) {
+                        log.warn("Near cache invalidation subscription lost, retry after " + RETRY_INTERVAL + "ms. " + e.getMessage());
+                    }
+                }
+                // 未订阅期间可能错过失效消息
+                nearCache.clear();
+                if (running) {
+                    try {
+                        Thread.sleep(RETRY_INTERVAL);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+            }
+        }
+
+        @Override
+        public void onSubscribe(String channel, int subscribedChannels) {
+            nearCache.clear();
+            log.info("Near cache subscribed invalidation channel " + channel);
+        }
+
+        @Override
+        public void onMessage(String channel, String message) {
+            if (NearCache.ALL_KEYS.equals(message)) {
+                nearCache.clear();
+                return;
+            }
+            try {
+                for (String key : NearCache.decode(message)) {
+                    nearCache.invalidate(key);
+                }
+            } catch (RuntimeException e) {
+                log.warn("Illegal near cache invalidation message, clear all. " + e.getMessage());
+                nearCache.clear();
+            }
+        }
+
+        /**
+         * Shutdown.
+         */
+        void shutdown() {
+            running = false;
+            if (isSubscribed()) {
+                unsubscribe();
+            }
+            invalidatorThread.interrupt();
+        }
+    }
+}
@@ -0,0 +1,489 @@
+package info.dong4j.redis.service.impl;
+
+import info.dong4j.redis.service.support.NodePipelineExecutor;
+import info.dong4j.redis.service.support.NodeSubscriber;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import lombok.extern.slf4j.Slf4j;
+import redis.clients.jedis.BinaryJedisCluster;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisCluster;
+import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.JedisPubSub;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Response;
+import redis.clients.jedis.exceptions.JedisConnectionException;
+import redis.clients.jedis.exceptions.JedisException;
+import redis.clients.jedis.exceptions.JedisRedirectionException;
+import redis.clients.util.JedisClusterCRC16;
+import redis.clients.util.SafeEncoder;
+
+/**
+ * <p>Description: 集群模式下的并行 scatter-gather 执行器</p>
+ * JedisCluster 不支持跨 slot 的 mget/mset/del, 这里先按 hash slot 分组, 再按 slot 所在的 master 节点分组,
+ * 每个节点发送一个 pipeline(每个 slot 一条命令), 多个节点在有界线程池中并发执行, 最后按调用方的 key 顺序合并结果.
+ * 批量读取的耗时取决于最慢的节点, 而不是所有 key 的总和.
+ * 本地 slot 路由表通过 CLUSTER SLOTS 构建, 收到 MOVED/ASK 或节点连接失败时刷新路由表,
+ * 并将对应 slot 的命令交给 JedisCluster 重新执行.
+ *
+ * @author dong4j
+ * @email dong4j@gmail.com
+ * @date 2026-10-18  13:20
+ */
+@Slf4j
+public class ClusterBatchExecutor implements NodePipelineExecutor, NodeSubscriber {
+    private final JedisCluster    jedisCluster;
+    private final ExecutorService executor;
+    private final AtomicBoolean   renewing = new AtomicBoolean(false);
+
+    /**
+     * slot -> master 节点(host:port)
+     */
+    private volatile String[] slotNodes;
+
+    /**
+     * slot 执行回调
+     *
+     * @param <T> 单个 slot 返回的结果类型
+     */
+    public interface SlotCallback<T> {
+        /**
+         * 向节点 pipeline 写入命令, keys 都在同一个 slot 上
+         *
+         * @param pipeline 节点 pipeline
+         * @param keys     同一个 slot 上的 key, 顺序与调用方一致
+         * @return 响应
+         */
+        Response<T> doInPipeline(Pipeline pipeline, String[] keys);
+
+        /**
+         * slot 发生迁移时, 通过 JedisCluster 重新执行(JedisCluster 会处理 MOVED/ASK 重定向)
+         *
+         * @param jedisCluster the jedis cluster
+         * @param keys         同一个 slot 上的 key
+         * @return 结果
+         */
+        T doInCluster(JedisCluster jedisCluster, String[] keys);
+    }
+
+    /**
+     * 二进制 key 的 slot 执行回调
+     *
+     * @param <T> 单个 slot 返回的结果类型
+     */
+    public interface BinarySlotCallback<T> {
+        /**
+         * 向节点 pipeline 写入命令, keys 都在同一个 slot 上
+         *
+         * @param pipeline 节点 pipeline
+         * @param keys     同一个 slot 上的 key, 顺序与调用方一致
+         * @return 响应
+         */
+        Response<T> doInPipeline(Pipeline pipeline, byte[][] keys);
+
+        /**
+         * slot 发生迁移时, 通过 JedisCluster 重新执行
+         *
+         * @param jedisCluster the jedis cluster
+         * @param keys         同一个 slot 上的 key
+         * @return 结果
+         */
+        T doInCluster(JedisCluster jedisCluster, byte[][] keys);
+    }
+
+    /**
+     * 按 key 在原数组中的下标执行, String 与二进制 key 共用分组与重定向逻辑
+     *
+     * @param <T> 单个 slot 返回的结果类型
+     */
+    private interface GroupCallback<T> {
+        Response<T> doInPipeline(Pipeline pipeline, int[] positions);
+
+        T doInCluster(JedisCluster jedisCluster, int[] positions);
+    }
+
+    /**
+     * Instantiates a new Cluster batch executor.
+     *
+     * @param jedisCluster the jedis cluster
+     * @param parallelism  并发执行的节点数上限
+     */
+    public ClusterBatchExecutor(JedisCluster jedisCluster, int parallelism) {
+        this.jedisCluster = jedisCluster;
+        this.executor = new ThreadPoolExecutor(parallelism, parallelism, 60L, TimeUnit.SECONDS,
+                                               new ArrayBlockingQueue<Runnable>(parallelism * 16),
+                                               new BatchThreadFactory(),
+                                               new ThreadPoolExecutor.CallerRunsPolicy());
+        renewSlotTable();
+    }
+
+    /**
+     * 按 slot -> 节点分组后并行执行
+     *
+     * @param <T>      the type parameter
+     * @param keys     the keys
+     * @param callback the callback
+     * @return 每个 slot 的执行结果
+     * @throws Exception the exception
+     */
+    public <T> List<BatchResult<T>> execute(final String[] keys, final SlotCallback<T> callback) throws Exception {
+        int[] slots = new int[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            slots[i] = JedisClusterCRC16.getSlot(keys[i]);
+        }
+        return execute(slots, new GroupCallback<T>() {
+            @Override
+            public Response<T> doInPipeline(Pipeline pipeline, int[] positions) {
+                return callback.doInPipeline(pipeline, select(keys, positions));
+            }
+
+            @Override
+            public T doInCluster(JedisCluster jedisCluster, int[] positions) {
+                return callback.doInCluster(jedisCluster, select(keys, positions));
+            }
+        });
+    }
+
+    /**
+     * 二进制 key 按 slot -> 节点分组后并行执行
+     *
+     * @param <T>      the type parameter
+     * @param keys     the keys
+     * @param callback the callback
+     * @return 每个 slot 的执行结果
+     * @throws Exception the exception
+     */
+    public <T> List<BatchResult<T>> execute(final byte[][] keys, final BinarySlotCallback<T> callback) throws Exception {
+        int[] slots = new int[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            slots[i] = JedisClusterCRC16.getSlot(keys[i]);
+        }
+        return execute(slots, new GroupCallback<T>() {
+            @Override
+            public Response<T> doInPipeline(Pipeline pipeline, int[] positions) {
+                return callback.doInPipeline(pipeline, select(keys, positions));
+            }
+
+            @Override
+            public T doInCluster(JedisCluster jedisCluster, int[] positions) {
+                return callback.doInCluster(jedisCluster, select(keys, positions));
+            }
+        });
+    }
+
+    /**
+     * 按 slot -> 节点分组后并行执行, 回调只接收 key 在原数组中的下标
+     *
+     * @param <T>      the type parameter
+     * @param slots    每个 key 的 slot
+     * @param callback the callback
+     * @return 每个 slot 的执行结果
+     * @throws Exception the exception
+     */
+    private <T> List<BatchResult<T>> execute(int[] slots, final GroupCallback<T> callback) throws Exception {
+        Map<String, Map<Integer, List<Integer>>> groups = groupByNode(slots);
+
+        List<Map.Entry<String, Map<Integer, List<Integer>>>> nodes = new ArrayList<>(groups.entrySet());
+        List<Future<List<BatchResult<T>>>>                   futures = new ArrayList<>(nodes.size());
+        // 第一个节点在调用线程执行, 其余节点提交到线程池
+        for (int i = 1; i < nodes.size(); i++) {
+            final Map.Entry<String, Map<Integer, List<Integer>>> node = nodes.get(i);
+            futures.add(executor.submit(new Callable<List<BatchResult<T>>>() {
+                @Override
+                public List<BatchResult<T>> call() throws Exception {
+                    return executeOnNode(node.getKey(), node.getValue(), callback);
+                }
+            }));
+        }
+
+        List<BatchResult<T>> results = new ArrayList<>(slots.length);
+        if (!nodes.isEmpty()) {
+            results.addAll(executeOnNode(nodes.get(0).getKey(), nodes.get(0).getValue(), callback));
+        }
+        for (Future<List<BatchResult<T>>> future : futures) {
+            try {
+                results.addAll(future.get());
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof Exception) {
+                    throw (Exception) e.getCause();
+                }
+                throw e;
+            }
+        }
+        return results;
+    }
+
+    /**
+     * 按 master 节点 -> slot 分组, 保持 key 在各分组内的原始顺序
+     *
+     * @param slots 每个 key 的 slot
+     * @return the map
+     */
+    Map<String, Map<Integer, List<Integer>>> groupByNode(int[] slots) {
+        String[]                                 table  = slotNodes;
+        Map<String, Map<Integer, List<Integer>>> groups = new LinkedHashMap<>();
+        for (int i = 0; i < slots.length; i++) {
+            int    slot = slots[i];
+            String node = table[slot];
+            Map<Integer, List<Integer>> nodeSlots = groups.get(node);
+            if (nodeSlots == null) {
+                nodeSlots = new LinkedHashMap<>();
+                groups.put(node, nodeSlots);
+            }
+            List<Integer> positions = nodeSlots.get(slot);
+            if (positions == null) {
+                positions = new ArrayList<>();
+                nodeSlots.put(slot, positions);
+            }
+            positions.add(i);
+        }
+        return groups;
+    }
+
+    /**
+     * 在单个节点上执行, 该节点的所有 slot 命令在同一个 pipeline 中发送
+     *
+     * @param <T>      the type parameter
+     * @param node     the node
+     * @param slots    the slots
+     * @param callback the callback
+     * @return the list
+     */
+    private <T> List<BatchResult<T>> executeOnNode(String node, Map<Integer, List<Integer>> slots, GroupCallback<T> callback) {
+        List<int[]> positions = new ArrayList<>(slots.size());
+        for (List<Integer> indexes : slots.values()) {
+            int[] position = new int[indexes.size()];
+            for (int i = 0; i < position.length; i++) {
+                position[i] = indexes.get(i);
+            }
+            positions.add(position);
+        }
+
+        List<Response<T>> responses = null;
+        JedisPool         pool      = node == null ? null : jedisCluster.getClusterNodes().get(node);
+        if (pool != null) {
+            try (Jedis jedis = pool.getResource()) {
+                Pipeline pipeline = jedis.pipelined();
+                responses = new ArrayList<>(positions.size());
+                for (int[] position : positions) {
+                    responses.add(callback.doInPipeline(pipeline, position));
+                }
+                pipeline.sync();
+            } catch (JedisConnectionException e) {
+                log.warn("Pipeline on cluster node " + node + " failed, fallback to JedisCluster. " + e.getMessage());
+                responses = null;
+            }
+        }
+
+        boolean              redirected = responses == null;
+        List<BatchResult<T>> results    = new ArrayList<>(positions.size());
+        for (int i = 0; i < positions.size(); i++) {
+            T result;
+            if (responses == null) {
+                result = callback.doInCluster(jedisCluster, positions.get(i));
+            } else {
+                try {
+                    result = responses.get(i).get();
+                } catch (JedisRedirectionException e) {
+                    redirected = true;
+                    result = callback.doInCluster(jedisCluster, positions.get(i));
+                }
+            }
+            results.add(new BatchResult<>(positions.get(i), result));
+        }
+        if (redirected) {
+            renewSlotTable();
+        }
+        return results;
+    }
+
+    /**
+     * 按下标取出分组内的 key
+     *
+     * @param <K>       String 或 byte[]
+     * @param keys      全部 key
+     * @param positions 分组内 key 的下标
+     * @return the k [ ]
+     */
+    private static <K> K[] select(K[] keys, int[] positions) {
+        K[] group = Arrays.copyOf(keys, positions.length);
+        for (int i = 0; i < positions.length; i++) {
+            group[i] = keys[positions[i]];
+        }
+        return group;
+    }
+
+    /**
+     * 根据本地 slot 路由表获取 key 所在的 master 节点
+     *
+     * @param key the key
+     * @return host:port
+     */
+    @Override
+    public String getNode(String key) {
+        return slotNodes[JedisClusterCRC16.getSlot(key)];
+    }
+
+    /**
+     * 在 key 所在 master 节点的连接上执行 pipeline
+     *
+     * @param key      the key
+     * @param callback the callback
+     */
+    @Override
+    public void pipelined(String key, PipelineCallback callback) {
+        try (Jedis jedis = getNodePool(getNode(key)).getResource()) {
+            callback.doInPipeline(jedis.pipelined());
+        }
+    }
+
+    /**
+     * 批次中的 key 按本地路由表属于同一个节点, slot 迁移产生的 MOVED/ASK 由调用方从响应中处理
+     *
+     * @param keys     the keys
+     * @param callback the callback
+     */
+    @Override
+    public void pipelined(List<String> keys, PipelineCallback callback) {
+        pipelined(keys.get(0), callback);
+    }
+
+    /**
+     * 集群模式下 PUBLISH 会广播到所有节点, 在 channel 所在的 master 上订阅即可
+     *
+     * @param listener the listener
+     * @param channel  the channel
+     */
+    @Override
+    public void subscribe(JedisPubSub listener, String channel) {
+        try (Jedis jedis = getNodePool(getNode(channel)).getResource()) {
+            jedis.subscribe(listener, channel);
+        }
+    }
+
+    @Override
+    public void refresh() {
+        renewSlotTable();
+    }
+
+    /**
+     * 获取所有 master 节点(host:port)
+     *
+     * @return the master nodes
+     */
+    public Set<String> getMasterNodes() {
+        Set<String> masters = new LinkedHashSet<>();
+        for (String node : slotNodes) {
+            if (node != null) {
+                masters.add(node);
+            }
+        }
+        return Collections.unmodifiableSet(masters);
+    }
+
+    /**
+     * 获取节点连接池
+     *
+     * @param node host:port
+     * @return the node pool
+     */
+    public JedisPool getNodePool(String node) {
+        JedisPool pool = jedisCluster.getClusterNodes().get(node);
+        if (pool == null) {
+            throw new JedisException("Cluster node " + node + " not found");
+        }
+        return pool;
+    }
+
+    /**
+     * 通过 CLUSTER SLOTS 刷新本地 slot 路由表, 同一时间只允许一个线程刷新
+     */
+    public void renewSlotTable() {
+        if (!renewing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            for (Map.Entry<String, JedisPool> entry : jedisCluster.getClusterNodes().entrySet()) {
+                try (Jedis jedis = entry.getValue().getResource()) {
+                    slotNodes = buildSlotTable(jedis.getClient().getHost(), jedis.clusterSlots());
+                    return;
+                } catch (JedisException e) {
+                    log.warn("Cannot renew cluster slots from " + entry.getKey() + ", trying next one. " + e.getMessage());
+                }
+            }
+            if (slotNodes == null) {
+                throw new JedisConnectionException("Cannot renew cluster slots from all nodes, Abort.");
+            }
+        } finally {
+            renewing.set(false);
+        }
+    }
+
+    /**
+     * CLUSTER SLOTS 返回格式: [[start, end, [host, port, id], [replica host, port, id]...], ...]
+     *
+     * @param defaultHost 节点 host 为空时使用当前连接的 host
+     * @param slots       the slots
+     * @return the string [ ]
+     */
+    @SuppressWarnings("unchecked")
+    static String[] buildSlotTable(String defaultHost, List<Object> slots) {
+        String[] table = new String[BinaryJedisCluster.HASHSLOTS];
+        for (Object slotInfo : slots) {
+            List<Object> info   = (List<Object>) slotInfo;
+            int          start  = ((Long) info.get(0)).intValue();
+            int          end    = ((Long) info.get(1)).intValue();
+            List<Object> master = (List<Object>) info.get(2);
+            String       host   = SafeEncoder.encode((byte[]) master.get(0));
+            if (host.isEmpty()) {
+                host = defaultHost;
+            }
+            String node = host + ":" + master.get(1);
+            Arrays.fill(table, start, end + 1, node);
+        }
+        return table;
+    }
+
+    /**
+     * 关闭线程池
+     */
+    public void destroy() {
+        executor.shutdown();
+    }
+
+    /**
+     * <p>Description: 批量执行线程工厂, daemon 线程不阻止进程退出 </p>
+     *
+     * @author dong4j
+     * @email dong4j@gmail.com
+     * @date 2026-10-18  13:20
+     */
+    private static class BatchThreadFactory implements ThreadFactory {
+        private final AtomicInteger index = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, "redis-cluster-batch-" + index.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
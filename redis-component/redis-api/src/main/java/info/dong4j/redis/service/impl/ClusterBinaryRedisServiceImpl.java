@@ -0,0 +1,632 @@
+package info.dong4j.redis.service.impl;
+
+import info.dong4j.redis.service.BinaryRedisService;
+import info.dong4j.redis.service.support.ByteBuffers;
+import info.dong4j.redis.service.support.CursorIterator;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import lombok.extern.slf4j.Slf4j;
+import redis.clients.jedis.JedisCluster;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Response;
+import redis.clients.jedis.ScanParams;
+import redis.clients.jedis.ScanResult;
+import redis.clients.jedis.SortingParams;
+import redis.clients.jedis.Tuple;
+import redis.clients.util.SafeEncoder;
+
+/**
+ * <p>Description: 集群模式下的 BinaryRedisService 实现</p>
+ * 单 key 命令直接使用 JedisCluster 的二进制命令; mget/mset/del 与 {@link ClusterRedisServiceImpl} 相同,
+ * 通过 {@link ClusterBatchExecutor} 按 slot 和节点分组后并行发送; 其他多 key 命令仍要求所有 key 在同一个 slot 上.
+ *
+ * @author dong4j
+ * @email dong4j@gmail.com
+ * @date 2026-10-18  23:59
+ */
+@Slf4j
+public class ClusterBinaryRedisServiceImpl implements BinaryRedisService {
+    private static final String OK = "OK";
+
+    private final JedisCluster         jedisCluster;
+    private final ClusterBatchExecutor batchExecutor;
+
+    /**
+     * Instantiates a new Cluster binary redis service.
+     *
+     * @param jedisCluster  the jedis cluster
+     * @param batchExecutor the batch executor
+     */
+    public ClusterBinaryRedisServiceImpl(JedisCluster jedisCluster, ClusterBatchExecutor batchExecutor) {
+        this.jedisCluster = jedisCluster;
+        this.batchExecutor = batchExecutor;
+    }
+
+    @Override
+    public Long append(String flag, byte[] key, byte[] value) throws Exception {
+        return jedisCluster.append(key, value);
+    }
+
+    @Override
+    public List<byte[]> blpop(String flag, int timeout, byte[]... keys) throws Exception {
+        return jedisCluster.blpop(timeout, keys);
+    }
+
+    @Override
+    public List<byte[]> brpop(String flag, int timeout, byte[]... keys) throws Exception {
+        return jedisCluster.brpop(timeout, keys);
+    }
+
+    @Override
+    public Long decr(String flag, byte[] key) throws Exception {
+        return jedisCluster.decr(key);
+    }
+
+    @Override
+    public Long decrBy(String flag, byte[] key, long integer) throws Exception {
+        return jedisCluster.decrBy(key, integer);
+    }
+
+    /**
+     * 每个 slot 发送一次 DEL, 各节点并行执行, 返回删除数量之和
+     */
+    @Override
+    public Long del(String flag, byte[]... keys) throws Exception {
+        if (keys.length == 1) {
+            return jedisCluster.del(keys[0]);
+        }
+        List<BatchResult<Long>> results = batchExecutor.execute(keys, new ClusterBatchExecutor.BinarySlotCallback<Long>() {
+            @Override
+            public Response<Long> doInPipeline(Pipeline pipeline, byte[][] slotKeys) {
+                return pipeline.del(slotKeys);
+            }
+
+            @Override
+            public Long doInCluster(JedisCluster jedisCluster, byte[][] slotKeys) {
+                return jedisCluster.del(slotKeys);
+            }
+        });
+        long count = 0;
+        for (BatchResult<Long> result : results) {
+            count += result.getResult();
+        }
+        return count;
+    }
+
+    @Override
+    public Boolean exists(String flag, byte[] key) throws Exception {
+        return jedisCluster.exists(key);
+    }
+
+    @Override
+    public Long expire(String flag, byte[] key, int seconds) throws Exception {
+        return jedisCluster.expire(key, seconds);
+    }
+
+    @Override
+    public byte[] get(String flag, byte[] key) throws Exception {
+        return jedisCluster.get(key);
+    }
+
+    @Override
+    public int get(String flag, byte[] key, ByteBuffer target) throws Exception {
+        return ByteBuffers.write(get(flag, key), target);
+    }
+
+    @Override
+    public Boolean getbit(String flag, byte[] key, long offset) throws Exception {
+        return jedisCluster.getbit(key, offset);
+    }
+
+    @Override
+    public byte[] getrange(String flag, byte[] key, long startOffset, long endOffset) throws Exception {
+        return jedisCluster.getrange(key, startOffset, endOffset);
+    }
+
+    @Override
+    public byte[] getSet(String flag, byte[] key, byte[] value) throws Exception {
+        return jedisCluster.getSet(key, value);
+    }
+
+    @Override
+    public Long hdel(String flag, byte[] key, byte[]... fields) throws Exception {
+        return jedisCluster.hdel(key, fields);
+    }
+
+    @Override
+    public Boolean hexists(String flag, byte[] key, byte[] field) throws Exception {
+        return jedisCluster.hexists(key, field);
+    }
+
+    @Override
+    public byte[] hget(String flag, byte[] key, byte[] field) throws Exception {
+        return jedisCluster.hget(key, field);
+    }
+
+    @Override
+    public int hget(String flag, byte[] key, byte[] field, ByteBuffer target) throws Exception {
+        return ByteBuffers.write(hget(flag, key, field), target);
+    }
+
+    @Override
+    public Map<byte[], byte[]> hgetAll(String flag, byte[] key) throws Exception {
+        return jedisCluster.hgetAll(key);
+    }
+
+    @Override
+    public Iterator<Map.Entry<byte[], byte[]>> hscan(String flag, final byte[] key, int count) throws Exception {
+        return new CursorIterator<>(new CursorIterator.PageFetcher<Map.Entry<byte[], byte[]>>() {
+            @Override
+            public ScanResult<Map.Entry<byte[], byte[]>> fetch(String cursor, ScanParams params) {
+                return jedisCluster.hscan(key, SafeEncoder.encode(cursor), params);
+            }
+        }, count);
+    }
+
+    @Override
+    public Long hincrBy(String flag, byte[] key, byte[] field, long value) throws Exception {
+        return jedisCluster.hincrBy(key, field, value);
+    }
+
+    @Override
+    public Set<byte[]> hkeys(String flag, byte[] key) throws Exception {
+        return jedisCluster.hkeys(key);
+    }
+
+    @Override
+    public Long hlen(String flag, byte[] key) throws Exception {
+        return jedisCluster.hlen(key);
+    }
+
+    @Override
+    public List<byte[]> hmget(String flag, byte[] key, byte[]... fields) throws Exception {
+        return jedisCluster.hmget(key, fields);
+    }
+
+    @Override
+    public String hmset(String flag, byte[] key, Map<byte[], byte[]> hash) throws Exception {
+        return jedisCluster.hmset(key, hash);
+    }
+
+    @Override
+    public Long hset(String flag, byte[] key, byte[] field, byte[] value) throws Exception {
+        return jedisCluster.hset(key, field, value);
+    }
+
+    @Override
+    public Long hsetnx(String flag, byte[] key, byte[] field, byte[] value) throws Exception {
+        return jedisCluster.hsetnx(key, field, value);
+    }
+
+    @Override
+    public List<byte[]> hvals(String flag, byte[] key) throws Exception {
+        return new ArrayList<>(jedisCluster.hvals(key));
+    }
+
+    @Override
+    public Long incr(String flag, byte[] key) throws Exception {
+        return jedisCluster.incr(key);
+    }
+
+    @Override
+    public Long incrBy(String flag, byte[] key, long integer) throws Exception {
+        return jedisCluster.incrBy(key, integer);
+    }
+
+    @Override
+    public byte[] lindex(String flag, byte[] key, long index) throws Exception {
+        return jedisCluster.lindex(key, index);
+    }
+
+    @Override
+    public int lindex(String flag, byte[] key, long index, ByteBuffer target) throws Exception {
+        return ByteBuffers.write(lindex(flag, key, index), target);
+    }
+
+    @Override
+    public Long llen(String flag, byte[] key) throws Exception {
+        return jedisCluster.llen(key);
+    }
+
+    @Override
+    public byte[] lpop(String flag, byte[] key) throws Exception {
+        return jedisCluster.lpop(key);
+    }
+
+    @Override
+    public Long lpush(String flag, byte[] key, byte[]... strings) throws Exception {
+        return jedisCluster.lpush(key, strings);
+    }
+
+    @Override
+    public Long lpushx(String flag, byte[] key, byte[] string) throws Exception {
+        return jedisCluster.lpushx(key, string);
+    }
+
+    @Override
+    public List<byte[]> lrange(String flag, byte[] key, long start, long end) throws Exception {
+        return jedisCluster.lrange(key, start, end);
+    }
+
+    @Override
+    public Long lrem(String flag, byte[] key, long count, byte[] value) throws Exception {
+        return jedisCluster.lrem(key, count, value);
+    }
+
+    @Override
+    public String lset(String flag, byte[] key, long index, byte[] value) throws Exception {
+        return jedisCluster.lset(key, index, value);
+    }
+
+    @Override
+    public String ltrim(String flag, byte[] key, long start, long end) throws Exception {
+        return jedisCluster.ltrim(key, start, end);
+    }
+
+    /**
+     * 每个 slot 发送一次 MGET, 各节点并行执行, 结果按 keys 的顺序返回
+     */
+    @Override
+    public List<byte[]> mget(String flag, byte[]... keys) throws Exception {
+        List<BatchResult<List<byte[]>>> results = batchExecutor.execute(
+            keys, new ClusterBatchExecutor.BinarySlotCallback<List<byte[]>>() {
+                @Override
+                public Response<List<byte[]>> doInPipeline(Pipeline pipeline, byte[][] slotKeys) {
+                    return pipeline.mget(slotKeys);
+                }
+
+                @Override
+                public List<byte[]> doInCluster(JedisCluster jedisCluster, byte[][] slotKeys) {
+                    return jedisCluster.mget(slotKeys);
+                }
+            });
+        byte[][] values = new byte[keys.length][];
+        for (BatchResult<List<byte[]>> result : results) {
+            int[]        positions  = result.getPositions();
+            List<byte[]> slotValues = result.getResult();
+            for (int i = 0; i < positions.length; i++) {
+                values[positions[i]] = slotValues.get(i);
+            }
+        }
+        return Arrays.asList(values);
+    }
+
+    /**
+     * 集群只有 db 0, 不支持 MOVE
+     */
+    @Override
+    public Long move(String flag, byte[] key, int dbIndex) throws Exception {
+        throw new UnsupportedOperationException("current redis model is cluster, move is not supported");
+    }
+
+    /**
+     * 每个 slot 发送一次 MSET, 各节点并行执行, 不保证跨 slot 的原子性
+     */
+    @Override
+    public String mset(String flag, final byte[]... keysvalues) throws Exception {
+        final byte[][] keys = ShardedBinaryRedisServiceImpl.keys(keysvalues);
+        List<BatchResult<String>> results = batchExecutor.execute(keys, new ClusterBatchExecutor.BinarySlotCallback<String>() {
+            @Override
+            public Response<String> doInPipeline(Pipeline pipeline, byte[][] slotKeys) {
+                return pipeline.mset(ShardedBinaryRedisServiceImpl.groupKeysValues(keys, keysvalues, slotKeys));
+            }
+
+            @Override
+            public String doInCluster(JedisCluster jedisCluster, byte[][] slotKeys) {
+                return jedisCluster.mset(ShardedBinaryRedisServiceImpl.groupKeysValues(keys, keysvalues, slotKeys));
+            }
+        });
+        for (BatchResult<String> result : results) {
+            if (!OK.equals(result.getResult())) {
+                return result.getResult();
+            }
+        }
+        return OK;
+    }
+
+    /**
+     * MSETNX 需要保证原子性, 所有 key 必须在同一个 slot 上
+     */
+    @Override
+    public Long msetnx(String flag, byte[]... keysvalues) throws Exception {
+        return jedisCluster.msetnx(keysvalues);
+    }
+
+    /**
+     * 集群内广播
+     */
+    @Override
+    public Long publish(String flag, byte[] channel, byte[] message) throws Exception {
+        return jedisCluster.publish(channel, message);
+    }
+
+    @Override
+    public String rename(String flag, byte[] oldkey, byte[] newkey) throws Exception {
+        return jedisCluster.rename(oldkey, newkey);
+    }
+
+    @Override
+    public Long renamenx(String flag, byte[] oldkey, byte[] newkey) throws Exception {
+        return jedisCluster.renamenx(oldkey, newkey);
+    }
+
+    @Override
+    public byte[] rpop(String flag, byte[] key) throws Exception {
+        return jedisCluster.rpop(key);
+    }
+
+    @Override
+    public byte[] rpoplpush(String flag, byte[] srckey, byte[] dstkey) throws Exception {
+        return jedisCluster.rpoplpush(srckey, dstkey);
+    }
+
+    @Override
+    public Long rpush(String flag, byte[] key, byte[]... strings) throws Exception {
+        return jedisCluster.rpush(key, strings);
+    }
+
+    @Override
+    public Long rpushx(String flag, byte[] key, byte[] string) throws Exception {
+        return jedisCluster.rpushx(key, string);
+    }
+
+    @Override
+    public Long sadd(String flag, byte[] key, byte[]... members) throws Exception {
+        return jedisCluster.sadd(key, members);
+    }
+
+    @Override
+    public Long scard(String flag, byte[] key) throws Exception {
+        return jedisCluster.scard(key);
+    }
+
+    @Override
+    public Set<byte[]> sdiff(String flag, byte[]... keys) throws Exception {
+        return jedisCluster.sdiff(keys);
+    }
+
+    @Override
+    public Long sdiffstore(String flag, byte[] dstkey, byte[]... keys) throws Exception {
+        return jedisCluster.sdiffstore(dstkey, keys);
+    }
+
+    @Override
+    public String set(String flag, byte[] key, byte[] value) throws Exception {
+        return jedisCluster.set(key, value);
+    }
+
+    @Override
+    public Boolean setbit(String flag, byte[] key, long offset, boolean value) throws Exception {
+        return jedisCluster.setbit(key, offset, value);
+    }
+
+    @Override
+    public String setex(String flag, byte[] key, int seconds, byte[] value) throws Exception {
+        return jedisCluster.setex(key, seconds, value);
+    }
+
+    @Override
+    public Long setnx(String flag, byte[] key, byte[] value) throws Exception {
+        return jedisCluster.setnx(key, value);
+    }
+
+    @Override
+    public Long setrange(String flag, byte[] key, long offset, byte[] value) throws Exception {
+        return jedisCluster.setrange(key, offset, value);
+    }
+
+    @Override
+    public Set<byte[]> sinter(String flag, byte[]... keys) throws Exception {
+        return jedisCluster.sinter(keys);
+    }
+
+    @Override
+    public Set<byte[]> smembers(String flag, byte[] key) throws Exception {
+        return jedisCluster.smembers(key);
+    }
+
+    @Override
+    public Iterator<byte[]> sscan(String flag, final byte[] key, int count) throws Exception {
+        return new CursorIterator<>(new CursorIterator.PageFetcher<byte[]>() {
+            @Override
+            public ScanResult<byte[]> fetch(String cursor, ScanParams params) {
+                return jedisCluster.sscan(key, SafeEncoder.encode(cursor), params);
+            }
+        }, count);
+    }
+
+    @Override
+    public Long smove(String flag, byte[] srckey, byte[] dstkey, byte[] member) throws Exception {
+        return jedisCluster.smove(srckey, dstkey, member);
+    }
+
+    @Override
+    public List<byte[]> sort(String flag, byte[] key) throws Exception {
+        return jedisCluster.sort(key);
+    }
+
+    @Override
+    public List<byte[]> sort(String flag, byte[] key, SortingParams sortingParameters) throws Exception {
+        return jedisCluster.sort(key, sortingParameters);
+    }
+
+    @Override
+    public Long sort(String flag, byte[] key, SortingParams sortingParameters, byte[] dstkey) throws Exception {
+        return jedisCluster.sort(key, sortingParameters, dstkey);
+    }
+
+    @Override
+    public Long sort(String flag, byte[] key, byte[] dstkey) throws Exception {
+        return jedisCluster.sort(key, dstkey);
+    }
+
+    @Override
+    public byte[] spop(String flag, byte[] key) throws Exception {
+        return jedisCluster.spop(key);
+    }
+
+    @Override
+    public byte[] srandmember(String flag, byte[] key) throws Exception {
+        return jedisCluster.srandmember(key);
+    }
+
+    @Override
+    public List<byte[]> srandmember(String flag, byte[] key, int count) throws Exception {
+        return jedisCluster.srandmember(key, count);
+    }
+
+    @Override
+    public Long strlen(String flag, byte[] key) throws Exception {
+        return jedisCluster.strlen(key);
+    }
+
+    @Override
+    public byte[] substr(String flag, byte[] key, int start, int end) throws Exception {
+        return jedisCluster.substr(key, start, end);
+    }
+
+    @Override
+    public Long zadd(String flag, byte[] key, double score, byte[] member) throws Exception {
+        return jedisCluster.zadd(key, score, member);
+    }
+
+    @Override
+    public Long zadd(String flag, byte[] key, Map<byte[], Double> scoreMembers) throws Exception {
+        return jedisCluster.zadd(key, scoreMembers);
+    }
+
+    @Override
+    public Long zcount(String flag, byte[] key, double min, double max) throws Exception {
+        return jedisCluster.zcount(key, min, max);
+    }
+
+    @Override
+    public Long zcard(String flag, byte[] key) throws Exception {
+        return jedisCluster.zcard(key);
+    }
+
+    @Override
+    public Set<byte[]> zrange(String flag, byte[] key, long start, long end) throws Exception {
+        return jedisCluster.zrange(key, start, end);
+    }
+
+    @Override
+    public Iterator<Tuple> zscan(String flag, final byte[] key, int count) throws Exception {
+        return new CursorIterator<>(new CursorIterator.PageFetcher<Tuple>() {
+            @Override
+            public ScanResult<Tuple> fetch(String cursor, ScanParams params) {
+                return jedisCluster.zscan(key, SafeEncoder.encode(cursor), params);
+            }
+        }, count);
+    }
+
+    @Override
+    public Long zrank(String flag, byte[] key, byte[] member) throws Exception {
+        return jedisCluster.zrank(key, member);
+    }
+
+    @Override
+    public Double zscore(String flag, byte[] key, byte[] member) throws Exception {
+        return jedisCluster.zscore(key, member);
+    }
+
+    @Override
+    public Set<byte[]> zrangeByScore(String flag, byte[] key, double min, double max) throws Exception {
+        return jedisCluster.zrangeByScore(key, min, max);
+    }
+
+    @Override
+    public Set<byte[]> zrangeByScore(String flag, byte[] key, double min, double max, int offset, int count) throws Exception {
+        return jedisCluster.zrangeByScore(key, min, max, offset, count);
+    }
+
+    @Override
+    public Set<byte[]> zrangeByScore(String flag, byte[] key, byte[] min, byte[] max) throws Exception {
+        return jedisCluster.zrangeByScore(key, min, max);
+    }
+
+    @Override
+    public Set<byte[]> zrangeByScore(String flag, byte[] key, byte[] min, byte[] max, int offset, int count) throws Exception {
+        return jedisCluster.zrangeByScore(key, min, max, offset, count);
+    }
+
+    @Override
+    public Set<Tuple> zrevrangeWithScores(String flag, byte[] key, long start, long end) throws Exception {
+        return jedisCluster.zrevrangeWithScores(key, start, end);
+    }
+
+    @Override
+    public Long zrevrank(String flag, byte[] key, byte[] member) throws Exception {
+        return jedisCluster.zrevrank(key, member);
+    }
+
+    @Override
+    public Set<byte[]> zrevrange(String flag, byte[] key, long start, long end) throws Exception {
+        return jedisCluster.zrevrange(key, start, end);
+    }
+
+    @Override
+    public Set<Tuple> zrangeWithScores(String flag, byte[] key, long start, long end) throws Exception {
+        return jedisCluster.zrangeWithScores(key, start, end);
+    }
+
+    @Override
+    public Long srem(String flag, byte[] key, byte[]... members) throws Exception {
+        return jedisCluster.srem(key, members);
+    }
+
+    @Override
+    public Boolean sismember(String flag, byte[] key, byte[] member) throws Exception {
+        return jedisCluster.sismember(key, member);
+    }
+
+    @Override
+    public Long zrem(String flag, byte[] key, byte[]... members) throws Exception {
+        return jedisCluster.zrem(key, members);
+    }
+
+    @Override
+    public Double zincrby(String flag, byte[] key, double increment, byte[] member) throws Exception {
+        return jedisCluster.zincrby(key, increment, member);
+    }
+
+    /**
+     * 集群模式下依次执行 set 与 expire, 两条命令的结果按顺序返回
+     */
+    @Override
+    public List<Object> setAndExpire(String flag, byte[] key, byte[] value, int seconds) throws Exception {
+        return Arrays.<Object>asList(jedisCluster.set(key, value), jedisCluster.expire(key, seconds));
+    }
+
+    @Override
+    public List<Object> lpushAndExpire(String flag, int seconds, byte[] key, byte[]... strings) throws Exception {
+        return Arrays.<Object>asList(jedisCluster.lpush(key, strings), jedisCluster.expire(key, seconds));
+    }
+
+    @Override
+    public List<Object> rpushAndExpire(String flag, int seconds, byte[] key, byte[]... strings) throws Exception {
+        return Arrays.<Object>asList(jedisCluster.rpush(key, strings), jedisCluster.expire(key, seconds));
+    }
+
+    @Override
+    public List<Object> saddAndExpire(String flag, int seconds, byte[] key, byte[]... members) throws Exception {
+        return Arrays.<Object>asList(jedisCluster.sadd(key, members), jedisCluster.expire(key, seconds));
+    }
+
+    @Override
+    public List<Object> zaddAndExpire(String flag, byte[] key, Map<byte[], Double> scoreMembers, int seconds) throws Exception {
+        return Arrays.<Object>asList(jedisCluster.zadd(key, scoreMembers), jedisCluster.expire(key, seconds));
+    }
+
+    @Override
+    public List<Object> hmsetAndExpire(String flag, byte[] key, Map<byte[], byte[]> hash, int seconds) throws Exception {
+        return Arrays.<Object>asList(jedisCluster.hmset(key, hash), jedisCluster.expire(key, seconds));
+    }
+}
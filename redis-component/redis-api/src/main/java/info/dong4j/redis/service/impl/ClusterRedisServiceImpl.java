@@ -0,0 +1,889 @@
+package info.dong4j.redis.service.impl;
+
+import info.dong4j.redis.service.RedisService;
+import info.dong4j.redis.service.support.CursorIterator;
+import info.dong4j.redis.service.support.NodePipelineExecutor;
+import info.dong4j.redis.service.support.RedisMetrics;
+import info.dong4j.redis.service.support.ScanIterator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import lombok.extern.slf4j.Slf4j;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisCluster;
+import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Response;
+import redis.clients.jedis.ScanParams;
+import redis.clients.jedis.ScanResult;
+import redis.clients.jedis.ShardedJedis;
+import redis.clients.jedis.SortingParams;
+import redis.clients.jedis.Tuple;
+import redis.clients.jedis.exceptions.JedisConnectionException;
+import redis.clients.jedis.exceptions.JedisRedirectionException;
+
+/**
+ * <p>Description: 集群模式下的 RedisService 实现</p>
+ * 单 key 命令直接使用 JedisCluster; mget/mset/del 通过 {@link ClusterBatchExecutor} 按 slot 和节点分组后并行发送,
+ * 不再受 JedisCluster 跨 slot 的限制; 其他多 key 命令仍要求所有 key 在同一个 slot 上.
+ * flag 为业务标识, 所有 flag 共用同一个集群.
+ *
+ * @author dong4j
+ * @email dong4j@gmail.com
+ * @date 2026-10-18  13:50
+ */
+@Slf4j
+public class ClusterRedisServiceImpl implements RedisService {
+    private static final String OK = "OK";
+
+    private final JedisCluster         jedisCluster;
+    private final ClusterBatchExecutor batchExecutor;
+    /** 记录借出连接的等待时间, 为 null 时不记录 */
+    private final RedisMetrics         metrics;
+    private final Random               random = new Random();
+
+    /**
+     * Instantiates a new Cluster redis service.
+     *
+     * @param jedisCluster  the jedis cluster
+     * @param batchExecutor the batch executor
+     */
+    public ClusterRedisServiceImpl(JedisCluster jedisCluster, ClusterBatchExecutor batchExecutor) {
+        this(jedisCluster, batchExecutor, null);
+    }
+
+    /**
+     * Instantiates a new Cluster redis service.
+     * JedisCluster 内部借出连接不经过这里, 只记录直接访问节点连接池(如 keys、flushAll)时的等待时间
+     *
+     * @param jedisCluster  the jedis cluster
+     * @param batchExecutor the batch executor
+     * @param metrics       记录借出连接的等待时间
+     */
+    public ClusterRedisServiceImpl(JedisCluster jedisCluster, ClusterBatchExecutor batchExecutor, RedisMetrics metrics) {
+        this.jedisCluster = jedisCluster;
+        this.batchExecutor = batchExecutor;
+        this.metrics = metrics;
+    }
+
+    /**
+     * 获取 master 节点连接
+     *
+     * @param node host:port
+     * @return the jedis
+     */
+    protected Jedis getMasterResource(String node) {
+        JedisPool pool = batchExecutor.getNodePool(node);
+        return metrics == null ? pool.getResource() : metrics.borrow(pool);
+    }
+
+    @Override
+    public Jedis getJedisByKey(String flag) throws Exception {
+        throw new UnsupportedOperationException("current redis model is cluster, please use JedisCluster");
+    }
+
+    @Override
+    public void returnJedisByKey(String flag, Jedis jedis) throws Exception {
+        throw new UnsupportedOperationException("current redis model is cluster, please use JedisCluster");
+    }
+
+    @Override
+    public ShardedJedis getShardedJedisByKey(String flag) throws Exception {
+        throw new UnsupportedOperationException("current redis model is cluster, please use JedisCluster");
+    }
+
+    @Override
+    public void returnShardedJedisByKey(String flag, ShardedJedis jedis) throws Exception {
+        throw new UnsupportedOperationException("current redis model is cluster, please use JedisCluster");
+    }
+
+    @Override
+    public Long append(String flag, String key, String value) throws Exception {
+        return jedisCluster.append(key, value);
+    }
+
+    @Override
+    public List<String> blpop(String flag, int timeout, String... keys) throws Exception {
+        return jedisCluster.blpop(timeout, keys);
+    }
+
+    @Override
+    public List<String> brpop(String flag, int timeout, String... keys) throws Exception {
+        return jedisCluster.brpop(timeout, keys);
+    }
+
+    /**
+     * 各节点配置一致, 返回第一个 master 的配置
+     */
+    @Override
+    public List<String> configGet(String flag, String pattern) throws Exception {
+        try (Jedis jedis = getMasterResource(batchExecutor.getMasterNodes().iterator().next())) {
+            return jedis.configGet(pattern);
+        }
+    }
+
+    /**
+     * 对所有 master 生效
+     */
+    @Override
+    public String configSet(String flag, String parameter, String value) throws Exception {
+        String reply = OK;
+        for (String node : batchExecutor.getMasterNodes()) {
+            try (Jedis jedis = getMasterResource(node)) {
+                String nodeReply = jedis.configSet(parameter, value);
+                if (!OK.equals(nodeReply)) {
+                    reply = nodeReply;
+                }
+            }
+        }
+        return reply;
+    }
+
+    @Override
+    public Long decr(String flag, String key) throws Exception {
+        return jedisCluster.decr(key);
+    }
+
+    @Override
+    public Long decrBy(String flag, String key, long integer) throws Exception {
+        return jedisCluster.decrBy(key, integer);
+    }
+
+    /**
+     * 每个 slot 发送一次 DEL, 各节点并行执行, 返回删除数量之和
+     */
+    @Override
+    public Long del(String flag, String... keys) throws Exception {
+        if (keys.length == 1) {
+            return jedisCluster.del(keys[0]);
+        }
+        List<BatchResult<Long>> results = batchExecutor.execute(keys, new ClusterBatchExecutor.SlotCallback<Long>() {
+            @Override
+            public Response<Long> doInPipeline(Pipeline pipeline, String[] slotKeys) {
+                return pipeline.del(slotKeys);
+            }
+
+            @Override
+            public Long doInCluster(JedisCluster jedisCluster, String[] slotKeys) {
+                return jedisCluster.del(slotKeys);
+            }
+        });
+        long count = 0;
+        for (BatchResult<Long> result : results) {
+            count += result.getResult();
+        }
+        return count;
+    }
+
+    /**
+     * 脚本中访问的 key 无法确定 slot, 集群模式下不支持
+     */
+    @Override
+    public Object eval(String flag, String script) throws Exception {
+        throw new UnsupportedOperationException("current redis model is cluster, eval without keys is not supported");
+    }
+
+    @Override
+    public Boolean exists(String flag, String key) throws Exception {
+        return jedisCluster.exists(key);
+    }
+
+    @Override
+    public Long expire(String flag, String key, int seconds) throws Exception {
+        return jedisCluster.expire(key, seconds);
+    }
+
+    /**
+     * 对所有 master 生效
+     */
+    @Override
+    public String flushAll(String flag) throws Exception {
+        for (String node : batchExecutor.getMasterNodes()) {
+            try (Jedis jedis = getMasterResource(node)) {
+                jedis.flushAll();
+            }
+        }
+        return OK;
+    }
+
+    /**
+     * 对所有 master 生效
+     */
+    @Override
+    public String flushDB(String flag) throws Exception {
+        for (String node : batchExecutor.getMasterNodes()) {
+            try (Jedis jedis = getMasterResource(node)) {
+                jedis.flushDB();
+            }
+        }
+        return OK;
+    }
+
+    @Override
+    public String get(String flag, String key) throws Exception {
+        return jedisCluster.get(key);
+    }
+
+    @Override
+    public Boolean getbit(String flag, String key, long offset) throws Exception {
+        return jedisCluster.getbit(key, offset);
+    }
+
+    @Override
+    public String getrange(String flag, String key, long startOffset, long endOffset) throws Exception {
+        return jedisCluster.getrange(key, startOffset, endOffset);
+    }
+
+    @Override
+    public String getSet(String flag, String key, String value) throws Exception {
+        return jedisCluster.getSet(key, value);
+    }
+
+    @Override
+    public Long hdel(String flag, String key, String... fields) throws Exception {
+        return jedisCluster.hdel(key, fields);
+    }
+
+    @Override
+    public Boolean hexists(String flag, String key, String field) throws Exception {
+        return jedisCluster.hexists(key, field);
+    }
+
+    @Override
+    public String hget(String flag, String key, String field) throws Exception {
+        return jedisCluster.hget(key, field);
+    }
+
+    @Override
+    public Map<String, String> hgetAll(String flag, String key) throws Exception {
+        return jedisCluster.hgetAll(key);
+    }
+
+    @Override
+    public Iterator<Map.Entry<String, String>> hscan(String flag, final String key, int count) throws Exception {
+        return new CursorIterator<>(new CursorIterator.PageFetcher<Map.Entry<String, String>>() {
+            @Override
+            public ScanResult<Map.Entry<String, String>> fetch(String cursor, ScanParams params) {
+                return jedisCluster.hscan(key, cursor, params);
+            }
+        }, count);
+    }
+
+    @Override
+    public Long hincrBy(String flag, String key, String field, long value) throws Exception {
+        return jedisCluster.hincrBy(key, field, value);
+    }
+
+    @Override
+    public Set<String> hkeys(String flag, String key) throws Exception {
+        return jedisCluster.hkeys(key);
+    }
+
+    @Override
+    public Long hlen(String flag, String key) throws Exception {
+        return jedisCluster.hlen(key);
+    }
+
+    @Override
+    public List<String> hmget(String flag, String key, String... fields) throws Exception {
+        return jedisCluster.hmget(key, fields);
+    }
+
+    @Override
+    public String hmset(String flag, String key, Map<String, String> hash) throws Exception {
+        return jedisCluster.hmset(key, hash);
+    }
+
+    @Override
+    public Long hset(String flag, String key, String field, String value) throws Exception {
+        return jedisCluster.hset(key, field, value);
+    }
+
+    @Override
+    public Long hsetnx(String flag, String key, String field, String value) throws Exception {
+        return jedisCluster.hsetnx(key, field, value);
+    }
+
+    @Override
+    public List<String> hvals(String flag, String key) throws Exception {
+        return jedisCluster.hvals(key);
+    }
+
+    @Override
+    public Long incr(String flag, String key) throws Exception {
+        return jedisCluster.incr(key);
+    }
+
+    @Override
+    public Long incrBy(String flag, String key, long integer) throws Exception {
+        return jedisCluster.incrBy(key, integer);
+    }
+
+    /**
+     * 合并所有 master 的结果
+     */
+    @Override
+    public Set<String> keys(String flag, String pattern) throws Exception {
+        return ScanIterator.collect(scan(flag, pattern, ScanIterator.DEFAULT_COUNT, null));
+    }
+
+    /**
+     * 依次遍历每个 master, 遍历期间发生 slot 迁移时迁移中的 key 可能重复或遗漏
+     */
+    @Override
+    public Iterator<String> scan(String flag, String pattern, int count, String type) throws Exception {
+        List<ScanIterator.NodeScanner> nodes = new ArrayList<>();
+        for (final String node : batchExecutor.getMasterNodes()) {
+            nodes.add(new ScanIterator.NodeScanner() {
+                @Override
+                public ScanResult<String> scan(String cursor, ScanParams params, String type) {
+                    try (Jedis jedis = getMasterResource(node)) {
+                        return ScanIterator.scan(jedis, cursor, params, type);
+                    }
+                }
+            });
+        }
+        return new ScanIterator(nodes, pattern, count, type);
+    }
+
+    @Override
+    public String lindex(String flag, String key, long index) throws Exception {
+        return jedisCluster.lindex(key, index);
+    }
+
+    @Override
+    public Long llen(String flag, String key) throws Exception {
+        return jedisCluster.llen(key);
+    }
+
+    @Override
+    public String lpop(String flag, String key) throws Exception {
+        return jedisCluster.lpop(key);
+    }
+
+    @Override
+    public Long lpush(String flag, String key, String... strings) throws Exception {
+        return jedisCluster.lpush(key, strings);
+    }
+
+    @Override
+    public Long lpushx(String flag, String key, String string) throws Exception {
+        return jedisCluster.lpushx(key, string);
+    }
+
+    @Override
+    public List<String> lrange(String flag, String key, long start, long end) throws Exception {
+        return jedisCluster.lrange(key, start, end);
+    }
+
+    @Override
+    public Long lrem(String flag, String key, long count, String value) throws Exception {
+        return jedisCluster.lrem(key, count, value);
+    }
+
+    @Override
+    public String lset(String flag, String key, long index, String value) throws Exception {
+        return jedisCluster.lset(key, index, value);
+    }
+
+    @Override
+    public String ltrim(String flag, String key, long start, long end) throws Exception {
+        return jedisCluster.ltrim(key, start, end);
+    }
+
+    /**
+     * 每个 slot 发送一次 MGET, 各节点并行执行, 结果按 keys 的顺序返回
+     */
+    @Override
+    public List<String> mget(String flag, String... keys) throws Exception {
+        List<BatchResult<List<String>>> results = batchExecutor.execute(
+            keys, new ClusterBatchExecutor.SlotCallback<List<String>>() {
+                @Override
+                public Response<List<String>> doInPipeline(Pipeline pipeline, String[] slotKeys) {
+                    return pipeline.mget(slotKeys);
+                }
+
+                @Override
+                public List<String> doInCluster(JedisCluster jedisCluster, String[] slotKeys) {
+                    return jedisCluster.mget(slotKeys);
+                }
+            });
+        String[] values = new String[keys.length];
+        for (BatchResult<List<String>> result : results) {
+            int[]        positions  = result.getPositions();
+            List<String> slotValues = result.getResult();
+            for (int i = 0; i < positions.length; i++) {
+                values[positions[i]] = slotValues.get(i);
+            }
+        }
+        return Arrays.asList(values);
+    }
+
+    @Override
+    public Long move(String flag, String key, int dbIndex) throws Exception {
+        return jedisCluster.move(key, dbIndex);
+    }
+
+    /**
+     * 每个 slot 发送一次 MSET, 各节点并行执行, 不保证跨 slot 的原子性
+     */
+    @Override
+    public String mset(String flag, final String... keysvalues) throws Exception {
+        final String[] keys = ShardedRedisServiceImpl.keys(keysvalues);
+        List<BatchResult<String>> results = batchExecutor.execute(keys, new ClusterBatchExecutor.SlotCallback<String>() {
+            @Override
+            public Response<String> doInPipeline(Pipeline pipeline, String[] slotKeys) {
+                return pipeline.mset(ShardedRedisServiceImpl.groupKeysValues(keys, keysvalues, slotKeys));
+            }
+
+            @Override
+            public String doInCluster(JedisCluster jedisCluster, String[] slotKeys) {
+                return jedisCluster.mset(ShardedRedisServiceImpl.groupKeysValues(keys, keysvalues, slotKeys));
+            }
+        });
+        for (BatchResult<String> result : results) {
+            if (!OK.equals(result.getResult())) {
+                return result.getResult();
+            }
+        }
+        return OK;
+    }
+
+    /**
+     * MSETNX 需要保证原子性, 所有 key 必须在同一个 slot 上
+     */
+    @Override
+    public Long msetnx(String flag, String... keysvalues) throws Exception {
+        return jedisCluster.msetnx(keysvalues);
+    }
+
+    /**
+     * 集群内广播
+     */
+    @Override
+    public Long publish(String flag, String channel, String message) throws Exception {
+        return jedisCluster.publish(channel, message);
+    }
+
+    /**
+     * 随机选择一个 master
+     */
+    @Override
+    public String randomKey(String flag) throws Exception {
+        List<String> masters = new ArrayList<>(batchExecutor.getMasterNodes());
+        try (Jedis jedis = getMasterResource(masters.get(random.nextInt(masters.size())))) {
+            return jedis.randomKey();
+        }
+    }
+
+    @Override
+    public String rename(String flag, String oldkey, String newkey) throws Exception {
+        return jedisCluster.rename(oldkey, newkey);
+    }
+
+    @Override
+    public Long renamenx(String flag, String oldkey, String newkey) throws Exception {
+        return jedisCluster.renamenx(oldkey, newkey);
+    }
+
+    @Override
+    public String rpop(String flag, String key) throws Exception {
+        return jedisCluster.rpop(key);
+    }
+
+    @Override
+    public String rpoplpush(String flag, String srckey, String dstkey) throws Exception {
+        return jedisCluster.rpoplpush(srckey, dstkey);
+    }
+
+    @Override
+    public Long rpush(String flag, String key, String... strings) throws Exception {
+        return jedisCluster.rpush(key, strings);
+    }
+
+    @Override
+    public Long rpushx(String flag, String key, String string) throws Exception {
+        return jedisCluster.rpushx(key, string);
+    }
+
+    @Override
+    public Long sadd(String flag, String key, String... members) throws Exception {
+        return jedisCluster.sadd(key, members);
+    }
+
+    @Override
+    public Long scard(String flag, String key) throws Exception {
+        return jedisCluster.scard(key);
+    }
+
+    @Override
+    public Set<String> sdiff(String flag, String... keys) throws Exception {
+        return jedisCluster.sdiff(keys);
+    }
+
+    @Override
+    public Long sdiffstore(String flag, String dstkey, String... keys) throws Exception {
+        return jedisCluster.sdiffstore(dstkey, keys);
+    }
+
+    /**
+     * 集群模式只支持 db 0
+     */
+    @Override
+    public String select(String flag, int index) throws Exception {
+        throw new UnsupportedOperationException("current redis model is cluster, select is not supported");
+    }
+
+    @Override
+    public String set(String flag, String key, String value) throws Exception {
+        return jedisCluster.set(key, value);
+    }
+
+    @Override
+    public Boolean setbit(String flag, String key, long offset, boolean value) throws Exception {
+        return jedisCluster.setbit(key, offset, value);
+    }
+
+    @Override
+    public String setex(String flag, String key, int seconds, String value) throws Exception {
+        return jedisCluster.setex(key, seconds, value);
+    }
+
+    @Override
+    public Long setnx(String flag, String key, String value) throws Exception {
+        return jedisCluster.setnx(key, value);
+    }
+
+    @Override
+    public Long setrange(String flag, String key, long offset, String value) throws Exception {
+        return jedisCluster.setrange(key, offset, value);
+    }
+
+    @Override
+    public Set<String> sinter(String flag, String... keys) throws Exception {
+        return jedisCluster.sinter(keys);
+    }
+
+    @Override
+    public Set<String> smembers(String flag, String key) throws Exception {
+        return jedisCluster.smembers(key);
+    }
+
+    @Override
+    public Iterator<String> sscan(String flag, final String key, int count) throws Exception {
+        return new CursorIterator<>(new CursorIterator.PageFetcher<String>() {
+            @Override
+            public ScanResult<String> fetch(String cursor, ScanParams params) {
+                return jedisCluster.sscan(key, cursor, params);
+            }
+        }, count);
+    }
+
+    @Override
+    public Long smove(String flag, String srckey, String dstkey, String member) throws Exception {
+        return jedisCluster.smove(srckey, dstkey, member);
+    }
+
+    @Override
+    public List<String> sort(String flag, String key) throws Exception {
+        return jedisCluster.sort(key);
+    }
+
+    @Override
+    public List<String> sort(String flag, String key, SortingParams sortingParameters) throws Exception {
+        return jedisCluster.sort(key, sortingParameters);
+    }
+
+    @Override
+    public Long sort(String flag, String key, SortingParams sortingParameters, String dstkey) throws Exception {
+        return jedisCluster.sort(key, sortingParameters, dstkey);
+    }
+
+    @Override
+    public Long sort(String flag, String key, String dstkey) throws Exception {
+        return jedisCluster.sort(key, dstkey);
+    }
+
+    @Override
+    public String spop(String flag, String key) throws Exception {
+        return jedisCluster.spop(key);
+    }
+
+    @Override
+    public String srandmember(String flag, String key) throws Exception {
+        return jedisCluster.srandmember(key);
+    }
+
+    @Override
+    public List<String> srandmember(String flag, String key, int count) throws Exception {
+        return jedisCluster.srandmember(key, count);
+    }
+
+    @Override
+    public Long strlen(String flag, String key) throws Exception {
+        return jedisCluster.strlen(key);
+    }
+
+    @Override
+    public String substr(String flag, String key, int start, int end) throws Exception {
+        return jedisCluster.substr(key, start, end);
+    }
+
+    @Override
+    public Long zadd(String flag, String key, double score, String member) throws Exception {
+        return jedisCluster.zadd(key, score, member);
+    }
+
+    @Override
+    public Long zadd(String flag, String key, Map<String, Double> scoreMembers) throws Exception {
+        return jedisCluster.zadd(key, scoreMembers);
+    }
+
+    @Override
+    public Long zcount(String flag, String key, double min, double max) throws Exception {
+        return jedisCluster.zcount(key, min, max);
+    }
+
+    @Override
+    public Long zcard(String flag, String key) throws Exception {
+        return jedisCluster.zcard(key);
+    }
+
+    @Override
+    public Set<String> zrange(String flag, String key, long start, long end) throws Exception {
+        return jedisCluster.zrange(key, start, end);
+    }
+
+    @Override
+    public Iterator<Tuple> zscan(String flag, final String key, int count) throws Exception {
+        return new CursorIterator<>(new CursorIterator.PageFetcher<Tuple>() {
+            @Override
+            public ScanResult<Tuple> fetch(String cursor, ScanParams params) {
+                return jedisCluster.zscan(key, cursor, params);
+            }
+        }, count);
+    }
+
+    @Override
+    public Long zrank(String flag, String key, String member) throws Exception {
+        return jedisCluster.zrank(key, member);
+    }
+
+    @Override
+    public Double zscore(String flag, String key, String member) throws Exception {
+        return jedisCluster.zscore(key, member);
+    }
+
+    @Override
+    public Set<String> zrangeByScore(String flag, String key, double min, double max) throws Exception {
+        return jedisCluster.zrangeByScore(key, min, max);
+    }
+
+    @Override
+    public Set<String> zrangeByScore(String flag, String key, double min, double max, int offset, int count) throws Exception {
+        return jedisCluster.zrangeByScore(key, min, max, offset, count);
+    }
+
+    @Override
+    public Set<String> zrangeByScore(String flag, String key, String min, String max) throws Exception {
+        return jedisCluster.zrangeByScore(key, min, max);
+    }
+
+    @Override
+    public Set<String> zrangeByScore(String flag, String key, String min, String max, int offset, int count) throws Exception {
+        return jedisCluster.zrangeByScore(key, min, max, offset, count);
+    }
+
+    @Override
+    public Set<Tuple> zrevrangeWithScores(String flag, String key, long start, long end) throws Exception {
+        return jedisCluster.zrevrangeWithScores(key, start, end);
+    }
+
+    @Override
+    public Long zrevrank(String flag, String key, String member) throws Exception {
+        return jedisCluster.zrevrank(key, member);
+    }
+
+    @Override
+    public Set<String> zrevrange(String flag, String key, long start, long end) throws Exception {
+        return jedisCluster.zrevrange(key, start, end);
+    }
+
+    @Override
+    public Set<Tuple> zrangeWithScores(String flag, String key, long start, long end) throws Exception {
+        return jedisCluster.zrangeWithScores(key, start, end);
+    }
+
+    @Override
+    public Long srem(String flag, String key, String... members) throws Exception {
+        return jedisCluster.srem(key, members);
+    }
+
+    @Override
+    public Boolean sismember(String flag, String key, String member) throws Exception {
+        return jedisCluster.sismember(key, member);
+    }
+
+    @Override
+    public Long zrem(String flag, String key, String... members) throws Exception {
+        return jedisCluster.zrem(key, members);
+    }
+
+    @Override
+    public Double zincrby(String flag, String key, double increment, String member) throws Exception {
+        return jedisCluster.zincrby(key, increment, member);
+    }
+
+    /**
+     * 集群模式下写入与 expire 在 key 所在节点的同一个 pipeline 中发送, 一次往返, 两条命令的结果按顺序返回
+     */
+    @Override
+    public List<Object> setAndExpire(String flag, final String key, final String value, int seconds) throws Exception {
+        return pipelinedAndExpire(key, seconds, new ExpireCallback() {
+            @Override
+            public void doInPipeline(Pipeline pipeline) {
+                pipeline.set(key, value);
+            }
+
+            @Override
+            public Object doInCluster(JedisCluster jedisCluster) {
+                return jedisCluster.set(key, value);
+            }
+        });
+    }
+
+    @Override
+    public List<Object> lpushAndExpire(String flag, int seconds, final String key, final String... strings) throws Exception {
+        return pipelinedAndExpire(key, seconds, new ExpireCallback() {
+            @Override
+            public void doInPipeline(Pipeline pipeline) {
+                pipeline.lpush(key, strings);
+            }
+
+            @Override
+            public Object doInCluster(JedisCluster jedisCluster) {
+                return jedisCluster.lpush(key, strings);
+            }
+        });
+    }
+
+    @Override
+    public List<Object> rpushAndExpire(String flag, int seconds, final String key, final String... strings) throws Exception {
+        return pipelinedAndExpire(key, seconds, new ExpireCallback() {
+            @Override
+            public void doInPipeline(Pipeline pipeline) {
+                pipeline.rpush(key, strings);
+            }
+
+            @Override
+            public Object doInCluster(JedisCluster jedisCluster) {
+                return jedisCluster.rpush(key, strings);
+            }
+        });
+    }
+
+    @Override
+    public List<Object> saddAndExpire(String flag, int seconds, final String key, final String... members) throws Exception {
+        return pipelinedAndExpire(key, seconds, new ExpireCallback() {
+            @Override
+            public void doInPipeline(Pipeline pipeline) {
+                pipeline.sadd(key, members);
+            }
+
+            @Override
+            public Object doInCluster(JedisCluster jedisCluster) {
+                return jedisCluster.sadd(key, members);
+            }
+        });
+    }
+
+    @Override
+    public List<Object> zaddAndExpire(String flag, final String key, final Map<String, Double> scoreMembers, int seconds) throws Exception {
+        return pipelinedAndExpire(key, seconds, new ExpireCallback() {
+            @Override
+            public void doInPipeline(Pipeline pipeline) {
+                pipeline.zadd(key, scoreMembers);
+            }
+
+            @Override
+            public Object doInCluster(JedisCluster jedisCluster) {
+                return jedisCluster.zadd(key, scoreMembers);
+            }
+        });
+    }
+
+    @Override
+    public List<Object> hmsetAndExpire(String flag, final String key, final Map<String, String> hash, int seconds) throws Exception {
+        return pipelinedAndExpire(key, seconds, new ExpireCallback() {
+            @Override
+            public void doInPipeline(Pipeline pipeline) {
+                pipeline.hmset(key, hash);
+            }
+
+            @Override
+            public Object doInCluster(JedisCluster jedisCluster) {
+                return jedisCluster.hmset(key, hash);
+            }
+        });
+    }
+
+    /**
+     * 在 key 所在 master 节点的 pipeline 中发送写入命令与 expire.
+     * 本地路由表失效(MOVED/ASK)或节点连接失败时刷新路由表, 通过 JedisCluster 依次执行
+     *
+     * @param key      the key
+     * @param seconds  过期时间(秒)
+     * @param callback 写入命令
+     * @return 写入命令与 expire 的结果
+     */
+    private List<Object> pipelinedAndExpire(final String key, final int seconds, final ExpireCallback callback) {
+        final List<Object> results = new ArrayList<>(2);
+        try {
+            batchExecutor.pipelined(key, new NodePipelineExecutor.PipelineCallback() {
+                @Override
+                public void doInPipeline(Pipeline pipeline) {
+                    callback.doInPipeline(pipeline);
+                    pipeline.expire(key, seconds);
+                    results.addAll(pipeline.syncAndReturnAll());
+                }
+            });
+            if (!(results.get(0) instanceof JedisRedirectionException)) {
+                return results;
+            }
+        } catch (JedisConnectionException e) {
+            log.warn("Pipeline on cluster node " + batchExecutor.getNode(key) + " failed, fallback to JedisCluster. " + e.getMessage());
+        }
+        batchExecutor.renewSlotTable();
+        return Arrays.<Object>asList(callback.doInCluster(jedisCluster), jedisCluster.expire(key, seconds));
+    }
+
+    /**
+     * <p>Description: 需要与 expire 一起发送的写入命令 </p>
+     *
+     * @author dong4j
+     * @email dong4j@gmail.com
+     * @date 2026-10-18  23:59
+     */
+    private interface ExpireCallback {
+        /**
+         * 在 key 所在节点的 pipeline 中写入命令
+         *
+         * @param pipeline the pipeline
+         */
+        void doInPipeline(Pipeline pipeline);
+
+        /**
+         * 路由失效时通过 JedisCluster 执行(JedisCluster 会处理 MOVED/ASK 重定向)
+         *
+         * @param jedisCluster the jedis cluster
+         * @return 写入命令的结果
+         */
+        Object doInCluster(JedisCluster jedisCluster);
+    }
+}
@@ -0,0 +1,197 @@
+package info.dong4j.redis.service.impl;
+
+import info.dong4j.redis.service.RedisService;
+import info.dong4j.redis.service.support.NodePipelineExecutor;
+import info.dong4j.redis.service.support.RedisMetrics;
+import info.dong4j.redis.service.support.WriteCoalescer;
+
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Response;
+
+/**
+ * <p>Description: 合并写命令的 RedisService</p>
+ * set/setex/hset/hincrBy/incr/incrBy/decr/decrBy/expire 由 {@link WriteCoalescer} 按节点合并为 pipeline 发送,
+ * 其他命令直接交给被装饰的 RedisService. 调用方仍然同步等待自己的结果, 因此同一线程内的命令顺序不变.
+ * 合并执行的命令不经过被装饰的 {@link InstrumentedRedisService}, 由合并器记录到 {@link RedisMetrics}.
+ *
+ * @author dong4j
+ * @email dong4j@gmail.com
+ * @date 2026-10-18  16:40
+ */
+public class CoalescingRedisService extends ForwardingRedisService {
+    private final WriteCoalescer coalescer;
+
+    /**
+     * Instantiates a new Coalescing redis service.
+     *
+     * @param delegate         被装饰的 RedisService, 路由失效时用于重新执行
+     * @param pipelineExecutor 与 delegate 使用相同连接池的 pipeline 执行器
+     * @param windowMicros     缓冲窗口(微秒)
+     * @param maxBatch         单个 pipeline 最多合并的命令数
+     * @param threads          flush 线程数
+     */
+    public CoalescingRedisService(RedisService delegate, NodePipelineExecutor pipelineExecutor,
+                                  long windowMicros, int maxBatch, int threads) {
+        this(delegate, pipelineExecutor, windowMicros, maxBatch, threads, null);
+    }
+
+    /**
+     * Instantiates a new Coalescing redis service.
+     *
+     * @param delegate         被装饰的 RedisService, 路由失效时用于重新执行
+     * @param pipelineExecutor 与 delegate 使用相同连接池的 pipeline 执行器
+     * @param windowMicros     缓冲窗口(微秒)
+     * @param maxBatch         单个 pipeline 最多合并的命令数
+     * @param threads          flush 线程数
+     * @param metrics          统计合并执行的命令, 为 null 时不统计
+     */
+    public CoalescingRedisService(RedisService delegate, NodePipelineExecutor pipelineExecutor,
+                                  long windowMicros, int maxBatch, int threads, RedisMetrics metrics) {
+        super(delegate);
+        this.coalescer = new WriteCoalescer(pipelineExecutor, windowMicros, maxBatch, threads, metrics);
+    }
+
+    /**
+     * 关闭合并器, 作为 spring bean 时自动调用
+     */
+    @Override
+    public void close() {
+        coalescer.destroy();
+        super.close();
+    }
+
+    @Override
+    public String set(final String flag, final String key, final String value) throws Exception {
+        return coalescer.execute("set", key, new WriteCoalescer.Command<String>() {
+            @Override
+            public Response<String> queue(Pipeline pipeline) {
+                return pipeline.set(key, value);
+            }
+
+            @Override
+            public String fallback() throws Exception {
+                return delegate.set(flag, key, value);
+            }
+        });
+    }
+
+    @Override
+    public String setex(final String flag, final String key, final int seconds, final String value) throws Exception {
+        return coalescer.execute("setex", key, new WriteCoalescer.Command<String>() {
+            @Override
+            public Response<String> queue(Pipeline pipeline) {
+                return pipeline.setex(key, seconds, value);
+            }
+
+            @Override
+            public String fallback() throws Exception {
+                return delegate.setex(flag, key, seconds, value);
+            }
+        });
+    }
+
+    @Override
+    public Long hset(final String flag, final String key, final String field, final String value) throws Exception {
+        return coalescer.execute("hset", key, new WriteCoalescer.Command<Long>() {
+            @Override
+            public Response<Long> queue(Pipeline pipeline) {
+                return pipeline.hset(key, field, value);
+            }
+
+            @Override
+            public Long fallback() throws Exception {
+                return delegate.hset(flag, key, field, value);
+            }
+        });
+    }
+
+    @Override
+    public Long hincrBy(final String flag, final String key, final String field, final long value) throws Exception {
+        return coalescer.execute("hincrBy", key, new WriteCoalescer.Command<Long>() {
+            @Override
+            public Response<Long> queue(Pipeline pipeline) {
+                return pipeline.hincrBy(key, field, value);
+            }
+
+            @Override
+            public Long fallback() throws Exception {
+                return delegate.hincrBy(flag, key, field, value);
+            }
+        });
+    }
+
+    @Override
+    public Long incr(final String flag, final String key) throws Exception {
+        return coalescer.execute("incr", key, new WriteCoalescer.Command<Long>() {
+            @Override
+            public Response<Long> queue(Pipeline pipeline) {
+                return pipeline.incr(key);
+            }
+
+            @Override
+            public Long fallback() throws Exception {
+                return delegate.incr(flag, key);
+            }
+        });
+    }
+
+    @Override
+    public Long incrBy(final String flag, final String key, final long integer) throws Exception {
+        return coalescer.execute("incrBy", key, new WriteCoalescer.Command<Long>() {
+            @Override
+            public Response<Long> queue(Pipeline pipeline) {
+                return pipeline.incrBy(key, integer);
+            }
+
+            @Override
+            public Long fallback() throws Exception {
+                return delegate.incrBy(flag, key, integer);
+            }
+        });
+    }
+
+    @Override
+    public Long decr(final String flag, final String key) throws Exception {
+        return coalescer.execute("decr", key, new WriteCoalescer.Command<Long>() {
+            @Override
+            public Response<Long> queue(Pipeline pipeline) {
+                return pipeline.decr(key);
+            }
+
+            @Override
+            public Long fallback() throws Exception {
+                return delegate.decr(flag, key);
+            }
+        });
+    }
+
+    @Override
+    public Long decrBy(final String flag, final String key, final long integer) throws Exception {
+        return coalescer.execute("decrBy", key, new WriteCoalescer.Command<Long>() {
+            @Override
+            public Response<Long> queue(Pipeline pipeline) {
+                return pipeline.decrBy(key, integer);
+            }
+
+            @Override
+            public Long fallback() throws Exception {
+                return delegate.decrBy(flag, key, integer);
+            }
+        });
+    }
+
+    @Override
+    public Long expire(final String flag, final String key, final int seconds) throws Exception {
+        return coalescer.execute("expire", key, new WriteCoalescer.Command<Long>() {
+            @Override
+            public Response<Long> queue(Pipeline pipeline) {
+                return pipeline.expire(key, seconds);
+            }
+
+            @Override
+            public Long fallback() throws Exception {
+                return delegate.expire(flag, key, seconds);
+            }
+        });
+    }
+}
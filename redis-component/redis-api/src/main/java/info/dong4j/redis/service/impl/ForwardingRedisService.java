@@ -0,0 +1,583 @@
+package info.dong4j.redis.service.impl;
+
+import info.dong4j.redis.service.RedisService;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.ShardedJedis;
+import redis.clients.jedis.SortingParams;
+import redis.clients.jedis.Tuple;
+
+/**
+ * <p>Description: RedisService 装饰器基类</p>
+ * 所有方法直接转发给被装饰的 RedisService, 子类只需要重写需要增强的方法(合并写、本地缓存等).
+ *
+ * @author dong4j
+ * @email dong4j@gmail.com
+ * @date 2026-10-18  16:40
+ */
+public abstract class ForwardingRedisService implements RedisService {
+    protected final RedisService delegate;
+
+    /**
+     * Instantiates a new Forwarding redis service.
+     *
+     * @param delegate 被装饰的 RedisService
+     */
+    protected ForwardingRedisService(RedisService delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * 释放装饰器持有的线程等资源, 并依次关闭被装饰的装饰器. 作为 spring bean 时自动调用
+     */
+    public void close() {
+        if (delegate instanceof ForwardingRedisService) {
+            ((ForwardingRedisService) delegate).close();
+        }
+    }
+
+    @Override
+    public Jedis getJedisByKey(String flag) throws Exception {
+        return delegate.getJedisByKey(flag);
+    }
+
+    @Override
+    public void returnJedisByKey(String flag, Jedis jedis) throws Exception {
+        delegate.returnJedisByKey(flag, jedis);
+    }
+
+    @Override
+    public ShardedJedis getShardedJedisByKey(String flag) throws Exception {
+        return delegate.getShardedJedisByKey(flag);
+    }
+
+    @Override
+    public void returnShardedJedisByKey(String flag, ShardedJedis jedis) throws Exception {
+        delegate.returnShardedJedisByKey(flag, jedis);
+    }
+
+    @Override
+    public Long append(String flag, String key, String value) throws Exception {
+        return delegate.append(flag, key, value);
+    }
+
+    @Override
+    public List<String> blpop(String flag, int timeout, String... keys) throws Exception {
+        return delegate.blpop(flag, timeout, keys);
+    }
+
+    @Override
+    public List<String> brpop(String flag, int timeout, String... keys) throws Exception {
+        return delegate.brpop(flag, timeout, keys);
+    }
+
+    @Override
+    public List<String> configGet(String flag, String pattern) throws Exception {
+        return delegate.configGet(flag, pattern);
+    }
+
+    @Override
+    public String configSet(String flag, String parameter, String value) throws Exception {
+        return delegate.configSet(flag, parameter, value);
+    }
+
+    @Override
+    public Long decr(String flag, String key) throws Exception {
+        return delegate.decr(flag, key);
+    }
+
+    @Override
+    public Long decrBy(String flag, String key, long integer) throws Exception {
+        return delegate.decrBy(flag, key, integer);
+    }
+
+    @Override
+    public Long del(String flag, String... keys) throws Exception {
+        return delegate.del(flag, keys);
+    }
+
+    @Override
+    public Object eval(String flag, String script) throws Exception {
+        return delegate.eval(flag, script);
+    }
+
+    @Override
+    public Boolean exists(String flag, String key) throws Exception {
+        return delegate.exists(flag, key);
+    }
+
+    @Override
+    public Long expire(String flag, String key, int seconds) throws Exception {
+        return delegate.expire(flag, key, seconds);
+    }
+
+    @Override
+    public String flushAll(String flag) throws Exception {
+        return delegate.flushAll(flag);
+    }
+
+    @Override
+    public String flushDB(String flag) throws Exception {
+        return delegate.flushDB(flag);
+    }
+
+    @Override
+    public String get(String flag, String key) throws Exception {
+        return delegate.get(flag, key);
+    }
+
+    @Override
+    public Boolean getbit(String flag, String key, long offset) throws Exception {
+        return delegate.getbit(flag, key, offset);
+    }
+
+    @Override
+    public String getrange(String flag, String key, long startOffset, long endOffset) throws Exception {
+        return delegate.getrange(flag, key, startOffset, endOffset);
+    }
+
+    @Override
+    public String getSet(String flag, String key, String value) throws Exception {
+        return delegate.getSet(flag, key, value);
+    }
+
+    @Override
+    public Long hdel(String flag, String key, String... fields) throws Exception {
+        return delegate.hdel(flag, key, fields);
+    }
+
+    @Override
+    public Boolean hexists(String flag, String key, String field) throws Exception {
+        return delegate.hexists(flag, key, field);
+    }
+
+    @Override
+    public String hget(String flag, String key, String field) throws Exception {
+        return delegate.hget(flag, key, field);
+    }
+
+    @Override
+    public Map<String, String> hgetAll(String flag, String key) throws Exception {
+        return delegate.hgetAll(flag, key);
+    }
+
+    @Override
+    public Iterator<Map.Entry<String, String>> hscan(String flag, String key, int count) throws Exception {
+        return delegate.hscan(flag, key, count);
+    }
+
+    @Override
+    public Long hincrBy(String flag, String key, String field, long value) throws Exception {
+        return delegate.hincrBy(flag, key, field, value);
+    }
+
+    @Override
+    public Set<String> hkeys(String flag, String key) throws Exception {
+        return delegate.hkeys(flag, key);
+    }
+
+    @Override
+    public Long hlen(String flag, String key) throws Exception {
+        return delegate.hlen(flag, key);
+    }
+
+    @Override
+    public List<String> hmget(String flag, String key, String... fields) throws Exception {
+        return delegate.hmget(flag, key, fields);
+    }
+
+    @Override
+    public String hmset(String flag, String key, Map<String, String> hash) throws Exception {
+        return delegate.hmset(flag, key, hash);
+    }
+
+    @Override
+    public Long hset(String flag, String key, String field, String value) throws Exception {
+        return delegate.hset(flag, key, field, value);
+    }
+
+    @Override
+    public Long hsetnx(String flag, String key, String field, String value) throws Exception {
+        return delegate.hsetnx(flag, key, field, value);
+    }
+
+    @Override
+    public List<String> hvals(String flag, String key) throws Exception {
+        return delegate.hvals(flag, key);
+    }
+
+    @Override
+    public Long incr(String flag, String key) throws Exception {
+        return delegate.incr(flag, key);
+    }
+
+    @Override
+    public Long incrBy(String flag, String key, long integer) throws Exception {
+        return delegate.incrBy(flag, key, integer);
+    }
+
+    @Override
+    public Set<String> keys(String flag, String pattern) throws Exception {
+        return delegate.keys(flag, pattern);
+    }
+
+    @Override
+    public Iterator<String> scan(String flag, String pattern, int count, String type) throws Exception {
+        return delegate.scan(flag, pattern, count, type);
+    }
+
+    @Override
+    public String lindex(String flag, String key, long index) throws Exception {
+        return delegate.lindex(flag, key, index);
+    }
+
+    @Override
+    public Long llen(String flag, String key) throws Exception {
+        return delegate.llen(flag, key);
+    }
+
+    @Override
+    public String lpop(String flag, String key) throws Exception {
+        return delegate.lpop(flag, key);
+    }
+
+    @Override
+    public Long lpush(String flag, String key, String... strings) throws Exception {
+        return delegate.lpush(flag, key, strings);
+    }
+
+    @Override
+    public Long lpushx(String flag, String key, String string) throws Exception {
+        return delegate.lpushx(flag, key, string);
+    }
+
+    @Override
+    public List<String> lrange(String flag, String key, long start, long end) throws Exception {
+        return delegate.lrange(flag, key, start, end);
+    }
+
+    @Override
+    public Long lrem(String flag, String key, long count, String value) throws Exception {
+        return delegate.lrem(flag, key, count, value);
+    }
+
+    @Override
+    public String lset(String flag, String key, long index, String value) throws Exception {
+        return delegate.lset(flag, key, index, value);
+    }
+
+    @Override
+    public String ltrim(String flag, String key, long start, long end) throws Exception {
+        return delegate.ltrim(flag, key, start, end);
+    }
+
+    @Override
+    public List<String> mget(String flag, String... keys) throws Exception {
+        return delegate.mget(flag, keys);
+    }
+
+    @Override
+    public Long move(String flag, String key, int dbIndex) throws Exception {
+        return delegate.move(flag, key, dbIndex);
+    }
+
+    @Override
+    public String mset(String flag, String... keysvalues) throws Exception {
+        return delegate.mset(flag, keysvalues);
+    }
+
+    @Override
+    public Long msetnx(String flag, String... keysvalues) throws Exception {
+        return delegate.msetnx(flag, keysvalues);
+    }
+
+    @Override
+    public Long publish(String flag, String channel, String message) throws Exception {
+        return delegate.publish(flag, channel, message);
+    }
+
+    @Override
+    public String randomKey(String flag) throws Exception {
+        return delegate.randomKey(flag);
+    }
+
+    @Override
+    public String rename(String flag, String oldkey, String newkey) throws Exception {
+        return delegate.rename(flag, oldkey, newkey);
+    }
+
+    @Override
+    public Long renamenx(String flag, String oldkey, String newkey) throws Exception {
+        return delegate.renamenx(flag, oldkey, newkey);
+    }
+
+    @Override
+    public String rpop(String flag, String key) throws Exception {
+        return delegate.rpop(flag, key);
+    }
+
+    @Override
+    public String rpoplpush(String flag, String srckey, String dstkey) throws Exception {
+        return delegate.rpoplpush(flag, srckey, dstkey);
+    }
+
+    @Override
+    public Long rpush(String flag, String key, String... strings) throws Exception {
+        return delegate.rpush(flag, key, strings);
+    }
+
+    @Override
+    public Long rpushx(String flag, String key, String string) throws Exception {
+        return delegate.rpushx(flag, key, string);
+    }
+
+    @Override
+    public Long sadd(String flag, String key, String... members) throws Exception {
+        return delegate.sadd(flag, key, members);
+    }
+
+    @Override
+    public Long scard(String flag, String key) throws Exception {
+        return delegate.scard(flag, key);
+    }
+
+    @Override
+    public Set<String> sdiff(String flag, String... keys) throws Exception {
+        return delegate.sdiff(flag, keys);
+    }
+
+    @Override
+    public Long sdiffstore(String flag, String dstkey, String... keys) throws Exception {
+        return delegate.sdiffstore(flag, dstkey, keys);
+    }
+
+    @Override
+    public String select(String flag, int index) throws Exception {
+        return delegate.select(flag, index);
+    }
+
+    @Override
+    public String set(String flag, String key, String value) throws Exception {
+        return delegate.set(flag, key, value);
+    }
+
+    @Override
+    public Boolean setbit(String flag, String key, long offset, boolean value) throws Exception {
+        return delegate.setbit(flag, key, offset, value);
+    }
+
+    @Override
+    public String setex(String flag, String key, int seconds, String value) throws Exception {
+        return delegate.setex(flag, key, seconds, value);
+    }
+
+    @Override
+    public Long setnx(String flag, String key, String value) throws Exception {
+        return delegate.setnx(flag, key, value);
+    }
+
+    @Override
+    public Long setrange(String flag, String key, long offset, String value) throws Exception {
+        return delegate.setrange(flag, key, offset, value);
+    }
+
+    @Override
+    public Set<String> sinter(String flag, String... keys) throws Exception {
+        return delegate.sinter(flag, keys);
+    }
+
+    @Override
+    public Set<String> smembers(String flag, String key) throws Exception {
+        return delegate.smembers(flag, key);
+    }
+
+    @Override
+    public Iterator<String> sscan(String flag, String key, int count) throws Exception {
+        return delegate.sscan(flag, key, count);
+    }
+
+    @Override
+    public Long smove(String flag, String srckey, String dstkey, String member) throws Exception {
+        return delegate.smove(flag, srckey, dstkey, member);
+    }
+
+    @Override
+    public List<String> sort(String flag, String key) throws Exception {
+        return delegate.sort(flag, key);
+    }
+
+    @Override
+    public List<String> sort(String flag, String key, SortingParams sortingParameters) throws Exception {
+        return delegate.sort(flag, key, sortingParameters);
+    }
+
+    @Override
+    public Long sort(String flag, String key, SortingParams sortingParameters, String dstkey) throws Exception {
+        return delegate.sort(flag, key, sortingParameters, dstkey);
+    }
+
+    @Override
+    public Long sort(String flag, String key, String dstkey) throws Exception {
+        return delegate.sort(flag, key, dstkey);
+    }
+
+    @Override
+    public String spop(String flag, String key) throws Exception {
+        return delegate.spop(flag, key);
+    }
+
+    @Override
+    public String srandmember(String flag, String key) throws Exception {
+        return delegate.srandmember(flag, key);
+    }
+
+    @Override
+    public List<String> srandmember(String flag, String key, int count) throws Exception {
+        return delegate.srandmember(flag, key, count);
+    }
+
+    @Override
+    public Long strlen(String flag, String key) throws Exception {
+        return delegate.strlen(flag, key);
+    }
+
+    @Override
+    public String substr(String flag, String key, int start, int end) throws Exception {
+        return delegate.substr(flag, key, start, end);
+    }
+
+    @Override
+    public Long zadd(String flag, String key, double score, String member) throws Exception {
+        return delegate.zadd(flag, key, score, member);
+    }
+
+    @Override
+    public Long zadd(String flag, String key, Map<String, Double> scoreMembers) throws Exception {
+        return delegate.zadd(flag, key, scoreMembers);
+    }
+
+    @Override
+    public Long zcount(String flag, String key, double min, double max) throws Exception {
+        return delegate.zcount(flag, key, min, max);
+    }
+
+    @Override
+    public Long zcard(String flag, String key) throws Exception {
+        return delegate.zcard(flag, key);
+    }
+
+    @Override
+    public Set<String> zrange(String flag, String key, long start, long end) throws Exception {
+        return delegate.zrange(flag, key, start, end);
+    }
+
+    @Override
+    public Iterator<Tuple> zscan(String flag, String key, int count) throws Exception {
+        return delegate.zscan(flag, key, count);
+    }
+
+    @Override
+    public Long zrank(String flag, String key, String member) throws Exception {
+        return delegate.zrank(flag, key, member);
+    }
+
+    @Override
+    public Double zscore(String flag, String key, String member) throws Exception {
+        return delegate.zscore(flag, key, member);
+    }
+
+    @Override
+    public Set<String> zrangeByScore(String flag, String key, double min, double max) throws Exception {
+        return delegate.zrangeByScore(flag, key, min, max);
+    }
+
+    @Override
+    public Set<String> zrangeByScore(String flag, String key, double min, double max, int offset, int count) throws Exception {
+        return delegate.zrangeByScore(flag, key, min, max, offset, count);
+    }
+
+    @Override
+    public Set<String> zrangeByScore(String flag, String key, String min, String max) throws Exception {
+        return delegate.zrangeByScore(flag, key, min, max);
+    }
+
+    @Override
+    public Set<String> zrangeByScore(String flag, String key, String min, String max, int offset, int count) throws Exception {
+        return delegate.zrangeByScore(flag, key, min, max, offset, count);
+    }
+
+    @Override
+    public Set<Tuple> zrevrangeWithScores(String flag, String key, long start, long end) throws Exception {
+        return delegate.zrevrangeWithScores(flag, key, start, end);
+    }
+
+    @Override
+    public Long zrevrank(String flag, String key, String member) throws Exception {
+        return delegate.zrevrank(flag, key, member);
+    }
+
+    @Override
+    public Set<String> zrevrange(String flag, String key, long start, long end) throws Exception {
+        return delegate.zrevrange(flag, key, start, end);
+    }
+
+    @Override
+    public Set<Tuple> zrangeWithScores(String flag, String key, long start, long end) throws Exception {
+        return delegate.zrangeWithScores(flag, key, start, end);
+    }
+
+    @Override
+    public Long srem(String flag, String key, String... members) throws Exception {
+        return delegate.srem(flag, key, members);
+    }
+
+    @Override
+    public Boolean sismember(String flag, String key, String member) throws Exception {
+        return delegate.sismember(flag, key, member);
+    }
+
+    @Override
+    public Long zrem(String flag, String key, String... members) throws Exception {
+        return delegate.zrem(flag, key, members);
+    }
+
+    @Override
+    public Double zincrby(String flag, String key, double increment, String member) throws Exception {
+        return delegate.zincrby(flag, key, increment, member);
+    }
+
+    @Override
+    public List<Object> setAndExpire(String flag, String key, String value, int seconds) throws Exception {
+        return delegate.setAndExpire(flag, key, value, seconds);
+    }
+
+    @Override
+    public List<Object> lpushAndExpire(String flag, int seconds, String key, String... strings) throws Exception {
+        return delegate.lpushAndExpire(flag, seconds, key, strings);
+    }
+
+    @Override
+    public List<Object> rpushAndExpire(String flag, int seconds, String key, String... strings) throws Exception {
+        return delegate.rpushAndExpire(flag, seconds, key, strings);
+    }
+
+    @Override
+    public List<Object> saddAndExpire(String flag, int seconds, String key, String... members) throws Exception {
+        return delegate.saddAndExpire(flag, seconds, key, members);
+    }
+
+    @Override
+    public List<Object> zaddAndExpire(String flag, String key, Map<String, Double> scoreMembers, int seconds) throws Exception {
+        return delegate.zaddAndExpire(flag, key, scoreMembers, seconds);
+    }
+
+    @Override
+    public List<Object> hmsetAndExpire(String flag, String key, Map<String, String> hash, int seconds) throws Exception {
+        return delegate.hmsetAndExpire(flag, key, hash, seconds);
+    }
+}
@@ -0,0 +1,636 @@
+package info.dong4j.redis.service.impl;
+
+import info.dong4j.redis.service.RedisService;
+import info.dong4j.redis.service.support.HotKeyDetector;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import redis.clients.jedis.SortingParams;
+import redis.clients.jedis.Tuple;
+
+/**
+ * <p>Description: 统计热点 key 的 RedisService</p>
+ * 所有针对 key 的命令在转发前由 {@link HotKeyDetector} 按业务标识计数, 多 key 命令对每个 key 分别计数.
+ *
+ * @author dong4j
+ * @email dong4j@gmail.com
+ * @date 2026-10-18  19:00
+ */
+public class HotKeyRedisService extends ForwardingRedisService {
+    private final HotKeyDetector detector;
+
+    /**
+     * Instantiates a new Hot key redis service.
+     *
+     * @param delegate 被装饰的 RedisService
+     * @param detector the detector
+     */
+    public HotKeyRedisService(RedisService delegate, HotKeyDetector detector) {
+        super(delegate);
+        this.detector = detector;
+    }
+
+    /**
+     * Gets detector.
+     *
+     * @return the detector
+     */
+    public HotKeyDetector getDetector() {
+        return detector;
+    }
+
+    /**
+     * 停止检测, 作为 spring bean 时自动调用
+     */
+    @Override
+    public void close() {
+        detector.destroy();
+        super.close();
+    }
+
+    private void record(String flag, String... keys) {
+        for (String key : keys) {
+            detector.record(flag, key);
+        }
+    }
+
+    private void recordPairs(String flag, String... keysvalues) {
+        for (int i = 0; i < keysvalues.length; i += 2) {
+            detector.record(flag, keysvalues[i]);
+        }
+    }
+
+    @Override
+    public Long append(String flag, String key, String value) throws Exception {
+        detector.record(flag, key);
+        return delegate.append(flag, key, value);
+    }
+
+    @Override
+    public List<String> blpop(String flag, int timeout, String... keys) throws Exception {
+        record(flag, keys);
+        return delegate.blpop(flag, timeout, keys);
+    }
+
+    @Override
+    public List<String> brpop(String flag, int timeout, String... keys) throws Exception {
+        record(flag, keys);
+        return delegate.brpop(flag, timeout, keys);
+    }
+
+    @Override
+    public Long decr(String flag, String key) throws Exception {
+        detector.record(flag, key);
+        return delegate.decr(flag, key);
+    }
+
+    @Override
+    public Long decrBy(String flag, String key, long integer) throws Exception {
+        detector.record(flag, key);
+        return delegate.decrBy(flag, key, integer);
+    }
+
+    @Override
+    public Long del(String flag, String... keys) throws Exception {
+        record(flag, keys);
+        return delegate.del(flag, keys);
+    }
+
+    @Override
+    public Boolean exists(String flag, String key) throws Exception {
+        detector.record(flag, key);
+        return delegate.exists(flag, key);
+    }
+
+    @Override
+    public Long expire(String flag, String key, int seconds) throws Exception {
+        detector.record(flag, key);
+        return delegate.expire(flag, key, seconds);
+    }
+
+    @Override
+    public String get(String flag, String key) throws Exception {
+        detector.record(flag, key);
+        return delegate.get(flag, key);
+    }
+
+    @Override
+    public Boolean getbit(String flag, String key, long offset) throws Exception {
+        detector.record(flag, key);
+        return delegate.getbit(flag, key, offset);
+    }
+
+    @Override
+    public String getrange(String flag, String key, long startOffset, long endOffset) throws Exception {
+        detector.record(flag, key);
+        return delegate.getrange(flag, key, startOffset, endOffset);
+    }
+
+    @Override
+    public String getSet(String flag, String key, String value) throws Exception {
+        detector.record(flag, key);
+        return delegate.getSet(flag, key, value);
+    }
+
+    @Override
+    public Long hdel(String flag, String key, String... fields) throws Exception {
+        detector.record(flag, key);
+        return delegate.hdel(flag, key, fields);
+    }
+
+    @Override
+    public Boolean hexists(String flag, String key, String field) throws Exception {
+        detector.record(flag, key);
+        return delegate.hexists(flag, key, field);
+    }
+
+    @Override
+    public String hget(String flag, String key, String field) throws Exception {
+        detector.record(flag, key);
+        return delegate.hget(flag, key, field);
+    }
+
+    @Override
+    public Map<String, String> hgetAll(String flag, String key) throws Exception {
+        detector.record(flag, key);
+        return delegate.hgetAll(flag, key);
+    }
+
+    @Override
+    public Iterator<Map.Entry<String, String>> hscan(String flag, String key, int count) throws Exception {
+        detector.record(flag, key);
+        return delegate.hscan(flag, key, count);
+    }
+
+    @Override
+    public Long hincrBy(String flag, String key, String field, long value) throws Exception {
+        detector.record(flag, key);
+        return delegate.hincrBy(flag, key, field, value);
+    }
+
+    @Override
+    public Set<String> hkeys(String flag, String key) throws Exception {
+        detector.record(flag, key);
+        return delegate.hkeys(flag, key);
+    }
+
+    @Override
+    public Long hlen(String flag, String key) throws Exception {
+        detector.record(flag, key);
+        return delegate.hlen(flag, key);
+    }
+
+    @Override
+    public List<String> hmget(String flag, String key, String... fields) throws Exception {
+        detector.record(flag, key);
+        return delegate.hmget(flag, key, fields);
+    }
+
+    @Override
+    public String hmset(String flag, String key, Map<String, String> hash) throws Exception {
+        detector.record(flag, key);
+        return delegate.hmset(flag, key, hash);
+    }
+
+    @Override
+    public Long hset(String flag, String key, String field, String value) throws Exception {
+        detector.record(flag, key);
+        return delegate.hset(flag, key, field, value);
+    }
+
+    @Override
+    public Long hsetnx(String flag, String key, String field, String value) throws Exception {
+        detector.record(flag, key);
+        return delegate.hsetnx(flag, key, field, value);
+    }
+
+    @Override
+    public List<String> hvals(String flag, String key) throws Exception {
+        detector.record(flag, key);
+        return delegate.hvals(flag, key);
+    }
+
+    @Override
+    public Long incr(String flag, String key) throws Exception {
+        detector.record(flag, key);
+        return delegate.incr(flag, key);
+    }
+
+    @Override
+    public Long incrBy(String flag, String key, long integer) throws Exception {
+        detector.record(flag, key);
+        return delegate.incrBy(flag, key, integer);
+    }
+
+    @Override
+    public String lindex(String flag, String key, long index) throws Exception {
+        detector.record(flag, key);
+        return delegate.lindex(flag, key, index);
+    }
+
+    @Override
+    public Long llen(String flag, String key) throws Exception {
+        detector.record(flag, key);
+        return delegate.llen(flag, key);
+    }
+
+    @Override
+    public String lpop(String flag, String key) throws Exception {
+        detector.record(flag, key);
+        return delegate.lpop(flag, key);
+    }
+
+    @Override
+    public Long lpush(String flag, String key, String... strings) throws Exception {
+        detector.record(flag, key);
+        return delegate.lpush(flag, key, strings);
+    }
+
+    @Override
+    public Long lpushx(String flag, String key, String string) throws Exception {
+        detector.record(flag, key);
+        return delegate.lpushx(flag, key, string);
+    }
+
+    @Override
+    public List<String> lrange(String flag, String key, long start, long end) throws Exception {
+        detector.record(flag, key);
+        return delegate.lrange(flag, key, start, end);
+    }
+
+    @Override
+    public Long lrem(String flag, String key, long count, String value) throws Exception {
+        detector.record(flag, key);
+        return delegate.lrem(flag, key, count, value);
+    }
+
+    @Override
+    public String lset(String flag, String key, long index, String value) throws Exception {
+        detector.record(flag, key);
+        return delegate.lset(flag, key, index, value);
+    }
+
+    @Override
+    public String ltrim(String flag, String key, long start, long end) throws Exception {
+        detector.record(flag, key);
+        return delegate.ltrim(flag, key, start, end);
+    }
+
+    @Override
+    public List<String> mget(String flag, String... keys) throws Exception {
+        record(flag, keys);
+        return delegate.mget(flag, keys);
+    }
+
+    @Override
+    public Long move(String flag, String key, int dbIndex) throws Exception {
+        detector.record(flag, key);
+        return delegate.move(flag, key, dbIndex);
+    }
+
+    @Override
+    public String mset(String flag, String... keysvalues) throws Exception {
+        recordPairs(flag, keysvalues);
+        return delegate.mset(flag, keysvalues);
+    }
+
+    @Override
+    public Long msetnx(String flag, String... keysvalues) throws Exception {
+        recordPairs(flag, keysvalues);
+        return delegate.msetnx(flag, keysvalues);
+    }
+
+    @Override
+    public String rename(String flag, String oldkey, String newkey) throws Exception {
+        detector.record(flag, oldkey);
+        detector.record(flag, newkey);
+        return delegate.rename(flag, oldkey, newkey);
+    }
+
+    @Override
+    public Long renamenx(String flag, String oldkey, String newkey) throws Exception {
+        detector.record(flag, oldkey);
+        detector.record(flag, newkey);
+        return delegate.renamenx(flag, oldkey, newkey);
+    }
+
+    @Override
+    public String rpop(String flag, String key) throws Exception {
+        detector.record(flag, key);
+        return delegate.rpop(flag, key);
+    }
+
+    @Override
+    public String rpoplpush(String flag, String srckey, String dstkey) throws Exception {
+        detector.record(flag, srckey);
+        detector.record(flag, dstkey);
+        return delegate.rpoplpush(flag, srckey, dstkey);
+    }
+
+    @Override
+    public Long rpush(String flag, String key, String... strings) throws Exception {
+        detector.record(flag, key);
+        return delegate.rpush(flag, key, strings);
+    }
+
+    @Override
+    public Long rpushx(String flag, String key, String string) throws Exception {
+        detector.record(flag, key);
+        return delegate.rpushx(flag, key, string);
+    }
+
+    @Override
+    public Long sadd(String flag, String key, String... members) throws Exception {
+        detector.record(flag, key);
+        return delegate.sadd(flag, key, members);
+    }
+
+    @Override
+    public Long scard(String flag, String key) throws Exception {
+        detector.record(flag, key);
+        return delegate.scard(flag, key);
+    }
+
+    @Override
+    public Set<String> sdiff(String flag, String... keys) throws Exception {
+        record(flag, keys);
+        return delegate.sdiff(flag, keys);
+    }
+
+    @Override
+    public Long sdiffstore(String flag, String dstkey, String... keys) throws Exception {
+        detector.record(flag, dstkey);
+        record(flag, keys);
+        return delegate.sdiffstore(flag, dstkey, keys);
+    }
+
+    @Override
+    public String set(String flag, String key, String value) throws Exception {
+        detector.record(flag, key);
+        return delegate.set(flag, key, value);
+    }
+
+    @Override
+    public Boolean setbit(String flag, String key, long offset, boolean value) throws Exception {
+        detector.record(flag, key);
+        return delegate.setbit(flag, key, offset, value);
+    }
+
+    @Override
+    public String setex(String flag, String key, int seconds, String value) throws Exception {
+        detector.record(flag, key);
+        return delegate.setex(flag, key, seconds, value);
+    }
+
+    @Override
+    public Long setnx(String flag, String key, String value) throws Exception {
+        detector.record(flag, key);
+        return delegate.setnx(flag, key, value);
+    }
+
+    @Override
+    public Long setrange(String flag, String key, long offset, String value) throws Exception {
+        detector.record(flag, key);
+        return delegate.setrange(flag, key, offset, value);
+    }
+
+    @Override
+    public Set<String> sinter(String flag, String... keys) throws Exception {
+        record(flag, keys);
+        return delegate.sinter(flag, keys);
+    }
+
+    @Override
+    public Set<String> smembers(String flag, String key) throws Exception {
+        detector.record(flag, key);
+        return delegate.smembers(flag, key);
+    }
+
+    @Override
+    public Iterator<String> sscan(String flag, String key, int count) throws Exception {
+        detector.record(flag, key);
+        return delegate.sscan(flag, key, count);
+    }
+
+    @Override
+    public Long smove(String flag, String srckey, String dstkey, String member) throws Exception {
+        detector.record(flag, srckey);
+        detector.record(flag, dstkey);
+        return delegate.smove(flag, srckey, dstkey, member);
+    }
+
+    @Override
+    public List<String> sort(String flag, String key) throws Exception {
+        detector.record(flag, key);
+        return delegate.sort(flag, key);
+    }
+
+    @Override
+    public List<String> sort(String flag, String key, SortingParams sortingParameters) throws Exception {
+        detector.record(flag, key);
+        return delegate.sort(flag, key, sortingParameters);
+    }
+
+    @Override
+    public Long sort(String flag, String key, SortingParams sortingParameters, String dstkey) throws Exception {
+        detector.record(flag, key);
+        detector.record(flag, dstkey);
+        return delegate.sort(flag, key, sortingParameters, dstkey);
+    }
+
+    @Override
+    public Long sort(String flag, String key, String dstkey) throws Exception {
+        detector.record(flag, key);
+        detector.record(flag, dstkey);
+        return delegate.sort(flag, key, dstkey);
+    }
+
+    @Override
+    public String spop(String flag, String key) throws Exception {
+        detector.record(flag, key);
+        return delegate.spop(flag, key);
+    }
+
+    @Override
+    public String srandmember(String flag, String key) throws Exception {
+        detector.record(flag, key);
+        return delegate.srandmember(flag, key);
+    }
+
+    @Override
+    public List<String> srandmember(String flag, String key, int count) throws Exception {
+        detector.record(flag, key);
+        return delegate.srandmember(flag, key, count);
+    }
+
+    @Override
+    public Long strlen(String flag, String key) throws Exception {
+        detector.record(flag, key);
+        return delegate.strlen(flag, key);
+    }
+
+    @Override
+    public String substr(String flag, String key, int start, int end) throws Exception {
+        detector.record(flag, key);
+        return delegate.substr(flag, key, start, end);
+    }
+
+    @Override
+    public Long zadd(String flag, String key, double score, String member) throws Exception {
+        detector.record(flag, key);
+        return delegate.zadd(flag, key, score, member);
+    }
+
+    @Override
+    public Long zadd(String flag, String key, Map<String, Double> scoreMembers) throws Exception {
+        detector.record(flag, key);
+        return delegate.zadd(flag, key, scoreMembers);
+    }
+
+    @Override
+    public Long zcount(String flag, String key, double min, double max) throws Exception {
+        detector.record(flag, key);
+        return delegate.zcount(flag, key, min, max);
+    }
+
+    @Override
+    public Long zcard(String flag, String key) throws Exception {
+        detector.record(flag, key);
+        return delegate.zcard(flag, key);
+    }
+
+    @Override
+    public Set<String> zrange(String flag, String key, long start, long end) throws Exception {
+        detector.record(flag, key);
+        return delegate.zrange(flag, key, start, end);
+    }
+
+    @Override
+    public Iterator<Tuple> zscan(String flag, String key, int count) throws Exception {
+        detector.record(flag, key);
+        return delegate.zscan(flag, key, count);
+    }
+
+    @Override
+    public Long zrank(String flag, String key, String member) throws Exception {
+        detector.record(flag, key);
+        return delegate.zrank(flag, key, member);
+    }
+
+    @Override
+    public Double zscore(String flag, String key, String member) throws Exception {
+        detector.record(flag, key);
+        return delegate.zscore(flag, key, member);
+    }
+
+    @Override
+    public Set<String> zrangeByScore(String flag, String key, double min, double max) throws Exception {
+        detector.record(flag, key);
+        return delegate.zrangeByScore(flag, key, min, max);
+    }
+
+    @Override
+    public Set<String> zrangeByScore(String flag, String key, double min, double max, int offset, int count) throws Exception {
+        detector.record(flag, key);
+        return delegate.zrangeByScore(flag, key, min, max, offset, count);
+    }
+
+    @Override
+    public Set<String> zrangeByScore(String flag, String key, String min, String max) throws Exception {
+        detector.record(flag, key);
+        return delegate.zrangeByScore(flag, key, min, max);
+    }
+
+    @Override
+    public Set<String> zrangeByScore(String flag, String key, String min, String max, int offset, int count) throws Exception {
+        detector.record(flag, key);
+        return delegate.zrangeByScore(flag, key, min, max, offset, count);
+    }
+
+    @Override
+    public Set<Tuple> zrevrangeWithScores(String flag, String key, long start, long end) throws Exception {
+        detector.record(flag, key);
+        return delegate.zrevrangeWithScores(flag, key, start, end);
+    }
+
+    @Override
+    public Long zrevrank(String flag, String key, String member) throws Exception {
+        detector.record(flag, key);
+        return delegate.zrevrank(flag, key, member);
+    }
+
+    @Override
+    public Set<String> zrevrange(String flag, String key, long start, long end) throws Exception {
+        detector.record(flag, key);
+        return delegate.zrevrange(flag, key, start, end);
+    }
+
+    @Override
+    public Set<Tuple> zrangeWithScores(String flag, String key, long start, long end) throws Exception {
+        detector.record(flag, key);
+        return delegate.zrangeWithScores(flag, key, start, end);
+    }
+
+    @Override
+    public Long srem(String flag, String key, String... members) throws Exception {
+        detector.record(flag, key);
+        return delegate.srem(flag, key, members);
+    }
+
+    @Override
+    public Boolean sismember(String flag, String key, String member) throws Exception {
+        detector.record(flag, key);
+        return delegate.sismember(flag, key, member);
+    }
+
+    @Override
+    public Long zrem(String flag, String key, String... members) throws Exception {
+        detector.record(flag, key);
+        return delegate.zrem(flag, key, members);
+    }
+
+    @Override
+    public Double zincrby(String flag, String key, double increment, String member) throws Exception {
+        detector.record(flag, key);
+        return delegate.zincrby(flag, key, increment, member);
+    }
+
+    @Override
+    public List<Object> setAndExpire(String flag, String key, String value, int seconds) throws Exception {
+        detector.record(flag, key);
+        return delegate.setAndExpire(flag, key, value, seconds);
+    }
+
+    @Override
+    public List<Object> lpushAndExpire(String flag, int seconds, String key, String... strings) throws Exception {
+        detector.record(flag, key);
+        return delegate.lpushAndExpire(flag, seconds, key, strings);
+    }
+
+    @Override
+    public List<Object> rpushAndExpire(String flag, int seconds, String key, String... strings) throws Exception {
+        detector.record(flag, key);
+        return delegate.rpushAndExpire(flag, seconds, key, strings);
+    }
+
+    @Override
+    public List<Object> saddAndExpire(String flag, int seconds, String key, String... members) throws Exception {
+        detector.record(flag, key);
+        return delegate.saddAndExpire(flag, seconds, key, members);
+    }
+
+    @Override
+    public List<Object> zaddAndExpire(String flag, String key, Map<String, Double> scoreMembers, int seconds) throws Exception {
+        detector.record(flag, key);
+        return delegate.zaddAndExpire(flag, key, scoreMembers, seconds);
+    }
+
+    @Override
+    public List<Object> hmsetAndExpire(String flag, String key, Map<String, String> hash, int seconds) throws Exception {
+        detector.record(flag, key);
+        return delegate.hmsetAndExpire(flag, key, hash, seconds);
+    }
+}
@@ -0,0 +1,1054 @@
+package info.dong4j.redis.service.impl;
+
+import info.dong4j.redis.service.RedisService;
+import info.dong4j.redis.service.support.RedisMetrics;
+import info.dong4j.redis.service.support.RedisNodeLocator;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import redis.clients.jedis.SortingParams;
+import redis.clients.jedis.Tuple;
+
+/**
+ * <p>Description: 统计命令耗时的 RedisService</p>
+ * 每个命令的耗时(包括借出连接与失败的命令)按方法名记录到 {@link RedisMetrics}, 单 key 命令同时按 key 所在节点记录.
+ * 应直接装饰 RedisService 实现, 统计的是访问 redis 的耗时而不是本地缓存命中等的耗时.
+ * scan 系列返回的迭代器按需访问 redis, 不统计.
+ *
+ * @author dong4j
+ * @email dong4j@gmail.com
+ * @date 2026-10-18  23:58
+ */
+public class InstrumentedRedisService extends ForwardingRedisService {
+    private final RedisMetrics     metrics;
+    private final RedisNodeLocator locator;
+
+    /**
+     * Instantiates a new Instrumented redis service.
+     *
+     * @param delegate 被装饰的 RedisService
+     * @param metrics  the metrics
+     * @param locator  计算 key 所在节点
+     */
+    public InstrumentedRedisService(RedisService delegate, RedisMetrics metrics, RedisNodeLocator locator) {
+        super(delegate);
+        this.metrics = metrics;
+        this.locator = locator;
+    }
+
+    /**
+     * Gets metrics.
+     *
+     * @return the metrics
+     */
+    public RedisMetrics getMetrics() {
+        return metrics;
+    }
+
+    private void record(String command, String key, long begin) {
+        long elapsed = System.nanoTime() - begin;
+        metrics.recordCommand(command, key == null ? null : locator.getNode(key), elapsed);
+    }
+
+    @Override
+    public Long append(String flag, String key, String value) throws Exception {
+        long begin = System.nanoTime();
+        try {
+            return delegate.append(flag, key, value);
+        } finally {
+            record("append", key, begin);
+        }
+    }
+
+    @Override
+    public List<String> blpop(String flag, int timeout, String... keys) throws Exception {
+        long begin = System.nanoTime();
+        try {
+            return delegate.blpop(flag, timeout, keys);
+        } finally {
+            record("blpop", null, begin);
+        }
+    }
+
+    @Override
+    public List<String> brpop(String flag, int timeout, String... keys) throws Exception {
+        long begin = System.nanoTime();
+        try {
+            return delegate.brpop(flag, timeout, keys);
+        } finally {
+            record("brpop", null, begin);
+        }
+    }
+
+    @Override
+    public List<String> configGet(String flag, String pattern) throws Exception {
+        long begin = System.nanoTime();
+        try {
+            return delegate.configGet(flag, pattern);
+        } finally {
+            record("configGet", null, begin);
+        }
+    }
+
+    @Override
+    public String configSet(String flag, String parameter, String value) throws Exception {
+        long begin = System.nanoTime();
+        try {
+            return delegate.configSet(flag, parameter, value);
+        } finally {
+            record("configSet", null, begin);
+        }
+    }
+
+    @Override
+    public Long decr(String flag, String key) throws Exception {
+        long begin = System.nanoTime();
+        try {
+            return delegate.decr(flag, key);
+        } finally {
+            record("decr", key, begin);
+        }
+    }
+
+    @Override
+    public Long decrBy(String flag, String key, long integer) throws Exception {
+        long begin = System.nanoTime();
+        try {
+            return delegate.decrBy(flag, key, integer);
+        } finally {
+            record("decrBy", key, begin);
+        }
+    }
+
+    @Override
+    public Long del(String flag, String... keys) throws Exception {
+        long begin = System.nanoTime();
+        try {
+            return delegate.del(flag, keys);
+        } finally {
+            record("del", null, begin);
+        }
+    }
+
+    @Override
+    public Object eval(String flag, String script) throws Exception {
+        long begin = System.nanoTime();
+        try {
+            return delegate.eval(flag, script);
+        } finally {
+            record("eval", null, begin);
+        }
+    }
+
+    @Override
+    public Boolean exists(String flag, String key) throws Exception {
+        long begin = System.nanoTime();
+        try {
+            return delegate.exists(flag, key);
+        } finally {
+            record("exists", key, begin);
+        }
+    }
+
+    @Override
+    public Long expire(String flag, String key, int seconds) throws Exception {
+        long begin = System.nanoTime();
+        try {
+            return delegate.expire(flag, key, seconds);
+        } finally {
+            record("expire", key, begin);
+        }
+    }
+
+    @Override
+    public String flushAll(String flag) throws Exception {
+        long begin = System.nanoTime();
+        try {
+            return delegate.flushAll(flag);
+        } finally {
+            record("flushAll", null, begin);
+        }
+    }
+
+    @Override
+    public String flushDB(String flag) throws Exception {
+        long begin = System.nanoTime();
+        try {
+            return delegate.flushDB(flag);
+        } finally {
+            record("flushDB", null, begin);
+        }
+    }
+
+    @Override
+    public String get(String flag, String key) throws Exception {
+        long begin = System.nanoTime();
+        try {
+            return delegate.get(flag, key);
+        } finally {
+            record("get", key, begin);
+        }
+    }
+
+    @Override
+    public Boolean getbit(String flag, String key, long offset) throws Exception {
+        long begin = System.nanoTime();
+        try {
+            return delegate.getbit(flag, key, offset);
+        } finally {
+            record("getbit", key, begin);
+        }
+    }
+
+    @Override
+    public String getrange(String flag, String key, long startOffset, long endOffset) throws Exception {
+        long begin = System.nanoTime();
+        try {
+            return delegate.getrange(flag, key, startOffset, endOffset);
+        } finally {
+            record("getrange", key, begin);
+        }
+    }
+
+    @Override
+    public String getSet(String flag, String key, String value) throws Exception {
+        long begin = System.nanoTime();
+        try {
+            return delegate.getSet(flag, key, value);
+        } finally {
+            record("getSet", key, begin);
+        }
+    }
+
+    @Override
+    public Long hdel(String flag, String key, String... fields) throws Exception {
+        long begin = System.nanoTime();
+        try {
+            return delegate.hdel(flag, key, fields);
+        } finally {
+            record("hdel", key, begin);
+        }
+    }
+
+    @Override
+    public Boolean hexists(String flag, String key, String field) throws Exception {
+        long begin = System.nanoTime();
+        try {
+            return delegate.hexists(flag, key, field);
+        } finally {
+            record("hexists", key, begin);
+        }
+    }
+
+    @Override
+    public String hget(String flag, String key, String field) throws Exception {
+        long begin = System.nanoTime();
+        try {
+            return delegate.hget(flag, key, field);
+        } finally {
+            record("hget", key, begin);
+        }
+    }
+
+    @Override
+    public Map<String, String> hgetAll(String flag, String key) throws Exception {
+        long begin = System.nanoTime();
+        try {
+            return delegate.hgetAll(flag, key);
+        } finally {
+            record("hgetAll", key, begin);
+        }
+    }
+
+    @Override
+    public Long hincrBy(String flag, String key, String field, long value) throws Exception {
+        long begin = System.nanoTime();
+        try {
+            return delegate.hincrBy(flag, key, field, value);
+        } finally {
+            record("hincrBy", key, begin);
+        }
+    }
+
+    @Override
+    public Set<String> hkeys(String flag, String key) throws Exception {
+        long begin = System.nanoTime();
+        try {
+            return delegate.hkeys(flag, key);
+        } finally {
+            record("hkeys", key, begin);
+        }
+    }
+
+    @Override
+    public Long hlen(String flag, String key) throws Exception {
+        long begin = System.nanoTime();
+        try {
+            return delegate.hlen(flag, key);
+        } finally {
+            record("hlen", key, begin);
+        }
+    }
+
+    @Override
+    public List<String> hmget(String flag, String key, String... fields) throws Exception {
+        long begin = System.nanoTime();
+        try {
+            return delegate.hmget(flag, key, fields);
+        } finally {
+            record("hmget", key, begin);
+        }
+    }
+
+    @Override
+    public String hmset(String flag, String key, Map<String, String> hash) throws Exception {
+        long begin = System.nanoTime();
+        try {
+            return delegate.hmset(flag, key, hash);
+        } finally {
+            record("hmset", key, begin);
+        }
+    }
+
+    @Override
+    public Long hset(String flag, String key, String field, String value) throws Exception {
+        long begin = System.nanoTime();
+        try {
+            return delegate.hset(flag, key, field, value);
+        } finally {
+            record("hset", key, begin);
+        }
+    }
+
+    @Override
+    public Long hsetnx(String flag, String key, String field, String value) throws Exception {
+        long begin = System.nanoTime();
+        try {
+            return delegate.hsetnx(flag, key, field, value);
+        } finally {
+            record("hsetnx", key, begin);
+        }
+    }
+
+    @Override
+    public List<String> hvals(String flag, String key) throws Exception {
+        long begin = System.nanoTime();
+        try {
+            return delegate.hvals(flag, key);
+        } finally {
+            record("hvals", key, begin);
+        }
+    }
+
+    @Override
+    public Long incr(String flag, String key) throws Exception {
+        long begin = System.nanoTime();
+        try {
+            return delegate.incr(flag, key);
+        } finally {
+            record("incr", key, begin);
+        }
+    }
+
+    @Override
+    public Long incrBy(String flag, String key, long integer) throws Exception {
+        long begin = System.nanoTime();
+        try {
+            return delegate.incrBy(flag, key, integer);
+        } finally {
+            record("incrBy", key, begin);
+        }
+    }
+
+    @Override
+    public Set<String> keys(String flag, String pattern) throws Exception {
+        long begin = System.nanoTime();
+        try {
+            return delegate.keys(flag, pattern);
+        } finally {
+            record("keys", null, begin);
+        }
+    }
+
+    @Override
+    public String lindex(String flag, String key, long index) throws Exception {
+        long begin = System.nanoTime();
+        try {
+            return delegate.lindex(flag, key, index);
+        } finally {
+            record("lindex", key, begin);
+        }
+    }
+
+    @Override
+    public Long llen(String flag, String key) throws Exception {
+        long begin = System.nanoTime();
+        try {
+            return delegate.llen(flag, key);
+        } finally {
+            record("llen", key, begin);
+        }
+    }
+
+    @Override
+    public String lpop(String flag, String key) throws Exception {
+        long begin = System.nanoTime();
+        try {
+            return delegate.lpop(flag, key);
+        } finally {
+            record("lpop", key, begin);
+        }
+    }
+
+    @Override
+    public Long lpush(String flag, String key, String... strings) throws Exception {
+        long begin = System.nanoTime();
+        try {
+            return delegate.lpush(flag, key, strings);
+        } finally {
+            record("lpush", key, begin);
+        }
+    }
+
+    @Override
+    public Long lpushx(String flag, String key, String string) throws Exception {
+        long begin = System.nanoTime();
+        try {
+            return delegate.lpushx(flag, key, string);
+        } finally {
+            record("lpushx", key, begin);
+        }
+    }
+
+    @Override
+    public List<String> lrange(String flag, String key, long start, long end) throws Exception {
+        long begin = System.nanoTime();
+        try {
+            return delegate.lrange(flag, key, start, end);
+        } finally {
+            record("lrange", key, begin);
+        }
+    }
+
+    @Override
+    public Long lrem(String flag, String key, long count, String value) throws Exception {
+        long begin = System.nanoTime();
+        try {
+            return delegate.lrem(flag, key, count, value);
+        } finally {
+            record("lrem", key, begin);
+        }
+    }
+
+    @Override
+    public String lset(String flag, String key, long index, String value) throws Exception {
+        long begin = System.nanoTime();
+        try {
+            return delegate.lset(flag, key, index, value);
+        } finally {
+            record("lset", key, begin);
+        }
+    }
+
+    @Override
+    public String ltrim(String flag, String key, long start, long end) throws Exception {
+        long begin = System.nanoTime();
+        try {
+            return delegate.ltrim(flag, key, start, end);
+        } finally {
+            record("ltrim", key, begin);
+        }
+    }
+
+    @Override
+    public List<String> mget(String flag, String... keys) throws Exception {
+        long begin = System.nanoTime();
+        try {
+            return delegate.mget(flag, keys);
+        } finally {
+            record("mget", null, begin);
+        }
+    }
+
+    @Override
+    public Long move(String flag, String key, int dbIndex) throws Exception {
+        long begin = System.nanoTime();
+        try {
+            return delegate.move(flag, key, dbIndex);
+        } finally {
+            record("move", key, begin);
+        }
+    }
+
+    @Override
+    public String mset(String flag, String... keysvalues) throws Exception {
+        long begin = System.nanoTime();
+        try {
+            return delegate.mset(flag, keysvalues);
+        } finally {
+            record("mset", null, begin);
+        }
+    }
+
+    @Override
+    public Long msetnx(String flag, String... keysvalues) throws Exception {
+        long begin = System.nanoTime();
+        try {
+            return delegate.msetnx(flag, keysvalues);
+        } finally {
+            record("msetnx", null, begin);
+        }
+    }
+
+    @Override
+    public Long publish(String flag, String channel, String message) throws Exception {
+        long begin = System.nanoTime();
+        try {
+            return delegate.publish(flag, channel, message);
+        } finally {
+            record("publish", null, begin);
+        }
+    }
+
+    @Override
+    public String randomKey(String flag) throws Exception {
+        long begin = System.nanoTime();
+        try {
+            return delegate.randomKey(flag);
+        } finally {
+            record("randomKey", null, begin);
+        }
+    }
+
+    @Override
+    public String rename(String flag, String oldkey, String newkey) throws Exception {
+        long begin = System.nanoTime();
+        try {
+            return delegate.rename(flag, oldkey, newkey);
+        } finally {
+            record("rename", null, begin);
+        }
+    }
+
+    @Override
+    public Long renamenx(String flag, String oldkey, String newkey) throws Exception {
+        long begin = System.nanoTime();
+        try {
+            return delegate.renamenx(flag, oldkey, newkey);
+        } finally {
+            record("renamenx", null, begin);
+        }
+    }
+
+    @Override
+    public String rpop(String flag, String key) throws Exception {
+        long begin = System.nanoTime();
+        try {
+            return delegate.rpop(flag, key);
+        } finally {
+            record("rpop", key, begin);
+        }
+    }
+
+    @Override
+    public String rpoplpush(String flag, String srckey, String dstkey) throws Exception {
+        long begin = System.nanoTime();
+        try {
+            return delegate.rpoplpush(flag, srckey, dstkey);
+        } finally {
+            record("rpoplpush", null, begin);
+        }
+    }
+
+    @Override
+    public Long rpush(String flag, String key, String... strings) throws Exception {
+        long begin = System.nanoTime();
+        try {
+            return delegate.rpush(flag, key, strings);
+        } finally {
+            record("rpush", key, begin);
+        }
+    }
+
+    @Override
+    public Long rpushx(String flag, String key, String string) throws Exception {
+        long begin = System.nanoTime();
+        try {
+            return delegate.rpushx(flag, key, string);
+        } finally {
+            record("rpushx", key, begin);
+        }
+    }
+
+    @Override
+    public Long sadd(String flag, String key, String... members) throws Exception {
+        long begin = System.nanoTime();
+        try {
+            return delegate.sadd(flag, key, members);
+        } finally {
+            record("sadd", key, begin);
+        }
+    }
+
+    @Override
+    public Long scard(String flag, String key) throws Exception {
+        long begin = System.nanoTime();
+        try {
+            return delegate.scard(flag, key);
+        } finally {
+            record("scard", key, begin);
+        }
+    }
+
+    @Override
+    public Set<String> sdiff(String flag, String... keys) throws Exception {
+        long begin = System.nanoTime();
+        try {
+            return delegate.sdiff(flag, keys);
+        } finally {
+            record("sdiff", null, begin);
+        }
+    }
+
+    @Override
+    public Long sdiffstore(String flag, String dstkey, String... keys) throws Exception {
+        long begin = System.nanoTime();
+        try {
+            return delegate.sdiffstore(flag, dstkey, keys);
+        } finally {
+            record("sdiffstore", null, begin);
+        }
+    }
+
+    @Override
+    public String select(String flag, int index) throws Exception {
+        long begin = System.nanoTime();
+        try {
+            return delegate.select(flag, index);
+        } finally {
+            record("select", null, begin);
+        }
+    }
+
+    @Override
+    public String set(String flag, String key, String value) throws Exception {
+        long begin = System.nanoTime();
+        try {
+            return delegate.set(flag, key, value);
+        } finally {
+            record("set", key, begin);
+        }
+    }
+
+    @Override
+    public Boolean setbit(String flag, String key, long offset, boolean value) throws Exception {
+        long begin = System.nanoTime();
+        try {
+            return delegate.setbit(flag, key, offset, value);
+        } finally {
+            record("setbit", key, begin);
+        }
+    }
+
+    @Override
+    public String setex(String flag, String key, int seconds, String value) throws Exception {
+        long begin = System.nanoTime();
+        try {
+            return delegate.setex(flag, key, seconds, value);
+        } finally {
+            record("setex", key, begin);
+        }
+    }
+
+    @Override
+    public Long setnx(String flag, String key, String value) throws Exception {
+        long begin = System.nanoTime();
+        try {
+            return delegate.setnx(flag, key, value);
+        } finally {
+            record("setnx", key, begin);
+        }
+    }
+
+    @Override
+    public Long setrange(String flag, String key, long offset, String value) throws Exception {
+        long begin = System.nanoTime();
+        try {
+            return delegate.setrange(flag, key, offset, value);
+        } finally {
+            record("setrange", key, begin);
+        }
+    }
+
+    @Override
+    public Set<String> sinter(String flag, String... keys) throws Exception {
+        long begin = System.nanoTime();
+        try {
+            return delegate.sinter(flag, keys);
+        } finally {
+            record("sinter", null, begin);
+        }
+    }
+
+    @Override
+    public Set<String> smembers(String flag, String key) throws Exception {
+        long begin = System.nanoTime();
+        try {
+            return delegate.smembers(flag, key);
+        } finally {
+            record("smembers", key, begin);
+        }
+    }
+
+    @Override
+    public Long smove(String flag, String srckey, String dstkey, String member) throws Exception {
+        long begin = System.nanoTime();
+        try {
+            return delegate.smove(flag, srckey, dstkey, member);
+        } finally {
+            record("smove", null, begin);
+        }
+    }
+
+    @Override
+    public List<String> sort(String flag, String key) throws Exception {
+        long begin = System.nanoTime();
+        try {
+            return delegate.sort(flag, key);
+        } finally {
+            record("sort", key, begin);
+        }
+    }
+
+    @Override
+    public List<String> sort(String flag, String key, SortingParams sortingParameters) throws Exception {
+        long begin = System.nanoTime();
+        try {
+            return delegate.sort(flag, key, sortingParameters);
+        } finally {
+            record("sort", key, begin);
+        }
+    }
+
+    @Override
+    public Long sort(String flag, String key, SortingParams sortingParameters, String dstkey) throws Exception {
+        long begin = System.nanoTime();
+        try {
+            return delegate.sort(flag, key, sortingParameters, dstkey);
+        } finally {
+            record("sort", key, begin);
+        }
+    }
+
+    @Override
+    public Long sort(String flag, String key, String dstkey) throws Exception {
+        long begin = System.nanoTime();
+        try {
+            return delegate.sort(flag, key, dstkey);
+        } finally {
+            record("sort", key, begin);
+        }
+    }
+
+    @Override
+    public String spop(String flag, String key) throws Exception {
+        long begin = System.nanoTime();
+        try {
+            return delegate.spop(flag, key);
+        } finally {
+            record("spop", key, begin);
+        }
+    }
+
+    @Override
+    public String srandmember(String flag, String key) throws Exception {
+        long begin = System.nanoTime();
+        try {
+            return delegate.srandmember(flag, key);
+        } finally {
+            record("srandmember", key, begin);
+        }
+    }
+
+    @Override
+    public List<String> srandmember(String flag, String key, int count) throws Exception {
+        long begin = System.nanoTime();
+        try {
+            return delegate.srandmember(flag, key, count);
+        } finally {
+            record("srandmember", key, begin);
+        }
+    }
+
+    @Override
+    public Long strlen(String flag, String key) throws Exception {
+        long begin = System.nanoTime();
+        try {
+            return delegate.strlen(flag, key);
+        } finally {
+            record("strlen", key, begin);
+        }
+    }
+
+    @Override
+    public String substr(String flag, String key, int start, int end) throws Exception {
+        long begin = System.nanoTime();
+        try {
+            return delegate.substr(flag, key, start, end);
+        } finally {
+            record("substr", key, begin);
+        }
+    }
+
+    @Override
+    public Long zadd(String flag, String key, double score, String member) throws Exception {
+        long begin = System.nanoTime();
+        try {
+            return delegate.zadd(flag, key, score, member);
+        } finally {
+            record("zadd", key, begin);
+        }
+    }
+
+    @Override
+    public Long zadd(String flag, String key, Map<String, Double> scoreMembers) throws Exception {
+        long begin = System.nanoTime();
+        try {
+            return delegate.zadd(flag, key, scoreMembers);
+        } finally {
+            record("zadd", key, begin);
+        }
+    }
+
+    @Override
+    public Long zcount(String flag, String key, double min, double max) throws Exception {
+        long begin = System.nanoTime();
+        try {
+            return delegate.zcount(flag, key, min, max);
+        } finally {
+            record("zcount", key, begin);
+        }
+    }
+
+    @Override
+    public Long zcard(String flag, String key) throws Exception {
+        long begin = System.nanoTime();
+        try {
+            return delegate.zcard(flag, key);
+        } finally {
+            record("zcard", key, begin);
+        }
+    }
+
+    @Override
+    public Set<String> zrange(String flag, String key, long start, long end) throws Exception {
+        long begin = System.nanoTime();
+        try {
+            return delegate.zrange(flag, key, start, end);
+        } finally {
+            record("zrange", key, begin);
+        }
+    }
+
+    @Override
+    public Long zrank(String flag, String key, String member) throws Exception {
+        long begin = System.nanoTime();
+        try {
+            return delegate.zrank(flag, key, member);
+        } finally {
+            record("zrank", key, begin);
+        }
+    }
+
+    @Override
+    public Double zscore(String flag, String key, String member) throws Exception {
+        long begin = System.nanoTime();
+        try {
+            return delegate.zscore(flag, key, member);
+        } finally {
+            record("zscore", key, begin);
+        }
+    }
+
+    @Override
+    public Set<String> zrangeByScore(String flag, String key, double min, double max) throws Exception {
+        long begin = System.nanoTime();
+        try {
+            return delegate.zrangeByScore(flag, key, min, max);
+        } finally {
+            record("zrangeByScore", key, begin);
+        }
+    }
+
+    @Override
+    public Set<String> zrangeByScore(String flag, String key, double min, double max, int offset, int count) throws Exception {
+        long begin = System.nanoTime();
+        try {
+            return delegate.zrangeByScore(flag, key, min, max, offset, count);
+        } finally {
+            record("zrangeByScore", key, begin);
+        }
+    }
+
+    @Override
+    public Set<String> zrangeByScore(String flag, String key, String min, String max) throws Exception {
+        long begin = System.nanoTime();
+        try {
+            return delegate.zrangeByScore(flag, key, min, max);
+        } finally {
+            record("zrangeByScore", key, begin);
+        }
+    }
+
+    @Override
+    public Set<String> zrangeByScore(String flag, String key, String min, String max, int offset, int count) throws Exception {
+        long begin = System.nanoTime();
+        try {
+            return delegate.zrangeByScore(flag, key, min, max, offset, count);
+        } finally {
+            record("zrangeByScore", key, begin);
+        }
+    }
+
+    @Override
+    public Set<Tuple> zrevrangeWithScores(String flag, String key, long start, long end) throws Exception {
+        long begin = System.nanoTime();
+        try {
+            return delegate.zrevrangeWithScores(flag, key, start, end);
+        } finally {
+            record("zrevrangeWithScores", key, begin);
+        }
+    }
+
+    @Override
+    public Long zrevrank(String flag, String key, String member) throws Exception {
+        long begin = System.nanoTime();
+        try {
+            return delegate.zrevrank(flag, key, member);
+        } finally {
+            record("zrevrank", key, begin);
+        }
+    }
+
+    @Override
+    public Set<String> zrevrange(String flag, String key, long start, long end) throws Exception {
+        long begin = System.nanoTime();
+        try {
+            return delegate.zrevrange(flag, key, start, end);
+        } finally {
+            record("zrevrange", key, begin);
+        }
+    }
+
+    @Override
+    public Set<Tuple> zrangeWithScores(String flag, String key, long start, long end) throws Exception {
+        long begin = System.nanoTime();
+        try {
+            return delegate.zrangeWithScores(flag, key, start, end);
+        } finally {
+            record("zrangeWithScores", key, begin);
+        }
+    }
+
+    @Override
+    public Long srem(String flag, String key, String... members) throws Exception {
+        long begin = System.nanoTime();
+        try {
+            return delegate.srem(flag, key, members);
+        } finally {
+            record("srem", key, begin);
+        }
+    }
+
+    @Override
+    public Boolean sismember(String flag, String key, String member) throws Exception {
+        long begin = System.nanoTime();
+        try {
+            return delegate.sismember(flag, key, member);
+        } finally {
+            record("sismember", key, begin);
+        }
+    }
+
+    @Override
+    public Long zrem(String flag, String key, String... members) throws Exception {
+        long begin = System.nanoTime();
+        try {
+            return delegate.zrem(flag, key, members);
+        } finally {
+            record("zrem", key, begin);
+        }
+    }
+
+    @Override
+    public Double zincrby(String flag, String key, double increment, String member) throws Exception {
+        long begin = System.nanoTime();
+        try {
+            return delegate.zincrby(flag, key, increment, member);
+        } finally {
+            record("zincrby", key, begin);
+        }
+    }
+
+    @Override
+    public List<Object> setAndExpire(String flag, String key, String value, int seconds) throws Exception {
+        long begin = System.nanoTime();
+        try {
+            return delegate.setAndExpire(flag, key, value, seconds);
+        } finally {
+            record("setAndExpire", key, begin);
+        }
+    }
+
+    @Override
+    public List<Object> lpushAndExpire(String flag, int seconds, String key, String... strings) throws Exception {
+        long begin = System.nanoTime();
+        try {
+            return delegate.lpushAndExpire(flag, seconds, key, strings);
+        } finally {
+            record("lpushAndExpire", key, begin);
+        }
+    }
+
+    @Override
+    public List<Object> rpushAndExpire(String flag, int seconds, String key, String... strings) throws Exception {
+        long begin = System.nanoTime();
+        try {
+            return delegate.rpushAndExpire(flag, seconds, key, strings);
+        } finally {
+            record("rpushAndExpire", key, begin);
+        }
+    }
+
+    @Override
+    public List<Object> saddAndExpire(String flag, int seconds, String key, String... members) throws Exception {
+        long begin = System.nanoTime();
+        try {
+            return delegate.saddAndExpire(flag, seconds, key, members);
+        } finally {
+            record("saddAndExpire", key, begin);
+        }
+    }
+
+    @Override
+    public List<Object> zaddAndExpire(String flag, String key, Map<String, Double> scoreMembers, int seconds) throws Exception {
+        long begin = System.nanoTime();
+        try {
+            return delegate.zaddAndExpire(flag, key, scoreMembers, seconds);
+        } finally {
+            record("zaddAndExpire", key, begin);
+        }
+    }
+
+    @Override
+    public List<Object> hmsetAndExpire(String flag, String key, Map<String, String> hash, int seconds) throws Exception {
+        long begin = System.nanoTime();
+        try {
+            return delegate.hmsetAndExpire(flag, key, hash, seconds);
+        } finally {
+            record("hmsetAndExpire", key, begin);
+        }
+    }
+}
@@ -0,0 +1,801 @@
+package info.dong4j.redis.service.impl;
+
+import info.dong4j.redis.service.BinaryRedisService;
+import info.dong4j.redis.service.support.ByteBuffers;
+import info.dong4j.redis.service.support.CursorIterator;
+import info.dong4j.redis.service.support.RedisMetrics;
+
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import lombok.extern.slf4j.Slf4j;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.ScanParams;
+import redis.clients.jedis.ScanResult;
+import redis.clients.jedis.SortingParams;
+import redis.clients.jedis.Tuple;
+import redis.clients.util.Pool;
+import redis.clients.util.SafeEncoder;
+
+/**
+ * <p>Description: 单机模式与哨兵模式下的 BinaryRedisService 实现</p>
+ * 与 {@link JedisRedisServiceImpl} 共用同一个连接池, 路由规则相同: 指定读连接池时只读命令发送到读连接池.
+ *
+ * @author dong4j
+ * @email dong4j@gmail.com
+ * @date 2026-10-18  23:59
+ */
+@Slf4j
+public class JedisBinaryRedisServiceImpl implements BinaryRedisService {
+    private final Pool<Jedis> pool;
+    private final Pool<Jedis> readPool;
+    /** 记录借出连接的等待时间, 为 null 时不记录 */
+    private final RedisMetrics metrics;
+
+    /**
+     * Instantiates a new Jedis binary redis service.
+     *
+     * @param pool JedisPool 或 JedisSentinelPool
+     */
+    public JedisBinaryRedisServiceImpl(Pool<Jedis> pool) {
+        this(pool, pool);
+    }
+
+    /**
+     * 读写分离, 只读命令使用 readPool, 其他命令(包括 scan 系列)使用 pool
+     *
+     * @param pool     写连接池
+     * @param readPool 读连接池
+     */
+    public JedisBinaryRedisServiceImpl(Pool<Jedis> pool, Pool<Jedis> readPool) {
+        this(pool, readPool, null);
+    }
+
+    /**
+     * 读写分离并记录借出连接的等待时间
+     *
+     * @param pool     写连接池
+     * @param readPool 读连接池
+     * @param metrics  the metrics
+     */
+    public JedisBinaryRedisServiceImpl(Pool<Jedis> pool, Pool<Jedis> readPool, RedisMetrics metrics) {
+        this.pool = pool;
+        this.readPool = readPool;
+        this.metrics = metrics;
+    }
+
+    /**
+     * 从连接池获取连接
+     *
+     * @return the jedis
+     */
+    protected Jedis getResource() {
+        return metrics == null ? pool.getResource() : metrics.borrow(pool);
+    }
+
+    /**
+     * 获取只读命令使用的连接
+     *
+     * @return the jedis
+     */
+    protected Jedis getReadResource() {
+        return metrics == null ? readPool.getResource() : metrics.borrow(readPool);
+    }
+
+    @Override
+    public Long append(String flag, byte[] key, byte[] value) throws Exception {
+        try (Jedis jedis = getResource()) {
+            return jedis.append(key, value);
+        }
+    }
+
+    @Override
+    public List<byte[]> blpop(String flag, int timeout, byte[]... keys) throws Exception {
+        try (Jedis jedis = getResource()) {
+            return jedis.blpop(timeout, keys);
+        }
+    }
+
+    @Override
+    public List<byte[]> brpop(String flag, int timeout, byte[]... keys) throws Exception {
+        try (Jedis jedis = getResource()) {
+            return jedis.brpop(timeout, keys);
+        }
+    }
+
+    @Override
+    public Long decr(String flag, byte[] key) throws Exception {
+        try (Jedis jedis = getResource()) {
+            return jedis.decr(key);
+        }
+    }
+
+    @Override
+    public Long decrBy(String flag, byte[] key, long integer) throws Exception {
+        try (Jedis jedis = getResource()) {
+            return jedis.decrBy(key, integer);
+        }
+    }
+
+    @Override
+    public Long del(String flag, byte[]... keys) throws Exception {
+        try (Jedis jedis = getResource()) {
+            return jedis.del(keys);
+        }
+    }
+
+    @Override
+    public Boolean exists(String flag, byte[] key) throws Exception {
+        try (Jedis jedis = getReadResource()) {
+            return jedis.exists(key);
+        }
+    }
+
+    @Override
+    public Long expire(String flag, byte[] key, int seconds) throws Exception {
+        try (Jedis jedis = getResource()) {
+            return jedis.expire(key, seconds);
+        }
+    }
+
+    @Override
+    public byte[] get(String flag, byte[] key) throws Exception {
+        try (Jedis jedis = getReadResource()) {
+            return jedis.get(key);
+        }
+    }
+
+    @Override
+    public int get(String flag, byte[] key, ByteBuffer target) throws Exception {
+        return ByteBuffers.write(get(flag, key), target);
+    }
+
+    @Override
+    public Boolean getbit(String flag, byte[] key, long offset) throws Exception {
+        try (Jedis jedis = getReadResource()) {
+            return jedis.getbit(key, offset);
+        }
+    }
+
+    @Override
+    public byte[] getrange(String flag, byte[] key, long startOffset, long endOffset) throws Exception {
+        try (Jedis jedis = getReadResource()) {
+            return jedis.getrange(key, startOffset, endOffset);
+        }
+    }
+
+    @Override
+    public byte[] getSet(String flag, byte[] key, byte[] value) throws Exception {
+        try (Jedis jedis = getResource()) {
+            return jedis.getSet(key, value);
+        }
+    }
+
+    @Override
+    public Long hdel(String flag, byte[] key, byte[]... fields) throws Exception {
+        try (Jedis jedis = getResource()) {
+            return jedis.hdel(key, fields);
+        }
+    }
+
+    @Override
+    public Boolean hexists(String flag, byte[] key, byte[] field) throws Exception {
+        try (Jedis jedis = getReadResource()) {
+            return jedis.hexists(key, field);
+        }
+    }
+
+    @Override
+    public byte[] hget(String flag, byte[] key, byte[] field) throws Exception {
+        try (Jedis jedis = getReadResource()) {
+            return jedis.hget(key, field);
+        }
+    }
+
+    @Override
+    public int hget(String flag, byte[] key, byte[] field, ByteBuffer target) throws Exception {
+        return ByteBuffers.write(hget(flag, key, field), target);
+    }
+
+    @Override
+    public Map<byte[], byte[]> hgetAll(String flag, byte[] key) throws Exception {
+        try (Jedis jedis = getReadResource()) {
+            return jedis.hgetAll(key);
+        }
+    }
+
+    @Override
+    public Iterator<Map.Entry<byte[], byte[]>> hscan(String flag, final byte[] key, int count) throws Exception {
+        return new CursorIterator<>(new CursorIterator.PageFetcher<Map.Entry<byte[], byte[]>>() {
+            @Override
+            public ScanResult<Map.Entry<byte[], byte[]>> fetch(String cursor, ScanParams params) {
+                try (Jedis jedis = getResource()) {
+                    return jedis.hscan(key, SafeEncoder.encode(cursor), params);
+                }
+            }
+        }, count);
+    }
+
+    @Override
+    public Long hincrBy(String flag, byte[] key, byte[] field, long value) throws Exception {
+        try (Jedis jedis = getResource()) {
+            return jedis.hincrBy(key, field, value);
+        }
+    }
+
+    @Override
+    public Set<byte[]> hkeys(String flag, byte[] key) throws Exception {
+        try (Jedis jedis = getReadResource()) {
+            return jedis.hkeys(key);
+        }
+    }
+
+    @Override
+    public Long hlen(String flag, byte[] key) throws Exception {
+        try (Jedis jedis = getReadResource()) {
+            return jedis.hlen(key);
+        }
+    }
+
+    @Override
+    public List<byte[]> hmget(String flag, byte[] key, byte[]... fields) throws Exception {
+        try (Jedis jedis = getReadResource()) {
+            return jedis.hmget(key, fields);
+        }
+    }
+
+    @Override
+    public String hmset(String flag, byte[] key, Map<byte[], byte[]> hash) throws Exception {
+        try (Jedis jedis = getResource()) {
+            return jedis.hmset(key, hash);
+        }
+    }
+
+    @Override
+    public Long hset(String flag, byte[] key, byte[] field, byte[] value) throws Exception {
+        try (Jedis jedis = getResource()) {
+            return jedis.hset(key, field, value);
+        }
+    }
+
+    @Override
+    public Long hsetnx(String flag, byte[] key, byte[] field, byte[] value) throws Exception {
+        try (Jedis jedis = getResource()) {
+            return jedis.hsetnx(key, field, value);
+        }
+    }
+
+    @Override
+    public List<byte[]> hvals(String flag, byte[] key) throws Exception {
+        try (Jedis jedis = getReadResource()) {
+            return jedis.hvals(key);
+        }
+    }
+
+    @Override
+    public Long incr(String flag, byte[] key) throws Exception {
+        try (Jedis jedis = getResource()) {
+            return jedis.incr(key);
+        }
+    }
+
+    @Override
+    public Long incrBy(String flag, byte[] key, long integer) throws Exception {
+        try (Jedis jedis = getResource()) {
+            return jedis.incrBy(key, integer);
+        }
+    }
+
+    @Override
+    public byte[] lindex(String flag, byte[] key, long index) throws Exception {
+        try (Jedis jedis = getReadResource()) {
+            return jedis.lindex(key, index);
+        }
+    }
+
+    @Override
+    public int lindex(String flag, byte[] key, long index, ByteBuffer target) throws Exception {
+        return ByteBuffers.write(lindex(flag, key, index), target);
+    }
+
+    @Override
+    public Long llen(String flag, byte[] key) throws Exception {
+        try (Jedis jedis = getReadResource()) {
+            return jedis.llen(key);
+        }
+    }
+
+    @Override
+    public byte[] lpop(String flag, byte[] key) throws Exception {
+        try (Jedis jedis = getResource()) {
+            return jedis.lpop(key);
+        }
+    }
+
+    @Override
+    public Long lpush(String flag, byte[] key, byte[]... strings) throws Exception {
+        try (Jedis jedis = getResource()) {
+            return jedis.lpush(key, strings);
+        }
+    }
+
+    @Override
+    public Long lpushx(String flag, byte[] key, byte[] string) throws Exception {
+        try (Jedis jedis = getResource()) {
+            return jedis.lpushx(key, string);
+        }
+    }
+
+    @Override
+    public List<byte[]> lrange(String flag, byte[] key, long start, long end) throws Exception {
+        try (Jedis jedis = getReadResource()) {
+            return jedis.lrange(key, start, end);
+        }
+    }
+
+    @Override
+    public Long lrem(String flag, byte[] key, long count, byte[] value) throws Exception {
+        try (Jedis jedis = getResource()) {
+            return jedis.lrem(key, count, value);
+        }
+    }
+
+    @Override
+    public String lset(String flag, byte[] key, long index, byte[] value) throws Exception {
+        try (Jedis jedis = getResource()) {
+            return jedis.lset(key, index, value);
+        }
+    }
+
+    @Override
+    public String ltrim(String flag, byte[] key, long start, long end) throws Exception {
+        try (Jedis jedis = getResource()) {
+            return jedis.ltrim(key, start, end);
+        }
+    }
+
+    @Override
+    public List<byte[]> mget(String flag, byte[]... keys) throws Exception {
+        try (Jedis jedis = getReadResource()) {
+            return jedis.mget(keys);
+        }
+    }
+
+    @Override
+    public Long move(String flag, byte[] key, int dbIndex) throws Exception {
+        try (Jedis jedis = getResource()) {
+            return jedis.move(key, dbIndex);
+        }
+    }
+
+    @Override
+    public String mset(String flag, byte[]... keysvalues) throws Exception {
+        try (Jedis jedis = getResource()) {
+            return jedis.mset(keysvalues);
+        }
+    }
+
+    @Override
+    public Long msetnx(String flag, byte[]... keysvalues) throws Exception {
+        try (Jedis jedis = getResource()) {
+            return jedis.msetnx(keysvalues);
+        }
+    }
+
+    @Override
+    public Long publish(String flag, byte[] channel, byte[] message) throws Exception {
+        try (Jedis jedis = getResource()) {
+            return jedis.publish(channel, message);
+        }
+    }
+
+    @Override
+    public String rename(String flag, byte[] oldkey, byte[] newkey) throws Exception {
+        try (Jedis jedis = getResource()) {
+            return jedis.rename(oldkey, newkey);
+        }
+    }
+
+    @Override
+    public Long renamenx(String flag, byte[] oldkey, byte[] newkey) throws Exception {
+        try (Jedis jedis = getResource()) {
+            return jedis.renamenx(oldkey, newkey);
+        }
+    }
+
+    @Override
+    public byte[] rpop(String flag, byte[] key) throws Exception {
+        try (Jedis jedis = getResource()) {
+            return jedis.rpop(key);
+        }
+    }
+
+    @Override
+    public byte[] rpoplpush(String flag, byte[] srckey, byte[] dstkey) throws Exception {
+        try (Jedis jedis = getResource()) {
+            return jedis.rpoplpush(srckey, dstkey);
+        }
+    }
+
+    @Override
+    public Long rpush(String flag, byte[] key, byte[]... strings) throws Exception {
+        try (Jedis jedis = getResource()) {
+            return jedis.rpush(key, strings);
+        }
+    }
+
+    @Override
+    public Long rpushx(String flag, byte[] key, byte[] string) throws Exception {
+        try (Jedis jedis = getResource()) {
+            return jedis.rpushx(key, string);
+        }
+    }
+
+    @Override
+    public Long sadd(String flag, byte[] key, byte[]... members) throws Exception {
+        try (Jedis jedis = getResource()) {
+            return jedis.sadd(key, members);
+        }
+    }
+
+    @Override
+    public Long scard(String flag, byte[] key) throws Exception {
+        try (Jedis jedis = getReadResource()) {
+            return jedis.scard(key);
+        }
+    }
+
+    @Override
+    public Set<byte[]> sdiff(String flag, byte[]... keys) throws Exception {
+        try (Jedis jedis = getReadResource()) {
+            return jedis.sdiff(keys);
+        }
+    }
+
+    @Override
+    public Long sdiffstore(String flag, byte[] dstkey, byte[]... keys) throws Exception {
+        try (Jedis jedis = getResource()) {
+            return jedis.sdiffstore(dstkey, keys);
+        }
+    }
+
+    @Override
+    public String set(String flag, byte[] key, byte[] value) throws Exception {
+        try (Jedis jedis = getResource()) {
+            return jedis.set(key, value);
+        }
+    }
+
+    @Override
+    public Boolean setbit(String flag, byte[] key, long offset, boolean value) throws Exception {
+        try (Jedis jedis = getResource()) {
+            return jedis.setbit(key, offset, value);
+        }
+    }
+
+    @Override
+    public String setex(String flag, byte[] key, int seconds, byte[] value) throws Exception {
+        try (Jedis jedis = getResource()) {
+            return jedis.setex(key, seconds, value);
+        }
+    }
+
+    @Override
+    public Long setnx(String flag, byte[] key, byte[] value) throws Exception {
+        try (Jedis jedis = getResource()) {
+            return jedis.setnx(key, value);
+        }
+    }
+
+    @Override
+    public Long setrange(String flag, byte[] key, long offset, byte[] value) throws Exception {
+        try (Jedis jedis = getResource()) {
+            return jedis.setrange(key, offset, value);
+        }
+    }
+
+    @Override
+    public Set<byte[]> sinter(String flag, byte[]... keys) throws Exception {
+        try (Jedis jedis = getReadResource()) {
+            return jedis.sinter(keys);
+        }
+    }
+
+    @Override
+    public Set<byte[]> smembers(String flag, byte[] key) throws Exception {
+        try (Jedis jedis = getReadResource()) {
+            return jedis.smembers(key);
+        }
+    }
+
+    @Override
+    public Iterator<byte[]> sscan(String flag, final byte[] key, int count) throws Exception {
+        return new CursorIterator<>(new CursorIterator.PageFetcher<byte[]>() {
+            @Override
+            public ScanResult<byte[]> fetch(String cursor, ScanParams params) {
+                try (Jedis jedis = getResource()) {
+                    return jedis.sscan(key, SafeEncoder.encode(cursor), params);
+                }
+            }
+        }, count);
+    }
+
+    @Override
+    public Long smove(String flag, byte[] srckey, byte[] dstkey, byte[] member) throws Exception {
+        try (Jedis jedis = getResource()) {
+            return jedis.smove(srckey, dstkey, member);
+        }
+    }
+
+    @Override
+    public List<byte[]> sort(String flag, byte[] key) throws Exception {
+        try (Jedis jedis = getResource()) {
+            return jedis.sort(key);
+        }
+    }
+
+    @Override
+    public List<byte[]> sort(String flag, byte[] key, SortingParams sortingParameters) throws Exception {
+        try (Jedis jedis = getResource()) {
+            return jedis.sort(key, sortingParameters);
+        }
+    }
+
+    @Override
+    public Long sort(String flag, byte[] key, SortingParams sortingParameters, byte[] dstkey) throws Exception {
+        try (Jedis jedis = getResource()) {
+            return jedis.sort(key, sortingParameters, dstkey);
+        }
+    }
+
+    @Override
+    public Long sort(String flag, byte[] key, byte[] dstkey) throws Exception {
+        try (Jedis jedis = getResource()) {
+            return jedis.sort(key, dstkey);
+        }
+    }
+
+    @Override
+    public byte[] spop(String flag, byte[] key) throws Exception {
+        try (Jedis jedis = getResource()) {
+            return jedis.spop(key);
+        }
+    }
+
+    @Override
+    public byte[] srandmember(String flag, byte[] key) throws Exception {
+        try (Jedis jedis = getReadResource()) {
+            return jedis.srandmember(key);
+        }
+    }
+
+    @Override
+    public List<byte[]> srandmember(String flag, byte[] key, int count) throws Exception {
+        try (Jedis jedis = getReadResource()) {
+            return jedis.srandmember(key, count);
+        }
+    }
+
+    @Override
+    public Long strlen(String flag, byte[] key) throws Exception {
+        try (Jedis jedis = getReadResource()) {
+            return jedis.strlen(key);
+        }
+    }
+
+    @Override
+    public byte[] substr(String flag, byte[] key, int start, int end) throws Exception {
+        try (Jedis jedis = getReadResource()) {
+            return jedis.substr(key, start, end);
+        }
+    }
+
+    @Override
+    public Long zadd(String flag, byte[] key, double score, byte[] member) throws Exception {
+        try (Jedis jedis = getResource()) {
+            return jedis.zadd(key, score, member);
+        }
+    }
+
+    @Override
+    public Long zadd(String flag, byte[] key, Map<byte[], Double> scoreMembers) throws Exception {
+        try (Jedis jedis = getResource()) {
+            return jedis.zadd(key, scoreMembers);
+        }
+    }
+
+    @Override
+    public Long zcount(String flag, byte[] key, double min, double max) throws Exception {
+        try (Jedis jedis = getReadResource()) {
+            return jedis.zcount(key, min, max);
+        }
+    }
+
+    @Override
+    public Long zcard(String flag, byte[] key) throws Exception {
+        try (Jedis jedis = getReadResource()) {
+            return jedis.zcard(key);
+        }
+    }
+
+    @Override
+    public Set<byte[]> zrange(String flag, byte[] key, long start, long end) throws Exception {
+        try (Jedis jedis = getReadResource()) {
+            return jedis.zrange(key, start, end);
+        }
+    }
+
+    @Override
+    public Iterator<Tuple> zscan(String flag, final byte[] key, int count) throws Exception {
+        return new CursorIterator<>(new CursorIterator.PageFetcher<Tuple>() {
+            @Override
+            public ScanResult<Tuple> fetch(String cursor, ScanParams params) {
+                try (Jedis jedis = getResource()) {
+                    return jedis.zscan(key, SafeEncoder.encode(cursor), params);
+                }
+            }
+        }, count);
+    }
+
+    @Override
+    public Long zrank(String flag, byte[] key, byte[] member) throws Exception {
+        try (Jedis jedis = getReadResource()) {
+            return jedis.zrank(key, member);
+        }
+    }
+
+    @Override
+    public Double zscore(String flag, byte[] key, byte[] member) throws Exception {
+        try (Jedis jedis = getReadResource()) {
+            return jedis.zscore(key, member);
+        }
+    }
+
+    @Override
+    public Set<byte[]> zrangeByScore(String flag, byte[] key, double min, double max) throws Exception {
+        try (Jedis jedis = getReadResource()) {
+            return jedis.zrangeByScore(key, min, max);
+        }
+    }
+
+    @Override
+    public Set<byte[]> zrangeByScore(String flag, byte[] key, double min, double max, int offset, int count) throws Exception {
+        try (Jedis jedis = getReadResource()) {
+            return jedis.zrangeByScore(key, min, max, offset, count);
+        }
+    }
+
+    @Override
+    public Set<byte[]> zrangeByScore(String flag, byte[] key, byte[] min, byte[] max) throws Exception {
+        try (Jedis jedis = getReadResource()) {
+            return jedis.zrangeByScore(key, min, max);
+        }
+    }
+
+    @Override
+    public Set<byte[]> zrangeByScore(String flag, byte[] key, byte[] min, byte[] max, int offset, int count) throws Exception {
+        try (Jedis jedis = getReadResource()) {
+            return jedis.zrangeByScore(key, min, max, offset, count);
+        }
+    }
+
+    @Override
+    public Set<Tuple> zrevrangeWithScores(String flag, byte[] key, long start, long end) throws Exception {
+        try (Jedis jedis = getReadResource()) {
+            return jedis.zrevrangeWithScores(key, start, end);
+        }
+    }
+
+    @Override
+    public Long zrevrank(String flag, byte[] key, byte[] member) throws Exception {
+        try (Jedis jedis = getReadResource()) {
+            return jedis.zrevrank(key, member);
+        }
+    }
+
+    @Override
+    public Set<byte[]> zrevrange(String flag, byte[] key, long start, long end) throws Exception {
+        try (Jedis jedis = getReadResource()) {
+            return jedis.zrevrange(key, start, end);
+        }
+    }
+
+    @Override
+    public Set<Tuple> zrangeWithScores(String flag, byte[] key, long start, long end) throws Exception {
+        try (Jedis jedis = getReadResource()) {
+            return jedis.zrangeWithScores(key, start, end);
+        }
+    }
+
+    @Override
+    public Long srem(String flag, byte[] key, byte[]... members) throws Exception {
+        try (Jedis jedis = getResource()) {
+            return jedis.srem(key, members);
+        }
+    }
+
+    @Override
+    public Boolean sismember(String flag, byte[] key, byte[] member) throws Exception {
+        try (Jedis jedis = getReadResource()) {
+            return jedis.sismember(key, member);
+        }
+    }
+
+    @Override
+    public Long zrem(String flag, byte[] key, byte[]... members) throws Exception {
+        try (Jedis jedis = getResource()) {
+            return jedis.zrem(key, members);
+        }
+    }
+
+    @Override
+    public Double zincrby(String flag, byte[] key, double increment, byte[] member) throws Exception {
+        try (Jedis jedis = getResource()) {
+            return jedis.zincrby(key, increment, member);
+        }
+    }
+
+    @Override
+    public List<Object> setAndExpire(String flag, byte[] key, byte[] value, int seconds) throws Exception {
+        try (Jedis jedis = getResource()) {
+            Pipeline pipeline = jedis.pipelined();
+            pipeline.set(key, value);
+            pipeline.expire(key, seconds);
+            return pipeline.syncAndReturnAll();
+        }
+    }
+
+    @Override
+    public List<Object> lpushAndExpire(String flag, int seconds, byte[] key, byte[]... strings) throws Exception {
+        try (Jedis jedis = getResource()) {
+            Pipeline pipeline = jedis.pipelined();
+            pipeline.lpush(key, strings);
+            pipeline.expire(key, seconds);
+            return pipeline.syncAndReturnAll();
+        }
+    }
+
+    @Override
+    public List<Object> rpushAndExpire(String flag, int seconds, byte[] key, byte[]... strings) throws Exception {
+        try (Jedis jedis = getResource()) {
+            Pipeline pipeline = jedis.pipelined();
+            pipeline.rpush(key, strings);
+            pipeline.expire(key, seconds);
+            return pipeline.syncAndReturnAll();
+        }
+    }
+
+    @Override
+    public List<Object> saddAndExpire(String flag, int seconds, byte[] key, byte[]... members) throws Exception {
+        try (Jedis jedis = getResource()) {
+            Pipeline pipeline = jedis.pipelined();
+            pipeline.sadd(key, members);
+            pipeline.expire(key, seconds);
+            return pipeline.syncAndReturnAll();
+        }
+    }
+
+    @Override
+    public List<Object> zaddAndExpire(String flag, byte[] key, Map<byte[], Double> scoreMembers, int seconds) throws Exception {
+        try (Jedis jedis = getResource()) {
+            Pipeline pipeline = jedis.pipelined();
+            pipeline.zadd(key, scoreMembers);
+            pipeline.expire(key, seconds);
+            return pipeline.syncAndReturnAll();
+        }
+    }
+
+    @Override
+    public List<Object> hmsetAndExpire(String flag, byte[] key, Map<byte[], byte[]> hash, int seconds) throws Exception {
+        try (Jedis jedis = getResource()) {
+            Pipeline pipeline = jedis.pipelined();
+            pipeline.hmset(key, hash);
+            pipeline.expire(key, seconds);
+            return pipeline.syncAndReturnAll();
+        }
+    }
+}
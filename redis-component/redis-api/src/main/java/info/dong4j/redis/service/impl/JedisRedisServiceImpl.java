@@ -0,0 +1,879 @@
+package info.dong4j.redis.service.impl;
+
+import info.dong4j.redis.service.RedisService;
+import info.dong4j.redis.service.support.CursorIterator;
+import info.dong4j.redis.service.support.RedisMetrics;
+import info.dong4j.redis.service.support.ScanIterator;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import lombok.extern.slf4j.Slf4j;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.ScanParams;
+import redis.clients.jedis.ScanResult;
+import redis.clients.jedis.ShardedJedis;
+import redis.clients.jedis.SortingParams;
+import redis.clients.jedis.Tuple;
+import redis.clients.util.Pool;
+
+/**
+ * <p>Description: 单机模式与哨兵模式下的 RedisService 实现</p>
+ * 同时适用于 JedisPool 与 JedisSentinelPool, 默认所有命令都发送到同一个节点(哨兵模式下为当前 master),
+ * 指定读连接池时只读命令发送到读连接池(哨兵模式下的从节点).
+ * flag 为业务标识, 所有 flag 共用同一个连接池.
+ *
+ * @author dong4j
+ * @email dong4j@gmail.com
+ * @date 2026-10-18  15:10
+ */
+@Slf4j
+public class JedisRedisServiceImpl implements RedisService {
+    private final Pool<Jedis> pool;
+    private final Pool<Jedis> readPool;
+    /** 记录借出连接的等待时间, 为 null 时不记录 */
+    private final RedisMetrics metrics;
+
+    /**
+     * Instantiates a new Jedis redis service.
+     *
+     * @param pool JedisPool 或 JedisSentinelPool
+     */
+    public JedisRedisServiceImpl(Pool<Jedis> pool) {
+        this(pool, pool);
+    }
+
+    /**
+     * 读写分离, 只读命令使用 readPool, 其他命令(包括 scan 系列, 游标只在同一个节点上有效)使用 pool
+     *
+     * @param pool     写连接池
+     * @param readPool 读连接池
+     */
+    public JedisRedisServiceImpl(Pool<Jedis> pool, Pool<Jedis> readPool) {
+        this(pool, readPool, null);
+    }
+
+    /**
+     * 读写分离并记录借出连接的等待时间
+     *
+     * @param pool     写连接池
+     * @param readPool 读连接池
+     * @param metrics  the metrics
+     */
+    public JedisRedisServiceImpl(Pool<Jedis> pool, Pool<Jedis> readPool, RedisMetrics metrics) {
+        this.pool = pool;
+        this.readPool = readPool;
+        this.metrics = metrics;
+    }
+
+    /**
+     * 从连接池获取连接
+     *
+     * @return the jedis
+     */
+    protected Jedis getResource() {
+        return metrics == null ? pool.getResource() : metrics.borrow(pool);
+    }
+
+    /**
+     * 获取只读命令使用的连接
+     *
+     * @return the jedis
+     */
+    protected Jedis getReadResource() {
+        return metrics == null ? readPool.getResource() : metrics.borrow(readPool);
+    }
+
+    @Override
+    public Jedis getJedisByKey(String flag) throws Exception {
+        return getResource();
+    }
+
+    @Override
+    public void returnJedisByKey(String flag, Jedis jedis) throws Exception {
+        if (jedis != null) {
+            jedis.close();
+        }
+    }
+
+    @Override
+    public ShardedJedis getShardedJedisByKey(String flag) throws Exception {
+        throw new UnsupportedOperationException("current redis model is not sharding, please use getJedisByKey");
+    }
+
+    @Override
+    public void returnShardedJedisByKey(String flag, ShardedJedis jedis) throws Exception {
+        throw new UnsupportedOperationException("current redis model is not sharding, please use returnJedisByKey");
+    }
+
+    @Override
+    public Long append(String flag, String key, String value) throws Exception {
+        try (Jedis jedis = getResource()) {
+            return jedis.append(key, value);
+        }
+    }
+
+    @Override
+    public List<String> blpop(String flag, int timeout, String... keys) throws Exception {
+        try (Jedis jedis = getResource()) {
+            return jedis.blpop(timeout, keys);
+        }
+    }
+
+    @Override
+    public List<String> brpop(String flag, int timeout, String... keys) throws Exception {
+        try (Jedis jedis = getResource()) {
+            return jedis.brpop(timeout, keys);
+        }
+    }
+
+    @Override
+    public List<String> configGet(String flag, String pattern) throws Exception {
+        try (Jedis jedis = getResource()) {
+            return jedis.configGet(pattern);
+        }
+    }
+
+    @Override
+    public String configSet(String flag, String parameter, String value) throws Exception {
+        try (Jedis jedis = getResource()) {
+            return jedis.configSet(parameter, value);
+        }
+    }
+
+    @Override
+    public Long decr(String flag, String key) throws Exception {
+        try (Jedis jedis = getResource()) {
+            return jedis.decr(key);
+        }
+    }
+
+    @Override
+    public Long decrBy(String flag, String key, long integer) throws Exception {
+        try (Jedis jedis = getResource()) {
+            return jedis.decrBy(key, integer);
+        }
+    }
+
+    @Override
+    public Long del(String flag, String... keys) throws Exception {
+        try (Jedis jedis = getResource()) {
+            return jedis.del(keys);
+        }
+    }
+
+    @Override
+    public Object eval(String flag, String script) throws Exception {
+        try (Jedis jedis = getResource()) {
+            return jedis.eval(script);
+        }
+    }
+
+    @Override
+    public Boolean exists(String flag, String key) throws Exception {
+        try (Jedis jedis = getReadResource()) {
+            return jedis.exists(key);
+        }
+    }
+
+    @Override
+    public Long expire(String flag, String key, int seconds) throws Exception {
+        try (Jedis jedis = getResource()) {
+            return jedis.expire(key, seconds);
+        }
+    }
+
+    @Override
+    public String flushAll(String flag) throws Exception {
+        try (Jedis jedis = getResource()) {
+            return jedis.flushAll();
+        }
+    }
+
+    @Override
+    public String flushDB(String flag) throws Exception {
+        try (Jedis jedis = getResource()) {
+            return jedis.flushDB();
+        }
+    }
+
+    @Override
+    public String get(String flag, String key) throws Exception {
+        try (Jedis jedis = getReadResource()) {
+            return jedis.get(key);
+        }
+    }
+
+    @Override
+    public Boolean getbit(String flag, String key, long offset) throws Exception {
+        try (Jedis jedis = getReadResource()) {
+            return jedis.getbit(key, offset);
+        }
+    }
+
+    @Override
+    public String getrange(String flag, String key, long startOffset, long endOffset) throws Exception {
+        try (Jedis jedis = getReadResource()) {
+            return jedis.getrange(key, startOffset, endOffset);
+        }
+    }
+
+    @Override
+    public String getSet(String flag, String key, String value) throws Exception {
+        try (Jedis jedis = getResource()) {
+            return jedis.getSet(key, value);
+        }
+    }
+
+    @Override
+    public Long hdel(String flag, String key, String... fields) throws Exception {
+        try (Jedis jedis = getResource()) {
+            return jedis.hdel(key, fields);
+        }
+    }
+
+    @Override
+    public Boolean hexists(String flag, String key, String field) throws Exception {
+        try (Jedis jedis = getReadResource()) {
+            return jedis.hexists(key, field);
+        }
+    }
+
+    @Override
+    public String hget(String flag, String key, String field) throws Exception {
+        try (Jedis jedis = getReadResource()) {
+            return jedis.hget(key, field);
+        }
+    }
+
+    @Override
+    public Map<String, String> hgetAll(String flag, String key) throws Exception {
+        try (Jedis jedis = getReadResource()) {
+            return jedis.hgetAll(key);
+        }
+    }
+
+    @Override
+    public Iterator<Map.Entry<String, String>> hscan(String flag, final String key, int count) throws Exception {
+        return new CursorIterator<>(new CursorIterator.PageFetcher<Map.Entry<String, String>>() {
+            @Override
+            public ScanResult<Map.Entry<String, String>> fetch(String cursor, ScanParams params) {
+                try (Jedis jedis = getResource()) {
+                    return jedis.hscan(key, cursor, params);
+                }
+            }
+        }, count);
+    }
+
+    @Override
+    public Long hincrBy(String flag, String key, String field, long value) throws Exception {
+        try (Jedis jedis = getResource()) {
+            return jedis.hincrBy(key, field, value);
+        }
+    }
+
+    @Override
+    public Set<String> hkeys(String flag, String key) throws Exception {
+        try (Jedis jedis = getReadResource()) {
+            return jedis.hkeys(key);
+        }
+    }
+
+    @Override
+    public Long hlen(String flag, String key) throws Exception {
+        try (Jedis jedis = getReadResource()) {
+            return jedis.hlen(key);
+        }
+    }
+
+    @Override
+    public List<String> hmget(String flag, String key, String... fields) throws Exception {
+        try (Jedis jedis = getReadResource()) {
+            return jedis.hmget(key, fields);
+        }
+    }
+
+    @Override
+    public String hmset(String flag, String key, Map<String, String> hash) throws Exception {
+        try (Jedis jedis = getResource()) {
+            return jedis.hmset(key, hash);
+        }
+    }
+
+    @Override
+    public Long hset(String flag, String key, String field, String value) throws Exception {
+        try (Jedis jedis = getResource()) {
+            return jedis.hset(key, field, value);
+        }
+    }
+
+    @Override
+    public Long hsetnx(String flag, String key, String field, String value) throws Exception {
+        try (Jedis jedis = getResource()) {
+            return jedis.hsetnx(key, field, value);
+        }
+    }
+
+    @Override
+    public List<String> hvals(String flag, String key) throws Exception {
+        try (Jedis jedis = getReadResource()) {
+            return jedis.hvals(key);
+        }
+    }
+
+    @Override
+    public Long incr(String flag, String key) throws Exception {
+        try (Jedis jedis = getResource()) {
+            return jedis.incr(key);
+        }
+    }
+
+    @Override
+    public Long incrBy(String flag, String key, long integer) throws Exception {
+        try (Jedis jedis = getResource()) {
+            return jedis.incrBy(key, integer);
+        }
+    }
+
+    @Override
+    public Set<String> keys(String flag, String pattern) throws Exception {
+        return ScanIterator.collect(scan(flag, pattern, ScanIterator.DEFAULT_COUNT, null));
+    }
+
+    @Override
+    public Iterator<String> scan(String flag, String pattern, int count, String type) throws Exception {
+        List<ScanIterator.NodeScanner> nodes = new ArrayList<>(1);
+        nodes.add(new ScanIterator.NodeScanner() {
+            @Override
+            public ScanResult<String> scan(String cursor, ScanParams params, String type) {
+                try (Jedis jedis = getResource()) {
+                    return ScanIterator.scan(jedis, cursor, params, type);
+                }
+            }
+        });
+        return new ScanIterator(nodes, pattern, count, type);
+    }
+
+    @Override
+    public String lindex(String flag, String key, long index) throws Exception {
+        try (Jedis jedis = getReadResource()) {
+            return jedis.lindex(key, index);
+        }
+    }
+
+    @Override
+    public Long llen(String flag, String key) throws Exception {
+        try (Jedis jedis = getReadResource()) {
+            return jedis.llen(key);
+        }
+    }
+
+    @Override
+    public String lpop(String flag, String key) throws Exception {
+        try (Jedis jedis = getResource()) {
+            return jedis.lpop(key);
+        }
+    }
+
+    @Override
+    public Long lpush(String flag, String key, String... strings) throws Exception {
+        try (Jedis jedis = getResource()) {
+            return jedis.lpush(key, strings);
+        }
+    }
+
+    @Override
+    public Long lpushx(String flag, String key, String string) throws Exception {
+        try (Jedis jedis = getResource()) {
+            return jedis.lpushx(key, string);
+        }
+    }
+
+    @Override
+    public List<String> lrange(String flag, String key, long start, long end) throws Exception {
+        try (Jedis jedis = getReadResource()) {
+            return jedis.lrange(key, start, end);
+        }
+    }
+
+    @Override
+    public Long lrem(String flag, String key, long count, String value) throws Exception {
+        try (Jedis jedis = getResource()) {
+            return jedis.lrem(key, count, value);
+        }
+    }
+
+    @Override
+    public String lset(String flag, String key, long index, String value) throws Exception {
+        try (Jedis jedis = getResource()) {
+            return jedis.lset(key, index, value);
+        }
+    }
+
+    @Override
+    public String ltrim(String flag, String key, long start, long end) throws Exception {
+        try (Jedis jedis = getResource()) {
+            return jedis.ltrim(key, start, end);
+        }
+    }
+
+    @Override
+    public List<String> mget(String flag, String... keys) throws Exception {
+        try (Jedis jedis = getReadResource()) {
+            return jedis.mget(keys);
+        }
+    }
+
+    @Override
+    public Long move(String flag, String key, int dbIndex) throws Exception {
+        try (Jedis jedis = getResource()) {
+            return jedis.move(key, dbIndex);
+        }
+    }
+
+    @Override
+    public String mset(String flag, String... keysvalues) throws Exception {
+        try (Jedis jedis = getResource()) {
+            return jedis.mset(keysvalues);
+        }
+    }
+
+    @Override
+    public Long msetnx(String flag, String... keysvalues) throws Exception {
+        try (Jedis jedis = getResource()) {
+            return jedis.msetnx(keysvalues);
+        }
+    }
+
+    @Override
+    public Long publish(String flag, String channel, String message) throws Exception {
+        try (Jedis jedis = getResource()) {
+            return jedis.publish(channel, message);
+        }
+    }
+
+    @Override
+    public String randomKey(String flag) throws Exception {
+        try (Jedis jedis = getResource()) {
+            return jedis.randomKey();
+        }
+    }
+
+    @Override
+    public String rename(String flag, String oldkey, String newkey) throws Exception {
+        try (Jedis jedis = getResource()) {
+            return jedis.rename(oldkey, newkey);
+        }
+    }
+
+    @Override
+    public Long renamenx(String flag, String oldkey, String newkey) throws Exception {
+        try (Jedis jedis = getResource()) {
+            return jedis.renamenx(oldkey, newkey);
+        }
+    }
+
+    @Override
+    public String rpop(String flag, String key) throws Exception {
+        try (Jedis jedis = getResource()) {
+            return jedis.rpop(key);
+        }
+    }
+
+    @Override
+    public String rpoplpush(String flag, String srckey, String dstkey) throws Exception {
+        try (Jedis jedis = getResource()) {
+            return jedis.rpoplpush(srckey, dstkey);
+        }
+    }
+
+    @Override
+    public Long rpush(String flag, String key, String... strings) throws Exception {
+        try (Jedis jedis = getResource()) {
+            return jedis.rpush(key, strings);
+        }
+    }
+
+    @Override
+    public Long rpushx(String flag, String key, String string) throws Exception {
+        try (Jedis jedis = getResource()) {
+            return jedis.rpushx(key, string);
+        }
+    }
+
+    @Override
+    public Long sadd(String flag, String key, String... members) throws Exception {
+        try (Jedis jedis = getResource()) {
+            return jedis.sadd(key, members);
+        }
+    }
+
+    @Override
+    public Long scard(String flag, String key) throws Exception {
+        try (Jedis jedis = getReadResource()) {
+            return jedis.scard(key);
+        }
+    }
+
+    @Override
+    public Set<String> sdiff(String flag, String... keys) throws Exception {
+        try (Jedis jedis = getReadResource()) {
+            return jedis.sdiff(keys);
+        }
+    }
+
+    @Override
+    public Long sdiffstore(String flag, String dstkey, String... keys) throws Exception {
+        try (Jedis jedis = getResource()) {
+            return jedis.sdiffstore(dstkey, keys);
+        }
+    }
+
+    /**
+     * 连接归还后 db 会被连接池重置, 通过连接池执行 select 没有意义
+     */
+    @Override
+    public String select(String flag, int index) throws Exception {
+        throw new UnsupportedOperationException("select is not supported on pooled connections, please configure database in redis.node");
+    }
+
+    @Override
+    public String set(String flag, String key, String value) throws Exception {
+        try (Jedis jedis = getResource()) {
+            return jedis.set(key, value);
+        }
+    }
+
+    @Override
+    public Boolean setbit(String flag, String key, long offset, boolean value) throws Exception {
+        try (Jedis jedis = getResource()) {
+            return jedis.setbit(key, offset, value);
+        }
+    }
+
+    @Override
+    public String setex(String flag, String key, int seconds, String value) throws Exception {
+        try (Jedis jedis = getResource()) {
+            return jedis.setex(key, seconds, value);
+        }
+    }
+
+    @Override
+    public Long setnx(String flag, String key, String value) throws Exception {
+        try (Jedis jedis = getResource()) {
+            return jedis.setnx(key, value);
+        }
+    }
+
+    @Override
+    public Long setrange(String flag, String key, long offset, String value) throws Exception {
+        try (Jedis jedis = getResource()) {
+            return jedis.setrange(key, offset, value);
+        }
+    }
+
+    @Override
+    public Set<String> sinter(String flag, String... keys) throws Exception {
+        try (Jedis jedis = getReadResource()) {
+            return jedis.sinter(keys);
+        }
+    }
+
+    @Override
+    public Set<String> smembers(String flag, String key) throws Exception {
+        try (Jedis jedis = getReadResource()) {
+            return jedis.smembers(key);
+        }
+    }
+
+    @Override
+    public Iterator<String> sscan(String flag, final String key, int count) throws Exception {
+        return new CursorIterator<>(new CursorIterator.PageFetcher<String>() {
+            @Override
+            public ScanResult<String> fetch(String cursor, ScanParams params) {
+                try (Jedis jedis = getResource()) {
+                    return jedis.sscan(key, cursor, params);
+                }
+            }
+        }, count);
+    }
+
+    @Override
+    public Long smove(String flag, String srckey, String dstkey, String member) throws Exception {
+        try (Jedis jedis = getResource()) {
+            return jedis.smove(srckey, dstkey, member);
+        }
+    }
+
+    @Override
+    public List<String> sort(String flag, String key) throws Exception {
+        try (Jedis jedis = getResource()) {
+            return jedis.sort(key);
+        }
+    }
+
+    @Override
+    public List<String> sort(String flag, String key, SortingParams sortingParameters) throws Exception {
+        try (Jedis jedis = getResource()) {
+            return jedis.sort(key, sortingParameters);
+        }
+    }
+
+    @Override
+    public Long sort(String flag, String key, SortingParams sortingParameters, String dstkey) throws Exception {
+        try (Jedis jedis = getResource()) {
+            return jedis.sort(key, sortingParameters, dstkey);
+        }
+    }
+
+    @Override
+    public Long sort(String flag, String key, String dstkey) throws Exception {
+        try (Jedis jedis = getResource()) {
+            return jedis.sort(key, dstkey);
+        }
+    }
+
+    @Override
+    public String spop(String flag, String key) throws Exception {
+        try (Jedis jedis = getResource()) {
+            return jedis.spop(key);
+        }
+    }
+
+    @Override
+    public String srandmember(String flag, String key) throws Exception {
+        try (Jedis jedis = getReadResource()) {
+            return jedis.srandmember(key);
+        }
+    }
+
+    @Override
+    public List<String> srandmember(String flag, String key, int count) throws Exception {
+        try (Jedis jedis = getReadResource()) {
+            return jedis.srandmember(key, count);
+        }
+    }
+
+    @Override
+    public Long strlen(String flag, String key) throws Exception {
+        try (Jedis jedis = getReadResource()) {
+            return jedis.strlen(key);
+        }
+    }
+
+    @Override
+    public String substr(String flag, String key, int start, int end) throws Exception {
+        try (Jedis jedis = getReadResource()) {
+            return jedis.substr(key, start, end);
+        }
+    }
+
+    @Override
+    public Long zadd(String flag, String key, double score, String member) throws Exception {
+        try (Jedis jedis = getResource()) {
+            return jedis.zadd(key, score, member);
+        }
+    }
+
+    @Override
+    public Long zadd(String flag, String key, Map<String, Double> scoreMembers) throws Exception {
+        try (Jedis jedis = getResource()) {
+            return jedis.zadd(key, scoreMembers);
+        }
+    }
+
+    @Override
+    public Long zcount(String flag, String key, double min, double max) throws Exception {
+        try (Jedis jedis = getReadResource()) {
+            return jedis.zcount(key, min, max);
+        }
+    }
+
+    @Override
+    public Long zcard(String flag, String key) throws Exception {
+        try (Jedis jedis = getReadResource()) {
+            return jedis.zcard(key);
+        }
+    }
+
+    @Override
+    public Set<String> zrange(String flag, String key, long start, long end) throws Exception {
+        try (Jedis jedis = getReadResource()) {
+            return jedis.zrange(key, start, end);
+        }
+    }
+
+    @Override
+    public Iterator<Tuple> zscan(String flag, final String key, int count) throws Exception {
+        return new CursorIterator<>(new CursorIterator.PageFetcher<Tuple>() {
+            @Override
+            public ScanResult<Tuple> fetch(String cursor, ScanParams params) {
+                try (Jedis jedis = getResource()) {
+                    return jedis.zscan(key, cursor, params);
+                }
+            }
+        }, count);
+    }
+
+    @Override
+    public Long zrank(String flag, String key, String member) throws Exception {
+        try (Jedis jedis = getReadResource()) {
+            return jedis.zrank(key, member);
+        }
+    }
+
+    @Override
+    public Double zscore(String flag, String key, String member) throws Exception {
+        try (Jedis jedis = getReadResource()) {
+            return jedis.zscore(key, member);
+        }
+    }
+
+    @Override
+    public Set<String> zrangeByScore(String flag, String key, double min, double max) throws Exception {
+        try (Jedis jedis = getReadResource()) {
+            return jedis.zrangeByScore(key, min, max);
+        }
+    }
+
+    @Override
+    public Set<String> zrangeByScore(String flag, String key, double min, double max, int offset, int count) throws Exception {
+        try (Jedis jedis = getReadResource()) {
+            return jedis.zrangeByScore(key, min, max, offset, count);
+        }
+    }
+
+    @Override
+    public Set<String> zrangeByScore(String flag, String key, String min, String max) throws Exception {
+        try (Jedis jedis = getReadResource()) {
+            return jedis.zrangeByScore(key, min, max);
+        }
+    }
+
+    @Override
+    public Set<String> zrangeByScore(String flag, String key, String min, String max, int offset, int count) throws Exception {
+        try (Jedis jedis = getReadResource()) {
+            return jedis.zrangeByScore(key, min, max, offset, count);
+        }
+    }
+
+    @Override
+    public Set<Tuple> zrevrangeWithScores(String flag, String key, long start, long end) throws Exception {
+        try (Jedis jedis = getReadResource()) {
+            return jedis.zrevrangeWithScores(key, start, end);
+        }
+    }
+
+    @Override
+    public Long zrevrank(String flag, String key, String member) throws Exception {
+        try (Jedis jedis = getReadResource()) {
+            return jedis.zrevrank(key, member);
+        }
+    }
+
+    @Override
+    public Set<String> zrevrange(String flag, String key, long start, long end) throws Exception {
+        try (Jedis jedis = getReadResource()) {
+            return jedis.zrevrange(key, start, end);
+        }
+    }
+
+    @Override
+    public Set<Tuple> zrangeWithScores(String flag, String key, long start, long end) throws Exception {
+        try (Jedis jedis = getReadResource()) {
+            return jedis.zrangeWithScores(key, start, end);
+        }
+    }
+
+    @Override
+    public Long srem(String flag, String key, String... members) throws Exception {
+        try (Jedis jedis = getResource()) {
+            return jedis.srem(key, members);
+        }
+    }
+
+    @Override
+    public Boolean sismember(String flag, String key, String member) throws Exception {
+        try (Jedis jedis = getReadResource()) {
+            return jedis.sismember(key, member);
+        }
+    }
+
+    @Override
+    public Long zrem(String flag, String key, String... members) throws Exception {
+        try (Jedis jedis = getResource()) {
+            return jedis.zrem(key, members);
+        }
+    }
+
+    @Override
+    public Double zincrby(String flag, String key, double increment, String member) throws Exception {
+        try (Jedis jedis = getResource()) {
+            return jedis.zincrby(key, increment, member);
+        }
+    }
+
+    @Override
+    public List<Object> setAndExpire(String flag, String key, String value, int seconds) throws Exception {
+        try (Jedis jedis = getResource()) {
+            Pipeline pipeline = jedis.pipelined();
+            pipeline.set(key, value);
+            pipeline.expire(key, seconds);
+            return pipeline.syncAndReturnAll();
+        }
+    }
+
+    @Override
+    public List<Object> lpushAndExpire(String flag, int seconds, String key, String... strings) throws Exception {
+        try (Jedis jedis = getResource()) {
+            Pipeline pipeline = jedis.pipelined();
+            pipeline.lpush(key, strings);
+            pipeline.expire(key, seconds);
+            return pipeline.syncAndReturnAll();
+        }
+    }
+
+    @Override
+    public List<Object> rpushAndExpire(String flag, int seconds, String key, String... strings) throws Exception {
+        try (Jedis jedis = getResource()) {
+            Pipeline pipeline = jedis.pipelined();
+            pipeline.rpush(key, strings);
+            pipeline.expire(key, seconds);
+            return pipeline.syncAndReturnAll();
+        }
+    }
+
+    @Override
+    public List<Object> saddAndExpire(String flag, int seconds, String key, String... members) throws Exception {
+        try (Jedis jedis = getResource()) {
+            Pipeline pipeline = jedis.pipelined();
+            pipeline.sadd(key, members);
+            pipeline.expire(key, seconds);
+            return pipeline.syncAndReturnAll();
+        }
+    }
+
+    @Override
+    public List<Object> zaddAndExpire(String flag, String key, Map<String, Double> scoreMembers, int seconds) throws Exception {
+        try (Jedis jedis = getResource()) {
+            Pipeline pipeline = jedis.pipelined();
+            pipeline.zadd(key, scoreMembers);
+            pipeline.expire(key, seconds);
+            return pipeline.syncAndReturnAll();
+        }
+    }
+
+    @Override
+    public List<Object> hmsetAndExpire(String flag, String key, Map<String, String> hash, int seconds) throws Exception {
+        try (Jedis jedis = getResource()) {
+            Pipeline pipeline = jedis.pipelined();
+            pipeline.hmset(key, hash);
+            pipeline.expire(key, seconds);
+            return pipeline.syncAndReturnAll();
+        }
+    }
+}
@@ -0,0 +1,923 @@
+package info.dong4j.redis.service.impl;
+
+import info.dong4j.redis.service.BinaryRedisService;
+import info.dong4j.redis.service.support.ByteBuffers;
+import info.dong4j.redis.service.support.CursorIterator;
+import info.dong4j.redis.service.support.RedisMetrics;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import lombok.extern.slf4j.Slf4j;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Response;
+import redis.clients.jedis.ScanParams;
+import redis.clients.jedis.ScanResult;
+import redis.clients.jedis.ShardedJedis;
+import redis.clients.jedis.ShardedJedisPipeline;
+import redis.clients.jedis.SortingParams;
+import redis.clients.jedis.Tuple;
+import redis.clients.jedis.exceptions.JedisConnectionException;
+import redis.clients.util.Pool;
+import redis.clients.util.SafeEncoder;
+
+/**
+ * <p>Description: 分片模式下的 BinaryRedisService 实现</p>
+ * 同时适用于 ShardedJedisPool 与 ShardedJedisSentinelPool, 路由规则与 {@link ShardedRedisServiceImpl} 相同,
+ * 但 byte[] key 与 Jedis 一致按完整的 key 计算分片, 不处理 {tag}, 因此多 key 命令要求 key 本身落在同一个分片上.
+ *
+ * @author dong4j
+ * @email dong4j@gmail.com
+ * @date 2026-10-18  23:59
+ */
+@Slf4j
+public class ShardedBinaryRedisServiceImpl implements BinaryRedisService {
+    private static final String OK = "OK";
+
+    private final Pool<ShardedJedis> pool;
+    /** 记录借出连接的等待时间, 为 null 时不记录 */
+    private final RedisMetrics       metrics;
+
+    /**
+     * Instantiates a new Sharded binary redis service.
+     *
+     * @param pool ShardedJedisPool 或 ShardedJedisSentinelPool
+     */
+    public ShardedBinaryRedisServiceImpl(Pool<ShardedJedis> pool) {
+        this(pool, null);
+    }
+
+    /**
+     * Instantiates a new Sharded binary redis service.
+     *
+     * @param pool    ShardedJedisPool 或 ShardedJedisSentinelPool
+     * @param metrics 记录借出连接的等待时间
+     */
+    public ShardedBinaryRedisServiceImpl(Pool<ShardedJedis> pool, RedisMetrics metrics) {
+        this.pool = pool;
+        this.metrics = metrics;
+    }
+
+    /**
+     * 从连接池获取连接, ShardedJedisSentinelPool 获取失败时会返回 null, 这里统一转换为异常
+     *
+     * @return the sharded jedis
+     */
+    protected ShardedJedis getResource() {
+        ShardedJedis jedis = metrics == null ? pool.getResource() : metrics.borrow(pool);
+        if (jedis == null) {
+            throw new JedisConnectionException("Could not get a resource from the pool");
+        }
+        return jedis;
+    }
+
+    /**
+     * 获取所有 key 共同所在的分片
+     *
+     * @param shardedJedis the sharded jedis
+     * @param keys         the keys
+     * @return 分片连接
+     */
+    protected Jedis getSameShard(ShardedJedis shardedJedis, byte[]... keys) {
+        Jedis shard = shardedJedis.getShard(keys[0]);
+        for (int i = 1; i < keys.length; i++) {
+            if (shardedJedis.getShard(keys[i]) != shard) {
+                throw new UnsupportedOperationException(keys.length + " binary keys are not located in the same shard, "
+                                                        + "binary keys are sharded by the whole key without {tag}");
+            }
+        }
+        return shard;
+    }
+
+    @Override
+    public Long append(String flag, byte[] key, byte[] value) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.append(key, value);
+        }
+    }
+
+    @Override
+    public List<byte[]> blpop(String flag, int timeout, byte[]... keys) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return getSameShard(jedis, keys).blpop(timeout, keys);
+        }
+    }
+
+    @Override
+    public List<byte[]> brpop(String flag, int timeout, byte[]... keys) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return getSameShard(jedis, keys).brpop(timeout, keys);
+        }
+    }
+
+    @Override
+    public Long decr(String flag, byte[] key) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.decr(key);
+        }
+    }
+
+    @Override
+    public Long decrBy(String flag, byte[] key, long integer) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.decrBy(key, integer);
+        }
+    }
+
+    /**
+     * 每个分片发送一次 DEL, 返回所有分片删除数量之和
+     */
+    @Override
+    public Long del(String flag, byte[]... keys) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            if (keys.length == 1) {
+                return jedis.del(keys[0]);
+            }
+            List<BatchResult<Long>> results = ShardedBatchExecutor.execute(
+                jedis, keys, new ShardedBatchExecutor.BinaryShardCallback<Long>() {
+                    @Override
+                    public Response<Long> doInPipeline(Pipeline pipeline, byte[][] shardKeys) {
+                        return pipeline.del(shardKeys);
+                    }
+                });
+            long count = 0;
+            for (BatchResult<Long> result : results) {
+                count += result.getResult();
+            }
+            return count;
+        }
+    }
+
+    @Override
+    public Boolean exists(String flag, byte[] key) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.exists(key);
+        }
+    }
+
+    @Override
+    public Long expire(String flag, byte[] key, int seconds) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.expire(key, seconds);
+        }
+    }
+
+    @Override
+    public byte[] get(String flag, byte[] key) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.get(key);
+        }
+    }
+
+    @Override
+    public int get(String flag, byte[] key, ByteBuffer target) throws Exception {
+        return ByteBuffers.write(get(flag, key), target);
+    }
+
+    @Override
+    public Boolean getbit(String flag, byte[] key, long offset) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.getbit(key, offset);
+        }
+    }
+
+    @Override
+    public byte[] getrange(String flag, byte[] key, long startOffset, long endOffset) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.getrange(key, startOffset, endOffset);
+        }
+    }
+
+    @Override
+    public byte[] getSet(String flag, byte[] key, byte[] value) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.getSet(key, value);
+        }
+    }
+
+    @Override
+    public Long hdel(String flag, byte[] key, byte[]... fields) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.hdel(key, fields);
+        }
+    }
+
+    @Override
+    public Boolean hexists(String flag, byte[] key, byte[] field) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.hexists(key, field);
+        }
+    }
+
+    @Override
+    public byte[] hget(String flag, byte[] key, byte[] field) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.hget(key, field);
+        }
+    }
+
+    @Override
+    public int hget(String flag, byte[] key, byte[] field, ByteBuffer target) throws Exception {
+        return ByteBuffers.write(hget(flag, key, field), target);
+    }
+
+    @Override
+    public Map<byte[], byte[]> hgetAll(String flag, byte[] key) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.hgetAll(key);
+        }
+    }
+
+    @Override
+    public Iterator<Map.Entry<byte[], byte[]>> hscan(String flag, final byte[] key, int count) throws Exception {
+        return new CursorIterator<>(new CursorIterator.PageFetcher<Map.Entry<byte[], byte[]>>() {
+            @Override
+            public ScanResult<Map.Entry<byte[], byte[]>> fetch(String cursor, ScanParams params) {
+                try (ShardedJedis jedis = getResource()) {
+                    return jedis.hscan(key, SafeEncoder.encode(cursor), params);
+                }
+            }
+        }, count);
+    }
+
+    @Override
+    public Long hincrBy(String flag, byte[] key, byte[] field, long value) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.hincrBy(key, field, value);
+        }
+    }
+
+    @Override
+    public Set<byte[]> hkeys(String flag, byte[] key) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.hkeys(key);
+        }
+    }
+
+    @Override
+    public Long hlen(String flag, byte[] key) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.hlen(key);
+        }
+    }
+
+    @Override
+    public List<byte[]> hmget(String flag, byte[] key, byte[]... fields) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.hmget(key, fields);
+        }
+    }
+
+    @Override
+    public String hmset(String flag, byte[] key, Map<byte[], byte[]> hash) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.hmset(key, hash);
+        }
+    }
+
+    @Override
+    public Long hset(String flag, byte[] key, byte[] field, byte[] value) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.hset(key, field, value);
+        }
+    }
+
+    @Override
+    public Long hsetnx(String flag, byte[] key, byte[] field, byte[] value) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.hsetnx(key, field, value);
+        }
+    }
+
+    @Override
+    public List<byte[]> hvals(String flag, byte[] key) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return new ArrayList<>(jedis.hvals(key));
+        }
+    }
+
+    @Override
+    public Long incr(String flag, byte[] key) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.incr(key);
+        }
+    }
+
+    @Override
+    public Long incrBy(String flag, byte[] key, long integer) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.incrBy(key, integer);
+        }
+    }
+
+    @Override
+    public byte[] lindex(String flag, byte[] key, long index) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.lindex(key, index);
+        }
+    }
+
+    @Override
+    public int lindex(String flag, byte[] key, long index, ByteBuffer target) throws Exception {
+        return ByteBuffers.write(lindex(flag, key, index), target);
+    }
+
+    @Override
+    public Long llen(String flag, byte[] key) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.llen(key);
+        }
+    }
+
+    @Override
+    public byte[] lpop(String flag, byte[] key) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.lpop(key);
+        }
+    }
+
+    @Override
+    public Long lpush(String flag, byte[] key, byte[]... strings) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.lpush(key, strings);
+        }
+    }
+
+    @Override
+    public Long lpushx(String flag, byte[] key, byte[] string) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.lpushx(key, string);
+        }
+    }
+
+    @Override
+    public List<byte[]> lrange(String flag, byte[] key, long start, long end) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.lrange(key, start, end);
+        }
+    }
+
+    @Override
+    public Long lrem(String flag, byte[] key, long count, byte[] value) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.lrem(key, count, value);
+        }
+    }
+
+    @Override
+    public String lset(String flag, byte[] key, long index, byte[] value) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.lset(key, index, value);
+        }
+    }
+
+    @Override
+    public String ltrim(String flag, byte[] key, long start, long end) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.ltrim(key, start, end);
+        }
+    }
+
+    /**
+     * 每个分片发送一次 MGET, 结果按 keys 的顺序返回
+     */
+    @Override
+    public List<byte[]> mget(String flag, byte[]... keys) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            List<BatchResult<List<byte[]>>> results = ShardedBatchExecutor.execute(
+                jedis, keys, new ShardedBatchExecutor.BinaryShardCallback<List<byte[]>>() {
+                    @Override
+                    public Response<List<byte[]>> doInPipeline(Pipeline pipeline, byte[][] shardKeys) {
+                        return pipeline.mget(shardKeys);
+                    }
+                });
+            byte[][] values = new byte[keys.length][];
+            for (BatchResult<List<byte[]>> result : results) {
+                int[]        positions   = result.getPositions();
+                List<byte[]> shardValues = result.getResult();
+                for (int i = 0; i < positions.length; i++) {
+                    values[positions[i]] = shardValues.get(i);
+                }
+            }
+            return Arrays.asList(values);
+        }
+    }
+
+    @Override
+    public Long move(String flag, byte[] key, int dbIndex) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.move(key, dbIndex);
+        }
+    }
+
+    /**
+     * 每个分片发送一次 MSET, 不保证跨分片的原子性
+     */
+    @Override
+    public String mset(String flag, final byte[]... keysvalues) throws Exception {
+        final byte[][] keys = keys(keysvalues);
+        try (ShardedJedis jedis = getResource()) {
+            List<BatchResult<String>> results = ShardedBatchExecutor.execute(
+                jedis, keys, new ShardedBatchExecutor.BinaryShardCallback<String>() {
+                    @Override
+                    public Response<String> doInPipeline(Pipeline pipeline, byte[][] shardKeys) {
+                        return pipeline.mset(groupKeysValues(keys, keysvalues, shardKeys));
+                    }
+                });
+            for (BatchResult<String> result : results) {
+                if (!OK.equals(result.getResult())) {
+                    return result.getResult();
+                }
+            }
+            return OK;
+        }
+    }
+
+    /**
+     * MSETNX 需要保证原子性, 所有 key 必须在同一个分片上
+     */
+    @Override
+    public Long msetnx(String flag, byte[]... keysvalues) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return getSameShard(jedis, keys(keysvalues)).msetnx(keysvalues);
+        }
+    }
+
+    /**
+     * 根据 channel 选择分片, 订阅方需要订阅同一个分片
+     */
+    @Override
+    public Long publish(String flag, byte[] channel, byte[] message) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.getShard(channel).publish(channel, message);
+        }
+    }
+
+    @Override
+    public String rename(String flag, byte[] oldkey, byte[] newkey) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return getSameShard(jedis, oldkey, newkey).rename(oldkey, newkey);
+        }
+    }
+
+    @Override
+    public Long renamenx(String flag, byte[] oldkey, byte[] newkey) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return getSameShard(jedis, oldkey, newkey).renamenx(oldkey, newkey);
+        }
+    }
+
+    @Override
+    public byte[] rpop(String flag, byte[] key) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.rpop(key);
+        }
+    }
+
+    @Override
+    public byte[] rpoplpush(String flag, byte[] srckey, byte[] dstkey) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return getSameShard(jedis, srckey, dstkey).rpoplpush(srckey, dstkey);
+        }
+    }
+
+    @Override
+    public Long rpush(String flag, byte[] key, byte[]... strings) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.rpush(key, strings);
+        }
+    }
+
+    @Override
+    public Long rpushx(String flag, byte[] key, byte[] string) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.rpushx(key, string);
+        }
+    }
+
+    @Override
+    public Long sadd(String flag, byte[] key, byte[]... members) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.sadd(key, members);
+        }
+    }
+
+    @Override
+    public Long scard(String flag, byte[] key) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.scard(key);
+        }
+    }
+
+    @Override
+    public Set<byte[]> sdiff(String flag, byte[]... keys) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return getSameShard(jedis, keys).sdiff(keys);
+        }
+    }
+
+    @Override
+    public Long sdiffstore(String flag, byte[] dstkey, byte[]... keys) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return getSameShard(jedis, concat(dstkey, keys)).sdiffstore(dstkey, keys);
+        }
+    }
+
+    @Override
+    public String set(String flag, byte[] key, byte[] value) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.set(key, value);
+        }
+    }
+
+    @Override
+    public Boolean setbit(String flag, byte[] key, long offset, boolean value) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.setbit(key, offset, value);
+        }
+    }
+
+    @Override
+    public String setex(String flag, byte[] key, int seconds, byte[] value) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.setex(key, seconds, value);
+        }
+    }
+
+    @Override
+    public Long setnx(String flag, byte[] key, byte[] value) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.setnx(key, value);
+        }
+    }
+
+    @Override
+    public Long setrange(String flag, byte[] key, long offset, byte[] value) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.setrange(key, offset, value);
+        }
+    }
+
+    @Override
+    public Set<byte[]> sinter(String flag, byte[]... keys) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return getSameShard(jedis, keys).sinter(keys);
+        }
+    }
+
+    @Override
+    public Set<byte[]> smembers(String flag, byte[] key) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.smembers(key);
+        }
+    }
+
+    @Override
+    public Iterator<byte[]> sscan(String flag, final byte[] key, int count) throws Exception {
+        return new CursorIterator<>(new CursorIterator.PageFetcher<byte[]>() {
+            @Override
+            public ScanResult<byte[]> fetch(String cursor, ScanParams params) {
+                try (ShardedJedis jedis = getResource()) {
+                    return jedis.sscan(key, SafeEncoder.encode(cursor), params);
+                }
+            }
+        }, count);
+    }
+
+    @Override
+    public Long smove(String flag, byte[] srckey, byte[] dstkey, byte[] member) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return getSameShard(jedis, srckey, dstkey).smove(srckey, dstkey, member);
+        }
+    }
+
+    @Override
+    public List<byte[]> sort(String flag, byte[] key) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.sort(key);
+        }
+    }
+
+    @Override
+    public List<byte[]> sort(String flag, byte[] key, SortingParams sortingParameters) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.sort(key, sortingParameters);
+        }
+    }
+
+    @Override
+    public Long sort(String flag, byte[] key, SortingParams sortingParameters, byte[] dstkey) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return getSameShard(jedis, key, dstkey).sort(key, sortingParameters, dstkey);
+        }
+    }
+
+    @Override
+    public Long sort(String flag, byte[] key, byte[] dstkey) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return getSameShard(jedis, key, dstkey).sort(key, dstkey);
+        }
+    }
+
+    @Override
+    public byte[] spop(String flag, byte[] key) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.spop(key);
+        }
+    }
+
+    @Override
+    public byte[] srandmember(String flag, byte[] key) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.srandmember(key);
+        }
+    }
+
+    @Override
+    public List<byte[]> srandmember(String flag, byte[] key, int count) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.srandmember(key, count);
+        }
+    }
+
+    @Override
+    public Long strlen(String flag, byte[] key) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.strlen(key);
+        }
+    }
+
+    @Override
+    public byte[] substr(String flag, byte[] key, int start, int end) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.substr(key, start, end);
+        }
+    }
+
+    @Override
+    public Long zadd(String flag, byte[] key, double score, byte[] member) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.zadd(key, score, member);
+        }
+    }
+
+    @Override
+    public Long zadd(String flag, byte[] key, Map<byte[], Double> scoreMembers) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.zadd(key, scoreMembers);
+        }
+    }
+
+    @Override
+    public Long zcount(String flag, byte[] key, double min, double max) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.zcount(key, min, max);
+        }
+    }
+
+    @Override
+    public Long zcard(String flag, byte[] key) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.zcard(key);
+        }
+    }
+
+    @Override
+    public Set<byte[]> zrange(String flag, byte[] key, long start, long end) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.zrange(key, start, end);
+        }
+    }
+
+    @Override
+    public Iterator<Tuple> zscan(String flag, final byte[] key, int count) throws Exception {
+        return new CursorIterator<>(new CursorIterator.PageFetcher<Tuple>() {
+            @Override
+            public ScanResult<Tuple> fetch(String cursor, ScanParams params) {
+                try (ShardedJedis jedis = getResource()) {
+                    return jedis.zscan(key, SafeEncoder.encode(cursor), params);
+                }
+            }
+        }, count);
+    }
+
+    @Override
+    public Long zrank(String flag, byte[] key, byte[] member) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.zrank(key, member);
+        }
+    }
+
+    @Override
+    public Double zscore(String flag, byte[] key, byte[] member) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.zscore(key, member);
+        }
+    }
+
+    @Override
+    public Set<byte[]> zrangeByScore(String flag, byte[] key, double min, double max) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.zrangeByScore(key, min, max);
+        }
+    }
+
+    @Override
+    public Set<byte[]> zrangeByScore(String flag, byte[] key, double min, double max, int offset, int count) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.zrangeByScore(key, min, max, offset, count);
+        }
+    }
+
+    @Override
+    public Set<byte[]> zrangeByScore(String flag, byte[] key, byte[] min, byte[] max) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.zrangeByScore(key, min, max);
+        }
+    }
+
+    @Override
+    public Set<byte[]> zrangeByScore(String flag, byte[] key, byte[] min, byte[] max, int offset, int count) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.zrangeByScore(key, min, max, offset, count);
+        }
+    }
+
+    @Override
+    public Set<Tuple> zrevrangeWithScores(String flag, byte[] key, long start, long end) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.zrevrangeWithScores(key, start, end);
+        }
+    }
+
+    @Override
+    public Long zrevrank(String flag, byte[] key, byte[] member) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.zrevrank(key, member);
+        }
+    }
+
+    @Override
+    public Set<byte[]> zrevrange(String flag, byte[] key, long start, long end) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.zrevrange(key, start, end);
+        }
+    }
+
+    @Override
+    public Set<Tuple> zrangeWithScores(String flag, byte[] key, long start, long end) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.zrangeWithScores(key, start, end);
+        }
+    }
+
+    @Override
+    public Long srem(String flag, byte[] key, byte[]... members) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.srem(key, members);
+        }
+    }
+
+    @Override
+    public Boolean sismember(String flag, byte[] key, byte[] member) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.sismember(key, member);
+        }
+    }
+
+    @Override
+    public Long zrem(String flag, byte[] key, byte[]... members) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.zrem(key, members);
+        }
+    }
+
+    @Override
+    public Double zincrby(String flag, byte[] key, double increment, byte[] member) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.zincrby(key, increment, member);
+        }
+    }
+
+    @Override
+    public List<Object> setAndExpire(String flag, byte[] key, byte[] value, int seconds) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            ShardedJedisPipeline pipeline = jedis.pipelined();
+            pipeline.set(key, value);
+            pipeline.expire(key, seconds);
+            return pipeline.syncAndReturnAll();
+        }
+    }
+
+    @Override
+    public List<Object> lpushAndExpire(String flag, int seconds, byte[] key, byte[]... strings) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            ShardedJedisPipeline pipeline = jedis.pipelined();
+            pipeline.lpush(key, strings);
+            pipeline.expire(key, seconds);
+            return pipeline.syncAndReturnAll();
+        }
+    }
+
+    @Override
+    public List<Object> rpushAndExpire(String flag, int seconds, byte[] key, byte[]... strings) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            ShardedJedisPipeline pipeline = jedis.pipelined();
+            pipeline.rpush(key, strings);
+            pipeline.expire(key, seconds);
+            return pipeline.syncAndReturnAll();
+        }
+    }
+
+    @Override
+    public List<Object> saddAndExpire(String flag, int seconds, byte[] key, byte[]... members) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            ShardedJedisPipeline pipeline = jedis.pipelined();
+            pipeline.sadd(key, members);
+            pipeline.expire(key, seconds);
+            return pipeline.syncAndReturnAll();
+        }
+    }
+
+    @Override
+    public List<Object> zaddAndExpire(String flag, byte[] key, Map<byte[], Double> scoreMembers, int seconds) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            ShardedJedisPipeline pipeline = jedis.pipelined();
+            pipeline.zadd(key, scoreMembers);
+            pipeline.expire(key, seconds);
+            return pipeline.syncAndReturnAll();
+        }
+    }
+
+    @Override
+    public List<Object> hmsetAndExpire(String flag, byte[] key, Map<byte[], byte[]> hash, int seconds) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            ShardedJedisPipeline pipeline = jedis.pipelined();
+            pipeline.hmset(key, hash);
+            pipeline.expire(key, seconds);
+            return pipeline.syncAndReturnAll();
+        }
+    }
+
+    /**
+     * 从 k1 v1 k2 v2 ... 中取出所有 key
+     *
+     * @param keysvalues the keysvalues
+     * @return the byte [ ] [ ]
+     */
+    static byte[][] keys(byte[]... keysvalues) {
+        if (keysvalues.length % 2 != 0) {
+            throw new IllegalArgumentException("keysvalues must be key value pairs");
+        }
+        byte[][] keys = new byte[keysvalues.length / 2][];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = keysvalues[i * 2];
+        }
+        return keys;
+    }
+
+    /**
+     * 根据分组内的 key 重新组装 k1 v1 k2 v2 ..., byte[] 按内容比较
+     *
+     * @param keys       全部 key
+     * @param keysvalues 全部 key value
+     * @param groupKeys  分组(分片或 slot)内的 key
+     * @return the byte [ ] [ ]
+     */
+    static byte[][] groupKeysValues(byte[][] keys, byte[][] keysvalues, byte[][] groupKeys) {
+        Collection<ByteBuffer> wanted = new HashSet<>(groupKeys.length * 2);
+        for (byte[] groupKey : groupKeys) {
+            wanted.add(ByteBuffer.wrap(groupKey));
+        }
+        List<byte[]> builder = new ArrayList<>(groupKeys.length * 2);
+        for (int i = 0; i < keys.length; i++) {
+            if (wanted.contains(ByteBuffer.wrap(keys[i]))) {
+                builder.add(keys[i]);
+                builder.add(keysvalues[i * 2 + 1]);
+            }
+        }
+        return builder.toArray(new byte[builder.size()][]);
+    }
+
+    /**
+     * Concat byte [ ] [ ].
+     *
+     * @param first the first
+     * @param rest  the rest
+     * @return the byte [ ] [ ]
+     */
+    static byte[][] concat(byte[] first, byte[]... rest) {
+        byte[][] all = new byte[rest.length + 1][];
+        all[0] = first;
+        System.arraycopy(rest, 0, all, 1, rest.length);
+        return all;
+    }
+}
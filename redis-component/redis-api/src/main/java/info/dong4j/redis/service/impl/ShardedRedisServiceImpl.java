@@ -0,0 +1,1063 @@
+package info.dong4j.redis.service.impl;
+
+import info.dong4j.redis.service.RedisService;
+import info.dong4j.redis.service.support.CursorIterator;
+import info.dong4j.redis.service.support.RedisMetrics;
+import info.dong4j.redis.service.support.ScanIterator;
+import info.dong4j.redis.service.support.ShardMigration;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import lombok.extern.slf4j.Slf4j;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Response;
+import redis.clients.jedis.ScanParams;
+import redis.clients.jedis.ScanResult;
+import redis.clients.jedis.ShardedJedis;
+import redis.clients.jedis.ShardedJedisPipeline;
+import redis.clients.jedis.SortingParams;
+import redis.clients.jedis.Tuple;
+import redis.clients.jedis.exceptions.JedisConnectionException;
+import redis.clients.util.Pool;
+
+/**
+ * <p>Description: 分片模式下的 RedisService 实现</p>
+ * 同时适用于 ShardedJedisPool 与 ShardedJedisSentinelPool.
+ * 单 key 命令直接路由到对应分片; mget/mset/del 等多 key 命令通过 {@link ShardedBatchExecutor} 按分片分组后批量发送;
+ * 其他多 key 命令要求所有 key 落在同一个分片上, 否则抛出 {@link UnsupportedOperationException}.
+ * flag 为业务标识, 所有 flag 共用同一个连接池.
+ *
+ * @author dong4j
+ * @email dong4j@gmail.com
+ * @date 2026-10-18  10:30
+ */
+@Slf4j
+public class ShardedRedisServiceImpl implements RedisService {
+    private static final String OK = "OK";
+
+    private final Pool<ShardedJedis> pool;
+    /** 记录借出连接的等待时间, 为 null 时不记录 */
+    private final RedisMetrics       metrics;
+    private final Random             random = new Random();
+
+    /**
+     * Instantiates a new Sharded redis service.
+     *
+     * @param pool ShardedJedisPool 或 ShardedJedisSentinelPool
+     */
+    public ShardedRedisServiceImpl(Pool<ShardedJedis> pool) {
+        this(pool, null);
+    }
+
+    /**
+     * Instantiates a new Sharded redis service.
+     *
+     * @param pool    ShardedJedisPool 或 ShardedJedisSentinelPool
+     * @param metrics 记录借出连接的等待时间
+     */
+    public ShardedRedisServiceImpl(Pool<ShardedJedis> pool, RedisMetrics metrics) {
+        this.pool = pool;
+        this.metrics = metrics;
+    }
+
+    /**
+     * 从连接池获取连接, ShardedJedisSentinelPool 获取失败时会返回 null, 这里统一转换为异常
+     *
+     * @return the sharded jedis
+     */
+    protected ShardedJedis getResource() {
+        ShardedJedis jedis = metrics == null ? pool.getResource() : metrics.borrow(pool);
+        if (jedis == null) {
+            throw new JedisConnectionException("Could not get a resource from the pool");
+        }
+        return jedis;
+    }
+
+    /**
+     * 获取所有 key 共同所在的分片
+     *
+     * @param shardedJedis the sharded jedis
+     * @param keys         the keys
+     * @return 分片连接
+     */
+    protected Jedis getSameShard(ShardedJedis shardedJedis, String... keys) {
+        Jedis shard = shardedJedis.getShard(keys[0]);
+        for (int i = 1; i < keys.length; i++) {
+            if (shardedJedis.getShard(keys[i]) != shard) {
+                throw new UnsupportedOperationException("keys " + Arrays.toString(keys)
+                                                        + " are not located in the same shard, "
+                                                        + "use the same {tag} with redis.sharded.keyTag=true");
+            }
+        }
+        return shard;
+    }
+
+    /**
+     * 按分片下标获取分片连接, 下标为分片列表中的位置.
+     * RoutedShardedJedisPool 与 ShardedJedisSentinelPool 的连接只借用该分片, 其他连接池按 getAllShards 的插入顺序定位
+     *
+     * @param shardedJedis the sharded jedis
+     * @param index        分片下标
+     * @return 分片连接
+     */
+    protected Jedis getShard(ShardedJedis shardedJedis, int index) {
+        if (shardedJedis instanceof ShardMigration.Shards) {
+            return ((ShardMigration.Shards) shardedJedis).shard(index);
+        }
+        Iterator<Jedis> shards = shardedJedis.getAllShards().iterator();
+        for (int i = 0; i < index; i++) {
+            shards.next();
+        }
+        return shards.next();
+    }
+
+    @Override
+    public Jedis getJedisByKey(String flag) throws Exception {
+        throw new UnsupportedOperationException("current redis model is sharding, please use getShardedJedisByKey");
+    }
+
+    @Override
+    public void returnJedisByKey(String flag, Jedis jedis) throws Exception {
+        throw new UnsupportedOperationException("current redis model is sharding, please use returnShardedJedisByKey");
+    }
+
+    @Override
+    public ShardedJedis getShardedJedisByKey(String flag) throws Exception {
+        return getResource();
+    }
+
+    @Override
+    public void returnShardedJedisByKey(String flag, ShardedJedis jedis) throws Exception {
+        if (jedis != null) {
+            jedis.close();
+        }
+    }
+
+    @Override
+    public Long append(String flag, String key, String value) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.append(key, value);
+        }
+    }
+
+    @Override
+    public List<String> blpop(String flag, int timeout, String... keys) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return getSameShard(jedis, keys).blpop(timeout, keys);
+        }
+    }
+
+    @Override
+    public List<String> brpop(String flag, int timeout, String... keys) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return getSameShard(jedis, keys).brpop(timeout, keys);
+        }
+    }
+
+    /**
+     * 各分片配置一致, 返回第一个分片的配置
+     */
+    @Override
+    public List<String> configGet(String flag, String pattern) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.getAllShards().iterator().next().configGet(pattern);
+        }
+    }
+
+    /**
+     * 对所有分片生效
+     */
+    @Override
+    public String configSet(String flag, String parameter, String value) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            String reply = OK;
+            for (Jedis shard : jedis.getAllShards()) {
+                String shardReply = shard.configSet(parameter, value);
+                if (!OK.equals(shardReply)) {
+                    reply = shardReply;
+                }
+            }
+            return reply;
+        }
+    }
+
+    @Override
+    public Long decr(String flag, String key) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.decr(key);
+        }
+    }
+
+    @Override
+    public Long decrBy(String flag, String key, long integer) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.decrBy(key, integer);
+        }
+    }
+
+    /**
+     * 每个分片发送一次 DEL, 返回所有分片删除数量之和
+     */
+    @Override
+    public Long del(String flag, String... keys) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            if (keys.length == 1) {
+                return jedis.del(keys[0]);
+            }
+            List<BatchResult<Long>> results = ShardedBatchExecutor.execute(
+                jedis, keys, new ShardedBatchExecutor.ShardCallback<Long>() {
+                    @Override
+                    public Response<Long> doInPipeline(Pipeline pipeline, String[] shardKeys) {
+                        return pipeline.del(shardKeys);
+                    }
+                });
+            long count = 0;
+            for (BatchResult<Long> result : results) {
+                count += result.getResult();
+            }
+            return count;
+        }
+    }
+
+    /**
+     * 脚本中访问的 key 无法确定分片, 分片模式下不支持
+     */
+    @Override
+    public Object eval(String flag, String script) throws Exception {
+        throw new UnsupportedOperationException("current redis model is sharding, eval without keys is not supported");
+    }
+
+    @Override
+    public Boolean exists(String flag, String key) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.exists(key);
+        }
+    }
+
+    @Override
+    public Long expire(String flag, String key, int seconds) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.expire(key, seconds);
+        }
+    }
+
+    /**
+     * 对所有分片生效
+     */
+    @Override
+    public String flushAll(String flag) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            for (Jedis shard : jedis.getAllShards()) {
+                shard.flushAll();
+            }
+            return OK;
+        }
+    }
+
+    /**
+     * 对所有分片生效
+     */
+    @Override
+    public String flushDB(String flag) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            for (Jedis shard : jedis.getAllShards()) {
+                shard.flushDB();
+            }
+            return OK;
+        }
+    }
+
+    @Override
+    public String get(String flag, String key) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.get(key);
+        }
+    }
+
+    @Override
+    public Boolean getbit(String flag, String key, long offset) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.getbit(key, offset);
+        }
+    }
+
+    @Override
+    public String getrange(String flag, String key, long startOffset, long endOffset) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.getrange(key, startOffset, endOffset);
+        }
+    }
+
+    @Override
+    public String getSet(String flag, String key, String value) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.getSet(key, value);
+        }
+    }
+
+    @Override
+    public Long hdel(String flag, String key, String... fields) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.hdel(key, fields);
+        }
+    }
+
+    @Override
+    public Boolean hexists(String flag, String key, String field) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.hexists(key, field);
+        }
+    }
+
+    @Override
+    public String hget(String flag, String key, String field) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.hget(key, field);
+        }
+    }
+
+    @Override
+    public Map<String, String> hgetAll(String flag, String key) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.hgetAll(key);
+        }
+    }
+
+    @Override
+    public Iterator<Map.Entry<String, String>> hscan(String flag, final String key, int count) throws Exception {
+        return new CursorIterator<>(new CursorIterator.PageFetcher<Map.Entry<String, String>>() {
+            @Override
+            public ScanResult<Map.Entry<String, String>> fetch(String cursor, ScanParams params) {
+                try (ShardedJedis jedis = getResource()) {
+                    return jedis.hscan(key, cursor, params);
+                }
+            }
+        }, count);
+    }
+
+    @Override
+    public Long hincrBy(String flag, String key, String field, long value) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.hincrBy(key, field, value);
+        }
+    }
+
+    @Override
+    public Set<String> hkeys(String flag, String key) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.hkeys(key);
+        }
+    }
+
+    @Override
+    public Long hlen(String flag, String key) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.hlen(key);
+        }
+    }
+
+    @Override
+    public List<String> hmget(String flag, String key, String... fields) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.hmget(key, fields);
+        }
+    }
+
+    @Override
+    public String hmset(String flag, String key, Map<String, String> hash) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.hmset(key, hash);
+        }
+    }
+
+    @Override
+    public Long hset(String flag, String key, String field, String value) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.hset(key, field, value);
+        }
+    }
+
+    @Override
+    public Long hsetnx(String flag, String key, String field, String value) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.hsetnx(key, field, value);
+        }
+    }
+
+    @Override
+    public List<String> hvals(String flag, String key) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.hvals(key);
+        }
+    }
+
+    @Override
+    public Long incr(String flag, String key) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.incr(key);
+        }
+    }
+
+    @Override
+    public Long incrBy(String flag, String key, long integer) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.incrBy(key, integer);
+        }
+    }
+
+    /**
+     * 合并所有分片的结果
+     */
+    @Override
+    public Set<String> keys(String flag, String pattern) throws Exception {
+        return ScanIterator.collect(scan(flag, pattern, ScanIterator.DEFAULT_COUNT, null));
+    }
+
+    /**
+     * 依次遍历每个分片, 每一页重新从连接池获取连接, 按分片下标定位
+     */
+    @Override
+    public Iterator<String> scan(String flag, String pattern, int count, String type) throws Exception {
+        int shards;
+        try (ShardedJedis jedis = getResource()) {
+            shards = jedis.getAllShards().size();
+        }
+        List<ScanIterator.NodeScanner> nodes = new ArrayList<>(shards);
+        for (int i = 0; i < shards; i++) {
+            final int index = i;
+            nodes.add(new ScanIterator.NodeScanner() {
+                @Override
+                public ScanResult<String> scan(String cursor, ScanParams params, String type) {
+                    try (ShardedJedis jedis = getResource()) {
+                        return ScanIterator.scan(getShard(jedis, index), cursor, params, type);
+                    }
+                }
+            });
+        }
+        return new ScanIterator(nodes, pattern, count, type);
+    }
+
+    @Override
+    public String lindex(String flag, String key, long index) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.lindex(key, index);
+        }
+    }
+
+    @Override
+    public Long llen(String flag, String key) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.llen(key);
+        }
+    }
+
+    @Override
+    public String lpop(String flag, String key) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.lpop(key);
+        }
+    }
+
+    @Override
+    public Long lpush(String flag, String key, String... strings) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.lpush(key, strings);
+        }
+    }
+
+    @Override
+    public Long lpushx(String flag, String key, String string) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.lpushx(key, string);
+        }
+    }
+
+    @Override
+    public List<String> lrange(String flag, String key, long start, long end) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.lrange(key, start, end);
+        }
+    }
+
+    @Override
+    public Long lrem(String flag, String key, long count, String value) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.lrem(key, count, value);
+        }
+    }
+
+    @Override
+    public String lset(String flag, String key, long index, String value) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.lset(key, index, value);
+        }
+    }
+
+    @Override
+    public String ltrim(String flag, String key, long start, long end) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.ltrim(key, start, end);
+        }
+    }
+
+    /**
+     * 每个分片发送一次 MGET, 结果按 keys 的顺序返回
+     */
+    @Override
+    public List<String> mget(String flag, String... keys) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            List<BatchResult<List<String>>> results = ShardedBatchExecutor.execute(
+                jedis, keys, new ShardedBatchExecutor.ShardCallback<List<String>>() {
+                    @Override
+                    public Response<List<String>> doInPipeline(Pipeline pipeline, String[] shardKeys) {
+                        return pipeline.mget(shardKeys);
+                    }
+                });
+            String[] values = new String[keys.length];
+            for (BatchResult<List<String>> result : results) {
+                int[]        positions   = result.getPositions();
+                List<String> shardValues = result.getResult();
+                for (int i = 0; i < positions.length; i++) {
+                    values[positions[i]] = shardValues.get(i);
+                }
+            }
+            return Arrays.asList(values);
+        }
+    }
+
+    @Override
+    public Long move(String flag, String key, int dbIndex) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.move(key, dbIndex);
+        }
+    }
+
+    /**
+     * 每个分片发送一次 MSET, 不保证跨分片的原子性
+     */
+    @Override
+    public String mset(String flag, final String... keysvalues) throws Exception {
+        final String[] keys = keys(keysvalues);
+        try (ShardedJedis jedis = getResource()) {
+            List<BatchResult<String>> results = ShardedBatchExecutor.execute(
+                jedis, keys, new ShardedBatchExecutor.ShardCallback<String>() {
+                    @Override
+                    public Response<String> doInPipeline(Pipeline pipeline, String[] shardKeys) {
+                        return pipeline.mset(groupKeysValues(keys, keysvalues, shardKeys));
+                    }
+                });
+            for (BatchResult<String> result : results) {
+                if (!OK.equals(result.getResult())) {
+                    return result.getResult();
+                }
+            }
+            return OK;
+        }
+    }
+
+    /**
+     * MSETNX 需要保证原子性, 所有 key 必须在同一个分片上
+     */
+    @Override
+    public Long msetnx(String flag, String... keysvalues) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return getSameShard(jedis, keys(keysvalues)).msetnx(keysvalues);
+        }
+    }
+
+    /**
+     * 根据 channel 选择分片, 订阅方需要订阅同一个分片
+     */
+    @Override
+    public Long publish(String flag, String channel, String message) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.getShard(channel).publish(channel, message);
+        }
+    }
+
+    /**
+     * 随机选择一个分片
+     */
+    @Override
+    public String randomKey(String flag) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            List<Jedis> shards = new ArrayList<>(jedis.getAllShards());
+            return shards.get(random.nextInt(shards.size())).randomKey();
+        }
+    }
+
+    @Override
+    public String rename(String flag, String oldkey, String newkey) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return getSameShard(jedis, oldkey, newkey).rename(oldkey, newkey);
+        }
+    }
+
+    @Override
+    public Long renamenx(String flag, String oldkey, String newkey) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return getSameShard(jedis, oldkey, newkey).renamenx(oldkey, newkey);
+        }
+    }
+
+    @Override
+    public String rpop(String flag, String key) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.rpop(key);
+        }
+    }
+
+    @Override
+    public String rpoplpush(String flag, String srckey, String dstkey) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return getSameShard(jedis, srckey, dstkey).rpoplpush(srckey, dstkey);
+        }
+    }
+
+    @Override
+    public Long rpush(String flag, String key, String... strings) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.rpush(key, strings);
+        }
+    }
+
+    @Override
+    public Long rpushx(String flag, String key, String string) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.rpushx(key, string);
+        }
+    }
+
+    @Override
+    public Long sadd(String flag, String key, String... members) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.sadd(key, members);
+        }
+    }
+
+    @Override
+    public Long scard(String flag, String key) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.scard(key);
+        }
+    }
+
+    @Override
+    public Set<String> sdiff(String flag, String... keys) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return getSameShard(jedis, keys).sdiff(keys);
+        }
+    }
+
+    @Override
+    public Long sdiffstore(String flag, String dstkey, String... keys) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return getSameShard(jedis, concat(dstkey, keys)).sdiffstore(dstkey, keys);
+        }
+    }
+
+    /**
+     * 连接池中的连接共享 db, 分片模式下不允许切换
+     */
+    @Override
+    public String select(String flag, int index) throws Exception {
+        throw new UnsupportedOperationException("current redis model is sharding, select is not supported");
+    }
+
+    @Override
+    public String set(String flag, String key, String value) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.set(key, value);
+        }
+    }
+
+    @Override
+    public Boolean setbit(String flag, String key, long offset, boolean value) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.setbit(key, offset, value);
+        }
+    }
+
+    @Override
+    public String setex(String flag, String key, int seconds, String value) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.setex(key, seconds, value);
+        }
+    }
+
+    @Override
+    public Long setnx(String flag, String key, String value) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.setnx(key, value);
+        }
+    }
+
+    @Override
+    public Long setrange(String flag, String key, long offset, String value) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.setrange(key, offset, value);
+        }
+    }
+
+    @Override
+    public Set<String> sinter(String flag, String... keys) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return getSameShard(jedis, keys).sinter(keys);
+        }
+    }
+
+    @Override
+    public Set<String> smembers(String flag, String key) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.smembers(key);
+        }
+    }
+
+    @Override
+    public Iterator<String> sscan(String flag, final String key, int count) throws Exception {
+        return new CursorIterator<>(new CursorIterator.PageFetcher<String>() {
+            @Override
+            public ScanResult<String> fetch(String cursor, ScanParams params) {
+                try (ShardedJedis jedis = getResource()) {
+                    return jedis.sscan(key, cursor, params);
+                }
+            }
+        }, count);
+    }
+
+    @Override
+    public Long smove(String flag, String srckey, String dstkey, String member) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return getSameShard(jedis, srckey, dstkey).smove(srckey, dstkey, member);
+        }
+    }
+
+    @Override
+    public List<String> sort(String flag, String key) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.sort(key);
+        }
+    }
+
+    @Override
+    public List<String> sort(String flag, String key, SortingParams sortingParameters) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.sort(key, sortingParameters);
+        }
+    }
+
+    @Override
+    public Long sort(String flag, String key, SortingParams sortingParameters, String dstkey) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return getSameShard(jedis, key, dstkey).sort(key, sortingParameters, dstkey);
+        }
+    }
+
+    @Override
+    public Long sort(String flag, String key, String dstkey) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return getSameShard(jedis, key, dstkey).sort(key, dstkey);
+        }
+    }
+
+    @Override
+    public String spop(String flag, String key) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.spop(key);
+        }
+    }
+
+    @Override
+    public String srandmember(String flag, String key) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.srandmember(key);
+        }
+    }
+
+    @Override
+    public List<String> srandmember(String flag, String key, int count) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.srandmember(key, count);
+        }
+    }
+
+    @Override
+    public Long strlen(String flag, String key) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.strlen(key);
+        }
+    }
+
+    @Override
+    public String substr(String flag, String key, int start, int end) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.substr(key, start, end);
+        }
+    }
+
+    @Override
+    public Long zadd(String flag, String key, double score, String member) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.zadd(key, score, member);
+        }
+    }
+
+    @Override
+    public Long zadd(String flag, String key, Map<String, Double> scoreMembers) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.zadd(key, scoreMembers);
+        }
+    }
+
+    @Override
+    public Long zcount(String flag, String key, double min, double max) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.zcount(key, min, max);
+        }
+    }
+
+    @Override
+    public Long zcard(String flag, String key) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.zcard(key);
+        }
+    }
+
+    @Override
+    public Set<String> zrange(String flag, String key, long start, long end) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.zrange(key, start, end);
+        }
+    }
+
+    @Override
+    public Iterator<Tuple> zscan(String flag, final String key, int count) throws Exception {
+        return new CursorIterator<>(new CursorIterator.PageFetcher<Tuple>() {
+            @Override
+            public ScanResult<Tuple> fetch(String cursor, ScanParams params) {
+                try (ShardedJedis jedis = getResource()) {
+                    return jedis.zscan(key, cursor, params);
+                }
+            }
+        }, count);
+    }
+
+    @Override
+    public Long zrank(String flag, String key, String member) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.zrank(key, member);
+        }
+    }
+
+    @Override
+    public Double zscore(String flag, String key, String member) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.zscore(key, member);
+        }
+    }
+
+    @Override
+    public Set<String> zrangeByScore(String flag, String key, double min, double max) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.zrangeByScore(key, min, max);
+        }
+    }
+
+    @Override
+    public Set<String> zrangeByScore(String flag, String key, double min, double max, int offset, int count) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.zrangeByScore(key, min, max, offset, count);
+        }
+    }
+
+    @Override
+    public Set<String> zrangeByScore(String flag, String key, String min, String max) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.zrangeByScore(key, min, max);
+        }
+    }
+
+    @Override
+    public Set<String> zrangeByScore(String flag, String key, String min, String max, int offset, int count) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.zrangeByScore(key, min, max, offset, count);
+        }
+    }
+
+    @Override
+    public Set<Tuple> zrevrangeWithScores(String flag, String key, long start, long end) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.zrevrangeWithScores(key, start, end);
+        }
+    }
+
+    @Override
+    public Long zrevrank(String flag, String key, String member) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.zrevrank(key, member);
+        }
+    }
+
+    @Override
+    public Set<String> zrevrange(String flag, String key, long start, long end) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.zrevrange(key, start, end);
+        }
+    }
+
+    @Override
+    public Set<Tuple> zrangeWithScores(String flag, String key, long start, long end) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.zrangeWithScores(key, start, end);
+        }
+    }
+
+    @Override
+    public Long srem(String flag, String key, String... members) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.srem(key, members);
+        }
+    }
+
+    @Override
+    public Boolean sismember(String flag, String key, String member) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.sismember(key, member);
+        }
+    }
+
+    @Override
+    public Long zrem(String flag, String key, String... members) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.zrem(key, members);
+        }
+    }
+
+    @Override
+    public Double zincrby(String flag, String key, double increment, String member) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            return jedis.zincrby(key, increment, member);
+        }
+    }
+
+    @Override
+    public List<Object> setAndExpire(String flag, String key, String value, int seconds) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            ShardedJedisPipeline pipeline = jedis.pipelined();
+            pipeline.set(key, value);
+            pipeline.expire(key, seconds);
+            return pipeline.syncAndReturnAll();
+        }
+    }
+
+    @Override
+    public List<Object> lpushAndExpire(String flag, int seconds, String key, String... strings) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            ShardedJedisPipeline pipeline = jedis.pipelined();
+            pipeline.lpush(key, strings);
+            pipeline.expire(key, seconds);
+            return pipeline.syncAndReturnAll();
+        }
+    }
+
+    @Override
+    public List<Object> rpushAndExpire(String flag, int seconds, String key, String... strings) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            ShardedJedisPipeline pipeline = jedis.pipelined();
+            pipeline.rpush(key, strings);
+            pipeline.expire(key, seconds);
+            return pipeline.syncAndReturnAll();
+        }
+    }
+
+    @Override
+    public List<Object> saddAndExpire(String flag, int seconds, String key, String... members) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            ShardedJedisPipeline pipeline = jedis.pipelined();
+            pipeline.sadd(key, members);
+            pipeline.expire(key, seconds);
+            return pipeline.syncAndReturnAll();
+        }
+    }
+
+    @Override
+    public List<Object> zaddAndExpire(String flag, String key, Map<String, Double> scoreMembers, int seconds) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            ShardedJedisPipeline pipeline = jedis.pipelined();
+            pipeline.zadd(key, scoreMembers);
+            pipeline.expire(key, seconds);
+            return pipeline.syncAndReturnAll();
+        }
+    }
+
+    @Override
+    public List<Object> hmsetAndExpire(String flag, String key, Map<String, String> hash, int seconds) throws Exception {
+        try (ShardedJedis jedis = getResource()) {
+            ShardedJedisPipeline pipeline = jedis.pipelined();
+            pipeline.hmset(key, hash);
+            pipeline.expire(key, seconds);
+            return pipeline.syncAndReturnAll();
+        }
+    }
+
+    /**
+     * 从 k1 v1 k2 v2 ... 中取出所有 key
+     *
+     * @param keysvalues the keysvalues
+     * @return the string [ ]
+     */
+    static String[] keys(String... keysvalues) {
+        if (keysvalues.length % 2 != 0) {
+            throw new IllegalArgumentException("keysvalues must be key value pairs");
+        }
+        String[] keys = new String[keysvalues.length / 2];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = keysvalues[i * 2];
+        }
+        return keys;
+    }
+
+    /**
+     * 根据分组内的 key 重新组装 k1 v1 k2 v2 ...
+     * 同一个 key 出现多次时, 保留全部出现, 由服务端按最后一次出现的 value 生效, 与 MSET 的语义一致
+     *
+     * @param keys       全部 key
+     * @param keysvalues 全部 key value
+     * @param groupKeys  分组(分片或 slot)内的 key
+     * @return the string [ ]
+     */
+    static String[] groupKeysValues(String[] keys, String[] keysvalues, String[] groupKeys) {
+        Collection<String> wanted  = new HashSet<>(Arrays.asList(groupKeys));
+        List<String>       builder = new ArrayList<>(groupKeys.length * 2);
+        for (int i = 0; i < keys.length; i++) {
+            if (wanted.contains(keys[i])) {
+                builder.add(keys[i]);
+                builder.add(keysvalues[i * 2 + 1]);
+            }
+        }
+        return builder.toArray(new String[builder.size()]);
+    }
+
+    /**
+     * Concat string [ ].
+     *
+     * @param first the first
+     * @param rest  the rest
+     * @return the string [ ]
+     */
+    static String[] concat(String first, String... rest) {
+        String[] all = new String[rest.length + 1];
+        all[0] = first;
+        System.arraycopy(rest, 0, all, 1, rest.length);
+        return all;
+    }
+}
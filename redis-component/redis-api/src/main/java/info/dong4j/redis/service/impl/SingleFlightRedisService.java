@@ -0,0 +1,413 @@
+package info.dong4j.redis.service.impl;
+
+import info.dong4j.redis.service.RedisService;
+import info.dong4j.redis.service.support.SingleFlight;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+
+import redis.clients.jedis.Tuple;
+
+/**
+ * <p>Description: 合并并发相同读请求的 RedisService</p>
+ * 热点 key 过期时大量线程同时读取同一个 key, 每个线程都会从连接池借用连接并让 redis 执行相同的命令.
+ * 这里对只读命令按 命令 + flag + 参数 合并, 同一时刻只有一个请求访问 redis, 其余请求共享它的结果,
+ * 连接占用与 redis 的重复工作都只与不同 key 的数量有关. 集合类型的结果每个等待者拿到独立的副本.
+ * 共享的结果可能早于等待者自己发起请求的时间点, 需要读到自己刚写入的值的调用不要经过本服务.
+ *
+ * @author dong4j
+ * @email dong4j@gmail.com
+ * @date 2026-10-18  18:20
+ */
+public class SingleFlightRedisService extends ForwardingRedisService {
+    private static final SingleFlight.Copier<Map<String, String>> MAP    = new SingleFlight.Copier<Map<String, String>>() {
+        @Override
+        public Map<String, String> copy(Map<String, String> value) {
+            return new HashMap<>(value);
+        }
+    };
+    private static final SingleFlight.Copier<List<String>>        LIST   = new SingleFlight.Copier<List<String>>() {
+        @Override
+        public List<String> copy(List<String> value) {
+            return new ArrayList<>(value);
+        }
+    };
+    private static final SingleFlight.Copier<Set<String>>         SET    = new SingleFlight.Copier<Set<String>>() {
+        @Override
+        public Set<String> copy(Set<String> value) {
+            return new LinkedHashSet<>(value);
+        }
+    };
+    private static final SingleFlight.Copier<Set<Tuple>>          TUPLES = new SingleFlight.Copier<Set<Tuple>>() {
+        @Override
+        public Set<Tuple> copy(Set<Tuple> value) {
+            return new LinkedHashSet<>(value);
+        }
+    };
+
+    private final SingleFlight singleFlight = new SingleFlight();
+
+    /**
+     * Instantiates a new Single flight redis service.
+     *
+     * @param delegate 被装饰的 RedisService
+     */
+    public SingleFlightRedisService(RedisService delegate) {
+        super(delegate);
+    }
+
+    /**
+     * Gets single flight.
+     *
+     * @return the single flight
+     */
+    public SingleFlight getSingleFlight() {
+        return singleFlight;
+    }
+
+    /**
+     * 请求标识: 命令 + flag + 参数, 每一部分以 长度:内容 编码, 避免参数中的分隔符产生歧义
+     *
+     * @param command the command
+     * @param flag    the flag
+     * @param args    the args
+     * @return the string
+     */
+    static String flightKey(String command, String flag, Object... args) {
+        StringBuilder key = new StringBuilder(command).append(' ');
+        append(key, flag);
+        for (Object arg : args) {
+            if (arg instanceof String[]) {
+                for (String element : (String[]) arg) {
+                    append(key, element);
+                }
+            } else {
+                append(key, String.valueOf(arg));
+            }
+        }
+        return key.toString();
+    }
+
+    private static void append(StringBuilder key, String part) {
+        if (part == null) {
+            key.append('-');
+            return;
+        }
+        key.append(part.length()).append(':').append(part);
+    }
+
+    @Override
+    public Boolean exists(final String flag, final String key) throws Exception {
+        return singleFlight.execute(flightKey("exists", flag, key), new Callable<Boolean>() {
+            @Override
+            public Boolean call() throws Exception {
+                return delegate.exists(flag, key);
+            }
+        }, null);
+    }
+
+    @Override
+    public String get(final String flag, final String key) throws Exception {
+        return singleFlight.execute(flightKey("get", flag, key), new Callable<String>() {
+            @Override
+            public String call() throws Exception {
+                return delegate.get(flag, key);
+            }
+        }, null);
+    }
+
+    @Override
+    public String getrange(final String flag, final String key, final long startOffset, final long endOffset) throws Exception {
+        return singleFlight.execute(flightKey("getrange", flag, key, startOffset, endOffset), new Callable<String>() {
+            @Override
+            public String call() throws Exception {
+                return delegate.getrange(flag, key, startOffset, endOffset);
+            }
+        }, null);
+    }
+
+    @Override
+    public Boolean hexists(final String flag, final String key, final String field) throws Exception {
+        return singleFlight.execute(flightKey("hexists", flag, key, field), new Callable<Boolean>() {
+            @Override
+            public Boolean call() throws Exception {
+                return delegate.hexists(flag, key, field);
+            }
+        }, null);
+    }
+
+    @Override
+    public String hget(final String flag, final String key, final String field) throws Exception {
+        return singleFlight.execute(flightKey("hget", flag, key, field), new Callable<String>() {
+            @Override
+            public String call() throws Exception {
+                return delegate.hget(flag, key, field);
+            }
+        }, null);
+    }
+
+    @Override
+    public Map<String, String> hgetAll(final String flag, final String key) throws Exception {
+        return singleFlight.execute(flightKey("hgetAll", flag, key), new Callable<Map<String, String>>() {
+            @Override
+            public Map<String, String> call() throws Exception {
+                return delegate.hgetAll(flag, key);
+            }
+        }, MAP);
+    }
+
+    @Override
+    public Set<String> hkeys(final String flag, final String key) throws Exception {
+        return singleFlight.execute(flightKey("hkeys", flag, key), new Callable<Set<String>>() {
+            @Override
+            public Set<String> call() throws Exception {
+                return delegate.hkeys(flag, key);
+            }
+        }, SET);
+    }
+
+    @Override
+    public Long hlen(final String flag, final String key) throws Exception {
+        return singleFlight.execute(flightKey("hlen", flag, key), new Callable<Long>() {
+            @Override
+            public Long call() throws Exception {
+                return delegate.hlen(flag, key);
+            }
+        }, null);
+    }
+
+    @Override
+    public List<String> hmget(final String flag, final String key, final String... fields) throws Exception {
+        return singleFlight.execute(flightKey("hmget", flag, key, fields), new Callable<List<String>>() {
+            @Override
+            public List<String> call() throws Exception {
+                return delegate.hmget(flag, key, fields);
+            }
+        }, LIST);
+    }
+
+    @Override
+    public List<String> hvals(final String flag, final String key) throws Exception {
+        return singleFlight.execute(flightKey("hvals", flag, key), new Callable<List<String>>() {
+            @Override
+            public List<String> call() throws Exception {
+                return delegate.hvals(flag, key);
+            }
+        }, LIST);
+    }
+
+    @Override
+    public String lindex(final String flag, final String key, final long index) throws Exception {
+        return singleFlight.execute(flightKey("lindex", flag, key, index), new Callable<String>() {
+            @Override
+            public String call() throws Exception {
+                return delegate.lindex(flag, key, index);
+            }
+        }, null);
+    }
+
+    @Override
+    public Long llen(final String flag, final String key) throws Exception {
+        return singleFlight.execute(flightKey("llen", flag, key), new Callable<Long>() {
+            @Override
+            public Long call() throws Exception {
+                return delegate.llen(flag, key);
+            }
+        }, null);
+    }
+
+    @Override
+    public List<String> lrange(final String flag, final String key, final long start, final long end) throws Exception {
+        return singleFlight.execute(flightKey("lrange", flag, key, start, end), new Callable<List<String>>() {
+            @Override
+            public List<String> call() throws Exception {
+                return delegate.lrange(flag, key, start, end);
+            }
+        }, LIST);
+    }
+
+    @Override
+    public List<String> mget(final String flag, final String... keys) throws Exception {
+        return singleFlight.execute(flightKey("mget", flag, (Object[]) keys), new Callable<List<String>>() {
+            @Override
+            public List<String> call() throws Exception {
+                return delegate.mget(flag, keys);
+            }
+        }, LIST);
+    }
+
+    @Override
+    public Long scard(final String flag, final String key) throws Exception {
+        return singleFlight.execute(flightKey("scard", flag, key), new Callable<Long>() {
+            @Override
+            public Long call() throws Exception {
+                return delegate.scard(flag, key);
+            }
+        }, null);
+    }
+
+    @Override
+    public Set<String> smembers(final String flag, final String key) throws Exception {
+        return singleFlight.execute(flightKey("smembers", flag, key), new Callable<Set<String>>() {
+            @Override
+            public Set<String> call() throws Exception {
+                return delegate.smembers(flag, key);
+            }
+        }, SET);
+    }
+
+    @Override
+    public Long strlen(final String flag, final String key) throws Exception {
+        return singleFlight.execute(flightKey("strlen", flag, key), new Callable<Long>() {
+            @Override
+            public Long call() throws Exception {
+                return delegate.strlen(flag, key);
+            }
+        }, null);
+    }
+
+    @Override
+    public Long zcount(final String flag, final String key, final double min, final double max) throws Exception {
+        return singleFlight.execute(flightKey("zcount", flag, key, min, max), new Callable<Long>() {
+            @Override
+            public Long call() throws Exception {
+                return delegate.zcount(flag, key, min, max);
+            }
+        }, null);
+    }
+
+    @Override
+    public Long zcard(final String flag, final String key) throws Exception {
+        return singleFlight.execute(flightKey("zcard", flag, key), new Callable<Long>() {
+            @Override
+            public Long call() throws Exception {
+                return delegate.zcard(flag, key);
+            }
+        }, null);
+    }
+
+    @Override
+    public Set<String> zrange(final String flag, final String key, final long start, final long end) throws Exception {
+        return singleFlight.execute(flightKey("zrange", flag, key, start, end), new Callable<Set<String>>() {
+            @Override
+            public Set<String> call() throws Exception {
+                return delegate.zrange(flag, key, start, end);
+            }
+        }, SET);
+    }
+
+    @Override
+    public Long zrank(final String flag, final String key, final String member) throws Exception {
+        return singleFlight.execute(flightKey("zrank", flag, key, member), new Callable<Long>() {
+            @Override
+            public Long call() throws Exception {
+                return delegate.zrank(flag, key, member);
+            }
+        }, null);
+    }
+
+    @Override
+    public Double zscore(final String flag, final String key, final String member) throws Exception {
+        return singleFlight.execute(flightKey("zscore", flag, key, member), new Callable<Double>() {
+            @Override
+            public Double call() throws Exception {
+                return delegate.zscore(flag, key, member);
+            }
+        }, null);
+    }
+
+    @Override
+    public Set<String> zrangeByScore(final String flag, final String key, final double min, final double max) throws Exception {
+        return singleFlight.execute(flightKey("zrangeByScore", flag, key, min, max), new Callable<Set<String>>() {
+            @Override
+            public Set<String> call() throws Exception {
+                return delegate.zrangeByScore(flag, key, min, max);
+            }
+        }, SET);
+    }
+
+    @Override
+    public Set<String> zrangeByScore(final String flag, final String key, final double min, final double max, final int offset, final int count) throws Exception {
+        return singleFlight.execute(flightKey("zrangeByScore", flag, key, min, max, offset, count), new Callable<Set<String>>() {
+            @Override
+            public Set<String> call() throws Exception {
+                return delegate.zrangeByScore(flag, key, min, max, offset, count);
+            }
+        }, SET);
+    }
+
+    @Override
+    public Set<String> zrangeByScore(final String flag, final String key, final String min, final String max) throws Exception {
+        return singleFlight.execute(flightKey("zrangeByScore", flag, key, min, max), new Callable<Set<String>>() {
+            @Override
+            public Set<String> call() throws Exception {
+                return delegate.zrangeByScore(flag, key, min, max);
+            }
+        }, SET);
+    }
+
+    @Override
+    public Set<String> zrangeByScore(final String flag, final String key, final String min, final String max, final int offset, final int count) throws Exception {
+        return singleFlight.execute(flightKey("zrangeByScore", flag, key, min, max, offset, count), new Callable<Set<String>>() {
+            @Override
+            public Set<String> call() throws Exception {
+                return delegate.zrangeByScore(flag, key, min, max, offset, count);
+            }
+        }, SET);
+    }
+
+    @Override
+    public Set<Tuple> zrevrangeWithScores(final String flag, final String key, final long start, final long end) throws Exception {
+        return singleFlight.execute(flightKey("zrevrangeWithScores", flag, key, start, end), new Callable<Set<Tuple>>() {
+            @Override
+            public Set<Tuple> call() throws Exception {
+                return delegate.zrevrangeWithScores(flag, key, start, end);
+            }
+        }, TUPLES);
+    }
+
+    @Override
+    public Long zrevrank(final String flag, final String key, final String member) throws Exception {
+        return singleFlight.execute(flightKey("zrevrank", flag, key, member), new Callable<Long>() {
+            @Override
+            public Long call() throws Exception {
+                return delegate.zrevrank(flag, key, member);
+            }
+        }, null);
+    }
+
+    @Override
+    public Set<String> zrevrange(final String flag, final String key, final long start, final long end) throws Exception {
+        return singleFlight.execute(flightKey("zrevrange", flag, key, start, end), new Callable<Set<String>>() {
+            @Override
+            public Set<String> call() throws Exception {
+                return delegate.zrevrange(flag, key, start, end);
+            }
+        }, SET);
+    }
+
+    @Override
+    public Set<Tuple> zrangeWithScores(final String flag, final String key, final long start, final long end) throws Exception {
+        return singleFlight.execute(flightKey("zrangeWithScores", flag, key, start, end), new Callable<Set<Tuple>>() {
+            @Override
+            public Set<Tuple> call() throws Exception {
+                return delegate.zrangeWithScores(flag, key, start, end);
+            }
+        }, TUPLES);
+    }
+
+    @Override
+    public Boolean sismember(final String flag, final String key, final String member) throws Exception {
+        return singleFlight.execute(flightKey("sismember", flag, key, member), new Callable<Boolean>() {
+            @Override
+            public Boolean call() throws Exception {
+                return delegate.sismember(flag, key, member);
+            }
+        }, null);
+    }
+}
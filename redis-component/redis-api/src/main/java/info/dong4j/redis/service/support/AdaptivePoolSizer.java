@@ -0,0 +1,215 @@
+package info.dong4j.redis.service.support;
+
+import org.apache.commons.pool2.impl.GenericObjectPool;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import lombok.extern.slf4j.Slf4j;
+import redis.clients.util.Pool;
+
+/**
+ * <p>Description: 根据借出等待时间动态调整连接池大小</p>
+ * 每个周期按 Little 定律估算需要的连接数: 借出速率 × 平均借出时长(包含 redis 的响应时间), 再乘以 headroom 作为余量.
+ * 有线程等待连接或平均等待时间超过 targetWaitMillis 时按 1.5 倍扩容, 负载下降后每个周期最多缩小 10%,
+ * maxIdle 不超过新的 maxTotal 与配置的 maxIdle, 多余的空闲连接在归还时关闭. 连接数始终在 [minTotal, maxTotal] 之间,
+ * maxTotal 为配置的 redis.pool.maxActive, 应对突发流量的上限不变.
+ * 连接池重新 initPool 时会替换内部对象池, 因此每个周期通过 {@link JedisPools} 重新获取内部对象池.
+ *
+ * @author dong4j
+ * @email dong4j@gmail.com
+ * @date 2026-10-18  23:55
+ */
+@Slf4j
+public class AdaptivePoolSizer {
+    /**
+     * 提供需要调整的连接池, 每个周期调用一次, 集群模式下节点变化后返回新的连接池
+     */
+    public interface PoolProvider {
+        /**
+         * 需要调整的连接池
+         *
+         * @return the pools
+         */
+        Collection<? extends Pool<?>> getPools();
+    }
+
+    private final PoolProvider             provider;
+    private final int                      minTotal;
+    private final int                      maxTotal;
+    private final long                     targetWaitMillis;
+    private final double                   headroom;
+    private final ScheduledExecutorService scheduler;
+    /** 只在调整线程中访问 */
+    private final Map<GenericObjectPool<?>, Sample> samples = new IdentityHashMap<>();
+
+    /**
+     * Instantiates a new Adaptive pool sizer.
+     *
+     * @param pool             the pool
+     * @param minTotal         最少保留的连接数
+     * @param maxTotal         最多允许的连接数
+     * @param targetWaitMillis 平均借出等待时间超过该值时扩容
+     * @param headroom         估算连接数的余量系数
+     * @param intervalMillis   调整周期(毫秒)
+     */
+    public AdaptivePoolSizer(final Pool<?> pool, int minTotal, int maxTotal, long targetWaitMillis,
+                             double headroom, long intervalMillis) {
+        this(new PoolProvider() {
+            @Override
+            public Collection<? extends Pool<?>> getPools() {
+                return Collections.singletonList(pool);
+            }
+        }, minTotal, maxTotal, targetWaitMillis, headroom, intervalMillis);
+    }
+
+    /**
+     * Instantiates a new Adaptive pool sizer.
+     *
+     * @param provider         the provider
+     * @param minTotal         每个连接池最少保留的连接数
+     * @param maxTotal         每个连接池最多允许的连接数
+     * @param targetWaitMillis 平均借出等待时间超过该值时扩容
+     * @param headroom         估算连接数的余量系数
+     * @param intervalMillis   调整周期(毫秒), 小于等于 0 时不启动调整线程
+     */
+    public AdaptivePoolSizer(PoolProvider provider, int minTotal, int maxTotal, long targetWaitMillis,
+                             double headroom, long intervalMillis) {
+        if (minTotal <= 0 || minTotal > maxTotal) {
+            throw new IllegalArgumentException("pool size bounds must satisfy 0 < minTotal <= maxTotal, minTotal = "
+                                               + minTotal + ", maxTotal = " + maxTotal);
+        }
+        this.provider = provider;
+        this.minTotal = minTotal;
+        this.maxTotal = maxTotal;
+        this.targetWaitMillis = targetWaitMillis;
+        this.headroom = Math.max(1, headroom);
+        if (intervalMillis <= 0) {
+            this.scheduler = null;
+            return;
+        }
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread thread = new Thread(r, "redis-pool-sizer");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        this.scheduler.scheduleWithFixedDelay(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    adjust();
+                } catch (Exception e) {
+                    log.warn("Adjust redis pool size failed. " + e.getMessage());
+                }
+            }
+        }, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 调整所有连接池
+     */
+    void adjust() {
+        Map<GenericObjectPool<?>, Sample> current = new IdentityHashMap<>();
+        for (Pool<?> pool : provider.getPools()) {
+            GenericObjectPool<?> internalPool = JedisPools.internalPool(pool);
+            if (internalPool == null || internalPool.isClosed()) {
+                continue;
+            }
+            current.put(internalPool, adjust(internalPool, samples.get(internalPool)));
+        }
+        // 丢弃已关闭或已替换的连接池
+        samples.clear();
+        samples.putAll(current);
+    }
+
+    /**
+     * 调整单个连接池
+     *
+     * @param pool     内部对象池
+     * @param previous 上个周期的采样, 第一次调整时为 null
+     * @return 本周期的采样
+     */
+    private Sample adjust(GenericObjectPool<?> pool, Sample previous) {
+        // 配置的 maxIdle 在第一次采样时记录, 之后的调整不会超过它
+        int    maxIdle = previous == null ? pool.getMaxIdle() : previous.maxIdle;
+        Sample sample  = new Sample(System.nanoTime(), pool.getBorrowedCount(), maxIdle);
+        if (previous == null) {
+            return sample;
+        }
+        long    borrowed = sample.borrowed - previous.borrowed;
+        double  seconds  = Math.max(1, sample.nanos - previous.nanos) / 1e9;
+        // Little 定律: 平均同时借出的连接数 = 借出速率 × 平均借出时长
+        double  inUse    = borrowed / seconds * pool.getMeanActiveTimeMillis() / 1000;
+        int     demand   = (int) Math.ceil(Math.max(inUse, pool.getNumActive()) * headroom);
+        boolean starving = pool.getNumWaiters() > 0
+                           || borrowed > 0 && pool.getMeanBorrowWaitTimeMillis() > targetWaitMillis;
+
+        int size   = pool.getMaxTotal() < 0 ? maxTotal : pool.getMaxTotal();
+        int target = size(size, demand, starving);
+        if (target != size) {
+            pool.setMaxTotal(target);
+            pool.setMaxIdle(maxIdle < 0 ? target : Math.min(maxIdle, target));
+            log.debug("Resize redis pool from " + size + " to " + target + ", demand = " + demand
+                      + ", starving = " + starving);
+        }
+        return sample;
+    }
+
+    /**
+     * 计算新的连接池大小
+     *
+     * @param size     当前大小
+     * @param demand   估算需要的连接数
+     * @param starving 是否有借出等待
+     * @return the int
+     */
+    int size(int size, int demand, boolean starving) {
+        int target;
+        if (starving) {
+            target = Math.max(demand, size + Math.max(1, size / 2));
+        } else if (demand < size) {
+            target = Math.max(demand, size - Math.max(1, size / 10));
+        } else {
+            target = demand;
+        }
+        return Math.min(maxTotal, Math.max(minTotal, target));
+    }
+
+    /**
+     * 停止调整
+     */
+    public void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * <p>Description: 一个周期的采样 </p>
+     *
+     * @author dong4j
+     * @email dong4j@gmail.com
+     * @date 2026-10-18  23:55
+     */
+    private static class Sample {
+        private final long nanos;
+        private final long borrowed;
+        /** 配置的 maxIdle, 负数表示不限制 */
+        private final int  maxIdle;
+
+        Sample(long nanos, long borrowed, int maxIdle) {
+            this.nanos = nanos;
+            this.borrowed = borrowed;
+            this.maxIdle = maxIdle;
+        }
+    }
+}
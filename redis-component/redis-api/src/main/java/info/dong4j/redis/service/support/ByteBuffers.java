@@ -0,0 +1,32 @@
+package info.dong4j.redis.service.support;
+
+import java.nio.ByteBuffer;
+
+/**
+ * <p>Description: 把二进制命令的结果写入调用方提供的 ByteBuffer</p>
+ *
+ * @author dong4j
+ * @email dong4j@gmail.com
+ * @date 2026-10-18  23:59
+ */
+public final class ByteBuffers {
+
+    private ByteBuffers() {
+    }
+
+    /**
+     * 从 target 当前的 position 开始写入 value, 写入后 position 后移 value 的长度.
+     * 剩余空间不足时抛出 {@link java.nio.BufferOverflowException}, target 保持不变
+     *
+     * @param value  命令返回的 value, 为 null 表示不存在
+     * @param target the target
+     * @return value 的字节数, value 为 null 时返回 -1
+     */
+    public static int write(byte[] value, ByteBuffer target) {
+        if (value == null) {
+            return -1;
+        }
+        target.put(value);
+        return value.length;
+    }
+}
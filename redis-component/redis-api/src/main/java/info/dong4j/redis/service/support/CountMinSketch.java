@@ -0,0 +1,80 @@
+package info.dong4j.redis.service.support;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * <p>Description: Count-Min sketch, 固定内存估算 key 的出现次数</p>
+ * 估算值只会偏大不会偏小, 误差与 width 成反比. 多行计数器使用同一个 hash 的双重散列得到下标, 每次计数只计算一次 hash.
+ * 计数器使用原子操作, 可以被多个线程并发更新.
+ *
+ * @author dong4j
+ * @email dong4j@gmail.com
+ * @date 2026-10-18  19:00
+ */
+public class CountMinSketch {
+    private final int                depth;
+    private final int                mask;
+    private final AtomicIntegerArray counters;
+
+    /**
+     * Instantiates a new Count min sketch.
+     *
+     * @param depth 行数(hash 函数个数)
+     * @param width 每行的计数器个数, 向上取整为 2 的幂
+     */
+    public CountMinSketch(int depth, int width) {
+        int size = Integer.highestOneBit(Math.max(2, width) - 1) << 1;
+        this.depth = depth;
+        this.mask = size - 1;
+        this.counters = new AtomicIntegerArray(depth * size);
+    }
+
+    /**
+     * 计数加一并返回新的估算值
+     *
+     * @param hash key 的 hash 值
+     * @return the int
+     */
+    public int increment(int hash) {
+        int h1  = hash;
+        int h2  = (hash >>> 16) | 1;
+        int min = Integer.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            int count = counters.incrementAndGet(row * (mask + 1) + ((h1 + row * h2) & mask));
+            if (count < min) {
+                min = count;
+            }
+        }
+        return min;
+    }
+
+    /**
+     * 获取估算值
+     *
+     * @param hash key 的 hash 值
+     * @return the int
+     */
+    public int estimate(int hash) {
+        int h1  = hash;
+        int h2  = (hash >>> 16) | 1;
+        int min = Integer.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            int count = counters.get(row * (mask + 1) + ((h1 + row * h2) & mask));
+            if (count < min) {
+                min = count;
+            }
+        }
+        return min;
+    }
+
+    /**
+     * 对 String.hashCode 再散列, 避免相似的 key 落在相邻的计数器上
+     *
+     * @param key the key
+     * @return the int
+     */
+    public static int hash(String key) {
+        int h = key.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 15);
+    }
+}
@@ -0,0 +1,83 @@
+package info.dong4j.redis.service.support;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+
+import redis.clients.jedis.ScanParams;
+import redis.clients.jedis.ScanResult;
+
+/**
+ * <p>Description: 基于 HSCAN/SSCAN/ZSCAN 游标的惰性迭代器</p>
+ * 每次只缓冲一页(COUNT 条左右)元素, 当前页消费完后才读取下一页, 大集合的内存占用和单次 redis 耗时都与集合大小无关.
+ * 每一页单独从连接池借用连接, 迭代过程中不占用连接. 与 SCAN 的语义一致:
+ * 遍历期间一直存在的元素一定会被返回, 遍历期间新增或删除的元素可能返回也可能不返回, 同一个元素可能返回多次;
+ * 集合使用紧凑编码(ziplist/intset)时 redis 忽略 COUNT 一次返回全部元素, 此时集合本身很小.
+ *
+ * @param <T> 元素类型
+ * @author dong4j
+ * @email dong4j@gmail.com
+ * @date 2026-10-18  20:20
+ */
+public class CursorIterator<T> implements Iterator<T> {
+    private static final String START_CURSOR = ScanParams.SCAN_POINTER_START;
+
+    private final PageFetcher<T> fetcher;
+    private final ScanParams     params;
+    private final Queue<T>       page = new ArrayDeque<>();
+
+    private String  cursor = START_CURSOR;
+    private boolean finished;
+
+    /**
+     * 读取一页
+     *
+     * @param <T> 元素类型
+     */
+    public interface PageFetcher<T> {
+        /**
+         * 执行一次 *SCAN, 实现类负责借用和归还连接
+         *
+         * @param cursor the cursor
+         * @param params the params
+         * @return 本页的元素与下一个游标
+         */
+        ScanResult<T> fetch(String cursor, ScanParams params);
+    }
+
+    /**
+     * Instantiates a new Cursor iterator.
+     *
+     * @param fetcher the fetcher
+     * @param count   COUNT 每页的数量提示
+     */
+    public CursorIterator(PageFetcher<T> fetcher, int count) {
+        this.fetcher = fetcher;
+        this.params = new ScanParams().count(count);
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (page.isEmpty() && !finished) {
+            ScanResult<T> result = fetcher.fetch(cursor, params);
+            page.addAll(result.getResult());
+            cursor = result.getStringCursor();
+            finished = START_CURSOR.equals(cursor);
+        }
+        return !page.isEmpty();
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return page.poll();
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException("remove");
+    }
+}
@@ -0,0 +1,19 @@
+package info.dong4j.redis.service.support;
+
+/**
+ * <p>Description: 哨兵主从切换事件监听</p>
+ *
+ * @author dong4j
+ * @email dong4j@gmail.com
+ * @date 2026-10-18  23:58
+ */
+public interface FailoverListener {
+    /**
+     * 连接池切换到新的 master 后调用
+     *
+     * @param masterName master name
+     * @param previous   切换前的 master(host:port), 首次初始化时为 null
+     * @param current    切换后的 master(host:port)
+     */
+    void onFailover(String masterName, String previous, String current);
+}
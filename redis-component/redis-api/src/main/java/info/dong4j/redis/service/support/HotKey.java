@@ -0,0 +1,51 @@
+package info.dong4j.redis.service.support;
+
+/**
+ * <p>Description: 采样窗口内的热点 key</p>
+ *
+ * @author dong4j
+ * @email dong4j@gmail.com
+ * @date 2026-10-18  19:00
+ */
+public class HotKey {
+    private final String flag;
+    private final String node;
+    private final String key;
+    private final long   count;
+
+    /**
+     * Instantiates a new Hot key.
+     *
+     * @param flag  业务标识
+     * @param node  key 所在节点, 见 {@link RedisNodeLocator}
+     * @param key   the key
+     * @param count 窗口内的访问次数(估算值, 只会偏大)
+     */
+    public HotKey(String flag, String node, String key, long count) {
+        this.flag = flag;
+        this.node = node;
+        this.key = key;
+        this.count = count;
+    }
+
+    public String getFlag() {
+        return flag;
+    }
+
+    public String getNode() {
+        return node;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    @Override
+    public String toString() {
+        return "flag=" + flag + ", node=" + node + ", key=" + key + ", count=" + count;
+    }
+}
@@ -0,0 +1,221 @@
+package info.dong4j.redis.service.support;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * <p>Description: 热点 key 检测</p>
+ * 每个业务标识在每个采样窗口内使用一个 {@link CountMinSketch} 计数, 并维护估算值最大的 topK 个候选 key.
+ * 命令路径上只有一次 hash 计算、depth 次原子自增和一次 volatile 读, 只有估算值超过候选集最小值的 key 才会加锁更新候选集,
+ * 热点 key 每 {@link #OFFER_INTERVAL} 次访问才更新一次候选集. key 所在节点只在窗口结束生成快照时计算.
+ * 窗口结束后生成 {@link HotKeySnapshot}, 访问次数超过 threshold 的 key 输出 warn 日志.
+ *
+ * @author dong4j
+ * @email dong4j@gmail.com
+ * @date 2026-10-18  19:00
+ */
+@Slf4j
+public class HotKeyDetector {
+    private static final int DEPTH          = 4;
+    private static final int WIDTH          = 4096;
+    private static final int OFFER_INTERVAL = 8;
+
+    private final RedisNodeLocator         locator;
+    private final int                      topK;
+    private final long                     threshold;
+    private final ScheduledExecutorService scheduler;
+
+    private volatile ConcurrentMap<String, FlagWindow> windows     = new ConcurrentHashMap<>();
+    private volatile long                              windowStart = System.currentTimeMillis();
+    private volatile HotKeySnapshot                    snapshot    = new HotKeySnapshot(windowStart, windowStart,
+                                                                                        new ArrayList<HotKey>());
+
+    /**
+     * Instantiates a new Hot key detector.
+     *
+     * @param locator       计算热点 key 所在节点
+     * @param windowSeconds 采样窗口(秒)
+     * @param topK          每个业务标识保留的热点 key 个数
+     * @param threshold     窗口内访问次数超过该值时输出日志
+     */
+    public HotKeyDetector(RedisNodeLocator locator, int windowSeconds, int topK, long threshold) {
+        this.locator = locator;
+        this.topK = topK;
+        this.threshold = threshold;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread thread = new Thread(r, "redis-hot-key-detector");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        this.scheduler.scheduleAtFixedRate(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    rotate();
+                } catch (Exception e) {
+                    log.warn("Rotate hot key window failed. " + e.getMessage());
+                }
+            }
+        }, windowSeconds, windowSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * 记录一次访问
+     *
+     * @param flag the flag
+     * @param key  the key
+     */
+    public void record(String flag, String key) {
+        if (key == null) {
+            return;
+        }
+        ConcurrentMap<String, FlagWindow> current = windows;
+        FlagWindow                        window  = current.get(flag);
+        if (window == null) {
+            FlagWindow created = new FlagWindow();
+            window = current.putIfAbsent(flag, created);
+            if (window == null) {
+                window = created;
+            }
+        }
+        window.record(key);
+    }
+
+    /**
+     * 最近一个完整窗口的统计结果
+     *
+     * @return the snapshot
+     */
+    public HotKeySnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * 结束当前窗口, 生成快照并开始新窗口
+     */
+    void rotate() {
+        ConcurrentMap<String, FlagWindow> finished = windows;
+        long                              start    = windowStart;
+        windows = new ConcurrentHashMap<>();
+        windowStart = System.currentTimeMillis();
+
+        List<HotKey> hotKeys = new ArrayList<>();
+        for (Map.Entry<String, FlagWindow> entry : finished.entrySet()) {
+            for (Map.Entry<String, Long> candidate : entry.getValue().candidates().entrySet()) {
+                hotKeys.add(new HotKey(entry.getKey(), locator.getNode(candidate.getKey()),
+                                       candidate.getKey(), candidate.getValue()));
+            }
+        }
+        Collections.sort(hotKeys, new Comparator<HotKey>() {
+            @Override
+            public int compare(HotKey o1, HotKey o2) {
+                return Long.compare(o2.getCount(), o1.getCount());
+            }
+        });
+        snapshot = new HotKeySnapshot(start, windowStart, hotKeys);
+
+        for (HotKey hotKey : hotKeys) {
+            if (hotKey.getCount() < threshold) {
+                break;
+            }
+            log.warn("Hot key detected in last " + (windowStart - start) / 1000 + "s: " + hotKey);
+        }
+    }
+
+    /**
+     * 停止窗口轮转
+     */
+    public void destroy() {
+        scheduler.shutdown();
+    }
+
+    /**
+     * <p>Description: 单个业务标识在一个窗口内的计数 </p>
+     *
+     * @author dong4j
+     * @email dong4j@gmail.com
+     * @date 2026-10-18  19:00
+     */
+    private class FlagWindow {
+        private final CountMinSketch    sketch     = new CountMinSketch(DEPTH, WIDTH);
+        private final Map<String, Long> candidates = new HashMap<>();
+        /**
+         * 候选集已满时的最小估算值, 估算值小于它的 key 不需要加锁
+         */
+        private volatile long           minCount;
+
+        /**
+         * Record.
+         *
+         * @param key the key
+         */
+        void record(String key) {
+            int count = sketch.increment(CountMinSketch.hash(key));
+            if (count < minCount || (count > OFFER_INTERVAL && count % OFFER_INTERVAL != 0)) {
+                return;
+            }
+            offer(key, count);
+        }
+
+        /**
+         * 更新候选集, 候选集已满时替换估算值最小的 key
+         *
+         * @param key   the key
+         * @param count the count
+         */
+        private synchronized void offer(String key, long count) {
+            if (candidates.containsKey(key) || candidates.size() < topK) {
+                candidates.put(key, count);
+            } else {
+                String minKey   = null;
+                long   minValue = Long.MAX_VALUE;
+                for (Map.Entry<String, Long> entry : candidates.entrySet()) {
+                    if (entry.getValue() < minValue) {
+                        minKey = entry.getKey();
+                        minValue = entry.getValue();
+                    }
+                }
+                if (count <= minValue) {
+                    return;
+                }
+                candidates.remove(minKey);
+                candidates.put(key, count);
+            }
+            if (candidates.size() >= topK) {
+                long min = Long.MAX_VALUE;
+                for (Long value : candidates.values()) {
+                    min = Math.min(min, value);
+                }
+                minCount = min;
+            }
+        }
+
+        /**
+         * 候选 key 及其最终估算值
+         *
+         * @return the map
+         */
+        synchronized Map<String, Long> candidates() {
+            Map<String, Long> result = new HashMap<>(candidates.size());
+            for (String key : candidates.keySet()) {
+                result.put(key, (long) sketch.estimate(CountMinSketch.hash(key)));
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package info.dong4j.redis.service.support;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>Description: 一个采样窗口的热点 key 统计结果, 按访问次数从高到低排列</p>
+ *
+ * @author dong4j
+ * @email dong4j@gmail.com
+ * @date 2026-10-18  19:00
+ */
+public class HotKeySnapshot {
+    private final long         windowStart;
+    private final long         windowEnd;
+    private final List<HotKey> hotKeys;
+
+    /**
+     * Instantiates a new Hot key snapshot.
+     *
+     * @param windowStart 窗口开始时间(毫秒)
+     * @param windowEnd   窗口结束时间(毫秒)
+     * @param hotKeys     按访问次数从高到低排列
+     */
+    public HotKeySnapshot(long windowStart, long windowEnd, List<HotKey> hotKeys) {
+        this.windowStart = windowStart;
+        this.windowEnd = windowEnd;
+        this.hotKeys = Collections.unmodifiableList(hotKeys);
+    }
+
+    public long getWindowStart() {
+        return windowStart;
+    }
+
+    public long getWindowEnd() {
+        return windowEnd;
+    }
+
+    /**
+     * 所有热点 key
+     *
+     * @return the hot keys
+     */
+    public List<HotKey> getHotKeys() {
+        return hotKeys;
+    }
+
+    /**
+     * 指定业务标识的热点 key
+     *
+     * @param flag the flag
+     * @return the hot keys
+     */
+    public List<HotKey> getHotKeys(String flag) {
+        List<HotKey> result = new ArrayList<>();
+        for (HotKey hotKey : hotKeys) {
+            if (hotKey.getFlag().equals(flag)) {
+                result.add(hotKey);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 按节点(分片)分组的热点 key
+     *
+     * @return the hot keys by node
+     */
+    public Map<String, List<HotKey>> getHotKeysByNode() {
+        Map<String, List<HotKey>> result = new LinkedHashMap<>();
+        for (HotKey hotKey : hotKeys) {
+            List<HotKey> nodeKeys = result.get(hotKey.getNode());
+            if (nodeKeys == null) {
+                nodeKeys = new ArrayList<>();
+                result.put(hotKey.getNode(), nodeKeys);
+            }
+            nodeKeys.add(hotKey);
+        }
+        return result;
+    }
+}
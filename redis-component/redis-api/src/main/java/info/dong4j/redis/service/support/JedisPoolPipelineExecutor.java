@@ -0,0 +1,54 @@
+package info.dong4j.redis.service.support;
+
+import java.util.List;
+
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisPubSub;
+import redis.clients.util.Pool;
+
+/**
+ * <p>Description: 单机模式与哨兵模式下的 pipeline 执行器与订阅, 所有 key 都在同一个节点上</p>
+ *
+ * @author dong4j
+ * @email dong4j@gmail.com
+ * @date 2026-10-18  16:40
+ */
+public class JedisPoolPipelineExecutor extends SingleNodeLocator implements NodePipelineExecutor, NodeSubscriber {
+    private final Pool<Jedis> pool;
+
+    /**
+     * Instantiates a new Jedis pool pipeline executor.
+     *
+     * @param pool JedisPool 或 JedisSentinelPool
+     * @param node 单机模式为 host:port, 哨兵模式为 master name
+     */
+    public JedisPoolPipelineExecutor(Pool<Jedis> pool, String node) {
+        super(node);
+        this.pool = pool;
+    }
+
+    @Override
+    public void pipelined(String key, PipelineCallback callback) {
+        try (Jedis jedis = pool.getResource()) {
+            callback.doInPipeline(jedis.pipelined());
+        }
+    }
+
+    @Override
+    public void pipelined(List<String> keys, PipelineCallback callback) {
+        try (Jedis jedis = pool.getResource()) {
+            callback.doInPipeline(jedis.pipelined());
+        }
+    }
+
+    @Override
+    public void subscribe(JedisPubSub listener, String channel) {
+        try (Jedis jedis = pool.getResource()) {
+            jedis.subscribe(listener, channel);
+        }
+    }
+
+    @Override
+    public void refresh() {
+    }
+}
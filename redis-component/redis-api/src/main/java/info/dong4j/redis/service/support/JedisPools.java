@@ -0,0 +1,46 @@
+package info.dong4j.redis.service.support;
+
+import org.apache.commons.pool2.impl.GenericObjectPool;
+
+import java.lang.reflect.Field;
+
+import redis.clients.util.Pool;
+
+/**
+ * <p>Description: 访问 Jedis 连接池内部的对象池</p>
+ * Jedis 没有公开内部的 GenericObjectPool, 而连接池大小调整与统计需要它; 连接池每次 initPool 都会替换内部对象池,
+ * 因此每次使用时重新获取, 不要缓存.
+ *
+ * @author dong4j
+ * @email dong4j@gmail.com
+ * @date 2026-10-18  23:58
+ */
+final class JedisPools {
+    private static final Field INTERNAL_POOL;
+
+    static {
+        try {
+            INTERNAL_POOL = Pool.class.getDeclaredField("internalPool");
+            INTERNAL_POOL.setAccessible(true);
+        } catch (NoSuchFieldException e) {
+            throw new IllegalStateException("Unsupported jedis version, field internalPool not found", e);
+        }
+    }
+
+    private JedisPools() {
+    }
+
+    /**
+     * 获取 Jedis 连接池内部的对象池
+     *
+     * @param pool the pool
+     * @return 未初始化时为 null
+     */
+    static GenericObjectPool<?> internalPool(Pool<?> pool) {
+        try {
+            return (GenericObjectPool<?>) INTERNAL_POOL.get(pool);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
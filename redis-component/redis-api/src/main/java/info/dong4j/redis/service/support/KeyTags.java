@@ -0,0 +1,152 @@
+package info.dong4j.redis.service.support;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>Description: 分片模式下的 key tag(hash tag)</p>
+ * 与 Jedis Sharded.DEFAULT_KEY_TAG_PATTERN({@code \{(.+?)\}}) 的匹配结果一致: 取第一个能匹配的 {...} 中的内容,
+ * 没有 tag 时使用整个 key. 开启 key tag 后, user:{42}:profile 与 user:{42}:cart 只按 42 计算分片, 落在同一个分片上,
+ * 可以在同一个分片上使用 pipeline、事务与 Lua.
+ *
+ * @author dong4j
+ * @email dong4j@gmail.com
+ * @date 2026-10-18  23:00
+ */
+public final class KeyTags {
+
+    private KeyTags() {
+    }
+
+    /**
+     * 获取 key 的 tag
+     *
+     * @param key the key
+     * @return tag, 没有 tag 时返回 key 本身
+     */
+    public static String tag(String key) {
+        long range = range(key);
+        return key.substring((int) (range >>> 32), (int) range);
+    }
+
+    /**
+     * 所有 key 的 tag 是否相同
+     *
+     * @param keys the keys
+     * @return the boolean
+     */
+    public static boolean sameTag(String... keys) {
+        if (keys.length == 0) {
+            return true;
+        }
+        String first = tag(keys[0]);
+        for (int i = 1; i < keys.length; i++) {
+            if (!first.equals(tag(keys[i]))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 按 tag 分组, 同一组的 key 一定落在同一个分片上, 可以作为一个整体执行多 key 命令、事务或 Lua
+     *
+     * @param keys the keys
+     * @return tag -> key, 按 tag 首次出现的顺序排列, 组内保持调用方的顺序
+     */
+    public static Map<String, List<String>> groupByTag(String... keys) {
+        Map<String, List<String>> groups = new LinkedHashMap<>();
+        for (String key : keys) {
+            String       tag   = tag(key);
+            List<String> group = groups.get(tag);
+            if (group == null) {
+                group = new ArrayList<>();
+                groups.put(tag, group);
+            }
+            group.add(key);
+        }
+        return groups;
+    }
+
+    /**
+     * 计算 tag 在 key 中的范围, 不生成中间对象
+     *
+     * @param key the key
+     * @return 高 32 位为起始下标, 低 32 位为结束下标(不包含)
+     */
+    static long range(String key) {
+        int length = key.length();
+        for (int i = 0; i < length; i++) {
+            if (key.charAt(i) != '{') {
+                continue;
+            }
+            // .+? 至少匹配一个字符(可以是 '}'), 且不能跨越换行
+            for (int j = i + 1; j < length; j++) {
+                char c = key.charAt(j);
+                if (c == '}' && j > i + 1) {
+                    return ((long) (i + 1) << 32) | j;
+                }
+                if (isLineTerminator(c)) {
+                    break;
+                }
+            }
+        }
+        return length;
+    }
+
+    /**
+     * 在 UTF-8 编码的 key 中计算 tag 的范围, 与对解码后的 String 调用 {@link #range(String)} 得到的 tag 字节相同.
+     * '{' 与 '}' 不会出现在多字节字符的编码中, 可以直接按字节查找
+     *
+     * @param key the key
+     * @return 高 32 位为起始下标, 低 32 位为结束下标(不包含)
+     */
+    static long range(byte[] key) {
+        int length = key.length;
+        for (int i = 0; i < length; i++) {
+            if (key[i] != '{') {
+                continue;
+            }
+            for (int j = i + 1; j < length; j++) {
+                if (key[j] == '}' && j > i + 1) {
+                    return ((long) (i + 1) << 32) | j;
+                }
+                if (isLineTerminator(key, j)) {
+                    break;
+                }
+            }
+        }
+        return length;
+    }
+
+    /**
+     * 从 i 开始的字节是否为行结束符 \n, \r, U+0085, U+2028, U+2029 的 UTF-8 编码
+     *
+     * @param key the key
+     * @param i   起始下标
+     * @return the boolean
+     */
+    private static boolean isLineTerminator(byte[] key, int i) {
+        byte b = key[i];
+        if (b == '\n' || b == '\r') {
+            return true;
+        }
+        if (b == (byte) 0xC2) {
+            return i + 1 < key.length && key[i + 1] == (byte) 0x85;
+        }
+        return b == (byte) 0xE2 && i + 2 < key.length && key[i + 1] == (byte) 0x80
+               && (key[i + 2] == (byte) 0xA8 || key[i + 2] == (byte) 0xA9);
+    }
+
+    /**
+     * 正则中 '.' 不匹配的行结束符
+     *
+     * @param c the c
+     * @return the boolean
+     */
+    private static boolean isLineTerminator(char c) {
+        return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+    }
+}
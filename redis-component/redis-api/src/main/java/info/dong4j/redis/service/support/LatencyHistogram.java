@@ -0,0 +1,137 @@
+package info.dong4j.redis.service.support;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * <p>Description: 无锁的耗时直方图</p>
+ * 与 HdrHistogram 相同的对数线性分桶: 小于 32ns 的值每纳秒一个桶, 之后每个 2 的幂区间分为 32 个桶,
+ * 相对误差不超过 1/32. 超过 {@link #MAX_VALUE} 的值记入最后一个桶.
+ * 记录时只有一次下标计算和几次原子操作, 不创建对象; 快照时复制所有桶计算分位数.
+ *
+ * @author dong4j
+ * @email dong4j@gmail.com
+ * @date 2026-10-18  23:58
+ */
+public class LatencyHistogram {
+    /** 最大记录 2^40ns(约 18 分钟) */
+    public static final  long MAX_VALUE = (1L << 40) - 1;
+    private static final int  SUB_BITS  = 5;
+    private static final int  SUB_COUNT = 1 << SUB_BITS;
+    private static final int  BUCKETS   = SUB_COUNT + (40 - SUB_BITS) * SUB_COUNT;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong      total  = new AtomicLong();
+    private final AtomicLong      max    = new AtomicLong();
+
+    /**
+     * 记录一次耗时
+     *
+     * @param nanos 耗时(纳秒)
+     */
+    public void record(long nanos) {
+        long value = nanos < 0 ? 0 : Math.min(nanos, MAX_VALUE);
+        counts.incrementAndGet(index(value));
+        total.addAndGet(value);
+        long current = max.get();
+        while (value > current && !max.compareAndSet(current, value)) {
+            current = max.get();
+        }
+    }
+
+    /**
+     * 记录一次耗时并修正协调遗漏(coordinated omission), 与 HdrHistogram 的 recordValueWithExpectedInterval 一致:
+     * 固定间隔发起请求的调用方被一次慢请求阻塞时, 期间本应发出的请求没有被记录, 这里按期望间隔补记这些请求的等待时间
+     *
+     * @param nanos                 耗时(纳秒)
+     * @param expectedIntervalNanos 两次请求之间的期望间隔(纳秒), 小于等于 0 时不修正
+     */
+    public void record(long nanos, long expectedIntervalNanos) {
+        record(nanos);
+        if (expectedIntervalNanos <= 0) {
+            return;
+        }
+        for (long missing = nanos - expectedIntervalNanos; missing >= expectedIntervalNanos; missing -= expectedIntervalNanos) {
+            record(missing);
+        }
+    }
+
+    /**
+     * 值所在的桶
+     *
+     * @param value the value
+     * @return the int
+     */
+    static int index(long value) {
+        if (value < SUB_COUNT) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int sub      = (int) (value >>> (exponent - SUB_BITS)) & (SUB_COUNT - 1);
+        return SUB_COUNT + (exponent - SUB_BITS) * SUB_COUNT + sub;
+    }
+
+    /**
+     * 桶内的最大值
+     *
+     * @param index the index
+     * @return the long
+     */
+    static long highestValue(int index) {
+        if (index < SUB_COUNT) {
+            return index;
+        }
+        int  exponent = (index - SUB_COUNT) / SUB_COUNT + SUB_BITS;
+        long sub      = (index - SUB_COUNT) % SUB_COUNT;
+        long width    = 1L << (exponent - SUB_BITS);
+        return (1L << exponent) + sub * width + width - 1;
+    }
+
+    /**
+     * 当前统计结果
+     *
+     * @return the latency snapshot
+     */
+    public LatencySnapshot snapshot() {
+        long[] buckets = new long[BUCKETS];
+        long   count   = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets[i] = counts.get(i);
+            count += buckets[i];
+        }
+        long maxValue = max.get();
+        return new LatencySnapshot(count,
+                                   count == 0 ? 0 : (double) total.get() / count,
+                                   maxValue,
+                                   percentile(buckets, count, 0.5, maxValue),
+                                   percentile(buckets, count, 0.9, maxValue),
+                                   percentile(buckets, count, 0.99, maxValue),
+                                   percentile(buckets, count, 0.999, maxValue));
+    }
+
+    private static long percentile(long[] buckets, long count, double percentile, long maxValue) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(count * percentile);
+        long seen = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            seen += buckets[i];
+            if (seen >= rank) {
+                return Math.min(highestValue(i), maxValue);
+            }
+        }
+        return maxValue;
+    }
+
+    /**
+     * 清空统计, 与并发的记录之间不保证原子性
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts.set(i, 0);
+        }
+        total.set(0);
+        max.set(0);
+    }
+}
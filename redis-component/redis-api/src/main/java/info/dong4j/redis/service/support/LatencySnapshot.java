@@ -0,0 +1,76 @@
+package info.dong4j.redis.service.support;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Description: {@link LatencyHistogram} 的统计结果, 耗时单位为微秒</p>
+ *
+ * @author dong4j
+ * @email dong4j@gmail.com
+ * @date 2026-10-18  23:58
+ */
+public class LatencySnapshot {
+    private final long   count;
+    private final double mean;
+    private final long   max;
+    private final long   p50;
+    private final long   p90;
+    private final long   p99;
+    private final long   p999;
+
+    /**
+     * Instantiates a new Latency snapshot.
+     *
+     * @param count     记录次数
+     * @param meanNanos 平均耗时(纳秒)
+     * @param maxNanos  最大耗时(纳秒)
+     * @param p50Nanos  50 分位耗时(纳秒)
+     * @param p90Nanos  90 分位耗时(纳秒)
+     * @param p99Nanos  99 分位耗时(纳秒)
+     * @param p999Nanos 99.9 分位耗时(纳秒)
+     */
+    public LatencySnapshot(long count, double meanNanos, long maxNanos, long p50Nanos, long p90Nanos,
+                           long p99Nanos, long p999Nanos) {
+        this.count = count;
+        this.mean = meanNanos / 1000;
+        this.max = TimeUnit.NANOSECONDS.toMicros(maxNanos);
+        this.p50 = TimeUnit.NANOSECONDS.toMicros(p50Nanos);
+        this.p90 = TimeUnit.NANOSECONDS.toMicros(p90Nanos);
+        this.p99 = TimeUnit.NANOSECONDS.toMicros(p99Nanos);
+        this.p999 = TimeUnit.NANOSECONDS.toMicros(p999Nanos);
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getMean() {
+        return mean;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    public long getP50() {
+        return p50;
+    }
+
+    public long getP90() {
+        return p90;
+    }
+
+    public long getP99() {
+        return p99;
+    }
+
+    public long getP999() {
+        return p999;
+    }
+
+    @Override
+    public String toString() {
+        return "count=" + count + ", mean=" + String.format("%.1f", mean) + "us, p50=" + p50 + "us, p90=" + p90
+               + "us, p99=" + p99 + "us, p999=" + p999 + "us, max=" + max + "us";
+    }
+}
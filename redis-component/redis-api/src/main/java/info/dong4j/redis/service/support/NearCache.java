@@ -0,0 +1,299 @@
+package info.dong4j.redis.service.support;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * <p>Description: 进程内近端缓存</p>
+ * 按 redis key 分段的 LRU 缓存, 每个 key 下可以缓存多个值(get 的字符串、hget 的单个 field、hgetAll 的整个 hash),
+ * 按缓存值的总数限制容量, 每个值有独立的过期时间. 失效以 redis key 为单位.
+ * 读取未命中时先取 {@link #version(String)}, 从 redis 读到结果后带着版本号 {@link #put}, 如果期间该 key 被失效过则不写入,
+ * 避免并发写入后又缓存了旧值.
+ *
+ * @author dong4j
+ * @email dong4j@gmail.com
+ * @date 2026-10-18  17:30
+ */
+public class NearCache {
+    /**
+     * 缓存的 null 值(key 不存在)
+     */
+    public static final Object NULL_VALUE = new Object();
+    /**
+     * 清空所有缓存的失效消息
+     */
+    public static final String ALL_KEYS   = "*";
+
+    private static final int SEGMENTS = 16;
+    private static final int STRIPES  = 1024;
+
+    private final Segment[]       segments = new Segment[SEGMENTS];
+    private final AtomicLongArray versions = new AtomicLongArray(STRIPES);
+    private final long            ttlMillis;
+
+    /**
+     * Instantiates a new Near cache.
+     *
+     * @param maxSize   缓存值的总数上限
+     * @param ttlMillis 缓存值的过期时间(毫秒)
+     */
+    public NearCache(int maxSize, long ttlMillis) {
+        this.ttlMillis = ttlMillis;
+        int segmentSize = Math.max(1, maxSize / SEGMENTS);
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment(segmentSize);
+        }
+    }
+
+    /**
+     * 获取缓存值
+     *
+     * @param key   redis key
+     * @param field 同一个 key 下的缓存项
+     * @return 未命中返回 null, 缓存的 null 值返回 {@link #NULL_VALUE}
+     */
+    public Object get(String key, String field) {
+        return segment(key).get(key, field, System.currentTimeMillis());
+    }
+
+    /**
+     * 获取 key 当前的版本号, 在读取 redis 之前调用
+     *
+     * @param key the key
+     * @return the long
+     */
+    public long version(String key) {
+        return versions.get(stripe(key));
+    }
+
+    /**
+     * 写入缓存, 读取期间 key 被失效过时不写入
+     *
+     * @param key     redis key
+     * @param field   同一个 key 下的缓存项
+     * @param value   值, null 表示 key 不存在
+     * @param version 读取 redis 之前获取的版本号
+     */
+    public void put(String key, String field, Object value, long version) {
+        Segment segment = segment(key);
+        synchronized (segment) {
+            // 失效时先增加版本号再删除, 在锁内比较版本号保证不会写入已失效的值
+            if (versions.get(stripe(key)) != version) {
+                return;
+            }
+            segment.put(key, field, value == null ? NULL_VALUE : value, System.currentTimeMillis() + ttlMillis);
+        }
+    }
+
+    /**
+     * 失效 key 下的所有缓存值
+     *
+     * @param key the key
+     */
+    public void invalidate(String key) {
+        Segment segment = segment(key);
+        synchronized (segment) {
+            versions.incrementAndGet(stripe(key));
+            segment.remove(key);
+        }
+    }
+
+    /**
+     * 清空缓存
+     */
+    public void clear() {
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                for (int i = 0; i < STRIPES; i++) {
+                    versions.incrementAndGet(i);
+                }
+                segment.clear();
+            }
+        }
+    }
+
+    /**
+     * 当前缓存值的总数
+     *
+     * @return the int
+     */
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * 将多个 key 编码为一条失效消息, 格式为 [长度:key] 重复多次, 避免 key 中的分隔符产生歧义
+     *
+     * @param keys the keys
+     * @return the string
+     */
+    public static String encode(String... keys) {
+        StringBuilder message = new StringBuilder();
+        for (String key : keys) {
+            message.append(key.length()).append(':').append(key);
+        }
+        return message.toString();
+    }
+
+    /**
+     * 解码失效消息
+     *
+     * @param message the message
+     * @return the list
+     */
+    public static List<String> decode(String message) {
+        List<String> keys = new ArrayList<>();
+        int          from = 0;
+        while (from < message.length()) {
+            int colon = message.indexOf(':', from);
+            if (colon < 0) {
+                throw new IllegalArgumentException("Illegal near cache invalidation message: " + message);
+            }
+            int length = Integer.parseInt(message.substring(from, colon));
+            from = colon + 1 + length;
+            keys.add(message.substring(colon + 1, from));
+        }
+        return keys;
+    }
+
+    private Segment segment(String key) {
+        return segments[(spread(key) >>> 16) & (SEGMENTS - 1)];
+    }
+
+    private int stripe(String key) {
+        return spread(key) & (STRIPES - 1);
+    }
+
+    private static int spread(String key) {
+        int h = key.hashCode();
+        return h ^ (h >>> 16) ^ (h << 7);
+    }
+
+    /**
+     * <p>Description: 缓存分段, 按 key 的访问顺序淘汰 </p>
+     *
+     * @author dong4j
+     * @email dong4j@gmail.com
+     * @date 2026-10-18  17:30
+     */
+    private static class Segment {
+        private final int                                       maxSize;
+        private final LinkedHashMap<String, Map<String, Entry>> keys = new LinkedHashMap<>(16, 0.75f, true);
+        private int                                             size;
+
+        /**
+         * Instantiates a new Segment.
+         *
+         * @param maxSize the max size
+         */
+        Segment(int maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        /**
+         * Get.
+         *
+         * @param key   the key
+         * @param field the field
+         * @param now   the now
+         * @return the object
+         */
+        synchronized Object get(String key, String field, long now) {
+            Map<String, Entry> fields = keys.get(key);
+            if (fields == null) {
+                return null;
+            }
+            Entry entry = fields.get(field);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.expireAt <= now) {
+                fields.remove(field);
+                size--;
+                if (fields.isEmpty()) {
+                    keys.remove(key);
+                }
+                return null;
+            }
+            return entry.value;
+        }
+
+        /**
+         * Put.
+         *
+         * @param key      the key
+         * @param field    the field
+         * @param value    the value
+         * @param expireAt the expire at
+         */
+        void put(String key, String field, Object value, long expireAt) {
+            Map<String, Entry> fields = keys.get(key);
+            if (fields == null) {
+                fields = new HashMap<>(4);
+                keys.put(key, fields);
+            }
+            if (fields.put(field, new Entry(value, expireAt)) == null) {
+                size++;
+            }
+            Iterator<Map.Entry<String, Map<String, Entry>>> eldest = keys.entrySet().iterator();
+            while (size > maxSize && eldest.hasNext()) {
+                size -= eldest.next().getValue().size();
+                eldest.remove();
+            }
+        }
+
+        /**
+         * Remove.
+         *
+         * @param key the key
+         */
+        void remove(String key) {
+            Map<String, Entry> fields = keys.remove(key);
+            if (fields != null) {
+                size -= fields.size();
+            }
+        }
+
+        /**
+         * Clear.
+         */
+        void clear() {
+            keys.clear();
+            size = 0;
+        }
+    }
+
+    /**
+     * <p>Description: 缓存值 </p>
+     *
+     * @author dong4j
+     * @email dong4j@gmail.com
+     * @date 2026-10-18  17:30
+     */
+    private static class Entry {
+        private final Object value;
+        private final long   expireAt;
+
+        /**
+         * Instantiates a new Entry.
+         *
+         * @param value    the value
+         * @param expireAt the expire at
+         */
+        Entry(Object value, long expireAt) {
+            this.value = value;
+            this.expireAt = expireAt;
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package info.dong4j.redis.service.support;
+
+import org.springframework.util.concurrent.ListenableFuture;
+import org.springframework.util.concurrent.SettableListenableFuture;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * <p>Description: 按节点限制同时执行的请求数</p>
+ * 每个节点最多同时执行 maxInFlight 个请求, 超出的请求在该节点的等待队列中排队, 等待队列满时直接拒绝.
+ * 调用方线程不会被阻塞, 单个慢节点也不会占满整个 I/O 线程池.
+ *
+ * @author dong4j
+ * @email dong4j@gmail.com
+ * @date 2026-10-18  15:40
+ */
+public class NodeInFlightLimiter {
+    private final Executor                   executor;
+    private final int                        maxInFlight;
+    private final int                        maxPending;
+    private final ConcurrentMap<String, Node> nodes = new ConcurrentHashMap<>();
+
+    /**
+     * Instantiates a new Node in flight limiter.
+     *
+     * @param executor    执行请求的线程池
+     * @param maxInFlight 每个节点同时执行的请求数上限
+     * @param maxPending  每个节点等待队列的长度上限
+     */
+    public NodeInFlightLimiter(Executor executor, int maxInFlight, int maxPending) {
+        this.executor = executor;
+        this.maxInFlight = maxInFlight;
+        this.maxPending = maxPending;
+    }
+
+    /**
+     * 提交请求, 等待队列满或线程池已关闭时返回的 future 以 RejectedExecutionException 失败
+     *
+     * @param <T>  the type parameter
+     * @param node 节点标识
+     * @param task the task
+     * @return the listenable future
+     */
+    public <T> ListenableFuture<T> submit(String node, Callable<T> task) {
+        Node current = nodes.get(node);
+        if (current == null) {
+            Node created = new Node(node);
+            current = nodes.putIfAbsent(node, created);
+            if (current == null) {
+                current = created;
+            }
+        }
+        Request<T> request = new Request<>(task);
+        current.submit(request);
+        return request.future;
+    }
+
+    /**
+     * 获取节点当前正在执行的请求数
+     *
+     * @param node the node
+     * @return the in flight
+     */
+    public int getInFlight(String node) {
+        Node current = nodes.get(node);
+        return current == null ? 0 : current.inFlight;
+    }
+
+    /**
+     * <p>Description: 单个节点的执行状态 </p>
+     *
+     * @author dong4j
+     * @email dong4j@gmail.com
+     * @date 2026-10-18  15:40
+     */
+    private class Node {
+        private final String            name;
+        private final Queue<Request<?>> pending = new ArrayDeque<>();
+        private int                     inFlight;
+
+        /**
+         * Instantiates a new Node.
+         *
+         * @param name the name
+         */
+        Node(String name) {
+            this.name = name;
+        }
+
+        /**
+         * Submit.
+         *
+         * @param request the request
+         */
+        void submit(Request<?> request) {
+            boolean rejected;
+            synchronized (this) {
+                if (inFlight < maxInFlight) {
+                    inFlight++;
+                    rejected = false;
+                } else if (pending.size() < maxPending) {
+                    pending.add(request);
+                    return;
+                } else {
+                    rejected = true;
+                }
+            }
+            if (rejected) {
+                request.fail(new RejectedExecutionException("Too many pending requests on redis node " + name));
+                return;
+            }
+            dispatch(request);
+        }
+
+        /**
+         * 请求执行完成, 从等待队列中取出下一个请求执行
+         */
+        void complete() {
+            Request<?> next;
+            synchronized (this) {
+                next = pending.poll();
+                if (next == null) {
+                    inFlight--;
+                    return;
+                }
+            }
+            dispatch(next);
+        }
+
+        /**
+         * 派发到线程池. 线程池已关闭时当前请求和等待队列中的请求都以 RejectedExecutionException 失败,
+         * 等待队列中的请求不会再有机会被派发
+         *
+         * @param request the request
+         */
+        private void dispatch(final Request<?> request) {
+            try {
+                executor.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        try {
+                            request.run();
+                        } finally {
+                            complete();
+                        }
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                List<Request<?>> drained;
+                synchronized (this) {
+                    drained = new ArrayList<>(pending);
+                    pending.clear();
+                    inFlight--;
+                }
+                request.fail(e);
+                for (Request<?> waiting : drained) {
+                    waiting.fail(e);
+                }
+            }
+        }
+    }
+
+    /**
+     * <p>Description: 等待执行的请求 </p>
+     *
+     * @param <T> the type parameter
+     * @author dong4j
+     * @email dong4j@gmail.com
+     * @date 2026-10-18  15:40
+     */
+    private static class Request<T> {
+        private final Callable<T>                 task;
+        private final SettableListenableFuture<T> future = new SettableListenableFuture<>();
+
+        /**
+         * Instantiates a new Request.
+         *
+         * @param task the task
+         */
+        Request(Callable<T> task) {
+            this.task = task;
+        }
+
+        /**
+         * 执行请求, 调用方已取消时跳过
+         */
+        void run() {
+            if (future.isCancelled()) {
+                return;
+            }
+            try {
+                future.set(task.call());
+            } catch (Throwable e) {
+                future.setException(e);
+            }
+        }
+
+        /**
+         * Fail.
+         *
+         * @param e the e
+         */
+        void fail(Throwable e) {
+            future.setException(e);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package info.dong4j.redis.service.support;
+
+import java.util.List;
+
+import redis.clients.jedis.Pipeline;
+
+/**
+ * <p>Description: 在 key 所在节点的连接上执行 pipeline</p>
+ * 连接的获取与归还由实现类负责, 回调中写入命令并 sync 读取结果.
+ *
+ * @author dong4j
+ * @email dong4j@gmail.com
+ * @date 2026-10-18  16:40
+ */
+public interface NodePipelineExecutor extends RedisNodeLocator {
+    /**
+     * pipeline 回调
+     */
+    interface PipelineCallback {
+        /**
+         * 写入命令并 sync
+         *
+         * @param pipeline key 所在节点的 pipeline
+         */
+        void doInPipeline(Pipeline pipeline);
+    }
+
+    /**
+     * 在 key 所在节点上执行 pipeline
+     *
+     * @param key      用于定位节点的 key
+     * @param callback the callback
+     */
+    void pipelined(String key, PipelineCallback callback);
+
+    /**
+     * 在一批 key 所在的同一个节点上执行 pipeline. 每个 key 都要经过定位(例如分片扩容迁移期间先搬迁旧值),
+     * 不能只用其中一个 key 定位.
+     *
+     * @param keys     同一节点上的 key
+     * @param callback the callback
+     * @throws redis.clients.jedis.exceptions.JedisRedirectionException key 已不在同一个节点上时抛出, 调用方应逐个直接执行
+     */
+    void pipelined(List<String> keys, PipelineCallback callback);
+
+    /**
+     * 路由信息过期(例如集群 slot 迁移)时刷新, 没有本地路由信息的实现不需要处理
+     */
+    void refresh();
+}
@@ -0,0 +1,21 @@
+package info.dong4j.redis.service.support;
+
+import redis.clients.jedis.JedisPubSub;
+
+/**
+ * <p>Description: 在 channel 所在节点上订阅消息</p>
+ * 订阅的节点与 {@link info.dong4j.redis.service.RedisService#publish} 发布的节点一致.
+ *
+ * @author dong4j
+ * @email dong4j@gmail.com
+ * @date 2026-10-18  17:30
+ */
+public interface NodeSubscriber {
+    /**
+     * 订阅 channel, 阻塞直到取消订阅或连接断开
+     *
+     * @param listener the listener
+     * @param channel  the channel
+     */
+    void subscribe(JedisPubSub listener, String channel);
+}
@@ -0,0 +1,99 @@
+package info.dong4j.redis.service.support;
+
+/**
+ * <p>Description: 连接池的使用情况</p>
+ *
+ * @author dong4j
+ * @email dong4j@gmail.com
+ * @date 2026-10-18  23:58
+ */
+public class PoolSnapshot {
+    private final int             active;
+    private final int             idle;
+    private final int             waiters;
+    private final int             maxTotal;
+    private final long            createdCount;
+    private final long            destroyedCount;
+    private final double          createdPerSecond;
+    private final double          destroyedPerSecond;
+    private final long            maxBorrowWaitMillis;
+    private final LatencySnapshot borrowWait;
+
+    /**
+     * Instantiates a new Pool snapshot.
+     *
+     * @param active              借出的连接数
+     * @param idle                空闲的连接数
+     * @param waiters             等待借出的线程数
+     * @param maxTotal            最大连接数
+     * @param createdCount        累计创建的连接数
+     * @param destroyedCount      累计销毁的连接数
+     * @param createdPerSecond    距上次快照每秒创建的连接数
+     * @param destroyedPerSecond  距上次快照每秒销毁的连接数
+     * @param maxBorrowWaitMillis 最大借出等待时间(包含未经过本组件的借出)
+     * @param borrowWait          经过本组件借出连接的等待时间
+     */
+    public PoolSnapshot(int active, int idle, int waiters, int maxTotal, long createdCount, long destroyedCount,
+                        double createdPerSecond, double destroyedPerSecond, long maxBorrowWaitMillis,
+                        LatencySnapshot borrowWait) {
+        this.active = active;
+        this.idle = idle;
+        this.waiters = waiters;
+        this.maxTotal = maxTotal;
+        this.createdCount = createdCount;
+        this.destroyedCount = destroyedCount;
+        this.createdPerSecond = createdPerSecond;
+        this.destroyedPerSecond = destroyedPerSecond;
+        this.maxBorrowWaitMillis = maxBorrowWaitMillis;
+        this.borrowWait = borrowWait;
+    }
+
+    public int getActive() {
+        return active;
+    }
+
+    public int getIdle() {
+        return idle;
+    }
+
+    public int getWaiters() {
+        return waiters;
+    }
+
+    public int getMaxTotal() {
+        return maxTotal;
+    }
+
+    /**
+     * 借出的连接数占最大连接数的比例, 不限制连接数时为 0
+     *
+     * @return the utilization
+     */
+    public double getUtilization() {
+        return maxTotal <= 0 ? 0 : (double) active / maxTotal;
+    }
+
+    public long getCreatedCount() {
+        return createdCount;
+    }
+
+    public long getDestroyedCount() {
+        return destroyedCount;
+    }
+
+    public double getCreatedPerSecond() {
+        return createdPerSecond;
+    }
+
+    public double getDestroyedPerSecond() {
+        return destroyedPerSecond;
+    }
+
+    public long getMaxBorrowWaitMillis() {
+        return maxBorrowWaitMillis;
+    }
+
+    public LatencySnapshot getBorrowWait() {
+        return borrowWait;
+    }
+}
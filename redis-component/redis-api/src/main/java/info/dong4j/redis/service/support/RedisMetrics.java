@@ -0,0 +1,292 @@
+package info.dong4j.redis.service.support;
+
+import org.apache.commons.pool2.impl.GenericObjectPool;
+
+import java.lang.management.ManagementFactory;
+import java.text.SimpleDateFormat;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import lombok.extern.slf4j.Slf4j;
+import redis.clients.util.Pool;
+
+/**
+ * <p>Description: 连接池与命令耗时统计</p>
+ * 按命令、按节点、按连接池记录耗时到 {@link LatencyHistogram}, 记录时只查询 ConcurrentHashMap, 已存在的统计项不创建对象.
+ * 连接池的使用率、连接创建与销毁速率在快照时从连接池读取. 通过 {@link #snapshot()} 拉取统计结果,
+ * 或调用 {@link #register()} 后通过 JMX(info.dong4j.redis:type=RedisMetrics,name=...) 查看.
+ *
+ * @author dong4j
+ * @email dong4j@gmail.com
+ * @date 2026-10-18  23:58
+ */
+@Slf4j
+public class RedisMetrics implements RedisMetricsMXBean, FailoverListener {
+    private static final String DOMAIN = "info.dong4j.redis";
+
+    /**
+     * 提供需要统计的连接池, 快照时调用, 集群模式下节点变化后返回新的连接池
+     */
+    public interface NamedPools {
+        /**
+         * 需要统计的连接池
+         *
+         * @return 连接池名称 -> 连接池
+         */
+        Map<String, ? extends Pool<?>> getPools();
+    }
+
+    private final String                                name;
+    private final ConcurrentMap<String, LatencyHistogram> commands    = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, LatencyHistogram> nodes       = new ConcurrentHashMap<>();
+    /** 按连接池对象(Pool 未重写 equals)统计借出等待时间 */
+    private final ConcurrentMap<Object, LatencyHistogram> borrowWaits = new ConcurrentHashMap<>();
+    private final CopyOnWriteArrayList<NamedPools>        pools       = new CopyOnWriteArrayList<>();
+    private final AtomicLong                              failovers   = new AtomicLong();
+    /** 连接池名称 -> 上次快照时的 {创建数, 销毁数, 时间} */
+    private final Map<String, long[]>                     previous    = new HashMap<>();
+
+    private volatile String     lastFailover;
+    private          ObjectName objectName;
+
+    /**
+     * Instantiates a new Redis metrics.
+     *
+     * @param name JMX 名称, 同一个 JVM 中有多个实例时用于区分
+     */
+    public RedisMetrics(String name) {
+        this.name = name;
+    }
+
+    /**
+     * 统计连接池
+     *
+     * @param poolName the pool name
+     * @param pool     the pool
+     */
+    public void registerPool(String poolName, Pool<?> pool) {
+        final Map<String, Pool<?>> named = Collections.<String, Pool<?>>singletonMap(poolName, pool);
+        registerPools(new NamedPools() {
+            @Override
+            public Map<String, ? extends Pool<?>> getPools() {
+                return named;
+            }
+        });
+    }
+
+    /**
+     * 统计一组连接池
+     *
+     * @param namedPools the named pools
+     */
+    public void registerPools(NamedPools namedPools) {
+        pools.add(namedPools);
+    }
+
+    /**
+     * 记录一次命令耗时
+     *
+     * @param command 命令
+     * @param node    key 所在节点, 多 key 命令为 null
+     * @param nanos   耗时(纳秒)
+     */
+    public void recordCommand(String command, String node, long nanos) {
+        histogram(commands, command).record(nanos);
+        if (node != null) {
+            histogram(nodes, node).record(nanos);
+        }
+    }
+
+    /**
+     * 记录一次借出连接的等待时间
+     *
+     * @param pool  借出连接的连接池
+     * @param nanos 等待时间(纳秒)
+     */
+    public void recordBorrow(Pool<?> pool, long nanos) {
+        histogram(borrowWaits, pool).record(nanos);
+    }
+
+    /**
+     * 从连接池借出连接并记录等待时间
+     *
+     * @param <T>  the type parameter
+     * @param pool the pool
+     * @return the t
+     */
+    public <T> T borrow(Pool<T> pool) {
+        long begin = System.nanoTime();
+        try {
+            return pool.getResource();
+        } finally {
+            recordBorrow(pool, System.nanoTime() - begin);
+        }
+    }
+
+    @Override
+    public void onFailover(String masterName, String previousMaster, String currentMaster) {
+        failovers.incrementAndGet();
+        lastFailover = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS").format(new Date()) + " " + masterName + " "
+                       + previousMaster + " -> " + currentMaster;
+    }
+
+    private static <K> LatencyHistogram histogram(ConcurrentMap<K, LatencyHistogram> histograms, K key) {
+        LatencyHistogram histogram = histograms.get(key);
+        if (histogram == null) {
+            LatencyHistogram created = new LatencyHistogram();
+            histogram = histograms.putIfAbsent(key, created);
+            if (histogram == null) {
+                histogram = created;
+            }
+        }
+        return histogram;
+    }
+
+    /**
+     * 当前统计结果
+     *
+     * @return the redis metrics snapshot
+     */
+    public RedisMetricsSnapshot snapshot() {
+        return new RedisMetricsSnapshot(System.currentTimeMillis(),
+                                        getCommandLatency(),
+                                        getNodeLatency(),
+                                        getPools(),
+                                        getFailoverCount(),
+                                        getLastFailover());
+    }
+
+    @Override
+    public Map<String, LatencySnapshot> getCommandLatency() {
+        return snapshot(commands);
+    }
+
+    @Override
+    public Map<String, LatencySnapshot> getNodeLatency() {
+        return snapshot(nodes);
+    }
+
+    private static Map<String, LatencySnapshot> snapshot(Map<String, LatencyHistogram> histograms) {
+        Map<String, LatencySnapshot> result = new TreeMap<>();
+        for (Map.Entry<String, LatencyHistogram> entry : histograms.entrySet()) {
+            result.put(entry.getKey(), entry.getValue().snapshot());
+        }
+        return result;
+    }
+
+    @Override
+    public synchronized Map<String, PoolSnapshot> getPools() {
+        Map<String, PoolSnapshot> result  = new TreeMap<>();
+        Set<Object>               present = new HashSet<>();
+        long                      now     = System.nanoTime();
+        for (NamedPools namedPools : pools) {
+            for (Map.Entry<String, ? extends Pool<?>> entry : namedPools.getPools().entrySet()) {
+                present.add(entry.getValue());
+                GenericObjectPool<?> internalPool = JedisPools.internalPool(entry.getValue());
+                if (internalPool == null) {
+                    continue;
+                }
+                result.put(entry.getKey(), snapshot(entry.getKey(), internalPool,
+                                                    histogram(borrowWaits, entry.getValue()), now));
+            }
+        }
+        // 丢弃已移除的连接池(集群节点下线)
+        borrowWaits.keySet().retainAll(present);
+        previous.keySet().retainAll(result.keySet());
+        return result;
+    }
+
+    private PoolSnapshot snapshot(String poolName, GenericObjectPool<?> pool, LatencyHistogram borrowWait, long now) {
+        long   created   = pool.getCreatedCount();
+        long   destroyed = pool.getDestroyedCount();
+        long[] last      = previous.put(poolName, new long[] {created, destroyed, now});
+        double seconds   = last == null ? 0 : (now - last[2]) / 1e9;
+        return new PoolSnapshot(pool.getNumActive(),
+                                pool.getNumIdle(),
+                                pool.getNumWaiters(),
+                                pool.getMaxTotal(),
+                                created,
+                                destroyed,
+                                seconds <= 0 ? 0 : (created - last[0]) / seconds,
+                                seconds <= 0 ? 0 : (destroyed - last[1]) / seconds,
+                                pool.getMaxBorrowWaitTimeMillis(),
+                                borrowWait.snapshot());
+    }
+
+    @Override
+    public long getFailoverCount() {
+        return failovers.get();
+    }
+
+    @Override
+    public String getLastFailover() {
+        return lastFailover;
+    }
+
+    @Override
+    public void reset() {
+        for (LatencyHistogram histogram : commands.values()) {
+            histogram.reset();
+        }
+        for (LatencyHistogram histogram : nodes.values()) {
+            histogram.reset();
+        }
+        for (LatencyHistogram histogram : borrowWaits.values()) {
+            histogram.reset();
+        }
+    }
+
+    /**
+     * 注册到 platform MBeanServer
+     */
+    public synchronized void register() {
+        try {
+            ObjectName  objectName = new ObjectName(DOMAIN + ":type=RedisMetrics,name=" + ObjectName.quote(name));
+            MBeanServer server     = ManagementFactory.getPlatformMBeanServer();
+            if (server.isRegistered(objectName)) {
+                server.unregisterMBean(objectName);
+            }
+            server.registerMBean(this, objectName);
+            this.objectName = objectName;
+        } catch (JMException e) {
+            log.warn("Register redis metrics mbean failed. " + e.getMessage());
+        }
+    }
+
+    /**
+     * 从 platform MBeanServer 注销, 作为 spring bean 时自动调用
+     */
+    public synchronized void unregister() {
+        if (objectName == null) {
+            return;
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+        } catch (JMException e) {
+            log.warn("Unregister redis metrics mbean failed. " + e.getMessage());
+        }
+        objectName = null;
+    }
+
+    /**
+     * JMX 对象名, 未注册时为 null
+     *
+     * @return the object name
+     */
+    public synchronized ObjectName getObjectName() {
+        return objectName;
+    }
+}
@@ -0,0 +1,52 @@
+package info.dong4j.redis.service.support;
+
+import java.util.Map;
+
+/**
+ * <p>Description: 通过 JMX 查看 {@link RedisMetrics}</p>
+ *
+ * @author dong4j
+ * @email dong4j@gmail.com
+ * @date 2026-10-18  23:58
+ */
+public interface RedisMetricsMXBean {
+    /**
+     * 按命令统计的耗时
+     *
+     * @return 命令 -> 耗时
+     */
+    Map<String, LatencySnapshot> getCommandLatency();
+
+    /**
+     * 按节点统计的单 key 命令耗时
+     *
+     * @return 节点 -> 耗时
+     */
+    Map<String, LatencySnapshot> getNodeLatency();
+
+    /**
+     * 连接池使用情况
+     *
+     * @return 连接池名称 -> 使用情况
+     */
+    Map<String, PoolSnapshot> getPools();
+
+    /**
+     * 主从切换次数
+     *
+     * @return the failover count
+     */
+    long getFailoverCount();
+
+    /**
+     * 最近一次主从切换
+     *
+     * @return the last failover
+     */
+    String getLastFailover();
+
+    /**
+     * 清空耗时统计
+     */
+    void reset();
+}
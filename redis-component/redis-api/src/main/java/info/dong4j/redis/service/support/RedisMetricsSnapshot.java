@@ -0,0 +1,65 @@
+package info.dong4j.redis.service.support;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * <p>Description: {@link RedisMetrics} 某一时刻的统计结果</p>
+ *
+ * @author dong4j
+ * @email dong4j@gmail.com
+ * @date 2026-10-18  23:58
+ */
+public class RedisMetricsSnapshot {
+    private final long                         timestamp;
+    private final Map<String, LatencySnapshot> commandLatency;
+    private final Map<String, LatencySnapshot> nodeLatency;
+    private final Map<String, PoolSnapshot>    pools;
+    private final long                         failoverCount;
+    private final String                       lastFailover;
+
+    /**
+     * Instantiates a new Redis metrics snapshot.
+     *
+     * @param timestamp      快照时间(毫秒)
+     * @param commandLatency 命令 -> 耗时
+     * @param nodeLatency    节点 -> 耗时
+     * @param pools          连接池名称 -> 使用情况
+     * @param failoverCount  主从切换次数
+     * @param lastFailover   最近一次主从切换
+     */
+    public RedisMetricsSnapshot(long timestamp, Map<String, LatencySnapshot> commandLatency,
+                                Map<String, LatencySnapshot> nodeLatency, Map<String, PoolSnapshot> pools,
+                                long failoverCount, String lastFailover) {
+        this.timestamp = timestamp;
+        this.commandLatency = Collections.unmodifiableMap(commandLatency);
+        this.nodeLatency = Collections.unmodifiableMap(nodeLatency);
+        this.pools = Collections.unmodifiableMap(pools);
+        this.failoverCount = failoverCount;
+        this.lastFailover = lastFailover;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public Map<String, LatencySnapshot> getCommandLatency() {
+        return commandLatency;
+    }
+
+    public Map<String, LatencySnapshot> getNodeLatency() {
+        return nodeLatency;
+    }
+
+    public Map<String, PoolSnapshot> getPools() {
+        return pools;
+    }
+
+    public long getFailoverCount() {
+        return failoverCount;
+    }
+
+    public String getLastFailover() {
+        return lastFailover;
+    }
+}
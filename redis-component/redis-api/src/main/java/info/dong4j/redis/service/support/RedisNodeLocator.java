@@ -0,0 +1,25 @@
+package info.dong4j.redis.service.support;
+
+/**
+ * <p>Description: 根据 key 定位 redis 节点</p>
+ * 返回的节点标识用于按节点限流、统计等, 不同部署模式下的含义:
+ * 单机模式为 host:port, 哨兵模式为 master name, 分片模式为分片名称(未配置名称时为 host:port), 集群模式为 slot 所在 master 的 host:port.
+ *
+ * @author dong4j
+ * @email dong4j@gmail.com
+ * @date 2026-10-18  15:30
+ */
+public interface RedisNodeLocator {
+    /**
+     * 不针对单个 key 的命令(flushAll, keys 等)使用的节点标识
+     */
+    String ALL_NODES = "*";
+
+    /**
+     * 获取 key 所在的节点
+     *
+     * @param key the key
+     * @return 节点标识
+     */
+    String getNode(String key);
+}
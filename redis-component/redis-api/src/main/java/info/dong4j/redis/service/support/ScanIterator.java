@@ -0,0 +1,147 @@
+package info.dong4j.redis.service.support;
+
+import info.dong4j.redis.service.RedisService;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+import java.util.Set;
+
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Response;
+import redis.clients.jedis.ScanParams;
+import redis.clients.jedis.ScanResult;
+
+/**
+ * <p>Description: 基于 SCAN 游标的惰性 key 迭代器</p>
+ * 依次遍历每个节点(分片、集群 master), 每次只保存一页结果, 内存占用与 key 总数无关.
+ * 每一页单独从连接池借用连接, 迭代过程中不占用连接. 与 SCAN 的语义一致:
+ * 遍历期间一直存在的 key 一定会被返回, 遍历期间新增或删除的 key 可能返回也可能不返回, 同一个 key 可能返回多次.
+ * 按类型过滤时对每一页的 key 用 pipeline 发送 TYPE 命令, 不依赖 redis 6 的 SCAN TYPE 参数.
+ *
+ * @author dong4j
+ * @email dong4j@gmail.com
+ * @date 2026-10-18  20:00
+ */
+public class ScanIterator implements Iterator<String> {
+    /**
+     * {@link RedisService#keys} 使用的 COUNT
+     */
+    public static final int     DEFAULT_COUNT = 1000;
+    private static final String START_CURSOR  = ScanParams.SCAN_POINTER_START;
+
+    private final List<NodeScanner> nodes;
+    private final ScanParams        params;
+    private final String            type;
+    private final Queue<String>     page = new ArrayDeque<>();
+
+    private int    node;
+    private String cursor = START_CURSOR;
+
+    /**
+     * 单个节点的 SCAN
+     */
+    public interface NodeScanner {
+        /**
+         * 在节点上执行一次 SCAN, 实现类负责借用和归还连接, 通常直接调用 {@link #scan(Jedis, String, ScanParams, String)}
+         *
+         * @param cursor the cursor
+         * @param params the params
+         * @param type   the type
+         * @return 本页的 key 与下一个游标
+         */
+        ScanResult<String> scan(String cursor, ScanParams params, String type);
+    }
+
+    /**
+     * Instantiates a new Scan iterator.
+     *
+     * @param nodes   需要遍历的节点
+     * @param pattern MATCH 匹配模式, 为 null 时不过滤
+     * @param count   COUNT 每次 SCAN 的数量提示
+     * @param type    key 类型(string/list/set/zset/hash), 为 null 时不过滤
+     */
+    public ScanIterator(List<NodeScanner> nodes, String pattern, int count, String type) {
+        this.nodes = nodes;
+        this.params = new ScanParams().count(count);
+        if (pattern != null) {
+            this.params.match(pattern);
+        }
+        this.type = type;
+    }
+
+    @Override
+    public boolean hasNext() {
+        // 带 MATCH 时可能连续返回空页, 直到取到数据或所有节点遍历完
+        while (page.isEmpty() && node < nodes.size()) {
+            ScanResult<String> result = nodes.get(node).scan(cursor, params, type);
+            page.addAll(result.getResult());
+            cursor = result.getStringCursor();
+            if (START_CURSOR.equals(cursor)) {
+                node++;
+            }
+        }
+        return !page.isEmpty();
+    }
+
+    @Override
+    public String next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return page.poll();
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException("remove");
+    }
+
+    /**
+     * 将迭代器的结果去重后放入集合
+     *
+     * @param iterator the iterator
+     * @return the set
+     */
+    public static Set<String> collect(Iterator<String> iterator) {
+        Set<String> keys = new HashSet<>();
+        while (iterator.hasNext()) {
+            keys.add(iterator.next());
+        }
+        return keys;
+    }
+
+    /**
+     * 在连接上执行一次 SCAN, type 不为空时用 pipeline 查询本页 key 的类型并过滤
+     *
+     * @param jedis  the jedis
+     * @param cursor the cursor
+     * @param params the params
+     * @param type   the type
+     * @return the scan result
+     */
+    public static ScanResult<String> scan(Jedis jedis, String cursor, ScanParams params, String type) {
+        ScanResult<String> result = jedis.scan(cursor, params);
+        if (type == null || result.getResult().isEmpty()) {
+            return result;
+        }
+        Pipeline               pipeline = jedis.pipelined();
+        List<Response<String>> types    = new ArrayList<>(result.getResult().size());
+        for (String key : result.getResult()) {
+            types.add(pipeline.type(key));
+        }
+        pipeline.sync();
+        List<String> keys = new ArrayList<>(types.size());
+        for (int i = 0; i < types.size(); i++) {
+            if (type.equals(types.get(i).get())) {
+                keys.add(result.getResult().get(i));
+            }
+        }
+        return new ScanResult<>(result.getStringCursor(), keys);
+    }
+}
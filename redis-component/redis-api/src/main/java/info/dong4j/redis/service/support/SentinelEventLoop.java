@@ -0,0 +1,482 @@
+package info.dong4j.redis.service.support;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+
+import lombok.extern.slf4j.Slf4j;
+import redis.clients.jedis.HostAndPort;
+import redis.clients.jedis.exceptions.JedisDataException;
+
+/**
+ * <p>Description: 单线程订阅所有 sentinel 的事件循环</p>
+ * 一个 NIO Selector 线程维护到所有 sentinel 的订阅连接, 代替每个 sentinel 一个阻塞 subscribe 线程.
+ * 连接断开或连接超时后按带随机抖动的指数退避重连(base 100ms, 上限 30s), 订阅成功后退避清零.
+ * 收到的消息按到达顺序放入同一个处理线程执行, 所有 sentinel 的事件串行处理, 事件循环线程不执行业务逻辑.
+ *
+ * @author dong4j
+ * @email dong4j@gmail.com
+ * @date 2026-10-18  21:40
+ */
+@Slf4j
+public class SentinelEventLoop {
+    private static final long BASE_BACKOFF_MILLIS = 100;
+    private static final long MAX_BACKOFF_MILLIS  = 30000;
+    private static final long MAX_SELECT_MILLIS   = 1000;
+
+    private final List<SentinelConnection> connections = new ArrayList<>();
+    private final int                      connectionTimeout;
+    private final Listener                 listener;
+    private final String[]                 channels;
+    private final ExecutorService          processor;
+    private final ByteBuffer               readBuffer  = ByteBuffer.allocate(8192);
+
+    private volatile boolean running;
+    private Selector         selector;
+    private Thread           loop;
+
+    /**
+     * sentinel 事件回调, 在处理线程中按顺序执行
+     */
+    public interface Listener {
+        /**
+         * 所有 channel 订阅成功, 包括断线重连后的重新订阅. 断开期间的消息可能已丢失
+         *
+         * @param sentinel the sentinel
+         */
+        void onSubscribe(HostAndPort sentinel);
+
+        /**
+         * 收到消息
+         *
+         * @param sentinel the sentinel
+         * @param channel  the channel
+         * @param message  the message
+         */
+        void onMessage(HostAndPort sentinel, String channel, String message);
+    }
+
+    /**
+     * Instantiates a new Sentinel event loop.
+     *
+     * @param sentinels         the sentinels
+     * @param connectionTimeout 连接超时时间(毫秒), 小于等于 0 时不限制
+     * @param listener          the listener
+     * @param channels          订阅的 channel
+     */
+    public SentinelEventLoop(Collection<HostAndPort> sentinels, int connectionTimeout, Listener listener,
+                             String... channels) {
+        for (HostAndPort sentinel : sentinels) {
+            connections.add(new SentinelConnection(sentinel));
+        }
+        this.connectionTimeout = connectionTimeout;
+        this.listener = listener;
+        this.channels = channels;
+        this.processor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread thread = new Thread(r, "sentinel-event-processor");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+
+    /**
+     * 启动事件循环线程
+     *
+     * @throws IOException the io exception
+     */
+    public synchronized void start() throws IOException {
+        selector = Selector.open();
+        running = true;
+        loop = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                runLoop();
+            }
+        }, "sentinel-event-loop");
+        loop.setDaemon(true);
+        loop.start();
+    }
+
+    /**
+     * 停止事件循环并关闭所有连接
+     */
+    public synchronized void shutdown() {
+        running = false;
+        if (selector != null) {
+            selector.wakeup();
+        }
+        processor.shutdown();
+    }
+
+    private void runLoop() {
+        while (running) {
+            try {
+                long now     = System.currentTimeMillis();
+                long timeout = MAX_SELECT_MILLIS;
+                for (SentinelConnection connection : connections) {
+                    if (connection.channel == null && now >= connection.reconnectAt) {
+                        connect(connection, now);
+                    } else if (connection.channel != null && !connection.channel.isConnected()
+                               && now >= connection.connectDeadline) {
+                        fail(connection, "connect timeout");
+                    }
+                    long deadline = connection.channel == null ? connection.reconnectAt : connection.connectDeadline;
+                    if (connection.channel == null || !connection.channel.isConnected()) {
+                        timeout = Math.min(timeout, Math.max(1, deadline - now));
+                    }
+                }
+                selector.select(timeout);
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    SentinelConnection connection = (SentinelConnection) key.attachment();
+                    try {
+                        if (key.isValid() && key.isConnectable()) {
+                            if (connection.channel.finishConnect()) {
+                                subscribe(connection);
+                            }
+                        }
+                        if (key.isValid() && key.isReadable()) {
+                            read(connection);
+                        }
+                    } catch (IOException | RuntimeException e) {
+                        fail(connection, e.getMessage());
+                    }
+                }
+            } catch (Exception e) {
+                log.error("Sentinel event loop error", e);
+            }
+        }
+        for (SentinelConnection connection : connections) {
+            close(connection);
+        }
+        try {
+            selector.close();
+        } catch (IOException e) {
+            log.debug("Close selector failed. " + e.getMessage());
+        }
+    }
+
+    /**
+     * 发起非阻塞连接
+     *
+     * @param connection the connection
+     * @param now        the now
+     */
+    private void connect(SentinelConnection connection, long now) {
+        try {
+            SocketChannel channel = SocketChannel.open();
+            connection.channel = channel;
+            connection.parser = new RespParser();
+            connection.subscribed = 0;
+            channel.configureBlocking(false);
+            connection.key = channel.register(selector, SelectionKey.OP_CONNECT, connection);
+            // 与 Jedis 一致, 连接超时小于等于 0 时不限制
+            connection.connectDeadline = connectionTimeout > 0 ? now + connectionTimeout : Long.MAX_VALUE;
+            if (channel.connect(new InetSocketAddress(connection.sentinel.getHost(),
+                                                      connection.sentinel.getPort()))) {
+                subscribe(connection);
+            }
+        } catch (IOException | RuntimeException e) {
+            fail(connection, e.getMessage());
+        }
+    }
+
+    /**
+     * 连接建立后发送 SUBSCRIBE
+     *
+     * @param connection the connection
+     * @throws IOException the io exception
+     */
+    private void subscribe(SentinelConnection connection) throws IOException {
+        String[] command = new String[channels.length + 1];
+        command[0] = "SUBSCRIBE";
+        System.arraycopy(channels, 0, command, 1, channels.length);
+        ByteBuffer buffer = ByteBuffer.wrap(RespParser.encode(command));
+        // 命令只有几十个字节, 新建立的连接发送缓冲区一定放得下
+        connection.channel.write(buffer);
+        if (buffer.hasRemaining()) {
+            throw new IOException("Cannot write subscribe command");
+        }
+        connection.key.interestOps(SelectionKey.OP_READ);
+    }
+
+    /**
+     * 读取并解析推送消息
+     *
+     * @param connection the connection
+     * @throws IOException the io exception
+     */
+    private void read(SentinelConnection connection) throws IOException {
+        readBuffer.clear();
+        if (connection.channel.read(readBuffer) < 0) {
+            throw new IOException("Connection closed by sentinel");
+        }
+        readBuffer.flip();
+        connection.parser.feed(readBuffer);
+        Object reply;
+        while ((reply = connection.parser.next()) != RespParser.INCOMPLETE) {
+            handle(connection, reply);
+        }
+    }
+
+    /**
+     * 处理推送: [subscribe, channel, count] 或 [message, channel, payload]
+     *
+     * @param connection the connection
+     * @param reply      the reply
+     */
+    private void handle(final SentinelConnection connection, Object reply) {
+        if (reply instanceof JedisDataException) {
+            throw (JedisDataException) reply;
+        }
+        if (!(reply instanceof List) || ((List<?>) reply).size() < 3) {
+            log.warn("Unexpected reply from sentinel " + connection.sentinel + ": " + reply);
+            return;
+        }
+        List<?> push = (List<?>) reply;
+        String  type = String.valueOf(push.get(0));
+        if ("subscribe".equals(type)) {
+            if (++connection.subscribed == channels.length) {
+                connection.attempt = 0;
+                log.info("Subscribed to Sentinel at " + connection.sentinel);
+                dispatch(new Runnable() {
+                    @Override
+                    public void run() {
+                        listener.onSubscribe(connection.sentinel);
+                    }
+                });
+            }
+        } else if ("message".equals(type)) {
+            final String channel = String.valueOf(push.get(1));
+            final String message = String.valueOf(push.get(2));
+            dispatch(new Runnable() {
+                @Override
+                public void run() {
+                    listener.onMessage(connection.sentinel, channel, message);
+                }
+            });
+        }
+    }
+
+    /**
+     * 放入处理队列, 所有 sentinel 的事件按到达顺序串行处理
+     *
+     * @param task the task
+     */
+    private void dispatch(final Runnable task) {
+        if (processor.isShutdown()) {
+            return;
+        }
+        processor.execute(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    task.run();
+                } catch (Exception e) {
+                    log.error("Handle sentinel event failed", e);
+                }
+            }
+        });
+    }
+
+    /**
+     * 关闭连接并按指数退避加随机抖动安排重连
+     *
+     * @param connection the connection
+     * @param reason     the reason
+     */
+    private void fail(SentinelConnection connection, String reason) {
+        close(connection);
+        long backoff = Math.min(MAX_BACKOFF_MILLIS, BASE_BACKOFF_MILLIS << Math.min(connection.attempt, 16));
+        long delay   = backoff / 2 + ThreadLocalRandom.current().nextLong(backoff / 2 + 1);
+        connection.attempt++;
+        connection.reconnectAt = System.currentTimeMillis() + delay;
+        if (running) {
+            log.info("Lost connection to Sentinel at " + connection.sentinel + " (" + reason + "). Retrying in "
+                     + delay + "ms.");
+        }
+    }
+
+    private void close(SentinelConnection connection) {
+        if (connection.key != null) {
+            connection.key.cancel();
+            connection.key = null;
+        }
+        if (connection.channel != null) {
+            try {
+                connection.channel.close();
+            } catch (IOException e) {
+                log.debug("Close sentinel connection failed. " + e.getMessage());
+            }
+            connection.channel = null;
+        }
+    }
+
+    /**
+     * <p>Description: 单个 sentinel 的连接状态, 只在事件循环线程中访问 </p>
+     *
+     * @author dong4j
+     * @email dong4j@gmail.com
+     * @date 2026-10-18  21:40
+     */
+    private static class SentinelConnection {
+        private final HostAndPort sentinel;
+        private SocketChannel     channel;
+        private SelectionKey      key;
+        private RespParser        parser;
+        private int               subscribed;
+        private int               attempt;
+        private long              reconnectAt;
+        private long              connectDeadline;
+
+        /**
+         * Instantiates a new Sentinel connection.
+         *
+         * @param sentinel the sentinel
+         */
+        SentinelConnection(HostAndPort sentinel) {
+            this.sentinel = sentinel;
+        }
+    }
+
+    /**
+     * <p>Description: 增量 RESP 解析, 数据不完整时保留已收到的字节等待下次读取 </p>
+     *
+     * @author dong4j
+     * @email dong4j@gmail.com
+     * @date 2026-10-18  21:40
+     */
+    static class RespParser {
+        /**
+         * 数据不完整
+         */
+        static final Object INCOMPLETE = new Object();
+
+        private byte[] buf = new byte[4096];
+        private int    start;
+        private int    end;
+        private int    pos;
+
+        /**
+         * 编码命令
+         *
+         * @param args the args
+         * @return the byte [ ]
+         */
+        static byte[] encode(String... args) {
+            StringBuilder command = new StringBuilder();
+            command.append('*').append(args.length).append("\r\n");
+            for (String arg : args) {
+                byte[] bytes = arg.getBytes(StandardCharsets.UTF_8);
+                command.append('$').append(bytes.length).append("\r\n").append(arg).append("\r\n");
+            }
+            return command.toString().getBytes(StandardCharsets.UTF_8);
+        }
+
+        /**
+         * 追加收到的数据
+         *
+         * @param src the src
+         */
+        void feed(ByteBuffer src) {
+            int length = src.remaining();
+            if (end + length > buf.length) {
+                System.arraycopy(buf, start, buf, 0, end - start);
+                end -= start;
+                start = 0;
+                if (end + length > buf.length) {
+                    byte[] grown = new byte[Math.max(buf.length * 2, end + length)];
+                    System.arraycopy(buf, 0, grown, 0, end);
+                    buf = grown;
+                }
+            }
+            src.get(buf, end, length);
+            end += length;
+        }
+
+        /**
+         * 解析下一个完整的回复
+         *
+         * @return 回复, 数据不完整时返回 {@link #INCOMPLETE}
+         */
+        Object next() {
+            pos = start;
+            Object reply = parse();
+            if (reply != INCOMPLETE) {
+                start = pos;
+            }
+            return reply;
+        }
+
+        private Object parse() {
+            String line = readLine();
+            if (line == null) {
+                return INCOMPLETE;
+            }
+            String body = line.substring(1);
+            switch (line.charAt(0)) {
+                case '+':
+                    return body;
+                case '-':
+                    return new JedisDataException(body);
+                case ':':
+                    return Long.parseLong(body);
+                case '$':
+                    int length = Integer.parseInt(body);
+                    if (length < 0) {
+                        return null;
+                    }
+                    if (end - pos < length + 2) {
+                        return INCOMPLETE;
+                    }
+                    String value = new String(buf, pos, length, StandardCharsets.UTF_8);
+                    pos += length + 2;
+                    return value;
+                case '*':
+                    int size = Integer.parseInt(body);
+                    if (size < 0) {
+                        return null;
+                    }
+                    List<Object> values = new ArrayList<>(size);
+                    for (int i = 0; i < size; i++) {
+                        Object element = parse();
+                        if (element == INCOMPLETE) {
+                            return INCOMPLETE;
+                        }
+                        values.add(element);
+                    }
+                    return values;
+                default:
+                    throw new JedisDataException("Unknown reply: " + line);
+            }
+        }
+
+        private String readLine() {
+            for (int i = pos; i + 1 < end; i++) {
+                if (buf[i] == '\r' && buf[i + 1] == '\n') {
+                    String line = new String(buf, pos, i - pos, StandardCharsets.UTF_8);
+                    pos = i + 2;
+                    return line;
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package info.dong4j.redis.service.support;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import lombok.extern.slf4j.Slf4j;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisShardInfo;
+import redis.clients.jedis.exceptions.JedisDataException;
+import redis.clients.jedis.exceptions.JedisException;
+import redis.clients.util.SafeEncoder;
+
+/**
+ * <p>Description: 增加分片后的在线迁移</p>
+ * 同时持有扩容前后的两个路由表, 所有命令按新路由表执行. 迁移完成前, 访问分片位置发生变化的 key 时,
+ * 如果新分片上还没有该 key, 先用 DUMP/PTTL/RESTORE 从旧分片搬到新分片并删除旧分片上的 key, 再在新分片上执行命令.
+ * 读写都先搬迁, 因此读不会因为扩容而 miss, 对 hash/list 等的局部修改也不会在新分片上产生残缺的 key.
+ * 剩余的 key 由 {@link ShardMigrator} 在后台扫描迁移, 全部完成后只使用新路由表.
+ * 只支持增加分片, 扩容前的分片必须都在新的分片列表中.
+ *
+ * @author dong4j
+ * @email dong4j@gmail.com
+ * @date 2026-10-18  23:20
+ */
+@Slf4j
+public class ShardMigration {
+    private static final String BUSY_KEY = "BUSYKEY";
+
+    /**
+     * 按新分片下标获取分片连接
+     */
+    public interface Shards {
+        /**
+         * 获取分片连接
+         *
+         * @param index 新分片列表中的下标
+         * @return the jedis
+         */
+        Jedis shard(int index);
+    }
+
+    private final ShardRouter previous;
+    private final ShardRouter current;
+    /** 扩容前分片下标 -> 新分片下标 */
+    private final int[]       previousToCurrent;
+
+    private volatile boolean completed;
+
+    /**
+     * Instantiates a new Shard migration.
+     *
+     * @param previousShards 扩容前的分片信息, 顺序与扩容前的配置一致
+     * @param shards         扩容后的分片信息
+     * @param keyTag         是否按 key tag 计算分片
+     */
+    public ShardMigration(List<JedisShardInfo> previousShards, List<JedisShardInfo> shards, boolean keyTag) {
+        this(previousShards, shards, keyTag, 0);
+    }
+
+    /**
+     * Instantiates a new Shard migration.
+     *
+     * @param previousShards 扩容前的分片信息, 顺序与扩容前的配置一致
+     * @param shards         扩容后的分片信息
+     * @param keyTag         是否按 key tag 计算分片
+     * @param loadFactor     有界负载系数, 扩容前后使用相同的配置
+     */
+    public ShardMigration(List<JedisShardInfo> previousShards, List<JedisShardInfo> shards, boolean keyTag, double loadFactor) {
+        Map<String, Integer> indexes = new HashMap<>();
+        for (int i = 0; i < shards.size(); i++) {
+            indexes.put(identity(shards.get(i)), i);
+        }
+        this.previousToCurrent = new int[previousShards.size()];
+        for (int i = 0; i < previousShards.size(); i++) {
+            Integer index = indexes.get(identity(previousShards.get(i)));
+            if (index == null) {
+                throw new IllegalArgumentException("previous shard " + identity(previousShards.get(i))
+                                                   + " is not in current shards, only adding shards is supported");
+            }
+            previousToCurrent[i] = index;
+        }
+        this.previous = new ShardRouter(previousShards, keyTag, loadFactor);
+        this.current = new ShardRouter(shards, keyTag, loadFactor);
+    }
+
+    /**
+     * 分片标识, 有名称时使用名称, 否则使用地址
+     *
+     * @param shardInfo the shard info
+     * @return the string
+     */
+    private static String identity(JedisShardInfo shardInfo) {
+        return shardInfo.getName() != null ? shardInfo.getName() : shardInfo.getHost() + ":" + shardInfo.getPort();
+    }
+
+    /**
+     * 定位 key 所在的新分片, 迁移完成前先把 key 从旧分片搬到新分片
+     *
+     * @param key    the key
+     * @param shards 分片连接
+     * @return 新分片下标
+     */
+    public int index(String key, Shards shards) {
+        int target = current.index(key);
+        if (!completed) {
+            int source = previousToCurrent[previous.index(key)];
+            if (source != target) {
+                migrate(SafeEncoder.encode(key), shards, source, target);
+            }
+        }
+        return target;
+    }
+
+    /**
+     * 定位 key 所在的新分片, 迁移完成前先把 key 从旧分片搬到新分片
+     *
+     * @param key    the key
+     * @param shards 分片连接
+     * @return 新分片下标
+     */
+    public int index(byte[] key, Shards shards) {
+        int target = current.index(key);
+        if (!completed) {
+            int source = previousToCurrent[previous.index(key)];
+            if (source != target) {
+                migrate(key, shards, source, target);
+            }
+        }
+        return target;
+    }
+
+    /**
+     * 扫描得到的 key 在新路由表中的分片下标, 与 String 命令和二进制命令的路由一致
+     *
+     * @param key the key
+     * @return the int
+     */
+    int target(byte[] key) {
+        return current.index(key);
+    }
+
+    /**
+     * 扩容前分片对应的新分片下标, 即需要后台扫描的分片
+     *
+     * @return the list
+     */
+    List<Integer> sources() {
+        Set<Integer> sources = new LinkedHashSet<>();
+        for (int index : previousToCurrent) {
+            sources.add(index);
+        }
+        return new ArrayList<>(sources);
+    }
+
+    /**
+     * 是否已迁移完成
+     *
+     * @return the boolean
+     */
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    /**
+     * 后台迁移完成后调用, 之后不再检查旧分片
+     */
+    void complete() {
+        completed = true;
+    }
+
+    /**
+     * 迁移单个 key, 迁移失败时记录日志并继续使用新分片
+     *
+     * @param key    the key
+     * @param shards the shards
+     * @param source the source
+     * @param target the target
+     */
+    private void migrate(byte[] key, Shards shards, int source, int target) {
+        try {
+            Jedis to = shards.shard(target);
+            if (to.exists(key)) {
+                return;
+            }
+            migrate(key, shards.shard(source), to);
+        } catch (JedisException e) {
+            log.warn("Migrate key " + SafeEncoder.encode(key) + " failed. " + e.getMessage());
+        }
+    }
+
+    /**
+     * 把 key 从 source 搬到 target 并删除 source 上的 key.
+     * target 上已存在该 key(已被并发迁移或按新路由写入)时以 target 为准, 确认 target 上存在后删除 source 上不会再被读取的旧副本
+     *
+     * @param key    the key
+     * @param source the source
+     * @param target the target
+     * @return 是否搬迁了数据
+     */
+    static boolean migrate(byte[] key, Jedis source, Jedis target) {
+        byte[] value = source.dump(key);
+        if (value == null) {
+            return false;
+        }
+        Long ttl = source.pttl(key);
+        // -2: key 已过期或被删除
+        if (ttl == null || ttl == -2) {
+            return false;
+        }
+        try {
+            target.restore(key, ttl < 0 ? 0 : (int) Math.min(ttl, Integer.MAX_VALUE), value);
+        } catch (JedisDataException e) {
+            if (e.getMessage() == null || !e.getMessage().startsWith(BUSY_KEY)) {
+                throw e;
+            }
+            if (target.exists(key)) {
+                source.del(key);
+                log.info("Migrate key " + SafeEncoder.encode(key) + " skipped, target already exists, stale source removed");
+            } else {
+                log.warn("Migrate key " + SafeEncoder.encode(key) + " skipped, target changed during migration, keep source");
+            }
+            return false;
+        }
+        source.del(key);
+        return true;
+    }
+}
@@ -0,0 +1,150 @@
+package info.dong4j.redis.service.support;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import lombok.extern.slf4j.Slf4j;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.ScanParams;
+import redis.clients.jedis.ScanResult;
+import redis.clients.jedis.ShardedJedis;
+import redis.clients.jedis.exceptions.JedisException;
+import redis.clients.util.Pool;
+import redis.clients.util.SafeEncoder;
+
+/**
+ * <p>Description: 增加分片后的后台迁移</p>
+ * 每个旧分片一个线程, 用 SCAN 遍历该分片, 把新路由表中不属于该分片的 key 用 DUMP/RESTORE 搬到新分片.
+ * 所有线程共享 maxKeysPerSecond 的扫描速率, 避免迁移占满 redis; 出错时间隔 1000ms 从当前游标重试.
+ * 全部旧分片扫描完成后标记 {@link ShardMigration} 完成.
+ *
+ * @author dong4j
+ * @email dong4j@gmail.com
+ * @date 2026-10-18  23:20
+ */
+@Slf4j
+public class ShardMigrator {
+    private final Pool<ShardedJedis> pool;
+    private final ShardMigration     migration;
+    private final int                scanCount;
+    private final int                maxKeysPerSecond;
+    private final AtomicLong         migrated = new AtomicLong();
+    private       ExecutorService    executor;
+
+    /**
+     * Instantiates a new Shard migrator.
+     *
+     * @param pool             分片连接池, 借出的 ShardedJedis 需实现 {@link ShardMigration.Shards}
+     * @param migration        the migration
+     * @param scanCount        每次 SCAN 的 COUNT
+     * @param maxKeysPerSecond 所有旧分片合计每秒最多扫描的 key 数量
+     */
+    public ShardMigrator(Pool<ShardedJedis> pool, ShardMigration migration, int scanCount, int maxKeysPerSecond) {
+        this.pool = pool;
+        this.migration = migration;
+        this.scanCount = scanCount;
+        this.maxKeysPerSecond = maxKeysPerSecond;
+    }
+
+    /**
+     * 启动后台迁移
+     */
+    public synchronized void start() {
+        final List<Integer> sources       = migration.sources();
+        final AtomicInteger remaining     = new AtomicInteger(sources.size());
+        final int           keysPerSecond = Math.max(1, maxKeysPerSecond / sources.size());
+        executor = Executors.newFixedThreadPool(sources.size(), new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread thread = new Thread(r, "shard-migrator");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        for (final Integer source : sources) {
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    if (!migrateShard(source, keysPerSecond)) {
+                        return;
+                    }
+                    if (remaining.decrementAndGet() == 0) {
+                        migration.complete();
+                        log.info("Shard migration completed, " + migrated.get() + " keys migrated");
+                    }
+                }
+            });
+        }
+        log.info("Shard migration started on " + sources.size() + " shards");
+    }
+
+    /**
+     * 迁移单个旧分片
+     *
+     * @param source        旧分片在新分片列表中的下标
+     * @param keysPerSecond 该分片每秒最多扫描的 key 数量
+     * @return 是否扫描完成, 被中断时返回 false
+     */
+    private boolean migrateShard(int source, int keysPerSecond) {
+        ScanParams params   = new ScanParams().count(scanCount);
+        byte[]     cursor   = ScanParams.SCAN_POINTER_START_BINARY;
+        boolean    finished = false;
+        while (!finished && !Thread.currentThread().isInterrupted()) {
+            long begin = System.nanoTime();
+            int  count;
+            try (ShardedJedis shardedJedis = pool.getResource()) {
+                // 只借用 source 与实际需要的 target 分片的连接
+                ShardMigration.Shards shards = (ShardMigration.Shards) shardedJedis;
+                Jedis                 from   = shards.shard(source);
+                ScanResult<byte[]>    page   = from.scan(cursor, params);
+                for (byte[] key : page.getResult()) {
+                    int target = migration.target(key);
+                    if (target != source && ShardMigration.migrate(key, from, shards.shard(target))) {
+                        migrated.incrementAndGet();
+                    }
+                }
+                cursor = page.getCursorAsBytes();
+                count = page.getResult().size();
+                finished = ScanParams.SCAN_POINTER_START.equals(page.getStringCursor());
+            } catch (JedisException e) {
+                log.warn("Migrate shard " + source + " failed at cursor " + SafeEncoder.encode(cursor)
+                         + ", retry later. " + e.getMessage());
+                count = keysPerSecond;
+            }
+            // 按扫描数量限速
+            long sleep = TimeUnit.SECONDS.toNanos(count) / keysPerSecond - (System.nanoTime() - begin);
+            if (sleep > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(sleep);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+        }
+        return finished;
+    }
+
+    /**
+     * 已迁移的 key 数量
+     *
+     * @return the migrated
+     */
+    public long getMigrated() {
+        return migrated.get();
+    }
+
+    /**
+     * 停止后台迁移
+     */
+    public synchronized void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,350 @@
+package info.dong4j.redis.service.support;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import redis.clients.jedis.JedisShardInfo;
+import redis.clients.util.Hashing;
+
+/**
+ * <p>Description: 分片路由表</p>
+ * 与 Jedis Sharded 使用 MURMUR_HASH 时的分片位置逐位一致(虚拟节点名称、每个分片 160 * weight 个虚拟节点、
+ * hash 冲突时后面的分片覆盖前面的分片), 已有数据不需要迁移.
+ * 虚拟节点保存在有序的 long[] 中, 与分片下标数组一一对应, 查找为二分查找;
+ * String key 直接按字符计算 UTF-8 编码后的 MurmurHash64A, 不生成中间 byte[].
+ * 开启 key tag 时只按 {@link KeyTags} 的 tag 计算分片, String key 与 Jedis 使用 DEFAULT_KEY_TAG_PATTERN 时一致;
+ * byte[] key 直接在字节上查找 tag(Jedis 不处理 byte[] key 的 tag), 与同一个 key 的 String 形式落在同一个分片上,
+ * 二进制命令、String 命令与扩容迁移使用同一个路由.
+ * 配置 loadFactor 时使用有界负载的一致性 hash: 按环上的弧长计算每个分片负责的 key 空间,
+ * 任一分片超过 loadFactor 倍按权重应得的份额时, 超出的虚拟节点顺时针交给下一个还有余量的分片.
+ * 分配只由分片列表决定, 所有客户端结果相同; 开启后不再与 Jedis Sharded 兼容.
+ * 实例不可变, 分片变化时创建新的实例整体替换.
+ *
+ * @author dong4j
+ * @email dong4j@gmail.com
+ * @date 2026-10-18  22:30
+ */
+public final class ShardRouter {
+    private static final int    SEED       = 0x1234ABCD;
+    private static final long   M          = 0xc6a4a7935bd1e995L;
+    private static final int    R          = 47;
+    /** 2^-64, 把无符号弧长换算为环的比例 */
+    private static final double RING_SCALE = 0x1p-64;
+
+    /** 虚拟节点 hash, 升序 */
+    private final long[]  ring;
+    /** 虚拟节点对应的分片下标 */
+    private final int[]   shards;
+    /** 是否按 key tag 计算分片 */
+    private final boolean keyTag;
+
+    /**
+     * Instantiates a new Shard router.
+     *
+     * @param shardInfos 分片信息, 下标即 {@link #index(String)} 的返回值
+     */
+    public ShardRouter(List<JedisShardInfo> shardInfos) {
+        this(shardInfos, false);
+    }
+
+    /**
+     * Instantiates a new Shard router.
+     *
+     * @param shardInfos 分片信息, 下标即 {@link #index(String)} 的返回值
+     * @param keyTag     是否按 key tag 计算分片
+     */
+    public ShardRouter(List<JedisShardInfo> shardInfos, boolean keyTag) {
+        this(shardInfos, keyTag, 0);
+    }
+
+    /**
+     * Instantiates a new Shard router.
+     *
+     * @param shardInfos 分片信息, 下标即 {@link #index(String)} 的返回值
+     * @param keyTag     是否按 key tag 计算分片
+     * @param loadFactor 单个分片最多负责按权重应得份额的倍数, 必须大于 1; 小于等于 0 时不限制
+     */
+    public ShardRouter(List<JedisShardInfo> shardInfos, boolean keyTag, double loadFactor) {
+        this.keyTag = keyTag;
+        // 与 Sharded.initialize 相同的插入顺序, 保证 hash 冲突时的覆盖结果一致
+        TreeMap<Long, Integer> nodes = new TreeMap<>();
+        for (int i = 0; i < shardInfos.size(); i++) {
+            JedisShardInfo shardInfo = shardInfos.get(i);
+            for (int n = 0; n < 160 * shardInfo.getWeight(); n++) {
+                String node = shardInfo.getName() == null
+                              ? "SHARD-" + i + "-NODE-" + n
+                              : shardInfo.getName() + "*" + shardInfo.getWeight() + n;
+                nodes.put(Hashing.MURMUR_HASH.hash(node), i);
+            }
+        }
+        this.ring = new long[nodes.size()];
+        this.shards = new int[nodes.size()];
+        int position = 0;
+        for (Map.Entry<Long, Integer> entry : nodes.entrySet()) {
+            ring[position] = entry.getKey();
+            shards[position] = entry.getValue();
+            position++;
+        }
+        if (loadFactor > 0) {
+            bound(shardInfos, loadFactor);
+        }
+    }
+
+    /**
+     * 按环的顺序为每个虚拟节点负责的弧重新选择分片, 超过上限的分片把弧顺时针让给下一个还有余量的分片
+     *
+     * @param shardInfos the shard infos
+     * @param loadFactor the load factor
+     */
+    private void bound(List<JedisShardInfo> shardInfos, double loadFactor) {
+        if (loadFactor <= 1) {
+            throw new IllegalArgumentException("load factor must be greater than 1, loadFactor = " + loadFactor);
+        }
+        double totalWeight = 0;
+        for (JedisShardInfo shardInfo : shardInfos) {
+            totalWeight += shardInfo.getWeight();
+        }
+        double[] capacity = new double[shardInfos.size()];
+        for (int i = 0; i < capacity.length; i++) {
+            capacity[i] = loadFactor * shardInfos.get(i).getWeight() / totalWeight;
+        }
+        double[] load   = new double[shardInfos.size()];
+        int[]    owners = shards.clone();
+        for (int i = 0; i < ring.length; i++) {
+            double arc    = arc(i);
+            int    chosen = owners[i];
+            for (int j = 0; j < ring.length; j++) {
+                int shard = owners[(i + j) % ring.length];
+                if (load[shard] + arc <= capacity[shard]) {
+                    chosen = shard;
+                    break;
+                }
+            }
+            shards[i] = chosen;
+            load[chosen] += arc;
+        }
+    }
+
+    /**
+     * 虚拟节点 i 负责的弧(上一个虚拟节点之后到该节点)占整个环的比例
+     *
+     * @param i 虚拟节点下标
+     * @return the double
+     */
+    private double arc(int i) {
+        if (ring.length == 1) {
+            return 1;
+        }
+        // 按无符号数计算, 第一个节点的弧跨过环的起点
+        long length = ring[i] - ring[i == 0 ? ring.length - 1 : i - 1];
+        return ((length >>> 1) * 2.0 + (length & 1)) * RING_SCALE;
+    }
+
+    /**
+     * 每个分片负责的 key 空间占整个环的比例
+     *
+     * @param shardCount 分片数量
+     * @return the double [ ]
+     */
+    double[] shares(int shardCount) {
+        double[] shares = new double[shardCount];
+        for (int i = 0; i < ring.length; i++) {
+            shares[shards[i]] += arc(i);
+        }
+        return shares;
+    }
+
+    /**
+     * 定位 key 所在分片
+     *
+     * @param key the key
+     * @return 分片下标
+     */
+    public int index(String key) {
+        if (keyTag) {
+            long range = KeyTags.range(key);
+            return locate(hash(key, (int) (range >>> 32), (int) range));
+        }
+        return locate(hash(key));
+    }
+
+    /**
+     * 定位 key 所在分片
+     *
+     * @param key the key
+     * @return 分片下标
+     */
+    public int index(byte[] key) {
+        if (keyTag) {
+            long range = KeyTags.range(key);
+            return locate(hash(key, (int) (range >>> 32), (int) range));
+        }
+        return locate(hash(key));
+    }
+
+    /**
+     * 顺时针找到第一个不小于 hash 的虚拟节点, 超过最后一个节点时回到第一个节点
+     *
+     * @param hash the hash
+     * @return 分片下标
+     */
+    private int locate(long hash) {
+        int low  = 0;
+        int high = ring.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (ring[mid] < hash) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return shards[low == ring.length ? 0 : low];
+    }
+
+    /**
+     * 与 Hashing.MURMUR_HASH.hash(byte[]) 相同的 MurmurHash64A
+     *
+     * @param key the key
+     * @return the long
+     */
+    public static long hash(byte[] key) {
+        return hash(key, 0, key.length);
+    }
+
+    /**
+     * 计算 key 中 [from, to) 部分的 MurmurHash64A, 与对这部分字节调用 {@link #hash(byte[])} 结果相同
+     *
+     * @param key  the key
+     * @param from 起始下标
+     * @param to   结束下标(不包含)
+     * @return the long
+     */
+    static long hash(byte[] key, int from, int to) {
+        long h     = SEED ^ ((to - from) * M);
+        long k     = 0;
+        int  count = 0;
+        for (int i = from; i < to; i++) {
+            k |= (key[i] & 0xFFL) << (count << 3);
+            if (++count == 8) {
+                h = mix(h, k);
+                k = 0;
+                count = 0;
+            }
+        }
+        return finish(h, k, count);
+    }
+
+    /**
+     * 与 Hashing.MURMUR_HASH.hash(String) 相同的 MurmurHash64A, 按字符直接生成 UTF-8 字节,
+     * 不成对的代理字符与 String.getBytes(UTF-8) 一样编码为 '?'
+     *
+     * @param key the key
+     * @return the long
+     */
+    public static long hash(String key) {
+        return hash(key, 0, key.length());
+    }
+
+    /**
+     * 计算 key 中 [from, to) 部分的 MurmurHash64A, 与对子串调用 {@link #hash(String)} 结果相同
+     *
+     * @param key  the key
+     * @param from 起始下标
+     * @param to   结束下标(不包含)
+     * @return the long
+     */
+    static long hash(String key, int from, int to) {
+        long h     = SEED ^ (utf8Length(key, from, to) * M);
+        long k     = 0;
+        int  count = 0;
+        for (int i = from; i < to; i++) {
+            char c = key.charAt(i);
+            // 当前字符的 UTF-8 编码, 低字节在前
+            int encoded;
+            int bytes;
+            if (c < 0x80) {
+                encoded = c;
+                bytes = 1;
+            } else if (c < 0x800) {
+                encoded = (0xC0 | (c >> 6)) | ((0x80 | (c & 0x3F)) << 8);
+                bytes = 2;
+            } else if (Character.isSurrogate(c)) {
+                if (Character.isHighSurrogate(c) && i + 1 < to && Character.isLowSurrogate(key.charAt(i + 1))) {
+                    int cp = Character.toCodePoint(c, key.charAt(++i));
+                    encoded = (0xF0 | (cp >> 18))
+                              | ((0x80 | ((cp >> 12) & 0x3F)) << 8)
+                              | ((0x80 | ((cp >> 6) & 0x3F)) << 16)
+                              | ((0x80 | (cp & 0x3F)) << 24);
+                    bytes = 4;
+                } else {
+                    encoded = '?';
+                    bytes = 1;
+                }
+            } else {
+                encoded = (0xE0 | (c >> 12)) | ((0x80 | ((c >> 6) & 0x3F)) << 8) | ((0x80 | (c & 0x3F)) << 16);
+                bytes = 3;
+            }
+            for (int j = 0; j < bytes; j++) {
+                k |= ((encoded >>> (j << 3)) & 0xFFL) << (count << 3);
+                if (++count == 8) {
+                    h = mix(h, k);
+                    k = 0;
+                    count = 0;
+                }
+            }
+        }
+        return finish(h, k, count);
+    }
+
+    /**
+     * key 中 [from, to) 部分 UTF-8 编码后的字节数
+     *
+     * @param key  the key
+     * @param from the from
+     * @param to   the to
+     * @return the int
+     */
+    private static int utf8Length(String key, int from, int to) {
+        int bytes = 0;
+        for (int i = from; i < to; i++) {
+            char c = key.charAt(i);
+            if (c < 0x80) {
+                bytes += 1;
+            } else if (c < 0x800) {
+                bytes += 2;
+            } else if (Character.isSurrogate(c)) {
+                if (Character.isHighSurrogate(c) && i + 1 < to && Character.isLowSurrogate(key.charAt(i + 1))) {
+                    i++;
+                    bytes += 4;
+                } else {
+                    bytes += 1;
+                }
+            } else {
+                bytes += 3;
+            }
+        }
+        return bytes;
+    }
+
+    private static long mix(long h, long k) {
+        k *= M;
+        k ^= k >>> R;
+        k *= M;
+        h ^= k;
+        h *= M;
+        return h;
+    }
+
+    private static long finish(long h, long k, int count) {
+        if (count > 0) {
+            h ^= k;
+            h *= M;
+        }
+        h ^= h >>> R;
+        h *= M;
+        h ^= h >>> R;
+        return h;
+    }
+}
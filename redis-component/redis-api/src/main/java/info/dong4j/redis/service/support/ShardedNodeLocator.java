@@ -0,0 +1,60 @@
+package info.dong4j.redis.service.support;
+
+import java.util.List;
+
+import redis.clients.jedis.JedisShardInfo;
+
+/**
+ * <p>Description: 分片模式下根据一致性 hash 定位分片</p>
+ * 分片的位置只与分片名称(未配置时为分片下标)和权重有关, 与分片地址无关,
+ * 因此 ShardedJedisSentinelPool 发生主从切换后不需要重建.
+ *
+ * @author dong4j
+ * @email dong4j@gmail.com
+ * @date 2026-10-18  15:30
+ */
+public class ShardedNodeLocator implements RedisNodeLocator {
+    /** 与分片信息顺序一致的节点标识 */
+    private final String[]    nodes;
+    private final ShardRouter router;
+
+    /**
+     * Instantiates a new Sharded node locator.
+     *
+     * @param shards 与连接池相同的分片信息
+     */
+    public ShardedNodeLocator(List<JedisShardInfo> shards) {
+        this(shards, false);
+    }
+
+    /**
+     * Instantiates a new Sharded node locator.
+     *
+     * @param shards 与连接池相同的分片信息
+     * @param keyTag 与连接池相同的 key tag 配置
+     */
+    public ShardedNodeLocator(List<JedisShardInfo> shards, boolean keyTag) {
+        this(shards, keyTag, 0);
+    }
+
+    /**
+     * Instantiates a new Sharded node locator.
+     *
+     * @param shards     与连接池相同的分片信息
+     * @param keyTag     与连接池相同的 key tag 配置
+     * @param loadFactor 与连接池相同的有界负载系数
+     */
+    public ShardedNodeLocator(List<JedisShardInfo> shards, boolean keyTag, double loadFactor) {
+        this.nodes = new String[shards.size()];
+        for (int i = 0; i < nodes.length; i++) {
+            JedisShardInfo shardInfo = shards.get(i);
+            nodes[i] = shardInfo.getName() != null ? shardInfo.getName() : shardInfo.getHost() + ":" + shardInfo.getPort();
+        }
+        this.router = new ShardRouter(shards, keyTag, loadFactor);
+    }
+
+    @Override
+    public String getNode(String key) {
+        return nodes[router.index(key)];
+    }
+}
@@ -0,0 +1,108 @@
+package info.dong4j.redis.service.support;
+
+import java.util.List;
+
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisPubSub;
+import redis.clients.jedis.JedisShardInfo;
+import redis.clients.jedis.ShardedJedis;
+import redis.clients.jedis.exceptions.JedisConnectionException;
+import redis.clients.jedis.exceptions.JedisRedirectionException;
+import redis.clients.util.Pool;
+
+/**
+ * <p>Description: 分片模式下的 pipeline 执行器与订阅, 在 key(channel) 所在分片的连接上执行</p>
+ *
+ * @author dong4j
+ * @email dong4j@gmail.com
+ * @date 2026-10-18  16:40
+ */
+public class ShardedPoolPipelineExecutor extends ShardedNodeLocator implements NodePipelineExecutor, NodeSubscriber {
+    private final Pool<ShardedJedis> pool;
+
+    /**
+     * Instantiates a new Sharded pool pipeline executor.
+     *
+     * @param pool   ShardedJedisPool 或 ShardedJedisSentinelPool
+     * @param shards 与连接池相同的分片信息
+     */
+    public ShardedPoolPipelineExecutor(Pool<ShardedJedis> pool, List<JedisShardInfo> shards) {
+        this(pool, shards, false);
+    }
+
+    /**
+     * Instantiates a new Sharded pool pipeline executor.
+     *
+     * @param pool   ShardedJedisPool 或 ShardedJedisSentinelPool
+     * @param shards 与连接池相同的分片信息
+     * @param keyTag 与连接池相同的 key tag 配置
+     */
+    public ShardedPoolPipelineExecutor(Pool<ShardedJedis> pool, List<JedisShardInfo> shards, boolean keyTag) {
+        this(pool, shards, keyTag, 0);
+    }
+
+    /**
+     * Instantiates a new Sharded pool pipeline executor.
+     *
+     * @param pool       ShardedJedisPool 或 ShardedJedisSentinelPool
+     * @param shards     与连接池相同的分片信息
+     * @param keyTag     与连接池相同的 key tag 配置
+     * @param loadFactor 与连接池相同的有界负载系数
+     */
+    public ShardedPoolPipelineExecutor(Pool<ShardedJedis> pool, List<JedisShardInfo> shards, boolean keyTag, double loadFactor) {
+        super(shards, keyTag, loadFactor);
+        this.pool = pool;
+    }
+
+    @Override
+    public void pipelined(String key, PipelineCallback callback) {
+        try (ShardedJedis shardedJedis = pool.getResource()) {
+            if (shardedJedis == null) {
+                throw new JedisConnectionException("Could not get a resource from the pool");
+            }
+            callback.doInPipeline(shardedJedis.getShard(key).pipelined());
+        }
+    }
+
+    /**
+     * 逐个定位批次中的 key: 扩容迁移期间 getShard 会先把 key 从旧分片搬到新分片,
+     * 只定位第一个 key 时其余 key 会直接写到新分片上, 旧分片上的值随后不会再被迁移.
+     *
+     * @param keys     同一分片上的 key
+     * @param callback the callback
+     */
+    @Override
+    public void pipelined(List<String> keys, PipelineCallback callback) {
+        try (ShardedJedis shardedJedis = pool.getResource()) {
+            if (shardedJedis == null) {
+                throw new JedisConnectionException("Could not get a resource from the pool");
+            }
+            Jedis shard = null;
+            for (String key : keys) {
+                Jedis located = shardedJedis.getShard(key);
+                if (shard == null) {
+                    shard = located;
+                } else if (shard != located) {
+                    throw new JedisRedirectionException("Keys of the batch are located in different shards", null, -1);
+                }
+            }
+            if (shard != null) {
+                callback.doInPipeline(shard.pipelined());
+            }
+        }
+    }
+
+    @Override
+    public void subscribe(JedisPubSub listener, String channel) {
+        try (ShardedJedis shardedJedis = pool.getResource()) {
+            if (shardedJedis == null) {
+                throw new JedisConnectionException("Could not get a resource from the pool");
+            }
+            shardedJedis.getShard(channel).subscribe(listener, channel);
+        }
+    }
+
+    @Override
+    public void refresh() {
+    }
+}
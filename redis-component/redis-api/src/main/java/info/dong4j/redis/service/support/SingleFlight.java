@@ -0,0 +1,101 @@
+package info.dong4j.redis.service.support;
+
+import org.springframework.util.concurrent.SettableListenableFuture;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <p>Description: 合并并发的相同请求</p>
+ * 同一时刻相同 key 的请求只有第一个(leader)真正执行, 其余请求等待并共享 leader 的结果或异常.
+ * 请求完成后立即移除, 不缓存结果. 加入进行中请求的调用方拿到的是 leader 读到的值,
+ * leader 可能在该调用方发起请求之前就已读取, 因此可能看不到该调用方发起请求前刚完成的写入.
+ *
+ * @author dong4j
+ * @email dong4j@gmail.com
+ * @date 2026-10-18  18:20
+ */
+public class SingleFlight {
+    private final ConcurrentMap<String, SettableListenableFuture<Object>> calls  = new ConcurrentHashMap<>();
+    private final AtomicLong                                              shared = new AtomicLong();
+
+    /**
+     * 结果复制, 可变的结果(Map/List/Set)共享给多个调用方时, leader 和每个等待者都拿到独立的副本
+     *
+     * @param <T> the type parameter
+     */
+    public interface Copier<T> {
+        /**
+         * Copy t.
+         *
+         * @param value 不为 null
+         * @return the t
+         */
+        T copy(T value);
+    }
+
+    /**
+     * 执行请求, 相同 key 的请求正在执行时等待其结果
+     *
+     * @param <T>    the type parameter
+     * @param key    请求标识
+     * @param loader 真正执行请求
+     * @param copier 结果不可变时为 null
+     * @return the t
+     * @throws Exception the exception
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String key, Callable<T> loader, Copier<T> copier) throws Exception {
+        SettableListenableFuture<Object> call     = new SettableListenableFuture<>();
+        SettableListenableFuture<Object> inFlight = calls.putIfAbsent(key, call);
+        if (inFlight != null) {
+            shared.incrementAndGet();
+            T value;
+            try {
+                value = (T) inFlight.get();
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof Exception) {
+                    throw (Exception) e.getCause();
+                }
+                throw e;
+            }
+            return value == null || copier == null ? value : copier.copy(value);
+        }
+
+        try {
+            T value = loader.call();
+            call.set(value);
+            // 等待者可能正在复制 value, leader 也只能返回副本, 否则调用方修改结果时等待者会复制到修改中的值
+            return copier == null || value == null ? value : copier.copy(value);
+        } catch (Exception e) {
+            call.setException(e);
+            throw e;
+        } catch (Error e) {
+            call.setException(e);
+            throw e;
+        } finally {
+            calls.remove(key, call);
+        }
+    }
+
+    /**
+     * 共享了其他请求结果的次数, 即节省的 redis 请求数
+     *
+     * @return the shared
+     */
+    public long getShared() {
+        return shared.get();
+    }
+
+    /**
+     * 当前正在执行的请求数
+     *
+     * @return the in flight
+     */
+    public int getInFlight() {
+        return calls.size();
+    }
+}
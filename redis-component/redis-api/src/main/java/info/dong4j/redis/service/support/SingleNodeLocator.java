@@ -0,0 +1,26 @@
+package info.dong4j.redis.service.support;
+
+/**
+ * <p>Description: 单机模式与哨兵模式下所有 key 都在同一个节点上</p>
+ *
+ * @author dong4j
+ * @email dong4j@gmail.com
+ * @date 2026-10-18  15:30
+ */
+public class SingleNodeLocator implements RedisNodeLocator {
+    private final String node;
+
+    /**
+     * Instantiates a new Single node locator.
+     *
+     * @param node 单机模式为 host:port, 哨兵模式为 master name
+     */
+    public SingleNodeLocator(String node) {
+        this.node = node;
+    }
+
+    @Override
+    public String getNode(String key) {
+        return node;
+    }
+}
@@ -0,0 +1,395 @@
+package info.dong4j.redis.service.support;
+
+import org.springframework.util.concurrent.SettableListenableFuture;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import lombok.extern.slf4j.Slf4j;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Response;
+import redis.clients.jedis.exceptions.JedisRedirectionException;
+
+/**
+ * <p>Description: 写命令合并器</p>
+ * 并发调用方的写命令按节点缓冲, 缓冲区达到 maxBatch 条或等待超过 window 后作为一个 pipeline 发送,
+ * 每个调用方从 pipeline 的响应中取回自己的结果. 高并发下多个调用方共用一次网络往返和一个连接,
+ * 吞吐量随负载增长而不受连接数限制; 代价是单个命令最多增加 window 的延迟.
+ * 指定 {@link RedisMetrics} 时, 通过 pipeline 执行的命令按命令名与节点记录从提交到取得结果的耗时(包括缓冲等待),
+ * 直接执行的命令由 fallback 负责统计.
+ *
+ * @author dong4j
+ * @email dong4j@gmail.com
+ * @date 2026-10-18  16:40
+ */
+@Slf4j
+public class WriteCoalescer {
+    private final NodePipelineExecutor           pipelineExecutor;
+    private final long                           windowMicros;
+    private final int                            maxBatch;
+    private final ScheduledExecutorService       scheduler;
+    private final RedisMetrics                   metrics;
+    private final ConcurrentMap<String, Buffer>  buffers = new ConcurrentHashMap<>();
+
+    /**
+     * 可合并的命令
+     *
+     * @param <T> 命令返回值类型
+     */
+    public interface Command<T> {
+        /**
+         * 写入 pipeline
+         *
+         * @param pipeline the pipeline
+         * @return the response
+         */
+        Response<T> queue(Pipeline pipeline);
+
+        /**
+         * 路由失效(MOVED/ASK)或合并器已关闭时直接执行
+         *
+         * @return the t
+         * @throws Exception the exception
+         */
+        T fallback() throws Exception;
+    }
+
+    /**
+     * Instantiates a new Write coalescer.
+     *
+     * @param pipelineExecutor the pipeline executor
+     * @param windowMicros     缓冲窗口(微秒)
+     * @param maxBatch         单个 pipeline 最多合并的命令数
+     * @param threads          执行窗口到期 flush 的线程数
+     */
+    public WriteCoalescer(NodePipelineExecutor pipelineExecutor, long windowMicros, int maxBatch, int threads) {
+        this(pipelineExecutor, windowMicros, maxBatch, threads, null);
+    }
+
+    /**
+     * Instantiates a new Write coalescer.
+     *
+     * @param pipelineExecutor the pipeline executor
+     * @param windowMicros     缓冲窗口(微秒)
+     * @param maxBatch         单个 pipeline 最多合并的命令数
+     * @param threads          执行窗口到期 flush 的线程数
+     * @param metrics          统计通过 pipeline 执行的命令, 为 null 时不统计
+     */
+    public WriteCoalescer(NodePipelineExecutor pipelineExecutor, long windowMicros, int maxBatch, int threads,
+                          RedisMetrics metrics) {
+        this.pipelineExecutor = pipelineExecutor;
+        this.windowMicros = windowMicros;
+        this.maxBatch = maxBatch;
+        this.scheduler = new ScheduledThreadPoolExecutor(threads, new CoalescerThreadFactory());
+        this.metrics = metrics;
+    }
+
+    /**
+     * 提交命令并等待所在 pipeline 执行完成
+     *
+     * @param <T>     the type parameter
+     * @param key     用于定位节点的 key
+     * @param command the command
+     * @return the t
+     * @throws Exception the exception
+     */
+    public <T> T execute(String key, Command<T> command) throws Exception {
+        return execute(null, key, command);
+    }
+
+    /**
+     * 提交命令并等待所在 pipeline 执行完成
+     *
+     * @param <T>     the type parameter
+     * @param name    统计使用的命令名, 为 null 时不统计
+     * @param key     用于定位节点的 key
+     * @param command the command
+     * @return the t
+     * @throws Exception the exception
+     */
+    public <T> T execute(String name, String key, Command<T> command) throws Exception {
+        if (scheduler.isShutdown()) {
+            return command.fallback();
+        }
+        String           node    = pipelineExecutor.getNode(key);
+        Pending<T>       pending = new Pending<>(name, key, node, command);
+        List<Pending<?>> full    = buffer(node).add(pending);
+        if (full != null) {
+            // 缓冲区已满, 由凑满的调用方直接发送
+            flush(full);
+        }
+        return pending.get();
+    }
+
+    /**
+     * 获取节点缓冲区
+     *
+     * @param node the node
+     * @return the buffer
+     */
+    private Buffer buffer(String node) {
+        Buffer buffer = buffers.get(node);
+        if (buffer == null) {
+            Buffer created = new Buffer();
+            buffer = buffers.putIfAbsent(node, created);
+            if (buffer == null) {
+                buffer = created;
+            }
+        }
+        return buffer;
+    }
+
+    /**
+     * 将一批命令作为一个 pipeline 发送. 批次中的每个 key 都交给执行器定位,
+     * 定位结果不再是同一个节点时(例如分片迁移或路由刷新)逐个直接执行
+     *
+     * @param batch the batch
+     */
+    private void flush(final List<Pending<?>> batch) {
+        List<String> keys = new ArrayList<>(batch.size());
+        for (Pending<?> pending : batch) {
+            keys.add(pending.key);
+        }
+        try {
+            pipelineExecutor.pipelined(keys, new NodePipelineExecutor.PipelineCallback() {
+                @Override
+                public void doInPipeline(Pipeline pipeline) {
+                    for (Pending<?> pending : batch) {
+                        pending.queue(pipeline);
+                    }
+                    pipeline.sync();
+                }
+            });
+        } catch (JedisRedirectionException e) {
+            for (Pending<?> pending : batch) {
+                pending.fallback();
+            }
+            pipelineExecutor.refresh();
+            return;
+        } catch (RuntimeException e) {
+            for (Pending<?> pending : batch) {
+                pending.fail(e);
+            }
+            return;
+        }
+
+        boolean redirected = false;
+        for (Pending<?> pending : batch) {
+            redirected |= pending.complete();
+        }
+        if (redirected) {
+            pipelineExecutor.refresh();
+        }
+    }
+
+    /**
+     * 关闭 flush 线程, 之后提交的命令直接执行
+     */
+    public void destroy() {
+        scheduler.shutdown();
+    }
+
+    /**
+     * <p>Description: 单个节点的缓冲区 </p>
+     *
+     * @author dong4j
+     * @email dong4j@gmail.com
+     * @date 2026-10-18  16:40
+     */
+    private class Buffer {
+        private List<Pending<?>> pending = new ArrayList<>();
+
+        /**
+         * 加入缓冲区, 缓冲区满时返回需要发送的批次
+         *
+         * @param command the command
+         * @return 需要立即发送的批次, 未满时返回 null
+         */
+        synchronized List<Pending<?>> add(Pending<?> command) {
+            pending.add(command);
+            if (pending.size() == 1) {
+                if (!schedule()) {
+                    return drain();
+                }
+            }
+            if (pending.size() >= maxBatch) {
+                return drain();
+            }
+            return null;
+        }
+
+        /**
+         * 窗口到期后发送当前缓冲区. 缓冲区在窗口内已因写满发送过时, 该任务会提前发送下一批, 不影响正确性
+         *
+         * @return 合并器已关闭时返回 false, 由调用方直接发送
+         */
+        private boolean schedule() {
+            try {
+                scheduler.schedule(new Runnable() {
+                    @Override
+                    public void run() {
+                        List<Pending<?>> batch;
+                        synchronized (Buffer.this) {
+                            batch = drain();
+                        }
+                        if (!batch.isEmpty()) {
+                            flush(batch);
+                        }
+                    }
+                }, windowMicros, TimeUnit.MICROSECONDS);
+                return true;
+            } catch (RejectedExecutionException e) {
+                log.debug("Write coalescer is shutdown, flush in caller thread");
+                return false;
+            }
+        }
+
+        /**
+         * 取出当前缓冲区
+         *
+         * @return the list
+         */
+        private List<Pending<?>> drain() {
+            List<Pending<?>> batch = pending;
+            pending = new ArrayList<>();
+            return batch;
+        }
+    }
+
+    /**
+     * <p>Description: 等待发送的命令 </p>
+     *
+     * @param <T> the type parameter
+     * @author dong4j
+     * @email dong4j@gmail.com
+     * @date 2026-10-18  16:40
+     */
+    private class Pending<T> {
+        private final String                      name;
+        private final String                      key;
+        private final String                      node;
+        private final Command<T>                  command;
+        private final long                        begin  = System.nanoTime();
+        private final SettableListenableFuture<T> future = new SettableListenableFuture<>();
+        private Response<T>                       response;
+
+        /**
+         * Instantiates a new Pending.
+         *
+         * @param name    统计使用的命令名
+         * @param key     the key
+         * @param node    key 所在节点
+         * @param command the command
+         */
+        Pending(String name, String key, String node, Command<T> command) {
+            this.name = name;
+            this.key = key;
+            this.node = node;
+            this.command = command;
+        }
+
+        /**
+         * Queue.
+         *
+         * @param pipeline the pipeline
+         */
+        void queue(Pipeline pipeline) {
+            response = command.queue(pipeline);
+        }
+
+        /**
+         * 从响应中取出结果
+         *
+         * @return 是否发生了重定向
+         */
+        boolean complete() {
+            T value;
+            try {
+                value = response.get();
+            } catch (JedisRedirectionException e) {
+                fallback();
+                return true;
+            } catch (RuntimeException e) {
+                fail(e);
+                return false;
+            }
+            record();
+            future.set(value);
+            return false;
+        }
+
+        /**
+         * 不经过 pipeline 直接执行
+         */
+        void fallback() {
+            try {
+                future.set(command.fallback());
+            } catch (Exception e) {
+                future.setException(e);
+            }
+        }
+
+        /**
+         * Fail.
+         *
+         * @param e the e
+         */
+        void fail(Exception e) {
+            record();
+            future.setException(e);
+        }
+
+        /**
+         * 在唤醒调用方之前记录通过 pipeline 执行的耗时, 直接执行(fallback)的命令由 fallback 统计
+         */
+        private void record() {
+            if (metrics != null && name != null) {
+                metrics.recordCommand(name, node, System.nanoTime() - begin);
+            }
+        }
+
+        /**
+         * 等待结果
+         *
+         * @return the t
+         * @throws Exception the exception
+         */
+        T get() throws Exception {
+            try {
+                return future.get();
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof Exception) {
+                    throw (Exception) e.getCause();
+                }
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * <p>Description: flush 线程工厂, daemon 线程不阻止进程退出 </p>
+     *
+     * @author dong4j
+     * @email dong4j@gmail.com
+     * @date 2026-10-18  16:40
+     */
+    private static class CoalescerThreadFactory implements ThreadFactory {
+        private final AtomicInteger index = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, "redis-write-coalescer-" + index.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package info.dong4j.redis.service.impl;
+
+import info.dong4j.redis.service.RedisService;
+import info.dong4j.redis.service.support.NodeSubscriber;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+
+import redis.clients.jedis.JedisPubSub;
+
+/**
+ * <p>Description: 近端缓存失效测试, 使用内存中的 RedisService, 不需要连接 redis</p>
+ *
+ * @author dong4j
+ * @email dong4j@gmail.com
+ * @date 2026-10-18  23:59
+ */
+public class CachingRedisServiceTest {
+    private final Map<String, String> values = new HashMap<>();
+
+    /**
+     * get 读取 values, eval 模拟脚本修改 key, 其余命令不做处理
+     *
+     * @return the redis service
+     */
+    private RedisService delegate() {
+        return (RedisService) Proxy.newProxyInstance(RedisService.class.getClassLoader(), new Class<?>[] {RedisService.class},
+                                                     new InvocationHandler() {
+                                                         @Override
+                                                         public Object invoke(Object proxy, Method method, Object[] args) {
+                                                             if ("get".equals(method.getName())) {
+                                                                 return values.get((String) args[1]);
+                                                             }
+                                                             if ("eval".equals(method.getName())) {
+                                                                 values.put("config:a", "2");
+                                                                 return 1L;
+                                                             }
+                                                             return "publish".equals(method.getName()) ? 0L : null;
+                                                         }
+                                                     });
+    }
+
+    @Test
+    public void testEvalInvalidatesAll() throws Exception {
+        NodeSubscriber subscriber = new NodeSubscriber() {
+            @Override
+            public void subscribe(JedisPubSub listener, String channel) {
+                try {
+                    Thread.sleep(Long.MAX_VALUE);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        CachingRedisService service = new CachingRedisService(delegate(), subscriber, "invalidation", 100, 60000);
+        try {
+            values.put("config:a", "1");
+            Assert.assertEquals("1", service.get("test", "config:a"));
+            values.put("config:a", "changed outside");
+            Assert.assertEquals("1", service.get("test", "config:a"));
+
+            // 脚本写了哪些 key 无法得知, 执行后不能再返回缓存中的旧值
+            Assert.assertEquals(1L, service.eval("test", "return redis.call('set', 'config:a', '2')"));
+            Assert.assertEquals("2", service.get("test", "config:a"));
+        } finally {
+            service.close();
+        }
+    }
+}
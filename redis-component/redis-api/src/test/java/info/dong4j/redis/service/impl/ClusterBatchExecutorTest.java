@@ -0,0 +1,39 @@
+package info.dong4j.redis.service.impl;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import redis.clients.util.SafeEncoder;
+
+/**
+ * <p>Description: CLUSTER SLOTS 解析测试</p>
+ *
+ * @author dong4j
+ * @email dong4j@gmail.com
+ * @date 2026-10-18  14:30
+ */
+public class ClusterBatchExecutorTest {
+    @Test
+    public void testBuildSlotTable() {
+        List<Object> slots = new ArrayList<>();
+        slots.add(Arrays.<Object>asList(0L, 5460L, node("127.0.0.1", 6379), node("127.0.0.1", 6382)));
+        slots.add(Arrays.<Object>asList(5461L, 10922L, node("", 6380)));
+        slots.add(Arrays.<Object>asList(10923L, 16383L, node("127.0.0.1", 6381)));
+
+        String[] table = ClusterBatchExecutor.buildSlotTable("10.0.0.1", slots);
+        Assert.assertEquals(16384, table.length);
+        Assert.assertEquals("127.0.0.1:6379", table[0]);
+        Assert.assertEquals("127.0.0.1:6379", table[5460]);
+        // host 为空时使用当前连接的 host
+        Assert.assertEquals("10.0.0.1:6380", table[5461]);
+        Assert.assertEquals("127.0.0.1:6381", table[16383]);
+    }
+
+    private static List<Object> node(String host, long port) {
+        return Arrays.<Object>asList(SafeEncoder.encode(host), port, SafeEncoder.encode("id"));
+    }
+}
@@ -0,0 +1,68 @@
+package info.dong4j.redis.service.impl;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisShardInfo;
+import redis.clients.jedis.ShardedJedis;
+
+/**
+ * <p>Description: 分片批量执行器分组测试, 分组只依赖一致性 hash, 不需要连接 redis</p>
+ *
+ * @author dong4j
+ * @email dong4j@gmail.com
+ * @date 2026-10-18  11:05
+ */
+public class ShardedBatchExecutorTest {
+    @Test
+    public void testGroupByShard() {
+        List<JedisShardInfo> shards = Arrays.asList(new JedisShardInfo("127.0.0.1", 6379),
+                                                    new JedisShardInfo("127.0.0.1", 6382));
+        ShardedJedis shardedJedis = new ShardedJedis(shards);
+
+        String[] keys = new String[500];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = "checkout:" + i;
+        }
+        Map<Jedis, List<Integer>> groups = ShardedBatchExecutor.groupByShard(shardedJedis, keys);
+        Assert.assertEquals(2, groups.size());
+
+        List<Integer> all = new ArrayList<>();
+        for (Map.Entry<Jedis, List<Integer>> entry : groups.entrySet()) {
+            int last = -1;
+            for (Integer position : entry.getValue()) {
+                // 分片内保持调用方顺序
+                Assert.assertTrue(position > last);
+                Assert.assertSame(entry.getKey(), shardedJedis.getShard(keys[position]));
+                last = position;
+            }
+            all.addAll(entry.getValue());
+        }
+        Assert.assertEquals(keys.length, all.size());
+    }
+
+    @Test
+    public void testKeys() {
+        Assert.assertArrayEquals(new String[] {"k1", "k2"}, ShardedRedisServiceImpl.keys("k1", "v1", "k2", "v2"));
+    }
+
+    @Test
+    public void testBinaryGroupKeysValues() {
+        byte[][] keysvalues = {{1}, {(byte) 0xff}, {2}, {0}, {1}, {(byte) 0xfe}};
+        byte[][] keys       = ShardedBinaryRedisServiceImpl.keys(keysvalues);
+        // byte[] 按内容匹配, 重复的 key 全部保留
+        byte[][] group = ShardedBinaryRedisServiceImpl.groupKeysValues(keys, keysvalues, new byte[][] {{1}});
+        Assert.assertArrayEquals(new byte[][] {{1}, {(byte) 0xff}, {1}, {(byte) 0xfe}}, group);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testKeysNotPaired() {
+        ShardedRedisServiceImpl.keys("k1", "v1", "k2");
+    }
+}
@@ -0,0 +1,114 @@
+package info.dong4j.redis.service.support;
+
+import info.dong4j.redis.standin.StandInServer;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.JedisPoolConfig;
+
+/**
+ * <p>Description: 连接池动态调整测试</p>
+ *
+ * @author dong4j
+ * @email dong4j@gmail.com
+ * @date 2026-10-18  23:55
+ */
+public class AdaptivePoolSizerTest {
+    @Test
+    public void testSize() {
+        AdaptivePoolSizer sizer = new AdaptivePoolSizer(new JedisPool(), 8, 200, 2, 1.5, 0);
+        // 有等待时按 1.5 倍扩容, 不超过上限
+        Assert.assertEquals(150, sizer.size(100, 20, true));
+        Assert.assertEquals(200, sizer.size(150, 20, true));
+        Assert.assertEquals(200, sizer.size(100, 300, true));
+        // 负载下降时每次最多缩小 10%, 不低于估算值和下限
+        Assert.assertEquals(90, sizer.size(100, 20, false));
+        Assert.assertEquals(20, sizer.size(21, 20, false));
+        Assert.assertEquals(8, sizer.size(8, 0, false));
+        // 负载上升但没有等待时扩容到估算值
+        Assert.assertEquals(60, sizer.size(40, 60, false));
+    }
+
+    @Test
+    public void testIdlePoolShrinksToMinTotal() {
+        JedisPoolConfig config = new JedisPoolConfig();
+        config.setMaxTotal(100);
+        SizedJedisPool    pool  = new SizedJedisPool(config);
+        AdaptivePoolSizer sizer = new AdaptivePoolSizer(pool, 8, 100, 2, 1.5, 0);
+        // 第一次只采样
+        sizer.adjust();
+        Assert.assertEquals(100, pool.maxTotal());
+        sizer.adjust();
+        Assert.assertEquals(90, pool.maxTotal());
+        for (int i = 0; i < 30; i++) {
+            sizer.adjust();
+        }
+        Assert.assertEquals(8, pool.maxTotal());
+        pool.destroy();
+    }
+
+    @Test
+    public void testGrowKeepsConfiguredMaxIdle() throws Exception {
+        JedisPoolConfig config = new JedisPoolConfig();
+        config.setMaxTotal(10);
+        config.setMaxIdle(8);
+        try (StandInServer server = new StandInServer()) {
+            server.start();
+            final SizedJedisPool pool     = new SizedJedisPool(config, server.getPort());
+            AdaptivePoolSizer    sizer    = new AdaptivePoolSizer(pool, 4, 100, 2, 1.5, 0);
+            List<Jedis>          borrowed = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                borrowed.add(pool.getResource());
+            }
+            Thread waiter = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    pool.getResource().close();
+                }
+            });
+            waiter.start();
+            while (pool.getNumWaiters() == 0) {
+                Thread.sleep(10);
+            }
+
+            sizer.adjust();
+            sizer.adjust();
+            Assert.assertEquals(15, pool.maxTotal());
+            // 扩容不能超过配置的 maxIdle
+            Assert.assertEquals(8, pool.maxIdle());
+
+            for (Jedis jedis : borrowed) {
+                jedis.close();
+            }
+            waiter.join();
+            pool.destroy();
+        }
+    }
+
+    /**
+     * 读取内部对象池的大小
+     */
+    private static class SizedJedisPool extends JedisPool {
+        SizedJedisPool(JedisPoolConfig config) {
+            this(config, 1);
+        }
+
+        SizedJedisPool(JedisPoolConfig config, int port) {
+            super(config, "127.0.0.1", port);
+        }
+
+        int maxTotal() {
+            return internalPool.getMaxTotal();
+        }
+
+        int maxIdle() {
+            return internalPool.getMaxIdle();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package info.dong4j.redis.service.support;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import redis.clients.jedis.ScanParams;
+import redis.clients.jedis.ScanResult;
+
+/**
+ * <p>Description: 游标迭代器测试</p>
+ *
+ * @author dong4j
+ * @email dong4j@gmail.com
+ * @date 2026-10-18  20:20
+ */
+public class CursorIteratorTest {
+    @Test
+    public void testFetchPageOnDemand() {
+        final List<List<String>> pages = Arrays.asList(Arrays.asList("a", "b"),
+                                                       Collections.<String>emptyList(),
+                                                       Collections.singletonList("c"));
+        final AtomicInteger fetches = new AtomicInteger();
+        Iterator<String> iterator = new CursorIterator<>(new CursorIterator.PageFetcher<String>() {
+            @Override
+            public ScanResult<String> fetch(String cursor, ScanParams params) {
+                fetches.incrementAndGet();
+                int    page = Integer.parseInt(cursor);
+                String next = page + 1 == pages.size() ? ScanParams.SCAN_POINTER_START : String.valueOf(page + 1);
+                return new ScanResult<>(next, pages.get(page));
+            }
+        }, 2);
+
+        Assert.assertEquals("a", iterator.next());
+        Assert.assertEquals(1, fetches.get());
+
+        List<String> rest = new ArrayList<>();
+        while (iterator.hasNext()) {
+            rest.add(iterator.next());
+        }
+        Assert.assertEquals(Arrays.asList("b", "c"), rest);
+        Assert.assertEquals(3, fetches.get());
+        Assert.assertFalse(iterator.hasNext());
+        Assert.assertEquals(3, fetches.get());
+    }
+}
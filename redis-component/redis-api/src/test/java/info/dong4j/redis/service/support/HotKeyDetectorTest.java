@@ -0,0 +1,47 @@
+package info.dong4j.redis.service.support;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+
+/**
+ * <p>Description: 热点 key 检测测试</p>
+ *
+ * @author dong4j
+ * @email dong4j@gmail.com
+ * @date 2026-10-18  19:30
+ */
+public class HotKeyDetectorTest {
+    @Test
+    public void testDetect() {
+        HotKeyDetector detector = new HotKeyDetector(new SingleNodeLocator("127.0.0.1:6379"), 3600, 5, 1000);
+        try {
+            for (int i = 0; i < 100000; i++) {
+                detector.record("order", "key:" + i);
+                if (i % 10 == 0) {
+                    detector.record("order", "hot:1");
+                }
+                if (i % 20 == 0) {
+                    detector.record("order", "hot:2");
+                }
+            }
+            detector.record("user", "profile:1");
+            detector.rotate();
+
+            List<HotKey> hotKeys = detector.getSnapshot().getHotKeys("order");
+            Assert.assertEquals(5, hotKeys.size());
+            Assert.assertEquals("hot:1", hotKeys.get(0).getKey());
+            Assert.assertEquals("hot:2", hotKeys.get(1).getKey());
+            // Count-Min 的估算值只会偏大
+            Assert.assertTrue(hotKeys.get(0).getCount() >= 10000);
+            Assert.assertEquals("127.0.0.1:6379", hotKeys.get(0).getNode());
+            Assert.assertEquals(1, detector.getSnapshot().getHotKeys("user").size());
+
+            detector.rotate();
+            Assert.assertTrue(detector.getSnapshot().getHotKeys().isEmpty());
+        } finally {
+            detector.destroy();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package info.dong4j.redis.service.support;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisShardInfo;
+import redis.clients.util.SafeEncoder;
+import redis.clients.util.Sharded;
+
+/**
+ * <p>Description: key tag 解析测试</p>
+ *
+ * @author dong4j
+ * @email dong4j@gmail.com
+ * @date 2026-10-18  23:00
+ */
+public class KeyTagsTest {
+    @Test
+    public void testTagMatchesDefaultPattern() {
+        Sharded<Jedis, JedisShardInfo> sharded = new Sharded<>(
+            Collections.singletonList(new JedisShardInfo("127.0.0.1", 6379)), Sharded.DEFAULT_KEY_TAG_PATTERN);
+        for (String key : Arrays.asList("user:{42}:profile", "{}", "a{}b}", "{a\n}{b}", "x{y", "}{z}", "{{a}}", "plain")) {
+            Assert.assertEquals(key, sharded.getKeyTag(key), KeyTags.tag(key));
+        }
+        char[] alphabet = {'{', '}', 'a', 'b', '\n', ' ', ':'};
+        Random random   = new Random(3);
+        for (int i = 0; i < 5000; i++) {
+            char[] chars = new char[random.nextInt(12)];
+            for (int j = 0; j < chars.length; j++) {
+                chars[j] = alphabet[random.nextInt(alphabet.length)];
+            }
+            String key = new String(chars);
+            Assert.assertEquals(key, sharded.getKeyTag(key), KeyTags.tag(key));
+        }
+    }
+
+    @Test
+    public void testByteRangeMatchesString() {
+        char[] alphabet = {'{', '}', 'a', '\n', '\r', '\u0085', '\u2028', '\u2029', '\u4E2D', 'é'};
+        Random random   = new Random(5);
+        for (int i = 0; i < 5000; i++) {
+            char[] chars = new char[random.nextInt(12)];
+            for (int j = 0; j < chars.length; j++) {
+                chars[j] = alphabet[random.nextInt(alphabet.length)];
+            }
+            String key   = new String(chars);
+            byte[] bytes = SafeEncoder.encode(key);
+            long   range = KeyTags.range(bytes);
+            String tag   = SafeEncoder.encode(Arrays.copyOfRange(bytes, (int) (range >>> 32), (int) range));
+            Assert.assertEquals(key, KeyTags.tag(key), tag);
+        }
+    }
+
+    @Test
+    public void testGroupByTag() {
+        Map<String, List<String>> groups = KeyTags.groupByTag("user:{42}:profile", "user:{7}:cart", "user:{42}:cart");
+        Assert.assertEquals(Arrays.asList("42", "7"), Arrays.asList(groups.keySet().toArray()));
+        Assert.assertEquals(Arrays.asList("user:{42}:profile", "user:{42}:cart"), groups.get("42"));
+        Assert.assertTrue(KeyTags.sameTag("user:{42}:profile", "session:{42}"));
+        Assert.assertFalse(KeyTags.sameTag("user:{42}:profile", "user:{7}:cart"));
+    }
+}
@@ -0,0 +1,61 @@
+package info.dong4j.redis.service.support;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ * <p>Description: 耗时直方图测试</p>
+ *
+ * @author dong4j
+ * @email dong4j@gmail.com
+ * @date 2026-10-18  23:58
+ */
+public class LatencyHistogramTest {
+    @Test
+    public void testBucketsCoverValues() {
+        Random random = new Random(3);
+        for (int i = 0; i < 100000; i++) {
+            long value = random.nextLong() & LatencyHistogram.MAX_VALUE >>> random.nextInt(40);
+            int  index = LatencyHistogram.index(value);
+            Assert.assertTrue(value + "", LatencyHistogram.highestValue(index) >= value);
+            Assert.assertTrue(value + "", index == 0 || LatencyHistogram.highestValue(index - 1) < value);
+            // 相对误差不超过 1/32
+            Assert.assertTrue(value + "", LatencyHistogram.highestValue(index) - value <= value / 32);
+        }
+    }
+
+    @Test
+    public void testPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        // 1us ~ 1000us 均匀分布
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 1000L);
+        }
+        LatencySnapshot snapshot = histogram.snapshot();
+        Assert.assertEquals(1000, snapshot.getCount());
+        Assert.assertEquals(500.5, snapshot.getMean(), 0.01);
+        Assert.assertEquals(1000, snapshot.getMax());
+        Assert.assertEquals(500, snapshot.getP50(), 500 / 32);
+        Assert.assertEquals(990, snapshot.getP99(), 990 / 32);
+
+        histogram.reset();
+        Assert.assertEquals(0, histogram.snapshot().getCount());
+    }
+
+    @Test
+    public void testCoordinatedOmissionCorrection() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        // 每 1ms 发起一次请求, 一次 100ms 的停顿期间本应发出 99 个请求
+        for (int i = 0; i < 900; i++) {
+            histogram.record(100000L, 1000000L);
+        }
+        histogram.record(100000000L, 1000000L);
+        LatencySnapshot snapshot = histogram.snapshot();
+        Assert.assertEquals(1000, snapshot.getCount());
+        // 不修正时 p99 为 100us, 补记的 99 个请求等待 1ms ~ 99ms, 修正后 p99 约为 90ms
+        Assert.assertEquals(100, snapshot.getP90(), 100 / 32);
+        Assert.assertEquals(90000, snapshot.getP99(), 90000 / 32);
+    }
+}
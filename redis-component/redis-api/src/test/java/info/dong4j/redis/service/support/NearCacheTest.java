@@ -0,0 +1,62 @@
+package info.dong4j.redis.service.support;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+/**
+ * <p>Description: 近端缓存测试, 不需要连接 redis</p>
+ *
+ * @author dong4j
+ * @email dong4j@gmail.com
+ * @date 2026-10-18  17:50
+ */
+public class NearCacheTest {
+    @Test
+    public void testPutAndInvalidate() {
+        NearCache nearCache = new NearCache(1000, 60000);
+        nearCache.put("config:a", "s", "1", nearCache.version("config:a"));
+        nearCache.put("config:b", "s", null, nearCache.version("config:b"));
+        Assert.assertEquals("1", nearCache.get("config:a", "s"));
+        Assert.assertSame(NearCache.NULL_VALUE, nearCache.get("config:b", "s"));
+
+        nearCache.invalidate("config:a");
+        Assert.assertNull(nearCache.get("config:a", "s"));
+        Assert.assertSame(NearCache.NULL_VALUE, nearCache.get("config:b", "s"));
+    }
+
+    @Test
+    public void testStalePutIgnored() {
+        NearCache nearCache = new NearCache(1000, 60000);
+        // 读取 redis 期间 key 被写入并失效, 读到的旧值不能写入缓存
+        long version = nearCache.version("config:a");
+        nearCache.invalidate("config:a");
+        nearCache.put("config:a", "s", "old", version);
+        Assert.assertNull(nearCache.get("config:a", "s"));
+    }
+
+    @Test
+    public void testEvict() {
+        NearCache nearCache = new NearCache(160, 60000);
+        for (int i = 0; i < 10000; i++) {
+            String key = "product:" + i;
+            nearCache.put(key, "s", "v", nearCache.version(key));
+        }
+        Assert.assertTrue(nearCache.size() <= 160);
+    }
+
+    @Test
+    public void testExpire() throws Exception {
+        NearCache nearCache = new NearCache(1000, 1);
+        nearCache.put("config:a", "s", "1", nearCache.version("config:a"));
+        Thread.sleep(5);
+        Assert.assertNull(nearCache.get("config:a", "s"));
+    }
+
+    @Test
+    public void testEncode() {
+        String message = NearCache.encode("a:b", "", "12:c");
+        Assert.assertEquals(Arrays.asList("a:b", "", "12:c"), NearCache.decode(message));
+    }
+}
@@ -0,0 +1,103 @@
+package info.dong4j.redis.service.support;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.util.concurrent.ListenableFuture;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * <p>Description: 按节点限流测试, 使用手动执行的 Executor, 不需要连接 redis</p>
+ *
+ * @author dong4j
+ * @email dong4j@gmail.com
+ * @date 2026-10-18  16:20
+ */
+public class NodeInFlightLimiterTest {
+    private final List<Runnable> submitted = new ArrayList<>();
+    private final Executor       executor  = new Executor() {
+        @Override
+        public void execute(Runnable command) {
+            submitted.add(command);
+        }
+    };
+
+    private static Callable<String> value(final String value) {
+        return new Callable<String>() {
+            @Override
+            public String call() {
+                return value;
+            }
+        };
+    }
+
+    @Test
+    public void testLimitPerNode() throws Exception {
+        NodeInFlightLimiter limiter = new NodeInFlightLimiter(executor, 1, 1);
+
+        ListenableFuture<String> first  = limiter.submit("node1", value("a"));
+        ListenableFuture<String> second = limiter.submit("node1", value("b"));
+        ListenableFuture<String> other  = limiter.submit("node2", value("c"));
+        // node1 只有一个请求被派发, node2 不受 node1 影响
+        Assert.assertEquals(2, submitted.size());
+        Assert.assertEquals(1, limiter.getInFlight("node1"));
+
+        // 等待队列已满, 返回的 future 直接失败, 不在调用方线程抛出
+        assertRejected(limiter.submit("node1", value("d")));
+
+        submitted.remove(0).run();
+        Assert.assertEquals("a", first.get());
+        // 第一个请求完成后派发等待中的请求
+        Assert.assertEquals(2, submitted.size());
+        submitted.remove(1).run();
+        Assert.assertEquals("b", second.get());
+        Assert.assertEquals(0, limiter.getInFlight("node1"));
+
+        submitted.remove(0).run();
+        Assert.assertEquals("c", other.get());
+    }
+
+    @Test
+    public void testShutdownFailsPending() throws Exception {
+        final boolean[] shutdown = new boolean[1];
+        Executor closable = new Executor() {
+            @Override
+            public void execute(Runnable command) {
+                if (shutdown[0]) {
+                    throw new RejectedExecutionException("executor is shutdown");
+                }
+                submitted.add(command);
+            }
+        };
+        NodeInFlightLimiter limiter = new NodeInFlightLimiter(closable, 1, 2);
+
+        ListenableFuture<String> first  = limiter.submit("node1", value("a"));
+        ListenableFuture<String> second = limiter.submit("node1", value("b"));
+        ListenableFuture<String> third  = limiter.submit("node1", value("c"));
+        shutdown[0] = true;
+        submitted.remove(0).run();
+        Assert.assertEquals("a", first.get());
+        // 派发下一个请求被拒绝时, 等待队列中的请求全部失败, 不会一直挂起
+        assertRejected(second);
+        assertRejected(third);
+        Assert.assertEquals(0, limiter.getInFlight("node1"));
+
+        assertRejected(limiter.submit("node1", value("d")));
+        Assert.assertEquals(0, limiter.getInFlight("node1"));
+    }
+
+    private static void assertRejected(ListenableFuture<String> future) throws InterruptedException {
+        Assert.assertTrue(future.isDone());
+        try {
+            future.get();
+            Assert.fail();
+        } catch (ExecutionException e) {
+            Assert.assertTrue(e.getCause() instanceof RejectedExecutionException);
+        }
+    }
+}
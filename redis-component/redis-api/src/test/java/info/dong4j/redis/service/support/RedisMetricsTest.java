@@ -0,0 +1,84 @@
+package info.dong4j.redis.service.support;
+
+import info.dong4j.redis.standin.StandInServer;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.MBeanServer;
+import javax.management.openmbean.CompositeData;
+import javax.management.openmbean.TabularData;
+
+import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Response;
+
+/**
+ * <p>Description: 统计结果与 JMX 测试</p>
+ *
+ * @author dong4j
+ * @email dong4j@gmail.com
+ * @date 2026-10-18  23:58
+ */
+public class RedisMetricsTest {
+    @Test
+    public void testSnapshotAndJmx() throws Exception {
+        JedisPool    pool    = new JedisPool("127.0.0.1", 1);
+        RedisMetrics metrics = new RedisMetrics("test");
+        metrics.registerPool("127.0.0.1:1", pool);
+        metrics.recordCommand("get", "127.0.0.1:1", 200000);
+        metrics.recordCommand("mget", null, 400000);
+        metrics.recordBorrow(pool, 1000);
+        metrics.onFailover("mymaster", "127.0.0.1:6379", "127.0.0.1:6380");
+
+        RedisMetricsSnapshot snapshot = metrics.snapshot();
+        Assert.assertEquals(2, snapshot.getCommandLatency().size());
+        Assert.assertEquals(200, snapshot.getNodeLatency().get("127.0.0.1:1").getMax());
+        Assert.assertEquals(1, snapshot.getPools().get("127.0.0.1:1").getBorrowWait().getCount());
+        Assert.assertEquals(1, snapshot.getFailoverCount());
+
+        metrics.register();
+        try {
+            MBeanServer server  = ManagementFactory.getPlatformMBeanServer();
+            TabularData latency = (TabularData) server.getAttribute(metrics.getObjectName(), "CommandLatency");
+            CompositeData get = (CompositeData) latency.get(new Object[] {"get"}).get("value");
+            Assert.assertEquals(1L, get.get("count"));
+            Assert.assertEquals(1L, server.getAttribute(metrics.getObjectName(), "FailoverCount"));
+        } finally {
+            metrics.unregister();
+            pool.destroy();
+        }
+    }
+
+    @Test
+    public void testCoalescedCommandsRecorded() throws Exception {
+        try (StandInServer server = new StandInServer()) {
+            server.start();
+            JedisPool      pool      = new JedisPool(server.getHostAndPort().getHost(), server.getPort());
+            RedisMetrics   metrics   = new RedisMetrics("test");
+            WriteCoalescer coalescer = new WriteCoalescer(new JedisPoolPipelineExecutor(pool, "standalone"), 100, 64, 1, metrics);
+            try {
+                Long value = coalescer.execute("incr", "counter", new WriteCoalescer.Command<Long>() {
+                    @Override
+                    public Response<Long> queue(Pipeline pipeline) {
+                        return pipeline.incr("counter");
+                    }
+
+                    @Override
+                    public Long fallback() {
+                        throw new IllegalStateException("should be pipelined");
+                    }
+                });
+                Assert.assertEquals(Long.valueOf(1), value);
+                // 合并执行的命令不经过 InstrumentedRedisService, 由合并器记录
+                Assert.assertEquals(1, metrics.snapshot().getCommandLatency().get("incr").getCount());
+                Assert.assertEquals(1, metrics.snapshot().getNodeLatency().get("standalone").getCount());
+            } finally {
+                coalescer.destroy();
+                pool.destroy();
+            }
+        }
+    }
+}
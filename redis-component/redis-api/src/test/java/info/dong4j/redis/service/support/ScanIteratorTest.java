@@ -0,0 +1,63 @@
+package info.dong4j.redis.service.support;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import redis.clients.jedis.ScanParams;
+import redis.clients.jedis.ScanResult;
+
+/**
+ * <p>Description: SCAN 迭代器测试</p>
+ *
+ * @author dong4j
+ * @email dong4j@gmail.com
+ * @date 2026-10-18  20:00
+ */
+public class ScanIteratorTest {
+    @Test
+    public void testIterateAllNodes() {
+        List<ScanIterator.NodeScanner> nodes = new ArrayList<>();
+        nodes.add(node(Arrays.asList("a", "b"), Collections.<String>emptyList(), Collections.singletonList("c")));
+        nodes.add(node(Collections.<String>emptyList()));
+        nodes.add(node(Collections.singletonList("d")));
+
+        Iterator<String> iterator = new ScanIterator(nodes, "*", 10, null);
+        List<String>     keys     = new ArrayList<>();
+        while (iterator.hasNext()) {
+            keys.add(iterator.next());
+        }
+        Assert.assertEquals(Arrays.asList("a", "b", "c", "d"), keys);
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testNextAfterEnd() {
+        List<ScanIterator.NodeScanner> nodes = new ArrayList<>();
+        nodes.add(node(Collections.<String>emptyList()));
+        new ScanIterator(nodes, null, 10, null).next();
+    }
+
+    /**
+     * 按顺序返回给定页的节点, 游标为页下标, 最后一页返回 "0"
+     *
+     * @param pages the pages
+     * @return the node scanner
+     */
+    @SafeVarargs
+    private static ScanIterator.NodeScanner node(final List<String>... pages) {
+        return new ScanIterator.NodeScanner() {
+            @Override
+            public ScanResult<String> scan(String cursor, ScanParams params, String type) {
+                int    page = Integer.parseInt(cursor);
+                String next = page + 1 == pages.length ? ScanParams.SCAN_POINTER_START : String.valueOf(page + 1);
+                return new ScanResult<>(next, pages[page]);
+            }
+        };
+    }
+}
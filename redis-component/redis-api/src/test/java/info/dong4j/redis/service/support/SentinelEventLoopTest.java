@@ -0,0 +1,48 @@
+package info.dong4j.redis.service.support;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * <p>Description: sentinel 事件循环的 RESP 解析测试</p>
+ *
+ * @author dong4j
+ * @email dong4j@gmail.com
+ * @date 2026-10-18  21:40
+ */
+public class SentinelEventLoopTest {
+    @Test
+    public void testParsePushAcrossReads() {
+        SentinelEventLoop.RespParser parser = new SentinelEventLoop.RespParser();
+        String subscribe = "*3\r\n$9\r\nsubscribe\r\n$14\r\n+switch-master\r\n:1\r\n";
+        String message   = "*3\r\n$7\r\nmessage\r\n$14\r\n+switch-master\r\n$39\r\nmaster1 10.0.0.1 6379 10.0.0.2 6380 abc\r\n";
+        String data      = subscribe + message;
+
+        // 按 5 个字节拆分, 模拟多次读取
+        Object[] replies = new Object[2];
+        int      count   = 0;
+        for (int i = 0; i < data.length(); i += 5) {
+            String chunk = data.substring(i, Math.min(data.length(), i + 5));
+            parser.feed(ByteBuffer.wrap(chunk.getBytes(StandardCharsets.UTF_8)));
+            Object reply;
+            while ((reply = parser.next()) != SentinelEventLoop.RespParser.INCOMPLETE) {
+                replies[count++] = reply;
+            }
+        }
+        Assert.assertEquals(2, count);
+        Assert.assertEquals(Arrays.<Object>asList("subscribe", "+switch-master", 1L), replies[0]);
+        Assert.assertEquals(Arrays.<Object>asList("message", "+switch-master", "master1 10.0.0.1 6379 10.0.0.2 6380 abc"),
+                            replies[1]);
+    }
+
+    @Test
+    public void testEncode() {
+        Assert.assertEquals("*2\r\n$9\r\nSUBSCRIBE\r\n$14\r\n+switch-master\r\n",
+                            new String(SentinelEventLoop.RespParser.encode("SUBSCRIBE", "+switch-master"),
+                                       StandardCharsets.UTF_8));
+    }
+}
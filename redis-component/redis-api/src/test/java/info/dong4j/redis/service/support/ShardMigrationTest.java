@@ -0,0 +1,95 @@
+package info.dong4j.redis.service.support;
+
+import info.dong4j.redis.standin.StandInServer;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisShardInfo;
+import redis.clients.util.SafeEncoder;
+
+/**
+ * <p>Description: 增加分片后的在线迁移测试</p>
+ *
+ * @author dong4j
+ * @email dong4j@gmail.com
+ * @date 2026-10-18  23:20
+ */
+public class ShardMigrationTest {
+    private final JedisShardInfo master1 = new JedisShardInfo("127.0.0.1", 6379, "master1");
+    private final JedisShardInfo master2 = new JedisShardInfo("127.0.0.1", 6380, "master2");
+    private final JedisShardInfo master3 = new JedisShardInfo("127.0.0.1", 6381, "master3");
+
+    @Test
+    public void testOnlyMovedKeysTouchPreviousShards() {
+        List<JedisShardInfo> shards    = Arrays.asList(master1, master2, master3);
+        ShardMigration       migration = new ShardMigration(Arrays.asList(master1, master2), shards, false);
+        ShardRouter          router    = new ShardRouter(shards);
+
+        final int[] calls = new int[1];
+        ShardMigration.Shards unreachable = new ShardMigration.Shards() {
+            @Override
+            public Jedis shard(int index) {
+                calls[0]++;
+                // 连接失败时只记录日志, 继续使用新分片
+                return new Jedis("127.0.0.1", 1, 100);
+            }
+        };
+
+        int moved = 0;
+        for (int i = 0; i < 3000; i++) {
+            String key    = "key:" + i;
+            int    before = calls[0];
+            int    index  = migration.index(key, unreachable);
+            Assert.assertEquals(router.index(key), index);
+            if (calls[0] != before) {
+                // 只有落到新增分片上的 key 需要迁移
+                Assert.assertEquals(2, index);
+                moved++;
+            }
+        }
+        Assert.assertTrue("moved " + moved, moved > 700 && moved < 1300);
+        Assert.assertEquals(Arrays.asList(0, 1), migration.sources());
+
+        migration.complete();
+        calls[0] = 0;
+        for (int i = 0; i < 3000; i++) {
+            migration.index("key:" + i, unreachable);
+        }
+        Assert.assertEquals(0, calls[0]);
+    }
+
+    @Test
+    public void testBusyKeyRemovesStaleSource() throws Exception {
+        byte[] key = SafeEncoder.encode("counter");
+        try (StandInServer source = new StandInServer(); StandInServer target = new StandInServer()) {
+            source.start();
+            target.start();
+            try (Jedis from = new Jedis(source.getHostAndPort().getHost(), source.getPort());
+                 Jedis to = new Jedis(target.getHostAndPort().getHost(), target.getPort())) {
+                from.set(key, SafeEncoder.encode("10"));
+                to.set(key, SafeEncoder.encode("1"));
+                // target 上已有值时以 target 为准, source 上的旧副本被删除, 迁移完成后不会残留
+                Assert.assertFalse(ShardMigration.migrate(key, from, to));
+                Assert.assertFalse(from.exists(key));
+                Assert.assertEquals("1", SafeEncoder.encode(to.get(key)));
+
+                from.set(key, SafeEncoder.encode("10"));
+                to.del(key);
+                Assert.assertTrue(ShardMigration.migrate(key, from, to));
+                Assert.assertFalse(from.exists(key));
+                Assert.assertEquals("10", SafeEncoder.encode(to.get(key)));
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRemovingShardIsRejected() {
+        new ShardMigration(Arrays.asList(master1, master2), Collections.singletonList(master1), false);
+    }
+}
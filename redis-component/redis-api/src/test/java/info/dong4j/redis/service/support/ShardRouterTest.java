@@ -0,0 +1,147 @@
+package info.dong4j.redis.service.support;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisShardInfo;
+import redis.clients.util.Hashing;
+import redis.clients.util.SafeEncoder;
+import redis.clients.util.Sharded;
+
+/**
+ * <p>Description: 分片路由表与 Jedis Sharded 的一致性测试</p>
+ *
+ * @author dong4j
+ * @email dong4j@gmail.com
+ * @date 2026-10-18  22:30
+ */
+public class ShardRouterTest {
+    @Test
+    public void testHashMatchesMurmur() {
+        Random random = new Random(7);
+        for (int i = 0; i < 2000; i++) {
+            String key = randomKey(random);
+            Assert.assertEquals(key, Hashing.MURMUR_HASH.hash(key), ShardRouter.hash(key));
+            Assert.assertEquals(key, Hashing.MURMUR_HASH.hash(SafeEncoder.encode(key)),
+                                ShardRouter.hash(SafeEncoder.encode(key)));
+        }
+        // 不成对的代理字符
+        for (String key : Arrays.asList("a\uD800", "\uDC00b", "\uD800𐀀", "")) {
+            Assert.assertEquals(Hashing.MURMUR_HASH.hash(key), ShardRouter.hash(key));
+        }
+    }
+
+    @Test
+    public void testPlacementMatchesSharded() {
+        JedisShardInfo weighted = new JedisShardInfo("127.0.0.1", 6381, 2000, "master3");
+        List<List<JedisShardInfo>> layouts = Arrays.asList(
+            Arrays.asList(new JedisShardInfo("127.0.0.1", 6379), new JedisShardInfo("127.0.0.1", 6380)),
+            Arrays.asList(new JedisShardInfo("127.0.0.1", 6379, "master1"),
+                          new JedisShardInfo("127.0.0.1", 6380, "master2"),
+                          weighted));
+        Random random = new Random(11);
+        for (List<JedisShardInfo> shards : layouts) {
+            Sharded<Jedis, JedisShardInfo> sharded = new Sharded<>(shards);
+            ShardRouter                    router  = new ShardRouter(shards);
+            for (int i = 0; i < 20000; i++) {
+                String key = randomKey(random);
+                Assert.assertSame(key, sharded.getShardInfo(key), shards.get(router.index(key)));
+            }
+        }
+    }
+
+    @Test
+    public void testKeyTagPlacementMatchesSharded() {
+        List<JedisShardInfo> shards = Arrays.asList(new JedisShardInfo("127.0.0.1", 6379, "master1"),
+                                                    new JedisShardInfo("127.0.0.1", 6380, "master2"),
+                                                    new JedisShardInfo("127.0.0.1", 6381, "master3"));
+        Sharded<Jedis, JedisShardInfo> sharded = new Sharded<>(shards, Sharded.DEFAULT_KEY_TAG_PATTERN);
+        ShardRouter                    router  = new ShardRouter(shards, true);
+        Random                         random  = new Random(13);
+        for (int i = 0; i < 20000; i++) {
+            String key = "user:{" + randomKey(random) + "}:" + random.nextInt(100);
+            Assert.assertSame(key, sharded.getShardInfo(key), shards.get(router.index(key)));
+        }
+        Assert.assertEquals(router.index("user:{42}:profile"), router.index("user:{42}:cart"));
+    }
+
+    @Test
+    public void testByteKeyTagMatchesString() {
+        List<JedisShardInfo> shards = Arrays.asList(new JedisShardInfo("127.0.0.1", 6379, "master1"),
+                                                    new JedisShardInfo("127.0.0.1", 6380, "master2"),
+                                                    new JedisShardInfo("127.0.0.1", 6381, "master3"));
+        ShardRouter router = new ShardRouter(shards, true);
+        Random      random = new Random(17);
+        for (int i = 0; i < 20000; i++) {
+            String key = randomKey(random) + "{" + randomKey(random) + "}" + randomKey(random);
+            Assert.assertEquals(key, router.index(key), router.index(SafeEncoder.encode(key)));
+        }
+        // 二进制命令写入的 tag key 与 String 命令写入的同 tag key 在同一个分片上
+        Assert.assertEquals(router.index("user:{42}:profile"), router.index(SafeEncoder.encode("user:{42}:cart")));
+    }
+
+    @Test
+    public void testBoundedLoadCapsWeightedShare() {
+        List<JedisShardInfo> shards = Arrays.asList(new JedisShardInfo("127.0.0.1", 6379, 2000, 2000, 1),
+                                                    new JedisShardInfo("127.0.0.1", 6380, 2000, 2000, 1),
+                                                    new JedisShardInfo("127.0.0.1", 6381, 2000, 2000, 1),
+                                                    new JedisShardInfo("127.0.0.1", 6382, 2000, 2000, 3));
+        double[] fair = {1 / 6.0, 1 / 6.0, 1 / 6.0, 3 / 6.0};
+
+        ShardRouter bounded = new ShardRouter(shards, false, 1.05);
+        double[]    shares  = bounded.shares(shards.size());
+        double      total   = 0;
+        for (int i = 0; i < shares.length; i++) {
+            Assert.assertTrue("shard " + i + " share " + shares[i], shares[i] <= fair[i] * 1.05);
+            total += shares[i];
+        }
+        Assert.assertEquals(1, total, 1e-9);
+
+        // 权重为 3 的分片负责约一半的 key
+        int[] counts = new int[shards.size()];
+        for (int i = 0; i < 60000; i++) {
+            counts[bounded.index("key:" + i)]++;
+        }
+        Assert.assertTrue("counts " + Arrays.toString(counts), counts[3] > 27000 && counts[3] < 32000);
+
+        // 不限制时与 Jedis Sharded 一致
+        Assert.assertArrayEquals(new ShardRouter(shards).shares(shards.size()),
+                                 new ShardRouter(shards, false, 0).shares(shards.size()), 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testLoadFactorMustExceedOne() {
+        new ShardRouter(Arrays.asList(new JedisShardInfo("127.0.0.1", 6379), new JedisShardInfo("127.0.0.1", 6380)), false, 1);
+    }
+
+    private static String randomKey(Random random) {
+        char[] chars = new char[random.nextInt(40)];
+        for (int i = 0; i < chars.length; i++) {
+            switch (random.nextInt(4)) {
+                case 0:
+                    chars[i] = (char) (0x20 + random.nextInt(0x5F));
+                    break;
+                case 1:
+                    chars[i] = (char) (0x80 + random.nextInt(0x780));
+                    break;
+                case 2:
+                    chars[i] = (char) (0x4E00 + random.nextInt(0x5000));
+                    break;
+                default:
+                    if (i + 1 < chars.length) {
+                        String pair = new String(Character.toChars(0x1F600 + random.nextInt(0x50)));
+                        chars[i++] = pair.charAt(0);
+                        chars[i] = pair.charAt(1);
+                    } else {
+                        chars[i] = 'z';
+                    }
+            }
+        }
+        return new String(chars);
+    }
+}
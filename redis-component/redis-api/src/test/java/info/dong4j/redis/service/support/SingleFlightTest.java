@@ -0,0 +1,123 @@
+package info.dong4j.redis.service.support;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <p>Description: 并发相同请求合并测试</p>
+ *
+ * @author dong4j
+ * @email dong4j@gmail.com
+ * @date 2026-10-18  18:40
+ */
+public class SingleFlightTest {
+    @Test
+    public void testShareInFlightCall() throws Exception {
+        final SingleFlight   singleFlight = new SingleFlight();
+        final CountDownLatch release      = new CountDownLatch(1);
+        final AtomicInteger  loads        = new AtomicInteger();
+        final Callable<String> loader = new Callable<String>() {
+            @Override
+            public String call() throws Exception {
+                loads.incrementAndGet();
+                release.await(5, TimeUnit.SECONDS);
+                return "value";
+            }
+        };
+
+        ExecutorService      executor = Executors.newFixedThreadPool(8);
+        List<Future<String>> futures  = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            futures.add(executor.submit(new Callable<String>() {
+                @Override
+                public String call() throws Exception {
+                    return singleFlight.execute("get hot", loader, null);
+                }
+            }));
+        }
+        // 等待所有请求都进入等待
+        long deadline = System.currentTimeMillis() + 5000;
+        while (singleFlight.getShared() < 7 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(1);
+        }
+        release.countDown();
+        for (Future<String> future : futures) {
+            Assert.assertEquals("value", future.get());
+        }
+        executor.shutdown();
+
+        Assert.assertEquals(1, loads.get());
+        Assert.assertEquals(0, singleFlight.getInFlight());
+    }
+
+    @Test
+    public void testLeaderMutatesResult() throws Exception {
+        final SingleFlight   singleFlight = new SingleFlight();
+        final CountDownLatch release      = new CountDownLatch(1);
+        final List<String>   loaded       = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            loaded.add("member" + i);
+        }
+        final Callable<List<String>> loader = new Callable<List<String>>() {
+            @Override
+            public List<String> call() throws Exception {
+                release.await(5, TimeUnit.SECONDS);
+                return loaded;
+            }
+        };
+        final SingleFlight.Copier<List<String>> copier = new SingleFlight.Copier<List<String>>() {
+            @Override
+            public List<String> copy(List<String> value) {
+                return new ArrayList<>(value);
+            }
+        };
+
+        ExecutorService       executor = Executors.newFixedThreadPool(8);
+        List<Future<Integer>> futures  = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            futures.add(executor.submit(new Callable<Integer>() {
+                @Override
+                public Integer call() throws Exception {
+                    List<String> members = singleFlight.execute("smembers hot", loader, copier);
+                    int          size    = members.size();
+                    // 每个调用方(包括 leader)都会修改自己拿到的结果
+                    for (int j = 0; j < 1000; j++) {
+                        members.add("local" + j);
+                    }
+                    return size;
+                }
+            }));
+        }
+        long deadline = System.currentTimeMillis() + 5000;
+        while (singleFlight.getShared() < 7 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(1);
+        }
+        release.countDown();
+        for (Future<Integer> future : futures) {
+            Assert.assertEquals(100, (int) future.get());
+        }
+        executor.shutdown();
+
+        Assert.assertEquals(100, loaded.size());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testException() throws Exception {
+        new SingleFlight().execute("get key", new Callable<String>() {
+            @Override
+            public String call() {
+                throw new IllegalStateException("failed");
+            }
+        }, null);
+    }
+}
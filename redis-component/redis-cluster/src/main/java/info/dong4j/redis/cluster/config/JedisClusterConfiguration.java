@@ -1,12 +1,31 @@
 package info.dong4j.redis.cluster.config;
 
+import info.dong4j.redis.service.BinaryRedisService;
+import info.dong4j.redis.service.RedisService;
+import info.dong4j.redis.service.impl.AsyncRedisServiceImpl;
+import info.dong4j.redis.service.impl.CachingRedisService;
+import info.dong4j.redis.service.impl.ClusterBatchExecutor;
+import info.dong4j.redis.service.impl.ClusterBinaryRedisServiceImpl;
+import info.dong4j.redis.service.impl.ClusterRedisServiceImpl;
+import info.dong4j.redis.service.impl.CoalescingRedisService;
+import info.dong4j.redis.service.impl.HotKeyRedisService;
+import info.dong4j.redis.service.impl.InstrumentedRedisService;
+import info.dong4j.redis.service.impl.SingleFlightRedisService;
+import info.dong4j.redis.service.support.AdaptivePoolSizer;
+import info.dong4j.redis.service.support.HotKeyDetector;
+import info.dong4j.redis.service.support.RedisMetrics;
+
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 import java.net.*;
+import java.util.Collection;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 
@@ -15,6 +34,7 @@ import redis.clients.jedis.HostAndPort;
 import redis.clients.jedis.JedisCluster;
 import redis.clients.jedis.JedisPoolConfig;
 import redis.clients.util.JedisURIHelper;
+import redis.clients.util.Pool;
 
 /**
  * <p>Description: redis 集群整合 </p>
@@ -54,6 +74,55 @@ public class JedisClusterConfiguration {
     private boolean testOnBorrow;
     @Value("${redis.pool.testOnReturn}")
     private boolean testOnReturn;
+    /** 跨 slot 批量命令并发执行的节点数 */
+    @Value("${redis.cluster.parallelism:8}")
+    private int     parallelism;
+    @Value("${redis.async.threads:64}")
+    private int     asyncThreads;
+    @Value("${redis.async.maxInFlightPerNode:32}")
+    private int     asyncMaxInFlightPerNode;
+    @Value("${redis.async.maxPendingPerNode:1024}")
+    private int     asyncMaxPendingPerNode;
+    @Value("${redis.coalesce.enabled:false}")
+    private boolean coalesceEnabled;
+    @Value("${redis.coalesce.windowMicros:200}")
+    private long    coalesceWindowMicros;
+    @Value("${redis.coalesce.maxBatch:64}")
+    private int     coalesceMaxBatch;
+    @Value("${redis.coalesce.threads:2}")
+    private int     coalesceThreads;
+    @Value("${redis.nearCache.enabled:false}")
+    private boolean nearCacheEnabled;
+    @Value("${redis.nearCache.maxSize:10000}")
+    private int     nearCacheMaxSize;
+    @Value("${redis.nearCache.ttlMillis:60000}")
+    private long    nearCacheTtlMillis;
+    @Value("${redis.nearCache.channel:redis-toolkit:near-cache:invalidate}")
+    private String  nearCacheChannel;
+    @Value("${redis.nearCache.keyPrefixes:}")
+    private String[] nearCacheKeyPrefixes;
+    @Value("${redis.singleFlight.enabled:false}")
+    private boolean singleFlightEnabled;
+    @Value("${redis.hotKey.enabled:false}")
+    private boolean hotKeyEnabled;
+    @Value("${redis.hotKey.windowSeconds:10}")
+    private int     hotKeyWindowSeconds;
+    @Value("${redis.hotKey.topK:20}")
+    private int     hotKeyTopK;
+    @Value("${redis.hotKey.threshold:10000}")
+    private long    hotKeyThreshold;
+    @Value("${redis.pool.adaptive.minTotal:8}")
+    private int     adaptiveMinTotal;
+    @Value("${redis.pool.adaptive.targetWaitMillis:2}")
+    private long    adaptiveTargetWaitMillis;
+    @Value("${redis.pool.adaptive.headroom:1.5}")
+    private double  adaptiveHeadroom;
+    @Value("${redis.pool.adaptive.intervalMillis:1000}")
+    private long    adaptiveIntervalMillis;
+    @Value("${redis.metrics.enabled:false}")
+    private boolean metricsEnabled;
+    @Value("${redis.metrics.name:redis-toolkit}")
+    private String  metricsName;
 
     /**
      * Jedis pool config jedis pool config.
@@ -148,4 +217,126 @@ public class JedisClusterConfiguration {
                                 password,
                                 jedisPoolConfig());
     }
+
+    /**
+     * 跨 slot 批量命令执行器, 按节点并行执行 pipeline
+     *
+     * @return the cluster batch executor
+     */
+    @ConditionalOnProperty(value = "redis.model", havingValue = "cluster")
+    @Bean(name = "clusterBatchExecutor", destroyMethod = "destroy")
+    public ClusterBatchExecutor clusterBatchExecutor() {
+        return new ClusterBatchExecutor(jedisCluster(), parallelism);
+    }
+
+    /**
+     * 集群模式下的 RedisService
+     *
+     * @return the redis service
+     */
+    @ConditionalOnProperty(value = "redis.model", havingValue = "cluster")
+    @Bean(name = "redisService")
+    public RedisService redisService() {
+        RedisService redisService = new ClusterRedisServiceImpl(jedisCluster(), clusterBatchExecutor(),
+                                                                metricsEnabled ? redisMetrics() : null);
+        if (metricsEnabled) {
+            redisService = new InstrumentedRedisService(redisService, redisMetrics(), clusterBatchExecutor());
+        }
+        if (coalesceEnabled) {
+            redisService = new CoalescingRedisService(redisService,
+                                                      clusterBatchExecutor(),
+                                                      coalesceWindowMicros,
+                                                      coalesceMaxBatch,
+                                                      coalesceThreads,
+                                                      metricsEnabled ? redisMetrics() : null);
+        }
+        if (hotKeyEnabled) {
+            redisService = new HotKeyRedisService(redisService,
+                                                  new HotKeyDetector(clusterBatchExecutor(),
+                                                                     hotKeyWindowSeconds,
+                                                                     hotKeyTopK,
+                                                                     hotKeyThreshold));
+        }
+        if (singleFlightEnabled) {
+            redisService = new SingleFlightRedisService(redisService);
+        }
+        if (nearCacheEnabled) {
+            redisService = new CachingRedisService(redisService,
+                                                   clusterBatchExecutor(),
+                                                   nearCacheChannel,
+                                                   nearCacheMaxSize,
+                                                   nearCacheTtlMillis,
+                                                   nearCacheKeyPrefixes);
+        }
+        return redisService;
+    }
+
+    /**
+     * 集群模式下的 AsyncRedisService, 按 slot 所在的 master 节点限流
+     *
+     * @return the async redis service
+     */
+    @ConditionalOnProperty(value = "redis.model", havingValue = "cluster")
+    @Bean(name = "asyncRedisService", destroyMethod = "destroy")
+    public AsyncRedisServiceImpl asyncRedisService() {
+        return new AsyncRedisServiceImpl(redisService(),
+                                         clusterBatchExecutor(),
+                                         asyncThreads,
+                                         asyncMaxInFlightPerNode,
+                                         asyncMaxPendingPerNode);
+    }
+
+    /**
+     * 集群模式下的 BinaryRedisService, 与 redisService 使用同一个连接池.
+     * 不经过 RedisService 的装饰器, 写入的 key 不会使 near cache 失效, 也会绕过合并写改变同一个 key 的写入顺序,
+     * 因此开启 redis.nearCache.enabled 或 redis.coalesce.enabled 时需要设置 redis.binary.enabled=false, 否则启动失败
+     *
+     * @return the binary redis service
+     */
+    @ConditionalOnExpression("'${redis.model:}' == 'cluster' && ${redis.binary.enabled:true}")
+    @Bean(name = "binaryRedisService")
+    public BinaryRedisService binaryRedisService() {
+        if (nearCacheEnabled || coalesceEnabled) {
+            throw new RuntimeException("binaryRedisService bypasses near cache invalidation and write coalescing, "
+                                       + "please set redis.binary.enabled=false when redis.nearCache.enabled or redis.coalesce.enabled is true");
+        }
+        return new ClusterBinaryRedisServiceImpl(jedisCluster(), clusterBatchExecutor());
+    }
+
+    /**
+     * 根据借出等待时间动态调整每个节点的连接池大小, redis.pool.maxActive 为单个节点的上限
+     *
+     * @return the adaptive pool sizer
+     */
+    @ConditionalOnExpression("'${redis.model:}' == 'cluster' && ${redis.pool.adaptive.enabled:false}")
+    @Bean(name = "adaptivePoolSizer", destroyMethod = "shutdown")
+    public AdaptivePoolSizer adaptivePoolSizer() {
+        // 每个周期重新获取节点连接池, 集群拓扑变化后调整新的节点
+        return new AdaptivePoolSizer(new AdaptivePoolSizer.PoolProvider() {
+            @Override
+            public Collection<? extends Pool<?>> getPools() {
+                return jedisCluster().getClusterNodes().values();
+            }
+        }, adaptiveMinTotal, maxTotal, adaptiveTargetWaitMillis, adaptiveHeadroom, adaptiveIntervalMillis);
+    }
+
+    /**
+     * 连接池与命令耗时统计, 注册到 JMX
+     *
+     * @return the redis metrics
+     */
+    @ConditionalOnExpression("'${redis.model:}' == 'cluster' && ${redis.metrics.enabled:false}")
+    @Bean(name = "redisMetrics", destroyMethod = "unregister")
+    public RedisMetrics redisMetrics() {
+        RedisMetrics metrics = new RedisMetrics(metricsName);
+        // 每次快照重新获取节点连接池, 集群拓扑变化后统计新的节点
+        metrics.registerPools(new RedisMetrics.NamedPools() {
+            @Override
+            public Map<String, ? extends Pool<?>> getPools() {
+                return jedisCluster().getClusterNodes();
+            }
+        });
+        metrics.register();
+        return metrics;
+    }
 }
@@ -0,0 +1,303 @@
+package info.dong4j.redis.sentinel;
+
+import info.dong4j.redis.service.support.FailoverListener;
+import info.dong4j.redis.service.support.SentinelEventLoop;
+
+import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import lombok.extern.slf4j.Slf4j;
+import redis.clients.jedis.HostAndPort;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisSentinelPool;
+import redis.clients.jedis.exceptions.JedisConnectionException;
+import redis.clients.jedis.exceptions.JedisException;
+
+/**
+ * <p>Description: 带定时对账的 JedisSentinelPool</p>
+ * JedisSentinelPool 只通过订阅 +switch-master 感知主从切换, 订阅断开期间的切换消息会丢失, 连接池会一直指向旧 master.
+ * 这里按 reconcileIntervalMillis 周期向所有 sentinel 查询 master 地址, 多数 sentinel 一致且与当前 master 不同时,
+ * 通过 JedisSentinelPool 处理 +switch-master 时使用的 initPool(HostAndPort) 切换, 保证丢消息时切换延迟有上限.
+ * initPool(HostAndPort) 在 Jedis 2.9 中是私有方法且没有同步, 只能通过反射调用; 为了不与 MasterListener 线程并发切换,
+ * 创建后停止 JedisSentinelPool 自带的 MasterListener, 由 {@link SentinelEventLoop} 订阅 +switch-master,
+ * 消息切换与对账切换都经过同一个同步的 {@link #switchMaster(HostAndPort)}, 切换后立即通知 {@link FailoverListener},
+ * 不依赖对账周期.
+ *
+ * @author dong4j
+ * @email dong4j@gmail.com
+ * @date 2026-10-18  22:10
+ */
+@Slf4j
+public class ReconcilingJedisSentinelPool extends JedisSentinelPool {
+    /** 默认对账周期 */
+    public static final long DEFAULT_RECONCILE_INTERVAL_MILLIS = 10000L;
+
+    private static final String SWITCH_MASTER = "+switch-master";
+    private static final Method INIT_POOL;
+
+    static {
+        try {
+            INIT_POOL = JedisSentinelPool.class.getDeclaredMethod("initPool", HostAndPort.class);
+            INIT_POOL.setAccessible(true);
+        } catch (NoSuchMethodException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final String                   masterName;
+    private final Set<String>              sentinels;
+    private final ScheduledExecutorService reconciler;
+    private final SentinelEventLoop        sentinelListener;
+    private final List<FailoverListener>   failoverListeners = new CopyOnWriteArrayList<>();
+    /** 上次通知时的 master, 只在 switchMaster 中访问 */
+    private       HostAndPort              lastMaster;
+
+    /**
+     * Instantiates a new Reconciling jedis sentinel pool.
+     *
+     * @param masterName              the master name
+     * @param sentinels               sentinel 地址 host:port
+     * @param poolConfig              the pool config
+     * @param timeout                 the timeout
+     * @param password                the password
+     * @param reconcileIntervalMillis 对账周期, 小于等于 0 时只依赖 +switch-master 消息
+     */
+    public ReconcilingJedisSentinelPool(final String masterName, Set<String> sentinels,
+                                        GenericObjectPoolConfig poolConfig, int timeout, String password,
+                                        long reconcileIntervalMillis) {
+        super(masterName, sentinels, poolConfig, timeout, password);
+        this.masterName = masterName;
+        this.sentinels = sentinels;
+        this.lastMaster = getCurrentHostMaster();
+        stopMasterListeners();
+        if (reconcileIntervalMillis <= 0) {
+            this.reconciler = null;
+        } else {
+            this.reconciler = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable r) {
+                    Thread thread = new Thread(r, "sentinel-reconciler-" + masterName);
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+            this.reconciler.scheduleWithFixedDelay(new Runnable() {
+                @Override
+                public void run() {
+                    reconcileQuietly();
+                }
+            }, reconcileIntervalMillis, reconcileIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+        this.sentinelListener = startSentinelListener();
+    }
+
+    /**
+     * 停止 JedisSentinelPool 自带的 MasterListener 线程.
+     * MasterListener.run 开始时才把 running 置为 true, 线程刚启动时的 shutdown 可能被覆盖, 因此重复 shutdown 直到线程退出
+     */
+    private void stopMasterListeners() {
+        for (MasterListener listener : masterListeners) {
+            listener.shutdown();
+        }
+        for (MasterListener listener : masterListeners) {
+            try {
+                while (listener.isAlive()) {
+                    listener.shutdown();
+                    // 连接失败后会等待重试, 中断等待
+                    listener.interrupt();
+                    listener.join(100);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * 订阅所有 sentinel 的 +switch-master, 代替 MasterListener
+     *
+     * @return the sentinel event loop
+     */
+    private SentinelEventLoop startSentinelListener() {
+        List<HostAndPort> haps = new ArrayList<>();
+        for (String sentinel : sentinels) {
+            haps.add(HostAndPort.parseString(sentinel));
+        }
+        SentinelEventLoop listener = new SentinelEventLoop(haps, connectionTimeout, new SentinelEventLoop.Listener() {
+            @Override
+            public void onSubscribe(HostAndPort sentinel) {
+                // 重新订阅前可能错过了切换消息
+                requestReconcile();
+            }
+
+            @Override
+            public void onMessage(HostAndPort sentinel, String channel, String message) {
+                onSwitchMaster(sentinel, message);
+            }
+        }, SWITCH_MASTER);
+        try {
+            listener.start();
+        } catch (IOException e) {
+            throw new JedisConnectionException("Cannot start sentinel listener", e);
+        }
+        return listener;
+    }
+
+    /**
+     * +switch-master 格式: master-name old-ip old-port new-ip new-port
+     *
+     * @param sentinel the sentinel
+     * @param message  the message
+     */
+    private void onSwitchMaster(HostAndPort sentinel, String message) {
+        String[] parts = message.split(" ");
+        if (parts.length != 5) {
+            log.warn("Invalid message received on Sentinel " + sentinel + " on channel +switch-master: " + message);
+            return;
+        }
+        if (!masterName.equals(parts[0])) {
+            return;
+        }
+        try {
+            switchMaster(new HostAndPort(parts[3], Integer.parseInt(parts[4])));
+        } catch (RuntimeException e) {
+            log.warn("Switch master " + masterName + " failed. " + e.getMessage());
+        }
+    }
+
+    /**
+     * 在对账线程中执行一次对账, 未开启对账时不执行
+     */
+    private void requestReconcile() {
+        if (reconciler == null) {
+            return;
+        }
+        try {
+            reconciler.execute(new Runnable() {
+                @Override
+                public void run() {
+                    reconcileQuietly();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // 连接池已关闭
+        }
+    }
+
+    private void reconcileQuietly() {
+        // 异常会终止后续调度
+        try {
+            reconcile();
+        } catch (RuntimeException e) {
+            log.warn("Reconcile master route failed. " + e.getMessage());
+        }
+    }
+
+    /**
+     * 向所有 sentinel 查询 master 地址, 只采用多数 sentinel 一致的结果,
+     * 避免个别 sentinel 的旧配置把已切换的连接池切回去
+     */
+    void reconcile() {
+        int                       quorum = sentinels.size() / 2 + 1;
+        Map<HostAndPort, Integer> votes  = new HashMap<>();
+        for (String sentinel : sentinels) {
+            HostAndPort hap = HostAndPort.parseString(sentinel);
+            try (Jedis jedis = new Jedis(hap.getHost(), hap.getPort(), connectionTimeout)) {
+                List<String> masterAddr = jedis.sentinelGetMasterAddrByName(masterName);
+                if (masterAddr == null || masterAddr.size() != 2) {
+                    continue;
+                }
+                HostAndPort master = new HostAndPort(masterAddr.get(0), Integer.parseInt(masterAddr.get(1)));
+                Integer     count  = votes.get(master);
+                votes.put(master, count == null ? 1 : count + 1);
+            } catch (JedisException e) {
+                log.warn("Cannot query sentinel running @ " + hap + ". " + e.getMessage());
+            }
+        }
+
+        for (Map.Entry<HostAndPort, Integer> entry : votes.entrySet()) {
+            if (entry.getValue() >= quorum) {
+                HostAndPort master = entry.getKey();
+                if (!master.equals(getCurrentHostMaster())) {
+                    log.warn("Master " + masterName + " moved to " + master
+                             + " without +switch-master received, reconcile");
+                    switchMaster(master);
+                }
+                return;
+            }
+        }
+        log.warn("Reconcile master " + masterName + " skipped, sentinels unavailable or do not agree: " + votes);
+    }
+
+    /**
+     * 添加主从切换监听
+     *
+     * @param listener the listener
+     */
+    public void addFailoverListener(FailoverListener listener) {
+        failoverListeners.add(listener);
+    }
+
+    /**
+     * 当前 master 与上次通知时不同时通知监听
+     */
+    private void notifyFailover() {
+        HostAndPort current = getCurrentHostMaster();
+        if (current == null || current.equals(lastMaster)) {
+            return;
+        }
+        for (FailoverListener listener : failoverListeners) {
+            try {
+                listener.onFailover(masterName, lastMaster == null ? null : lastMaster.toString(), current.toString());
+            } catch (RuntimeException e) {
+                log.warn("Notify failover listener failed. " + e.getMessage());
+            }
+        }
+        lastMaster = current;
+    }
+
+    /**
+     * 走 JedisSentinelPool 处理 +switch-master 的同一路径切换 master, 消息与对账串行切换, 切换后通知监听
+     *
+     * @param master the master
+     */
+    private synchronized void switchMaster(HostAndPort master) {
+        try {
+            INIT_POOL.invoke(this, master);
+        } catch (IllegalAccessException e) {
+            throw new JedisException("Cannot switch master to " + master, e);
+        } catch (InvocationTargetException e) {
+            throw new JedisException("Cannot switch master to " + master, e.getCause());
+        }
+        notifyFailover();
+    }
+
+    /**
+     * close
+     */
+    @Override
+    public void destroy() {
+        if (reconciler != null) {
+            reconciler.shutdownNow();
+        }
+        if (sentinelListener != null) {
+            sentinelListener.shutdown();
+        }
+        super.destroy();
+    }
+}
@@ -0,0 +1,421 @@
+package info.dong4j.redis.sentinel;
+
+import info.dong4j.redis.service.support.RedisMetrics;
+import info.dong4j.redis.service.support.SentinelEventLoop;
+
+import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import lombok.extern.slf4j.Slf4j;
+import redis.clients.jedis.HostAndPort;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.JedisSentinelPool;
+import redis.clients.jedis.Protocol;
+import redis.clients.jedis.exceptions.JedisConnectionException;
+import redis.clients.util.Pool;
+
+/**
+ * <p>Description: 哨兵模式下的从节点读连接池</p>
+ * 通过 SENTINEL slaves 发现 master 的所有健康从节点, 为每个从节点维护一个 JedisPool,
+ * {@link #getResource()} 返回当前未归还连接数最少的从节点连接(least outstanding requests), 没有可用从节点时返回 master 连接.
+ * 通过 {@link SentinelEventLoop} 在单个线程中订阅所有 sentinel 的 +sdown/-sdown/+slave/+switch-master, 断线后按指数退避重连:
+ * 从节点 +sdown 时立即摘除, 其他事件重新向 sentinel 查询从节点列表并只增删变化的从节点连接池.
+ * 本身不持有内部对象池, 连接数等统计为所有从节点连接池之和, 各从节点连接池通过 {@link #getPools()} 注册到 {@link RedisMetrics}.
+ * 从节点的数据存在复制延迟, 只适合能容忍短暂读到旧值的读命令.
+ *
+ * @author dong4j
+ * @email dong4j@gmail.com
+ * @date 2026-10-18  20:40
+ */
+@Slf4j
+public class SentinelReplicaPool extends Pool<Jedis> implements RedisMetrics.NamedPools {
+    private static final String SDOWN         = "+sdown";
+    private static final String SDOWN_CLEARED = "-sdown";
+    private static final String NEW_SLAVE     = "+slave";
+    private static final String SWITCH_MASTER = "+switch-master";
+    private static final String SLAVE         = "slave";
+
+    private final String                  masterName;
+    private final Set<String>             sentinels;
+    private final JedisSentinelPool       masterPool;
+    private final GenericObjectPoolConfig poolConfig;
+    private final int                     connectionTimeout;
+    private final int                     soTimeout;
+    private final String                  password;
+    private final int                     database;
+    private final SentinelEventLoop       sentinelListener;
+
+    private volatile boolean closed;
+
+    /**
+     * 当前可读的从节点, 写时复制
+     */
+    private volatile List<ReplicaPool> replicas = Collections.emptyList();
+
+    /**
+     * Instantiates a new Sentinel replica pool.
+     *
+     * @param masterName        the master name
+     * @param sentinels         sentinel 地址 host:port
+     * @param masterPool        master 连接池, 没有可用从节点时使用
+     * @param poolConfig        每个从节点连接池的配置
+     * @param connectionTimeout the connection timeout
+     * @param soTimeout         the so timeout
+     * @param password          the password
+     */
+    public SentinelReplicaPool(String masterName, Set<String> sentinels, JedisSentinelPool masterPool,
+                               GenericObjectPoolConfig poolConfig, int connectionTimeout, int soTimeout,
+                               String password) {
+        this.masterName = masterName;
+        this.sentinels = sentinels;
+        this.masterPool = masterPool;
+        this.poolConfig = poolConfig;
+        this.connectionTimeout = connectionTimeout;
+        this.soTimeout = soTimeout;
+        this.password = password;
+        this.database = Protocol.DEFAULT_DATABASE;
+
+        refresh();
+        List<HostAndPort> haps = new ArrayList<>();
+        for (String sentinel : sentinels) {
+            haps.add(toHostAndPort(sentinel));
+        }
+        sentinelListener = new SentinelEventLoop(haps, connectionTimeout, new SentinelEventLoop.Listener() {
+            @Override
+            public void onSubscribe(HostAndPort sentinel) {
+                // 订阅断开期间可能错过事件, 重新订阅后同步一次
+                refresh();
+            }
+
+            @Override
+            public void onMessage(HostAndPort sentinel, String channel, String message) {
+                onSentinelEvent(channel, message);
+            }
+        }, SDOWN, SDOWN_CLEARED, NEW_SLAVE, SWITCH_MASTER);
+        try {
+            sentinelListener.start();
+        } catch (IOException e) {
+            destroy();
+            throw new JedisConnectionException("Cannot start sentinel listener", e);
+        }
+    }
+
+    /**
+     * 获取读连接, 优先选择未归还连接数最少的从节点
+     *
+     * @return the jedis
+     */
+    @Override
+    public Jedis getResource() {
+        List<ReplicaPool> current = replicas;
+        int               size    = current.size();
+        if (size == 0) {
+            return masterPool.getResource();
+        }
+        // 从随机位置开始比较, 未归还连接数相同时分散到不同从节点
+        int         offset = ThreadLocalRandom.current().nextInt(size);
+        ReplicaPool chosen = null;
+        for (int i = 0; i < size; i++) {
+            ReplicaPool replica = current.get((offset + i) % size);
+            if (chosen == null || replica.outstanding.get() < chosen.outstanding.get()) {
+                chosen = replica;
+            }
+        }
+        try {
+            return chosen.getResource();
+        } catch (JedisConnectionException e) {
+            log.warn("Cannot get resource from replica " + chosen.address + ", fallback to master. " + e.getMessage());
+            return masterPool.getResource();
+        }
+    }
+
+    /**
+     * 当前可读的从节点
+     *
+     * @return the replicas
+     */
+    public List<HostAndPort> getReplicas() {
+        List<HostAndPort> addresses = new ArrayList<>();
+        for (ReplicaPool replica : replicas) {
+            addresses.add(replica.address);
+        }
+        return addresses;
+    }
+
+    /**
+     * 各从节点的连接池, 名称为 masterName@host:port
+     *
+     * @return the pools
+     */
+    @Override
+    public Map<String, ? extends Pool<?>> getPools() {
+        Map<String, Pool<?>> pools = new LinkedHashMap<>();
+        for (ReplicaPool replica : replicas) {
+            pools.put(masterName + "@" + replica.address, replica);
+        }
+        return pools;
+    }
+
+    /**
+     * 向 sentinel 查询从节点列表, 只创建新增从节点的连接池、关闭已下线从节点的连接池
+     */
+    public synchronized void refresh() {
+        if (closed) {
+            return;
+        }
+        Set<HostAndPort> healthy = querySlaves();
+        if (healthy == null || closed) {
+            return;
+        }
+        healthy.remove(masterPool.getCurrentHostMaster());
+
+        Map<HostAndPort, ReplicaPool> existing = new LinkedHashMap<>();
+        for (ReplicaPool replica : replicas) {
+            existing.put(replica.address, replica);
+        }
+        List<ReplicaPool> updated = new ArrayList<>(healthy.size());
+        for (HostAndPort address : healthy) {
+            ReplicaPool replica = existing.remove(address);
+            if (replica == null) {
+                replica = new ReplicaPool(address);
+                log.info("Found replica of " + masterName + " at " + address);
+            }
+            updated.add(replica);
+        }
+        replicas = Collections.unmodifiableList(updated);
+        for (ReplicaPool removed : existing.values()) {
+            log.info("Replica of " + masterName + " at " + removed.address + " is removed");
+            removed.destroy();
+        }
+    }
+
+    /**
+     * 立即摘除主观下线的从节点
+     *
+     * @param address the address
+     */
+    private synchronized void markDown(HostAndPort address) {
+        List<ReplicaPool> updated = new ArrayList<>(replicas);
+        for (ReplicaPool replica : replicas) {
+            if (replica.address.equals(address)) {
+                updated.remove(replica);
+                replicas = Collections.unmodifiableList(updated);
+                log.info("Replica of " + masterName + " at " + address + " is subjectively down");
+                replica.destroy();
+                return;
+            }
+        }
+    }
+
+    /**
+     * 依次询问 sentinel, 返回第一个可用 sentinel 认为健康的从节点
+     *
+     * @return 所有 sentinel 都不可用时返回 null
+     */
+    private Set<HostAndPort> querySlaves() {
+        for (String sentinel : sentinels) {
+            HostAndPort hap = toHostAndPort(sentinel);
+            try (Jedis jedis = new Jedis(hap.getHost(), hap.getPort(), connectionTimeout)) {
+                Set<HostAndPort> healthy = new HashSet<>();
+                for (Map<String, String> slave : jedis.sentinelSlaves(masterName)) {
+                    if (isHealthy(slave)) {
+                        healthy.add(new HostAndPort(slave.get("ip"), Integer.parseInt(slave.get("port"))));
+                    }
+                }
+                return healthy;
+            } catch (JedisConnectionException e) {
+                log.warn("Cannot connect to sentinel running @ " + hap + ". Trying next one.");
+            }
+        }
+        log.warn("All sentinels down, keep current replicas of " + masterName);
+        return null;
+    }
+
+    /**
+     * 没有下线、断开标记并且与 master 的复制连接正常
+     *
+     * @param slave SENTINEL slaves 返回的从节点信息
+     * @return the boolean
+     */
+    private static boolean isHealthy(Map<String, String> slave) {
+        List<String> flags = Arrays.asList(String.valueOf(slave.get("flags")).split(","));
+        return !flags.contains("s_down")
+               && !flags.contains("o_down")
+               && !flags.contains("disconnected")
+               && "ok".equals(slave.get("master-link-status"));
+    }
+
+    private static HostAndPort toHostAndPort(String address) {
+        String[] parts = address.split(":");
+        return new HostAndPort(parts[0], Integer.parseInt(parts[1]));
+    }
+
+    /**
+     * 处理 sentinel 事件
+     * +sdown/-sdown/+slave 格式: slave ip:port ip port @ master-name master-ip master-port
+     * +switch-master 格式: master-name old-ip old-port new-ip new-port
+     *
+     * @param channel the channel
+     * @param message the message
+     */
+    void onSentinelEvent(String channel, String message) {
+        String[] parts = message.split(" ");
+        if (SWITCH_MASTER.equals(channel)) {
+            if (parts.length > 0 && masterName.equals(parts[0])) {
+                refresh();
+            }
+            return;
+        }
+        if (parts.length < 6 || !SLAVE.equals(parts[0]) || !masterName.equals(parts[5])) {
+            return;
+        }
+        if (SDOWN.equals(channel)) {
+            markDown(new HostAndPort(parts[2], Integer.parseInt(parts[3])));
+        } else if (SDOWN_CLEARED.equals(channel) || NEW_SLAVE.equals(channel)) {
+            refresh();
+        }
+    }
+
+    /**
+     * 停止监听并关闭所有从节点连接池, master 连接池由创建方关闭
+     */
+    @Override
+    public void destroy() {
+        closed = true;
+        if (sentinelListener != null) {
+            sentinelListener.shutdown();
+        }
+        synchronized (this) {
+            for (ReplicaPool replica : replicas) {
+                replica.destroy();
+            }
+            replicas = Collections.emptyList();
+        }
+    }
+
+    @Override
+    public boolean isClosed() {
+        return closed;
+    }
+
+    @Override
+    public int getNumActive() {
+        int active = 0;
+        for (ReplicaPool replica : replicas) {
+            active += Math.max(0, replica.getNumActive());
+        }
+        return active;
+    }
+
+    @Override
+    public int getNumIdle() {
+        int idle = 0;
+        for (ReplicaPool replica : replicas) {
+            idle += Math.max(0, replica.getNumIdle());
+        }
+        return idle;
+    }
+
+    @Override
+    public int getNumWaiters() {
+        int waiters = 0;
+        for (ReplicaPool replica : replicas) {
+            waiters += Math.max(0, replica.getNumWaiters());
+        }
+        return waiters;
+    }
+
+    @Override
+    public long getMeanBorrowWaitTimeMillis() {
+        List<ReplicaPool> current = replicas;
+        if (current.isEmpty()) {
+            return 0;
+        }
+        long total = 0;
+        for (ReplicaPool replica : current) {
+            total += Math.max(0, replica.getMeanBorrowWaitTimeMillis());
+        }
+        return total / current.size();
+    }
+
+    @Override
+    public long getMaxBorrowWaitTimeMillis() {
+        long max = 0;
+        for (ReplicaPool replica : replicas) {
+            max = Math.max(max, replica.getMaxBorrowWaitTimeMillis());
+        }
+        return max;
+    }
+
+    /**
+     * 每个从节点连接池预先创建 count 个连接
+     *
+     * @param count the count
+     */
+    @Override
+    public void addObjects(int count) {
+        for (ReplicaPool replica : replicas) {
+            replica.addObjects(count);
+        }
+    }
+
+    /**
+     * <p>Description: 单个从节点的连接池, 记录未归还的连接数 </p>
+     *
+     * @author dong4j
+     * @email dong4j@gmail.com
+     * @date 2026-10-18  20:40
+     */
+    private class ReplicaPool extends JedisPool {
+        private final HostAndPort   address;
+        private final AtomicInteger outstanding = new AtomicInteger();
+
+        /**
+         * Instantiates a new Replica pool.
+         *
+         * @param address the address
+         */
+        ReplicaPool(HostAndPort address) {
+            super(poolConfig, address.getHost(), address.getPort(), connectionTimeout, soTimeout, password,
+                  database, null, false, null, null, null);
+            this.address = address;
+        }
+
+        @Override
+        public Jedis getResource() {
+            Jedis jedis = super.getResource();
+            outstanding.incrementAndGet();
+            return jedis;
+        }
+
+        @Override
+        @Deprecated
+        public void returnResource(Jedis resource) {
+            if (resource != null) {
+                outstanding.decrementAndGet();
+            }
+            super.returnResource(resource);
+        }
+
+        @Override
+        @Deprecated
+        public void returnBrokenResource(Jedis resource) {
+            if (resource != null) {
+                outstanding.decrementAndGet();
+            }
+            super.returnBrokenResource(resource);
+        }
+    }
+}
@@ -1,20 +1,42 @@
 package info.dong4j.redis.sentinel.config;
 
+import info.dong4j.redis.sentinel.ReconcilingJedisSentinelPool;
+import info.dong4j.redis.sentinel.SentinelReplicaPool;
+import info.dong4j.redis.service.BinaryRedisService;
+import info.dong4j.redis.service.RedisService;
+import info.dong4j.redis.service.impl.AsyncRedisServiceImpl;
+import info.dong4j.redis.service.impl.CachingRedisService;
+import info.dong4j.redis.service.impl.CoalescingRedisService;
+import info.dong4j.redis.service.impl.HotKeyRedisService;
+import info.dong4j.redis.service.impl.InstrumentedRedisService;
+import info.dong4j.redis.service.impl.JedisBinaryRedisServiceImpl;
+import info.dong4j.redis.service.impl.JedisRedisServiceImpl;
+import info.dong4j.redis.service.impl.SingleFlightRedisService;
+import info.dong4j.redis.service.support.AdaptivePoolSizer;
+import info.dong4j.redis.service.support.HotKeyDetector;
+import info.dong4j.redis.service.support.JedisPoolPipelineExecutor;
+import info.dong4j.redis.service.support.RedisMetrics;
+import info.dong4j.redis.service.support.SingleNodeLocator;
+
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 import java.net.*;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Objects;
 import java.util.Set;
 
 import lombok.extern.slf4j.Slf4j;
 import redis.clients.jedis.JedisPoolConfig;
-import redis.clients.jedis.JedisSentinelPool;
 import redis.clients.util.JedisURIHelper;
+import redis.clients.util.Pool;
 
 /**
  * <p>Description: redis sentinel 配置类</p>
@@ -51,6 +73,60 @@ public class JedisSentinelConfiguration {
     private boolean testOnBorrow;
     @Value("${redis.pool.testOnReturn}")
     private boolean testOnReturn;
+    @Value("${redis.async.threads:64}")
+    private int     asyncThreads;
+    @Value("${redis.async.maxInFlightPerNode:32}")
+    private int     asyncMaxInFlightPerNode;
+    @Value("${redis.async.maxPendingPerNode:1024}")
+    private int     asyncMaxPendingPerNode;
+    @Value("${redis.coalesce.enabled:false}")
+    private boolean coalesceEnabled;
+    @Value("${redis.coalesce.windowMicros:200}")
+    private long    coalesceWindowMicros;
+    @Value("${redis.coalesce.maxBatch:64}")
+    private int     coalesceMaxBatch;
+    @Value("${redis.coalesce.threads:2}")
+    private int     coalesceThreads;
+    @Value("${redis.nearCache.enabled:false}")
+    private boolean nearCacheEnabled;
+    @Value("${redis.nearCache.maxSize:10000}")
+    private int     nearCacheMaxSize;
+    @Value("${redis.nearCache.ttlMillis:60000}")
+    private long    nearCacheTtlMillis;
+    @Value("${redis.nearCache.channel:redis-toolkit:near-cache:invalidate}")
+    private String  nearCacheChannel;
+    @Value("${redis.nearCache.keyPrefixes:}")
+    private String[] nearCacheKeyPrefixes;
+    @Value("${redis.singleFlight.enabled:false}")
+    private boolean singleFlightEnabled;
+    @Value("${redis.hotKey.enabled:false}")
+    private boolean hotKeyEnabled;
+    @Value("${redis.hotKey.windowSeconds:10}")
+    private int     hotKeyWindowSeconds;
+    @Value("${redis.hotKey.topK:20}")
+    private int     hotKeyTopK;
+    @Value("${redis.hotKey.threshold:10000}")
+    private long    hotKeyThreshold;
+    @Value("${redis.sentinel.readFromReplicas:false}")
+    private boolean readFromReplicas;
+    @Value("${redis.sentinel.reconcileIntervalMillis:10000}")
+    private long    reconcileIntervalMillis;
+    @Value("${redis.pool.adaptive.minTotal:8}")
+    private int     adaptiveMinTotal;
+    @Value("${redis.pool.adaptive.targetWaitMillis:2}")
+    private long    adaptiveTargetWaitMillis;
+    @Value("${redis.pool.adaptive.headroom:1.5}")
+    private double  adaptiveHeadroom;
+    @Value("${redis.pool.adaptive.intervalMillis:1000}")
+    private long    adaptiveIntervalMillis;
+    @Value("${redis.metrics.enabled:false}")
+    private boolean metricsEnabled;
+    @Value("${redis.metrics.name:redis-toolkit}")
+    private String  metricsName;
+
+    /** 解析 redis.sentinel.node 得到的 sentinel 地址与密码 */
+    private Set<String> sentinelSet;
+    private String      password;
 
     /**
      * Jedis pool config jedis pool config.
@@ -89,8 +165,42 @@ public class JedisSentinelConfiguration {
 
     @ConditionalOnProperty(value = "redis.model", havingValue = "sentinel")
     @Bean(name = "jedisSentinelPool", destroyMethod = "destroy")
-    public JedisSentinelPool jedisSentinelPool() {
-        // mymaster#redis://127.0.0.1:26379,redis://127.0.0.1:26380,redis://127.0.0.1:26381
+    public ReconcilingJedisSentinelPool jedisSentinelPool() {
+        parseSentinelNode();
+        return new ReconcilingJedisSentinelPool(masterName(),
+                                                sentinelSet,
+                                                jedisPoolConfig(),
+                                                this.connectionTimeout,
+                                                password,
+                                                reconcileIntervalMillis);
+    }
+
+    /**
+     * 从节点读连接池, redis.sentinel.readFromReplicas=true 时只读命令发送到从节点
+     *
+     * @return the sentinel replica pool
+     */
+    @ConditionalOnExpression("'${redis.model:}' == 'sentinel' && ${redis.sentinel.readFromReplicas:false}")
+    @Bean(name = "sentinelReplicaPool", destroyMethod = "destroy")
+    public SentinelReplicaPool sentinelReplicaPool() {
+        parseSentinelNode();
+        return new SentinelReplicaPool(masterName(),
+                                       sentinelSet,
+                                       jedisSentinelPool(),
+                                       jedisPoolConfig(),
+                                       this.connectionTimeout,
+                                       this.soTimeout,
+                                       password);
+    }
+
+    /**
+     * 解析 sentinel 配置
+     * mymaster#redis://127.0.0.1:26379,redis://127.0.0.1:26380,redis://127.0.0.1:26381
+     */
+    private synchronized void parseSentinelNode() {
+        if (sentinelSet != null) {
+            return;
+        }
         if (StringUtils.isBlank(sentinelNode)) {
             throw new RuntimeException("sentinel must to configure");
         }
@@ -100,16 +210,13 @@ public class JedisSentinelConfiguration {
         }
         String node = nodes[0];
 
-        String      masterName;
-        Set<String> sentinelSet = new HashSet<>();
-        String      password    = null;
-        boolean     flag        = true;
+        Set<String> addresses = new HashSet<>();
+        boolean     flag      = true;
         if (StringUtils.isNotBlank(node)) {
             String[] nodeInfo = node.split(BUSINESS_SEPARATION);
             if (!node.contains(BUSINESS_SEPARATION) || nodeInfo.length != 2) {
                 throw new RuntimeException("please use pattern like masterName#redis://[password@]ip:port[/database]");
             }
-            masterName = nodeInfo[0];
             // redis://127.0.0.1:26379,redis://127.0.0.1:26380,redis://127.0.0.1:26381
             String[] sentinels = nodeInfo[1].split(COMMA);
             for (String sentinel : sentinels) {
@@ -122,7 +229,7 @@ public class JedisSentinelConfiguration {
                 if (!Objects.equals(uri.getScheme(), AGREEMENT)) {
                     throw new RuntimeException("please use [redis://] agreement");
                 }
-                sentinelSet.add(uri.getHost() + COLON + uri.getPort());
+                addresses.add(uri.getHost() + COLON + uri.getPort());
                 String ps = JedisURIHelper.getPassword(uri);
                 if (flag && StringUtils.isNotBlank(ps)) {
                     password = ps;
@@ -132,11 +239,139 @@ public class JedisSentinelConfiguration {
         } else {
             throw new RuntimeException("sentinel must to configure");
         }
+        sentinelSet = addresses;
+    }
 
-        return new JedisSentinelPool(masterName,
-                                     sentinelSet,
-                                     jedisPoolConfig(),
-                                     this.connectionTimeout,
-                                     password);
+    /**
+     * 节点标识, 使用 master name, 主从切换后保持不变
+     *
+     * @return the string
+     */
+    private String masterName() {
+        return sentinelNode.split(BUSINESS_SEPARATION)[0];
+    }
+
+    /**
+     * 哨兵模式下的 RedisService.
+     * 近端缓存失效后从从节点回源可能读到复制延迟内的旧值并缓存整个过期时间, 因此不能与 redis.sentinel.readFromReplicas 同时开启
+     *
+     * @return the redis service
+     */
+    @ConditionalOnProperty(value = "redis.model", havingValue = "sentinel")
+    @Bean(name = "redisService")
+    public RedisService redisService() {
+        if (nearCacheEnabled && readFromReplicas) {
+            throw new RuntimeException("redis.nearCache.enabled cannot be used with redis.sentinel.readFromReplicas, "
+                                       + "near cache would be filled with stale values from lagging replicas");
+        }
+        RedisService redisService = new JedisRedisServiceImpl(jedisSentinelPool(),
+                                                              readFromReplicas ? sentinelReplicaPool() : jedisSentinelPool(),
+                                                              metricsEnabled ? redisMetrics() : null);
+        JedisPoolPipelineExecutor pipelineExecutor = new JedisPoolPipelineExecutor(jedisSentinelPool(), masterName());
+        if (metricsEnabled) {
+            redisService = new InstrumentedRedisService(redisService, redisMetrics(), pipelineExecutor);
+        }
+        if (coalesceEnabled) {
+            redisService = new CoalescingRedisService(redisService,
+                                                      pipelineExecutor,
+                                                      coalesceWindowMicros,
+                                                      coalesceMaxBatch,
+                                                      coalesceThreads,
+                                                      metricsEnabled ? redisMetrics() : null);
+        }
+        if (hotKeyEnabled) {
+            redisService = new HotKeyRedisService(redisService,
+                                                  new HotKeyDetector(pipelineExecutor,
+                                                                     hotKeyWindowSeconds,
+                                                                     hotKeyTopK,
+                                                                     hotKeyThreshold));
+        }
+        if (singleFlightEnabled) {
+            redisService = new SingleFlightRedisService(redisService);
+        }
+        if (nearCacheEnabled) {
+            redisService = new CachingRedisService(redisService,
+                                                   pipelineExecutor,
+                                                   nearCacheChannel,
+                                                   nearCacheMaxSize,
+                                                   nearCacheTtlMillis,
+                                                   nearCacheKeyPrefixes);
+        }
+        return redisService;
+    }
+
+    /**
+     * 哨兵模式下的 AsyncRedisService
+     *
+     * @return the async redis service
+     */
+    @ConditionalOnProperty(value = "redis.model", havingValue = "sentinel")
+    @Bean(name = "asyncRedisService", destroyMethod = "destroy")
+    public AsyncRedisServiceImpl asyncRedisService() {
+        return new AsyncRedisServiceImpl(redisService(),
+                                         new SingleNodeLocator(masterName()),
+                                         asyncThreads,
+                                         asyncMaxInFlightPerNode,
+                                         asyncMaxPendingPerNode);
+    }
+
+    /**
+     * 哨兵模式下的 BinaryRedisService, 与 redisService 使用同一个连接池.
+     * 不经过 RedisService 的装饰器, 写入的 key 不会使 near cache 失效, 也会绕过合并写改变同一个 key 的写入顺序,
+     * 因此开启 redis.nearCache.enabled 或 redis.coalesce.enabled 时需要设置 redis.binary.enabled=false, 否则启动失败
+     *
+     * @return the binary redis service
+     */
+    @ConditionalOnExpression("'${redis.model:}' == 'sentinel' && ${redis.binary.enabled:true}")
+    @Bean(name = "binaryRedisService")
+    public BinaryRedisService binaryRedisService() {
+        if (nearCacheEnabled || coalesceEnabled) {
+            throw new RuntimeException("binaryRedisService bypasses near cache invalidation and write coalescing, "
+                                       + "please set redis.binary.enabled=false when redis.nearCache.enabled or redis.coalesce.enabled is true");
+        }
+        return new JedisBinaryRedisServiceImpl(jedisSentinelPool(),
+                                               readFromReplicas ? sentinelReplicaPool() : jedisSentinelPool(),
+                                               metricsEnabled ? redisMetrics() : null);
+    }
+
+    /**
+     * 根据借出等待时间动态调整连接池大小, redis.pool.maxActive 为上限. 从节点读连接池随从节点变化一起调整
+     *
+     * @return the adaptive pool sizer
+     */
+    @ConditionalOnExpression("'${redis.model:}' == 'sentinel' && ${redis.pool.adaptive.enabled:false}")
+    @Bean(name = "adaptivePoolSizer", destroyMethod = "shutdown")
+    public AdaptivePoolSizer adaptivePoolSizer() {
+        final Pool<?>             masterPool  = jedisSentinelPool();
+        final SentinelReplicaPool replicaPool = readFromReplicas ? sentinelReplicaPool() : null;
+        return new AdaptivePoolSizer(new AdaptivePoolSizer.PoolProvider() {
+            @Override
+            public Collection<? extends Pool<?>> getPools() {
+                List<Pool<?>> pools = new ArrayList<>();
+                pools.add(masterPool);
+                if (replicaPool != null) {
+                    pools.addAll(replicaPool.getPools().values());
+                }
+                return pools;
+            }
+        }, adaptiveMinTotal, maxTotal, adaptiveTargetWaitMillis, adaptiveHeadroom, adaptiveIntervalMillis);
+    }
+
+    /**
+     * 连接池与命令耗时统计, 注册到 JMX
+     *
+     * @return the redis metrics
+     */
+    @ConditionalOnExpression("'${redis.model:}' == 'sentinel' && ${redis.metrics.enabled:false}")
+    @Bean(name = "redisMetrics", destroyMethod = "unregister")
+    public RedisMetrics redisMetrics() {
+        RedisMetrics metrics = new RedisMetrics(metricsName);
+        metrics.registerPool(masterName(), jedisSentinelPool());
+        if (readFromReplicas) {
+            metrics.registerPools(sentinelReplicaPool());
+        }
+        jedisSentinelPool().addFailoverListener(metrics);
+        metrics.register();
+        return metrics;
     }
 }
@@ -0,0 +1,97 @@
+package info.dong4j.redis.sentinel;
+
+import info.dong4j.redis.service.support.FailoverListener;
+import info.dong4j.redis.standin.StandInSentinel;
+import info.dong4j.redis.standin.StandInServer;
+
+import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import redis.clients.jedis.Jedis;
+
+/**
+ * <p>Description: 哨兵连接池主从切换测试, 使用进程内 RESP 服务作为 master 和 sentinel</p>
+ *
+ * @author dong4j
+ * @email dong4j@gmail.com
+ * @date 2026-10-18  23:59
+ */
+public class ReconcilingJedisSentinelPoolTest {
+    private final List<StandInServer>   servers   = new ArrayList<>();
+    private final List<StandInSentinel> sentinels = new ArrayList<>();
+    private final Set<String>           addresses = new HashSet<>();
+    private       StandInServer         master;
+    private       StandInServer         replica;
+
+    @Before
+    public void setUp() throws Exception {
+        master = start(new StandInServer());
+        replica = start(new StandInServer());
+        replica.replicaOf(master);
+        for (int i = 0; i < 3; i++) {
+            StandInSentinel sentinel = start(new StandInSentinel());
+            sentinel.monitor("mymaster", master, replica);
+            sentinels.add(sentinel);
+            addresses.add(sentinel.getHostAndPort().toString());
+        }
+    }
+
+    @After
+    public void tearDown() {
+        for (StandInServer server : servers) {
+            server.close();
+        }
+    }
+
+    private <T extends StandInServer> T start(T server) throws Exception {
+        server.start();
+        servers.add(server);
+        return server;
+    }
+
+    @Test
+    public void testFailoverNotifiedWithoutReconcile() throws Exception {
+        ReconcilingJedisSentinelPool pool = new ReconcilingJedisSentinelPool("mymaster", addresses,
+                                                                             new GenericObjectPoolConfig(), 2000, null, 0);
+        try {
+            final List<String> failovers = new CopyOnWriteArrayList<>();
+            pool.addFailoverListener(new FailoverListener() {
+                @Override
+                public void onFailover(String masterName, String previous, String current) {
+                    failovers.add(masterName + " " + previous + " " + current);
+                }
+            });
+            // 自带的 MasterListener 已停止, 只有一条切换路径
+            for (Thread thread : Thread.getAllStackTraces().keySet()) {
+                Assert.assertFalse(thread.getName(), thread.isAlive() && thread.getName().startsWith("MasterListener-mymaster"));
+            }
+            // 等待订阅成功后再切换
+            Thread.sleep(300);
+
+            for (StandInSentinel sentinel : sentinels) {
+                sentinel.failover("mymaster", replica);
+            }
+            long deadline = System.currentTimeMillis() + 5000;
+            while (failovers.isEmpty() && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            Assert.assertEquals(replica.getHostAndPort(), pool.getCurrentHostMaster());
+            Assert.assertEquals("mymaster " + master.getHostAndPort() + " " + replica.getHostAndPort(), failovers.get(0));
+            Assert.assertEquals(1, failovers.size());
+            try (Jedis jedis = pool.getResource()) {
+                Assert.assertEquals("OK", jedis.set("key", "value"));
+            }
+        } finally {
+            pool.destroy();
+        }
+    }
+}
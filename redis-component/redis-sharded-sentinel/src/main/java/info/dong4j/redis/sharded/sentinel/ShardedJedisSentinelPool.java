@@ -1,37 +1,65 @@
 package info.dong4j.redis.sharded.sentinel;
 
+import info.dong4j.redis.service.support.FailoverListener;
+import info.dong4j.redis.service.support.SentinelEventLoop;
+import info.dong4j.redis.service.support.ShardMigration;
+import info.dong4j.redis.service.support.ShardMigrator;
+import info.dong4j.redis.service.support.ShardRouter;
+
 import org.apache.commons.pool2.PooledObject;
 import org.apache.commons.pool2.PooledObjectFactory;
 import org.apache.commons.pool2.impl.DefaultPooledObject;
 import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Pattern;
 
 import lombok.extern.slf4j.Slf4j;
+import redis.clients.jedis.Client;
 import redis.clients.jedis.HostAndPort;
 import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisPool;
 import redis.clients.jedis.JedisPubSub;
 import redis.clients.jedis.JedisShardInfo;
 import redis.clients.jedis.Protocol;
 import redis.clients.jedis.ShardedJedis;
 import redis.clients.jedis.exceptions.JedisConnectionException;
+import redis.clients.jedis.exceptions.JedisDataException;
 import redis.clients.jedis.exceptions.JedisException;
 import redis.clients.util.Hashing;
 import redis.clients.util.Pool;
+import redis.clients.util.Sharded;
 
 /**
  * <p>Description: 具有分片功能的哨兵模式实现</p>
+ * 每个 master 一个独立的 JedisPool, 池化的 ShardedJedis 只负责一致性 hash 路由, 本身不持有连接:
+ * 执行命令时先定位分片, 再从该分片的连接池借用连接, 归还 ShardedJedis 时一并归还. 单 key 命令只占用一个连接,
+ * testOnBorrow 也只检查实际使用的分片.
+ * 除订阅 +switch-master 外, 后台按 reconcileIntervalMillis 周期向 sentinel 查询 master 地址, 补偿丢失的切换消息.
  *
  * @author dong4j
  * @email dong4j @gmail.com
@@ -39,20 +67,36 @@ import redis.clients.util.Pool;
  */
 @Slf4j
 public class ShardedJedisSentinelPool extends Pool<ShardedJedis> {
+    /** 默认对账周期 */
+    public static final long DEFAULT_RECONCILE_INTERVAL_MILLIS = 10000L;
+
     /**
      * 配置信息
      */
     private GenericObjectPoolConfig poolConfig;
 
     /**
-     * sentinel 监听器，订阅sentinel集群上master变更的消息
+     * sentinel 监听器，单个事件循环线程订阅所有sentinel上master变更的消息
+     */
+    private SentinelEventLoop sentinelListener;
+
+    /**
+     * sentinel 查询与定时对账共用的 daemon 线程池, 随连接池创建和销毁.
+     * 对账周期查询 sentinel 并只应用与本地路由表不一致的 master, 同一时刻最多一个对账在执行
      */
-    private Set<MasterListener> masterListeners;
+    private ScheduledExecutorService sentinelExecutor;
+    private long                     reconcileIntervalMillis;
+    private final AtomicBoolean      reconcileRequested = new AtomicBoolean();
+    private final AtomicBoolean      reconciling        = new AtomicBoolean();
 
     /**
      * 本地master路由表
      */
     private volatile Map<String, HostAndPort> localMasterRoute = new ConcurrentHashMap<String, HostAndPort>();
+    /**
+     * 当前路由快照, 分片信息、分片连接池与路由表一起整体替换
+     */
+    private volatile ShardRoute               route;
 
     /**
      * 从sentinel获取master地址出错的重试次数
@@ -64,6 +108,25 @@ public class ShardedJedisSentinelPool extends Pool<ShardedJedis> {
     private int    database;
     private String password;
 
+    private Set<String>  sentinels;
+    private List<String> masters;
+
+    /**
+     * 是否按 {...} 中的 key tag 计算分片
+     */
+    private boolean keyTag;
+
+    /**
+     * 增加分片后的迁移, 未迁移时为 null
+     */
+    private volatile ShardMigration migration;
+    private          ShardMigrator  migrator;
+
+    /**
+     * 主从切换监听
+     */
+    private final List<FailoverListener> failoverListeners = new CopyOnWriteArrayList<>();
+
     /**
      * Instantiates a new Sharded jedis sentinel pool.
      *
@@ -129,16 +192,159 @@ public class ShardedJedisSentinelPool extends Pool<ShardedJedis> {
     public ShardedJedisSentinelPool(List<String> masters, Set<String> sentinels,
                                     final GenericObjectPoolConfig poolConfig, int soTimeout, int retrySentinel,
                                     int connectionTimeout, final String password, final int database) {
+        this(masters, sentinels, poolConfig, soTimeout, retrySentinel, connectionTimeout, password, database,
+             DEFAULT_RECONCILE_INTERVAL_MILLIS);
+    }
+
+    /**
+     * Instantiates a new Sharded jedis sentinel pool.
+     *
+     * @param masters                 the masters
+     * @param sentinels               the sentinels
+     * @param poolConfig              the pool config
+     * @param soTimeout               the so timeout
+     * @param retrySentinel           the retry sentinel
+     * @param connectionTimeout       the connection timeout
+     * @param password                the password
+     * @param database                the database
+     * @param reconcileIntervalMillis 对账周期, 小于等于 0 时只依赖 +switch-master 消息
+     */
+    public ShardedJedisSentinelPool(List<String> masters, Set<String> sentinels,
+                                    final GenericObjectPoolConfig poolConfig, int soTimeout, int retrySentinel,
+                                    int connectionTimeout, final String password, final int database,
+                                    long reconcileIntervalMillis) {
+        this(masters, sentinels, poolConfig, soTimeout, retrySentinel, connectionTimeout, password, database,
+             reconcileIntervalMillis, false);
+    }
+
+    /**
+     * Instantiates a new Sharded jedis sentinel pool.
+     *
+     * @param masters                 the masters
+     * @param sentinels               the sentinels
+     * @param poolConfig              the pool config
+     * @param soTimeout               the so timeout
+     * @param retrySentinel           the retry sentinel
+     * @param connectionTimeout       the connection timeout
+     * @param password                the password
+     * @param database                the database
+     * @param reconcileIntervalMillis 对账周期, 小于等于 0 时只依赖 +switch-master 消息
+     * @param keyTag                  是否按 {...} 中的 key tag 计算分片, 开启后包含 tag 的 key 分片位置会变化
+     */
+    public ShardedJedisSentinelPool(List<String> masters, Set<String> sentinels,
+                                    final GenericObjectPoolConfig poolConfig, int soTimeout, int retrySentinel,
+                                    int connectionTimeout, final String password, final int database,
+                                    long reconcileIntervalMillis, boolean keyTag) {
         this.poolConfig = poolConfig;
         this.soTimeout = soTimeout;
         this.retrySentinel = retrySentinel;
         this.connectionTimeout = connectionTimeout;
         this.password = password;
         this.database = database;
-        this.masterListeners = new HashSet<MasterListener>(sentinels.size());
+        this.sentinels = sentinels;
+        this.masters = masters;
+        this.keyTag = keyTag;
+        this.reconcileIntervalMillis = reconcileIntervalMillis;
+        // 对账线程占用一个线程, 其余线程并发查询所有 sentinel
+        this.sentinelExecutor = new ScheduledThreadPoolExecutor(sentinels.size() + 1, new ThreadFactory() {
+            private final AtomicInteger index = new AtomicInteger();
+
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread thread = new Thread(r, "sentinel-worker-" + index.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+
+        try {
+            Map<String, HostAndPort> newMasterRoute = initSentinels(sentinels, masters);
+            initPool(newMasterRoute);
+        } catch (RuntimeException e) {
+            sentinelExecutor.shutdownNow();
+            throw e;
+        }
+        initReconciler();
+    }
+
+    /**
+     * 启动定时对账
+     */
+    private void initReconciler() {
+        if (reconcileIntervalMillis <= 0) {
+            return;
+        }
+        sentinelExecutor.scheduleWithFixedDelay(new Runnable() {
+            @Override
+            public void run() {
+                // 异常会终止后续调度
+                try {
+                    reconcile();
+                } catch (RuntimeException e) {
+                    log.warn("Reconcile master route failed. " + e.getMessage());
+                }
+            }
+        }, reconcileIntervalMillis, reconcileIntervalMillis, TimeUnit.MILLISECONDS);
+    }
 
-        Map<String, HostAndPort> newMasterRoute = initSentinels(sentinels, masters);
-        initPool(newMasterRoute);
+    /**
+     * 对账. 已有对账在执行时只做标记, 由正在执行的线程再执行一次,
+     * 避免多个对账同时占用线程池而 sentinel 查询没有线程可用
+     */
+    private void reconcile() {
+        reconcileRequested.set(true);
+        while (reconcileRequested.get() && reconciling.compareAndSet(false, true)) {
+            try {
+                reconcileRequested.set(false);
+                reconcileOnce();
+            } finally {
+                reconciling.set(false);
+            }
+        }
+    }
+
+    /**
+     * 向 sentinel 查询所有 master 的地址, 与本地路由表不一致的分片通过 switchMaster 切换.
+     * 只采用多数 sentinel 一致的结果, 避免个别 sentinel 的旧配置把已切换的分片切回去
+     */
+    private void reconcileOnce() {
+        Map<String, HostAndPort> masterRoute;
+        try {
+            masterRoute = discoverMasters(sentinels, masters, true);
+        } catch (RuntimeException e) {
+            log.warn("Reconcile master route failed. " + e.getMessage());
+            return;
+        }
+        if (masterRoute == null) {
+            log.warn("Reconcile master route skipped, sentinels unavailable or do not agree");
+            return;
+        }
+        for (Map.Entry<String, HostAndPort> entry : masterRoute.entrySet()) {
+            if (!entry.getValue().equals(localMasterRoute.get(entry.getKey()))) {
+                log.warn("Master " + entry.getKey() + " moved to " + entry.getValue()
+                         + " without +switch-master received, reconcile");
+                switchMaster(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * 提交一次立即对账, 用于 sentinel 重新订阅后补偿断线期间的消息
+     */
+    private void requestReconcile() {
+        if (reconcileIntervalMillis <= 0 || sentinelExecutor.isShutdown()) {
+            return;
+        }
+        try {
+            sentinelExecutor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    reconcile();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // 连接池已关闭
+        }
     }
 
     /**
@@ -149,9 +355,63 @@ public class ShardedJedisSentinelPool extends Pool<ShardedJedis> {
     private void initPool(Map<String, HostAndPort> newMasterRoute) {
         if (!equals(localMasterRoute, newMasterRoute)) {
             List<JedisShardInfo> shardMasters = makeShardInfoList(newMasterRoute);
-            initPool(poolConfig, new ShardedJedisFactory(shardMasters, Hashing.MURMUR_HASH, null));
+            List<JedisPool>      pools        = new ArrayList<>(shardMasters.size());
+            for (Map.Entry<String, HostAndPort> entry : newMasterRoute.entrySet()) {
+                pools.add(makeShardPool(entry.getValue()));
+            }
+            route = new ShardRoute(shardMasters, pools, new ShardRouter(shardMasters, keyTag));
             localMasterRoute.putAll(newMasterRoute);
+            initPool(poolConfig, new ShardedJedisFactory(Hashing.MURMUR_HASH,
+                                                         keyTag ? Sharded.DEFAULT_KEY_TAG_PATTERN : null));
+        }
+    }
+
+    /**
+     * 单个 master 发生切换, 只替换该分片的连接池, 其他分片的连接保持不变.
+     * 旧连接池关闭后, 正在使用的旧连接归还时直接销毁
+     *
+     * @param masterName the master name
+     * @param newMaster  the new master
+     */
+    private synchronized void switchMaster(String masterName, HostAndPort newMaster) {
+        if (newMaster.equals(localMasterRoute.get(masterName))) {
+            return;
+        }
+        ShardRoute           current      = route;
+        List<JedisShardInfo> updatedInfos = new ArrayList<>(current.shardInfos);
+        List<JedisPool>      updatedPools = new ArrayList<>(current.shardPools);
+        JedisPool            oldPool      = null;
+        for (int i = 0; i < updatedInfos.size(); i++) {
+            if (masterName.equals(updatedInfos.get(i).getName())) {
+                updatedInfos.set(i, makeShardInfo(masterName, newMaster));
+                oldPool = updatedPools.set(i, makeShardPool(newMaster));
+            }
+        }
+        // 分片位置只与 master name 有关, 路由表保持不变
+        route = new ShardRoute(updatedInfos, updatedPools, current.router);
+        HostAndPort oldMaster = localMasterRoute.put(masterName, newMaster);
+        if (oldPool != null) {
+            oldPool.destroy();
         }
+        log.info("Switch shard " + masterName + " to master at " + newMaster);
+        for (FailoverListener listener : failoverListeners) {
+            try {
+                listener.onFailover(masterName, oldMaster == null ? null : oldMaster.toString(), newMaster.toString());
+            } catch (RuntimeException e) {
+                log.warn("Notify failover listener failed. " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 创建单个分片的连接池
+     *
+     * @param master the master
+     * @return the jedis pool
+     */
+    private JedisPool makeShardPool(HostAndPort master) {
+        return new JedisPool(poolConfig, master.getHost(), master.getPort(), connectionTimeout, soTimeout, password,
+                             database, null, false, null, null, null);
     }
 
     /**
@@ -205,10 +465,19 @@ public class ShardedJedisSentinelPool extends Pool<ShardedJedis> {
      */
     @Override
     public void destroy() {
-        for (MasterListener m : masterListeners) {
-            m.shutdown();
+        synchronized (this) {
+            if (migrator != null) {
+                migrator.shutdown();
+            }
+        }
+        sentinelExecutor.shutdownNow();
+        if (sentinelListener != null) {
+            sentinelListener.shutdown();
         }
         super.destroy();
+        for (JedisPool shardPool : route.shardPools) {
+            shardPool.destroy();
+        }
     }
 
     /**
@@ -243,6 +512,68 @@ public class ShardedJedisSentinelPool extends Pool<ShardedJedis> {
         return toHostAndPort(localMasterRoute);
     }
 
+    /**
+     * 获取当前连接池使用的分片信息, 分片名称为 master name
+     *
+     * @return the shard infos
+     */
+    public List<JedisShardInfo> getShardInfos() {
+        return route.shardInfos;
+    }
+
+    /**
+     * 每个 master 当前的连接池, 主从切换后会被替换
+     *
+     * @return master name -> 连接池
+     */
+    public Map<String, JedisPool> getShardPools() {
+        ShardRoute             current = route;
+        Map<String, JedisPool> pools   = new LinkedHashMap<>();
+        for (int i = 0; i < current.shardInfos.size(); i++) {
+            pools.put(current.shardInfos.get(i).getName(), current.shardPools.get(i));
+        }
+        return pools;
+    }
+
+    /**
+     * 添加主从切换监听
+     *
+     * @param listener the listener
+     */
+    public void addFailoverListener(FailoverListener listener) {
+        failoverListeners.add(listener);
+    }
+
+    /**
+     * 增加 master 后在线迁移: 命令按新的 master 列表路由, 访问分片位置变化的 key 时先从旧分片搬迁,
+     * 同时后台扫描旧分片迁移剩余的 key
+     *
+     * @param previousMasters  扩容前的 master name, 顺序与扩容前的配置一致
+     * @param scanCount        每次 SCAN 的 COUNT
+     * @param maxKeysPerSecond 后台迁移每秒最多扫描的 key 数量
+     */
+    public synchronized void reshard(List<String> previousMasters, int scanCount, int maxKeysPerSecond) {
+        List<JedisShardInfo> shardInfos     = route.shardInfos;
+        List<JedisShardInfo> previousShards = new ArrayList<>(previousMasters.size());
+        for (String masterName : previousMasters) {
+            JedisShardInfo previous = null;
+            for (JedisShardInfo shardInfo : shardInfos) {
+                if (masterName.equals(shardInfo.getName())) {
+                    previous = shardInfo;
+                }
+            }
+            if (previous == null) {
+                throw new IllegalArgumentException("previous master " + masterName
+                                                   + " is not in current masters, only adding masters is supported");
+            }
+            previousShards.add(previous);
+        }
+        ShardMigration shardMigration = new ShardMigration(previousShards, shardInfos, keyTag);
+        migration = shardMigration;
+        migrator = new ShardMigrator(this, shardMigration, scanCount, maxKeysPerSecond);
+        migrator.start();
+    }
+
     /**
      * To host and port list.
      *
@@ -276,12 +607,7 @@ public class ShardedJedisSentinelPool extends Pool<ShardedJedis> {
         Set<Entry<String, HostAndPort>> entrySet     = newMasterRoute.entrySet();
         StringBuilder                   info         = new StringBuilder();
         for (Map.Entry<String, HostAndPort> entry : entrySet) {
-            // 这个里带上master-name(entry.getKey())作为JedisShardInfo的name
-            // 以便同一个master一致性hash时落在相同的点上,详情可参考redis.clients.util.Sharded.getShard(String key)
-            JedisShardInfo jedisShardInfo = new JedisShardInfo(entry.getValue().getHost(), entry
-                .getValue().getPort(), soTimeout, entry.getKey());
-            jedisShardInfo.setPassword(password);
-            shardMasters.add(jedisShardInfo);
+            shardMasters.add(makeShardInfo(entry.getKey(), entry.getValue()));
 
             info.append(entry.getKey());
             info.append(":");
@@ -292,8 +618,25 @@ public class ShardedJedisSentinelPool extends Pool<ShardedJedis> {
         return shardMasters;
     }
 
+    /**
+     * 构造单个分片的JedisShardInfo
+     * 这个里带上master-name作为JedisShardInfo的name
+     * 以便同一个master一致性hash时落在相同的点上,详情可参考redis.clients.util.Sharded.getShard(String key)
+     *
+     * @param masterName the master name
+     * @param master     the master
+     * @return jedis shard info
+     */
+    private JedisShardInfo makeShardInfo(String masterName, HostAndPort master) {
+        JedisShardInfo jedisShardInfo = new JedisShardInfo(master.getHost(), master.getPort(), soTimeout, masterName);
+        jedisShardInfo.setPassword(password);
+        return jedisShardInfo;
+    }
+
     /**
      * 初始化Sentinels，获取master路由表信息
+     * 所有 sentinel 并发查询, 所有 master 都得到多数 sentinel 一致的地址后立即返回,
+     * 正常情况下耗时为一次连接加一次 sentinel 往返; 所有 sentinel 都不可用时间隔 1000ms 重试 retrySentinel 次
      *
      * @param sentinels the sentinels
      * @param masters   the masters
@@ -303,229 +646,199 @@ public class ShardedJedisSentinelPool extends Pool<ShardedJedis> {
 
         log.info("Trying to find all master from available Sentinels...");
 
-        Map<String, HostAndPort> masterRoute = new LinkedHashMap<String, HostAndPort>();
-
-        for (String masterName : masters) {
-            HostAndPort master = masterRoute.get(masterName);
-            // 当前master已初始化
-            if (null != master) {
-                continue;
-            }
-
-            boolean fetched            = false;
-            boolean sentinelAvailable  = false;
-            int     sentinelRetryCount = 0;
-
-            while (!fetched && sentinelRetryCount < retrySentinel) {
-                for (String sentinel : sentinels) {
-                    final HostAndPort hap = toHostAndPort(Arrays.asList(sentinel.split(":")));
-
-                    log.info("Connecting to Sentinel " + hap);
-
-                    Jedis jedis = null;
-                    try {
-                        jedis = new Jedis(hap.getHost(), hap.getPort());
-                        // 从sentinel获取masterName当前master-host地址
-                        List<String> masterAddr = jedis.sentinelGetMasterAddrByName(masterName);
-                        // connected to sentinel...
-                        sentinelAvailable = true;
-
-                        if (masterAddr == null || masterAddr.size() != 2) {
-                            log.warn("Can not get master addr, master name: " + masterName
-                                     + ". Sentinel: " + hap + ".");
-                            continue;
-                        }
-
-                        // 将masterName-master存入路由表
-                        master = toHostAndPort(masterAddr);
-                        log.info("Found Redis master at " + master);
-
-                        masterRoute.put(masterName, master);
-                        fetched = true;
-                        jedis.disconnect();
-                        break;
-                    } catch (JedisConnectionException e) {
-                        log.warn("Cannot connect to sentinel running @ " + hap + ". Trying next one.");
-                    } finally {
-                        try {
-                            if (jedis != null) {
-                                jedis.disconnect();
-                            }
-                        } catch (Exception e1) {
-                            e1.printStackTrace();
-                        }
-                    }
+        Map<String, HostAndPort> masterRoute        = null;
+        int                      sentinelRetryCount = 0;
+        while (masterRoute == null) {
+            masterRoute = discoverMasters(sentinels, masters, false);
+            if (masterRoute == null) {
+                sentinelRetryCount++;
+                if (sentinelRetryCount >= retrySentinel) {
+                    log.info("All sentinels down and try " + sentinelRetryCount + " times, Abort.");
+                    throw new JedisConnectionException("Cannot connect all sentinels, Abort.");
                 }
-
-                if (null == master) {
-                    try {
-                        if (sentinelAvailable) {
-                            // can connect to sentinel, but master name seems to not
-                            // monitored
-                            throw new JedisException("Can connect to sentinel, but " + masterName
-                                                     + " seems to be not monitored...");
-                        } else {
-                            log.info("All sentinels down, cannot determine where is "
-                                     + masterName
-                                     + " master is running... sleeping 1000ms, Will try again.");
-                            Thread.sleep(1000);
-                        }
-                    } catch (InterruptedException e) {
-                        e.printStackTrace();
-                    }
-                    fetched = false;
-                    sentinelRetryCount++;
+                log.info("All sentinels down, cannot determine where is master is running... "
+                         + "sleeping 1000ms, Will try again.");
+                try {
+                    Thread.sleep(1000);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new JedisConnectionException("Interrupted while waiting for sentinels", e);
                 }
             }
-
-            // Try sentinelRetry times.
-            if (!fetched && sentinelRetryCount >= retrySentinel) {
-                log.info("All sentinels down and try " + sentinelRetryCount + " times, Abort.");
-                throw new JedisConnectionException("Cannot connect all sentinels, Abort.");
-            }
         }
 
         log.info("Redis master running at " + masterRoute.size()
-                 + ", starting Sentinel listeners...");
+                 + ", starting Sentinel listener...");
+        List<HostAndPort>                             haps       = new ArrayList<>();
+        final Map<HostAndPort, MasterChengeProcessor> processors = new HashMap<>();
         for (String sentinel : sentinels) {
-            final HostAndPort hap = toHostAndPort(Arrays.asList(sentinel.split(":")));
-            MasterListener masterListener = new MasterListener(masters, hap.getHost(),
-                                                               hap.getPort());
-            // whether MasterListener threads are alive or not, process can be stopped
-            masterListener.setDaemon(true);
-            masterListeners.add(masterListener);
-            masterListener.start();
+            HostAndPort hap = toHostAndPort(Arrays.asList(sentinel.split(":")));
+            haps.add(hap);
+            processors.put(hap, new MasterChengeProcessor(masters, hap.getHost(), hap.getPort()));
+        }
+        sentinelListener = new SentinelEventLoop(haps, connectionTimeout, new SentinelEventLoop.Listener() {
+            @Override
+            public void onSubscribe(HostAndPort sentinel) {
+                log.info("Subscribed to +switch-master on Sentinel " + sentinel);
+                // 重新订阅前可能错过了切换消息
+                requestReconcile();
+            }
+
+            @Override
+            public void onMessage(HostAndPort sentinel, String channel, String message) {
+                processors.get(sentinel).onMessage(channel, message);
+            }
+        }, "+switch-master");
+        try {
+            sentinelListener.start();
+        } catch (IOException e) {
+            throw new JedisConnectionException("Cannot start sentinel listener", e);
         }
 
         return masterRoute;
     }
 
     /**
-     * <p>Description: master监听器，从sentinel订阅master变更的消息 </p>
+     * 并发向所有 sentinel 查询所有 master 的地址, 每个 sentinel 一个连接, 所有查询以 pipeline 方式一次发送.
+     * 每个 master 得到多数(sentinel 数量 / 2 + 1)一致的地址后即不再等待其他 sentinel;
+     * 所有可用 sentinel 都已返回仍未达到多数时, 非 strict 模式使用得票最多的地址
      *
-     * @author dong4j
-     * @email dong4j@gmail.com
-     * @date 2018-06-13  20:09
+     * @param sentinels the sentinels
+     * @param masters   the masters
+     * @param strict    是否要求所有 master 都达到多数
+     * @return master 路由表, 所有 sentinel 都不可用或 strict 模式下未达到多数时返回 null
      */
-    protected class MasterListener extends Thread {
-
-        /**
-         * The Masters.
-         */
-        protected List<String> masters;
-        /**
-         * The Host.
-         */
-        protected String       host;
-        /**
-         * The Port.
-         */
-        protected int          port;
-        /**
-         * The Subscribe retry wait time millis.
-         */
-        protected long subscribeRetryWaitTimeMillis = 5000;
-        /**
-         * The J.
-         */
-        protected volatile Jedis j;
-        /**
-         * The Running.
-         */
-        protected AtomicBoolean running = new AtomicBoolean(false);
-
-        /**
-         * Instantiates a new Master listener.
-         */
-        protected MasterListener() {
-        }
-
-        /**
-         * Instantiates a new Master listener.
-         *
-         * @param masters the masters
-         * @param host    the host
-         * @param port    the port
-         */
-        public MasterListener(List<String> masters, String host, int port) {
-            super(String.format("MasterListener-%s-[%s:%d]", masters, host, port));
-            this.masters = masters;
-            this.host = host;
-            this.port = port;
-        }
-
-        /**
-         * Instantiates a new Master listener.
-         *
-         * @param masters                      the masters
-         * @param host                         the host
-         * @param port                         the port
-         * @param subscribeRetryWaitTimeMillis the subscribe retry wait time millis
-         */
-        public MasterListener(List<String> masters, String host, int port,
-                              long subscribeRetryWaitTimeMillis) {
-            this(masters, host, port);
-            this.subscribeRetryWaitTimeMillis = subscribeRetryWaitTimeMillis;
-        }
+    private Map<String, HostAndPort> discoverMasters(Set<String> sentinels, final List<String> masters,
+                                                     boolean strict) {
+        int                                    quorum = sentinels.size() / 2 + 1;
+        Map<String, Map<HostAndPort, Integer>> votes  = new HashMap<>();
+        CompletionService<Map<String, HostAndPort>> completion = new ExecutorCompletionService<>(sentinelExecutor);
+        List<Future<Map<String, HostAndPort>>>      queries    = new ArrayList<>(sentinels.size());
+        try {
+            for (String sentinel : sentinels) {
+                final HostAndPort hap = toHostAndPort(Arrays.asList(sentinel.split(":")));
+                queries.add(completion.submit(new Callable<Map<String, HostAndPort>>() {
+                    @Override
+                    public Map<String, HostAndPort> call() {
+                        return queryMasters(hap, masters);
+                    }
+                }));
+            }
 
-        @Override
-        public void run() {
-            running.set(true);
-            while (running.get()) {
-                // Sentinel可能发生宕机，因此try-catch这一步是必须的.
+            boolean sentinelAvailable = false;
+            for (int i = 0; i < sentinels.size(); i++) {
+                Map<String, HostAndPort> answer;
                 try {
-                    j = new Jedis(host, port);
-                    // 订阅master变更消息
-                    j.subscribe(new MasterChengeProcessor(this.masters, this.host, this.port), "+switch-master");
-                } catch (JedisConnectionException e) {
-                    if (running.get()) {
-                        log.info("Lost connection to Sentinel at " + host + ":" + port
-                                 + ". Sleeping 5000ms and retrying.");
-                        try {
-                            Thread.sleep(subscribeRetryWaitTimeMillis);
-                        } catch (InterruptedException e1) {
-                            e1.printStackTrace();
-                        }
-                    } else {
-                        log.info("Unsubscribing from Sentinel at " + host + ":" + port);
+                    answer = completion.take().get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new JedisConnectionException("Interrupted while querying sentinels", e);
+                } catch (ExecutionException e) {
+                    // 单个 sentinel 不可用, 继续等待其他 sentinel
+                    continue;
+                }
+                sentinelAvailable = true;
+                for (Map.Entry<String, HostAndPort> entry : answer.entrySet()) {
+                    Map<HostAndPort, Integer> masterVotes = votes.get(entry.getKey());
+                    if (masterVotes == null) {
+                        masterVotes = new HashMap<>();
+                        votes.put(entry.getKey(), masterVotes);
                     }
+                    Integer count = masterVotes.get(entry.getValue());
+                    masterVotes.put(entry.getValue(), count == null ? 1 : count + 1);
                 }
+                if (elect(masters, votes, quorum) != null) {
+                    break;
+                }
+            }
+            if (!sentinelAvailable) {
+                return null;
+            }
+        } finally {
+            // 已达到多数时不再等待其余 sentinel
+            for (Future<Map<String, HostAndPort>> query : queries) {
+                query.cancel(true);
             }
         }
 
-        /**
-         * Shutdown.
-         */
-        public void shutdown() {
-            try {
-                log.info("Shutting down listener on " + host + ":" + port);
-                running.set(false);
-                // This isn't good, the Jedis object is not thread safe
-                if (j != null) {
-                    j.disconnect();
-                }
-            } catch (Exception e) {
-                log.error("Caught exception while shutting down", e);
+        Map<String, HostAndPort> masterRoute = elect(masters, votes, quorum);
+        if (masterRoute == null && !strict) {
+            masterRoute = elect(masters, votes, 1);
+            if (masterRoute == null) {
+                // can connect to sentinel, but master name seems to not monitored
+                throw new JedisException("Can connect to sentinel, but " + masters + " seems to be not monitored...");
             }
+            log.warn("Sentinels do not agree on master addresses, use the most voted " + masterRoute);
         }
+        return masterRoute;
+    }
 
-
-        @Override
-        public boolean equals(Object o) {
-            if (this == o) {
-                return true;
+    /**
+     * 每个 master 选出票数最多且不少于 quorum 的地址
+     *
+     * @param masters the masters
+     * @param votes   master -> 地址 -> 票数
+     * @param quorum  the quorum
+     * @return 按 masters 顺序排列的路由表, 任一 master 未达到 quorum 时返回 null
+     */
+    private Map<String, HostAndPort> elect(List<String> masters, Map<String, Map<HostAndPort, Integer>> votes,
+                                           int quorum) {
+        Map<String, HostAndPort> masterRoute = new LinkedHashMap<>();
+        for (String masterName : masters) {
+            Map<HostAndPort, Integer> masterVotes = votes.get(masterName);
+            if (masterVotes == null) {
+                return null;
             }
-            if (o == null || getClass() != o.getClass()) {
-                return false;
+            HostAndPort elected = null;
+            int         max     = 0;
+            for (Map.Entry<HostAndPort, Integer> entry : masterVotes.entrySet()) {
+                if (entry.getValue() > max) {
+                    elected = entry.getKey();
+                    max = entry.getValue();
+                }
+            }
+            if (max < quorum) {
+                return null;
             }
-            MasterListener that = (MasterListener) o;
-            return port == that.port && Objects.equals(host, that.host);
+            masterRoute.put(masterName, elected);
         }
+        return masterRoute;
+    }
 
-        @Override
-        public int hashCode() {
-            return Objects.hash(host, port);
+    /**
+     * 在一个连接上以 pipeline 方式查询所有 master 的地址
+     *
+     * @param hap     sentinel 地址
+     * @param masters the masters
+     * @return 该 sentinel 已知的 master 地址, 未监控的 master 不包含在结果中
+     */
+    private Map<String, HostAndPort> queryMasters(HostAndPort hap, List<String> masters) {
+        Map<String, HostAndPort> answer = new HashMap<>();
+        try (Jedis jedis = new Jedis(hap.getHost(), hap.getPort(), connectionTimeout)) {
+            Client client = jedis.getClient();
+            for (String masterName : masters) {
+                client.sentinel(Protocol.SENTINEL_GET_MASTER_ADDR_BY_NAME, masterName);
+            }
+            for (String masterName : masters) {
+                List<String> masterAddr;
+                try {
+                    masterAddr = client.getMultiBulkReply();
+                } catch (JedisDataException e) {
+                    log.warn("Sentinel " + hap + " reply error for master " + masterName + ". " + e.getMessage());
+                    continue;
+                }
+                if (masterAddr == null || masterAddr.size() != 2) {
+                    log.warn("Can not get master addr, master name: " + masterName + ". Sentinel: " + hap + ".");
+                    continue;
+                }
+                answer.put(masterName, toHostAndPort(masterAddr));
+            }
+        } catch (JedisConnectionException e) {
+            log.warn("Cannot connect to sentinel running @ " + hap + ". " + e.getMessage());
+            throw e;
         }
+        log.info("Sentinel " + hap + " reports masters " + answer);
+        return answer;
     }
 
     /**
@@ -597,18 +910,9 @@ public class ShardedJedisSentinelPool extends Pool<ShardedJedis> {
                 boolean lock = lock(chengeMasterName, newHostMaster);
                 try {
                     if (lock) {
-                        // 拷贝本地路由表
-                        Map<String, HostAndPort> newMasterRoute = new LinkedHashMap<>(
-                            localMasterRoute);
-                        // 设置变更信息
-                        newMasterRoute.put(chengeMasterName, newHostMaster);
-
                         log.info("Sentinel " + host + ":" + port + " start update...");
-                        // 防止二次更新
-                        synchronized (MasterChengeProcessor.class) {
-                            // 重新初始化pool
-                            initPool(newMasterRoute);
-                        }
+                        // 只切换发生变更的分片
+                        switchMaster(chengeMasterName, newHostMaster);
                     } else {
                         StringBuilder info = new StringBuilder();
                         for (String masterName : masters) {
@@ -686,19 +990,17 @@ public class ShardedJedisSentinelPool extends Pool<ShardedJedis> {
      * @date 2018-06-13  20:11
      */
     protected class ShardedJedisFactory implements PooledObjectFactory<ShardedJedis> {
-        private List<JedisShardInfo> shards;
         private Hashing              algo;
         private Pattern              keyTagPattern;
 
         /**
          * Instantiates a new Sharded jedis factory.
+         * 使用创建连接时最新的分片信息
          *
-         * @param shards        the shards
          * @param algo          the algo
          * @param keyTagPattern the key tag pattern
          */
-        public ShardedJedisFactory(List<JedisShardInfo> shards, Hashing algo, Pattern keyTagPattern) {
-            this.shards = shards;
+        public ShardedJedisFactory(Hashing algo, Pattern keyTagPattern) {
             this.algo = algo;
             this.keyTagPattern = keyTagPattern;
         }
@@ -711,58 +1013,185 @@ public class ShardedJedisSentinelPool extends Pool<ShardedJedis> {
          */
         @Override
         public PooledObject<ShardedJedis> makeObject() {
-            ShardedJedis jedis = new ShardedJedis(shards, algo, keyTagPattern);
+            ShardedJedis jedis = new PooledShardedJedis(route.shardInfos, algo, keyTagPattern);
             return new DefaultPooledObject<>(jedis);
         }
 
         @Override
         public void destroyObject(PooledObject<ShardedJedis> pooledShardedJedis) {
-            final ShardedJedis shardedJedis = pooledShardedJedis.getObject();
-            for (Jedis jedis : shardedJedis.getAllShards()) {
-                try {
-                    try {
-                        jedis.quit();
-                    } catch (Exception e) {
-
-                    }
-                    jedis.disconnect();
-                } catch (Exception e) {
-
-                }
-            }
+            ((PooledShardedJedis) pooledShardedJedis.getObject()).release();
         }
 
 
         /**
          * Validate objects boolean.
-         * 默认验证方法
+         * ShardedJedis 本身不持有连接, 连接由各分片的连接池按 testOnBorrow 检查
          *
          * @param pooledShardedJedis the pooled sharded jedis
          * @return the boolean
          */
         @Override
         public boolean validateObject(PooledObject<ShardedJedis> pooledShardedJedis) {
-            try {
-                ShardedJedis jedis = pooledShardedJedis.getObject();
-                for (Jedis shard : jedis.getAllShards()) {
-                    if (!shard.ping().equals("PONG")) {
-                        return false;
+            return true;
+        }
+
+        @Override
+        public void activateObject(PooledObject<ShardedJedis> p) {
+
+        }
+
+        /**
+         * 归还时释放借用的分片连接, 兼容直接调用 returnResource 的老代码, 空闲的 ShardedJedis 不占用分片连接
+         *
+         * @param p the pooled sharded jedis
+         */
+        @Override
+        public void passivateObject(PooledObject<ShardedJedis> p) {
+            ((PooledShardedJedis) p.getObject()).release();
+        }
+    }
+
+    /**
+     * <p>Description: 不持有连接的 ShardedJedis </p>
+     * 通过路由快照中的 ShardRouter 定位分片(分片位置由 master name 决定, 与地址无关), 首次访问某个分片时才从该分片的连接池借用连接,
+     * close 时归还所有借用的连接. 主从切换后新借用的连接自动来自新的连接池.
+     *
+     * @author dong4j
+     * @email dong4j@gmail.com
+     * @date 2026-10-18  21:20
+     */
+    protected class PooledShardedJedis extends ShardedJedis implements ShardMigration.Shards {
+        private final Jedis[] borrowed;
+
+        /**
+         * Instantiates a new Pooled sharded jedis.
+         *
+         * @param shardInfos    the shard infos
+         * @param algo          the algo
+         * @param keyTagPattern the key tag pattern
+         */
+        PooledShardedJedis(List<JedisShardInfo> shardInfos, Hashing algo, Pattern keyTagPattern) {
+            super(shardInfos, algo, keyTagPattern);
+            this.borrowed = new Jedis[shardInfos.size()];
+        }
+
+        @Override
+        public Jedis getShard(String key) {
+            ShardMigration current = migration;
+            if (current != null && !current.isCompleted()) {
+                return shard(current.index(key, this));
+            }
+            return shard(route.router.index(key));
+        }
+
+        @Override
+        public Jedis getShard(byte[] key) {
+            ShardMigration current = migration;
+            if (current != null && !current.isCompleted()) {
+                return shard(current.index(key, this));
+            }
+            return shard(route.router.index(key));
+        }
+
+        @Override
+        public JedisShardInfo getShardInfo(String key) {
+            ShardRoute current = route;
+            return current.shardInfos.get(current.router.index(key));
+        }
+
+        @Override
+        public JedisShardInfo getShardInfo(byte[] key) {
+            ShardRoute current = route;
+            return current.shardInfos.get(current.router.index(key));
+        }
+
+        /**
+         * 借用所有分片的连接, 用于 keys/scan/flushAll 等需要访问所有分片的命令
+         *
+         * @return the all shards
+         */
+        @Override
+        public Collection<Jedis> getAllShards() {
+            List<Jedis> shards = new ArrayList<>(borrowed.length);
+            for (int i = 0; i < borrowed.length; i++) {
+                shards.add(shard(i));
+            }
+            return shards;
+        }
+
+        /**
+         * 获取分片连接, 同一次借出期间同一个分片只借用一次
+         *
+         * @param index 分片下标
+         * @return the jedis
+         */
+        @Override
+        public Jedis shard(int index) {
+            Jedis jedis = borrowed[index];
+            if (jedis == null) {
+                jedis = route.shardPools.get(index).getResource();
+                borrowed[index] = jedis;
+            }
+            return jedis;
+        }
+
+        /**
+         * 归还所有借用的分片连接, 损坏的连接由分片连接池销毁
+         */
+        void release() {
+            for (int i = 0; i < borrowed.length; i++) {
+                Jedis jedis = borrowed[i];
+                if (jedis != null) {
+                    borrowed[i] = null;
+                    try {
+                        jedis.close();
+                    } catch (Exception e) {
+                        log.warn("Return shard connection failed. " + e.getMessage());
                     }
                 }
-                return true;
-            } catch (Exception ex) {
-                return false;
             }
         }
 
         @Override
-        public void activateObject(PooledObject<ShardedJedis> p) {
+        public void close() {
+            release();
+            if (dataSource != null) {
+                dataSource.returnResource(this);
+            }
+        }
 
+        @Override
+        public void resetState() {
+            for (Jedis jedis : borrowed) {
+                if (jedis != null) {
+                    jedis.resetState();
+                }
+            }
         }
 
         @Override
-        public void passivateObject(PooledObject<ShardedJedis> p) {
+        public void disconnect() {
+            release();
+        }
+    }
 
+    /**
+     * <p>Description: 不可变的路由快照 </p>
+     * 分片信息与分片连接池顺序一致, 下标与 {@link ShardRouter#index(String)} 的返回值对应
+     *
+     * @author dong4j
+     * @email dong4j@gmail.com
+     * @date 2026-10-18  22:40
+     */
+    private static final class ShardRoute {
+        private final List<JedisShardInfo> shardInfos;
+        private final List<JedisPool>      shardPools;
+        private final ShardRouter          router;
+
+        ShardRoute(List<JedisShardInfo> shardInfos, List<JedisPool> shardPools, ShardRouter router) {
+            this.shardInfos = Collections.unmodifiableList(shardInfos);
+            this.shardPools = Collections.unmodifiableList(shardPools);
+            this.router = router;
         }
     }
 }
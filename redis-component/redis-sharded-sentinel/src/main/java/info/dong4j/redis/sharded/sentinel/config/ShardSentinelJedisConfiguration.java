@@ -1,23 +1,43 @@
 package info.dong4j.redis.sharded.sentinel.config;
 
+import info.dong4j.redis.service.BinaryRedisService;
+import info.dong4j.redis.service.RedisService;
+import info.dong4j.redis.service.impl.AsyncRedisServiceImpl;
+import info.dong4j.redis.service.impl.CachingRedisService;
+import info.dong4j.redis.service.impl.CoalescingRedisService;
+import info.dong4j.redis.service.impl.HotKeyRedisService;
+import info.dong4j.redis.service.impl.InstrumentedRedisService;
+import info.dong4j.redis.service.impl.ShardedBinaryRedisServiceImpl;
+import info.dong4j.redis.service.impl.ShardedRedisServiceImpl;
+import info.dong4j.redis.service.impl.SingleFlightRedisService;
+import info.dong4j.redis.service.support.AdaptivePoolSizer;
+import info.dong4j.redis.service.support.HotKeyDetector;
+import info.dong4j.redis.service.support.RedisMetrics;
+import info.dong4j.redis.service.support.ShardedNodeLocator;
+import info.dong4j.redis.service.support.ShardedPoolPipelineExecutor;
 import info.dong4j.redis.sharded.sentinel.ShardedJedisSentinelPool;
 
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 import java.net.*;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 
 import lombok.extern.slf4j.Slf4j;
 import redis.clients.jedis.JedisPoolConfig;
 import redis.clients.util.JedisURIHelper;
+import redis.clients.util.Pool;
 
 /**
  * <p>Description: sharded jedis sentinel 配置类</p>
@@ -58,6 +78,62 @@ public class ShardSentinelJedisConfiguration {
     private boolean testOnBorrow;
     @Value("${redis.pool.testOnReturn}")
     private boolean testOnReturn;
+    @Value("${redis.async.threads:64}")
+    private int     asyncThreads;
+    @Value("${redis.async.maxInFlightPerNode:32}")
+    private int     asyncMaxInFlightPerNode;
+    @Value("${redis.async.maxPendingPerNode:1024}")
+    private int     asyncMaxPendingPerNode;
+    @Value("${redis.coalesce.enabled:false}")
+    private boolean coalesceEnabled;
+    @Value("${redis.coalesce.windowMicros:200}")
+    private long    coalesceWindowMicros;
+    @Value("${redis.coalesce.maxBatch:64}")
+    private int     coalesceMaxBatch;
+    @Value("${redis.coalesce.threads:2}")
+    private int     coalesceThreads;
+    @Value("${redis.nearCache.enabled:false}")
+    private boolean nearCacheEnabled;
+    @Value("${redis.nearCache.maxSize:10000}")
+    private int     nearCacheMaxSize;
+    @Value("${redis.nearCache.ttlMillis:60000}")
+    private long    nearCacheTtlMillis;
+    @Value("${redis.nearCache.channel:redis-toolkit:near-cache:invalidate}")
+    private String  nearCacheChannel;
+    @Value("${redis.nearCache.keyPrefixes:}")
+    private String[] nearCacheKeyPrefixes;
+    @Value("${redis.singleFlight.enabled:false}")
+    private boolean singleFlightEnabled;
+    @Value("${redis.hotKey.enabled:false}")
+    private boolean hotKeyEnabled;
+    @Value("${redis.hotKey.windowSeconds:10}")
+    private int     hotKeyWindowSeconds;
+    @Value("${redis.hotKey.topK:20}")
+    private int     hotKeyTopK;
+    @Value("${redis.hotKey.threshold:10000}")
+    private long    hotKeyThreshold;
+    @Value("${redis.sentinel.reconcileIntervalMillis:10000}")
+    private long    reconcileIntervalMillis;
+    @Value("${redis.sharded.keyTag:false}")
+    private boolean keyTag;
+    @Value("${redis.reshard.previousMasters:}")
+    private String[] previousMasters;
+    @Value("${redis.reshard.scanCount:100}")
+    private int     reshardScanCount;
+    @Value("${redis.reshard.maxKeysPerSecond:5000}")
+    private int     reshardMaxKeysPerSecond;
+    @Value("${redis.pool.adaptive.minTotal:8}")
+    private int     adaptiveMinTotal;
+    @Value("${redis.pool.adaptive.targetWaitMillis:2}")
+    private long    adaptiveTargetWaitMillis;
+    @Value("${redis.pool.adaptive.headroom:1.5}")
+    private double  adaptiveHeadroom;
+    @Value("${redis.pool.adaptive.intervalMillis:1000}")
+    private long    adaptiveIntervalMillis;
+    @Value("${redis.metrics.enabled:false}")
+    private boolean metricsEnabled;
+    @Value("${redis.metrics.name:redis-toolkit}")
+    private String  metricsName;
 
     // <!-- 连接池配置 -->
     // <bean id="jedisPoolConfig" class="redis.clients.jedis.JedisPoolConfig">
@@ -169,14 +245,136 @@ public class ShardSentinelJedisConfiguration {
             }
         }
 
-        return new ShardedJedisSentinelPool(masterList,
-                                            sentinelSet,
-                                            jedisPoolConfig(),
-                                            soTimeout,
-                                            DEFAULT_MAX_REDIRECTIONS,
-                                            connectionTimeout,
-                                            password,
-                                            DEFAULT_DATABASE);
+        ShardedJedisSentinelPool pool = new ShardedJedisSentinelPool(masterList,
+                                                             sentinelSet,
+                                                             jedisPoolConfig(),
+                                                             soTimeout,
+                                                             DEFAULT_MAX_REDIRECTIONS,
+                                                             connectionTimeout,
+                                                             password,
+                                                             DEFAULT_DATABASE,
+                                                             reconcileIntervalMillis,
+                                                             keyTag);
+        if (previousMasters.length > 0) {
+            // 增加 master 后在线迁移, 迁移完成后删除 redis.reshard.previousMasters
+            pool.reshard(Arrays.asList(previousMasters), reshardScanCount, reshardMaxKeysPerSecond);
+        }
+        return pool;
+    }
+
+    /**
+     * 分片哨兵模式下的 RedisService, 多 key 命令按分片批量发送
+     *
+     * @return the redis service
+     */
+    @ConditionalOnProperty(value = "redis.model", havingValue = "sharding-sentinel")
+    @Bean(name = "redisService")
+    public RedisService redisService() {
+        RedisService redisService = new ShardedRedisServiceImpl(shardedJedisSentinelPool(), metricsEnabled ? redisMetrics() : null);
+        ShardedPoolPipelineExecutor pipelineExecutor = new ShardedPoolPipelineExecutor(shardedJedisSentinelPool(),
+                                                                                       shardedJedisSentinelPool().getShardInfos(),
+                                                                                       keyTag);
+        if (metricsEnabled) {
+            redisService = new InstrumentedRedisService(redisService, redisMetrics(), pipelineExecutor);
+        }
+        if (coalesceEnabled) {
+            redisService = new CoalescingRedisService(redisService,
+                                                      pipelineExecutor,
+                                                      coalesceWindowMicros,
+                                                      coalesceMaxBatch,
+                                                      coalesceThreads,
+                                                      metricsEnabled ? redisMetrics() : null);
+        }
+        if (hotKeyEnabled) {
+            redisService = new HotKeyRedisService(redisService,
+                                                  new HotKeyDetector(pipelineExecutor,
+                                                                     hotKeyWindowSeconds,
+                                                                     hotKeyTopK,
+                                                                     hotKeyThreshold));
+        }
+        if (singleFlightEnabled) {
+            redisService = new SingleFlightRedisService(redisService);
+        }
+        if (nearCacheEnabled) {
+            redisService = new CachingRedisService(redisService,
+                                                   pipelineExecutor,
+                                                   nearCacheChannel,
+                                                   nearCacheMaxSize,
+                                                   nearCacheTtlMillis,
+                                                   nearCacheKeyPrefixes);
+        }
+        return redisService;
+    }
 
+    /**
+     * 分片哨兵模式下的 AsyncRedisService
+     *
+     * @return the async redis service
+     */
+    @ConditionalOnProperty(value = "redis.model", havingValue = "sharding-sentinel")
+    @Bean(name = "asyncRedisService", destroyMethod = "destroy")
+    public AsyncRedisServiceImpl asyncRedisService() {
+        return new AsyncRedisServiceImpl(redisService(),
+                                         new ShardedNodeLocator(shardedJedisSentinelPool().getShardInfos(), keyTag),
+                                         asyncThreads,
+                                         asyncMaxInFlightPerNode,
+                                         asyncMaxPendingPerNode);
+    }
+
+    /**
+     * 分片哨兵模式下的 BinaryRedisService, 与 redisService 使用同一个连接池.
+     * 不经过 RedisService 的装饰器, 写入的 key 不会使 near cache 失效, 也会绕过合并写改变同一个 key 的写入顺序,
+     * 因此开启 redis.nearCache.enabled 或 redis.coalesce.enabled 时需要设置 redis.binary.enabled=false, 否则启动失败
+     *
+     * @return the binary redis service
+     */
+    @ConditionalOnExpression("'${redis.model:}' == 'sharding-sentinel' && ${redis.binary.enabled:true}")
+    @Bean(name = "binaryRedisService")
+    public BinaryRedisService binaryRedisService() {
+        if (nearCacheEnabled || coalesceEnabled) {
+            throw new RuntimeException("binaryRedisService bypasses near cache invalidation and write coalescing, "
+                                       + "please set redis.binary.enabled=false when redis.nearCache.enabled or redis.coalesce.enabled is true");
+        }
+        return new ShardedBinaryRedisServiceImpl(shardedJedisSentinelPool(), metricsEnabled ? redisMetrics() : null);
+    }
+
+    /**
+     * 根据借出等待时间动态调整连接池大小, redis.pool.maxActive 为上限
+     * ShardedJedis 本身不持有连接, 调整的是每个 master 的连接池, 主从切换后每次调整时重新获取
+     *
+     * @return the adaptive pool sizer
+     */
+    @ConditionalOnExpression("'${redis.model:}' == 'sharding-sentinel' && ${redis.pool.adaptive.enabled:false}")
+    @Bean(name = "adaptivePoolSizer", destroyMethod = "shutdown")
+    public AdaptivePoolSizer adaptivePoolSizer() {
+        final ShardedJedisSentinelPool pool = shardedJedisSentinelPool();
+        return new AdaptivePoolSizer(new AdaptivePoolSizer.PoolProvider() {
+            @Override
+            public Collection<? extends Pool<?>> getPools() {
+                return pool.getShardPools().values();
+            }
+        }, adaptiveMinTotal, maxTotal, adaptiveTargetWaitMillis, adaptiveHeadroom, adaptiveIntervalMillis);
+    }
+
+    /**
+     * 连接池与命令耗时统计, 注册到 JMX
+     *
+     * @return the redis metrics
+     */
+    @ConditionalOnExpression("'${redis.model:}' == 'sharding-sentinel' && ${redis.metrics.enabled:false}")
+    @Bean(name = "redisMetrics", destroyMethod = "unregister")
+    public RedisMetrics redisMetrics() {
+        RedisMetrics metrics = new RedisMetrics(metricsName);
+        metrics.registerPool("sharded", shardedJedisSentinelPool());
+        // 每个 master 的连接池, 主从切换后替换
+        metrics.registerPools(new RedisMetrics.NamedPools() {
+            @Override
+            public Map<String, ? extends Pool<?>> getPools() {
+                return shardedJedisSentinelPool().getShardPools();
+            }
+        });
+        shardedJedisSentinelPool().addFailoverListener(metrics);
+        metrics.register();
+        return metrics;
     }
 }
@@ -0,0 +1,190 @@
+package info.dong4j.redis.sharded.sentinel;
+
+import info.dong4j.redis.standin.StandInSentinel;
+import info.dong4j.redis.standin.StandInServer;
+
+import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.ShardedJedis;
+
+/**
+ * <p>Description: 分片哨兵连接池测试, 使用进程内 RESP 服务作为 master 和 sentinel</p>
+ *
+ * @author dong4j
+ * @email dong4j@gmail.com
+ * @date 2026-10-18  23:59
+ */
+public class ShardedJedisSentinelPoolTest {
+    private static final List<String> MASTERS = Arrays.asList("shard1", "shard2");
+
+    private final List<StandInServer>   servers   = new ArrayList<>();
+    private final List<StandInSentinel> sentinels = new ArrayList<>();
+    private final Set<String>           addresses = new HashSet<>();
+    private       StandInServer         master1;
+    private       StandInServer         master2;
+    private       StandInServer         replica1;
+
+    @Before
+    public void setUp() throws Exception {
+        master1 = start(new StandInServer());
+        master2 = start(new StandInServer());
+        replica1 = start(new StandInServer());
+        replica1.replicaOf(master1);
+        for (int i = 0; i < 3; i++) {
+            StandInSentinel sentinel = start(new StandInSentinel());
+            sentinel.monitor("shard1", master1, replica1);
+            sentinel.monitor("shard2", master2);
+            sentinels.add(sentinel);
+            addresses.add(sentinel.getHostAndPort().toString());
+        }
+    }
+
+    @After
+    public void tearDown() {
+        for (StandInServer server : servers) {
+            server.close();
+        }
+    }
+
+    private <T extends StandInServer> T start(T server) throws Exception {
+        server.start();
+        servers.add(server);
+        return server;
+    }
+
+    private ShardedJedisSentinelPool pool(long reconcileIntervalMillis) {
+        return new ShardedJedisSentinelPool(MASTERS, addresses, new GenericObjectPoolConfig(), 2000, 3, 2000,
+                                            null, 0, reconcileIntervalMillis);
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    public void testReturnResourceReleasesShardConnections() {
+        ShardedJedisSentinelPool pool = pool(0);
+        try {
+            ShardedJedis jedis = pool.getResource();
+            for (int i = 0; i < 20; i++) {
+                jedis.set("key:" + i, "value");
+            }
+            for (JedisPool shardPool : pool.getShardPools().values()) {
+                Assert.assertEquals(1, shardPool.getNumActive());
+            }
+
+            // 老代码直接调用 returnResource 归还, 不经过 close
+            pool.returnResource(jedis);
+            for (JedisPool shardPool : pool.getShardPools().values()) {
+                Assert.assertEquals(0, shardPool.getNumActive());
+            }
+            Assert.assertEquals(1, pool.getNumIdle());
+        } finally {
+            pool.destroy();
+        }
+    }
+
+    @Test
+    public void testFailoverKeepsOtherShardPools() throws Exception {
+        ShardedJedisSentinelPool pool = pool(0);
+        try {
+            JedisPool    shard1 = pool.getShardPools().get("shard1");
+            JedisPool    shard2 = pool.getShardPools().get("shard2");
+            ShardedJedis jedis  = pool.getResource();
+            String       key    = keyOn(jedis, "shard2");
+            jedis.set(key, "value");
+            Assert.assertEquals(1, shard2.getNumActive());
+            // 等待订阅成功后再切换
+            Thread.sleep(300);
+
+            for (StandInSentinel sentinel : sentinels) {
+                sentinel.failover("shard1", replica1);
+            }
+            awaitMaster(pool, replica1);
+
+            // 只替换切换的分片, 其他分片的连接池与借出的连接不受影响
+            Assert.assertNotSame(shard1, pool.getShardPools().get("shard1"));
+            Assert.assertSame(shard2, pool.getShardPools().get("shard2"));
+            Assert.assertFalse(shard2.isClosed());
+            Assert.assertEquals(1, shard2.getNumActive());
+            Assert.assertEquals("value", jedis.get(key));
+            jedis.close();
+            Assert.assertEquals(0, shard2.getNumActive());
+        } finally {
+            pool.destroy();
+        }
+    }
+
+    @Test
+    public void testQuorumDiscoveryWithDeadSentinel() throws Exception {
+        StandInSentinel dead = sentinels.get(0);
+        dead.stop();
+        ShardedJedisSentinelPool pool = pool(200);
+        try {
+            Assert.assertTrue(pool.getCurrentHostMaster().contains(master1.getHostAndPort()));
+            Assert.assertTrue(pool.getCurrentHostMaster().contains(master2.getHostAndPort()));
+
+            // 存活的 2 个 sentinel 达到多数, 对账按多数结果切换
+            for (StandInSentinel sentinel : sentinels) {
+                if (sentinel != dead) {
+                    sentinel.setDropEvents(true);
+                    sentinel.failover("shard1", replica1);
+                }
+            }
+            awaitMaster(pool, replica1);
+            try (ShardedJedis jedis = pool.getResource()) {
+                Assert.assertEquals("OK", jedis.set(keyOn(jedis, "shard1"), "value"));
+            }
+        } finally {
+            pool.destroy();
+        }
+    }
+
+    @Test
+    public void testReconcileCatchesDroppedSwitchMaster() throws Exception {
+        ShardedJedisSentinelPool pool = pool(200);
+        try {
+            JedisPool shard2 = pool.getShardPools().get("shard2");
+            for (StandInSentinel sentinel : sentinels) {
+                sentinel.setDropEvents(true);
+                sentinel.failover("shard1", replica1);
+            }
+            awaitMaster(pool, replica1);
+            Assert.assertSame(shard2, pool.getShardPools().get("shard2"));
+        } finally {
+            pool.destroy();
+        }
+    }
+
+    /**
+     * 找到落在指定分片上的 key
+     *
+     * @param jedis the jedis
+     * @param shard master name
+     * @return the string
+     */
+    private static String keyOn(ShardedJedis jedis, String shard) {
+        for (int i = 0; ; i++) {
+            String key = "key:" + i;
+            if (shard.equals(jedis.getShardInfo(key).getName())) {
+                return key;
+            }
+        }
+    }
+
+    private static void awaitMaster(ShardedJedisSentinelPool pool, StandInServer master) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!pool.getCurrentHostMaster().contains(master.getHostAndPort()) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        Assert.assertTrue(pool.getCurrentHostMaster().toString(), pool.getCurrentHostMaster().contains(master.getHostAndPort()));
+    }
+}
@@ -0,0 +1,228 @@
+package info.dong4j.redis.sharded;
+
+import info.dong4j.redis.service.support.ShardMigration;
+import info.dong4j.redis.service.support.ShardMigrator;
+import info.dong4j.redis.service.support.ShardRouter;
+
+import org.apache.commons.pool2.PooledObject;
+import org.apache.commons.pool2.PooledObjectFactory;
+import org.apache.commons.pool2.impl.DefaultPooledObject;
+import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisShardInfo;
+import redis.clients.jedis.ShardedJedis;
+import redis.clients.jedis.ShardedJedisPool;
+import redis.clients.util.Hashing;
+import redis.clients.util.Sharded;
+
+/**
+ * <p>Description: 使用 {@link ShardRouter} 定位分片的 ShardedJedisPool</p>
+ * Jedis Sharded 每次定位都要把 key 编码为 byte[] 并在 TreeMap 中查找, 这里改为在有序 long[] 中二分查找,
+ * 分片位置与 MURMUR_HASH 的 ShardedJedisPool 完全一致(开启 key tag 时与使用 DEFAULT_KEY_TAG_PATTERN 时一致).
+ * 所有借出的 ShardedJedis 共用同一个路由表. 配置 loadFactor 时使用有界负载的一致性 hash, 此时与 ShardedJedisPool 的分片位置不再一致.
+ * 增加分片后通过 {@link #reshard(List, int, int)} 在线迁移, 迁移期间分片位置变化的 key 在访问时先从旧分片搬到新分片.
+ *
+ * @author dong4j
+ * @email dong4j@gmail.com
+ * @date 2026-10-18  22:50
+ */
+public class RoutedShardedJedisPool extends ShardedJedisPool {
+    private final List<JedisShardInfo> shards;
+    private final boolean              keyTag;
+    private final double               loadFactor;
+
+    /** 增加分片后的迁移, 未迁移时为 null */
+    private volatile ShardMigration migration;
+    private          ShardMigrator  migrator;
+
+    /**
+     * Instantiates a new Routed sharded jedis pool.
+     *
+     * @param poolConfig the pool config
+     * @param shards     the shards
+     */
+    public RoutedShardedJedisPool(GenericObjectPoolConfig poolConfig, List<JedisShardInfo> shards) {
+        this(poolConfig, shards, false);
+    }
+
+    /**
+     * Instantiates a new Routed sharded jedis pool.
+     *
+     * @param poolConfig the pool config
+     * @param shards     the shards
+     * @param keyTag     是否按 {...} 中的 key tag 计算分片
+     */
+    public RoutedShardedJedisPool(GenericObjectPoolConfig poolConfig, List<JedisShardInfo> shards, boolean keyTag) {
+        this(poolConfig, shards, keyTag, 0);
+    }
+
+    /**
+     * Instantiates a new Routed sharded jedis pool.
+     *
+     * @param poolConfig the pool config
+     * @param shards     the shards
+     * @param keyTag     是否按 {...} 中的 key tag 计算分片
+     * @param loadFactor 单个分片最多负责按权重应得份额的倍数, 小于等于 0 时不限制
+     */
+    public RoutedShardedJedisPool(GenericObjectPoolConfig poolConfig, List<JedisShardInfo> shards, boolean keyTag, double loadFactor) {
+        super(poolConfig, shards);
+        this.shards = shards;
+        this.keyTag = keyTag;
+        this.loadFactor = loadFactor;
+        // 替换 ShardedJedisPool 构造时创建的对象池, 此时还没有创建任何连接
+        initPool(poolConfig, new RoutedShardedJedisFactory(shards, new ShardRouter(shards, keyTag, loadFactor), keyTag));
+    }
+
+    /**
+     * 增加分片后在线迁移: 命令按新分片列表路由, 访问分片位置变化的 key 时先从旧分片搬迁,
+     * 同时后台扫描旧分片迁移剩余的 key
+     *
+     * @param previousShards   扩容前的分片信息, 顺序与扩容前的 redis.node 一致
+     * @param scanCount        每次 SCAN 的 COUNT
+     * @param maxKeysPerSecond 后台迁移每秒最多扫描的 key 数量
+     */
+    public synchronized void reshard(List<JedisShardInfo> previousShards, int scanCount, int maxKeysPerSecond) {
+        ShardMigration shardMigration = new ShardMigration(previousShards, shards, keyTag, loadFactor);
+        migration = shardMigration;
+        migrator = new ShardMigrator(this, shardMigration, scanCount, maxKeysPerSecond);
+        migrator.start();
+    }
+
+    /**
+     * close
+     */
+    @Override
+    public void destroy() {
+        synchronized (this) {
+            if (migrator != null) {
+                migrator.shutdown();
+            }
+        }
+        super.destroy();
+    }
+
+    /**
+     * <p>Description: RoutedShardedJedis 生产工厂, 连接的创建、校验、销毁与 ShardedJedisPool 一致 </p>
+     *
+     * @author dong4j
+     * @email dong4j@gmail.com
+     * @date 2026-10-18  22:50
+     */
+    private class RoutedShardedJedisFactory implements PooledObjectFactory<ShardedJedis> {
+        private final List<JedisShardInfo> shards;
+        private final ShardRouter          router;
+        private final Pattern              keyTagPattern;
+
+        RoutedShardedJedisFactory(List<JedisShardInfo> shards, ShardRouter router, boolean keyTag) {
+            this.shards = shards;
+            this.router = router;
+            this.keyTagPattern = keyTag ? Sharded.DEFAULT_KEY_TAG_PATTERN : null;
+        }
+
+        @Override
+        public PooledObject<ShardedJedis> makeObject() {
+            return new DefaultPooledObject<ShardedJedis>(new RoutedShardedJedis(shards, router, keyTagPattern));
+        }
+
+        @Override
+        public void destroyObject(PooledObject<ShardedJedis> pooledShardedJedis) {
+            for (Jedis jedis : pooledShardedJedis.getObject().getAllShards()) {
+                if (jedis.isConnected()) {
+                    try {
+                        try {
+                            jedis.quit();
+                        } catch (Exception e) {
+                            // ignore
+                        }
+                        jedis.disconnect();
+                    } catch (Exception e) {
+                        // ignore
+                    }
+                }
+            }
+        }
+
+        @Override
+        public boolean validateObject(PooledObject<ShardedJedis> pooledShardedJedis) {
+            try {
+                for (Jedis jedis : pooledShardedJedis.getObject().getAllShards()) {
+                    if (!"PONG".equals(jedis.ping())) {
+                        return false;
+                    }
+                }
+                return true;
+            } catch (Exception ex) {
+                return false;
+            }
+        }
+
+        @Override
+        public void activateObject(PooledObject<ShardedJedis> p) {
+
+        }
+
+        @Override
+        public void passivateObject(PooledObject<ShardedJedis> p) {
+
+        }
+    }
+
+    /**
+     * <p>Description: 通过路由表定位分片的 ShardedJedis </p>
+     *
+     * @author dong4j
+     * @email dong4j@gmail.com
+     * @date 2026-10-18  22:50
+     */
+    private class RoutedShardedJedis extends ShardedJedis implements ShardMigration.Shards {
+        private final List<JedisShardInfo> shardInfos;
+        private final ShardRouter          router;
+        /** 与 shardInfos 顺序一致的连接 */
+        private final Jedis[]              shards;
+
+        RoutedShardedJedis(List<JedisShardInfo> shardInfos, ShardRouter router, Pattern keyTagPattern) {
+            super(shardInfos, Hashing.MURMUR_HASH, keyTagPattern);
+            this.shardInfos = shardInfos;
+            this.router = router;
+            // Sharded 按分片信息的顺序保存连接
+            this.shards = getAllShards().toArray(new Jedis[shardInfos.size()]);
+        }
+
+        @Override
+        public Jedis getShard(String key) {
+            ShardMigration current = migration;
+            if (current != null && !current.isCompleted()) {
+                return shards[current.index(key, this)];
+            }
+            return shards[router.index(key)];
+        }
+
+        @Override
+        public Jedis getShard(byte[] key) {
+            ShardMigration current = migration;
+            if (current != null && !current.isCompleted()) {
+                return shards[current.index(key, this)];
+            }
+            return shards[router.index(key)];
+        }
+
+        @Override
+        public Jedis shard(int index) {
+            return shards[index];
+        }
+
+        @Override
+        public JedisShardInfo getShardInfo(String key) {
+            return shardInfos.get(router.index(key));
+        }
+
+        @Override
+        public JedisShardInfo getShardInfo(byte[] key) {
+            return shardInfos.get(router.index(key));
+        }
+    }
+}
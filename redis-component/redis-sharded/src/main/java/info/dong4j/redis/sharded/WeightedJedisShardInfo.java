@@ -0,0 +1,64 @@
+package info.dong4j.redis.sharded;
+
+import java.net.URI;
+
+import redis.clients.jedis.JedisShardInfo;
+
+/**
+ * <p>Description: 可以通过节点 URI 配置权重的分片信息</p>
+ * JedisShardInfo 只能在按 host/port 构造时指定权重, 按 URI 构造时权重固定为 1 且会丢失密码以外的配置.
+ * 这里按 URI 构造并覆盖权重, 例如 redis://127.0.0.1:6379/0?weight=2, 权重为 n 的分片在一致性 hash 环上有 160 * n 个虚拟节点.
+ * 未命名分片的虚拟节点名称与权重无关, 调大权重只会增加虚拟节点, 其他分片上的 key 只会迁往该分片.
+ *
+ * @author dong4j
+ * @email dong4j@gmail.com
+ * @date 2026-10-18  23:50
+ */
+public class WeightedJedisShardInfo extends JedisShardInfo {
+    private static final String WEIGHT = "weight";
+
+    private final int weight;
+
+    /**
+     * Instantiates a new Weighted jedis shard info.
+     *
+     * @param uri    redis://[password@]ip:port[/database][?weight=n]
+     * @param weight the weight
+     */
+    public WeightedJedisShardInfo(URI uri, int weight) {
+        super(uri);
+        if (weight <= 0) {
+            throw new IllegalArgumentException("shard weight must be positive, uri = " + uri);
+        }
+        this.weight = weight;
+    }
+
+    /**
+     * 解析 URI 中的 weight 参数, 未配置时为 1
+     *
+     * @param uri the uri
+     * @return the int
+     */
+    public static int parseWeight(URI uri) {
+        String query = uri.getQuery();
+        if (query == null) {
+            return 1;
+        }
+        for (String parameter : query.split("&")) {
+            int index = parameter.indexOf('=');
+            if (index > 0 && WEIGHT.equals(parameter.substring(0, index))) {
+                try {
+                    return Integer.parseInt(parameter.substring(index + 1));
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("shard weight must be an integer, uri = " + uri);
+                }
+            }
+        }
+        return 1;
+    }
+
+    @Override
+    public int getWeight() {
+        return weight;
+    }
+}
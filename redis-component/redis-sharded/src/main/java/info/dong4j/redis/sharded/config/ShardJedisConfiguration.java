@@ -1,7 +1,26 @@
 package info.dong4j.redis.sharded.config;
 
+import info.dong4j.redis.service.BinaryRedisService;
+import info.dong4j.redis.service.RedisService;
+import info.dong4j.redis.service.impl.AsyncRedisServiceImpl;
+import info.dong4j.redis.service.impl.CachingRedisService;
+import info.dong4j.redis.service.impl.CoalescingRedisService;
+import info.dong4j.redis.service.impl.HotKeyRedisService;
+import info.dong4j.redis.service.impl.InstrumentedRedisService;
+import info.dong4j.redis.service.impl.ShardedBinaryRedisServiceImpl;
+import info.dong4j.redis.service.impl.ShardedRedisServiceImpl;
+import info.dong4j.redis.service.impl.SingleFlightRedisService;
+import info.dong4j.redis.service.support.AdaptivePoolSizer;
+import info.dong4j.redis.service.support.HotKeyDetector;
+import info.dong4j.redis.service.support.RedisMetrics;
+import info.dong4j.redis.service.support.ShardedNodeLocator;
+import info.dong4j.redis.service.support.ShardedPoolPipelineExecutor;
+import info.dong4j.redis.sharded.RoutedShardedJedisPool;
+import info.dong4j.redis.sharded.WeightedJedisShardInfo;
+
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -51,6 +70,63 @@ public class ShardJedisConfiguration {
     private boolean testOnBorrow;
     @Value("${redis.pool.testOnReturn}")
     private boolean testOnReturn;
+    @Value("${redis.async.threads:64}")
+    private int     asyncThreads;
+    @Value("${redis.async.maxInFlightPerNode:32}")
+    private int     asyncMaxInFlightPerNode;
+    @Value("${redis.async.maxPendingPerNode:1024}")
+    private int     asyncMaxPendingPerNode;
+    @Value("${redis.coalesce.enabled:false}")
+    private boolean coalesceEnabled;
+    @Value("${redis.coalesce.windowMicros:200}")
+    private long    coalesceWindowMicros;
+    @Value("${redis.coalesce.maxBatch:64}")
+    private int     coalesceMaxBatch;
+    @Value("${redis.coalesce.threads:2}")
+    private int     coalesceThreads;
+    @Value("${redis.nearCache.enabled:false}")
+    private boolean nearCacheEnabled;
+    @Value("${redis.nearCache.maxSize:10000}")
+    private int     nearCacheMaxSize;
+    @Value("${redis.nearCache.ttlMillis:60000}")
+    private long    nearCacheTtlMillis;
+    @Value("${redis.nearCache.channel:redis-toolkit:near-cache:invalidate}")
+    private String  nearCacheChannel;
+    @Value("${redis.nearCache.keyPrefixes:}")
+    private String[] nearCacheKeyPrefixes;
+    @Value("${redis.singleFlight.enabled:false}")
+    private boolean singleFlightEnabled;
+    @Value("${redis.hotKey.enabled:false}")
+    private boolean hotKeyEnabled;
+    @Value("${redis.hotKey.windowSeconds:10}")
+    private int     hotKeyWindowSeconds;
+    @Value("${redis.hotKey.topK:20}")
+    private int     hotKeyTopK;
+    @Value("${redis.hotKey.threshold:10000}")
+    private long    hotKeyThreshold;
+    @Value("${redis.sharded.keyTag:false}")
+    private boolean keyTag;
+    /** 有界负载的一致性 hash, 单个分片最多负责按权重应得份额的倍数, 0 表示不限制 */
+    @Value("${redis.sharded.loadFactor:0}")
+    private double  loadFactor;
+    @Value("${redis.reshard.previousNode:}")
+    private String  previousNode;
+    @Value("${redis.reshard.scanCount:100}")
+    private int     reshardScanCount;
+    @Value("${redis.reshard.maxKeysPerSecond:5000}")
+    private int     reshardMaxKeysPerSecond;
+    @Value("${redis.pool.adaptive.minTotal:8}")
+    private int     adaptiveMinTotal;
+    @Value("${redis.pool.adaptive.targetWaitMillis:2}")
+    private long    adaptiveTargetWaitMillis;
+    @Value("${redis.pool.adaptive.headroom:1.5}")
+    private double  adaptiveHeadroom;
+    @Value("${redis.pool.adaptive.intervalMillis:1000}")
+    private long    adaptiveIntervalMillis;
+    @Value("${redis.metrics.enabled:false}")
+    private boolean metricsEnabled;
+    @Value("${redis.metrics.name:redis-toolkit}")
+    private String  metricsName;
 
     /**
      * Jedis pool config jedis pool config.
@@ -78,15 +154,39 @@ public class ShardJedisConfiguration {
     @ConditionalOnProperty(value = "redis.model", havingValue = "sharding")
     @Bean(name = "shardedJedisPool", destroyMethod = "destroy")
     public ShardedJedisPool shardedJedisPool() {
+        RoutedShardedJedisPool pool = new RoutedShardedJedisPool(jedisPoolConfig(), jedisShardInfoList(), keyTag, loadFactor);
+        if (StringUtils.isNotBlank(previousNode)) {
+            // 增加分片后在线迁移, 迁移完成后删除 redis.reshard.previousNode
+            pool.reshard(parseShardInfoList(previousNode), reshardScanCount, reshardMaxKeysPerSecond);
+        }
+        return pool;
+    }
+
+    /**
+     * 解析 redis.node, 连接池与分片定位使用相同的分片信息, 保证一致性 hash 的结果相同
+     *
+     * @return the list
+     */
+    private List<JedisShardInfo> jedisShardInfoList() {
         // redis://127.0.0.1:6379;redis://127.0.0.1:6382
         if (StringUtils.isBlank(redisNode)) {
             throw new RuntimeException("redis node must to configure");
         }
 
-        String[] nodes = redisNode.split(SEMICOLON);
-        if (nodes.length == 1) {
+        if (redisNode.split(SEMICOLON).length == 1) {
             throw new RuntimeException("current redis model is sharding, support multiple groups redis node, if has one group redis node, please use standalone model for performance");
         }
+        return parseShardInfoList(redisNode);
+    }
+
+    /**
+     * 解析分片节点配置
+     *
+     * @param redisNodes redis://127.0.0.1:6379;redis://127.0.0.1:6382?weight=2
+     * @return the list
+     */
+    private List<JedisShardInfo> parseShardInfoList(String redisNodes) {
+        String[]             nodes              = redisNodes.split(SEMICOLON);
         List<JedisShardInfo> jedisShardInfoList = new ArrayList<>();
 
         URI uri;
@@ -94,16 +194,120 @@ public class ShardJedisConfiguration {
             try {
                 uri = new URI(node);
             } catch (URISyntaxException e) {
-                throw new RuntimeException("sentinel node analysis error, please use pattern like redis://[password@]ip:port[/database], sentinelNode = " + node);
+                throw new RuntimeException("sentinel node analysis error, please use pattern like redis://[password@]ip:port[/database][?weight=n], shardNode = " + node);
             }
             if (!Objects.equals(uri.getScheme(), AGREEMENT)) {
                 throw new RuntimeException("please use [redis://] agreement");
             }
-            JedisShardInfo jedisShardInfo = new JedisShardInfo(node);
+            JedisShardInfo jedisShardInfo = new WeightedJedisShardInfo(uri, WeightedJedisShardInfo.parseWeight(uri));
             jedisShardInfo.setConnectionTimeout(connectionTimeout);
             jedisShardInfo.setSoTimeout(soTimeout);
             jedisShardInfoList.add(jedisShardInfo);
         }
-        return new ShardedJedisPool(jedisPoolConfig(), jedisShardInfoList);
+        return jedisShardInfoList;
+    }
+
+    /**
+     * 分片模式下的 RedisService, 多 key 命令按分片批量发送
+     *
+     * @return the redis service
+     */
+    @ConditionalOnProperty(value = "redis.model", havingValue = "sharding")
+    @Bean(name = "redisService")
+    public RedisService redisService() {
+        RedisService redisService = new ShardedRedisServiceImpl(shardedJedisPool(), metricsEnabled ? redisMetrics() : null);
+        ShardedPoolPipelineExecutor pipelineExecutor = new ShardedPoolPipelineExecutor(shardedJedisPool(), jedisShardInfoList(), keyTag, loadFactor);
+        if (metricsEnabled) {
+            redisService = new InstrumentedRedisService(redisService, redisMetrics(), pipelineExecutor);
+        }
+        if (coalesceEnabled) {
+            redisService = new CoalescingRedisService(redisService,
+                                                      pipelineExecutor,
+                                                      coalesceWindowMicros,
+                                                      coalesceMaxBatch,
+                                                      coalesceThreads,
+                                                      metricsEnabled ? redisMetrics() : null);
+        }
+        if (hotKeyEnabled) {
+            redisService = new HotKeyRedisService(redisService,
+                                                  new HotKeyDetector(pipelineExecutor,
+                                                                     hotKeyWindowSeconds,
+                                                                     hotKeyTopK,
+                                                                     hotKeyThreshold));
+        }
+        if (singleFlightEnabled) {
+            redisService = new SingleFlightRedisService(redisService);
+        }
+        if (nearCacheEnabled) {
+            redisService = new CachingRedisService(redisService,
+                                                   pipelineExecutor,
+                                                   nearCacheChannel,
+                                                   nearCacheMaxSize,
+                                                   nearCacheTtlMillis,
+                                                   nearCacheKeyPrefixes);
+        }
+        return redisService;
+    }
+
+    /**
+     * 分片模式下的 AsyncRedisService
+     *
+     * @return the async redis service
+     */
+    @ConditionalOnProperty(value = "redis.model", havingValue = "sharding")
+    @Bean(name = "asyncRedisService", destroyMethod = "destroy")
+    public AsyncRedisServiceImpl asyncRedisService() {
+        return new AsyncRedisServiceImpl(redisService(),
+                                         new ShardedNodeLocator(jedisShardInfoList(), keyTag, loadFactor),
+                                         asyncThreads,
+                                         asyncMaxInFlightPerNode,
+                                         asyncMaxPendingPerNode);
+    }
+
+    /**
+     * 分片模式下的 BinaryRedisService, 与 redisService 使用同一个连接池.
+     * 不经过 RedisService 的装饰器, 写入的 key 不会使 near cache 失效, 也会绕过合并写改变同一个 key 的写入顺序,
+     * 因此开启 redis.nearCache.enabled 或 redis.coalesce.enabled 时需要设置 redis.binary.enabled=false, 否则启动失败
+     *
+     * @return the binary redis service
+     */
+    @ConditionalOnExpression("'${redis.model:}' == 'sharding' && ${redis.binary.enabled:true}")
+    @Bean(name = "binaryRedisService")
+    public BinaryRedisService binaryRedisService() {
+        if (nearCacheEnabled || coalesceEnabled) {
+            throw new RuntimeException("binaryRedisService bypasses near cache invalidation and write coalescing, "
+                                       + "please set redis.binary.enabled=false when redis.nearCache.enabled or redis.coalesce.enabled is true");
+        }
+        return new ShardedBinaryRedisServiceImpl(shardedJedisPool(), metricsEnabled ? redisMetrics() : null);
+    }
+
+    /**
+     * 根据借出等待时间动态调整连接池大小, redis.pool.maxActive 为上限
+     *
+     * @return the adaptive pool sizer
+     */
+    @ConditionalOnExpression("'${redis.model:}' == 'sharding' && ${redis.pool.adaptive.enabled:false}")
+    @Bean(name = "adaptivePoolSizer", destroyMethod = "shutdown")
+    public AdaptivePoolSizer adaptivePoolSizer() {
+        return new AdaptivePoolSizer(shardedJedisPool(),
+                                     adaptiveMinTotal,
+                                     maxTotal,
+                                     adaptiveTargetWaitMillis,
+                                     adaptiveHeadroom,
+                                     adaptiveIntervalMillis);
+    }
+
+    /**
+     * 连接池与命令耗时统计, 注册到 JMX
+     *
+     * @return the redis metrics
+     */
+    @ConditionalOnExpression("'${redis.model:}' == 'sharding' && ${redis.metrics.enabled:false}")
+    @Bean(name = "redisMetrics", destroyMethod = "unregister")
+    public RedisMetrics redisMetrics() {
+        RedisMetrics metrics = new RedisMetrics(metricsName);
+        metrics.registerPool("sharded", shardedJedisPool());
+        metrics.register();
+        return metrics;
     }
 }
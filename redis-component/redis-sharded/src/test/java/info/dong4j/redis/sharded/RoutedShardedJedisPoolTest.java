@@ -0,0 +1,104 @@
+package info.dong4j.redis.sharded;
+
+import info.dong4j.redis.service.support.ShardedPoolPipelineExecutor;
+import info.dong4j.redis.service.support.WriteCoalescer;
+import info.dong4j.redis.standin.StandInServer;
+
+import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import redis.clients.jedis.JedisShardInfo;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Response;
+import redis.clients.jedis.ShardedJedis;
+
+/**
+ * <p>Description: 增加分片后在线迁移的测试, 使用进程内 RESP 服务作为分片</p>
+ *
+ * @author dong4j
+ * @email dong4j@gmail.com
+ * @date 2026-10-18  23:59
+ */
+public class RoutedShardedJedisPoolTest {
+    private static final int KEYS = 200;
+
+    private final List<StandInServer>  servers = new ArrayList<>();
+    private final List<JedisShardInfo> shards  = new ArrayList<>();
+
+    @Before
+    public void setUp() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            StandInServer server = new StandInServer();
+            server.start();
+            servers.add(server);
+            shards.add(new JedisShardInfo(server.getHostAndPort().getHost(), server.getPort()));
+        }
+    }
+
+    @After
+    public void tearDown() {
+        for (StandInServer server : servers) {
+            server.close();
+        }
+    }
+
+    @Test
+    public void testCoalescedWriteDuringReshard() throws Exception {
+        List<JedisShardInfo>   previous = shards.subList(0, 2);
+        RoutedShardedJedisPool before   = new RoutedShardedJedisPool(new GenericObjectPoolConfig(), previous);
+        try (ShardedJedis jedis = before.getResource()) {
+            for (int i = 0; i < KEYS; i++) {
+                jedis.set("counter:" + i, "10");
+            }
+        }
+        before.destroy();
+
+        final RoutedShardedJedisPool pool = new RoutedShardedJedisPool(new GenericObjectPoolConfig(), shards);
+        // 后台迁移限速为每秒 1 个 key, 大部分 key 由合并后的写命令触发迁移
+        pool.reshard(previous, 1, 1);
+        final WriteCoalescer coalescer = new WriteCoalescer(new ShardedPoolPipelineExecutor(pool, shards), 20000, 64, 1);
+        ExecutorService      callers   = Executors.newFixedThreadPool(16);
+        List<Future<Long>>   results   = new ArrayList<>();
+        for (int i = 0; i < KEYS; i++) {
+            final String key = "counter:" + i;
+            results.add(callers.submit(new Callable<Long>() {
+                @Override
+                public Long call() throws Exception {
+                    return coalescer.execute(key, new WriteCoalescer.Command<Long>() {
+                        @Override
+                        public Response<Long> queue(Pipeline pipeline) {
+                            return pipeline.incr(key);
+                        }
+
+                        @Override
+                        public Long fallback() {
+                            try (ShardedJedis jedis = pool.getResource()) {
+                                return jedis.incr(key);
+                            }
+                        }
+                    });
+                }
+            }));
+        }
+        try {
+            for (Future<Long> result : results) {
+                // 同一批次中的每个 key 都要先从旧分片搬迁, 不能在新分片上从 0 开始计数
+                Assert.assertEquals(Long.valueOf(11), result.get());
+            }
+        } finally {
+            callers.shutdown();
+            coalescer.destroy();
+            pool.destroy();
+        }
+    }
+}
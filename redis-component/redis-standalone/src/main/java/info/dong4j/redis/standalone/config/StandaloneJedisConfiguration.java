@@ -1,7 +1,24 @@
 package info.dong4j.redis.standalone.config;
 
+import info.dong4j.redis.service.BinaryRedisService;
+import info.dong4j.redis.service.RedisService;
+import info.dong4j.redis.service.impl.AsyncRedisServiceImpl;
+import info.dong4j.redis.service.impl.CachingRedisService;
+import info.dong4j.redis.service.impl.CoalescingRedisService;
+import info.dong4j.redis.service.impl.HotKeyRedisService;
+import info.dong4j.redis.service.impl.InstrumentedRedisService;
+import info.dong4j.redis.service.impl.JedisBinaryRedisServiceImpl;
+import info.dong4j.redis.service.impl.JedisRedisServiceImpl;
+import info.dong4j.redis.service.impl.SingleFlightRedisService;
+import info.dong4j.redis.service.support.AdaptivePoolSizer;
+import info.dong4j.redis.service.support.HotKeyDetector;
+import info.dong4j.redis.service.support.JedisPoolPipelineExecutor;
+import info.dong4j.redis.service.support.RedisMetrics;
+import info.dong4j.redis.service.support.SingleNodeLocator;
+
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -44,6 +61,52 @@ public class StandaloneJedisConfiguration {
     private boolean testOnBorrow;
     @Value("${redis.pool.testOnReturn}")
     private boolean testOnReturn;
+    @Value("${redis.async.threads:64}")
+    private int     asyncThreads;
+    @Value("${redis.async.maxInFlightPerNode:32}")
+    private int     asyncMaxInFlightPerNode;
+    @Value("${redis.async.maxPendingPerNode:1024}")
+    private int     asyncMaxPendingPerNode;
+    @Value("${redis.coalesce.enabled:false}")
+    private boolean coalesceEnabled;
+    @Value("${redis.coalesce.windowMicros:200}")
+    private long    coalesceWindowMicros;
+    @Value("${redis.coalesce.maxBatch:64}")
+    private int     coalesceMaxBatch;
+    @Value("${redis.coalesce.threads:2}")
+    private int     coalesceThreads;
+    @Value("${redis.nearCache.enabled:false}")
+    private boolean nearCacheEnabled;
+    @Value("${redis.nearCache.maxSize:10000}")
+    private int     nearCacheMaxSize;
+    @Value("${redis.nearCache.ttlMillis:60000}")
+    private long    nearCacheTtlMillis;
+    @Value("${redis.nearCache.channel:redis-toolkit:near-cache:invalidate}")
+    private String  nearCacheChannel;
+    @Value("${redis.nearCache.keyPrefixes:}")
+    private String[] nearCacheKeyPrefixes;
+    @Value("${redis.singleFlight.enabled:false}")
+    private boolean singleFlightEnabled;
+    @Value("${redis.hotKey.enabled:false}")
+    private boolean hotKeyEnabled;
+    @Value("${redis.hotKey.windowSeconds:10}")
+    private int     hotKeyWindowSeconds;
+    @Value("${redis.hotKey.topK:20}")
+    private int     hotKeyTopK;
+    @Value("${redis.hotKey.threshold:10000}")
+    private long    hotKeyThreshold;
+    @Value("${redis.pool.adaptive.minTotal:8}")
+    private int     adaptiveMinTotal;
+    @Value("${redis.pool.adaptive.targetWaitMillis:2}")
+    private long    adaptiveTargetWaitMillis;
+    @Value("${redis.pool.adaptive.headroom:1.5}")
+    private double  adaptiveHeadroom;
+    @Value("${redis.pool.adaptive.intervalMillis:1000}")
+    private long    adaptiveIntervalMillis;
+    @Value("${redis.metrics.enabled:false}")
+    private boolean metricsEnabled;
+    @Value("${redis.metrics.name:redis-toolkit}")
+    private String  metricsName;
 
     /**
      * Jedis pool config jedis pool config.
@@ -100,4 +163,122 @@ public class StandaloneJedisConfiguration {
                              this.connectionTimeout,
                              JedisURIHelper.getPassword(uri));
     }
+
+    /**
+     * 节点标识 host:port, 不包含密码
+     *
+     * @return the string
+     */
+    private String nodeName() {
+        URI uri = URI.create(redisNode);
+        return uri.getHost() + ":" + uri.getPort();
+    }
+
+    /**
+     * 单机模式下的 RedisService
+     *
+     * @return the redis service
+     */
+    @ConditionalOnProperty(value = "redis.model", havingValue = "standalone")
+    @Bean(name = "redisService")
+    public RedisService redisService() {
+        RedisService redisService = metricsEnabled
+                                    ? new JedisRedisServiceImpl(jedisPool(), jedisPool(), redisMetrics())
+                                    : new JedisRedisServiceImpl(jedisPool());
+        JedisPoolPipelineExecutor pipelineExecutor = new JedisPoolPipelineExecutor(jedisPool(), nodeName());
+        if (metricsEnabled) {
+            redisService = new InstrumentedRedisService(redisService, redisMetrics(), pipelineExecutor);
+        }
+        if (coalesceEnabled) {
+            redisService = new CoalescingRedisService(redisService,
+                                                      pipelineExecutor,
+                                                      coalesceWindowMicros,
+                                                      coalesceMaxBatch,
+                                                      coalesceThreads,
+                                                      metricsEnabled ? redisMetrics() : null);
+        }
+        if (hotKeyEnabled) {
+            redisService = new HotKeyRedisService(redisService,
+                                                  new HotKeyDetector(pipelineExecutor,
+                                                                     hotKeyWindowSeconds,
+                                                                     hotKeyTopK,
+                                                                     hotKeyThreshold));
+        }
+        if (singleFlightEnabled) {
+            redisService = new SingleFlightRedisService(redisService);
+        }
+        if (nearCacheEnabled) {
+            redisService = new CachingRedisService(redisService,
+                                                   pipelineExecutor,
+                                                   nearCacheChannel,
+                                                   nearCacheMaxSize,
+                                                   nearCacheTtlMillis,
+                                                   nearCacheKeyPrefixes);
+        }
+        return redisService;
+    }
+
+    /**
+     * 单机模式下的 AsyncRedisService
+     *
+     * @return the async redis service
+     */
+    @ConditionalOnProperty(value = "redis.model", havingValue = "standalone")
+    @Bean(name = "asyncRedisService", destroyMethod = "destroy")
+    public AsyncRedisServiceImpl asyncRedisService() {
+        return new AsyncRedisServiceImpl(redisService(),
+                                         new SingleNodeLocator(nodeName()),
+                                         asyncThreads,
+                                         asyncMaxInFlightPerNode,
+                                         asyncMaxPendingPerNode);
+    }
+
+    /**
+     * 单机模式下的 BinaryRedisService, 与 redisService 使用同一个连接池.
+     * 不经过 RedisService 的装饰器, 写入的 key 不会使 near cache 失效, 也会绕过合并写改变同一个 key 的写入顺序,
+     * 因此开启 redis.nearCache.enabled 或 redis.coalesce.enabled 时需要设置 redis.binary.enabled=false, 否则启动失败
+     *
+     * @return the binary redis service
+     */
+    @ConditionalOnExpression("'${redis.model:}' == 'standalone' && ${redis.binary.enabled:true}")
+    @Bean(name = "binaryRedisService")
+    public BinaryRedisService binaryRedisService() {
+        if (nearCacheEnabled || coalesceEnabled) {
+            throw new RuntimeException("binaryRedisService bypasses near cache invalidation and write coalescing, "
+                                       + "please set redis.binary.enabled=false when redis.nearCache.enabled or redis.coalesce.enabled is true");
+        }
+        return metricsEnabled
+               ? new JedisBinaryRedisServiceImpl(jedisPool(), jedisPool(), redisMetrics())
+               : new JedisBinaryRedisServiceImpl(jedisPool());
+    }
+
+    /**
+     * 根据借出等待时间动态调整连接池大小, redis.pool.maxActive 为上限
+     *
+     * @return the adaptive pool sizer
+     */
+    @ConditionalOnExpression("'${redis.model:}' == 'standalone' && ${redis.pool.adaptive.enabled:false}")
+    @Bean(name = "adaptivePoolSizer", destroyMethod = "shutdown")
+    public AdaptivePoolSizer adaptivePoolSizer() {
+        return new AdaptivePoolSizer(jedisPool(),
+                                     adaptiveMinTotal,
+                                     maxTotal,
+                                     adaptiveTargetWaitMillis,
+                                     adaptiveHeadroom,
+                                     adaptiveIntervalMillis);
+    }
+
+    /**
+     * 连接池与命令耗时统计, 注册到 JMX
+     *
+     * @return the redis metrics
+     */
+    @ConditionalOnExpression("'${redis.model:}' == 'standalone' && ${redis.metrics.enabled:false}")
+    @Bean(name = "redisMetrics", destroyMethod = "unregister")
+    public RedisMetrics redisMetrics() {
+        RedisMetrics metrics = new RedisMetrics(metricsName);
+        metrics.registerPool(nodeName(), jedisPool());
+        metrics.register();
+        return metrics;
+    }
 }
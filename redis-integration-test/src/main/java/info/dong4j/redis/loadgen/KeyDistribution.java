@@ -0,0 +1,183 @@
+package info.dong4j.redis.loadgen;
+
+import java.util.Random;
+
+/**
+ * <p>Description: 压测 key 的访问分布</p>
+ * 生成 [0, keyCount) 中的 key 序号: uniform 均匀分布; zipfian 按 Zipf 分布, 序号越小越热;
+ * hotset 中 hotFraction 比例的 key 承担 hotOpFraction 比例的访问, 热 key 与冷 key 内部均匀分布.
+ *
+ * @author dong4j
+ * @email dong4j@gmail.com
+ * @date 2026-10-18  23:59
+ */
+public abstract class KeyDistribution {
+    public static final String UNIFORM = "uniform";
+    public static final String ZIPFIAN = "zipfian";
+    public static final String HOT_SET = "hotset";
+
+    protected final long keyCount;
+
+    protected KeyDistribution(long keyCount) {
+        if (keyCount <= 0) {
+            throw new IllegalArgumentException("key count must be positive, keyCount = " + keyCount);
+        }
+        this.keyCount = keyCount;
+    }
+
+    /**
+     * 下一个 key 序号
+     *
+     * @param random 调用线程的随机数生成器
+     * @return [0, keyCount) 中的序号
+     */
+    public abstract long next(Random random);
+
+    /**
+     * 按名称创建分布
+     *
+     * @param name          uniform / zipfian / hotset
+     * @param keyCount      key 数量
+     * @param zipfTheta     zipfian 的偏斜系数, (0, 1) 之间, 越大越集中
+     * @param hotFraction   hotset 中热 key 的比例
+     * @param hotOpFraction hotset 中访问热 key 的比例
+     * @return the key distribution
+     */
+    public static KeyDistribution of(String name, long keyCount, double zipfTheta, double hotFraction, double hotOpFraction) {
+        switch (name) {
+            case UNIFORM:
+                return new Uniform(keyCount);
+            case ZIPFIAN:
+                return new Zipfian(keyCount, zipfTheta);
+            case HOT_SET:
+                return new HotSet(keyCount, hotFraction, hotOpFraction);
+            default:
+                throw new IllegalArgumentException("unknown key distribution " + name + ", please use uniform, zipfian or hotset");
+        }
+    }
+
+    /**
+     * [0, bound) 中均匀分布的 long
+     *
+     * @param random the random
+     * @param bound  the bound
+     * @return the long
+     */
+    static long uniform(Random random, long bound) {
+        return Math.min((long) (random.nextDouble() * bound), bound - 1);
+    }
+
+    /**
+     * <p>Description: 均匀分布 </p>
+     *
+     * @author dong4j
+     * @email dong4j@gmail.com
+     * @date 2026-10-18  23:59
+     */
+    static class Uniform extends KeyDistribution {
+        Uniform(long keyCount) {
+            super(keyCount);
+        }
+
+        @Override
+        public long next(Random random) {
+            return uniform(random, keyCount);
+        }
+
+        @Override
+        public String toString() {
+            return UNIFORM;
+        }
+    }
+
+    /**
+     * <p>Description: Zipf 分布 </p>
+     * 使用 YCSB ZipfianGenerator 的算法(Gray et al., Quickly Generating Billion-Record Synthetic Databases),
+     * 构造时计算一次 zeta(n, theta), 耗时与 key 数量成正比, 之后每次生成为常数时间.
+     *
+     * @author dong4j
+     * @email dong4j@gmail.com
+     * @date 2026-10-18  23:59
+     */
+    static class Zipfian extends KeyDistribution {
+        private final double theta;
+        private final double zetaN;
+        private final double alpha;
+        private final double eta;
+        /** u * zeta(n) 落在 [1, secondBound) 时为序号 1 */
+        private final double secondBound;
+
+        Zipfian(long keyCount, double theta) {
+            super(keyCount);
+            if (theta <= 0 || theta >= 1) {
+                throw new IllegalArgumentException("zipfian theta must be in (0, 1), theta = " + theta);
+            }
+            this.theta = theta;
+            this.zetaN = zeta(keyCount, theta);
+            this.alpha = 1 / (1 - theta);
+            this.eta = (1 - Math.pow(2.0 / keyCount, 1 - theta)) / (1 - zeta(2, theta) / zetaN);
+            this.secondBound = 1 + Math.pow(0.5, theta);
+        }
+
+        private static double zeta(long n, double theta) {
+            double sum = 0;
+            for (long i = 1; i <= n; i++) {
+                sum += 1 / Math.pow(i, theta);
+            }
+            return sum;
+        }
+
+        @Override
+        public long next(Random random) {
+            double u  = random.nextDouble();
+            double uz = u * zetaN;
+            if (uz < 1) {
+                return 0;
+            }
+            if (uz < secondBound && keyCount > 1) {
+                return 1;
+            }
+            return Math.min((long) (keyCount * Math.pow(eta * u - eta + 1, alpha)), keyCount - 1);
+        }
+
+        @Override
+        public String toString() {
+            return ZIPFIAN + "(theta=" + theta + ")";
+        }
+    }
+
+    /**
+     * <p>Description: 热点集合 </p>
+     *
+     * @author dong4j
+     * @email dong4j@gmail.com
+     * @date 2026-10-18  23:59
+     */
+    static class HotSet extends KeyDistribution {
+        private final long   hotKeys;
+        private final double hotOpFraction;
+
+        HotSet(long keyCount, double hotFraction, double hotOpFraction) {
+            super(keyCount);
+            if (hotFraction <= 0 || hotFraction > 1 || hotOpFraction < 0 || hotOpFraction > 1) {
+                throw new IllegalArgumentException("hot fraction must be in (0, 1] and hot op fraction in [0, 1], hotFraction = "
+                                                   + hotFraction + ", hotOpFraction = " + hotOpFraction);
+            }
+            this.hotKeys = Math.max(1, (long) (keyCount * hotFraction));
+            this.hotOpFraction = hotOpFraction;
+        }
+
+        @Override
+        public long next(Random random) {
+            if (hotKeys == keyCount || random.nextDouble() < hotOpFraction) {
+                return uniform(random, hotKeys);
+            }
+            return hotKeys + uniform(random, keyCount - hotKeys);
+        }
+
+        @Override
+        public String toString() {
+            return HOT_SET + "(hotKeys=" + hotKeys + ", hotOpFraction=" + hotOpFraction + ")";
+        }
+    }
+}
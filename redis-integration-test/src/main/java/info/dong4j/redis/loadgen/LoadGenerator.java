@@ -0,0 +1,177 @@
+package info.dong4j.redis.loadgen;
+
+import info.dong4j.redis.service.support.LatencyHistogram;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * <p>Description: 多线程压测</p>
+ * threads 个线程按 readRatio 的比例执行 GET/SET, key 为 load:序号, 序号按 {@link KeyDistribution} 生成, SET 写入 valueSize 字节的值.
+ * rate 大于 0 时为开环压测: 每个线程按 rate / threads 的速率计划发送时间, 落后于计划时不等待,
+ * 响应时间从计划发送时间算起, 不会因为慢请求拖慢发送而低估延迟.
+ * rate 为 0 时为闭环压测(尽可能快), 以预热阶段的平均耗时作为期望间隔, 用 {@link LatencyHistogram#record(long, long)} 补记被慢请求阻塞的请求.
+ * 预热阶段不计入结果.
+ *
+ * @author dong4j
+ * @email dong4j@gmail.com
+ * @date 2026-10-18  23:59
+ */
+@Slf4j
+public class LoadGenerator {
+    private static final String KEY_PREFIX = "load:";
+
+    private final LoadTarget       target;
+    private final KeyDistribution  keys;
+    private final int              threads;
+    private final double           readRatio;
+    private final String           value;
+    private final long             rate;
+    private final LatencyHistogram serviceTime  = new LatencyHistogram();
+    private final LatencyHistogram responseTime = new LatencyHistogram();
+    private final AtomicLong       reads        = new AtomicLong();
+    private final AtomicLong       writes       = new AtomicLong();
+    private final AtomicLong       errors       = new AtomicLong();
+    private final AtomicLong       warmupOps    = new AtomicLong();
+    private final AtomicLong       warmupNanos  = new AtomicLong();
+
+    private volatile boolean running;
+    private volatile boolean measuring;
+    /** 闭环压测时的期望间隔 */
+    private volatile long    expectedIntervalNanos;
+
+    /**
+     * Instantiates a new Load generator.
+     *
+     * @param target    压测对象
+     * @param keys      key 分布
+     * @param threads   线程数
+     * @param readRatio 读命令的比例, [0, 1]
+     * @param valueSize 写入的值的字节数
+     * @param rate      所有线程合计每秒发送的命令数, 0 表示不限速
+     */
+    public LoadGenerator(LoadTarget target, KeyDistribution keys, int threads, double readRatio, int valueSize, long rate) {
+        if (threads <= 0 || readRatio < 0 || readRatio > 1 || valueSize < 0 || rate < 0) {
+            throw new IllegalArgumentException("invalid load options, threads = " + threads + ", readRatio = " + readRatio
+                                               + ", valueSize = " + valueSize + ", rate = " + rate);
+        }
+        this.target = target;
+        this.keys = keys;
+        this.threads = threads;
+        this.readRatio = readRatio;
+        this.rate = rate;
+        StringBuilder builder = new StringBuilder(valueSize);
+        Random        random  = new Random(valueSize);
+        for (int i = 0; i < valueSize; i++) {
+            builder.append((char) ('a' + random.nextInt(26)));
+        }
+        this.value = builder.toString();
+    }
+
+    /**
+     * 执行压测
+     *
+     * @param warmupMillis   预热时长
+     * @param durationMillis 统计时长
+     * @return the load report
+     * @throws InterruptedException the interrupted exception
+     */
+    public LoadReport run(long warmupMillis, long durationMillis) throws InterruptedException {
+        log.info("Load started: threads=" + threads + ", rate=" + (rate == 0 ? "unlimited" : rate + " ops/s")
+                 + ", readRatio=" + readRatio + ", valueSize=" + value.length() + ", keys=" + keys);
+        running = true;
+        final long   start   = System.nanoTime();
+        List<Thread> workers = new ArrayList<>(threads);
+        for (int i = 0; i < threads; i++) {
+            final int index = i;
+            Thread worker = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    work(start, index);
+                }
+            }, "load-generator-" + i);
+            worker.setDaemon(true);
+            worker.start();
+            workers.add(worker);
+        }
+        try {
+            TimeUnit.MILLISECONDS.sleep(warmupMillis);
+            long ops = warmupOps.get();
+            if (rate == 0 && ops > 0) {
+                expectedIntervalNanos = warmupNanos.get() / ops;
+            }
+            measuring = true;
+            long begin = System.nanoTime();
+            TimeUnit.MILLISECONDS.sleep(durationMillis);
+            measuring = false;
+            long elapsed = System.nanoTime() - begin;
+            return new LoadReport(reads.get(), writes.get(), errors.get(), elapsed,
+                                  serviceTime.snapshot(), responseTime.snapshot());
+        } finally {
+            running = false;
+            for (Thread worker : workers) {
+                worker.join();
+            }
+        }
+    }
+
+    /**
+     * 单个线程的发送循环
+     *
+     * @param start 压测开始时间
+     * @param index 线程序号, 开环压测时用于错开各线程的首次发送时间
+     */
+    private void work(long start, int index) {
+        Random random   = ThreadLocalRandom.current();
+        long   interval = rate == 0 ? 0 : TimeUnit.SECONDS.toNanos(threads) / rate;
+        long   intended = start + interval * index / threads;
+        while (running) {
+            if (interval > 0) {
+                long wait;
+                while ((wait = intended - System.nanoTime()) > 0 && running) {
+                    LockSupport.parkNanos(wait);
+                }
+            }
+            long begin = System.nanoTime();
+            if (interval == 0) {
+                intended = begin;
+            }
+            String    key     = KEY_PREFIX + keys.next(random);
+            boolean   read    = random.nextDouble() < readRatio;
+            Exception failure = null;
+            try {
+                if (read) {
+                    target.get(key);
+                } else {
+                    target.set(key, value);
+                }
+            } catch (Exception e) {
+                failure = e;
+            }
+            long end = System.nanoTime();
+            if (measuring) {
+                if (failure != null && errors.incrementAndGet() == 1) {
+                    log.warn("Load command failed, key = " + key + ". " + failure.getMessage());
+                }
+                serviceTime.record(end - begin);
+                if (interval > 0) {
+                    responseTime.record(end - intended);
+                } else {
+                    responseTime.record(end - begin, expectedIntervalNanos);
+                }
+                (read ? reads : writes).incrementAndGet();
+            } else if (interval == 0) {
+                warmupOps.incrementAndGet();
+                warmupNanos.addAndGet(end - begin);
+            }
+            intended += interval;
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package info.dong4j.redis.loadgen;
+
+import info.dong4j.redis.cluster.config.JedisClusterConfiguration;
+import info.dong4j.redis.sentinel.config.JedisSentinelConfiguration;
+import info.dong4j.redis.service.RedisService;
+import info.dong4j.redis.sharded.config.ShardJedisConfiguration;
+import info.dong4j.redis.sharded.sentinel.config.ShardSentinelJedisConfiguration;
+import info.dong4j.redis.standalone.config.StandaloneJedisConfiguration;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.redis.RedisRepositoriesAutoConfiguration;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.ImportSelector;
+import org.springframework.core.env.Environment;
+import org.springframework.core.type.AnnotationMetadata;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * <p>Description: 压测入口</p>
+ * 通过 spring.profiles.active 选择 application-{profile}.properties 中的 redis.model, 例如
+ * java -cp ... info.dong4j.redis.loadgen.LoadGeneratorApplication --spring.profiles.active=cluster --redis.load.threads=64
+ * spring-sentinel 模式压测 RedisTemplate, 其他模式压测 RedisService. 压测参数见 application.properties 中的 redis.load.*.
+ * 只引入当前 redis.model 的配置类, 其他模式的配置类缺少必填的配置项.
+ *
+ * @author dong4j
+ * @email dong4j@gmail.com
+ * @date 2026-10-18  23:59
+ */
+@Slf4j
+@SpringBootApplication(exclude = {RedisAutoConfiguration.class, RedisRepositoriesAutoConfiguration.class})
+@Import(LoadGeneratorApplication.ModelConfigurationSelector.class)
+public class LoadGeneratorApplication implements CommandLineRunner {
+    private static final String FLAG            = "load";
+    private static final String SPRING_SENTINEL = "spring-sentinel";
+
+    @Value("${redis.model:}")
+    private String model;
+    @Value("${redis.load.threads:16}")
+    private int    threads;
+    @Value("${redis.load.rate:0}")
+    private long   rate;
+    @Value("${redis.load.warmupSeconds:10}")
+    private int    warmupSeconds;
+    @Value("${redis.load.durationSeconds:60}")
+    private int    durationSeconds;
+    @Value("${redis.load.keyCount:100000}")
+    private long   keyCount;
+    @Value("${redis.load.distribution:zipfian}")
+    private String distribution;
+    @Value("${redis.load.zipfTheta:0.99}")
+    private double zipfTheta;
+    @Value("${redis.load.hotFraction:0.01}")
+    private double hotFraction;
+    @Value("${redis.load.hotOpFraction:0.9}")
+    private double hotOpFraction;
+    @Value("${redis.load.readRatio:0.9}")
+    private double readRatio;
+    @Value("${redis.load.valueSize:128}")
+    private int    valueSize;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    public static void main(String[] args) {
+        SpringApplication.run(LoadGeneratorApplication.class, args).close();
+    }
+
+    @Override
+    public void run(String... args) throws Exception {
+        KeyDistribution keys = KeyDistribution.of(distribution, keyCount, zipfTheta, hotFraction, hotOpFraction);
+        LoadGenerator generator = new LoadGenerator(loadTarget(), keys, threads, readRatio, valueSize, rate);
+        LoadReport report = generator.run(TimeUnit.SECONDS.toMillis(warmupSeconds), TimeUnit.SECONDS.toMillis(durationSeconds));
+        log.info("Load finished, redis.model = " + model + ", " + report);
+    }
+
+    /**
+     * 当前 redis.model 的压测对象
+     *
+     * @return the load target
+     */
+    @SuppressWarnings("unchecked")
+    private LoadTarget loadTarget() {
+        if (SPRING_SENTINEL.equals(model)) {
+            final ValueOperations<String, Object> operations =
+                applicationContext.getBean("redisTemplate", RedisTemplate.class).opsForValue();
+            return new LoadTarget() {
+                @Override
+                public Object get(String key) {
+                    return operations.get(key);
+                }
+
+                @Override
+                public void set(String key, String value) {
+                    operations.set(key, value);
+                }
+            };
+        }
+        final RedisService redisService = applicationContext.getBean("redisService", RedisService.class);
+        return new LoadTarget() {
+            @Override
+            public Object get(String key) throws Exception {
+                return redisService.get(FLAG, key);
+            }
+
+            @Override
+            public void set(String key, String value) throws Exception {
+                redisService.set(FLAG, key, value);
+            }
+        };
+    }
+
+    /**
+     * <p>Description: 按 redis.model 选择配置类 </p>
+     *
+     * @author dong4j
+     * @email dong4j@gmail.com
+     * @date 2026-10-18  23:59
+     */
+    static class ModelConfigurationSelector implements ImportSelector, EnvironmentAware {
+        private static final Map<String, Class<?>> CONFIGURATIONS = new HashMap<>();
+
+        static {
+            CONFIGURATIONS.put("standalone", StandaloneJedisConfiguration.class);
+            CONFIGURATIONS.put("sentinel", JedisSentinelConfiguration.class);
+            CONFIGURATIONS.put(SPRING_SENTINEL, info.dong4j.redis.spring.sentinel.config.JedisSentinelConfiguration.class);
+            CONFIGURATIONS.put("sharding", ShardJedisConfiguration.class);
+            CONFIGURATIONS.put("sharding-sentinel", ShardSentinelJedisConfiguration.class);
+            CONFIGURATIONS.put("cluster", JedisClusterConfiguration.class);
+        }
+
+        private Environment environment;
+
+        @Override
+        public void setEnvironment(Environment environment) {
+            this.environment = environment;
+        }
+
+        @Override
+        public String[] selectImports(AnnotationMetadata importingClassMetadata) {
+            String   model         = environment.getProperty("redis.model", "");
+            Class<?> configuration = CONFIGURATIONS.get(model);
+            if (configuration == null) {
+                throw new IllegalArgumentException("unknown redis.model '" + model + "', please use one of " + CONFIGURATIONS.keySet());
+            }
+            return new String[] {configuration.getName()};
+        }
+    }
+}
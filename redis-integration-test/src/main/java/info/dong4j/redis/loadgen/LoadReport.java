@@ -0,0 +1,80 @@
+package info.dong4j.redis.loadgen;
+
+import info.dong4j.redis.service.support.LatencySnapshot;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Description: 压测结果</p>
+ * serviceTime 为命令从发出到返回的耗时; responseTime 从计划发出的时间算起, 修正了协调遗漏(coordinated omission),
+ * 反映按目标速率到达的请求实际等待的时间.
+ *
+ * @author dong4j
+ * @email dong4j@gmail.com
+ * @date 2026-10-18  23:59
+ */
+public class LoadReport {
+    private final long            reads;
+    private final long            writes;
+    private final long            errors;
+    private final long            elapsedNanos;
+    private final LatencySnapshot serviceTime;
+    private final LatencySnapshot responseTime;
+
+    /**
+     * Instantiates a new Load report.
+     *
+     * @param reads        读命令数
+     * @param writes       写命令数
+     * @param errors       失败的命令数(包含在读写命令数中)
+     * @param elapsedNanos 统计时长(纳秒)
+     * @param serviceTime  命令耗时
+     * @param responseTime 修正协调遗漏后的响应时间
+     */
+    public LoadReport(long reads, long writes, long errors, long elapsedNanos, LatencySnapshot serviceTime,
+                      LatencySnapshot responseTime) {
+        this.reads = reads;
+        this.writes = writes;
+        this.errors = errors;
+        this.elapsedNanos = elapsedNanos;
+        this.serviceTime = serviceTime;
+        this.responseTime = responseTime;
+    }
+
+    public long getReads() {
+        return reads;
+    }
+
+    public long getWrites() {
+        return writes;
+    }
+
+    public long getErrors() {
+        return errors;
+    }
+
+    /**
+     * 每秒完成的命令数
+     *
+     * @return the throughput
+     */
+    public double getThroughput() {
+        return elapsedNanos == 0 ? 0 : (reads + writes) * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+    }
+
+    public LatencySnapshot getServiceTime() {
+        return serviceTime;
+    }
+
+    public LatencySnapshot getResponseTime() {
+        return responseTime;
+    }
+
+    @Override
+    public String toString() {
+        return "throughput=" + String.format("%.1f", getThroughput()) + " ops/s, reads=" + reads + ", writes=" + writes
+               + ", errors=" + errors + ", seconds=" + String.format("%.1f", elapsedNanos / 1e9)
+               + "\n  service  time: " + serviceTime
+               + "\n  response time: " + responseTime;
+    }
+}
@@ -0,0 +1,29 @@
+package info.dong4j.redis.loadgen;
+
+/**
+ * <p>Description: 压测对象</p>
+ * 各 redis.model 下分别适配 RedisService 与 spring-sentinel 的 RedisTemplate.
+ *
+ * @author dong4j
+ * @email dong4j@gmail.com
+ * @date 2026-10-18  23:59
+ */
+public interface LoadTarget {
+    /**
+     * 读
+     *
+     * @param key the key
+     * @return the object
+     * @throws Exception the exception
+     */
+    Object get(String key) throws Exception;
+
+    /**
+     * 写
+     *
+     * @param key   the key
+     * @param value the value
+     * @throws Exception the exception
+     */
+    void set(String key, String value) throws Exception;
+}
@@ -0,0 +1,51 @@
+package info.dong4j.redis.loadgen;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ * <p>Description: 压测 key 分布测试</p>
+ *
+ * @author dong4j
+ * @email dong4j@gmail.com
+ * @date 2026-10-18  23:59
+ */
+public class KeyDistributionTest {
+    private static final int SAMPLES = 200000;
+
+    @Test
+    public void testZipfianIsSkewed() {
+        KeyDistribution zipfian = KeyDistribution.of(KeyDistribution.ZIPFIAN, 10000, 0.99, 0, 0);
+        long[]          counts  = histogram(zipfian, 10000);
+        // theta = 0.99 时序号 0 约占 1 / zeta(10000, 0.99) ≈ 10%
+        Assert.assertEquals(0.1, counts[0] / (double) SAMPLES, 0.02);
+        Assert.assertTrue(counts[0] > counts[1] && counts[1] > counts[10] && counts[10] > counts[1000]);
+    }
+
+    @Test
+    public void testHotSetShare() {
+        KeyDistribution hotSet = KeyDistribution.of(KeyDistribution.HOT_SET, 10000, 0, 0.01, 0.9);
+        long[]          counts = histogram(hotSet, 10000);
+        long            hot    = 0;
+        for (int i = 0; i < 100; i++) {
+            hot += counts[i];
+        }
+        Assert.assertEquals(0.9, hot / (double) SAMPLES, 0.01);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownDistribution() {
+        KeyDistribution.of("gaussian", 100, 0.99, 0.01, 0.9);
+    }
+
+    private static long[] histogram(KeyDistribution distribution, int keyCount) {
+        Random random = new Random(17);
+        long[] counts = new long[keyCount];
+        for (int i = 0; i < SAMPLES; i++) {
+            counts[(int) distribution.next(random)]++;
+        }
+        return counts;
+    }
+}
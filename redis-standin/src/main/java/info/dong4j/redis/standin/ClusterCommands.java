@@ -0,0 +1,163 @@
+package info.dong4j.redis.standin;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>Description: CLUSTER 命令</p>
+ * 支持 SLOTS/NODES/INFO/MYID/KEYSLOT/COUNTKEYSINSLOT/GETKEYSINSLOT 及 ASKING/READONLY/READWRITE.
+ *
+ * @author dong4j
+ * @email dong4j@gmail.com
+ * @date 2026-10-18  23:59
+ */
+class ClusterCommands extends CommandGroup {
+    private final StandInCluster.Node node;
+
+    ClusterCommands(StandInCluster.Node node) {
+        this.node = node;
+        command("cluster", -2, false, 0, 0, 0);
+        command("asking", 1, false, 0, 0, 0);
+        command("readonly", 1, false, 0, 0, 0);
+        command("readwrite", 1, false, 0, 0, 0);
+    }
+
+    @Override
+    boolean isLocked() {
+        return false;
+    }
+
+    @Override
+    void execute(Session session, Keyspace keyspace, String[] args, RespWriter out) throws IOException {
+        if (!"cluster".equals(args[0])) {
+            out.ok();
+            return;
+        }
+        StandInCluster cluster = node.cluster;
+        switch (args[1].toLowerCase()) {
+            case "slots": {
+                List<int[]> ranges = ranges(cluster);
+                out.array(ranges.size());
+                for (int[] range : ranges) {
+                    StandInCluster.Node owner = cluster.nodes().get(range[2]);
+                    out.array(3);
+                    out.integer(range[0]);
+                    out.integer(range[1]);
+                    out.array(3);
+                    out.bulk(owner.getHostAndPort().getHost());
+                    out.integer(owner.getPort());
+                    out.bulk(owner.id);
+                }
+                break;
+            }
+            case "nodes":
+                out.bulk(nodes(cluster));
+                break;
+            case "info":
+                out.bulk("cluster_state:ok\r\n"
+                         + "cluster_slots_assigned:" + StandInCluster.SLOTS + "\r\n"
+                         + "cluster_slots_ok:" + StandInCluster.SLOTS + "\r\n"
+                         + "cluster_slots_pfail:0\r\n"
+                         + "cluster_slots_fail:0\r\n"
+                         + "cluster_known_nodes:" + cluster.size() + "\r\n"
+                         + "cluster_size:" + cluster.size() + "\r\n"
+                         + "cluster_current_epoch:" + cluster.size() + "\r\n"
+                         + "cluster_my_epoch:" + (node.index + 1) + "\r\n");
+                break;
+            case "myid":
+                out.bulk(node.id);
+                break;
+            case "keyslot":
+                arity(args, 3);
+                out.integer(StandInCluster.slot(args[2]));
+                break;
+            case "countkeysinslot":
+                arity(args, 3);
+                out.integer(keysInSlot(keyspace, slot(args[2]), Integer.MAX_VALUE).size());
+                break;
+            case "getkeysinslot": {
+                arity(args, 4);
+                int count = parseInt(args[3]);
+                if (count < 0) {
+                    throw new CommandError("ERR Invalid number of keys");
+                }
+                out.array(keysInSlot(keyspace, slot(args[2]), count));
+                break;
+            }
+            default:
+                throw new CommandError("ERR Unknown subcommand or wrong number of arguments for '" + args[1] + "'. Try CLUSTER HELP.");
+        }
+    }
+
+    /**
+     * 按节点合并连续的 slot
+     *
+     * @param cluster the cluster
+     * @return {start, end, 节点下标}
+     */
+    private static List<int[]> ranges(StandInCluster cluster) {
+        List<int[]> ranges = new ArrayList<>();
+        int         start  = 0;
+        for (int slot = 1; slot <= StandInCluster.SLOTS; slot++) {
+            if (slot == StandInCluster.SLOTS || cluster.owner(slot) != cluster.owner(start)) {
+                ranges.add(new int[] {start, slot - 1, cluster.owner(start)});
+                start = slot;
+            }
+        }
+        return ranges;
+    }
+
+    private String nodes(StandInCluster cluster) {
+        List<int[]>   ranges = ranges(cluster);
+        StringBuilder result = new StringBuilder();
+        for (StandInCluster.Node member : cluster.nodes()) {
+            result.append(member.id).append(' ')
+                  .append(member.getHostAndPort().getHost()).append(':').append(member.getPort())
+                  .append('@').append(member.getPort() + 10000).append(' ')
+                  .append(member == node ? "myself," : "")
+                  .append("master")
+                  .append(member.isRunning() ? "" : ",fail")
+                  .append(" - 0 0 ").append(member.index + 1).append(" connected");
+            for (int[] range : ranges) {
+                if (range[2] == member.index) {
+                    result.append(' ').append(range[0]);
+                    if (range[1] != range[0]) {
+                        result.append('-').append(range[1]);
+                    }
+                }
+            }
+            result.append('\n');
+        }
+        return result.toString();
+    }
+
+    private static List<String> keysInSlot(Keyspace keyspace, int slot, int limit) {
+        List<String> keys = new ArrayList<>();
+        synchronized (keyspace) {
+            for (String key : keyspace.db(0).keys()) {
+                if (keys.size() >= limit) {
+                    break;
+                }
+                if (StandInCluster.slot(key) == slot) {
+                    keys.add(key);
+                }
+            }
+        }
+        return keys;
+    }
+
+    private static int slot(String value) {
+        int slot = parseInt(value);
+        if (slot < 0 || slot >= StandInCluster.SLOTS) {
+            throw new CommandError("ERR Invalid slot");
+        }
+        return slot;
+    }
+
+    private static void arity(String[] args, int arity) {
+        if (args.length != arity) {
+            throw CommandError.arity("cluster " + args[1].toLowerCase());
+        }
+    }
+}
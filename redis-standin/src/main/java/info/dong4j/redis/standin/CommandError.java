@@ -0,0 +1,44 @@
+package info.dong4j.redis.standin;
+
+/**
+ * <p>Description: 命令执行错误</p>
+ * message 即为回复给客户端的错误内容(不含前缀 '-'), 与 redis 的错误文本保持一致,
+ * 客户端按错误前缀(WRONGTYPE/MOVED/BUSYKEY 等)判断错误类型.
+ *
+ * @author dong4j
+ * @email dong4j@gmail.com
+ * @date 2026-10-18  23:59
+ */
+class CommandError extends RuntimeException {
+    private static final long serialVersionUID = -2735142876405612617L;
+
+    CommandError(String message) {
+        super(message);
+    }
+
+    static CommandError wrongType() {
+        return new CommandError("WRONGTYPE Operation against a key holding the wrong kind of value");
+    }
+
+    static CommandError notInteger() {
+        return new CommandError("ERR value is not an integer or out of range");
+    }
+
+    static CommandError notFloat() {
+        return new CommandError("ERR value is not a valid float");
+    }
+
+    static CommandError syntax() {
+        return new CommandError("ERR syntax error");
+    }
+
+    static CommandError arity(String command) {
+        return new CommandError("ERR wrong number of arguments for '" + command + "' command");
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        // 错误回复是正常的控制流, 不需要堆栈
+        return this;
+    }
+}
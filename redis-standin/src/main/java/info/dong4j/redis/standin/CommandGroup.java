@@ -0,0 +1,168 @@
+package info.dong4j.redis.standin;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>Description: 一组命令的实现</p>
+ * 子类在构造方法中通过 {@link #command} 注册命令, 在 {@link #execute} 中按命令名(小写)分发.
+ * {@link #isLocked()} 为 true 的命令组在持有 {@link Keyspace} 锁时执行.
+ *
+ * @author dong4j
+ * @email dong4j@gmail.com
+ * @date 2026-10-18  23:59
+ */
+abstract class CommandGroup {
+    private final Map<String, CommandSpec> specs = new LinkedHashMap<>();
+
+    /**
+     * 执行命令
+     *
+     * @param session  the session
+     * @param keyspace the keyspace
+     * @param args     命令名称及参数, args[0] 为命令名
+     * @param out      the out
+     * @throws IOException the io exception
+     */
+    abstract void execute(Session session, Keyspace keyspace, String[] args, RespWriter out) throws IOException;
+
+    boolean isLocked() {
+        return true;
+    }
+
+    Map<String, CommandSpec> specs() {
+        return specs;
+    }
+
+    void command(String name, int arity, boolean write, int firstKey, int lastKey, int step) {
+        specs.put(name, new CommandSpec(name, arity, write, firstKey, lastKey, step));
+    }
+
+    /**
+     * 只有一个 key 的命令
+     *
+     * @param name  the name
+     * @param arity the arity
+     * @param write the write
+     */
+    void command(String name, int arity, boolean write) {
+        command(name, arity, write, 1, 1, 1);
+    }
+
+    static long parseLong(String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw CommandError.notInteger();
+        }
+    }
+
+    static int parseInt(String value) {
+        long result = parseLong(value);
+        if (result > Integer.MAX_VALUE || result < Integer.MIN_VALUE) {
+            throw CommandError.notInteger();
+        }
+        return (int) result;
+    }
+
+    static double parseDouble(String value) {
+        switch (value.toLowerCase()) {
+            case "inf":
+            case "+inf":
+                return Double.POSITIVE_INFINITY;
+            case "-inf":
+                return Double.NEGATIVE_INFINITY;
+            default:
+                try {
+                    double result = Double.parseDouble(value);
+                    if (Double.isNaN(result)) {
+                        throw CommandError.notFloat();
+                    }
+                    return result;
+                } catch (NumberFormatException e) {
+                    throw CommandError.notFloat();
+                }
+        }
+    }
+
+    /**
+     * 把 LRANGE/ZRANGE 等命令的下标(支持负数)规范化为 [0, size - 1] 内的闭区间
+     *
+     * @param start the start
+     * @param end   the end
+     * @param size  the size
+     * @return {start, end}, start > end 时区间为空
+     */
+    static int[] range(long start, long end, int size) {
+        if (start < 0) {
+            start = Math.max(0, size + start);
+        }
+        if (end < 0) {
+            end = size + end;
+        }
+        if (end >= size) {
+            end = size - 1;
+        }
+        return new int[] {(int) Math.min(start, Integer.MAX_VALUE), (int) end};
+    }
+
+    static Database db(Session session, Keyspace keyspace) {
+        return keyspace.db(session.db);
+    }
+
+    /**
+     * SCAN/HSCAN/SSCAN/ZSCAN 的公共实现
+     * 游标为按字典序排序后的下标, 遍历期间新增的元素可能被跳过或重复返回, 与 redis 的保证一致.
+     *
+     * @param items       元素, hash/zset 为 {field, value}/{member, score}, MATCH 作用于第一个
+     * @param args        命令名称及参数
+     * @param cursorIndex 游标参数的位置
+     * @param out         the out
+     * @throws IOException the io exception
+     */
+    static void scan(List<String[]> items, String[] args, int cursorIndex, RespWriter out) throws IOException {
+        long   cursor  = parseLong(args[cursorIndex]);
+        String pattern = null;
+        long   count   = 10;
+        for (int i = cursorIndex + 1; i < args.length; i += 2) {
+            if (i + 1 >= args.length) {
+                throw CommandError.syntax();
+            }
+            switch (args[i].toLowerCase()) {
+                case "match":
+                    pattern = args[i + 1];
+                    break;
+                case "count":
+                    count = parseLong(args[i + 1]);
+                    if (count < 1) {
+                        throw CommandError.syntax();
+                    }
+                    break;
+                default:
+                    throw CommandError.syntax();
+            }
+        }
+        Collections.sort(items, new Comparator<String[]>() {
+            @Override
+            public int compare(String[] a, String[] b) {
+                return a[0].compareTo(b[0]);
+            }
+        });
+        List<String> result = new ArrayList<>();
+        long         next   = cursor;
+        while (next < items.size() && next < cursor + count) {
+            String[] item = items.get((int) next++);
+            if (pattern == null || Glob.matches(pattern, item[0])) {
+                Collections.addAll(result, item);
+            }
+        }
+        out.array(2);
+        out.bulk(next >= items.size() ? "0" : Long.toString(next));
+        out.array(result);
+    }
+}
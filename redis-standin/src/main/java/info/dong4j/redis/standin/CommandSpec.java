@@ -0,0 +1,56 @@
+package info.dong4j.redis.standin;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * <p>Description: 命令描述, 对应 redis 命令表中的一项</p>
+ * arity 为正数时参数个数(含命令名)必须相等, 为负数时至少为其绝对值;
+ * firstKey/lastKey/step 描述 key 在参数中的位置, lastKey 为负数时从末尾倒数, 集群模式据此计算 slot.
+ *
+ * @author dong4j
+ * @email dong4j@gmail.com
+ * @date 2026-10-18  23:59
+ */
+class CommandSpec {
+    final String  name;
+    final int     arity;
+    final boolean write;
+    final int     firstKey;
+    final int     lastKey;
+    final int     step;
+
+    CommandSpec(String name, int arity, boolean write, int firstKey, int lastKey, int step) {
+        this.name = name;
+        this.arity = arity;
+        this.write = write;
+        this.firstKey = firstKey;
+        this.lastKey = lastKey;
+        this.step = step;
+    }
+
+    void checkArity(String[] args) {
+        if (arity > 0 ? args.length != arity : args.length < -arity) {
+            throw CommandError.arity(name);
+        }
+    }
+
+    /**
+     * 命令中的所有 key
+     *
+     * @param args 命令名称及参数
+     * @return the list
+     */
+    List<String> keys(String[] args) {
+        if (firstKey == 0) {
+            return Collections.emptyList();
+        }
+        int          last = lastKey < 0 ? args.length + lastKey : lastKey;
+        List<String> keys = new ArrayList<>();
+        for (int i = firstKey; i <= last && i < args.length; i += step) {
+            keys.add(args[i]);
+        }
+        return keys;
+    }
+}
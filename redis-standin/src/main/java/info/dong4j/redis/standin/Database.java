@@ -0,0 +1,223 @@
+package info.dong4j.redis.standin;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * <p>Description: 一个逻辑库(SELECT 的 index)</p>
+ * value 的类型: String(string), ArrayList(list), HashMap(hash), LinkedHashSet(set), ZSet(zset).
+ * 过期采用惰性删除, 访问时才检查. 调用方必须持有所属 {@link Keyspace} 的锁.
+ *
+ * @author dong4j
+ * @email dong4j@gmail.com
+ * @date 2026-10-18  23:59
+ */
+class Database {
+    private final Map<String, Object> values  = new HashMap<>();
+    private final Map<String, Long>   expires = new HashMap<>();
+    private final Random              random  = new Random();
+
+    /**
+     * 取值, 已过期时删除并返回 null
+     *
+     * @param key the key
+     * @return the object
+     */
+    Object get(String key) {
+        Long expireAt = expires.get(key);
+        if (expireAt != null && expireAt <= System.currentTimeMillis()) {
+            values.remove(key);
+            expires.remove(key);
+            return null;
+        }
+        return values.get(key);
+    }
+
+    /**
+     * 取指定类型的值
+     *
+     * @param <T>  the type parameter
+     * @param key  the key
+     * @param type the type
+     * @return 值, key 不存在时返回 null
+     * @throws CommandError key 存在但类型不符
+     */
+    <T> T get(String key, Class<T> type) {
+        Object value = get(key);
+        if (value == null) {
+            return null;
+        }
+        if (!type.isInstance(value)) {
+            throw CommandError.wrongType();
+        }
+        return type.cast(value);
+    }
+
+    /**
+     * 取指定类型的容器, 不存在时创建一个空容器
+     *
+     * @param <T>  the type parameter
+     * @param key  the key
+     * @param type the type
+     * @return the t
+     */
+    <T> T getOrCreate(String key, Class<T> type) {
+        T value = get(key, type);
+        if (value == null) {
+            try {
+                value = type.newInstance();
+            } catch (InstantiationException | IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            }
+            values.put(key, value);
+        }
+        return value;
+    }
+
+    /**
+     * 设置值并清除过期时间
+     *
+     * @param key   the key
+     * @param value the value
+     */
+    void put(String key, Object value) {
+        values.put(key, value);
+        expires.remove(key);
+    }
+
+    /**
+     * 设置值并保留原有的过期时间
+     *
+     * @param key   the key
+     * @param value the value
+     */
+    void replace(String key, Object value) {
+        // 先清理已过期的 key, 避免继承一个已经过去的过期时间
+        get(key);
+        values.put(key, value);
+    }
+
+    Object remove(String key) {
+        Object value = get(key);
+        values.remove(key);
+        expires.remove(key);
+        return value;
+    }
+
+    boolean exists(String key) {
+        return get(key) != null;
+    }
+
+    /**
+     * 容器变为空时删除 key, 与 redis 一致
+     *
+     * @param key the key
+     */
+    void removeIfEmpty(String key) {
+        Object value = values.get(key);
+        if (value instanceof Collection && ((Collection<?>) value).isEmpty()
+            || value instanceof Map && ((Map<?, ?>) value).isEmpty()
+            || value instanceof ZSet && ((ZSet) value).size() == 0) {
+            remove(key);
+        }
+    }
+
+    /**
+     * 剩余生存时间
+     *
+     * @param key the key
+     * @return 毫秒数, key 不存在返回 -2, 没有过期时间返回 -1
+     */
+    long pttl(String key) {
+        if (get(key) == null) {
+            return -2;
+        }
+        Long expireAt = expires.get(key);
+        return expireAt == null ? -1 : Math.max(0, expireAt - System.currentTimeMillis());
+    }
+
+    /**
+     * 设置过期时间点, 已过去的时间点直接删除 key
+     *
+     * @param key      the key
+     * @param expireAt 毫秒时间戳
+     * @return key 是否存在
+     */
+    boolean expireAt(String key, long expireAt) {
+        if (get(key) == null) {
+            return false;
+        }
+        if (expireAt <= System.currentTimeMillis()) {
+            remove(key);
+        } else {
+            expires.put(key, expireAt);
+        }
+        return true;
+    }
+
+    boolean persist(String key) {
+        return get(key) != null && expires.remove(key) != null;
+    }
+
+    /**
+     * 所有未过期的 key, 顺便清理已过期的 key
+     *
+     * @return the list
+     */
+    List<String> keys() {
+        long now = System.currentTimeMillis();
+        for (Iterator<Map.Entry<String, Long>> it = expires.entrySet().iterator(); it.hasNext(); ) {
+            Map.Entry<String, Long> entry = it.next();
+            if (entry.getValue() <= now) {
+                values.remove(entry.getKey());
+                it.remove();
+            }
+        }
+        return new ArrayList<>(values.keySet());
+    }
+
+    int size() {
+        return keys().size();
+    }
+
+    String randomKey() {
+        List<String> keys = keys();
+        return keys.isEmpty() ? null : keys.get(random.nextInt(keys.size()));
+    }
+
+    void clear() {
+        values.clear();
+        expires.clear();
+    }
+
+    /**
+     * value 对应的 TYPE 名称
+     *
+     * @param value the value
+     * @return the string
+     */
+    static String typeOf(Object value) {
+        if (value == null) {
+            return "none";
+        }
+        if (value instanceof String) {
+            return "string";
+        }
+        if (value instanceof List) {
+            return "list";
+        }
+        if (value instanceof Map) {
+            return "hash";
+        }
+        if (value instanceof Set) {
+            return "set";
+        }
+        return "zset";
+    }
+}
@@ -0,0 +1,272 @@
+package info.dong4j.redis.standin;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * <p>Description: 按时间顺序执行的故障脚本</p>
+ * 例如主节点宕机 2 秒后 sentinel 完成故障转移, 5 秒后原主节点恢复为从节点:
+ * <pre>
+ * new FailoverScript()
+ *     .stop(master)
+ *     .after(2000).failover(sentinel, "mymaster", replica)
+ *     .after(3000).restart(master)
+ *     .start();
+ * </pre>
+ * {@link #after} 指定与上一步的间隔, 脚本在一个 daemon 线程中执行, 某一步失败时记录日志并继续执行后续步骤.
+ *
+ * @author dong4j
+ * @email dong4j@gmail.com
+ * @date 2026-10-18  23:59
+ */
+@Slf4j
+public class FailoverScript {
+    private final List<Step>     steps   = new ArrayList<>();
+    private final CountDownLatch done    = new CountDownLatch(1);
+    private long                 delay;
+    private volatile Thread      thread;
+
+    /**
+     * 下一步在上一步完成后等待的时间
+     *
+     * @param millis the millis
+     * @return the failover script
+     */
+    public FailoverScript after(long millis) {
+        this.delay += millis;
+        return this;
+    }
+
+    /**
+     * 模拟节点宕机
+     *
+     * @param server the server
+     * @return the failover script
+     */
+    public FailoverScript stop(final StandInServer server) {
+        return step("stop " + server, new Action() {
+            @Override
+            public void run() {
+                server.stop();
+            }
+        });
+    }
+
+    /**
+     * 模拟节点恢复
+     *
+     * @param server the server
+     * @return the failover script
+     */
+    public FailoverScript restart(final StandInServer server) {
+        return step("restart " + server, new Action() {
+            @Override
+            public void run() throws IOException {
+                server.restart();
+            }
+        });
+    }
+
+    /**
+     * sentinel 把 promoted 提升为主节点并发布 +switch-master
+     *
+     * @param sentinel   the sentinel
+     * @param masterName the master name
+     * @param promoted   the promoted
+     * @return the failover script
+     */
+    public FailoverScript failover(final StandInSentinel sentinel, final String masterName, final StandInServer promoted) {
+        return step("failover " + masterName + " to " + promoted, new Action() {
+            @Override
+            public void run() {
+                sentinel.failover(masterName, promoted);
+            }
+        });
+    }
+
+    /**
+     * sentinel 发布 +sdown
+     *
+     * @param sentinel   the sentinel
+     * @param masterName the master name
+     * @param server     the server
+     * @return the failover script
+     */
+    public FailoverScript sdown(final StandInSentinel sentinel, final String masterName, final StandInServer server) {
+        return step("sdown " + server, new Action() {
+            @Override
+            public void run() {
+                sentinel.sdown(masterName, server);
+            }
+        });
+    }
+
+    /**
+     * sentinel 发布 -sdown
+     *
+     * @param sentinel   the sentinel
+     * @param masterName the master name
+     * @param server     the server
+     * @return the failover script
+     */
+    public FailoverScript sdownCleared(final StandInSentinel sentinel, final String masterName, final StandInServer server) {
+        return step("sdown cleared " + server, new Action() {
+            @Override
+            public void run() {
+                sentinel.sdownCleared(masterName, server);
+            }
+        });
+    }
+
+    /**
+     * 集群迁移 slot
+     *
+     * @param cluster the cluster
+     * @param slot    the slot
+     * @param index   目标节点下标
+     * @return the failover script
+     */
+    public FailoverScript moveSlot(final StandInCluster cluster, final int slot, final int index) {
+        return step("move slot " + slot + " to node " + index, new Action() {
+            @Override
+            public void run() {
+                cluster.moveSlot(slot, index);
+            }
+        });
+    }
+
+    /**
+     * 修改节点所有命令的注入延迟
+     *
+     * @param server the server
+     * @param micros 微秒
+     * @return the failover script
+     */
+    public FailoverScript latency(final StandInServer server, final long micros) {
+        return step("latency " + server + " " + micros + "us", new Action() {
+            @Override
+            public void run() {
+                server.setLatency(micros);
+            }
+        });
+    }
+
+    /**
+     * 执行自定义操作
+     *
+     * @param name     步骤名称, 用于日志
+     * @param runnable the runnable
+     * @return the failover script
+     */
+    public FailoverScript run(String name, final Runnable runnable) {
+        return step(name, new Action() {
+            @Override
+            public void run() {
+                runnable.run();
+            }
+        });
+    }
+
+    /**
+     * 在 daemon 线程中开始执行
+     *
+     * @return the failover script
+     */
+    public synchronized FailoverScript start() {
+        if (thread != null) {
+            throw new IllegalStateException("Failover script already started");
+        }
+        thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                execute();
+            }
+        }, "failover-script");
+        thread.setDaemon(true);
+        thread.start();
+        return this;
+    }
+
+    /**
+     * 等待脚本执行完成
+     *
+     * @param timeout the timeout
+     * @param unit    the unit
+     * @return 是否在超时前执行完成
+     * @throws InterruptedException the interrupted exception
+     */
+    public boolean await(long timeout, TimeUnit unit) throws InterruptedException {
+        return done.await(timeout, unit);
+    }
+
+    /**
+     * 中止尚未执行的步骤
+     */
+    public void cancel() {
+        Thread current = thread;
+        if (current != null) {
+            current.interrupt();
+        }
+    }
+
+    private FailoverScript step(String name, Action action) {
+        steps.add(new Step(name, delay, action));
+        delay = 0;
+        return this;
+    }
+
+    private void execute() {
+        try {
+            for (Step step : steps) {
+                if (step.delay > 0) {
+                    TimeUnit.MILLISECONDS.sleep(step.delay);
+                }
+                log.info("Failover script: " + step.name);
+                try {
+                    step.action.run();
+                } catch (Exception e) {
+                    log.warn("Failover script step '" + step.name + "' failed", e);
+                }
+            }
+        } catch (InterruptedException e) {
+            log.info("Failover script cancelled");
+        } finally {
+            done.countDown();
+        }
+    }
+
+    /**
+     * <p>Description: 脚本中的一个操作 </p>
+     *
+     * @author dong4j
+     * @email dong4j@gmail.com
+     * @date 2026-10-18  23:59
+     */
+    private interface Action {
+        void run() throws Exception;
+    }
+
+    /**
+     * <p>Description: 脚本中的一步 </p>
+     *
+     * @author dong4j
+     * @email dong4j@gmail.com
+     * @date 2026-10-18  23:59
+     */
+    private static class Step {
+        final String name;
+        final long   delay;
+        final Action action;
+
+        Step(String name, long delay, Action action) {
+            this.name = name;
+            this.delay = delay;
+            this.action = action;
+        }
+    }
+}
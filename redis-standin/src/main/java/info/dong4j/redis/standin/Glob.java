@@ -0,0 +1,95 @@
+package info.dong4j.redis.standin;
+
+/**
+ * <p>Description: redis 风格的 glob 匹配</p>
+ * 支持 * ? [abc] [^a] [a-z] 及 \ 转义, 用于 KEYS/SCAN MATCH/PSUBSCRIBE.
+ *
+ * @author dong4j
+ * @email dong4j@gmail.com
+ * @date 2026-10-18  23:59
+ */
+final class Glob {
+    private Glob() {
+    }
+
+    static boolean matches(String pattern, String value) {
+        return matches(pattern, 0, value, 0);
+    }
+
+    private static boolean matches(String pattern, int p, String value, int v) {
+        while (p < pattern.length()) {
+            char c = pattern.charAt(p);
+            switch (c) {
+                case '*':
+                    while (p + 1 < pattern.length() && pattern.charAt(p + 1) == '*') {
+                        p++;
+                    }
+                    if (p + 1 == pattern.length()) {
+                        return true;
+                    }
+                    for (int i = v; i <= value.length(); i++) {
+                        if (matches(pattern, p + 1, value, i)) {
+                            return true;
+                        }
+                    }
+                    return false;
+                case '?':
+                    if (v >= value.length()) {
+                        return false;
+                    }
+                    v++;
+                    break;
+                case '[':
+                    if (v >= value.length()) {
+                        return false;
+                    }
+                    int end = pattern.indexOf(']', p + 1);
+                    if (end < 0) {
+                        return false;
+                    }
+                    if (!matchesClass(pattern.substring(p + 1, end), value.charAt(v))) {
+                        return false;
+                    }
+                    p = end;
+                    v++;
+                    break;
+                case '\\':
+                    if (p + 1 < pattern.length()) {
+                        p++;
+                        c = pattern.charAt(p);
+                    }
+                    // fall through
+                default:
+                    if (v >= value.length() || value.charAt(v) != c) {
+                        return false;
+                    }
+                    v++;
+                    break;
+            }
+            p++;
+        }
+        return v == value.length();
+    }
+
+    private static boolean matchesClass(String set, char c) {
+        boolean negate = set.startsWith("^");
+        int     i      = negate ? 1 : 0;
+        boolean match  = false;
+        while (i < set.length()) {
+            char from = set.charAt(i);
+            if (i + 2 < set.length() && set.charAt(i + 1) == '-') {
+                char to = set.charAt(i + 2);
+                if (c >= Math.min(from, to) && c <= Math.max(from, to)) {
+                    match = true;
+                }
+                i += 3;
+            } else {
+                if (c == from) {
+                    match = true;
+                }
+                i++;
+            }
+        }
+        return negate != match;
+    }
+}
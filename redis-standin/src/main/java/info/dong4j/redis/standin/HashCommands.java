@@ -0,0 +1,175 @@
+package info.dong4j.redis.standin;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>Description: hash 相关命令</p>
+ *
+ * @author dong4j
+ * @email dong4j@gmail.com
+ * @date 2026-10-18  23:59
+ */
+class HashCommands extends CommandGroup {
+
+    HashCommands() {
+        command("hset", -4, true);
+        command("hsetnx", 4, true);
+        command("hget", 3, false);
+        command("hmset", -4, true);
+        command("hmget", -3, false);
+        command("hgetall", 2, false);
+        command("hdel", -3, true);
+        command("hexists", 3, false);
+        command("hlen", 2, false);
+        command("hstrlen", 3, false);
+        command("hkeys", 2, false);
+        command("hvals", 2, false);
+        command("hincrby", 4, true);
+        command("hincrbyfloat", 4, true);
+        command("hscan", -3, false);
+    }
+
+    @Override
+    void execute(Session session, Keyspace keyspace, String[] args, RespWriter out) throws IOException {
+        Database db = db(session, keyspace);
+        switch (args[0]) {
+            case "hset":
+            case "hmset": {
+                if (args.length % 2 != 0) {
+                    throw CommandError.arity(args[0]);
+                }
+                Map<String, String> hash  = hash(db, args[1], true);
+                long                added = 0;
+                for (int i = 2; i < args.length; i += 2) {
+                    if (hash.put(args[i], args[i + 1]) == null) {
+                        added++;
+                    }
+                }
+                if ("hset".equals(args[0])) {
+                    out.integer(added);
+                } else {
+                    out.ok();
+                }
+                break;
+            }
+            case "hsetnx": {
+                Map<String, String> hash = hash(db, args[1], true);
+                if (hash.containsKey(args[2])) {
+                    out.integer(0);
+                } else {
+                    hash.put(args[2], args[3]);
+                    out.integer(1);
+                }
+                break;
+            }
+            case "hget":
+                out.bulk(hash(db, args[1], false).get(args[2]));
+                break;
+            case "hmget": {
+                Map<String, String> hash = hash(db, args[1], false);
+                out.array(args.length - 2);
+                for (int i = 2; i < args.length; i++) {
+                    out.bulk(hash.get(args[i]));
+                }
+                break;
+            }
+            case "hgetall": {
+                Map<String, String> hash = hash(db, args[1], false);
+                out.array(hash.size() * 2);
+                for (Map.Entry<String, String> entry : hash.entrySet()) {
+                    out.bulk(entry.getKey());
+                    out.bulk(entry.getValue());
+                }
+                break;
+            }
+            case "hdel": {
+                Map<String, String> hash    = hash(db, args[1], false);
+                long                removed = 0;
+                for (int i = 2; i < args.length; i++) {
+                    if (hash.remove(args[i]) != null) {
+                        removed++;
+                    }
+                }
+                db.removeIfEmpty(args[1]);
+                out.integer(removed);
+                break;
+            }
+            case "hexists":
+                out.integer(hash(db, args[1], false).containsKey(args[2]) ? 1 : 0);
+                break;
+            case "hlen":
+                out.integer(hash(db, args[1], false).size());
+                break;
+            case "hstrlen": {
+                String value = hash(db, args[1], false).get(args[2]);
+                out.integer(value == null ? 0 : value.length());
+                break;
+            }
+            case "hkeys":
+                out.array(new ArrayList<>(hash(db, args[1], false).keySet()));
+                break;
+            case "hvals":
+                out.array(new ArrayList<>(hash(db, args[1], false).values()));
+                break;
+            case "hincrby": {
+                Map<String, String> hash      = hash(db, args[1], true);
+                long                increment = parseLong(args[3]);
+                String              old       = hash.get(args[2]);
+                long                value;
+                try {
+                    value = old == null ? 0 : Long.parseLong(old);
+                } catch (NumberFormatException e) {
+                    db.removeIfEmpty(args[1]);
+                    throw new CommandError("ERR hash value is not an integer");
+                }
+                long result = value + increment;
+                if (((value ^ result) & (increment ^ result)) < 0) {
+                    db.removeIfEmpty(args[1]);
+                    throw new CommandError("ERR increment or decrement would overflow");
+                }
+                hash.put(args[2], Long.toString(result));
+                out.integer(result);
+                break;
+            }
+            case "hincrbyfloat": {
+                Map<String, String> hash   = hash(db, args[1], true);
+                String              old    = hash.get(args[2]);
+                double              result = parseDouble(args[3]);
+                try {
+                    result += old == null ? 0 : parseDouble(old);
+                } catch (CommandError e) {
+                    db.removeIfEmpty(args[1]);
+                    throw new CommandError("ERR hash value is not a float");
+                }
+                String value = RespWriter.formatDouble(result);
+                hash.put(args[2], value);
+                out.bulk(value);
+                break;
+            }
+            case "hscan": {
+                List<String[]> items = new ArrayList<>();
+                for (Map.Entry<String, String> entry : hash(db, args[1], false).entrySet()) {
+                    items.add(new String[] {entry.getKey(), entry.getValue()});
+                }
+                scan(items, args, 2, out);
+                break;
+            }
+            default:
+                throw new IllegalStateException(args[0]);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, String> hash(Database db, String key, boolean create) {
+        if (create) {
+            return db.getOrCreate(key, HashMap.class);
+        }
+        Map<String, String> hash = db.get(key, HashMap.class);
+        return hash == null ? Collections.<String, String>emptyMap() : hash;
+    }
+}
@@ -0,0 +1,319 @@
+package info.dong4j.redis.standin;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>Description: key 相关命令</p>
+ * DUMP/RESTORE 的序列化格式为 java 序列化, 只能在 stand-in 节点之间迁移.
+ *
+ * @author dong4j
+ * @email dong4j@gmail.com
+ * @date 2026-10-18  23:59
+ */
+class KeyCommands extends CommandGroup {
+
+    KeyCommands() {
+        command("del", -2, true, 1, -1, 1);
+        command("unlink", -2, true, 1, -1, 1);
+        command("exists", -2, false, 1, -1, 1);
+        command("expire", 3, true);
+        command("pexpire", 3, true);
+        command("expireat", 3, true);
+        command("pexpireat", 3, true);
+        command("persist", 2, true);
+        command("ttl", 2, false);
+        command("pttl", 2, false);
+        command("type", 2, false);
+        command("keys", 2, false, 0, 0, 0);
+        command("scan", -2, false, 0, 0, 0);
+        command("randomkey", 1, false, 0, 0, 0);
+        command("rename", 3, true, 1, 2, 1);
+        command("renamenx", 3, true, 1, 2, 1);
+        command("move", 3, true);
+        command("dump", 2, false);
+        command("restore", -4, true);
+        command("sort", -2, true);
+    }
+
+    @Override
+    void execute(Session session, Keyspace keyspace, String[] args, RespWriter out) throws IOException {
+        Database db = db(session, keyspace);
+        switch (args[0]) {
+            case "del":
+            case "unlink": {
+                long removed = 0;
+                for (int i = 1; i < args.length; i++) {
+                    if (db.remove(args[i]) != null) {
+                        removed++;
+                    }
+                }
+                out.integer(removed);
+                break;
+            }
+            case "exists": {
+                long found = 0;
+                for (int i = 1; i < args.length; i++) {
+                    if (db.exists(args[i])) {
+                        found++;
+                    }
+                }
+                out.integer(found);
+                break;
+            }
+            case "expire":
+                out.integer(db.expireAt(args[1], System.currentTimeMillis() + parseLong(args[2]) * 1000) ? 1 : 0);
+                break;
+            case "pexpire":
+                out.integer(db.expireAt(args[1], System.currentTimeMillis() + parseLong(args[2])) ? 1 : 0);
+                break;
+            case "expireat":
+                out.integer(db.expireAt(args[1], parseLong(args[2]) * 1000) ? 1 : 0);
+                break;
+            case "pexpireat":
+                out.integer(db.expireAt(args[1], parseLong(args[2])) ? 1 : 0);
+                break;
+            case "persist":
+                out.integer(db.persist(args[1]) ? 1 : 0);
+                break;
+            case "ttl": {
+                long pttl = db.pttl(args[1]);
+                out.integer(pttl < 0 ? pttl : (pttl + 500) / 1000);
+                break;
+            }
+            case "pttl":
+                out.integer(db.pttl(args[1]));
+                break;
+            case "type":
+                out.simple(Database.typeOf(db.get(args[1])));
+                break;
+            case "keys": {
+                List<String> keys = new ArrayList<>();
+                for (String key : db.keys()) {
+                    if (Glob.matches(args[1], key)) {
+                        keys.add(key);
+                    }
+                }
+                out.array(keys);
+                break;
+            }
+            case "scan": {
+                List<String[]> items = new ArrayList<>();
+                for (String key : db.keys()) {
+                    items.add(new String[] {key});
+                }
+                scan(items, args, 1, out);
+                break;
+            }
+            case "randomkey":
+                out.bulk(db.randomKey());
+                break;
+            case "rename":
+            case "renamenx": {
+                if (!db.exists(args[1])) {
+                    throw new CommandError("ERR no such key");
+                }
+                boolean nx = "renamenx".equals(args[0]);
+                if (nx && db.exists(args[2])) {
+                    out.integer(0);
+                    break;
+                }
+                if (!args[1].equals(args[2])) {
+                    long   pttl  = db.pttl(args[1]);
+                    Object value = db.remove(args[1]);
+                    db.put(args[2], value);
+                    if (pttl >= 0) {
+                        db.expireAt(args[2], System.currentTimeMillis() + pttl);
+                    }
+                }
+                if (nx) {
+                    out.integer(1);
+                } else {
+                    out.ok();
+                }
+                break;
+            }
+            case "move": {
+                int index = parseInt(args[2]);
+                if (index < 0 || index >= Keyspace.DATABASES) {
+                    throw new CommandError("ERR DB index is out of range");
+                }
+                if (index == session.db) {
+                    throw new CommandError("ERR source and destination objects are the same");
+                }
+                Database target = keyspace.db(index);
+                if (!db.exists(args[1]) || target.exists(args[1])) {
+                    out.integer(0);
+                    break;
+                }
+                long pttl = db.pttl(args[1]);
+                target.put(args[1], db.remove(args[1]));
+                if (pttl >= 0) {
+                    target.expireAt(args[1], System.currentTimeMillis() + pttl);
+                }
+                out.integer(1);
+                break;
+            }
+            case "dump": {
+                Object value = db.get(args[1]);
+                out.bulk(value == null ? null : dump(value));
+                break;
+            }
+            case "restore":
+                restore(db, args, out);
+                break;
+            case "sort":
+                sort(db, args, out);
+                break;
+            default:
+                throw new IllegalStateException(args[0]);
+        }
+    }
+
+    private static void restore(Database db, String[] args, RespWriter out) throws IOException {
+        long    ttl     = parseLong(args[2]);
+        boolean replace = false;
+        for (int i = 4; i < args.length; i++) {
+            if ("replace".equalsIgnoreCase(args[i])) {
+                replace = true;
+            } else {
+                throw CommandError.syntax();
+            }
+        }
+        if (ttl < 0) {
+            throw new CommandError("ERR Invalid TTL value, must be >= 0");
+        }
+        if (!replace && db.exists(args[1])) {
+            throw new CommandError("BUSYKEY Target key name already exists.");
+        }
+        db.put(args[1], restore(args[3]));
+        if (ttl > 0) {
+            db.expireAt(args[1], System.currentTimeMillis() + ttl);
+        }
+        out.ok();
+    }
+
+    /**
+     * SORT key [LIMIT offset count] [ASC|DESC] [ALPHA] [STORE destination], 不支持 BY/GET
+     *
+     * @param db   the db
+     * @param args the args
+     * @param out  the out
+     * @throws IOException the io exception
+     */
+    private static void sort(Database db, String[] args, RespWriter out) throws IOException {
+        boolean desc   = false;
+        boolean alpha  = false;
+        long    offset = 0;
+        long    count  = -1;
+        String  store  = null;
+        for (int i = 2; i < args.length; i++) {
+            switch (args[i].toLowerCase()) {
+                case "asc":
+                    desc = false;
+                    break;
+                case "desc":
+                    desc = true;
+                    break;
+                case "alpha":
+                    alpha = true;
+                    break;
+                case "limit":
+                    if (i + 2 >= args.length) {
+                        throw CommandError.syntax();
+                    }
+                    offset = parseLong(args[++i]);
+                    count = parseLong(args[++i]);
+                    break;
+                case "store":
+                    if (i + 1 >= args.length) {
+                        throw CommandError.syntax();
+                    }
+                    store = args[++i];
+                    break;
+                default:
+                    throw CommandError.syntax();
+            }
+        }
+        Object       value    = db.get(args[1]);
+        List<String> elements = new ArrayList<>();
+        if (value instanceof Collection) {
+            for (Object element : (Collection<?>) value) {
+                elements.add((String) element);
+            }
+        } else if (value instanceof ZSet) {
+            for (ZSet.Element element : ((ZSet) value).elements()) {
+                elements.add(element.member);
+            }
+        } else if (value != null) {
+            throw CommandError.wrongType();
+        }
+        Comparator<String> comparator;
+        if (alpha) {
+            comparator = new Comparator<String>() {
+                @Override
+                public int compare(String a, String b) {
+                    return a.compareTo(b);
+                }
+            };
+        } else {
+            for (String element : elements) {
+                try {
+                    Double.parseDouble(element);
+                } catch (NumberFormatException e) {
+                    throw new CommandError("ERR One or more scores can't be converted into double");
+                }
+            }
+            comparator = new Comparator<String>() {
+                @Override
+                public int compare(String a, String b) {
+                    return Double.compare(Double.parseDouble(a), Double.parseDouble(b));
+                }
+            };
+        }
+        Collections.sort(elements, desc ? Collections.reverseOrder(comparator) : comparator);
+        int from = (int) Math.min(Math.max(0, offset), elements.size());
+        int to   = count < 0 ? elements.size() : (int) Math.min(elements.size(), from + count);
+        elements = new ArrayList<>(elements.subList(from, to));
+        if (store == null) {
+            out.array(elements);
+            return;
+        }
+        if (elements.isEmpty()) {
+            db.remove(store);
+        } else {
+            db.put(store, elements);
+        }
+        out.integer(elements.size());
+    }
+
+    static String dump(Object value) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream stream = new ObjectOutputStream(bytes)) {
+            stream.writeObject((Serializable) value);
+        }
+        return new String(bytes.toByteArray(), StandInServer.RAW);
+    }
+
+    static Object restore(String payload) {
+        try (ObjectInputStream stream = new ObjectInputStream(new ByteArrayInputStream(payload.getBytes(StandInServer.RAW)))) {
+            Object value = stream.readObject();
+            if (value instanceof String || value instanceof Collection || value instanceof Map || value instanceof ZSet) {
+                return value;
+            }
+        } catch (IOException | ClassNotFoundException e) {
+            // 与 redis 一样只返回统一的错误
+        }
+        throw new CommandError("ERR DUMP payload version or checksum are wrong");
+    }
+}
@@ -0,0 +1,33 @@
+package info.dong4j.redis.standin;
+
+/**
+ * <p>Description: 一个节点的全部数据</p>
+ * 同时作为数据访问的锁: 所有命令在持有该锁时执行, 因此每个命令都是原子的.
+ * 从节点与主节点共享同一个 Keyspace, 相当于没有延迟的复制, 提升为主节点后数据不丢失.
+ * 阻塞命令(BLPOP/BRPOP)在该锁上 wait, 写命令执行后 notifyAll.
+ *
+ * @author dong4j
+ * @email dong4j@gmail.com
+ * @date 2026-10-18  23:59
+ */
+class Keyspace {
+    static final int DATABASES = 16;
+
+    private final Database[] databases = new Database[DATABASES];
+
+    Keyspace() {
+        for (int i = 0; i < DATABASES; i++) {
+            databases[i] = new Database();
+        }
+    }
+
+    Database db(int index) {
+        return databases[index];
+    }
+
+    void flushAll() {
+        for (Database database : databases) {
+            database.clear();
+        }
+    }
+}
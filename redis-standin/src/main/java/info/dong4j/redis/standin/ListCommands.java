@@ -0,0 +1,259 @@
+package info.dong4j.redis.standin;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+
+/**
+ * <p>Description: list 相关命令</p>
+ * 阻塞命令在 {@link Keyspace} 锁上等待, 由写命令执行后的 notifyAll 唤醒.
+ *
+ * @author dong4j
+ * @email dong4j@gmail.com
+ * @date 2026-10-18  23:59
+ */
+class ListCommands extends CommandGroup {
+
+    ListCommands() {
+        command("lpush", -3, true);
+        command("rpush", -3, true);
+        command("lpushx", -3, true);
+        command("rpushx", -3, true);
+        command("linsert", 5, true);
+        command("lpop", 2, true);
+        command("rpop", 2, true);
+        command("llen", 2, false);
+        command("lrange", 4, false);
+        command("lindex", 3, false);
+        command("lset", 4, true);
+        command("lrem", 4, true);
+        command("ltrim", 4, true);
+        command("rpoplpush", 3, true, 1, 2, 1);
+        command("blpop", -3, true, 1, -2, 1);
+        command("brpop", -3, true, 1, -2, 1);
+        command("brpoplpush", 4, true, 1, 2, 1);
+    }
+
+    @Override
+    void execute(Session session, Keyspace keyspace, String[] args, RespWriter out) throws IOException {
+        Database db = db(session, keyspace);
+        switch (args[0]) {
+            case "lpush":
+            case "rpush":
+            case "lpushx":
+            case "rpushx": {
+                if (args[0].endsWith("x") && !db.exists(args[1])) {
+                    out.integer(0);
+                    break;
+                }
+                List<String> list = list(db, args[1], true);
+                for (int i = 2; i < args.length; i++) {
+                    if (args[0].startsWith("l")) {
+                        list.add(0, args[i]);
+                    } else {
+                        list.add(args[i]);
+                    }
+                }
+                out.integer(list.size());
+                break;
+            }
+            case "linsert": {
+                boolean before;
+                if ("before".equalsIgnoreCase(args[2])) {
+                    before = true;
+                } else if ("after".equalsIgnoreCase(args[2])) {
+                    before = false;
+                } else {
+                    throw CommandError.syntax();
+                }
+                List<String> list = list(db, args[1], false);
+                if (list.isEmpty()) {
+                    out.integer(0);
+                    break;
+                }
+                int index = list.indexOf(args[3]);
+                if (index < 0) {
+                    out.integer(-1);
+                    break;
+                }
+                list.add(before ? index : index + 1, args[4]);
+                out.integer(list.size());
+                break;
+            }
+            case "lpop":
+            case "rpop":
+                out.bulk(pop(db, args[1], "lpop".equals(args[0])));
+                break;
+            case "llen":
+                out.integer(list(db, args[1], false).size());
+                break;
+            case "lrange": {
+                List<String> list  = list(db, args[1], false);
+                int[]        range = range(parseLong(args[2]), parseLong(args[3]), list.size());
+                out.array(range[0] > range[1] ? Collections.<String>emptyList() : list.subList(range[0], range[1] + 1));
+                break;
+            }
+            case "lindex": {
+                List<String> list  = list(db, args[1], false);
+                long         index = parseLong(args[2]);
+                if (index < 0) {
+                    index += list.size();
+                }
+                out.bulk(index < 0 || index >= list.size() ? null : list.get((int) index));
+                break;
+            }
+            case "lset": {
+                List<String> list = list(db, args[1], false);
+                if (list.isEmpty()) {
+                    throw new CommandError("ERR no such key");
+                }
+                long index = parseLong(args[2]);
+                if (index < 0) {
+                    index += list.size();
+                }
+                if (index < 0 || index >= list.size()) {
+                    throw new CommandError("ERR index out of range");
+                }
+                list.set((int) index, args[3]);
+                out.ok();
+                break;
+            }
+            case "lrem":
+                out.integer(remove(list(db, args[1], false), parseLong(args[2]), args[3]));
+                db.removeIfEmpty(args[1]);
+                break;
+            case "ltrim": {
+                List<String> list  = list(db, args[1], false);
+                int[]        range = range(parseLong(args[2]), parseLong(args[3]), list.size());
+                if (range[0] > range[1]) {
+                    db.remove(args[1]);
+                } else if (!list.isEmpty()) {
+                    db.replace(args[1], new ArrayList<>(list.subList(range[0], range[1] + 1)));
+                }
+                out.ok();
+                break;
+            }
+            case "rpoplpush":
+                out.bulk(popPush(db, args[1], args[2]));
+                break;
+            case "blpop":
+            case "brpop":
+            case "brpoplpush":
+                block(session, keyspace, args, out);
+                break;
+            default:
+                throw new IllegalStateException(args[0]);
+        }
+    }
+
+    /**
+     * BLPOP/BRPOP/BRPOPLPUSH, 超时时间为 0 时一直等待到有数据或连接关闭
+     *
+     * @param session  the session
+     * @param keyspace the keyspace
+     * @param args     the args
+     * @param out      the out
+     * @throws IOException the io exception
+     */
+    private static void block(Session session, Keyspace keyspace, String[] args, RespWriter out) throws IOException {
+        double timeout = parseDouble(args[args.length - 1]);
+        if (timeout < 0) {
+            throw new CommandError("ERR timeout is negative");
+        }
+        long deadline = timeout == 0 ? 0 : System.currentTimeMillis() + Math.max(1, (long) (timeout * 1000));
+        Database db = db(session, keyspace);
+        while (!session.isClosed()) {
+            if ("brpoplpush".equals(args[0])) {
+                if (!list(db, args[1], false).isEmpty()) {
+                    out.bulk(popPush(db, args[1], args[2]));
+                    return;
+                }
+            } else {
+                for (int i = 1; i < args.length - 1; i++) {
+                    if (!list(db, args[i], false).isEmpty()) {
+                        out.array(2);
+                        out.bulk(args[i]);
+                        out.bulk(pop(db, args[i], "blpop".equals(args[0])));
+                        return;
+                    }
+                }
+            }
+            long wait = deadline == 0 ? 0 : deadline - System.currentTimeMillis();
+            if (deadline != 0 && wait <= 0) {
+                break;
+            }
+            try {
+                keyspace.wait(wait);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException();
+            }
+        }
+        if ("brpoplpush".equals(args[0])) {
+            out.bulk(null);
+        } else {
+            out.nullArray();
+        }
+    }
+
+    private static String pop(Database db, String key, boolean left) {
+        List<String> list = list(db, key, false);
+        if (list.isEmpty()) {
+            return null;
+        }
+        String value = list.remove(left ? 0 : list.size() - 1);
+        db.removeIfEmpty(key);
+        return value;
+    }
+
+    private static String popPush(Database db, String source, String destination) {
+        list(db, destination, false);
+        String value = pop(db, source, false);
+        if (value != null) {
+            list(db, destination, true).add(0, value);
+        }
+        return value;
+    }
+
+    /**
+     * LREM: count > 0 从头开始删除, count < 0 从尾开始删除, count = 0 全部删除
+     *
+     * @param list  the list
+     * @param count the count
+     * @param value the value
+     * @return 删除的个数
+     */
+    private static long remove(List<String> list, long count, String value) {
+        long limit   = count == 0 ? Long.MAX_VALUE : Math.abs(count);
+        long removed = 0;
+        if (count >= 0) {
+            for (Iterator<String> it = list.iterator(); it.hasNext() && removed < limit; ) {
+                if (it.next().equals(value)) {
+                    it.remove();
+                    removed++;
+                }
+            }
+        } else {
+            for (ListIterator<String> it = list.listIterator(list.size()); it.hasPrevious() && removed < limit; ) {
+                if (it.previous().equals(value)) {
+                    it.remove();
+                    removed++;
+                }
+            }
+        }
+        return removed;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<String> list(Database db, String key, boolean create) {
+        if (create) {
+            return db.getOrCreate(key, ArrayList.class);
+        }
+        List<String> list = db.get(key, ArrayList.class);
+        return list == null ? Collections.<String>emptyList() : list;
+    }
+}
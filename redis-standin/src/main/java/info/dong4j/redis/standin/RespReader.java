@@ -0,0 +1,131 @@
+package info.dong4j.redis.standin;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>Description: 读取客户端发送的命令</p>
+ * 支持 RESP 数组格式(客户端库使用)与以空格分隔的 inline 格式(telnet 使用).
+ * 参数按 ISO-8859-1 转为 String, 与字节一一对应, 保证二进制安全.
+ *
+ * @author dong4j
+ * @email dong4j@gmail.com
+ * @date 2026-10-18  23:59
+ */
+class RespReader {
+    private static final int MAX_BULK_LENGTH = 512 * 1024 * 1024;
+
+    private final InputStream in;
+
+    RespReader(InputStream in) {
+        this.in = in;
+    }
+
+    /**
+     * 输入缓冲区中是否还有未读取的数据(pipeline 中的后续命令)
+     *
+     * @return the boolean
+     * @throws IOException the io exception
+     */
+    boolean hasBuffered() throws IOException {
+        return in.available() > 0;
+    }
+
+    /**
+     * 读取一条命令
+     *
+     * @return 命令名称及参数, 连接关闭时返回 null
+     * @throws IOException the io exception
+     */
+    String[] readCommand() throws IOException {
+        int type = in.read();
+        while (type == '\r' || type == '\n') {
+            type = in.read();
+        }
+        if (type == -1) {
+            return null;
+        }
+        if (type != '*') {
+            return readInline(type);
+        }
+        int argc = (int) readLong();
+        if (argc <= 0) {
+            return new String[0];
+        }
+        String[] args = new String[argc];
+        for (int i = 0; i < argc; i++) {
+            int prefix = in.read();
+            if (prefix != '$') {
+                throw new IOException("Protocol error: expected '$', got '" + (char) prefix + "'");
+            }
+            long length = readLong();
+            if (length < 0 || length > MAX_BULK_LENGTH) {
+                throw new IOException("Protocol error: invalid bulk length " + length);
+            }
+            byte[] arg    = new byte[(int) length];
+            int    offset = 0;
+            while (offset < arg.length) {
+                int read = in.read(arg, offset, arg.length - offset);
+                if (read == -1) {
+                    throw new EOFException();
+                }
+                offset += read;
+            }
+            readCrlf();
+            args[i] = new String(arg, StandInServer.RAW);
+        }
+        return args;
+    }
+
+    private String[] readInline(int first) throws IOException {
+        StringBuilder line = new StringBuilder();
+        int           b    = first;
+        while (b != '\n') {
+            if (b == -1) {
+                throw new EOFException();
+            }
+            if (b != '\r') {
+                line.append((char) b);
+            }
+            b = in.read();
+        }
+        List<String> args = new ArrayList<>();
+        for (String arg : line.toString().trim().split(" +")) {
+            if (!arg.isEmpty()) {
+                args.add(arg);
+            }
+        }
+        return args.toArray(new String[args.size()]);
+    }
+
+    private long readLong() throws IOException {
+        long    value    = 0;
+        boolean negative = false;
+        int     b;
+        while ((b = in.read()) != '\r') {
+            if (b == -1) {
+                throw new EOFException();
+            }
+            if (b == '-') {
+                negative = true;
+            } else if (b >= '0' && b <= '9') {
+                value = value * 10 + (b - '0');
+            } else {
+                throw new IOException("Protocol error: invalid length character '" + (char) b + "'");
+            }
+        }
+        if (in.read() != '\n') {
+            throw new IOException("Protocol error: expected CRLF");
+        }
+        return negative ? -value : value;
+    }
+
+    private void readCrlf() throws IOException {
+        if (in.read() != '\r' || in.read() != '\n') {
+            throw new IOException("Protocol error: expected CRLF");
+        }
+    }
+}
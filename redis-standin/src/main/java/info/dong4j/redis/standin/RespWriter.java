@@ -0,0 +1,102 @@
+package info.dong4j.redis.standin;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collection;
+
+/**
+ * <p>Description: 按 RESP2 格式写出回复</p>
+ * 一条命令的回复及 pub/sub 消息都在持有该对象锁时写出, 不会互相穿插.
+ *
+ * @author dong4j
+ * @email dong4j@gmail.com
+ * @date 2026-10-18  23:59
+ */
+class RespWriter {
+    private static final byte[] CRLF       = {'\r', '\n'};
+    private static final byte[] NULL_BULK  = "$-1\r\n".getBytes(StandInServer.RAW);
+    private static final byte[] NULL_ARRAY = "*-1\r\n".getBytes(StandInServer.RAW);
+    private static final byte[] OK         = "+OK\r\n".getBytes(StandInServer.RAW);
+
+    private final OutputStream out;
+
+    RespWriter(OutputStream out) {
+        this.out = out;
+    }
+
+    void ok() throws IOException {
+        out.write(OK);
+    }
+
+    void simple(String value) throws IOException {
+        out.write('+');
+        out.write(value.getBytes(StandInServer.RAW));
+        out.write(CRLF);
+    }
+
+    void error(String message) throws IOException {
+        out.write('-');
+        out.write(message.replace('\r', ' ').replace('\n', ' ').getBytes(StandInServer.RAW));
+        out.write(CRLF);
+    }
+
+    void integer(long value) throws IOException {
+        header(':', value);
+    }
+
+    void bulk(String value) throws IOException {
+        if (value == null) {
+            out.write(NULL_BULK);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandInServer.RAW);
+        header('$', bytes.length);
+        out.write(bytes);
+        out.write(CRLF);
+    }
+
+    void bulk(double value) throws IOException {
+        bulk(formatDouble(value));
+    }
+
+    void nullArray() throws IOException {
+        out.write(NULL_ARRAY);
+    }
+
+    void array(int length) throws IOException {
+        header('*', length);
+    }
+
+    void array(Collection<String> values) throws IOException {
+        array(values.size());
+        for (String value : values) {
+            bulk(value);
+        }
+    }
+
+    void flush() throws IOException {
+        out.flush();
+    }
+
+    private void header(char type, long value) throws IOException {
+        out.write(type);
+        out.write(Long.toString(value).getBytes(StandInServer.RAW));
+        out.write(CRLF);
+    }
+
+    /**
+     * 与 redis 一致的浮点数格式: 整数值不带小数点, 无穷大为 inf / -inf
+     *
+     * @param value the value
+     * @return the string
+     */
+    static String formatDouble(double value) {
+        if (Double.isInfinite(value)) {
+            return value > 0 ? "inf" : "-inf";
+        }
+        if (value == Math.rint(value) && Math.abs(value) < 1e17) {
+            return Long.toString((long) value);
+        }
+        return Double.toString(value);
+    }
+}
@@ -0,0 +1,105 @@
+package info.dong4j.redis.standin;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * <p>Description: SENTINEL 命令</p>
+ * 支持 get-master-addr-by-name/masters/master/slaves/replicas/sentinels/failover/reset.
+ *
+ * @author dong4j
+ * @email dong4j@gmail.com
+ * @date 2026-10-18  23:59
+ */
+class SentinelCommands extends CommandGroup {
+    private final StandInSentinel sentinel;
+
+    SentinelCommands(StandInSentinel sentinel) {
+        this.sentinel = sentinel;
+        command("sentinel", -2, false, 0, 0, 0);
+    }
+
+    @Override
+    boolean isLocked() {
+        return false;
+    }
+
+    @Override
+    void execute(Session session, Keyspace keyspace, String[] args, RespWriter out) throws IOException {
+        String subcommand = args[1].toLowerCase();
+        switch (subcommand) {
+            case "masters": {
+                List<StandInSentinel.Monitored> masters = sentinel.monitoredMasters();
+                out.array(masters.size());
+                for (StandInSentinel.Monitored monitored : masters) {
+                    out.array(sentinel.masterFields(monitored));
+                }
+                break;
+            }
+            case "get-master-addr-by-name": {
+                StandInSentinel.Monitored monitored = sentinel.find(name(args));
+                if (monitored == null) {
+                    out.nullArray();
+                    break;
+                }
+                List<String> fields = sentinel.masterFields(monitored);
+                out.array(2);
+                out.bulk(fields.get(3));
+                out.bulk(fields.get(5));
+                break;
+            }
+            case "master":
+                out.array(sentinel.masterFields(monitored(args)));
+                break;
+            case "slaves":
+            case "replicas": {
+                List<List<String>> replicas = sentinel.replicaFields(monitored(args));
+                out.array(replicas.size());
+                for (List<String> replica : replicas) {
+                    out.array(replica);
+                }
+                break;
+            }
+            case "sentinels":
+                monitored(args);
+                out.array(0);
+                break;
+            case "failover":
+                monitored(args);
+                try {
+                    sentinel.failover(args[2]);
+                } catch (IllegalStateException e) {
+                    throw new CommandError("NOGOODSLAVE No suitable slave to promote");
+                }
+                out.ok();
+                break;
+            case "reset": {
+                int count = 0;
+                for (StandInSentinel.Monitored monitored : sentinel.monitoredMasters()) {
+                    if (Glob.matches(name(args), monitored.name)) {
+                        count++;
+                    }
+                }
+                out.integer(count);
+                break;
+            }
+            default:
+                throw new CommandError("ERR Unknown sentinel subcommand '" + args[1] + "'");
+        }
+    }
+
+    private static String name(String[] args) {
+        if (args.length != 3) {
+            throw CommandError.arity("sentinel " + args[1].toLowerCase());
+        }
+        return args[2];
+    }
+
+    private StandInSentinel.Monitored monitored(String[] args) {
+        StandInSentinel.Monitored monitored = sentinel.find(name(args));
+        if (monitored == null) {
+            throw new CommandError("ERR No such master with that name");
+        }
+        return monitored;
+    }
+}
@@ -0,0 +1,225 @@
+package info.dong4j.redis.standin;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * <p>Description: 连接, 服务端管理及 pub/sub 命令</p>
+ * 这些命令不在 {@link Keyspace} 锁内执行, 需要访问数据的命令(FLUSHALL/FLUSHDB/DBSIZE/INFO)自行加锁.
+ * pub/sub 的消息推送需要获取订阅方连接的写锁, 因此不能在持有 Keyspace 锁时推送.
+ *
+ * @author dong4j
+ * @email dong4j@gmail.com
+ * @date 2026-10-18  23:59
+ */
+class ServerCommands extends CommandGroup {
+    private final StandInServer server;
+
+    ServerCommands(StandInServer server) {
+        this.server = server;
+        command("ping", -1, false, 0, 0, 0);
+        command("echo", 2, false, 0, 0, 0);
+        command("select", 2, false, 0, 0, 0);
+        command("auth", 2, false, 0, 0, 0);
+        command("quit", 1, false, 0, 0, 0);
+        command("client", -2, false, 0, 0, 0);
+        command("config", -2, false, 0, 0, 0);
+        command("info", -1, false, 0, 0, 0);
+        command("role", 1, false, 0, 0, 0);
+        command("time", 1, false, 0, 0, 0);
+        command("dbsize", 1, false, 0, 0, 0);
+        command("flushdb", 1, true, 0, 0, 0);
+        command("flushall", 1, true, 0, 0, 0);
+        command("eval", -3, true, 0, 0, 0);
+        command("evalsha", -3, true, 0, 0, 0);
+        command("publish", 3, false, 0, 0, 0);
+        command("subscribe", -2, false, 0, 0, 0);
+        command("unsubscribe", -1, false, 0, 0, 0);
+        command("psubscribe", -2, false, 0, 0, 0);
+        command("punsubscribe", -1, false, 0, 0, 0);
+    }
+
+    @Override
+    boolean isLocked() {
+        return false;
+    }
+
+    @Override
+    void execute(Session session, Keyspace keyspace, String[] args, RespWriter out) throws IOException {
+        switch (args[0]) {
+            case "ping":
+                if (session.subscriptions() > 0) {
+                    out.array(2);
+                    out.bulk("pong");
+                    out.bulk(args.length > 1 ? args[1] : "");
+                } else if (args.length > 1) {
+                    out.bulk(args[1]);
+                } else {
+                    out.simple("PONG");
+                }
+                break;
+            case "echo":
+                out.bulk(args[1]);
+                break;
+            case "select": {
+                int index = parseInt(args[1]);
+                if (index < 0 || index >= Keyspace.DATABASES) {
+                    throw new CommandError("ERR DB index is out of range");
+                }
+                session.db = index;
+                out.ok();
+                break;
+            }
+            case "auth": {
+                String password = server.config("requirepass");
+                if (password.isEmpty()) {
+                    throw new CommandError("ERR Client sent AUTH, but no password is set");
+                }
+                if (!password.equals(args[1])) {
+                    session.authenticated = false;
+                    throw new CommandError("ERR invalid password");
+                }
+                session.authenticated = true;
+                out.ok();
+                break;
+            }
+            case "quit":
+                out.ok();
+                out.flush();
+                session.close();
+                break;
+            case "client":
+                client(session, args, out);
+                break;
+            case "config":
+                config(args, out);
+                break;
+            case "info":
+                out.bulk(server.info(args.length > 1 ? args[1].toLowerCase() : "default"));
+                break;
+            case "role":
+                server.role(out);
+                break;
+            case "time": {
+                long micros = System.currentTimeMillis() * 1000;
+                out.array(2);
+                out.bulk(Long.toString(micros / 1000000));
+                out.bulk(Long.toString(micros % 1000000));
+                break;
+            }
+            case "dbsize":
+                synchronized (keyspace) {
+                    out.integer(db(session, keyspace).size());
+                }
+                break;
+            case "flushdb":
+                synchronized (keyspace) {
+                    db(session, keyspace).clear();
+                }
+                out.ok();
+                break;
+            case "flushall":
+                synchronized (keyspace) {
+                    keyspace.flushAll();
+                }
+                out.ok();
+                break;
+            case "eval":
+            case "evalsha":
+                throw new CommandError("ERR scripting is not supported by the stand-in server");
+            case "publish":
+                out.integer(server.publish(args[1], args[2]));
+                break;
+            case "subscribe":
+            case "psubscribe":
+                for (int i = 1; i < args.length; i++) {
+                    (args[0].startsWith("p") ? session.patterns : session.channels).add(args[i]);
+                    subscription(session, args[0], args[i], out);
+                }
+                break;
+            case "unsubscribe":
+            case "punsubscribe": {
+                List<String> names = new ArrayList<>();
+                for (int i = 1; i < args.length; i++) {
+                    names.add(args[i]);
+                }
+                Set<String> subscribed = args[0].startsWith("p") ? session.patterns : session.channels;
+                if (names.isEmpty()) {
+                    names.addAll(subscribed);
+                }
+                if (names.isEmpty()) {
+                    subscription(session, args[0], null, out);
+                }
+                for (String name : names) {
+                    subscribed.remove(name);
+                    subscription(session, args[0], name, out);
+                }
+                break;
+            }
+            default:
+                throw new IllegalStateException(args[0]);
+        }
+    }
+
+    private static void subscription(Session session, String kind, String name, RespWriter out) throws IOException {
+        out.array(3);
+        out.bulk(kind);
+        out.bulk(name);
+        out.integer(session.subscriptions());
+    }
+
+    private static void client(Session session, String[] args, RespWriter out) throws IOException {
+        switch (args[1].toLowerCase()) {
+            case "setname":
+                if (args.length != 3) {
+                    throw CommandError.syntax();
+                }
+                session.name = args[2].isEmpty() ? null : args[2];
+                out.ok();
+                break;
+            case "getname":
+                out.bulk(session.name);
+                break;
+            case "list":
+                out.bulk("id=" + System.identityHashCode(session) + " addr=" + session.socket.getRemoteSocketAddress()
+                         + " name=" + (session.name == null ? "" : session.name) + " db=" + session.db + "\n");
+                break;
+            default:
+                throw new CommandError("ERR Syntax error, try CLIENT (LIST | KILL | GETNAME | SETNAME | PAUSE | REPLY)");
+        }
+    }
+
+    private void config(String[] args, RespWriter out) throws IOException {
+        switch (args[1].toLowerCase()) {
+            case "get": {
+                if (args.length != 3) {
+                    throw CommandError.arity("config get");
+                }
+                List<String> result = new ArrayList<>();
+                for (Map.Entry<String, String> entry : server.config().entrySet()) {
+                    if (Glob.matches(args[2].toLowerCase(), entry.getKey())) {
+                        result.add(entry.getKey());
+                        result.add(entry.getValue());
+                    }
+                }
+                out.array(result);
+                break;
+            }
+            case "set":
+                if (args.length != 4) {
+                    throw CommandError.arity("config set");
+                }
+                server.config().put(args[2].toLowerCase(), args[3]);
+                out.ok();
+                break;
+            case "resetstat":
+                out.ok();
+                break;
+            default:
+                throw new CommandError("ERR CONFIG subcommand must be one of GET, SET, RESETSTAT, REWRITE");
+        }
+    }
+}
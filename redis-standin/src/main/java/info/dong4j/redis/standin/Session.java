@@ -0,0 +1,45 @@
+package info.dong4j.redis.standin;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.Socket;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>Description: 一个客户端连接的状态</p>
+ *
+ * @author dong4j
+ * @email dong4j@gmail.com
+ * @date 2026-10-18  23:59
+ */
+class Session implements Closeable {
+    final Socket      socket;
+    final RespWriter  writer;
+    final Set<String> channels = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+    final Set<String> patterns = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+    int               db;
+    String            name;
+    boolean           authenticated;
+    private volatile boolean closed;
+
+    Session(Socket socket, RespWriter writer) {
+        this.socket = socket;
+        this.writer = writer;
+    }
+
+    int subscriptions() {
+        return channels.size() + patterns.size();
+    }
+
+    boolean isClosed() {
+        return closed;
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        socket.close();
+    }
+}
@@ -0,0 +1,193 @@
+package info.dong4j.redis.standin;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * <p>Description: set 相关命令</p>
+ *
+ * @author dong4j
+ * @email dong4j@gmail.com
+ * @date 2026-10-18  23:59
+ */
+class SetCommands extends CommandGroup {
+    private final Random random = new Random();
+
+    SetCommands() {
+        command("sadd", -3, true);
+        command("srem", -3, true);
+        command("smembers", 2, false);
+        command("sismember", 3, false);
+        command("scard", 2, false);
+        command("spop", -2, true);
+        command("srandmember", -2, false);
+        command("smove", 4, true, 1, 2, 1);
+        command("sdiff", -2, false, 1, -1, 1);
+        command("sdiffstore", -3, true, 1, -1, 1);
+        command("sinter", -2, false, 1, -1, 1);
+        command("sinterstore", -3, true, 1, -1, 1);
+        command("sunion", -2, false, 1, -1, 1);
+        command("sunionstore", -3, true, 1, -1, 1);
+        command("sscan", -3, false);
+    }
+
+    @Override
+    void execute(Session session, Keyspace keyspace, String[] args, RespWriter out) throws IOException {
+        Database db = db(session, keyspace);
+        switch (args[0]) {
+            case "sadd": {
+                Set<String> set   = set(db, args[1], true);
+                long        added = 0;
+                for (int i = 2; i < args.length; i++) {
+                    if (set.add(args[i])) {
+                        added++;
+                    }
+                }
+                out.integer(added);
+                break;
+            }
+            case "srem": {
+                Set<String> set     = set(db, args[1], false);
+                long        removed = 0;
+                for (int i = 2; i < args.length; i++) {
+                    if (set.remove(args[i])) {
+                        removed++;
+                    }
+                }
+                db.removeIfEmpty(args[1]);
+                out.integer(removed);
+                break;
+            }
+            case "smembers":
+                out.array(set(db, args[1], false));
+                break;
+            case "sismember":
+                out.integer(set(db, args[1], false).contains(args[2]) ? 1 : 0);
+                break;
+            case "scard":
+                out.integer(set(db, args[1], false).size());
+                break;
+            case "spop": {
+                long count = args.length > 2 ? parseLong(args[2]) : 1;
+                if (args.length > 3 || count < 0) {
+                    throw new CommandError("ERR value is out of range, must be positive");
+                }
+                List<String> members = random(set(db, args[1], false), count, false);
+                set(db, args[1], false).removeAll(members);
+                db.removeIfEmpty(args[1]);
+                if (args.length > 2) {
+                    out.array(members);
+                } else {
+                    out.bulk(members.isEmpty() ? null : members.get(0));
+                }
+                break;
+            }
+            case "srandmember": {
+                if (args.length > 3) {
+                    throw CommandError.syntax();
+                }
+                long         count   = args.length > 2 ? parseLong(args[2]) : 1;
+                List<String> members = random(set(db, args[1], false), Math.abs(count), count < 0);
+                if (args.length > 2) {
+                    out.array(members);
+                } else {
+                    out.bulk(members.isEmpty() ? null : members.get(0));
+                }
+                break;
+            }
+            case "smove": {
+                Set<String> source = set(db, args[1], false);
+                set(db, args[2], false);
+                if (!source.remove(args[3])) {
+                    out.integer(0);
+                    break;
+                }
+                db.removeIfEmpty(args[1]);
+                set(db, args[2], true).add(args[3]);
+                out.integer(1);
+                break;
+            }
+            case "sdiff":
+            case "sinter":
+            case "sunion":
+                out.array(combine(db, args[0], args, 1));
+                break;
+            case "sdiffstore":
+            case "sinterstore":
+            case "sunionstore": {
+                Set<String> result = combine(db, args[0].substring(0, args[0].length() - "store".length()), args, 2);
+                if (result.isEmpty()) {
+                    db.remove(args[1]);
+                } else {
+                    db.put(args[1], result);
+                }
+                out.integer(result.size());
+                break;
+            }
+            case "sscan": {
+                List<String[]> items = new ArrayList<>();
+                for (String member : set(db, args[1], false)) {
+                    items.add(new String[] {member});
+                }
+                scan(items, args, 2, out);
+                break;
+            }
+            default:
+                throw new IllegalStateException(args[0]);
+        }
+    }
+
+    private static LinkedHashSet<String> combine(Database db, String operation, String[] args, int from) {
+        LinkedHashSet<String> result = new LinkedHashSet<>(set(db, args[from], false));
+        for (int i = from + 1; i < args.length; i++) {
+            Set<String> other = set(db, args[i], false);
+            switch (operation) {
+                case "sdiff":
+                    result.removeAll(other);
+                    break;
+                case "sinter":
+                    result.retainAll(other);
+                    break;
+                default:
+                    result.addAll(other);
+                    break;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 随机取 count 个元素
+     *
+     * @param set        the set
+     * @param count      the count
+     * @param repeatable 是否允许重复(SRANDMEMBER 的 count 为负数)
+     * @return the list
+     */
+    private List<String> random(Set<String> set, long count, boolean repeatable) {
+        List<String> members = new ArrayList<>(set);
+        if (repeatable) {
+            List<String> result = new ArrayList<>();
+            for (long i = 0; i < count && !members.isEmpty(); i++) {
+                result.add(members.get(random.nextInt(members.size())));
+            }
+            return result;
+        }
+        Collections.shuffle(members, random);
+        return members.subList(0, (int) Math.min(count, members.size()));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Set<String> set(Database db, String key, boolean create) {
+        if (create) {
+            return db.getOrCreate(key, LinkedHashSet.class);
+        }
+        Set<String> set = db.get(key, LinkedHashSet.class);
+        return set == null ? Collections.<String>emptySet() : set;
+    }
+}
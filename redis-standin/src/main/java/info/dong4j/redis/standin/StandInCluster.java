@@ -0,0 +1,193 @@
+package info.dong4j.redis.standin;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import lombok.extern.slf4j.Slf4j;
+import redis.clients.jedis.HostAndPort;
+import redis.clients.util.JedisClusterCRC16;
+
+/**
+ * <p>Description: 进程内的 redis 集群</p>
+ * 16384 个 slot 平均分配给各主节点, 节点按 slot 检查命令中的 key, 不属于自己的返回 MOVED, 跨 slot 的多 key 命令返回 CROSSSLOT,
+ * 并实现 CLUSTER SLOTS/NODES/INFO/KEYSLOT 等命令, 可以直接作为 JedisCluster 的种子节点.
+ * {@link #moveSlot} 迁移 slot 及其中的数据, 用于重现客户端收到 MOVED 后刷新路由表的路径. 不支持从节点.
+ *
+ * @author dong4j
+ * @email dong4j@gmail.com
+ * @date 2026-10-18  23:59
+ */
+@Slf4j
+public class StandInCluster implements Closeable {
+    static final int SLOTS = 16384;
+
+    private final List<Node>         nodes  = new ArrayList<>();
+    private final AtomicIntegerArray owners = new AtomicIntegerArray(SLOTS);
+
+    /**
+     * 使用随机端口
+     *
+     * @param masters 主节点个数
+     */
+    public StandInCluster(int masters) {
+        if (masters < 1) {
+            throw new IllegalArgumentException("masters must be positive");
+        }
+        for (int i = 0; i < masters; i++) {
+            nodes.add(new Node(this, i));
+        }
+        for (int slot = 0; slot < SLOTS; slot++) {
+            owners.set(slot, (int) ((long) slot * masters / SLOTS));
+        }
+    }
+
+    public void start() throws IOException {
+        for (Node node : nodes) {
+            node.start();
+        }
+    }
+
+    public int size() {
+        return nodes.size();
+    }
+
+    public StandInServer node(int index) {
+        return nodes.get(index);
+    }
+
+    /**
+     * 所有节点的地址, 可直接作为 JedisCluster 的种子节点
+     *
+     * @return the set
+     */
+    public Set<HostAndPort> getHostAndPorts() {
+        Set<HostAndPort> result = new LinkedHashSet<>();
+        for (Node node : nodes) {
+            result.add(node.getHostAndPort());
+        }
+        return result;
+    }
+
+    public static int slot(String key) {
+        return JedisClusterCRC16.getSlot(key.getBytes(StandInServer.RAW));
+    }
+
+    public int owner(int slot) {
+        return owners.get(slot);
+    }
+
+    /**
+     * 把 slot 及其中的数据迁移到指定节点, 之后原节点对该 slot 的请求返回 MOVED
+     *
+     * @param slot  the slot
+     * @param index 目标节点下标
+     * @return 迁移的 key 个数
+     */
+    public int moveSlot(int slot, int index) {
+        Node     target = nodes.get(index);
+        Node     source = nodes.get(owners.get(slot));
+        if (source == target) {
+            return 0;
+        }
+        Keyspace from  = source.keyspace();
+        Keyspace to    = target.keyspace();
+        // 按节点下标顺序加锁, 避免并发迁移时死锁
+        Keyspace first = source.index < target.index ? from : to;
+        Keyspace last  = first == from ? to : from;
+        int      moved = 0;
+        synchronized (first) {
+            synchronized (last) {
+                Database sourceDb = from.db(0);
+                Database targetDb = to.db(0);
+                for (String key : sourceDb.keys()) {
+                    if (slot(key) == slot) {
+                        long pttl = sourceDb.pttl(key);
+                        targetDb.put(key, sourceDb.remove(key));
+                        if (pttl >= 0) {
+                            targetDb.expireAt(key, System.currentTimeMillis() + pttl);
+                        }
+                        moved++;
+                    }
+                }
+                owners.set(slot, index);
+            }
+        }
+        log.info("Stand-in cluster moved slot " + slot + " (" + moved + " keys) from " + source + " to " + target);
+        return moved;
+    }
+
+    public void flushAll() {
+        for (Node node : nodes) {
+            node.flushAll();
+        }
+    }
+
+    @Override
+    public void close() {
+        for (Node node : nodes) {
+            node.close();
+        }
+    }
+
+    List<Node> nodes() {
+        return Collections.unmodifiableList(nodes);
+    }
+
+    /**
+     * <p>Description: 集群中的一个主节点 </p>
+     *
+     * @author dong4j
+     * @email dong4j@gmail.com
+     * @date 2026-10-18  23:59
+     */
+    static class Node extends StandInServer {
+        final StandInCluster cluster;
+        final int            index;
+        final String         id;
+
+        Node(StandInCluster cluster, int index) {
+            this.cluster = cluster;
+            this.index = index;
+            this.id = String.format("%040x", index + 1);
+            config().put("cluster-enabled", "yes");
+            register(new ClusterCommands(this));
+        }
+
+        @Override
+        void execute(Session session, String[] args, RespWriter out) throws IOException {
+            if ("select".equals(args[0]) && args.length == 2 && !"0".equals(args[1])) {
+                throw new CommandError("ERR SELECT is not allowed in cluster mode");
+            }
+            CommandSpec spec = spec(args[0]);
+            int         slot = -1;
+            if (spec != null) {
+                for (String key : spec.keys(args)) {
+                    int keySlot = slot(key);
+                    if (slot >= 0 && keySlot != slot) {
+                        throw new CommandError("CROSSSLOT Keys in request don't hash to the same slot");
+                    }
+                    slot = keySlot;
+                }
+            }
+            if (slot < 0) {
+                super.execute(session, args, out);
+                return;
+            }
+            // 与 moveSlot 互斥, 检查通过后 slot 不会在命令执行期间被迁走
+            synchronized (keyspace()) {
+                int owner = cluster.owner(slot);
+                if (owner != index) {
+                    HostAndPort address = cluster.nodes().get(owner).getHostAndPort();
+                    throw new CommandError("MOVED " + slot + " " + address.getHost() + ":" + address.getPort());
+                }
+                super.execute(session, args, out);
+            }
+        }
+    }
+}
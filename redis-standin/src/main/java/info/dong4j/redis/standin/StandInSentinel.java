@@ -0,0 +1,292 @@
+package info.dong4j.redis.standin;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * <p>Description: 进程内的 sentinel</p>
+ * 不做健康检查, 由测试通过 {@link #failover}/{@link #sdown}/{@link #sdownCleared} 主动触发事件,
+ * 事件按 redis sentinel 的格式发布到 +switch-master/+sdown/-sdown/+slave 频道, 因此 JedisSentinelPool 等客户端的故障转移路径
+ * 可以在一台机器上确定性地重现. 未被 {@link #stop()} 的节点视为健康, 已停止的节点在 SENTINEL slaves 中带 s_down 标志.
+ *
+ * @author dong4j
+ * @email dong4j@gmail.com
+ * @date 2026-10-18  23:59
+ */
+@Slf4j
+public class StandInSentinel extends StandInServer {
+    private static final String SWITCH_MASTER = "+switch-master";
+    private static final String SDOWN         = "+sdown";
+    private static final String SDOWN_CLEARED = "-sdown";
+    private static final String NEW_SLAVE     = "+slave";
+
+    private final Map<String, Monitored> masters = new LinkedHashMap<>();
+
+    private volatile boolean dropEvents;
+
+    public StandInSentinel() {
+        this(0);
+    }
+
+    public StandInSentinel(int port) {
+        super(port);
+        register(new SentinelCommands(this));
+    }
+
+    /**
+     * 监控一组主从节点, 同时把 replicas 设置为 master 的从节点
+     *
+     * @param masterName the master name
+     * @param master     the master
+     * @param replicas   the replicas
+     */
+    public synchronized void monitor(String masterName, StandInServer master, StandInServer... replicas) {
+        Monitored monitored = new Monitored(masterName, master);
+        for (StandInServer replica : replicas) {
+            replica.replicaOf(master);
+            monitored.replicas.add(replica);
+        }
+        masters.put(masterName, monitored);
+    }
+
+    /**
+     * 之后的事件只修改状态不发布, 模拟订阅连接断开期间丢失的消息, SENTINEL 查询仍返回最新状态
+     *
+     * @param dropEvents 是否丢弃事件
+     */
+    public void setDropEvents(boolean dropEvents) {
+        this.dropEvents = dropEvents;
+    }
+
+    public synchronized StandInServer getMaster(String masterName) {
+        return monitored(masterName).master;
+    }
+
+    public synchronized List<StandInServer> getReplicas(String masterName) {
+        return new ArrayList<>(monitored(masterName).replicas);
+    }
+
+    /**
+     * 新增从节点并发布 +slave
+     *
+     * @param masterName the master name
+     * @param replica    the replica
+     */
+    public void addReplica(String masterName, StandInServer replica) {
+        String message;
+        synchronized (this) {
+            Monitored monitored = monitored(masterName);
+            replica.replicaOf(monitored.master);
+            monitored.replicas.add(replica);
+            message = instance(monitored, replica);
+        }
+        event(NEW_SLAVE, message);
+    }
+
+    /**
+     * 把 promoted 提升为主节点, 其余节点(包括原主节点)改为它的从节点, 并发布 +switch-master
+     *
+     * @param masterName the master name
+     * @param promoted   原来的某个从节点
+     */
+    public void failover(String masterName, StandInServer promoted) {
+        String message;
+        synchronized (this) {
+            Monitored     monitored = monitored(masterName);
+            StandInServer old       = monitored.master;
+            if (!monitored.replicas.remove(promoted)) {
+                throw new IllegalArgumentException(promoted + " is not a replica of " + masterName);
+            }
+            promoted.replicaOf(null);
+            monitored.master = promoted;
+            monitored.replicas.add(old);
+            for (StandInServer replica : monitored.replicas) {
+                replica.replicaOf(promoted);
+            }
+            monitored.down.remove(promoted);
+            message = masterName + " " + old.getHostAndPort().getHost() + " " + old.getPort()
+                      + " " + promoted.getHostAndPort().getHost() + " " + promoted.getPort();
+        }
+        log.info("Stand-in sentinel failover: " + message);
+        event(SWITCH_MASTER, message);
+    }
+
+    /**
+     * 提升第一个仍在运行的从节点
+     *
+     * @param masterName the master name
+     * @return 新的主节点
+     */
+    public StandInServer failover(String masterName) {
+        StandInServer promoted = null;
+        synchronized (this) {
+            for (StandInServer replica : monitored(masterName).replicas) {
+                if (replica.isRunning()) {
+                    promoted = replica;
+                    break;
+                }
+            }
+        }
+        if (promoted == null) {
+            throw new IllegalStateException("No running replica to promote for " + masterName);
+        }
+        failover(masterName, promoted);
+        return promoted;
+    }
+
+    /**
+     * 标记节点主观下线并发布 +sdown
+     *
+     * @param masterName the master name
+     * @param server     主节点或从节点
+     */
+    public void sdown(String masterName, StandInServer server) {
+        String message;
+        synchronized (this) {
+            Monitored monitored = monitored(masterName);
+            monitored.down.add(server);
+            message = instance(monitored, server);
+        }
+        event(SDOWN, message);
+    }
+
+    /**
+     * 取消主观下线并发布 -sdown
+     *
+     * @param masterName the master name
+     * @param server     主节点或从节点
+     */
+    public void sdownCleared(String masterName, StandInServer server) {
+        String message;
+        synchronized (this) {
+            Monitored monitored = monitored(masterName);
+            monitored.down.remove(server);
+            message = instance(monitored, server);
+        }
+        event(SDOWN_CLEARED, message);
+    }
+
+    private void event(String channel, String message) {
+        if (dropEvents) {
+            log.info("Stand-in sentinel dropped " + channel + " " + message);
+            return;
+        }
+        publish(channel, message);
+    }
+
+    synchronized Monitored monitored(String masterName) {
+        Monitored monitored = masters.get(masterName);
+        if (monitored == null) {
+            throw new IllegalArgumentException("Unknown master " + masterName);
+        }
+        return monitored;
+    }
+
+    synchronized Monitored find(String masterName) {
+        return masters.get(masterName);
+    }
+
+    synchronized List<Monitored> monitoredMasters() {
+        return new ArrayList<>(masters.values());
+    }
+
+    /**
+     * SENTINEL masters/master 返回的字段
+     *
+     * @param monitored the monitored
+     * @return the list
+     */
+    synchronized List<String> masterFields(Monitored monitored) {
+        StandInServer master = monitored.master;
+        return Arrays.asList("name", monitored.name,
+                             "ip", master.getHostAndPort().getHost(),
+                             "port", Integer.toString(master.getPort()),
+                             "runid", master.runId(),
+                             "flags", flags("master", monitored, master),
+                             "num-slaves", Integer.toString(monitored.replicas.size()),
+                             "num-other-sentinels", "0",
+                             "quorum", "1");
+    }
+
+    /**
+     * SENTINEL slaves 返回的字段
+     *
+     * @param monitored the monitored
+     * @return the list
+     */
+    synchronized List<List<String>> replicaFields(Monitored monitored) {
+        List<List<String>> result = new ArrayList<>();
+        StandInServer      master = monitored.master;
+        for (StandInServer replica : monitored.replicas) {
+            boolean healthy = master.isRunning() && replica.isRunning() && !monitored.down.contains(replica);
+            result.add(Arrays.asList("name", replica.toString(),
+                                     "ip", replica.getHostAndPort().getHost(),
+                                     "port", Integer.toString(replica.getPort()),
+                                     "runid", replica.runId(),
+                                     "flags", flags("slave", monitored, replica),
+                                     "master-link-status", healthy ? "ok" : "err",
+                                     "master-host", master.getHostAndPort().getHost(),
+                                     "master-port", Integer.toString(master.getPort()),
+                                     "slave-priority", "100"));
+        }
+        return result;
+    }
+
+    /**
+     * 事件消息中的实例描述: master name ip port 或 slave ip:port ip port @ name master-ip master-port
+     *
+     * @param monitored the monitored
+     * @param server    the server
+     * @return the string
+     */
+    private static String instance(Monitored monitored, StandInServer server) {
+        String host = server.getHostAndPort().getHost();
+        if (server == monitored.master) {
+            return "master " + monitored.name + " " + host + " " + server.getPort();
+        }
+        return "slave " + server + " " + host + " " + server.getPort()
+               + " @ " + monitored.name + " " + monitored.master.getHostAndPort().getHost() + " " + monitored.master.getPort();
+    }
+
+    private static String flags(String role, Monitored monitored, StandInServer server) {
+        StringBuilder flags = new StringBuilder(role);
+        boolean       down  = !server.isRunning() || monitored.down.contains(server);
+        if (down) {
+            flags.append(",s_down");
+            if (server == monitored.master) {
+                flags.append(",o_down");
+            }
+        }
+        if (!server.isRunning()) {
+            flags.append(",disconnected");
+        }
+        return flags.toString();
+    }
+
+    /**
+     * <p>Description: 一组被监控的主从节点 </p>
+     *
+     * @author dong4j
+     * @email dong4j@gmail.com
+     * @date 2026-10-18  23:59
+     */
+    static class Monitored {
+        final String              name;
+        final List<StandInServer> replicas = new ArrayList<>();
+        final Set<StandInServer>  down     = Collections.newSetFromMap(new IdentityHashMap<StandInServer, Boolean>());
+        StandInServer             master;
+
+        Monitored(String name, StandInServer master) {
+            this.name = name;
+            this.master = master;
+        }
+    }
+}
@@ -0,0 +1,514 @@
+package info.dong4j.redis.standin;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import lombok.extern.slf4j.Slf4j;
+import redis.clients.jedis.HostAndPort;
+
+/**
+ * <p>Description: 进程内的 RESP 服务</p>
+ * 实现 RedisService 用到的 string/hash/list/set/zset/key 命令, pub/sub 及 INFO/ROLE/CONFIG 等管理命令, 数据保存在内存中,
+ * 用于在没有 redis 的机器上测试和压测连接池及故障转移逻辑. 不支持 EVAL/MULTI/持久化.
+ * 每个连接一个线程, 命令在 {@link Keyspace} 锁内串行执行, 输入缓冲区读空后才 flush, 因此 pipeline 中的多条命令只产生一次写出.
+ * 注入的延迟在获取锁之前 sleep, 只影响当前连接, 与网络延迟的表现一致.
+ * {@link #stop()} 关闭监听端口和所有连接但保留数据, {@link #restart()} 在原端口上重新监听, 用于模拟节点宕机和恢复.
+ *
+ * @author dong4j
+ * @email dong4j@gmail.com
+ * @date 2026-10-18  23:59
+ */
+@Slf4j
+public class StandInServer implements Closeable {
+    /** 参数和值按 ISO-8859-1 保存, 与字节一一对应 */
+    static final Charset RAW = Charset.forName("ISO-8859-1");
+
+    private static final String      HOST                = "127.0.0.1";
+    /** 订阅状态下允许执行的命令 */
+    private static final Set<String> SUBSCRIBED_COMMANDS = new HashSet<>(Arrays.asList(
+        "subscribe", "unsubscribe", "psubscribe", "punsubscribe", "ping", "quit"));
+
+    private final Map<String, CommandSpec>    specs          = new HashMap<>();
+    private final Map<String, CommandGroup>   groups         = new HashMap<>();
+    private final Set<Session>                sessions       = Collections.newSetFromMap(new ConcurrentHashMap<Session, Boolean>());
+    private final ConcurrentMap<String, Long> commandLatency = new ConcurrentHashMap<>();
+    private final Map<String, String>         config         = new ConcurrentHashMap<>();
+    private final List<StandInServer>         replicas       = new CopyOnWriteArrayList<>();
+    private final String                      runId          = UUID.randomUUID().toString().replace("-", "");
+    private final ExecutorService             executor;
+    private volatile int                      port;
+    private volatile long                     latencyMicros;
+    private volatile Keyspace                 keyspace       = new Keyspace();
+    private volatile StandInServer            master;
+    private volatile ServerSocket             serverSocket;
+
+    /**
+     * 使用随机端口, 调用 {@link #start()} 后才开始监听
+     */
+    public StandInServer() {
+        this(0);
+    }
+
+    /**
+     * 使用指定端口, 调用 {@link #start()} 后才开始监听
+     *
+     * @param port 端口, 0 表示随机端口
+     */
+    public StandInServer(int port) {
+        this.port = port;
+        this.executor = Executors.newCachedThreadPool(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread thread = new Thread(r, "stand-in-server");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        register(new ServerCommands(this));
+        register(new KeyCommands());
+        register(new StringCommands());
+        register(new HashCommands());
+        register(new ListCommands());
+        register(new SetCommands());
+        register(new ZSetCommands());
+        config.put("requirepass", "");
+        config.put("maxmemory", "0");
+        config.put("timeout", "0");
+        config.put("databases", Integer.toString(Keyspace.DATABASES));
+        config.put("appendonly", "no");
+        config.put("save", "");
+        config.put("cluster-enabled", "no");
+    }
+
+    /**
+     * 在 127.0.0.1 上开始监听, 随机端口在第一次启动时确定, 之后 {@link #restart()} 沿用同一端口
+     *
+     * @throws IOException the io exception
+     */
+    public synchronized void start() throws IOException {
+        if (isRunning()) {
+            return;
+        }
+        final ServerSocket socket = new ServerSocket();
+        socket.setReuseAddress(true);
+        socket.bind(new InetSocketAddress(InetAddress.getByName(HOST), port), 128);
+        port = socket.getLocalPort();
+        serverSocket = socket;
+        config.put("port", Integer.toString(port));
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                accept(socket);
+            }
+        });
+    }
+
+    /**
+     * 模拟宕机: 关闭监听端口和所有客户端连接, 保留数据
+     */
+    public synchronized void stop() {
+        ServerSocket socket = serverSocket;
+        serverSocket = null;
+        if (socket != null) {
+            closeQuietly(socket);
+        }
+        for (Session session : sessions) {
+            closeQuietly(session);
+        }
+        // 唤醒阻塞在 BLPOP 等命令上的连接
+        Keyspace current = keyspace;
+        synchronized (current) {
+            current.notifyAll();
+        }
+    }
+
+    /**
+     * 模拟恢复: 在原端口上重新监听
+     *
+     * @throws IOException the io exception
+     */
+    public synchronized void restart() throws IOException {
+        stop();
+        start();
+    }
+
+    public boolean isRunning() {
+        return serverSocket != null;
+    }
+
+    public int getPort() {
+        return port;
+    }
+
+    public HostAndPort getHostAndPort() {
+        return new HostAndPort(HOST, port);
+    }
+
+    /**
+     * 所有命令的注入延迟, 0 表示不注入
+     *
+     * @param micros 微秒
+     */
+    public void setLatency(long micros) {
+        this.latencyMicros = micros;
+    }
+
+    /**
+     * 单个命令的注入延迟, 优先于 {@link #setLatency(long)}, 0 表示不注入, 负数表示取消单独设置
+     *
+     * @param command 命令名称, 不区分大小写
+     * @param micros  微秒
+     */
+    public void setLatency(String command, long micros) {
+        if (micros < 0) {
+            commandLatency.remove(command.toLowerCase());
+        } else {
+            commandLatency.put(command.toLowerCase(), micros);
+        }
+    }
+
+    /**
+     * 设置为 master 的从节点, 传入 null 时提升为主节点.
+     * 从节点与主节点共享数据(没有复制延迟), 拒绝写命令.
+     *
+     * @param master the master
+     */
+    public void replicaOf(StandInServer master) {
+        StandInServer old = this.master;
+        if (old != null) {
+            old.replicas.remove(this);
+        }
+        if (master != null) {
+            this.keyspace = master.keyspace;
+            master.replicas.add(this);
+        }
+        this.master = master;
+    }
+
+    public StandInServer getMaster() {
+        return master;
+    }
+
+    /**
+     * 向订阅了 channel 的连接推送消息
+     *
+     * @param channel the channel
+     * @param message the message
+     * @return 收到消息的连接数
+     */
+    public int publish(String channel, String message) {
+        int receivers = 0;
+        for (Session session : sessions) {
+            if (session.channels.contains(channel)) {
+                receivers += push(session, "message", null, channel, message);
+            }
+            for (String pattern : session.patterns) {
+                if (Glob.matches(pattern, channel)) {
+                    receivers += push(session, "pmessage", pattern, channel, message);
+                }
+            }
+        }
+        return receivers;
+    }
+
+    public void flushAll() {
+        Keyspace current = keyspace;
+        synchronized (current) {
+            current.flushAll();
+        }
+    }
+
+    @Override
+    public void close() {
+        stop();
+        executor.shutdownNow();
+    }
+
+    @Override
+    public String toString() {
+        return HOST + ":" + port;
+    }
+
+    void register(CommandGroup group) {
+        for (CommandSpec spec : group.specs().values()) {
+            specs.put(spec.name, spec);
+            groups.put(spec.name, group);
+        }
+    }
+
+    CommandSpec spec(String name) {
+        return specs.get(name);
+    }
+
+    Keyspace keyspace() {
+        return keyspace;
+    }
+
+    String runId() {
+        return runId;
+    }
+
+    String config(String name) {
+        String value = config.get(name);
+        return value == null ? "" : value;
+    }
+
+    Map<String, String> config() {
+        return config;
+    }
+
+    /**
+     * 执行一条命令, 子类(sentinel/集群节点)覆盖该方法在执行前拦截命令.
+     * 命令名称已转为小写.
+     *
+     * @param session the session
+     * @param args    命令名称及参数
+     * @param out     the out
+     * @throws IOException the io exception
+     */
+    void execute(Session session, String[] args, RespWriter out) throws IOException {
+        CommandSpec spec = specs.get(args[0]);
+        if (spec == null) {
+            throw new CommandError("ERR unknown command '" + args[0] + "'");
+        }
+        spec.checkArity(args);
+        if (!session.authenticated && !"auth".equals(spec.name) && !config("requirepass").isEmpty()) {
+            throw new CommandError("NOAUTH Authentication required.");
+        }
+        if (session.subscriptions() > 0 && !SUBSCRIBED_COMMANDS.contains(spec.name)) {
+            throw new CommandError("ERR only (P)SUBSCRIBE / (P)UNSUBSCRIBE / PING / QUIT allowed in this context");
+        }
+        if (spec.write && master != null) {
+            throw new CommandError("READONLY You can't write against a read only slave.");
+        }
+        CommandGroup group   = groups.get(spec.name);
+        Keyspace     current = keyspace;
+        if (!group.isLocked()) {
+            group.execute(session, current, args, out);
+            return;
+        }
+        synchronized (current) {
+            try {
+                group.execute(session, current, args, out);
+            } finally {
+                if (spec.write) {
+                    // 命令失败时也不能留下空容器
+                    for (String key : spec.keys(args)) {
+                        current.db(session.db).removeIfEmpty(key);
+                    }
+                    current.notifyAll();
+                }
+            }
+        }
+    }
+
+    /**
+     * INFO 的内容
+     *
+     * @param section 小写的 section 名称
+     * @return the string
+     */
+    String info(String section) {
+        Map<String, Map<String, Object>> sections = new TreeMap<>();
+        Map<String, Object>              server   = new TreeMap<>();
+        server.put("redis_version", "3.2.0");
+        server.put("redis_mode", "standalone");
+        server.put("run_id", runId);
+        server.put("tcp_port", port);
+        sections.put("server", server);
+
+        Map<String, Object> clients = new TreeMap<>();
+        clients.put("connected_clients", sessions.size());
+        sections.put("clients", clients);
+
+        Map<String, Object> replication = new TreeMap<>();
+        StandInServer       current     = master;
+        if (current == null) {
+            replication.put("role", "master");
+            replication.put("connected_slaves", replicas.size());
+            for (int i = 0; i < replicas.size(); i++) {
+                StandInServer replica = replicas.get(i);
+                replication.put("slave" + i, "ip=" + HOST + ",port=" + replica.port
+                                             + ",state=" + (replica.isRunning() ? "online" : "offline") + ",offset=0,lag=0");
+            }
+        } else {
+            replication.put("role", "slave");
+            replication.put("master_host", HOST);
+            replication.put("master_port", current.port);
+            replication.put("master_link_status", current.isRunning() ? "up" : "down");
+            replication.put("slave_read_only", 1);
+        }
+        sections.put("replication", replication);
+
+        Map<String, Object> keys    = new TreeMap<>();
+        Keyspace            data    = keyspace;
+        synchronized (data) {
+            for (int i = 0; i < Keyspace.DATABASES; i++) {
+                int size = data.db(i).size();
+                if (size > 0) {
+                    keys.put("db" + i, "keys=" + size + ",expires=0,avg_ttl=0");
+                }
+            }
+        }
+        sections.put("keyspace", keys);
+
+        StringBuilder info = new StringBuilder();
+        for (Map.Entry<String, Map<String, Object>> entry : sections.entrySet()) {
+            if (!"default".equals(section) && !"all".equals(section) && !entry.getKey().equals(section)) {
+                continue;
+            }
+            info.append("# ").append(Character.toUpperCase(entry.getKey().charAt(0))).append(entry.getKey().substring(1)).append("\r\n");
+            for (Map.Entry<String, Object> field : entry.getValue().entrySet()) {
+                info.append(field.getKey()).append(':').append(field.getValue()).append("\r\n");
+            }
+            info.append("\r\n");
+        }
+        return info.toString();
+    }
+
+    void role(RespWriter out) throws IOException {
+        StandInServer current = master;
+        if (current == null) {
+            out.array(3);
+            out.bulk("master");
+            out.integer(0);
+            out.array(replicas.size());
+            for (StandInServer replica : replicas) {
+                out.array(3);
+                out.bulk(HOST);
+                out.bulk(Integer.toString(replica.port));
+                out.bulk("0");
+            }
+        } else {
+            out.array(5);
+            out.bulk("slave");
+            out.bulk(HOST);
+            out.integer(current.port);
+            out.bulk(current.isRunning() ? "connected" : "connect");
+            out.integer(0);
+        }
+    }
+
+    private void accept(ServerSocket socket) {
+        while (!socket.isClosed()) {
+            try {
+                final Socket client = socket.accept();
+                client.setTcpNoDelay(true);
+                executor.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        serve(client);
+                    }
+                });
+            } catch (IOException e) {
+                if (!socket.isClosed()) {
+                    log.warn("Stand-in server " + this + " accept failed", e);
+                }
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        Session session = null;
+        try {
+            RespReader reader = new RespReader(new BufferedInputStream(socket.getInputStream()));
+            RespWriter writer = new RespWriter(new BufferedOutputStream(socket.getOutputStream()));
+            session = new Session(socket, writer);
+            sessions.add(session);
+            if (serverSocket == null) {
+                // stop() 与 accept 并发时可能漏掉这个连接
+                return;
+            }
+            String[] args;
+            while (!session.isClosed() && (args = reader.readCommand()) != null) {
+                if (args.length == 0) {
+                    continue;
+                }
+                args[0] = args[0].toLowerCase();
+                delay(args[0]);
+                synchronized (writer) {
+                    try {
+                        execute(session, args, writer);
+                    } catch (CommandError e) {
+                        writer.error(e.getMessage());
+                    }
+                    if (!session.isClosed() && !reader.hasBuffered()) {
+                        writer.flush();
+                    }
+                }
+            }
+        } catch (IOException e) {
+            log.debug("Stand-in server " + this + " connection closed: " + e);
+        } catch (RuntimeException e) {
+            log.error("Stand-in server " + this + " failed", e);
+        } finally {
+            if (session != null) {
+                sessions.remove(session);
+                closeQuietly(session);
+            } else {
+                closeQuietly(socket);
+            }
+        }
+    }
+
+    private void delay(String command) {
+        Long   micros = commandLatency.get(command);
+        long   delay  = micros == null ? latencyMicros : micros;
+        long   end    = System.nanoTime() + TimeUnit.MICROSECONDS.toNanos(delay);
+        long   left;
+        while (delay > 0 && (left = end - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(left);
+        }
+    }
+
+    private static int push(Session session, String kind, String pattern, String channel, String message) {
+        synchronized (session.writer) {
+            try {
+                session.writer.array(pattern == null ? 3 : 4);
+                session.writer.bulk(kind);
+                if (pattern != null) {
+                    session.writer.bulk(pattern);
+                }
+                session.writer.bulk(channel);
+                session.writer.bulk(message);
+                session.writer.flush();
+                return 1;
+            } catch (IOException e) {
+                log.debug("Push to subscriber failed: " + e);
+                return 0;
+            }
+        }
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        try {
+            closeable.close();
+        } catch (IOException e) {
+            // ignore
+        }
+    }
+}
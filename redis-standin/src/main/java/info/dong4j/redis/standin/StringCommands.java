@@ -0,0 +1,309 @@
+package info.dong4j.redis.standin;
+
+import java.io.IOException;
+
+/**
+ * <p>Description: string 相关命令</p>
+ * 值按 ISO-8859-1 保存为 String, 每个 char 对应一个字节, 位操作按字节进行.
+ *
+ * @author dong4j
+ * @email dong4j@gmail.com
+ * @date 2026-10-18  23:59
+ */
+class StringCommands extends CommandGroup {
+    /** SETRANGE/SETBIT 允许的最大长度, 与 redis 的 proto-max-bulk-len 默认值一致 */
+    private static final long MAX_STRING_LENGTH = 512L * 1024 * 1024;
+
+    StringCommands() {
+        command("get", 2, false);
+        command("set", -3, true);
+        command("setex", 4, true);
+        command("psetex", 4, true);
+        command("setnx", 3, true);
+        command("getset", 3, true);
+        command("mget", -2, false, 1, -1, 1);
+        command("mset", -3, true, 1, -1, 2);
+        command("msetnx", -3, true, 1, -1, 2);
+        command("append", 3, true);
+        command("strlen", 2, false);
+        command("incr", 2, true);
+        command("incrby", 3, true);
+        command("decr", 2, true);
+        command("decrby", 3, true);
+        command("incrbyfloat", 3, true);
+        command("getrange", 4, false);
+        command("substr", 4, false);
+        command("setrange", 4, true);
+        command("getbit", 3, false);
+        command("setbit", 4, true);
+    }
+
+    @Override
+    void execute(Session session, Keyspace keyspace, String[] args, RespWriter out) throws IOException {
+        Database db = db(session, keyspace);
+        switch (args[0]) {
+            case "get":
+                out.bulk(db.get(args[1], String.class));
+                break;
+            case "set":
+                set(db, args, out);
+                break;
+            case "setex":
+            case "psetex": {
+                long ttl = parseLong(args[2]);
+                if (ttl <= 0) {
+                    throw new CommandError("ERR invalid expire time in " + args[0]);
+                }
+                db.put(args[1], args[3]);
+                db.expireAt(args[1], System.currentTimeMillis() + ("setex".equals(args[0]) ? ttl * 1000 : ttl));
+                out.ok();
+                break;
+            }
+            case "setnx":
+                if (db.exists(args[1])) {
+                    out.integer(0);
+                } else {
+                    db.put(args[1], args[2]);
+                    out.integer(1);
+                }
+                break;
+            case "getset": {
+                String old = db.get(args[1], String.class);
+                db.put(args[1], args[2]);
+                out.bulk(old);
+                break;
+            }
+            case "mget":
+                out.array(args.length - 1);
+                for (int i = 1; i < args.length; i++) {
+                    Object value = db.get(args[i]);
+                    out.bulk(value instanceof String ? (String) value : null);
+                }
+                break;
+            case "mset":
+            case "msetnx": {
+                if (args.length % 2 == 0) {
+                    throw CommandError.arity(args[0]);
+                }
+                boolean nx = "msetnx".equals(args[0]);
+                if (nx) {
+                    for (int i = 1; i < args.length; i += 2) {
+                        if (db.exists(args[i])) {
+                            out.integer(0);
+                            return;
+                        }
+                    }
+                }
+                for (int i = 1; i < args.length; i += 2) {
+                    db.put(args[i], args[i + 1]);
+                }
+                if (nx) {
+                    out.integer(1);
+                } else {
+                    out.ok();
+                }
+                break;
+            }
+            case "append": {
+                String old   = db.get(args[1], String.class);
+                String value = old == null ? args[2] : old + args[2];
+                db.replace(args[1], value);
+                out.integer(value.length());
+                break;
+            }
+            case "strlen": {
+                String value = db.get(args[1], String.class);
+                out.integer(value == null ? 0 : value.length());
+                break;
+            }
+            case "incr":
+                out.integer(incrBy(db, args[1], 1));
+                break;
+            case "incrby":
+                out.integer(incrBy(db, args[1], parseLong(args[2])));
+                break;
+            case "decr":
+                out.integer(incrBy(db, args[1], -1));
+                break;
+            case "decrby": {
+                long decrement = parseLong(args[2]);
+                if (decrement == Long.MIN_VALUE) {
+                    throw new CommandError("ERR decrement would overflow");
+                }
+                out.integer(incrBy(db, args[1], -decrement));
+                break;
+            }
+            case "incrbyfloat": {
+                String old    = db.get(args[1], String.class);
+                double result = (old == null ? 0 : parseDouble(old)) + parseDouble(args[2]);
+                if (Double.isNaN(result) || Double.isInfinite(result)) {
+                    throw new CommandError("ERR increment would produce NaN or Infinity");
+                }
+                String value = RespWriter.formatDouble(result);
+                db.replace(args[1], value);
+                out.bulk(value);
+                break;
+            }
+            case "getrange":
+            case "substr": {
+                String value = db.get(args[1], String.class);
+                if (value == null) {
+                    out.bulk("");
+                    break;
+                }
+                int[] range = range(parseLong(args[2]), parseLong(args[3]), value.length());
+                out.bulk(range[0] > range[1] ? "" : value.substring(range[0], range[1] + 1));
+                break;
+            }
+            case "setrange":
+                setRange(db, args, out);
+                break;
+            case "getbit": {
+                long   offset = bitOffset(args[2]);
+                String value  = db.get(args[1], String.class);
+                int    index  = (int) (offset >> 3);
+                if (value == null || index >= value.length()) {
+                    out.integer(0);
+                } else {
+                    out.integer((value.charAt(index) >> (7 - (offset & 7))) & 1);
+                }
+                break;
+            }
+            case "setbit":
+                setBit(db, args, out);
+                break;
+            default:
+                throw new IllegalStateException(args[0]);
+        }
+    }
+
+    /**
+     * SET key value [EX seconds|PX milliseconds] [NX|XX]
+     *
+     * @param db   the db
+     * @param args the args
+     * @param out  the out
+     * @throws IOException the io exception
+     */
+    private static void set(Database db, String[] args, RespWriter out) throws IOException {
+        long    expireAt = 0;
+        boolean nx       = false;
+        boolean xx       = false;
+        for (int i = 3; i < args.length; i++) {
+            String option = args[i].toLowerCase();
+            switch (option) {
+                case "nx":
+                    nx = true;
+                    break;
+                case "xx":
+                    xx = true;
+                    break;
+                case "ex":
+                case "px": {
+                    if (i + 1 >= args.length || expireAt != 0) {
+                        throw CommandError.syntax();
+                    }
+                    long ttl = parseLong(args[++i]);
+                    if (ttl <= 0) {
+                        throw new CommandError("ERR invalid expire time in set");
+                    }
+                    expireAt = System.currentTimeMillis() + ("ex".equals(option) ? ttl * 1000 : ttl);
+                    break;
+                }
+                default:
+                    throw CommandError.syntax();
+            }
+        }
+        if (nx && xx) {
+            throw CommandError.syntax();
+        }
+        boolean exists = db.exists(args[1]);
+        if (nx && exists || xx && !exists) {
+            out.bulk(null);
+            return;
+        }
+        db.put(args[1], args[2]);
+        if (expireAt != 0) {
+            db.expireAt(args[1], expireAt);
+        }
+        out.ok();
+    }
+
+    private static long incrBy(Database db, String key, long increment) {
+        String old = db.get(key, String.class);
+        long   value;
+        try {
+            value = old == null ? 0 : Long.parseLong(old);
+        } catch (NumberFormatException e) {
+            throw CommandError.notInteger();
+        }
+        long result = value + increment;
+        if (((value ^ result) & (increment ^ result)) < 0) {
+            throw new CommandError("ERR increment or decrement would overflow");
+        }
+        db.replace(key, Long.toString(result));
+        return result;
+    }
+
+    private static void setRange(Database db, String[] args, RespWriter out) throws IOException {
+        long offset = parseLong(args[2]);
+        if (offset < 0) {
+            throw new CommandError("ERR offset is out of range");
+        }
+        String old = db.get(args[1], String.class);
+        if (args[3].isEmpty()) {
+            out.integer(old == null ? 0 : old.length());
+            return;
+        }
+        if (offset + args[3].length() > MAX_STRING_LENGTH) {
+            throw new CommandError("ERR string exceeds maximum allowed size (512MB)");
+        }
+        char[] value = padded(old, (int) offset + args[3].length());
+        args[3].getChars(0, args[3].length(), value, (int) offset);
+        db.replace(args[1], new String(value));
+        out.integer(value.length);
+    }
+
+    private static void setBit(Database db, String[] args, RespWriter out) throws IOException {
+        long offset = bitOffset(args[2]);
+        if (!"0".equals(args[3]) && !"1".equals(args[3])) {
+            throw new CommandError("ERR bit is not an integer or out of range");
+        }
+        String old   = db.get(args[1], String.class);
+        int    index = (int) (offset >> 3);
+        char[] value = padded(old, index + 1);
+        int    mask  = 1 << (7 - (offset & 7));
+        int    bit   = (value[index] & mask) != 0 ? 1 : 0;
+        value[index] = (char) ("1".equals(args[3]) ? value[index] | mask : value[index] & ~mask);
+        db.replace(args[1], new String(value));
+        out.integer(bit);
+    }
+
+    private static long bitOffset(String value) {
+        long offset;
+        try {
+            offset = Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            offset = -1;
+        }
+        if (offset < 0 || offset >> 3 >= MAX_STRING_LENGTH) {
+            throw new CommandError("ERR bit offset is not an integer or out of range");
+        }
+        return offset;
+    }
+
+    /**
+     * 复制原值, 长度不足时以 0 字节补齐
+     *
+     * @param old    the old
+     * @param length the length
+     * @return the char [ ]
+     */
+    private static char[] padded(String old, int length) {
+        char[] value = new char[Math.max(length, old == null ? 0 : old.length())];
+        if (old != null) {
+            old.getChars(0, old.length(), value, 0);
+        }
+        return value;
+    }
+}
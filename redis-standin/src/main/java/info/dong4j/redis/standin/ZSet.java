@@ -0,0 +1,156 @@
+package info.dong4j.redis.standin;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+/**
+ * <p>Description: 有序集合</p>
+ * member -> score 的 HashMap 加按 (score, member) 排序的 TreeSet, 与 redis 的 dict + skiplist 对应.
+ *
+ * @author dong4j
+ * @email dong4j@gmail.com
+ * @date 2026-10-18  23:59
+ */
+class ZSet implements Serializable {
+    private static final long serialVersionUID = 4470296046231474128L;
+
+    private final Map<String, Double> scores  = new HashMap<>();
+    private final TreeSet<Element>    ordered = new TreeSet<>();
+
+    /**
+     * 添加或更新 member
+     *
+     * @param member the member
+     * @param score  the score
+     * @return member 是否为新增
+     */
+    boolean add(String member, double score) {
+        Double old = scores.put(member, score);
+        if (old != null) {
+            ordered.remove(new Element(old, member));
+        }
+        ordered.add(new Element(score, member));
+        return old == null;
+    }
+
+    boolean remove(String member) {
+        Double old = scores.remove(member);
+        if (old == null) {
+            return false;
+        }
+        ordered.remove(new Element(old, member));
+        return true;
+    }
+
+    Double score(String member) {
+        return scores.get(member);
+    }
+
+    int size() {
+        return scores.size();
+    }
+
+    /**
+     * member 按 score 升序的排名
+     *
+     * @param member the member
+     * @return 排名, member 不存在时返回 -1
+     */
+    int rank(String member) {
+        Double score = scores.get(member);
+        if (score == null) {
+            return -1;
+        }
+        return ordered.headSet(new Element(score, member), false).size();
+    }
+
+    /**
+     * 按排名取 [start, end] 区间, 下标已规范化为非负数
+     *
+     * @param start   the start
+     * @param end     the end
+     * @param reverse 是否按 score 降序
+     * @return the list
+     */
+    List<Element> range(int start, int end, boolean reverse) {
+        List<Element> result = new ArrayList<>(Math.max(0, end - start + 1));
+        int           index  = 0;
+        for (Element element : reverse ? ordered.descendingSet() : ordered) {
+            if (index > end) {
+                break;
+            }
+            if (index >= start) {
+                result.add(element);
+            }
+            index++;
+        }
+        return result;
+    }
+
+    /**
+     * 按 score 取区间
+     *
+     * @param min          the min
+     * @param minExclusive 是否不含 min
+     * @param max          the max
+     * @param maxExclusive 是否不含 max
+     * @return the navigable set
+     */
+    NavigableSet<Element> rangeByScore(double min, boolean minExclusive, double max, boolean maxExclusive) {
+        if (min > max) {
+            return new TreeSet<>();
+        }
+        Element from = new Element(min, minExclusive ? Element.MAX_MEMBER : "");
+        Element to   = new Element(max, maxExclusive ? "" : Element.MAX_MEMBER);
+        if (from.compareTo(to) > 0) {
+            return new TreeSet<>();
+        }
+        return ordered.subSet(from, !minExclusive, to, !maxExclusive);
+    }
+
+    Iterable<Element> elements() {
+        return ordered;
+    }
+
+    /**
+     * <p>Description: (score, member) 元素 </p>
+     *
+     * @author dong4j
+     * @email dong4j@gmail.com
+     * @date 2026-10-18  23:59
+     */
+    static class Element implements Comparable<Element>, Serializable {
+        private static final long   serialVersionUID = -5416934373297117340L;
+        /** 比任何 ISO-8859-1 member 都大的哨兵, 用于 score 区间的边界 */
+        private static final String MAX_MEMBER       = "\uFFFF";
+
+        final double score;
+        final String member;
+
+        Element(double score, String member) {
+            this.score = score;
+            this.member = member;
+        }
+
+        @Override
+        public int compareTo(Element other) {
+            int result = Double.compare(score, other.score);
+            return result != 0 ? result : member.compareTo(other.member);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Element && compareTo((Element) o) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Double.valueOf(score).hashCode() + member.hashCode();
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package info.dong4j.redis.standin;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NavigableSet;
+
+/**
+ * <p>Description: sorted set 相关命令</p>
+ *
+ * @author dong4j
+ * @email dong4j@gmail.com
+ * @date 2026-10-18  23:59
+ */
+class ZSetCommands extends CommandGroup {
+    private static final ZSet EMPTY = new ZSet();
+
+    ZSetCommands() {
+        command("zadd", -4, true);
+        command("zrem", -3, true);
+        command("zcard", 2, false);
+        command("zcount", 4, false);
+        command("zincrby", 4, true);
+        command("zscore", 3, false);
+        command("zrank", 3, false);
+        command("zrevrank", 3, false);
+        command("zrange", -4, false);
+        command("zrevrange", -4, false);
+        command("zrangebyscore", -4, false);
+        command("zrevrangebyscore", -4, false);
+        command("zremrangebyscore", 4, true);
+        command("zscan", -3, false);
+    }
+
+    @Override
+    void execute(Session session, Keyspace keyspace, String[] args, RespWriter out) throws IOException {
+        Database db = db(session, keyspace);
+        switch (args[0]) {
+            case "zadd":
+                zadd(db, args, out);
+                break;
+            case "zrem": {
+                ZSet zset    = zset(db, args[1], false);
+                long removed = 0;
+                for (int i = 2; i < args.length; i++) {
+                    if (zset.remove(args[i])) {
+                        removed++;
+                    }
+                }
+                db.removeIfEmpty(args[1]);
+                out.integer(removed);
+                break;
+            }
+            case "zcard":
+                out.integer(zset(db, args[1], false).size());
+                break;
+            case "zcount":
+                out.integer(byScore(zset(db, args[1], false), args[2], args[3]).size());
+                break;
+            case "zincrby": {
+                double increment = parseDouble(args[2]);
+                ZSet   zset      = zset(db, args[1], true);
+                Double old       = zset.score(args[3]);
+                double score     = (old == null ? 0 : old) + increment;
+                if (Double.isNaN(score)) {
+                    throw new CommandError("ERR resulting score is not a number (NaN)");
+                }
+                zset.add(args[3], score);
+                out.bulk(score);
+                break;
+            }
+            case "zscore": {
+                Double score = zset(db, args[1], false).score(args[2]);
+                if (score == null) {
+                    out.bulk(null);
+                } else {
+                    out.bulk(score);
+                }
+                break;
+            }
+            case "zrank":
+            case "zrevrank": {
+                ZSet zset = zset(db, args[1], false);
+                int  rank = zset.rank(args[2]);
+                if (rank < 0) {
+                    out.bulk(null);
+                } else {
+                    out.integer("zrank".equals(args[0]) ? rank : zset.size() - 1 - rank);
+                }
+                break;
+            }
+            case "zrange":
+            case "zrevrange": {
+                boolean withScores = withScores(args, 4);
+                ZSet    zset       = zset(db, args[1], false);
+                int[]   range      = range(parseLong(args[2]), parseLong(args[3]), zset.size());
+                write(range[0] > range[1] ? new ArrayList<ZSet.Element>() : zset.range(range[0], range[1], "zrevrange".equals(args[0])),
+                      withScores, out);
+                break;
+            }
+            case "zrangebyscore":
+            case "zrevrangebyscore":
+                rangeByScore(db, args, out);
+                break;
+            case "zremrangebyscore": {
+                List<ZSet.Element> elements = new ArrayList<>(byScore(zset(db, args[1], false), args[2], args[3]));
+                for (ZSet.Element element : elements) {
+                    zset(db, args[1], false).remove(element.member);
+                }
+                db.removeIfEmpty(args[1]);
+                out.integer(elements.size());
+                break;
+            }
+            case "zscan": {
+                List<String[]> items = new ArrayList<>();
+                for (ZSet.Element element : zset(db, args[1], false).elements()) {
+                    items.add(new String[] {element.member, RespWriter.formatDouble(element.score)});
+                }
+                scan(items, args, 2, out);
+                break;
+            }
+            default:
+                throw new IllegalStateException(args[0]);
+        }
+    }
+
+    /**
+     * ZADD key [NX|XX] [CH] [INCR] score member [score member ...]
+     *
+     * @param db   the db
+     * @param args the args
+     * @param out  the out
+     * @throws IOException the io exception
+     */
+    private static void zadd(Database db, String[] args, RespWriter out) throws IOException {
+        boolean nx    = false;
+        boolean xx    = false;
+        boolean ch    = false;
+        boolean incr  = false;
+        int     index = 2;
+        for (; index < args.length; index++) {
+            String option = args[index].toLowerCase();
+            if ("nx".equals(option)) {
+                nx = true;
+            } else if ("xx".equals(option)) {
+                xx = true;
+            } else if ("ch".equals(option)) {
+                ch = true;
+            } else if ("incr".equals(option)) {
+                incr = true;
+            } else {
+                break;
+            }
+        }
+        int pairs = args.length - index;
+        if (pairs == 0 || pairs % 2 != 0 || nx && xx || incr && pairs != 2) {
+            throw CommandError.syntax();
+        }
+        double[] scores = new double[pairs / 2];
+        for (int i = 0; i < scores.length; i++) {
+            scores[i] = parseDouble(args[index + i * 2]);
+        }
+        ZSet   zset    = zset(db, args[1], true);
+        long   changed = 0;
+        Double result  = null;
+        for (int i = 0; i < scores.length; i++) {
+            String member = args[index + i * 2 + 1];
+            Double old    = zset.score(member);
+            if (nx && old != null || xx && old == null) {
+                continue;
+            }
+            double score = incr && old != null ? old + scores[i] : scores[i];
+            zset.add(member, score);
+            result = score;
+            if (old == null || ch && old != score) {
+                changed++;
+            }
+        }
+        db.removeIfEmpty(args[1]);
+        if (!incr) {
+            out.integer(changed);
+        } else if (result == null) {
+            out.bulk(null);
+        } else {
+            out.bulk(result);
+        }
+    }
+
+    private static void rangeByScore(Database db, String[] args, RespWriter out) throws IOException {
+        boolean reverse    = "zrevrangebyscore".equals(args[0]);
+        boolean withScores = false;
+        long    offset     = 0;
+        long    count      = -1;
+        for (int i = 4; i < args.length; i++) {
+            if ("withscores".equalsIgnoreCase(args[i])) {
+                withScores = true;
+            } else if ("limit".equalsIgnoreCase(args[i]) && i + 2 < args.length) {
+                offset = parseLong(args[++i]);
+                count = parseLong(args[++i]);
+            } else {
+                throw CommandError.syntax();
+            }
+        }
+        // ZREVRANGEBYSCORE 的参数顺序为 max min
+        NavigableSet<ZSet.Element> range    = reverse ? byScore(zset(db, args[1], false), args[3], args[2]).descendingSet()
+                                                      : byScore(zset(db, args[1], false), args[2], args[3]);
+        List<ZSet.Element>         elements = new ArrayList<>();
+        Iterator<ZSet.Element>     it       = range.iterator();
+        for (long skipped = 0; skipped < offset && it.hasNext(); skipped++) {
+            it.next();
+        }
+        while (it.hasNext() && (count < 0 || elements.size() < count)) {
+            elements.add(it.next());
+        }
+        write(offset < 0 ? new ArrayList<ZSet.Element>() : elements, withScores, out);
+    }
+
+    /**
+     * 解析 min/max, 支持 (1.5 表示不含边界, -inf/+inf 表示无穷
+     *
+     * @param zset the zset
+     * @param min  the min
+     * @param max  the max
+     * @return the navigable set
+     */
+    private static NavigableSet<ZSet.Element> byScore(ZSet zset, String min, String max) {
+        boolean minExclusive = min.startsWith("(");
+        boolean maxExclusive = max.startsWith("(");
+        try {
+            return zset.rangeByScore(parseDouble(minExclusive ? min.substring(1) : min), minExclusive,
+                                     parseDouble(maxExclusive ? max.substring(1) : max), maxExclusive);
+        } catch (CommandError e) {
+            throw new CommandError("ERR min or max is not a float");
+        }
+    }
+
+    private static boolean withScores(String[] args, int index) {
+        if (args.length == index) {
+            return false;
+        }
+        if (args.length == index + 1 && "withscores".equalsIgnoreCase(args[index])) {
+            return true;
+        }
+        throw CommandError.syntax();
+    }
+
+    private static void write(List<ZSet.Element> elements, boolean withScores, RespWriter out) throws IOException {
+        out.array(withScores ? elements.size() * 2 : elements.size());
+        for (ZSet.Element element : elements) {
+            out.bulk(element.member);
+            if (withScores) {
+                out.bulk(element.score);
+            }
+        }
+    }
+
+    private static ZSet zset(Database db, String key, boolean create) {
+        if (create) {
+            return db.getOrCreate(key, ZSet.class);
+        }
+        ZSet zset = db.get(key, ZSet.class);
+        return zset == null ? EMPTY : zset;
+    }
+}
@@ -0,0 +1,72 @@
+package info.dong4j.redis.standin;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisCluster;
+import redis.clients.jedis.exceptions.JedisDataException;
+import redis.clients.jedis.exceptions.JedisMovedDataException;
+
+/**
+ * <p>Description: 进程内集群测试</p>
+ *
+ * @author dong4j
+ * @email dong4j@gmail.com
+ * @date 2026-10-18  23:59
+ */
+public class StandInClusterTest {
+
+    @Test
+    public void testJedisClusterRoutesAndFollowsMoved() throws Exception {
+        try (StandInCluster cluster = new StandInCluster(3)) {
+            cluster.start();
+            JedisCluster jedisCluster = new JedisCluster(cluster.getHostAndPorts());
+            try {
+                for (int i = 0; i < 300; i++) {
+                    jedisCluster.set("key:" + i, Integer.toString(i));
+                }
+                for (int i = 0; i < cluster.size(); i++) {
+                    try (Jedis jedis = new Jedis(cluster.node(i).getHostAndPort().getHost(), cluster.node(i).getPort())) {
+                        Assert.assertTrue(jedis.dbSize() > 50);
+                    }
+                }
+
+                int slot  = StandInCluster.slot("key:7");
+                int owner = cluster.owner(slot);
+                Assert.assertTrue(cluster.moveSlot(slot, (owner + 1) % cluster.size()) > 0);
+                Assert.assertEquals("7", jedisCluster.get("key:7"));
+                jedisCluster.set("key:7", "moved");
+                Assert.assertEquals("moved", jedisCluster.get("key:7"));
+            } finally {
+                jedisCluster.close();
+            }
+        }
+    }
+
+    @Test
+    public void testMovedAndCrossSlotErrors() throws Exception {
+        try (StandInCluster cluster = new StandInCluster(2)) {
+            cluster.start();
+            int           slot  = StandInCluster.slot("foo");
+            StandInServer owner = cluster.node(cluster.owner(slot));
+            StandInServer other = cluster.node(1 - cluster.owner(slot));
+            try (Jedis jedis = new Jedis(other.getHostAndPort().getHost(), other.getPort())) {
+                Assert.assertEquals(Long.valueOf(slot), jedis.clusterKeySlot("foo"));
+                try {
+                    jedis.get("foo");
+                    Assert.fail();
+                } catch (JedisMovedDataException e) {
+                    Assert.assertEquals(slot, e.getSlot());
+                    Assert.assertEquals(owner.getHostAndPort(), e.getTargetNode());
+                }
+                try {
+                    jedis.mset("{user}:1", "a", "{order}:1", "b");
+                    Assert.fail();
+                } catch (JedisDataException e) {
+                    Assert.assertTrue(e.getMessage().startsWith("CROSSSLOT"));
+                }
+            }
+        }
+    }
+}
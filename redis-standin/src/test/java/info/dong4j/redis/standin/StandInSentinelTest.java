@@ -0,0 +1,90 @@
+package info.dong4j.redis.standin;
+
+import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import redis.clients.jedis.HostAndPort;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisSentinelPool;
+
+/**
+ * <p>Description: 进程内 sentinel 测试</p>
+ *
+ * @author dong4j
+ * @email dong4j@gmail.com
+ * @date 2026-10-18  23:59
+ */
+public class StandInSentinelTest {
+    private static final String MASTER_NAME = "mymaster";
+
+    @Test
+    public void testSentinelPoolFollowsScriptedFailover() throws Exception {
+        try (StandInServer master = new StandInServer();
+             StandInServer replica = new StandInServer();
+             StandInSentinel sentinel = new StandInSentinel()) {
+            master.start();
+            replica.start();
+            sentinel.monitor(MASTER_NAME, master, replica);
+            sentinel.start();
+
+            JedisSentinelPool pool = new JedisSentinelPool(MASTER_NAME, Collections.singleton(sentinel.getHostAndPort().toString()),
+                                                           new GenericObjectPoolConfig(), 2000);
+            try {
+                Assert.assertEquals(master.getHostAndPort(), pool.getCurrentHostMaster());
+                try (Jedis jedis = pool.getResource()) {
+                    jedis.set("key", "value");
+                }
+
+                FailoverScript script = new FailoverScript()
+                    .stop(master)
+                    .after(200).failover(sentinel, MASTER_NAME, replica)
+                    .start();
+                Assert.assertTrue(script.await(5, TimeUnit.SECONDS));
+
+                long deadline = System.currentTimeMillis() + 5000;
+                while (!replica.getHostAndPort().equals(pool.getCurrentHostMaster()) && System.currentTimeMillis() < deadline) {
+                    Thread.sleep(20);
+                }
+                Assert.assertEquals(replica.getHostAndPort(), pool.getCurrentHostMaster());
+                try (Jedis jedis = pool.getResource()) {
+                    Assert.assertEquals("value", jedis.get("key"));
+                    jedis.set("key", "promoted");
+                }
+            } finally {
+                pool.destroy();
+            }
+            Assert.assertNull(replica.getMaster());
+            Assert.assertSame(replica, master.getMaster());
+        }
+    }
+
+    @Test
+    public void testSentinelCommands() throws Exception {
+        try (StandInServer master = new StandInServer();
+             StandInServer replica = new StandInServer();
+             StandInSentinel sentinel = new StandInSentinel()) {
+            master.start();
+            replica.start();
+            sentinel.monitor(MASTER_NAME, master, replica);
+            sentinel.start();
+            try (Jedis jedis = new Jedis(sentinel.getHostAndPort().getHost(), sentinel.getPort())) {
+                List<String> address = jedis.sentinelGetMasterAddrByName(MASTER_NAME);
+                Assert.assertEquals(master.getHostAndPort(), new HostAndPort(address.get(0), Integer.parseInt(address.get(1))));
+
+                Map<String, String> slave = jedis.sentinelSlaves(MASTER_NAME).get(0);
+                Assert.assertEquals("slave", slave.get("flags"));
+                Assert.assertEquals("ok", slave.get("master-link-status"));
+
+                replica.stop();
+                slave = jedis.sentinelSlaves(MASTER_NAME).get(0);
+                Assert.assertEquals("slave,s_down,disconnected", slave.get("flags"));
+            }
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package info.dong4j.redis.standin;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.exceptions.JedisConnectionException;
+import redis.clients.jedis.exceptions.JedisDataException;
+
+/**
+ * <p>Description: 进程内 RESP 服务测试</p>
+ *
+ * @author dong4j
+ * @email dong4j@gmail.com
+ * @date 2026-10-18  23:59
+ */
+public class StandInServerTest {
+    private StandInServer server;
+    private Jedis         jedis;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new StandInServer();
+        server.start();
+        jedis = new Jedis(server.getHostAndPort().getHost(), server.getPort());
+    }
+
+    @After
+    public void tearDown() {
+        jedis.close();
+        server.close();
+    }
+
+    @Test
+    public void testStrings() {
+        Assert.assertEquals("OK", jedis.set("counter", "41"));
+        Assert.assertEquals(Long.valueOf(42), jedis.incr("counter"));
+        Assert.assertEquals(Long.valueOf(1), jedis.setnx("name", "dong4j"));
+        Assert.assertEquals(Long.valueOf(0), jedis.setnx("name", "other"));
+        Assert.assertEquals(Arrays.asList("42", "dong4j", null), jedis.mget("counter", "name", "missing"));
+        Assert.assertEquals(Long.valueOf(-1), jedis.ttl("name"));
+        jedis.setex("session", 100, "value");
+        Assert.assertTrue(jedis.pttl("session") > 99000);
+        jedis.psetex("short", 1L, "value");
+        Assert.assertNull(sleepAndGet("short"));
+        try {
+            jedis.incr("name");
+            Assert.fail();
+        } catch (JedisDataException e) {
+            Assert.assertEquals("ERR value is not an integer or out of range", e.getMessage());
+        }
+        // 非 UTF-8 的二进制数据原样返回
+        byte[] binary = {(byte) 0xff, 0, (byte) 0x80, '\r', '\n'};
+        jedis.set("binary".getBytes(), binary);
+        Assert.assertArrayEquals(binary, jedis.get("binary".getBytes()));
+    }
+
+    @Test
+    public void testCollections() {
+        Map<String, String> hash = new HashMap<>();
+        hash.put("a", "1");
+        hash.put("b", "2");
+        jedis.hmset("hash", hash);
+        Assert.assertEquals(hash, jedis.hgetAll("hash"));
+        Assert.assertEquals(Long.valueOf(12), jedis.hincrBy("hash", "b", 10));
+
+        jedis.rpush("list", "a", "b", "c");
+        jedis.lpush("list", "z");
+        Assert.assertEquals(Arrays.asList("z", "a", "b", "c"), jedis.lrange("list", 0, -1));
+        Assert.assertEquals(Arrays.asList("list", "c"), jedis.brpop(1, "list"));
+
+        jedis.sadd("set", "a", "b");
+        jedis.sadd("other", "b", "c");
+        Assert.assertEquals(Collections.singleton("a"), jedis.sdiff("set", "other"));
+
+        jedis.zadd("zset", 3, "c");
+        jedis.zadd("zset", 1, "a");
+        jedis.zadd("zset", 2, "b");
+        Assert.assertEquals(Arrays.asList("b", "c"), new ArrayList<>(jedis.zrangeByScore("zset", "(1", "+inf")));
+        Assert.assertEquals(Long.valueOf(0), jedis.zrank("zset", "a"));
+
+        try {
+            jedis.lpush("hash", "x");
+            Assert.fail();
+        } catch (JedisDataException e) {
+            Assert.assertTrue(e.getMessage().startsWith("WRONGTYPE"));
+        }
+        jedis.hdel("hash", "a", "b");
+        Assert.assertFalse(jedis.exists("hash"));
+    }
+
+    @Test
+    public void testPipeline() {
+        Pipeline pipeline = jedis.pipelined();
+        for (int i = 0; i < 1000; i++) {
+            pipeline.set("key:" + i, Integer.toString(i));
+        }
+        pipeline.sync();
+        Assert.assertEquals(Long.valueOf(1000), jedis.dbSize());
+        Assert.assertEquals("999", jedis.get("key:999"));
+    }
+
+    @Test
+    public void testReplicaStopAndRestart() throws Exception {
+        jedis.set("key", "value");
+        try (StandInServer replica = new StandInServer()) {
+            replica.replicaOf(server);
+            replica.start();
+            try (Jedis client = new Jedis(replica.getHostAndPort().getHost(), replica.getPort())) {
+                Assert.assertEquals("value", client.get("key"));
+                try {
+                    client.set("key", "other");
+                    Assert.fail();
+                } catch (JedisDataException e) {
+                    Assert.assertTrue(e.getMessage().startsWith("READONLY"));
+                }
+            }
+        }
+
+        server.stop();
+        try {
+            jedis.ping();
+            Assert.fail();
+        } catch (JedisConnectionException e) {
+            // 连接已被关闭
+        }
+        server.restart();
+        try (Jedis client = new Jedis(server.getHostAndPort().getHost(), server.getPort())) {
+            Assert.assertEquals("value", client.get("key"));
+        }
+    }
+
+    @Test
+    public void testInjectedLatency() {
+        server.setLatency("get", 50000);
+        long start = System.nanoTime();
+        jedis.get("key");
+        Assert.assertTrue(System.nanoTime() - start >= 50000000L);
+    }
+
+    private String sleepAndGet(String key) {
+        try {
+            Thread.sleep(5);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return jedis.get(key);
+    }
+}